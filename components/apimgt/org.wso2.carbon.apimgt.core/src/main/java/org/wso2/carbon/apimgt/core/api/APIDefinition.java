@@ -89,6 +89,15 @@ public interface APIDefinition {
      */
     String generateSwaggerFromResources(CompositeAPI.Builder api);
 
+    /**
+     * generate the swagger of a new version of an API from the swagger of the API.
+     *
+     * @param apiDefinition API definition as a string
+     * @param version       version of the new API
+     * @return generated swagger as a string, or the given definition if it cannot be parsed.
+     */
+    String generateSwaggerForNewVersion(String apiDefinition, String version);
+
     /**
      * return API Object
      *
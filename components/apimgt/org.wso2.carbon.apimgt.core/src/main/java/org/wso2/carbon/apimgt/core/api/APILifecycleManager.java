@@ -98,6 +98,18 @@ public interface APILifecycleManager {
      */
     LifecycleState getLifecycleDataForState(String uuid, String lcState) throws LifecycleException;
 
+    /**
+     * Get life cycle state meta data when state is provided, as currently held by the lifecycle engine. Unlike
+     * {@link #getLifecycleDataForState(String, String)}, this never returns a copy cached before the checklist values
+     * of the state were changed, possibly on another node, so it is used when a state change acts on them.
+     * @param uuid                      Lifecycle id that maps with the asset.
+     * @param lcState                   State which meta data is required
+     *
+     * @return                          {@code LifecycleState} object represent current life cycle.
+     * @throws LifecycleException       If failed to get life cycle state data.
+     */
+    LifecycleState getLatestLifecycleDataForState(String uuid, String lcState) throws LifecycleException;
+
     /**
      * Get Current Lifecycle History for uuid
      *
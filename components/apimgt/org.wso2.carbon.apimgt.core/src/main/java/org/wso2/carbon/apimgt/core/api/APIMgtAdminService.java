@@ -34,6 +34,7 @@ import org.wso2.carbon.apimgt.core.models.policy.APIPolicy;
 import org.wso2.carbon.apimgt.core.models.policy.ApplicationPolicy;
 import org.wso2.carbon.apimgt.core.models.policy.CustomPolicy;
 import org.wso2.carbon.apimgt.core.models.policy.Policy;
+import org.wso2.carbon.apimgt.core.models.policy.PolicyBundle;
 import org.wso2.carbon.apimgt.core.models.policy.SubscriptionPolicy;
 import org.wso2.carbon.apimgt.core.workflow.Workflow;
 
@@ -355,6 +356,16 @@ public interface APIMgtAdminService {
      */
     Set<PolicyValidationData> getAllPolicies() throws APIManagementException;
 
+    /**
+     * Return the Siddhi execution plans of throttle policies which changed after the given version of the policy
+     * bundle. The execution plans are rendered once and re-rendered only when their policy changes.
+     *
+     * @param sinceVersion version of the policy bundle last applied by the caller, or 0 to get all execution plans
+     * @return changed execution plans along with the current version of the policy bundle
+     * @throws APIManagementException If failed to render the execution plans
+     */
+    PolicyBundle getPolicyBundle(long sinceVersion) throws APIManagementException;
+
     /**
      * Policy Level enum
      */
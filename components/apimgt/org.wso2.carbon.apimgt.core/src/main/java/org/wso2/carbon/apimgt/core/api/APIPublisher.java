@@ -27,6 +27,7 @@ import org.wso2.carbon.apimgt.core.exception.LabelException;
 import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.DocumentInfo;
 import org.wso2.carbon.apimgt.core.models.Endpoint;
+import org.wso2.carbon.apimgt.core.models.KeysetPage;
 import org.wso2.carbon.apimgt.core.models.Label;
 import org.wso2.carbon.apimgt.core.models.LifeCycleEvent;
 import org.wso2.carbon.apimgt.core.models.Provider;
@@ -257,6 +258,16 @@ public interface APIPublisher extends APIManager {
      */
     List<API> searchAPIs(Integer limit, Integer offset, String query) throws APIManagementException;
 
+    /**
+     * Returns a page of the APIs visible to the current user, ordered by name.
+     *
+     * @param limit             Maximum number of APIs returned
+     * @param continuationToken Token of the previous page, or {@code null} to retrieve the first page
+     * @return Page of APIs along with the token of the next page
+     * @throws APIManagementException If failed to retrieve apis or if the continuation token is invalid.
+     */
+    KeysetPage<API> getAPIs(int limit, String continuationToken) throws APIManagementException;
+
     /**
      * Update the subscription status
      *
@@ -276,6 +287,25 @@ public interface APIPublisher extends APIManager {
      */
     void updateSubscriptionPolicy(String subId, String newPolicy) throws APIManagementException;
 
+    /**
+     * Update the status of a list of subscriptions. The gateway is notified with a single event.
+     *
+     * @param subIds    Subscription IDs
+     * @param subStatus Subscription Status
+     * @throws APIManagementException If failed to update subscription statuses
+     */
+    void updateSubscriptionStatuses(List<String> subIds, APIMgtConstants.SubscriptionStatus subStatus) throws
+            APIManagementException;
+
+    /**
+     * Update the policy of a list of subscriptions. The gateway is notified with a single event.
+     *
+     * @param subIds    Subscription IDs
+     * @param newPolicy New Subscription Policy
+     * @throws APIManagementException If failed to update subscription policies
+     */
+    void updateSubscriptionPolicies(List<String> subIds, String newPolicy) throws APIManagementException;
+
 
     /**
      * This method returns the lifecycle data for an API including current state,next states.
@@ -34,10 +34,12 @@ import org.wso2.carbon.apimgt.core.models.Application;
 import org.wso2.carbon.apimgt.core.models.ApplicationToken;
 import org.wso2.carbon.apimgt.core.models.Comment;
 import org.wso2.carbon.apimgt.core.models.CompositeAPI;
+import org.wso2.carbon.apimgt.core.models.KeysetPage;
 import org.wso2.carbon.apimgt.core.models.Label;
 import org.wso2.carbon.apimgt.core.models.OAuthApplicationInfo;
 import org.wso2.carbon.apimgt.core.models.Rating;
 import org.wso2.carbon.apimgt.core.models.Subscription;
+import org.wso2.carbon.apimgt.core.models.SubscriptionRequest;
 import org.wso2.carbon.apimgt.core.models.SubscriptionResponse;
 import org.wso2.carbon.apimgt.core.models.Tag;
 import org.wso2.carbon.apimgt.core.models.User;
@@ -86,6 +88,16 @@ public interface APIStore extends APIManager {
      */
     List<API> searchAPIs(String query, int offset, int limit) throws APIManagementException;
 
+    /**
+     * Returns a page of the published and prototyped APIs, ordered by name.
+     *
+     * @param limit             maximum number of APIs returned
+     * @param continuationToken token of the previous page, or {@code null} to retrieve the first page
+     * @return page of APIs along with the token of the next page
+     * @throws APIManagementException   If failed to retrieve apis or if the continuation token is invalid.
+     */
+    KeysetPage<API> getAPIs(int limit, String continuationToken) throws APIManagementException;
+
     /**
      * Returns a paginated list of all Composite APIs which match the given search criteria.
      *
@@ -315,6 +327,29 @@ public interface APIStore extends APIManager {
      */
     WorkflowResponse deleteAPISubscription(String subscriptionId) throws APIManagementException;
 
+    /**
+     * Add api subscriptions of applications to a list of APIs. The subscriptions are persisted together, so none of
+     * them is added if one of them cannot be added, and the gateway is notified of the approved ones with a single
+     * event. If the workflow of a subscription fails, the subscriptions whose workflows did not run are removed
+     * again, while the subscriptions whose workflows completed are kept.
+     *
+     * @param subscriptionRequests  API, application and tier of each subscription.
+     * @return List of SubscriptionResponse  Id and the workflow response of each subscription, in the order of the
+     * requests
+     * @throws APIManagementException   If failed to add the subscriptions
+     */
+    List<SubscriptionResponse> addApiSubscriptions(List<SubscriptionRequest> subscriptionRequests)
+            throws APIManagementException;
+
+    /**
+     * Delete a list of API subscriptions. The gateway is notified of the approved deletions with a single event.
+     *
+     * @param subscriptionIds   Ids of the subscriptions to be deleted.
+     * @return List of WorkflowResponse  workflow response of each subscription, in the order of the ids
+     * @throws APIManagementException   If failed to delete the subscriptions.
+     */
+    List<WorkflowResponse> deleteAPISubscriptions(List<String> subscriptionIds) throws APIManagementException;
+
     /**
      * Retrieve all tags
      *
@@ -21,7 +21,9 @@ package org.wso2.carbon.apimgt.core.api;
 import org.wso2.carbon.apimgt.core.exception.IdentityProviderException;
 import org.wso2.carbon.apimgt.core.models.User;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * This Interface is providing functionality for identity provider operations.
@@ -46,6 +48,15 @@ public interface IdentityProvider extends KeyManager {
      */
     public String getEmailOfUser(String userId) throws IdentityProviderException;
 
+    /**
+     * Get the Emails of a set of SCIM users.
+     *
+     * @param userNames Usernames of users
+     * @return a map of username to Email, which does not contain users who are not found or have no Email
+     * @throws IdentityProviderException if error occurred while getting Emails of users
+     */
+    public Map<String, String> getEmailsOfUsers(Collection<String> userNames) throws IdentityProviderException;
+
     /**
      * Get the role name list of a user.
      *
@@ -94,6 +94,50 @@ public class APIMConfigurations {
     @Element(description = "SDK Generation Language Configurations")
     private SdkLanguageConfigurations sdkLanguageConfigurations = new SdkLanguageConfigurations();
 
+    @Element(description = "Cache Configurations")
+    private CacheConfigurations cacheConfigurations = new CacheConfigurations();
+
+    @Element(description = "Function Delivery Configurations")
+    private FunctionDeliveryConfigurations functionDeliveryConfigurations = new FunctionDeliveryConfigurations();
+
+    @Element(description = "Event Bus Configurations")
+    private EventBusConfigurations eventBusConfigurations = new EventBusConfigurations();
+
+    @Element(description = "REST Client Configurations")
+    private RestClientConfigurations restClientConfigurations = new RestClientConfigurations();
+
+    public FunctionDeliveryConfigurations getFunctionDeliveryConfigurations() {
+        return functionDeliveryConfigurations;
+    }
+
+    public void setFunctionDeliveryConfigurations(FunctionDeliveryConfigurations functionDeliveryConfigurations) {
+        this.functionDeliveryConfigurations = functionDeliveryConfigurations;
+    }
+
+    public EventBusConfigurations getEventBusConfigurations() {
+        return eventBusConfigurations;
+    }
+
+    public void setEventBusConfigurations(EventBusConfigurations eventBusConfigurations) {
+        this.eventBusConfigurations = eventBusConfigurations;
+    }
+
+    public RestClientConfigurations getRestClientConfigurations() {
+        return restClientConfigurations;
+    }
+
+    public void setRestClientConfigurations(RestClientConfigurations restClientConfigurations) {
+        this.restClientConfigurations = restClientConfigurations;
+    }
+
+    public CacheConfigurations getCacheConfigurations() {
+        return cacheConfigurations;
+    }
+
+    public void setCacheConfigurations(CacheConfigurations cacheConfigurations) {
+        this.cacheConfigurations = cacheConfigurations;
+    }
+
     public SdkLanguageConfigurations getSdkLanguageConfigurations() {
         return sdkLanguageConfigurations;
     }
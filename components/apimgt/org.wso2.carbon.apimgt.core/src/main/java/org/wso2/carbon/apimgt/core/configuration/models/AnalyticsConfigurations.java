@@ -33,6 +33,17 @@ public class AnalyticsConfigurations {
     private String dasServerURL = "http://localhost:9091";
     @Element(description = "DAS server credentials")
     private CredentialConfigurations dasServerCredentials = new CredentialConfigurations();
+    @Element(description = "Maximum number of database connections and threads used to run analytics queries")
+    private int queryPoolSize = 10;
+    @Element(description = "Time in seconds after which an analytics query is cancelled")
+    private int queryTimeout = 30;
+    @Element(description = "Maximum number of points returned for a time series, longer ranges are bucketed coarser")
+    private int maxDataPoints = 500;
+    @Element(description = "Maximum time range in days which can be queried")
+    private int maxTimeRange = 731;
+    @Element(description = "Time in seconds between rebuilds of the analytics rollups from the stored data, which "
+            + "correct counts missed by events. 0 disables the rebuilds")
+    private int rollupReconcileInterval = 86400;
 
     public boolean isEnabled() {
         return enabled;
@@ -57,4 +68,44 @@ public class AnalyticsConfigurations {
     public void setDasServerCredentials(CredentialConfigurations dasServerCredentials) {
         this.dasServerCredentials = dasServerCredentials;
     }
+
+    public int getQueryPoolSize() {
+        return queryPoolSize;
+    }
+
+    public void setQueryPoolSize(int queryPoolSize) {
+        this.queryPoolSize = queryPoolSize;
+    }
+
+    public int getQueryTimeout() {
+        return queryTimeout;
+    }
+
+    public void setQueryTimeout(int queryTimeout) {
+        this.queryTimeout = queryTimeout;
+    }
+
+    public int getMaxDataPoints() {
+        return maxDataPoints;
+    }
+
+    public void setMaxDataPoints(int maxDataPoints) {
+        this.maxDataPoints = maxDataPoints;
+    }
+
+    public int getMaxTimeRange() {
+        return maxTimeRange;
+    }
+
+    public void setMaxTimeRange(int maxTimeRange) {
+        this.maxTimeRange = maxTimeRange;
+    }
+
+    public int getRollupReconcileInterval() {
+        return rollupReconcileInterval;
+    }
+
+    public void setRollupReconcileInterval(int rollupReconcileInterval) {
+        this.rollupReconcileInterval = rollupReconcileInterval;
+    }
 }
@@ -35,6 +35,13 @@ public class BrokerConfigurations {
     private String publisherTopic = "PublisherTopic";
     @Element(description = "Throttle topic name")
     private String throttleTopic = "ThrottleTopic";
+
+    @Element(description = "Label topic name")
+    private String labelTopic = "LabelTopic";
+    @Element(description = "Policy topic name")
+    private String policyTopic = "PolicyTopic";
+    @Element(description = "Lifecycle topic name")
+    private String lifecycleTopic = "LifecycleTopic";
     public JMSConnectionConfiguration getJmsConnectionConfiguration() {
         return jmsConnectionConfiguration;
     }
@@ -66,4 +73,28 @@ public class BrokerConfigurations {
     public void setThrottleTopic(String throttleTopic) {
         this.throttleTopic = throttleTopic;
     }
+
+    public String getLabelTopic() {
+        return labelTopic;
+    }
+
+    public void setLabelTopic(String labelTopic) {
+        this.labelTopic = labelTopic;
+    }
+
+    public String getPolicyTopic() {
+        return policyTopic;
+    }
+
+    public void setPolicyTopic(String policyTopic) {
+        this.policyTopic = policyTopic;
+    }
+
+    public String getLifecycleTopic() {
+        return lifecycleTopic;
+    }
+
+    public void setLifecycleTopic(String lifecycleTopic) {
+        this.lifecycleTopic = lifecycleTopic;
+    }
 }
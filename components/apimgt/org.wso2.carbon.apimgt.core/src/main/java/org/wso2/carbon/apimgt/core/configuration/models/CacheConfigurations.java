@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.configuration.models;
+
+import org.wso2.carbon.kernel.annotations.Configuration;
+import org.wso2.carbon.kernel.annotations.Element;
+
+/**
+ * Class to hold configurations of the control plane caches.
+ */
+@Configuration(description = "Cache configurations")
+public class CacheConfigurations {
+
+    @Element(description = "Maximum memory used to cache label specific WSDLs in MB")
+    private long wsdlCacheMaxSize = 20;
+
+    @Element(description = "Maximum disk space used to cache label specific WSDL archives in MB")
+    private long wsdlArchiveCacheMaxSize = 200;
+
+    @Element(description = "Maximum memory used to cache parsed swagger definitions in MB")
+    private long swaggerCacheMaxSize = 50;
+
+    @Element(description = "Enable caching of user and role lookups made to the identity provider")
+    private boolean identityCacheEnabled = true;
+
+    @Element(description = "Time in seconds for which a user or role lookup is cached")
+    private long identityCacheExpiryTime = 300;
+
+    @Element(description = "Time in seconds for which a lookup of a missing user or role is cached")
+    private long identityNegativeCacheExpiryTime = 60;
+
+    @Element(description = "Maximum number of user and role lookups cached")
+    private int identityCacheMaxEntries = 10000;
+
+    @Element(description = "Time in seconds for which an analytics count result is cached")
+    private long analyticsResultCacheExpiryTime = 30;
+
+    @Element(description = "Time in seconds for which the lifecycle state and history of an API is cached")
+    private long lifecycleCacheExpiryTime = 300;
+
+    @Element(description = "Maximum number of APIs of which the lifecycle state and history is cached")
+    private int lifecycleCacheMaxEntries = 1000;
+
+    public long getWsdlCacheMaxSize() {
+        return wsdlCacheMaxSize;
+    }
+
+    public void setWsdlCacheMaxSize(long wsdlCacheMaxSize) {
+        this.wsdlCacheMaxSize = wsdlCacheMaxSize;
+    }
+
+    public long getWsdlArchiveCacheMaxSize() {
+        return wsdlArchiveCacheMaxSize;
+    }
+
+    public void setWsdlArchiveCacheMaxSize(long wsdlArchiveCacheMaxSize) {
+        this.wsdlArchiveCacheMaxSize = wsdlArchiveCacheMaxSize;
+    }
+
+    public long getSwaggerCacheMaxSize() {
+        return swaggerCacheMaxSize;
+    }
+
+    public void setSwaggerCacheMaxSize(long swaggerCacheMaxSize) {
+        this.swaggerCacheMaxSize = swaggerCacheMaxSize;
+    }
+
+    public boolean isIdentityCacheEnabled() {
+        return identityCacheEnabled;
+    }
+
+    public void setIdentityCacheEnabled(boolean identityCacheEnabled) {
+        this.identityCacheEnabled = identityCacheEnabled;
+    }
+
+    public long getIdentityCacheExpiryTime() {
+        return identityCacheExpiryTime;
+    }
+
+    public void setIdentityCacheExpiryTime(long identityCacheExpiryTime) {
+        this.identityCacheExpiryTime = identityCacheExpiryTime;
+    }
+
+    public long getIdentityNegativeCacheExpiryTime() {
+        return identityNegativeCacheExpiryTime;
+    }
+
+    public void setIdentityNegativeCacheExpiryTime(long identityNegativeCacheExpiryTime) {
+        this.identityNegativeCacheExpiryTime = identityNegativeCacheExpiryTime;
+    }
+
+    public int getIdentityCacheMaxEntries() {
+        return identityCacheMaxEntries;
+    }
+
+    public void setIdentityCacheMaxEntries(int identityCacheMaxEntries) {
+        this.identityCacheMaxEntries = identityCacheMaxEntries;
+    }
+
+    public long getAnalyticsResultCacheExpiryTime() {
+        return analyticsResultCacheExpiryTime;
+    }
+
+    public void setAnalyticsResultCacheExpiryTime(long analyticsResultCacheExpiryTime) {
+        this.analyticsResultCacheExpiryTime = analyticsResultCacheExpiryTime;
+    }
+
+    public long getLifecycleCacheExpiryTime() {
+        return lifecycleCacheExpiryTime;
+    }
+
+    public void setLifecycleCacheExpiryTime(long lifecycleCacheExpiryTime) {
+        this.lifecycleCacheExpiryTime = lifecycleCacheExpiryTime;
+    }
+
+    public int getLifecycleCacheMaxEntries() {
+        return lifecycleCacheMaxEntries;
+    }
+
+    public void setLifecycleCacheMaxEntries(int lifecycleCacheMaxEntries) {
+        this.lifecycleCacheMaxEntries = lifecycleCacheMaxEntries;
+    }
+}
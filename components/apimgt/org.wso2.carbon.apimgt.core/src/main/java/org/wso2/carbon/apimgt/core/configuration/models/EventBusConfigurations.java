@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.configuration.models;
+
+import org.wso2.carbon.kernel.annotations.Configuration;
+import org.wso2.carbon.kernel.annotations.Element;
+
+/**
+ * Class to hold configurations of the bus which notifies event observers.
+ */
+@Configuration(description = "Event bus configurations")
+public class EventBusConfigurations {
+
+    @Element(description = "Maximum number of events waiting to be delivered to a single observer")
+    private int observerQueueSize = 1000;
+
+    @Element(description = "Action taken when the queue of an observer is full: BLOCK or DISCARD")
+    private String overflowPolicy = "BLOCK";
+
+    @Element(description = "Time in seconds to wait for queued events to be delivered on shutdown")
+    private long shutdownTimeout = 30;
+
+    public int getObserverQueueSize() {
+        return observerQueueSize;
+    }
+
+    public void setObserverQueueSize(int observerQueueSize) {
+        this.observerQueueSize = observerQueueSize;
+    }
+
+    public String getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(String overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public long getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    public void setShutdownTimeout(long shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+    }
+}
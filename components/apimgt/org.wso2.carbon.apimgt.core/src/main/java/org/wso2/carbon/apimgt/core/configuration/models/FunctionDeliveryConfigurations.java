@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.configuration.models;
+
+import org.wso2.carbon.kernel.annotations.Configuration;
+import org.wso2.carbon.kernel.annotations.Element;
+
+/**
+ * Class to hold configurations of the delivery of events to functions.
+ */
+@Configuration(description = "Function delivery configurations")
+public class FunctionDeliveryConfigurations {
+
+    @Element(description = "Number of threads delivering events to functions")
+    private int deliveryThreadPoolSize = 10;
+
+    @Element(description = "Maximum number of concurrent deliveries to a single function endpoint")
+    private int maxConcurrentDeliveriesPerEndpoint = 4;
+
+    @Element(description = "Connection timeout of a delivery in milliseconds")
+    private int connectTimeout = 5000;
+
+    @Element(description = "Read timeout of a delivery in milliseconds")
+    private int readTimeout = 10000;
+
+    @Element(description = "Number of times a failed delivery is retried")
+    private int maxRetries = 5;
+
+    @Element(description = "Time in milliseconds to wait before the first retry, doubled on each retry")
+    private long retryInitialBackoff = 5000;
+
+    @Element(description = "Interval in seconds at which pending deliveries are retried")
+    private long retryPollInterval = 5;
+
+    @Element(description = "Time in seconds for which a node claims a pending delivery it retries, after which any node"
+            + " may retry the delivery again")
+    private long deliveryLeaseTime = 300;
+
+    @Element(description = "Time in seconds for which the functions mapped to an event are cached")
+    private long functionCacheExpiryTime = 60;
+
+    public int getDeliveryThreadPoolSize() {
+        return deliveryThreadPoolSize;
+    }
+
+    public void setDeliveryThreadPoolSize(int deliveryThreadPoolSize) {
+        this.deliveryThreadPoolSize = deliveryThreadPoolSize;
+    }
+
+    public int getMaxConcurrentDeliveriesPerEndpoint() {
+        return maxConcurrentDeliveriesPerEndpoint;
+    }
+
+    public void setMaxConcurrentDeliveriesPerEndpoint(int maxConcurrentDeliveriesPerEndpoint) {
+        this.maxConcurrentDeliveriesPerEndpoint = maxConcurrentDeliveriesPerEndpoint;
+    }
+
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public int getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(int readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    public long getRetryInitialBackoff() {
+        return retryInitialBackoff;
+    }
+
+    public void setRetryInitialBackoff(long retryInitialBackoff) {
+        this.retryInitialBackoff = retryInitialBackoff;
+    }
+
+    public long getRetryPollInterval() {
+        return retryPollInterval;
+    }
+
+    public void setRetryPollInterval(long retryPollInterval) {
+        this.retryPollInterval = retryPollInterval;
+    }
+
+    public long getFunctionCacheExpiryTime() {
+        return functionCacheExpiryTime;
+    }
+
+    public void setFunctionCacheExpiryTime(long functionCacheExpiryTime) {
+        this.functionCacheExpiryTime = functionCacheExpiryTime;
+    }
+
+    public long getDeliveryLeaseTime() {
+        return deliveryLeaseTime;
+    }
+
+    public void setDeliveryLeaseTime(long deliveryLeaseTime) {
+        this.deliveryLeaseTime = deliveryLeaseTime;
+    }
+}
@@ -33,6 +33,11 @@ public class JWTConfigurations {
     private String jwtHeader = "X-JWT-Assertion";
     @Element(description = "Signature Algorithm")
     private String signatureAlgorithm = "SHA256withRSA";
+    @Element(description = "Time in seconds for which a signed JWT is cached and reused for the same claims, "
+            + "0 to disable")
+    private long signedJWTCacheExpiryTime = 0;
+    @Element(description = "Maximum number of signed JWTs cached")
+    private int signedJWTCacheMaxEntries = 1000;
 
     public boolean isEnableJWTGeneration() {
         return enableJWTGeneration;
@@ -57,4 +62,20 @@ public class JWTConfigurations {
     public void setSignatureAlgorithm(String signatureAlgorithm) {
         this.signatureAlgorithm = signatureAlgorithm;
     }
+
+    public long getSignedJWTCacheExpiryTime() {
+        return signedJWTCacheExpiryTime;
+    }
+
+    public void setSignedJWTCacheExpiryTime(long signedJWTCacheExpiryTime) {
+        this.signedJWTCacheExpiryTime = signedJWTCacheExpiryTime;
+    }
+
+    public int getSignedJWTCacheMaxEntries() {
+        return signedJWTCacheMaxEntries;
+    }
+
+    public void setSignedJWTCacheMaxEntries(int signedJWTCacheMaxEntries) {
+        this.signedJWTCacheMaxEntries = signedJWTCacheMaxEntries;
+    }
 }
@@ -41,6 +41,15 @@ public class MailConfigurations {
     @Element(description = "StartTSL")
     private Boolean startTsl = true;
 
+    @Element(description = "Maximum number of recipients added as BCC to a single mail")
+    private int bccBatchSize = 50;
+
+    @Element(description = "Number of times sending a mail is retried")
+    private int maxRetries = 3;
+
+    @Element(description = "Time in milliseconds to wait before the first retry, doubled on each retry")
+    private long retryInitialBackoff = 1000;
+
     public String getSmtpHostname() {
         return smtpHostname;
     }
@@ -80,4 +89,28 @@ public class MailConfigurations {
     public void setStartTsl(Boolean startTsl) {
         this.startTsl = startTsl;
     }
+
+    public int getBccBatchSize() {
+        return bccBatchSize;
+    }
+
+    public void setBccBatchSize(int bccBatchSize) {
+        this.bccBatchSize = bccBatchSize;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    public long getRetryInitialBackoff() {
+        return retryInitialBackoff;
+    }
+
+    public void setRetryInitialBackoff(long retryInitialBackoff) {
+        this.retryInitialBackoff = retryInitialBackoff;
+    }
 }
@@ -34,6 +34,12 @@ public class NotificationConfigurations {
     @Element(description = "Notification Configurations")
     private NewVersionNotifierConfigurations newVersionNotifierConfigurations = new NewVersionNotifierConfigurations();
 
+    @Element(description = "Number of threads sending notifications")
+    private int notifierThreadPoolSize = 10;
+
+    @Element(description = "Maximum number of notifications waiting to be sent")
+    private int notifierQueueSize = 1000;
+
     public Boolean getNotificationEnable() {
         return notificationEnable;
     }
@@ -57,4 +63,20 @@ public class NotificationConfigurations {
     public void setNewVersionNotifierConfiguration(NewVersionNotifierConfigurations newVersionNotifierConfiguration) {
         this.newVersionNotifierConfigurations = newVersionNotifierConfiguration;
     }
+
+    public int getNotifierThreadPoolSize() {
+        return notifierThreadPoolSize;
+    }
+
+    public void setNotifierThreadPoolSize(int notifierThreadPoolSize) {
+        this.notifierThreadPoolSize = notifierThreadPoolSize;
+    }
+
+    public int getNotifierQueueSize() {
+        return notifierQueueSize;
+    }
+
+    public void setNotifierQueueSize(int notifierQueueSize) {
+        this.notifierQueueSize = notifierQueueSize;
+    }
 }
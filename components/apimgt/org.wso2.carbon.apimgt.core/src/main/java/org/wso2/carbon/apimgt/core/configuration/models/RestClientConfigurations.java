@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.configuration.models;
+
+import org.wso2.carbon.kernel.annotations.Configuration;
+import org.wso2.carbon.kernel.annotations.Element;
+
+/**
+ * Class to hold configurations of the REST client used to call other services.
+ */
+@Configuration(description = "REST client configurations")
+public class RestClientConfigurations {
+
+    @Element(description = "Maximum number of concurrent requests to a single host")
+    private int maxConnectionsPerHost = 20;
+
+    @Element(description = "Time in milliseconds to wait for a connection to a host to become available")
+    private long connectionAcquireTimeout = 10000;
+
+    @Element(description = "Number of threads making asynchronous requests")
+    private int asyncThreadPoolSize = 10;
+
+    public int getMaxConnectionsPerHost() {
+        return maxConnectionsPerHost;
+    }
+
+    public void setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+    }
+
+    public long getConnectionAcquireTimeout() {
+        return connectionAcquireTimeout;
+    }
+
+    public void setConnectionAcquireTimeout(long connectionAcquireTimeout) {
+        this.connectionAcquireTimeout = connectionAcquireTimeout;
+    }
+
+    public int getAsyncThreadPoolSize() {
+        return asyncThreadPoolSize;
+    }
+
+    public void setAsyncThreadPoolSize(int asyncThreadPoolSize) {
+        this.asyncThreadPoolSize = asyncThreadPoolSize;
+    }
+}
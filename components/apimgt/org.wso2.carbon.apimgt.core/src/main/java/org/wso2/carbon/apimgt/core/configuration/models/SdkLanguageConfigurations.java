@@ -39,6 +39,18 @@ public class SdkLanguageConfigurations {
     @Element(description = "SDK Generation Supported Languages")
     private Map<String, String> sdkGenLanguages = new HashMap<>();
 
+    @Element(description = "Maximum size of the generated SDK archive cache in MB")
+    private long sdkCacheMaxSize = 500;
+
+    @Element(description = "Number of threads used to generate SDKs")
+    private int sdkGenerationThreadPoolSize = 2;
+
+    @Element(description = "Maximum number of SDK generation requests waiting for a thread")
+    private int sdkGenerationQueueSize = 50;
+
+    @Element(description = "Time in seconds to wait for an SDK to be generated")
+    private long sdkGenerationTimeout = 300;
+
     public Map<String, String> getSdkGenLanguages() {
         return sdkGenLanguages;
     }
@@ -46,4 +58,36 @@ public class SdkLanguageConfigurations {
     public void setSdkGenLanguages(Map<String, String> sdkGenLanguages) {
         this.sdkGenLanguages = sdkGenLanguages;
     }
+
+    public long getSdkCacheMaxSize() {
+        return sdkCacheMaxSize;
+    }
+
+    public void setSdkCacheMaxSize(long sdkCacheMaxSize) {
+        this.sdkCacheMaxSize = sdkCacheMaxSize;
+    }
+
+    public int getSdkGenerationThreadPoolSize() {
+        return sdkGenerationThreadPoolSize;
+    }
+
+    public void setSdkGenerationThreadPoolSize(int sdkGenerationThreadPoolSize) {
+        this.sdkGenerationThreadPoolSize = sdkGenerationThreadPoolSize;
+    }
+
+    public int getSdkGenerationQueueSize() {
+        return sdkGenerationQueueSize;
+    }
+
+    public void setSdkGenerationQueueSize(int sdkGenerationQueueSize) {
+        this.sdkGenerationQueueSize = sdkGenerationQueueSize;
+    }
+
+    public long getSdkGenerationTimeout() {
+        return sdkGenerationTimeout;
+    }
+
+    public void setSdkGenerationTimeout(long sdkGenerationTimeout) {
+        this.sdkGenerationTimeout = sdkGenerationTimeout;
+    }
 }
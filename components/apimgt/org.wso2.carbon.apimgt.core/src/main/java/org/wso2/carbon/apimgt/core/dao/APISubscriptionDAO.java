@@ -22,6 +22,8 @@ package org.wso2.carbon.apimgt.core.dao;
 
 import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
 import org.wso2.carbon.apimgt.core.models.APISubscriptionResults;
+import org.wso2.carbon.apimgt.core.models.ContinuationToken;
+import org.wso2.carbon.apimgt.core.models.KeysetPage;
 import org.wso2.carbon.apimgt.core.models.Subscription;
 import org.wso2.carbon.apimgt.core.models.SubscriptionValidationData;
 import org.wso2.carbon.apimgt.core.models.SubscriptionValidationResult;
@@ -133,6 +135,19 @@ public interface APISubscriptionDAO {
      */
     List<Subscription> getAPISubscriptionsForUser(int offset, int limit, String username) throws APIMgtDAOException;
 
+    /**
+     * Retrieves a page of the API Subscriptions of the APIs provided by a user, ordered by API name. Pages are
+     * located by the position of the last Subscription in the previous page rather than by an offset.
+     *
+     * @param username The username to filter results by
+     * @param after    Continuation token of the previous page, or {@code null} to retrieve the first page
+     * @param limit    The maximum number of results to be returned
+     * @return page of {@link Subscription}
+     * @throws APIMgtDAOException   If failed to get subscriptions.
+     */
+    KeysetPage<Subscription> getAPISubscriptionsForUser(String username, ContinuationToken after, int limit)
+            throws APIMgtDAOException;
+
     /**
      * Retrieves all available API Subscriptions. This method supports result pagination and
      * ensures results returned are those that belong to the specified Group ID
@@ -196,6 +211,14 @@ public interface APISubscriptionDAO {
      */
     void deleteAPISubscription(String subscriptionId) throws APIMgtDAOException;
 
+    /**
+     * Create a list of new API Subscriptions in a single transaction
+     *
+     * @param subscriptionList Subscriptions to be added, each referring to its API, application and policy
+     * @throws APIMgtDAOException   If failed to add the subscriptions. None of them are added in that case.
+     */
+    void addAPISubscriptions(List<Subscription> subscriptionList) throws APIMgtDAOException;
+
 
     /**
      * Retrieve the number of subscriptions if a given API
@@ -232,6 +255,34 @@ public interface APISubscriptionDAO {
      */
     void updateSubscriptionPolicy(String subId, String policy) throws APIMgtDAOException;
 
+    /**
+     * Update the status of a list of Subscriptions in a single transaction
+     *
+     * @param subIds    IDs of the Subscriptions
+     * @param subStatus New Subscription Status
+     * @throws APIMgtDAOException   If failed update subscription statuses.
+     */
+    void updateSubscriptionStatuses(List<String> subIds, APIMgtConstants.SubscriptionStatus subStatus) throws
+            APIMgtDAOException;
+
+    /**
+     * Update the policy of a list of Subscriptions in a single transaction
+     *
+     * @param subIds IDs of the Subscriptions
+     * @param policy New Subscription Policy
+     * @throws APIMgtDAOException   If failed to update subscription policies.
+     */
+    void updateSubscriptionPolicies(List<String> subIds, String policy) throws APIMgtDAOException;
+
+    /**
+     * Retrieve the validation data of a list of Subscriptions
+     *
+     * @param subIds IDs of the Subscriptions
+     * @return A list of {@link SubscriptionValidationData} objects
+     * @throws APIMgtDAOException   If failed to get subscriptions.
+     */
+    List<SubscriptionValidationData> getAPISubscriptionsForValidation(List<String> subIds) throws APIMgtDAOException;
+
     /**
      * Validates a subscription
      *
@@ -20,6 +20,7 @@ import org.wso2.carbon.apimgt.core.models.analytics.APICount;
 import org.wso2.carbon.apimgt.core.models.analytics.APIInfo;
 import org.wso2.carbon.apimgt.core.models.analytics.APISubscriptionCount;
 import org.wso2.carbon.apimgt.core.models.analytics.ApplicationCount;
+import org.wso2.carbon.apimgt.core.models.analytics.RollupEntity;
 import org.wso2.carbon.apimgt.core.models.analytics.SubscriptionCount;
 import org.wso2.carbon.apimgt.core.models.analytics.SubscriptionInfo;
 
@@ -32,7 +33,8 @@ import java.util.List;
 public interface AnalyticsDAO {
 
     /**
-     * Retrieves applications created overtime information.
+     * Retrieves applications created overtime information. The counts are answered from hourly rollups, or daily
+     * rollups for ranges longer than a week, hence the timestamps are the starts of the buckets.
      *
      * @param fromTimestamp Filter for from timestamp
      * @param toTimestamp   Filter for to timestamp
@@ -55,7 +57,8 @@ public interface AnalyticsDAO {
     List<APIInfo> getAPIInfo(Instant fromTimestamp, Instant toTimestamp, String createdBy) throws APIMgtDAOException;
 
     /**
-     * Retrieves APIs created overtime information.
+     * Retrieves APIs created overtime information. The counts are answered from hourly rollups, or daily rollups for
+     * ranges longer than a week, hence the timestamps are the starts of the buckets.
      *
      * @param fromTimestamp Filter for from timestamp
      * @param toTimestamp   Filter for to timestamp
@@ -78,7 +81,8 @@ public interface AnalyticsDAO {
             APIMgtDAOException;
 
     /**
-     * Retrieves Subscriptions count created over time.
+     * Retrieves Subscriptions count created over time. The counts are answered from hourly rollups, or daily rollups
+     * for ranges longer than a week, hence the timestamps are the starts of the buckets.
      *
      * @param fromTimestamp Filter for from timestamp
      * @param toTimestamp   Filter for to timestamp
@@ -100,4 +104,26 @@ public interface AnalyticsDAO {
      */
     List<SubscriptionInfo> getSubscriptionInfo(Instant fromTimestamp, Instant toTimestamp, String createdBy) throws
             APIMgtDAOException;
+
+    /**
+     * Adds to the rolled up count of the entities of a type which were created by a user at a time. A negative delta
+     * removes deleted entities from the count.
+     *
+     * @param entity      Type of the entities
+     * @param createdBy   User who created the entities, or null if not known
+     * @param createdTime Time at which the entities were created
+     * @param delta       Number of entities to be added to the count
+     * @throws APIMgtDAOException if error occurs while accessing data layer
+     */
+    void updateRollupCount(RollupEntity entity, String createdBy, Instant createdTime, long delta) throws
+            APIMgtDAOException;
+
+    /**
+     * Builds the rolled up counts from the API, application and subscription tables, replacing any existing rollups.
+     *
+     * @param onlyIfEmpty Whether to build the rollups only if none exist, as on the first start after an upgrade
+     * @return true if the rollups were built
+     * @throws APIMgtDAOException if error occurs while accessing data layer
+     */
+    boolean rebuildRollups(boolean onlyIfEmpty) throws APIMgtDAOException;
 }
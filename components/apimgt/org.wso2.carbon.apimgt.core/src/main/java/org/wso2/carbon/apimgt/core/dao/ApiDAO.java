@@ -24,8 +24,10 @@ import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
 import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.Comment;
 import org.wso2.carbon.apimgt.core.models.CompositeAPI;
+import org.wso2.carbon.apimgt.core.models.ContinuationToken;
 import org.wso2.carbon.apimgt.core.models.DocumentInfo;
 import org.wso2.carbon.apimgt.core.models.Endpoint;
+import org.wso2.carbon.apimgt.core.models.KeysetPage;
 import org.wso2.carbon.apimgt.core.models.Rating;
 import org.wso2.carbon.apimgt.core.models.UriTemplate;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants.APILCWorkflowStatus;
@@ -132,6 +134,16 @@ public interface ApiDAO {
      */ 
     String getLastUpdatedTimeOfGatewayConfig(String apiId) throws APIMgtDAOException;
 
+    /**
+     * Retrieves the last updated time of the WSDL or WSDL archive of an API
+     *
+     * @param apiId UUID of API
+     * @return Last updated time of the WSDL or WSDL archive of the API, or null if the API does not have a WSDL
+     * @throws APIMgtDAOException if error occurs while accessing data layer
+     */
+    @CheckForNull
+    String getLastUpdatedTimeOfWSDL(String apiId) throws APIMgtDAOException;
+
     /**
      * Retrieves summary data of all available APIs.
      *
@@ -143,6 +155,21 @@ public interface ApiDAO {
      */
     List<API> getAPIs(Set<String> roles, String user) throws APIMgtDAOException;
 
+    /**
+     * Retrieves a page of summary data of the available APIs ordered by name. Pages are located by the position of
+     * the last API in the previous page rather than by an offset, so the cost of fetching a page does not grow with
+     * the number of pages skipped.
+     *
+     * @param roles The set of roles of the current user
+     * @param user  The userName of the current user
+     * @param after Continuation token of the previous page, or {@code null} to retrieve the first page
+     * @param limit Maximum number of APIs to be returned
+     * @return {@code KeysetPage<API>} matching results
+     * @throws APIMgtDAOException if error occurs while accessing data layer
+     */
+    KeysetPage<API> getAPIs(Set<String> roles, String user, ContinuationToken after, int limit)
+            throws APIMgtDAOException;
+
     /**
      * Retrieves summary data of all available APIs with life cycle status that matches the status list provided
      *
@@ -164,6 +191,20 @@ public interface ApiDAO {
      */
     List<API> getAPIsByStatus(Set<String> roles, List<String> statuses) throws APIMgtDAOException;
 
+    /**
+     * Retrieves a page of summary data of the APIs visible to the given roles with life cycle status that matches
+     * the status list provided, ordered by name.
+     *
+     * @param roles    role list of current user
+     * @param statuses status of APIs to be returned
+     * @param after    Continuation token of the previous page, or {@code null} to retrieve the first page
+     * @param limit    Maximum number of APIs to be returned
+     * @return page of APIs
+     * @throws APIMgtDAOException if failed to fetch APIs from database
+     */
+    KeysetPage<API> getAPIsByStatus(Set<String> roles, List<String> statuses, ContinuationToken after,
+                                    int limit) throws APIMgtDAOException;
+
     /**
      * Retrieves summary of paginated data of all available APIs that match the given search criteria. This will use
      * the full text search for API table
@@ -254,6 +295,18 @@ public interface ApiDAO {
      */
     void addAPI(API api) throws APIMgtDAOException;
 
+    /**
+     * Add a new version of an existing API by copying the stored API within the data layer. The mappings, documents,
+     * thumbnail and WSDL of the source API are copied along with their content, without reading them into memory.
+     * Only the id, version, context, lifecycle, copied from API id, created user, API definition and gateway config
+     * are taken from the given API.
+     *
+     * @param sourceApiId UUID of the API to be copied
+     * @param api         The {@link API} object holding the details of the new version
+     * @throws APIMgtDAOException if error occurs while accessing data layer
+     */
+    void cloneAPI(String sourceApiId, API api) throws APIMgtDAOException;
+
     /**
      * Create API that is associated with an Application. This is specifically required to support the creation of
      * Composite APIs which are always associated with a specific Application.
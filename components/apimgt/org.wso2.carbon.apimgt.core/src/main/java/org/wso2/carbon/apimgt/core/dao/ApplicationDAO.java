@@ -23,6 +23,8 @@ package org.wso2.carbon.apimgt.core.dao;
 
 import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
 import org.wso2.carbon.apimgt.core.models.Application;
+import org.wso2.carbon.apimgt.core.models.ContinuationToken;
+import org.wso2.carbon.apimgt.core.models.KeysetPage;
 import org.wso2.carbon.apimgt.core.models.OAuthApplicationInfo;
 
 import java.util.List;
@@ -74,6 +76,19 @@ public interface ApplicationDAO {
      */
     Application[] getApplicationsForUser(int offset, int limit, String userName) throws APIMgtDAOException;
 
+    /**
+     * Retrieves a page of the Applications that belong to a user, ordered by name. Pages are located by the
+     * position of the last Application in the previous page rather than by an offset.
+     *
+     * @param userName The username to filter results by
+     * @param after    Continuation token of the previous page, or {@code null} to retrieve the first page
+     * @param limit    The maximum number of results to be returned
+     * @return page of {@link Application}
+     * @throws APIMgtDAOException   If failed to get applications.
+     */
+    KeysetPage<Application> getApplicationsForUser(String userName, ContinuationToken after, int limit)
+            throws APIMgtDAOException;
+
     /**
      * Retrieves summary data of all available Applications that match the given search criteria. This method supports
      * result pagination and ensuring results returned are for Apps belonging to the specified username
@@ -23,6 +23,7 @@ package org.wso2.carbon.apimgt.core.dao;
 import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
 import org.wso2.carbon.apimgt.core.models.Event;
 import org.wso2.carbon.apimgt.core.models.Function;
+import org.wso2.carbon.apimgt.core.models.FunctionDelivery;
 
 import java.util.List;
 
@@ -89,4 +90,51 @@ public interface FunctionDAO {
      * @throws APIMgtDAOException In case of any failures, when trying to update all the Functions
      */
     void updateUserDeployedFunctions(String userName, List<Function> functions) throws APIMgtDAOException;
+
+    /**
+     * To add a delivery of an event payload which needs to be retried.
+     *
+     * @param delivery Delivery to be added
+     * @throws APIMgtDAOException In case of any failures, when trying to add the delivery
+     */
+    void addPendingDelivery(FunctionDelivery delivery) throws APIMgtDAOException;
+
+    /**
+     * To get the pending deliveries which are due to be retried, in the order of their next attempt time.
+     *
+     * @param dueTime Time in milliseconds since epoch until which deliveries are due
+     * @param limit   Maximum number of deliveries to be returned
+     * @return List of pending deliveries
+     * @throws APIMgtDAOException In case of any failures, when trying to get pending deliveries
+     */
+    List<FunctionDelivery> getPendingDeliveries(long dueTime, int limit) throws APIMgtDAOException;
+
+    /**
+     * To claim a pending delivery before retrying it, so that it is not retried by other nodes at the same time. The
+     * next attempt time of the delivery is moved to the expiry of the claim, after which the delivery is due again if
+     * it has been neither updated nor deleted.
+     *
+     * @param delivery        Delivery as returned by {@link #getPendingDeliveries(long, int)}
+     * @param leaseExpiryTime Time in milliseconds since epoch at which the claim expires
+     * @return {@code true} if the delivery was claimed, {@code false} if it has been claimed, updated or deleted since
+     * it was retrieved
+     * @throws APIMgtDAOException In case of any failures, when trying to claim the delivery
+     */
+    boolean claimPendingDelivery(FunctionDelivery delivery, long leaseExpiryTime) throws APIMgtDAOException;
+
+    /**
+     * To update the number of attempts and the next attempt time of a pending delivery.
+     *
+     * @param delivery Delivery to be updated
+     * @throws APIMgtDAOException In case of any failures, when trying to update the delivery
+     */
+    void updatePendingDelivery(FunctionDelivery delivery) throws APIMgtDAOException;
+
+    /**
+     * To delete a pending delivery, once it is delivered or has no retries left.
+     *
+     * @param deliveryId Id of the delivery
+     * @throws APIMgtDAOException In case of any failures, when trying to delete the delivery
+     */
+    void deletePendingDelivery(String deliveryId) throws APIMgtDAOException;
 }
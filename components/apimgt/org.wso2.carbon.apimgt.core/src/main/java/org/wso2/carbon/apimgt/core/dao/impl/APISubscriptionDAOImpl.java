@@ -29,6 +29,8 @@ import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
 import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.APISubscriptionResults;
 import org.wso2.carbon.apimgt.core.models.Application;
+import org.wso2.carbon.apimgt.core.models.ContinuationToken;
+import org.wso2.carbon.apimgt.core.models.KeysetPage;
 import org.wso2.carbon.apimgt.core.models.Subscription;
 import org.wso2.carbon.apimgt.core.models.SubscriptionValidationData;
 import org.wso2.carbon.apimgt.core.models.SubscriptionValidationResult;
@@ -43,16 +45,44 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Default implementation of the APISubscriptionDAO interface. Uses SQL syntax that is common to H2 and MySQL DBs.
  * Hence is considered as the default due to its re-usability.
+ * <p>
+ * Subscriptions are validated and listed for the gateways from a {@link SubscriptionValidationIndex}, which is loaded
+ * on the first lookup and refreshed whenever a subscription, or the keys of an application, are changed.
  */
 public class APISubscriptionDAOImpl implements APISubscriptionDAO {
 
     private static final String AM_SUBSCRIPTION_TABLE_NAME = "AM_SUBSCRIPTION";
     private static final Logger log = LoggerFactory.getLogger(APISubscriptionDAOImpl.class);
+    private static final String GET_SUBSCRIPTIONS_WITH_API_AND_APP_SQL = "SELECT SUBS.UUID AS SUBS_UUID, " +
+            "SUBS.TIER_ID AS SUBS_TIER, SUBS.API_ID AS API_ID, SUBS.APPLICATION_ID AS APP_ID, " +
+            "SUBS.SUB_STATUS AS SUB_STATUS, SUBS.SUB_TYPE AS SUB_TYPE, SUBS.CREATED_BY AS SUBS_CREATED_BY, " +
+            "SUBS.CREATED_TIME AS SUBS_CREATED_TIME, APP.NAME AS APP_NAME, " +
+            "APP.APPLICATION_POLICY_ID AS APP_POLICY_ID, APP.APPLICATION_STATUS AS APP_STATUS, " +
+            "APP.CREATED_BY AS APP_OWNER, POLICY.NAME AS SUBS_POLICY, POLICY.UUID AS SUBS_POLICY_ID, " +
+            "API.PROVIDER AS API_PROVIDER, API.NAME AS API_NAME, API.CONTEXT AS API_CONTEXT, " +
+            "API.VERSION AS API_VERSION " +
+            "FROM AM_SUBSCRIPTION SUBS, AM_APPLICATION APP, AM_SUBSCRIPTION_POLICY POLICY, AM_API API " +
+            "WHERE  SUBS.APPLICATION_ID = APP.UUID AND SUBS.TIER_ID = POLICY.UUID " +
+            "AND API.UUID = SUBS.API_ID ";
+    private static final String GET_SUBSCRIPTIONS_OF_PROVIDER_SQL = GET_SUBSCRIPTIONS_WITH_API_AND_APP_SQL +
+            "AND API.PROVIDER = ? ";
+    private static final String GET_APPLICATION_KEYS_SQL = "SELECT APPLICATION_ID, CLIENT_ID, KEY_TYPE " +
+            "FROM AM_APP_KEY_MAPPING ";
+
+    private volatile SubscriptionValidationIndex validationIndex;
 
     /**
      * Retrieve a given instance of an API Subscription
@@ -64,7 +94,8 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
     @Override
     public Subscription getAPISubscription(String subscriptionId) throws APIMgtDAOException {
         final String getSubscriptionSql = "SELECT SUBS.UUID AS SUBS_UUID, SUBS.API_ID AS API_ID, " +
-                "SUBS.APPLICATION_ID AS APP_ID, SUBS.SUB_STATUS AS SUB_STATUS, API.PROVIDER AS API_PROVIDER, " +
+                "SUBS.APPLICATION_ID AS APP_ID, SUBS.SUB_STATUS AS SUB_STATUS, SUBS.CREATED_BY AS SUBS_CREATED_BY, " +
+                "SUBS.CREATED_TIME AS SUBS_CREATED_TIME, API.PROVIDER AS API_PROVIDER, " +
                 "API.NAME AS API_NAME, API.CONTEXT AS API_CONTEXT, API.VERSION AS API_VERSION, APP.NAME AS APP_NAME, " +
                 "APP.APPLICATION_STATUS AS APP_STATUS, " +
                 "APP.CREATED_BY AS APP_OWNER, POLICY.NAME AS SUBS_POLICY, POLICY.UUID AS SUBS_POLICY_ID " +
@@ -125,7 +156,8 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
     public List<Subscription> getAPISubscriptionsByApplication(String applicationId) throws APIMgtDAOException {
         final String getSubscriptionsByAppSql = "SELECT SUBS.UUID AS SUBS_UUID, SUBS.TIER_ID AS SUBS_TIER, " +
                 "SUBS.API_ID AS API_ID, SUBS.APPLICATION_ID AS APP_ID, SUBS.SUB_STATUS AS SUB_STATUS, " +
-                "SUBS.SUB_TYPE AS SUB_TYPE, API.PROVIDER AS API_PROVIDER, API.NAME AS API_NAME, " +
+                "SUBS.SUB_TYPE AS SUB_TYPE, SUBS.CREATED_BY AS SUBS_CREATED_BY, " +
+                "SUBS.CREATED_TIME AS SUBS_CREATED_TIME, API.PROVIDER AS API_PROVIDER, API.NAME AS API_NAME, " +
                 "API.CONTEXT AS API_CONTEXT, API.VERSION AS API_VERSION, POLICY.NAME AS SUBS_POLICY " +
                 "FROM AM_SUBSCRIPTION SUBS, AM_API API, AM_SUBSCRIPTION_POLICY POLICY  " +
                 "WHERE SUBS.APPLICATION_ID = ? AND SUBS.API_ID = API.UUID AND SUBS.TIER_ID = POLICY.UUID";
@@ -147,7 +179,8 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
             throws APIMgtDAOException {
         final String getSubscriptionsByAppSql = "SELECT SUBS.UUID AS SUBS_UUID, SUBS.TIER_ID AS SUBS_TIER, " +
                 "SUBS.API_ID AS API_ID, SUBS.APPLICATION_ID AS APP_ID, SUBS.SUB_STATUS AS SUB_STATUS, " +
-                "SUBS.SUB_TYPE AS SUB_TYPE, API.PROVIDER AS API_PROVIDER, API.NAME AS API_NAME, " +
+                "SUBS.SUB_TYPE AS SUB_TYPE, SUBS.CREATED_BY AS SUBS_CREATED_BY, " +
+                "SUBS.CREATED_TIME AS SUBS_CREATED_TIME, API.PROVIDER AS API_PROVIDER, API.NAME AS API_NAME, " +
                 "API.CONTEXT AS API_CONTEXT, API.VERSION AS API_VERSION, POLICY.NAME AS SUBS_POLICY " +
                 "FROM AM_SUBSCRIPTION SUBS, AM_API API, AM_SUBSCRIPTION_POLICY POLICY  " +
                 "WHERE SUBS.APPLICATION_ID = ? AND SUBS.API_ID = API.UUID AND SUBS.TIER_ID = POLICY.UUID " +
@@ -178,7 +211,8 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
     public List<Subscription> getPendingAPISubscriptionsByApplication(String applicationId) throws APIMgtDAOException {
         final String getSubscriptionsByAppSql = "SELECT SUBS.UUID AS SUBS_UUID, SUBS.TIER_ID AS SUBS_TIER, " +
                 "SUBS.API_ID AS API_ID, SUBS.APPLICATION_ID AS APP_ID, SUBS.SUB_STATUS AS SUB_STATUS, " +
-                "SUBS.SUB_TYPE AS SUB_TYPE, API.PROVIDER AS API_PROVIDER, API.NAME AS API_NAME, " +
+                "SUBS.SUB_TYPE AS SUB_TYPE, SUBS.CREATED_BY AS SUBS_CREATED_BY, " +
+                "SUBS.CREATED_TIME AS SUBS_CREATED_TIME, API.PROVIDER AS API_PROVIDER, API.NAME AS API_NAME, " +
                 "API.CONTEXT AS API_CONTEXT, API.VERSION AS API_VERSION, POLICY.NAME AS SUBS_POLICY " +
                 "FROM AM_SUBSCRIPTION SUBS, AM_API API, AM_SUBSCRIPTION_POLICY POLICY  " +
                 "WHERE SUBS.APPLICATION_ID = ? AND SUBS.API_ID = API.UUID AND SUBS.TIER_ID = POLICY.UUID " +
@@ -198,7 +232,7 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
     }
 
     /**
-     * Retrieve all API Subscriptions for validation
+     * Retrieve all API Subscriptions for validation, from the subscription validation index
      *
      * @param limit Subscription Limit
      * @return A list of {@link SubscriptionValidationData} objects
@@ -209,23 +243,11 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
         if (limit == 0) {
             return new ArrayList<>();
         }
-        final String getSubscriptionsSql = "SELECT SUBS.API_ID AS API_ID,SUBS.APPLICATION_ID AS APP_ID,SUBS" +
-                ".SUB_STATUS AS SUB_STATUS, API.PROVIDER AS API_PROVIDER, API.NAME AS API_NAME,API.CONTEXT AS " +
-                "API_CONTEXT, API.VERSION AS API_VERSION,SUBS.TIER_ID AS SUBS_POLICY , KEY_MAP.CLIENT_ID AS " +
-                "CLIENT_ID,KEY_MAP.KEY_TYPE AS KEY_ENV_TYPE FROM AM_SUBSCRIPTION SUBS, AM_API API,AM_APP_KEY_MAPPING " +
-                "KEY_MAP WHERE SUBS.API_ID = API.UUID AND KEY_MAP.APPLICATION_ID = SUBS.APPLICATION_ID";
-        try (Connection conn = DAOUtil.getConnection();
-             PreparedStatement ps = conn.prepareStatement(getSubscriptionsSql)) {
-            try (ResultSet rs = ps.executeQuery()) {
-                return createSubscriptionValidationDataFromResultSet(rs);
-            }
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting api subscriptions for validation", e);
-        }
+        return getValidationIndex().getSubscriptions();
     }
 
     /**
-     * Retrieve the list of subscriptions of an API for validation
+     * Retrieve the list of subscriptions of an API for validation, from the subscription validation index
      *
      * @param apiContext Context of the API
      * @param apiVersion Version of the API.
@@ -235,24 +257,7 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
     @Override
     public List<SubscriptionValidationData> getAPISubscriptionsOfAPIForValidation(String apiContext, String apiVersion)
             throws APIMgtDAOException {
-        final String getSubscriptionsByAPISql = "SELECT SUBS.API_ID AS API_ID, SUBS.APPLICATION_ID AS APP_ID,SUBS" +
-                ".SUB_STATUS AS SUB_STATUS, API.PROVIDER AS API_PROVIDER, API.NAME AS API_NAME, API.CONTEXT AS " +
-                "API_CONTEXT, API.VERSION AS API_VERSION, SUBS.TIER_ID AS SUBS_POLICY , KEY_MAP.CLIENT_ID AS " +
-                "CLIENT_ID,KEY_MAP.KEY_TYPE AS KEY_ENV_TYPE FROM AM_SUBSCRIPTION SUBS, AM_API API,AM_APP_KEY_MAPPING " +
-                "KEY_MAP WHERE SUBS.API_ID = API.UUID AND KEY_MAP.APPLICATION_ID = SUBS.APPLICATION_ID AND API" +
-                ".CONTEXT = ? AND API.VERSION = ?";
-        try (Connection conn = DAOUtil.getConnection();
-             PreparedStatement ps = conn.prepareStatement(getSubscriptionsByAPISql)) {
-            ps.setString(1, apiContext);
-            ps.setString(2, apiVersion);
-            try (ResultSet rs = ps.executeQuery()) {
-                return createSubscriptionValidationDataFromResultSet(rs);
-            }
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX +
-                    "getting api subscriptions for validation(apiContext: " + apiContext +
-                    ", apiVersion: " + apiVersion + ")", e);
-        }
+        return getValidationIndex().getSubscriptions(apiContext, apiVersion);
     }
 
     /**
@@ -331,18 +336,8 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
     @Override
     public List<Subscription> getAPISubscriptionsForUser(int offset, int limit, String username)
             throws APIMgtDAOException {
-        final String getSubscriptionsByAPISql = "SELECT SUBS.UUID AS SUBS_UUID, SUBS.TIER_ID AS SUBS_TIER, " +
-                "SUBS.API_ID AS API_ID, SUBS.APPLICATION_ID AS APP_ID, SUBS.SUB_STATUS AS SUB_STATUS, " +
-                "SUBS.SUB_TYPE AS SUB_TYPE, APP.NAME AS APP_NAME, APP.APPLICATION_POLICY_ID AS APP_POLICY_ID, " +
-                "APP.APPLICATION_STATUS AS APP_STATUS, " +
-                "APP.CREATED_BY AS APP_OWNER, POLICY.NAME AS SUBS_POLICY, POLICY.UUID AS SUBS_POLICY_ID, " +
-                "API.PROVIDER AS API_PROVIDER, API.NAME AS API_NAME, API.CONTEXT AS API_CONTEXT, " +
-                "API.VERSION AS API_VERSION " +
-                "FROM AM_SUBSCRIPTION SUBS, AM_APPLICATION APP, AM_SUBSCRIPTION_POLICY POLICY, AM_API API " +
-                "WHERE  SUBS.APPLICATION_ID = APP.UUID AND SUBS.TIER_ID = POLICY.UUID " +
-                "AND API.UUID = SUBS.API_ID AND API.PROVIDER = ? ";
         try (Connection conn = DAOUtil.getConnection();
-             PreparedStatement ps = conn.prepareStatement(getSubscriptionsByAPISql)) {
+             PreparedStatement ps = conn.prepareStatement(GET_SUBSCRIPTIONS_OF_PROVIDER_SQL)) {
             ps.setString(1, username);
             try (ResultSet rs = ps.executeQuery()) {
                 return createSubscriptionsFromResultSet(rs);
@@ -353,6 +348,37 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
         }
     }
 
+    /**
+     * @see APISubscriptionDAO#getAPISubscriptionsForUser(String, ContinuationToken, int)
+     */
+    @Override
+    public KeysetPage<Subscription> getAPISubscriptionsForUser(String username, ContinuationToken after, int limit)
+            throws APIMgtDAOException {
+        String getSubscriptionsSql = GET_SUBSCRIPTIONS_OF_PROVIDER_SQL;
+        if (after != null) {
+            getSubscriptionsSql += "AND " + DAOUtil.getKeysetCondition("API.NAME", "SUBS.UUID");
+        }
+        getSubscriptionsSql += " ORDER BY API.NAME, SUBS.UUID";
+        try (Connection conn = DAOUtil.getConnection();
+             PreparedStatement ps = conn.prepareStatement(DAOUtil.getRowLimitedQuery(getSubscriptionsSql))) {
+            int index = 0;
+            ps.setString(++index, username);
+            if (after != null) {
+                index = DAOUtil.setKeysetParameters(ps, index, after);
+            }
+            // One more row than the limit is fetched to find out whether there is a next page
+            ps.setInt(++index, limit + 1);
+            try (ResultSet rs = ps.executeQuery()) {
+                return DAOUtil.toKeysetPage(createSubscriptionsFromResultSet(rs), limit,
+                        subscription -> new ContinuationToken(subscription.getApi().getName(),
+                                subscription.getId()));
+            }
+        } catch (SQLException e) {
+            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX +
+                    "getting page of api subscriptions for user(username: " + username + ")", e);
+        }
+    }
+
     /**
      * Retrieves all available API Subscriptions. This method supports result pagination and
      * ensures results returned are those that belong to the specified Group ID
@@ -436,6 +462,7 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
                     "adding api subscription(subscriptionId: " + uuid + ", apiId: " +
                     apiId + ", appId: " + appId + ", policyId: " + policyId + ", status: " + status + ")", e);
         }
+        refreshValidationIndexOfSubscriptions(Collections.singletonList(uuid));
     }
 
     /**
@@ -446,11 +473,20 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
      */
     @Override
     public void deleteAPISubscription(String subscriptionId) throws APIMgtDAOException {
+        final String getApplicationIdSql = "SELECT APPLICATION_ID FROM AM_SUBSCRIPTION WHERE UUID = ?";
         final String deleteSubscriptionSql = "DELETE FROM AM_SUBSCRIPTION WHERE UUID = ? ";
+        String applicationId = null;
         try (Connection conn = DAOUtil.getConnection()) {
             boolean originalAutoCommitState = conn.getAutoCommit();
             conn.setAutoCommit(false);
-            try (PreparedStatement ps = conn.prepareStatement(deleteSubscriptionSql)) {
+            try (PreparedStatement applicationIdStatement = conn.prepareStatement(getApplicationIdSql);
+                 PreparedStatement ps = conn.prepareStatement(deleteSubscriptionSql)) {
+                applicationIdStatement.setString(1, subscriptionId);
+                try (ResultSet rs = applicationIdStatement.executeQuery()) {
+                    if (rs.next()) {
+                        applicationId = rs.getString("APPLICATION_ID");
+                    }
+                }
                 ps.setString(1, subscriptionId);
                 ps.execute();
                 conn.commit();
@@ -465,6 +501,37 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
             throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX +
                     "deleting api subscription(subscriptionId: " + subscriptionId + ")", e);
         }
+        if (applicationId != null) {
+            refreshValidationIndex(Collections.singletonList(applicationId));
+        }
+    }
+
+    /**
+     * Create a list of new API Subscriptions in a single transaction
+     *
+     * @param subscriptionList Subscriptions to be added, each referring to its API, application and policy
+     * @throws APIMgtDAOException If failed to add the subscriptions.
+     */
+    @Override
+    public void addAPISubscriptions(List<Subscription> subscriptionList) throws APIMgtDAOException {
+        try (Connection conn = DAOUtil.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                createSubscriptions(subscriptionList, conn);
+                conn.commit();
+            } catch (APIMgtDAOException ex) {
+                conn.rollback();
+                throw ex;
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "adding api subscriptions", ex);
+            } finally {
+                conn.setAutoCommit(DAOUtil.isAutoCommit());
+            }
+        } catch (SQLException e) {
+            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "adding api subscriptions", e);
+        }
+        refreshValidationIndexOfSubscriptions(getSubscriptionIds(subscriptionList));
     }
 
     /**
@@ -503,12 +570,11 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
         try (Connection conn = DAOUtil.getConnection()) {
             conn.setAutoCommit(false);
             try {
-                for (Subscription subscription : subscriptionList) {
-                    createSubscription(subscription.getApi().getId(), subscription.getApplication().getId(),
-                            subscription.getId(), subscription.getPolicy().getUuid(), subscription.getStatus(),
-                            conn);
-                }
+                createSubscriptions(subscriptionList, conn);
                 conn.commit();
+            } catch (APIMgtDAOException ex) {
+                conn.rollback();
+                throw ex;
             } catch (SQLException ex) {
                 conn.rollback();
                 throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "copying subscriptions", ex);
@@ -518,6 +584,7 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
         } catch (SQLException e) {
             throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "copying subscriptions", e);
         }
+        refreshValidationIndexOfSubscriptions(getSubscriptionIds(subscriptionList));
     }
 
     /**
@@ -551,6 +618,7 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
             throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX +
                     "updating subscription status(subscriptionId: " + subId + ", status: " + subStatus + ")", e);
         }
+        refreshValidationIndexOfSubscriptions(Collections.singletonList(subId));
     }
 
     /**
@@ -590,6 +658,126 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
             throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX +
                     "updating subscription policy(subscriptionId: " + subId + ", policy: " + policy + ")", e);
         }
+        refreshValidationIndexOfSubscriptions(Collections.singletonList(subId));
+    }
+
+    /**
+     * Update the status of a list of Subscriptions in a single transaction
+     *
+     * @param subIds    IDs of the Subscriptions
+     * @param subStatus New Subscription Status
+     * @throws APIMgtDAOException If failed to update subscriptions.
+     */
+    @Override
+    public void updateSubscriptionStatuses(List<String> subIds, APIMgtConstants.SubscriptionStatus subStatus)
+            throws APIMgtDAOException {
+        final String updateSubscriptionSql = "UPDATE AM_SUBSCRIPTION SET SUB_STATUS = ?, LAST_UPDATED_TIME = ? "
+                + "WHERE UUID = ?";
+        try (Connection conn = DAOUtil.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement preparedStatement = conn.prepareStatement(updateSubscriptionSql)) {
+                Timestamp updatedTime = Timestamp.valueOf(LocalDateTime.now());
+                for (String subId : subIds) {
+                    preparedStatement.setString(1, subStatus.toString());
+                    preparedStatement.setTimestamp(2, updatedTime);
+                    preparedStatement.setString(3, subId);
+                    preparedStatement.addBatch();
+                }
+                preparedStatement.executeBatch();
+                conn.commit();
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX +
+                        "updating subscription statuses(subscriptionIds: " + subIds + ", status: " + subStatus + ")",
+                        ex);
+            } finally {
+                conn.setAutoCommit(DAOUtil.isAutoCommit());
+            }
+        } catch (SQLException e) {
+            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX +
+                    "updating subscription statuses(subscriptionIds: " + subIds + ", status: " + subStatus + ")", e);
+        }
+        refreshValidationIndexOfSubscriptions(subIds);
+    }
+
+    /**
+     * Update the policy of a list of Subscriptions in a single transaction
+     *
+     * @param subIds IDs of the Subscriptions
+     * @param policy New Subscription Policy
+     * @throws APIMgtDAOException If failed to update subscriptions.
+     */
+    @Override
+    public void updateSubscriptionPolicies(List<String> subIds, String policy) throws APIMgtDAOException {
+        final String getPolicyIdSql = "SELECT UUID FROM AM_SUBSCRIPTION_POLICY WHERE NAME = ?";
+        final String updateSubscriptionSql = "UPDATE AM_SUBSCRIPTION SET TIER_ID = ?, LAST_UPDATED_TIME = ? "
+                + "WHERE UUID = ?";
+        try (Connection conn = DAOUtil.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement policyStatement = conn.prepareStatement(getPolicyIdSql);
+                 PreparedStatement preparedStatement = conn.prepareStatement(updateSubscriptionSql)) {
+                policyStatement.setString(1, policy);
+                String policyId = null;
+                try (ResultSet rs = policyStatement.executeQuery()) {
+                    if (rs.next()) {
+                        policyId = rs.getString("UUID");
+                    }
+                }
+                Timestamp updatedTime = Timestamp.valueOf(LocalDateTime.now());
+                for (String subId : subIds) {
+                    preparedStatement.setString(1, policyId);
+                    preparedStatement.setTimestamp(2, updatedTime);
+                    preparedStatement.setString(3, subId);
+                    preparedStatement.addBatch();
+                }
+                preparedStatement.executeBatch();
+                conn.commit();
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX +
+                        "updating subscription policies(subscriptionIds: " + subIds + ", policy: " + policy + ")", ex);
+            } finally {
+                conn.setAutoCommit(DAOUtil.isAutoCommit());
+            }
+        } catch (SQLException e) {
+            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX +
+                    "updating subscription policies(subscriptionIds: " + subIds + ", policy: " + policy + ")", e);
+        }
+        refreshValidationIndexOfSubscriptions(subIds);
+    }
+
+    /**
+     * Retrieve the validation data of a list of Subscriptions
+     *
+     * @param subIds IDs of the Subscriptions
+     * @return A list of {@link SubscriptionValidationData} objects
+     * @throws APIMgtDAOException If failed to get subscriptions.
+     */
+    @Override
+    public List<SubscriptionValidationData> getAPISubscriptionsForValidation(List<String> subIds)
+            throws APIMgtDAOException {
+        if (subIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        final String getSubscriptionsSql = "SELECT SUBS.API_ID AS API_ID, SUBS.APPLICATION_ID AS APP_ID,SUBS" +
+                ".SUB_STATUS AS SUB_STATUS, API.PROVIDER AS API_PROVIDER, API.NAME AS API_NAME, API.CONTEXT AS " +
+                "API_CONTEXT, API.VERSION AS API_VERSION, SUBS.TIER_ID AS SUBS_POLICY , KEY_MAP.CLIENT_ID AS " +
+                "CLIENT_ID,KEY_MAP.KEY_TYPE AS KEY_ENV_TYPE FROM AM_SUBSCRIPTION SUBS, AM_API API,AM_APP_KEY_MAPPING " +
+                "KEY_MAP WHERE SUBS.API_ID = API.UUID AND KEY_MAP.APPLICATION_ID = SUBS.APPLICATION_ID AND " +
+                "SUBS.UUID IN (" + DAOUtil.getParameterString(subIds.size()) + ")";
+        try (Connection conn = DAOUtil.getConnection();
+             PreparedStatement ps = conn.prepareStatement(getSubscriptionsSql)) {
+            int index = 1;
+            for (String subId : subIds) {
+                ps.setString(index++, subId);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                return createSubscriptionValidationDataFromResultSet(rs);
+            }
+        } catch (SQLException e) {
+            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX +
+                    "getting api subscriptions for validation(subscriptionIds: " + subIds + ")", e);
+        }
     }
 
     /**
@@ -601,43 +789,142 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
      * @return Subscription Validation Information
      * @throws APIMgtDAOException   If failed to get subscription validation results.
      */
+    @Override
     public SubscriptionValidationResult validateSubscription(String apiContext, String apiVersion, String clientId)
             throws APIMgtDAOException {
-        final String validateSubscriptionSql = "SELECT SUBS.API_ID AS API_ID, SUBS.APPLICATION_ID AS APP_ID, " +
-                "SUBS.SUB_STATUS AS SUB_STATUS, API.PROVIDER AS API_PROVIDER, API.NAME AS API_NAME, " +
-                "APP.NAME AS APP_NAME, APP.CREATED_BY AS APP_OWNER, POLICY.NAME AS SUBS_POLICY " +
-                "FROM AM_SUBSCRIPTION SUBS, AM_API API, AM_APPLICATION APP, AM_SUBSCRIPTION_POLICY POLICY, " +
-                "AM_APP_KEY_MAPPING KEYS " +
-                "WHERE API.CONTEXT = ? AND API.VERSION = ? AND KEYS.CLIENT_ID= ? " +
-                "AND APP.AND SUBS.API_ID = API.UUID AND SUBS.APPLICATION_ID = APP.UUID " +
-                "AND SUBS.TIER_ID = POLICY.UUID AND KEYS.APPLICATION_ID = APP.UUID";
-        SubscriptionValidationResult validationInfo = new SubscriptionValidationResult(false);
+        SubscriptionValidationResult validationInfo = getValidationIndex().validate(apiContext, apiVersion, clientId);
+        return validationInfo != null ? validationInfo : new SubscriptionValidationResult(false);
+    }
+
+    /**
+     * Reads the subscriptions and keys of the given applications again into the subscription validation index.
+     * Applications which no longer exist are removed from the index. The index is discarded if it cannot be
+     * refreshed, so that it is loaded again on the next lookup.
+     *
+     * @param applicationIds UUIDs of the applications
+     */
+    synchronized void refreshValidationIndex(Collection<String> applicationIds) {
+        SubscriptionValidationIndex index = validationIndex;
+        if (index == null || applicationIds.isEmpty()) {
+            return;
+        }
+        List<String> appIds = new ArrayList<>(new LinkedHashSet<>(applicationIds));
+        String inClause = "(" + DAOUtil.getParameterString(appIds.size()) + ")";
         try (Connection conn = DAOUtil.getConnection();
-             PreparedStatement ps = conn.prepareStatement(validateSubscriptionSql)) {
-            ps.setString(1, apiContext);
-            ps.setString(2, apiVersion);
-            ps.setString(3, clientId);
+             PreparedStatement keysStatement = conn.prepareStatement(GET_APPLICATION_KEYS_SQL +
+                     "WHERE APPLICATION_ID IN " + inClause);
+             PreparedStatement subscriptionsStatement = conn.prepareStatement(GET_SUBSCRIPTIONS_WITH_API_AND_APP_SQL +
+                     "AND SUBS.APPLICATION_ID IN " + inClause)) {
+            for (int i = 0; i < appIds.size(); i++) {
+                keysStatement.setString(i + 1, appIds.get(i));
+                subscriptionsStatement.setString(i + 1, appIds.get(i));
+            }
+            Map<String, Map<String, String>> keyTypes = new HashMap<>();
+            try (ResultSet rs = keysStatement.executeQuery()) {
+                while (rs.next()) {
+                    keyTypes.computeIfAbsent(rs.getString("APPLICATION_ID"), appId -> new HashMap<>())
+                            .put(rs.getString("CLIENT_ID"), rs.getString("KEY_TYPE"));
+                }
+            }
+            Map<String, List<Subscription>> subscriptions = new HashMap<>();
+            try (ResultSet rs = subscriptionsStatement.executeQuery()) {
+                for (Subscription subscription : createSubscriptionsFromResultSet(rs)) {
+                    subscriptions.computeIfAbsent(subscription.getApplication().getId(), appId -> new ArrayList<>())
+                            .add(subscription);
+                }
+            }
+            for (String appId : appIds) {
+                index.replaceApplication(appId, keyTypes.getOrDefault(appId, Collections.emptyMap()),
+                        subscriptions.getOrDefault(appId, Collections.emptyList()));
+            }
+        } catch (SQLException | APIMgtDAOException e) {
+            log.error("Error while refreshing subscription validation data of applications " + appIds, e);
+            validationIndex = null;
+        }
+    }
+
+    /**
+     * Updates the name of a subscription policy in the subscription validation index, as a policy can be renamed.
+     *
+     * @param policyId   UUID of the policy
+     * @param policyName new name of the policy
+     */
+    void renamePolicyInValidationIndex(String policyId, String policyName) {
+        SubscriptionValidationIndex index = validationIndex;
+        if (index != null) {
+            index.renamePolicy(policyId, policyName);
+        }
+    }
+
+    private synchronized void refreshValidationIndexOfSubscriptions(List<String> subIds) {
+        SubscriptionValidationIndex index = validationIndex;
+        if (index == null || subIds.isEmpty()) {
+            return;
+        }
+        try (Connection conn = DAOUtil.getConnection();
+             PreparedStatement ps = conn.prepareStatement(GET_SUBSCRIPTIONS_WITH_API_AND_APP_SQL +
+                     "AND SUBS.UUID IN (" + DAOUtil.getParameterString(subIds.size()) + ")")) {
+            for (int i = 0; i < subIds.size(); i++) {
+                ps.setString(i + 1, subIds.get(i));
+            }
             try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    validationInfo.setValid(true);
-                    validationInfo.setApiId(rs.getString("API_ID"));
-                    validationInfo.setApplicationId(rs.getString("APP_ID"));
-                    validationInfo.setSubscriptionStatus(
-                            APIMgtConstants.SubscriptionStatus.valueOf(rs.getString("SUB_STATUS")));
-                    validationInfo.setApiProvider(rs.getString("API_PROVIDER"));
-                    validationInfo.setApiName(rs.getString("API_NAME"));
-                    validationInfo.setApplicationName(rs.getString("APP_NAME"));
-                    validationInfo.setApplicationOwner(rs.getString("APP_OWNER"));
-                    validationInfo.setSubscriptionStatus(
-                            APIMgtConstants.SubscriptionStatus.valueOf(rs.getString("SUBS_POLICY")));
+                for (Subscription subscription : createSubscriptionsFromResultSet(rs)) {
+                    index.putSubscription(subscription);
+                }
+            }
+        } catch (SQLException | APIMgtDAOException e) {
+            log.error("Error while refreshing subscription validation data of subscriptions " + subIds, e);
+            validationIndex = null;
+        }
+    }
+
+    private SubscriptionValidationIndex getValidationIndex() throws APIMgtDAOException {
+        SubscriptionValidationIndex index = validationIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = validationIndex;
+                if (index == null) {
+                    index = loadValidationIndex();
+                    validationIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    private SubscriptionValidationIndex loadValidationIndex() throws APIMgtDAOException {
+        long startTime = System.nanoTime();
+        SubscriptionValidationIndex index = new SubscriptionValidationIndex();
+        try (Connection conn = DAOUtil.getConnection();
+             PreparedStatement keysStatement = conn.prepareStatement(GET_APPLICATION_KEYS_SQL);
+             PreparedStatement subscriptionsStatement = conn.prepareStatement(
+                     GET_SUBSCRIPTIONS_WITH_API_AND_APP_SQL)) {
+            try (ResultSet rs = keysStatement.executeQuery()) {
+                while (rs.next()) {
+                    index.putKey(rs.getString("APPLICATION_ID"), rs.getString("CLIENT_ID"),
+                            rs.getString("KEY_TYPE"));
+                }
+            }
+            try (ResultSet rs = subscriptionsStatement.executeQuery()) {
+                Subscription subscription;
+                while ((subscription = createSubscriptionWithApiAndAppInformation(rs)) != null) {
+                    index.putSubscription(subscription);
                 }
             }
         } catch (SQLException e) {
-            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX +
-                    "validating subscription(apiContext: " + apiContext + ", apiVersion: "
-                    + apiVersion + ", clientId: " + clientId + ")", e);
+            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "loading subscriptions for validation", e);
+        }
+        log.info("Loaded {} subscriptions for validation in {} ms", index.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        return index;
+    }
+
+    private static List<String> getSubscriptionIds(List<Subscription> subscriptionList) {
+        List<String> subIds = new ArrayList<>(subscriptionList.size());
+        for (Subscription subscription : subscriptionList) {
+            subIds.add(subscription.getId());
         }
-        return validationInfo;
+        return subIds;
     }
 
     private List<SubscriptionValidationData> createSubscriptionValidationDataFromResultSet(ResultSet rs)
@@ -697,6 +984,7 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
                 subscription = new Subscription(subscriptionId, app, api, new SubscriptionPolicy(subscriptionPolicyId,
                         subscriptionTier));
                 subscription.setStatus(APIMgtConstants.SubscriptionStatus.valueOf(rs.getString("SUB_STATUS")));
+                setCreatedInformation(subscription, rs);
             }
         } catch (SQLException e) {
             throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX +
@@ -721,6 +1009,7 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
 
                 subscription = new Subscription(subscriptionId, null, api, new SubscriptionPolicy(subscriptionTier));
                 subscription.setStatus(APIMgtConstants.SubscriptionStatus.valueOf(rs.getString("SUB_STATUS")));
+                setCreatedInformation(subscription, rs);
                 subscriptionList.add(subscription);
             }
         } catch (SQLException e) {
@@ -751,6 +1040,14 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
         return subscriptionList;
     }
 
+    private static void setCreatedInformation(Subscription subscription, ResultSet rs) throws SQLException {
+        subscription.setCreatedUser(rs.getString("SUBS_CREATED_BY"));
+        Timestamp createdTime = rs.getTimestamp("SUBS_CREATED_TIME");
+        if (createdTime != null) {
+            subscription.setCreatedTime(createdTime.toLocalDateTime());
+        }
+    }
+
     void createSubscription(String apiId, String appId, String uuid, String policyId, APIMgtConstants
             .SubscriptionStatus status, Connection conn) throws APIMgtDAOException, SQLException {
         //check for existing subscriptions
@@ -784,4 +1081,47 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
             ps.execute();
         }
     }
+
+    private void createSubscriptions(List<Subscription> subscriptionList, Connection conn)
+            throws APIMgtDAOException, SQLException {
+        final String checkExistingSubscriptionSql = " SELECT UUID FROM AM_SUBSCRIPTION WHERE API_ID = ? " +
+                "AND APPLICATION_ID = ?";
+        final String addSubscriptionSql = "INSERT INTO AM_SUBSCRIPTION (UUID, TIER_ID, API_ID, APPLICATION_ID," +
+                "SUB_STATUS, CREATED_TIME, CREATED_BY) VALUES (?,?,?,?,?,?,?)";
+
+        try (PreparedStatement checkStatement = conn.prepareStatement(checkExistingSubscriptionSql);
+             PreparedStatement ps = conn.prepareStatement(addSubscriptionSql)) {
+            Timestamp createdTime = Timestamp.valueOf(LocalDateTime.now());
+            // The check only sees committed subscriptions, hence the subscriptions of the list are checked too
+            Set<String> addedSubscriptions = new HashSet<>();
+            for (Subscription subscription : subscriptionList) {
+                String apiId = subscription.getApi().getId();
+                String appId = subscription.getApplication().getId();
+                boolean exists = !addedSubscriptions.add(apiId + '\n' + appId);
+                if (!exists) {
+                    checkStatement.setString(1, apiId);
+                    checkStatement.setString(2, appId);
+                    try (ResultSet rs = checkStatement.executeQuery()) {
+                        exists = rs.next();
+                    }
+                }
+                if (exists) {
+                    throw new APIMgtDAOException("Subscription already exists for API " +
+                            subscription.getApi().getName() + " in Application " +
+                            subscription.getApplication().getName(), ExceptionCodes.SUBSCRIPTION_ALREADY_EXISTS);
+                }
+                SubscriptionStatus status = subscription.getStatus();
+                ps.setString(1, subscription.getId());
+                ps.setString(2, subscription.getPolicy().getUuid());
+                ps.setString(3, apiId);
+                ps.setString(4, appId);
+                ps.setString(5, status != null ? status.toString() : SubscriptionStatus.ACTIVE.toString());
+                ps.setTimestamp(6, subscription.getCreatedTime() != null ?
+                        Timestamp.valueOf(subscription.getCreatedTime()) : createdTime);
+                ps.setString(7, subscription.getCreatedUser());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
 }
@@ -19,12 +19,14 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.configuration.models.AnalyticsConfigurations;
 import org.wso2.carbon.apimgt.core.dao.AnalyticsDAO;
 import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
 import org.wso2.carbon.apimgt.core.models.analytics.APICount;
 import org.wso2.carbon.apimgt.core.models.analytics.APIInfo;
 import org.wso2.carbon.apimgt.core.models.analytics.APISubscriptionCount;
 import org.wso2.carbon.apimgt.core.models.analytics.ApplicationCount;
+import org.wso2.carbon.apimgt.core.models.analytics.RollupEntity;
 import org.wso2.carbon.apimgt.core.models.analytics.SubscriptionCount;
 import org.wso2.carbon.apimgt.core.models.analytics.SubscriptionInfo;
 
@@ -35,7 +37,11 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation class of AnalyticsDAO interface.
@@ -44,110 +50,77 @@ public class AnalyticsDAOImpl implements AnalyticsDAO {
 
     private static final Logger log = LoggerFactory.getLogger(AnalyticsDAOImpl.class);
 
+    /**
+     * Value stored as the creator of rolled up entities which have no creator.
+     */
+    private static final String NO_CREATOR = "-";
+
+    private static final String GET_ROLLUP_COUNT_QUERY = "SELECT BUCKET_TIME, SUM(ENTITY_COUNT) AS COUNT " +
+            "FROM AM_ANALYTICS_ROLLUP " +
+            "WHERE ENTITY_TYPE = ? AND GRANULARITY = ? AND (BUCKET_TIME BETWEEN ? AND ?) ";
+    private static final String GET_ROLLUP_COUNT_QUERY_SUFFIX = "GROUP BY BUCKET_TIME " +
+            "HAVING SUM(ENTITY_COUNT) <> 0 " +
+            "ORDER BY BUCKET_TIME ASC";
+    private static final String UPDATE_ROLLUP_COUNT_QUERY = "UPDATE AM_ANALYTICS_ROLLUP " +
+            "SET ENTITY_COUNT = ENTITY_COUNT + ? " +
+            "WHERE ENTITY_TYPE = ? AND GRANULARITY = ? AND BUCKET_TIME = ? AND CREATED_BY = ?";
+    private static final String INSERT_ROLLUP_COUNT_QUERY = "INSERT INTO AM_ANALYTICS_ROLLUP " +
+            "(ENTITY_TYPE, GRANULARITY, BUCKET_TIME, CREATED_BY, ENTITY_COUNT) VALUES (?, ?, ?, ?, ?)";
+
+    private final int queryTimeout;
+    private final int maxDataPoints;
+
     public AnalyticsDAOImpl() {
+        this(new AnalyticsConfigurations());
+    }
+
+    /**
+     * Creates a DAO which cancels read queries running longer than the configured timeout and answers time series
+     * with at most the configured number of points.
+     *
+     * @param analyticsConfigurations analytics configurations
+     */
+    public AnalyticsDAOImpl(AnalyticsConfigurations analyticsConfigurations) {
+        this.queryTimeout = analyticsConfigurations.getQueryTimeout();
+        this.maxDataPoints = analyticsConfigurations.getMaxDataPoints();
     }
 
     /**
      * @see AnalyticsDAO#getApplicationCount(Instant, Instant, String)
      */
     @Override
-    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
     public List<ApplicationCount> getApplicationCount(Instant fromTimestamp, Instant toTimestamp, String createdBy)
             throws APIMgtDAOException {
-        final String query;
-        if (StringUtils.isNotEmpty(createdBy)) {
-            query = "SELECT COUNT(UUID) AS count, CREATED_TIME AS time " +
-                    "FROM AM_APPLICATION " +
-                    "WHERE (CREATED_TIME BETWEEN ? AND ?) " +
-                    "AND CREATED_BY = ?" +
-                    "GROUP BY CREATED_TIME " +
-                    "ORDER BY CREATED_TIME ASC";
-        } else {
-            query = "SELECT COUNT(UUID) AS count, CREATED_TIME AS time " +
-                    "FROM AM_APPLICATION " +
-                    "WHERE (CREATED_TIME BETWEEN ? AND ?) " +
-                    "GROUP BY CREATED_TIME " +
-                    "ORDER BY CREATED_TIME ASC";
-        }
         List<ApplicationCount> applicationCountList = new ArrayList<>();
-        try (Connection connection = DAOUtil.getConnection();
-             PreparedStatement statement = connection.prepareStatement(query)) {
-
-            statement.setTimestamp(1, Timestamp.from(fromTimestamp));
-            statement.setTimestamp(2, Timestamp.from(toTimestamp));
-            if (StringUtils.isNotEmpty(createdBy)) {
-                statement.setString(3, createdBy);
-            }
-            log.debug("Executing query: {} ", query);
-            statement.execute();
-            try (ResultSet rs = statement.getResultSet()) {
-                long count = 0;
-                while (rs.next()) {
-                    ApplicationCount applicationCount = new ApplicationCount();
-                    count += rs.getLong("count");
-                    applicationCount.setTimestamp(rs.getTimestamp("time").getTime());
-                    applicationCount.setCount(count);
-                    applicationCountList.add(applicationCount);
-                }
-            }
-
-        } catch (SQLException e) {
-            String errorMsg = "Error while creating database connection/prepared-statement";
-            throw new APIMgtDAOException(errorMsg, e);
+        long count = 0;
+        for (Map.Entry<Long, Long> bucketCount : getRolledUpCounts(RollupEntity.APPLICATION, fromTimestamp,
+                toTimestamp, createdBy).entrySet()) {
+            ApplicationCount applicationCount = new ApplicationCount();
+            count += bucketCount.getValue();
+            applicationCount.setTimestamp(bucketCount.getKey());
+            applicationCount.setCount(count);
+            applicationCountList.add(applicationCount);
         }
         return applicationCountList;
     }
-
     /**
      * @see AnalyticsDAO#getAPICount(Instant, Instant, String)
      */
     @Override
-    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
     public List<APICount> getAPICount(Instant fromTime, Instant toTime, String createdBy) throws APIMgtDAOException {
-        final String query;
-        if (StringUtils.isNotEmpty(createdBy)) {
-            query = "SELECT COUNT(UUID) AS count, CREATED_TIME AS time " +
-                    "FROM AM_API " +
-                    "WHERE (CREATED_TIME BETWEEN ? AND ?) " +
-                    "AND CREATED_BY = ? " +
-                    "GROUP BY CREATED_TIME " +
-                    "ORDER BY CREATED_TIME ASC";
-        } else {
-            query = "SELECT COUNT(UUID) AS count, CREATED_TIME AS time " +
-                    "FROM AM_API " +
-                    "WHERE (CREATED_TIME BETWEEN ? AND ?) " +
-                    "GROUP BY CREATED_TIME " +
-                    "ORDER BY CREATED_TIME ASC";
-        }
         List<APICount> apiInfoList = new ArrayList<>();
-        try (Connection connection = DAOUtil.getConnection();
-             PreparedStatement statement = connection.prepareStatement(query)) {
-
-            statement.setTimestamp(1, Timestamp.from(fromTime));
-            statement.setTimestamp(2, Timestamp.from(toTime));
-            if (StringUtils.isNotEmpty(createdBy)) {
-                statement.setString(3, createdBy);
-            }
-            log.debug("Executing query: {} ", query);
-            statement.execute();
-            try (ResultSet rs = statement.getResultSet()) {
-                long count = 0;
-                while (rs.next()) {
-                    APICount apiCount = new APICount();
-                    count += rs.getLong("count");
-                    apiCount.setTimestamp(rs.getTimestamp("time").getTime());
-                    apiCount.setCount(count);
-                    apiInfoList.add(apiCount);
-                }
-            }
-
-        } catch (SQLException e) {
-            throw new APIMgtDAOException("Error while creating database connection/prepared-statement", e);
+        long count = 0;
+        for (Map.Entry<Long, Long> bucketCount : getRolledUpCounts(RollupEntity.API, fromTime, toTime, createdBy)
+                .entrySet()) {
+            APICount apiCount = new APICount();
+            count += bucketCount.getValue();
+            apiCount.setTimestamp(bucketCount.getKey());
+            apiCount.setCount(count);
+            apiInfoList.add(apiCount);
         }
         return apiInfoList;
     }
 
-
     /**
      * @see AnalyticsDAO#getAPISubscriptionCount(Instant, Instant, String)
      */
@@ -173,8 +146,9 @@ public class AnalyticsDAOImpl implements AnalyticsDAO {
                     "GROUP BY api.UUID,api.NAME,api.VERSION,api.PROVIDER";
         }
         List<APISubscriptionCount> apiSubscriptionCountList = new ArrayList<>();
-        try (Connection connection = DAOUtil.getConnection();
+        try (Connection connection = DAOUtil.getAnalyticsReadConnection();
              PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setQueryTimeout(queryTimeout);
             statement.setTimestamp(1, Timestamp.from(fromTime));
             statement.setTimestamp(2, Timestamp.from(toTime));
 
@@ -204,45 +178,15 @@ public class AnalyticsDAOImpl implements AnalyticsDAO {
      * @see AnalyticsDAO#getSubscriptionCount(Instant, Instant, String)
      */
     @Override
-    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
     public List<SubscriptionCount> getSubscriptionCount(Instant fromTimestamp, Instant
             toTimestamp, String createdBy) throws APIMgtDAOException {
-        final String query;
-        if (StringUtils.isNotEmpty(createdBy)) {
-            query = "SELECT COUNT(subs.UUID) AS COUNT, subs.CREATED_TIME AS time " +
-                    "FROM AM_SUBSCRIPTION subs, AM_API  api  " +
-                    "WHERE (subs.CREATED_TIME BETWEEN ? AND ?) " +
-                    "AND  subs.api_id=api.uuid " +
-                    "AND subs.CREATED_BY= ? " +
-                    "GROUP BY subs.CREATED_TIME ORDER BY subs.CREATED_TIME ASC";
-        } else {
-            query = "SELECT COUNT(subs.UUID) AS COUNT, subs.CREATED_TIME AS time " +
-                    "FROM AM_SUBSCRIPTION subs, AM_API  api  " +
-                    "WHERE (subs.CREATED_TIME BETWEEN ? AND ?) " +
-                    "AND  subs.api_id=api.uuid " +
-                    "GROUP BY subs.CREATED_TIME ORDER BY subs.CREATED_TIME ASC";
-        }
         List<SubscriptionCount> subscriptionCountList = new ArrayList<>();
-        try (Connection connection = DAOUtil.getConnection();
-             PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setTimestamp(1, Timestamp.from(fromTimestamp));
-            statement.setTimestamp(2, Timestamp.from(toTimestamp));
-            if (StringUtils.isNotEmpty(createdBy)) {
-                statement.setString(3, createdBy);
-            }
-            log.debug("Executing query: {} ", query);
-            statement.execute();
-            try (ResultSet rs = statement.getResultSet()) {
-                while (rs.next()) {
-                    SubscriptionCount subscriptionCount = new SubscriptionCount();
-                    subscriptionCount.setTimestamp(rs.getTimestamp("TIME").getTime());
-                    subscriptionCount.setCount(rs.getInt("COUNT"));
-                    subscriptionCountList.add(subscriptionCount);
-                }
-            }
-        } catch (SQLException e) {
-            String errorMsg = "Error while creating database connection/prepared-statement";
-            throw new APIMgtDAOException(errorMsg, e);
+        for (Map.Entry<Long, Long> bucketCount : getRolledUpCounts(RollupEntity.SUBSCRIPTION, fromTimestamp,
+                toTimestamp, createdBy).entrySet()) {
+            SubscriptionCount subscriptionCount = new SubscriptionCount();
+            subscriptionCount.setTimestamp(bucketCount.getKey());
+            subscriptionCount.setCount(bucketCount.getValue().intValue());
+            subscriptionCountList.add(subscriptionCount);
         }
         return subscriptionCountList;
     }
@@ -275,8 +219,9 @@ public class AnalyticsDAOImpl implements AnalyticsDAO {
         }
 
         List<SubscriptionInfo> subscriptionInfoList = new ArrayList<>();
-        try (Connection connection = DAOUtil.getConnection();
+        try (Connection connection = DAOUtil.getAnalyticsReadConnection();
              PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setQueryTimeout(queryTimeout);
             statement.setTimestamp(1, Timestamp.from(fromTimestamp));
             statement.setTimestamp(2, Timestamp.from(toTimestamp));
             if (StringUtils.isNotEmpty(createdBy)) {
@@ -325,9 +270,9 @@ public class AnalyticsDAOImpl implements AnalyticsDAO {
                     "ORDER BY CREATED_TIME ASC";
         }
         List<APIInfo> apiInfoList = new ArrayList<>();
-        try (Connection connection = DAOUtil.getConnection();
+        try (Connection connection = DAOUtil.getAnalyticsReadConnection();
              PreparedStatement statement = connection.prepareStatement(query)) {
-
+            statement.setQueryTimeout(queryTimeout);
             statement.setTimestamp(1, Timestamp.from(fromTimestamp));
             statement.setTimestamp(2, Timestamp.from(toTimestamp));
             if (StringUtils.isNotEmpty(createdBy)) {
@@ -355,4 +300,177 @@ public class AnalyticsDAOImpl implements AnalyticsDAO {
         return apiInfoList;
     }
 
+    /**
+     * @see AnalyticsDAO#updateRollupCount(RollupEntity, String, Instant, long)
+     */
+    @Override
+    public void updateRollupCount(RollupEntity entity, String createdBy, Instant createdTime, long delta)
+            throws APIMgtDAOException {
+        String creator = StringUtils.isEmpty(createdBy) ? NO_CREATOR : createdBy;
+        try (Connection connection = DAOUtil.getConnection()) {
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                long bucketTime = granularity.getBucketStart(createdTime.toEpochMilli());
+                if (!incrementRollupCount(connection, entity, granularity, bucketTime, creator, delta)) {
+                    try (PreparedStatement statement = connection.prepareStatement(INSERT_ROLLUP_COUNT_QUERY)) {
+                        setRollupKey(statement, entity, granularity, bucketTime, creator);
+                        statement.setLong(5, delta);
+                        statement.execute();
+                    } catch (SQLException e) {
+                        // The bucket was inserted concurrently, hence the count can be incremented now
+                        if (!isIntegrityConstraintViolation(e)
+                                || !incrementRollupCount(connection, entity, granularity, bucketTime, creator, delta)) {
+                            throw e;
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new APIMgtDAOException("Error while updating analytics rollup of " + entity, e);
+        }
+    }
+
+    /**
+     * @see AnalyticsDAO#rebuildRollups(boolean)
+     */
+    @Override
+    public boolean rebuildRollups(boolean onlyIfEmpty) throws APIMgtDAOException {
+        try (Connection connection = DAOUtil.getConnection()) {
+            if (onlyIfEmpty) {
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "SELECT 1 FROM AM_ANALYTICS_ROLLUP");
+                     ResultSet rs = statement.executeQuery()) {
+                    if (rs.next()) {
+                        return false;
+                    }
+                }
+            }
+            Map<RollupEntity, String> sourceQueries = new EnumMap<>(RollupEntity.class);
+            sourceQueries.put(RollupEntity.API, "SELECT CREATED_BY, CREATED_TIME FROM AM_API");
+            sourceQueries.put(RollupEntity.APPLICATION, "SELECT CREATED_BY, CREATED_TIME FROM AM_APPLICATION");
+            sourceQueries.put(RollupEntity.SUBSCRIPTION, "SELECT subs.CREATED_BY, subs.CREATED_TIME " +
+                    "FROM AM_SUBSCRIPTION subs, AM_API api WHERE api.UUID = subs.API_ID");
+
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement deleteStatement = connection.prepareStatement("DELETE FROM AM_ANALYTICS_ROLLUP");
+                 PreparedStatement insertStatement = connection.prepareStatement(INSERT_ROLLUP_COUNT_QUERY)) {
+                deleteStatement.execute();
+                for (Map.Entry<RollupEntity, String> sourceQuery : sourceQueries.entrySet()) {
+                    addRollupBatch(connection, insertStatement, sourceQuery.getKey(), sourceQuery.getValue());
+                }
+                insertStatement.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new APIMgtDAOException("Error while rebuilding analytics rollups", e);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the rolled up counts of an entity within a time range, keyed and ordered by the start of the bucket.
+     * Buckets are merged as the rows are read so that long ranges are answered with at most the configured number
+     * of points.
+     */
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    private Map<Long, Long> getRolledUpCounts(RollupEntity entity, Instant fromTime, Instant toTime,
+                                              String createdBy) throws APIMgtDAOException {
+        final String query;
+        if (StringUtils.isNotEmpty(createdBy)) {
+            query = GET_ROLLUP_COUNT_QUERY + "AND CREATED_BY = ? " + GET_ROLLUP_COUNT_QUERY_SUFFIX;
+        } else {
+            query = GET_ROLLUP_COUNT_QUERY + GET_ROLLUP_COUNT_QUERY_SUFFIX;
+        }
+        RollupGranularity granularity = RollupGranularity.forRange(fromTime, toTime);
+        long rangeStart = granularity.getBucketStart(fromTime.toEpochMilli());
+        long bucketSize = granularity.getBucketSize(fromTime.toEpochMilli(), toTime.toEpochMilli(), maxDataPoints);
+        Map<Long, Long> counts = new LinkedHashMap<>();
+        try (Connection connection = DAOUtil.getAnalyticsReadConnection();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setQueryTimeout(queryTimeout);
+            statement.setString(1, entity.name());
+            statement.setString(2, granularity.name());
+            statement.setLong(3, rangeStart);
+            statement.setLong(4, toTime.toEpochMilli());
+            if (StringUtils.isNotEmpty(createdBy)) {
+                statement.setString(5, createdBy);
+            }
+            log.debug("Executing query: {} ", query);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    long bucketTime = rangeStart + Math.floorDiv(rs.getLong("BUCKET_TIME") - rangeStart, bucketSize)
+                            * bucketSize;
+                    counts.merge(bucketTime, rs.getLong("COUNT"), Long::sum);
+                }
+            }
+        } catch (SQLException e) {
+            throw new APIMgtDAOException("Error while creating database connection/prepared-statement", e);
+        }
+        counts.values().removeIf(count -> count == 0);
+        return counts;
+    }
+
+    private static boolean incrementRollupCount(Connection connection, RollupEntity entity,
+                                                RollupGranularity granularity, long bucketTime, String creator,
+                                                long delta) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(UPDATE_ROLLUP_COUNT_QUERY)) {
+            statement.setLong(1, delta);
+            statement.setString(2, entity.name());
+            statement.setString(3, granularity.name());
+            statement.setLong(4, bucketTime);
+            statement.setString(5, creator);
+            return statement.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * Aggregates the creation times of an entity into buckets of each granularity and adds the counts to the batch.
+     */
+    private static void addRollupBatch(Connection connection, PreparedStatement insertStatement, RollupEntity entity,
+                                       String sourceQuery) throws SQLException {
+        Map<RollupGranularity, Map<Long, Map<String, Long>>> counts = new EnumMap<>(RollupGranularity.class);
+        try (PreparedStatement statement = connection.prepareStatement(sourceQuery);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                Timestamp createdTime = rs.getTimestamp("CREATED_TIME");
+                if (createdTime == null) {
+                    continue;
+                }
+                String createdBy = rs.getString("CREATED_BY");
+                String creator = StringUtils.isEmpty(createdBy) ? NO_CREATOR : createdBy;
+                for (RollupGranularity granularity : RollupGranularity.values()) {
+                    counts.computeIfAbsent(granularity, k -> new HashMap<>())
+                            .computeIfAbsent(granularity.getBucketStart(createdTime.getTime()), k -> new HashMap<>())
+                            .merge(creator, 1L, Long::sum);
+                }
+            }
+        }
+        for (Map.Entry<RollupGranularity, Map<Long, Map<String, Long>>> granularityCounts : counts.entrySet()) {
+            for (Map.Entry<Long, Map<String, Long>> bucketCounts : granularityCounts.getValue().entrySet()) {
+                for (Map.Entry<String, Long> creatorCount : bucketCounts.getValue().entrySet()) {
+                    setRollupKey(insertStatement, entity, granularityCounts.getKey(), bucketCounts.getKey(),
+                            creatorCount.getKey());
+                    insertStatement.setLong(5, creatorCount.getValue());
+                    insertStatement.addBatch();
+                }
+            }
+        }
+    }
+
+    private static void setRollupKey(PreparedStatement statement, RollupEntity entity, RollupGranularity granularity,
+                                     long bucketTime, String creator) throws SQLException {
+        statement.setString(1, entity.name());
+        statement.setString(2, granularity.name());
+        statement.setLong(3, bucketTime);
+        statement.setString(4, creator);
+    }
+
+    private static boolean isIntegrityConstraintViolation(SQLException e) {
+        return e.getSQLState() != null && e.getSQLState().startsWith("23");
+    }
 }
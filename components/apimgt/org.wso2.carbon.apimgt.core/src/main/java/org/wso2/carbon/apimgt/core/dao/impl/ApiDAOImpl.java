@@ -35,9 +35,11 @@ import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.BusinessInformation;
 import org.wso2.carbon.apimgt.core.models.Comment;
 import org.wso2.carbon.apimgt.core.models.CompositeAPI;
+import org.wso2.carbon.apimgt.core.models.ContinuationToken;
 import org.wso2.carbon.apimgt.core.models.CorsConfiguration;
 import org.wso2.carbon.apimgt.core.models.DocumentInfo;
 import org.wso2.carbon.apimgt.core.models.Endpoint;
+import org.wso2.carbon.apimgt.core.models.KeysetPage;
 import org.wso2.carbon.apimgt.core.models.Rating;
 import org.wso2.carbon.apimgt.core.models.ResourceCategory;
 import org.wso2.carbon.apimgt.core.models.Subscription;
@@ -64,6 +66,7 @@ import java.sql.Types;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -290,35 +293,96 @@ public class ApiDAOImpl implements ApiDAO {
         }
     }
 
+    /**
+     * @see ApiDAO#getLastUpdatedTimeOfWSDL(String)
+     */
+    @Override
+    @CheckForNull
+    public String getLastUpdatedTimeOfWSDL(String apiId) throws APIMgtDAOException {
+        try (Connection connection = DAOUtil.getConnection()) {
+            String lastUpdatedTime = ApiResourceDAO
+                    .getAPIUniqueResourceLastUpdatedTime(connection, apiId, ResourceCategory.WSDL_TEXT);
+            if (lastUpdatedTime == null) {
+                lastUpdatedTime = ApiResourceDAO
+                        .getAPIUniqueResourceLastUpdatedTime(connection, apiId, ResourceCategory.WSDL_ZIP);
+            }
+            return lastUpdatedTime;
+        } catch (SQLException e) {
+            String errorMessage = "getting last updated time of WSDL for API: " + apiId;
+            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + errorMessage, e);
+        }
+    }
+
     @Override
     @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
     public List<API> getAPIs(Set<String> roles, String user) throws APIMgtDAOException {
-        int roleCount = roles.size();
-        final String query;
+        final String query = getVisibleAPIsQuery(roles.size());
+        try (Connection connection = DAOUtil.getConnection();
+                PreparedStatement statement = connection.prepareStatement(query)) {
+            setVisibleAPIsParameters(statement, roles, user);
+            return constructAPISummaryList(connection, statement);
+        } catch (SQLException e) {
+            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting APIs", e);
+        }
+    }
+
+    /**
+     * @see ApiDAO#getAPIs(Set, String, ContinuationToken, int)
+     */
+    @Override
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    public KeysetPage<API> getAPIs(Set<String> roles, String user, ContinuationToken after, int limit)
+            throws APIMgtDAOException {
+        String query = getVisibleAPIsQuery(roles.size());
+        if (after != null) {
+            query += " AND " + DAOUtil.getKeysetCondition("NAME", "UUID");
+        }
+        query += " ORDER BY NAME, UUID";
+        try (Connection connection = DAOUtil.getConnection();
+                PreparedStatement statement = connection.prepareStatement(
+                        DAOUtil.getRowLimitedQuery(query))) {
+            int index = setVisibleAPIsParameters(statement, roles, user);
+            if (after != null) {
+                index = DAOUtil.setKeysetParameters(statement, index, after);
+            }
+            // One more row than the limit is fetched to find out whether there is a next page
+            statement.setInt(++index, limit + 1);
+            return DAOUtil.toKeysetPage(constructAPISummaryList(connection, statement), limit,
+                    api -> new ContinuationToken(api.getName(), api.getId()));
+        } catch (SQLException e) {
+            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting page of APIs", e);
+        }
+    }
+
+    /**
+     * Builds the query selecting the APIs visible to a user, which are the APIs of the user, APIs without
+     * permissions and APIs the roles of the user are permitted to read.
+     *
+     * @param roleCount number of roles of the user
+     * @return query taking the roles followed by the user as parameters
+     */
+    private static String getVisibleAPIsQuery(int roleCount) {
         if (roleCount > 0) {
-            query = API_SUMMARY_SELECT + " LEFT JOIN AM_API_GROUP_PERMISSION PERMISSION ON UUID = API_ID WHERE" +
+            return API_SUMMARY_SELECT + " LEFT JOIN AM_API_GROUP_PERMISSION PERMISSION ON UUID = API_ID WHERE" +
                     " API_TYPE_ID = (SELECT TYPE_ID FROM AM_API_TYPES WHERE TYPE_NAME = '" + ApiType.STANDARD.toString()
-                    + "') AND (((PERMISSION.GROUP_ID IN (" + DAOUtil.getParameterString(roles.size()) + "))" +
+                    + "') AND (((PERMISSION.GROUP_ID IN (" + DAOUtil.getParameterString(roleCount) + "))" +
                     " AND PERMISSION.PERMISSION >= " + APIMgtConstants.Permission.READ_PERMISSION + ") OR " +
                     "(PROVIDER = ?) OR (PERMISSION.GROUP_ID IS NULL))";
         } else {
-            query = API_SUMMARY_SELECT + " LEFT JOIN AM_API_GROUP_PERMISSION PERMISSION ON UUID = API_ID WHERE" +
+            return API_SUMMARY_SELECT + " LEFT JOIN AM_API_GROUP_PERMISSION PERMISSION ON UUID = API_ID WHERE" +
                     " API_TYPE_ID = (SELECT TYPE_ID FROM AM_API_TYPES WHERE TYPE_NAME = '" + ApiType.STANDARD.toString()
                     + "') AND ((PROVIDER = ?) OR (PERMISSION.GROUP_ID IS NULL))";
         }
-        try (Connection connection = DAOUtil.getConnection();
-                PreparedStatement statement = connection.prepareStatement(query)) {
-            int index = 0;
-            if (roleCount > 0) {
-                for (String role : roles) {
-                    statement.setString(++index, role);
-                }
-            }
-            statement.setString(++index, user);
-            return constructAPISummaryList(connection, statement);
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting APIs", e);
+    }
+
+    private static int setVisibleAPIsParameters(PreparedStatement statement, Set<String> roles, String user)
+            throws SQLException {
+        int index = 0;
+        for (String role : roles) {
+            statement.setString(++index, role);
         }
+        statement.setString(++index, user);
+        return index;
     }
 
     @Override
@@ -374,50 +438,98 @@ public class ApiDAOImpl implements ApiDAO {
     @Override
     @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
     public List<API> getAPIsByStatus(Set<String> roles, List<String> statuses) throws APIMgtDAOException {
-        //the below query will be used to retrieve the union of,
-        //published/prototyped APIs (statuses) with public visibility and
-        //published/prototyped APIs with restricted visibility where APIs are restricted based on roles of the user
-        final String query = API_SUMMARY_SELECT + " WHERE " +
+        final String query = getAPIsByStatusQuery(roles.size(), statuses.size(), "");
+
+        try (Connection connection = DAOUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+            setAPIsByStatusParameters(statement, roles, statuses, null);
+            return constructAPISummaryList(connection, statement);
+        } catch (SQLException e) {
+            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting APIs by Status by Roles", e);
+        }
+    }
+
+    /**
+     * @see ApiDAO#getAPIsByStatus(Set, List, ContinuationToken, int)
+     */
+    @Override
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    public KeysetPage<API> getAPIsByStatus(Set<String> roles, List<String> statuses, ContinuationToken after,
+                                           int limit) throws APIMgtDAOException {
+        // The keyset condition is applied to both parts of the union so each part can use the name index
+        String keysetCondition = after == null ? "" : " AND " + DAOUtil.getKeysetCondition("NAME", "UUID");
+        final String query = "SELECT * FROM (" + getAPIsByStatusQuery(roles.size(), statuses.size(),
+                keysetCondition) + ") VISIBLE_APIS ORDER BY NAME, UUID";
+
+        try (Connection connection = DAOUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     DAOUtil.getRowLimitedQuery(query))) {
+            int index = setAPIsByStatusParameters(statement, roles, statuses, after);
+            // One more row than the limit is fetched to find out whether there is a next page
+            statement.setInt(++index, limit + 1);
+            return DAOUtil.toKeysetPage(constructAPISummaryList(connection, statement), limit,
+                    api -> new ContinuationToken(api.getName(), api.getId()));
+        } catch (SQLException e) {
+            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting page of APIs by Status by Roles", e);
+        }
+    }
+
+    /**
+     * Builds the query retrieving the union of,
+     * published/prototyped APIs (statuses) with public visibility and
+     * published/prototyped APIs with restricted visibility where APIs are restricted based on roles of the user.
+     *
+     * @param roleCount       number of roles of the user
+     * @param statusCount     number of statuses
+     * @param extraConditions conditions appended to both parts of the union
+     * @return query
+     */
+    private static String getAPIsByStatusQuery(int roleCount, int statusCount, String extraConditions) {
+        return API_SUMMARY_SELECT + " WHERE " +
                 "VISIBILITY = '" + API.Visibility.PUBLIC + "' " +
                 "AND " +
-                "CURRENT_LC_STATUS  IN (" + DAOUtil.getParameterString(statuses.size()) + ") AND " +
-                "API_TYPE_ID = (SELECT TYPE_ID FROM AM_API_TYPES WHERE TYPE_NAME = ?)" +
-                "UNION " +
+                "CURRENT_LC_STATUS  IN (" + DAOUtil.getParameterString(statusCount) + ") AND " +
+                "API_TYPE_ID = (SELECT TYPE_ID FROM AM_API_TYPES WHERE TYPE_NAME = ?)" + extraConditions +
+                " UNION " +
                 API_SUMMARY_SELECT +
                 " WHERE " +
                 "VISIBILITY = '" + API.Visibility.RESTRICTED + "' " +
                 "AND " +
                 "UUID IN (SELECT API_ID FROM AM_API_VISIBLE_ROLES WHERE ROLE IN " +
-                "(" + DAOUtil.getParameterString(roles.size()) + ")) " +
+                "(" + DAOUtil.getParameterString(roleCount) + ")) " +
                 "AND " + "CURRENT_LC_STATUS  IN (" +
-                DAOUtil.getParameterString(statuses.size()) + ") AND " +
-                "API_TYPE_ID = (SELECT TYPE_ID FROM AM_API_TYPES WHERE TYPE_NAME = ?)";
-
-        try (Connection connection = DAOUtil.getConnection();
-             PreparedStatement statement = connection.prepareStatement(query)) {
-            int i = 0;
-            //put desired API status into the query (to get APIs with public visibility)
-            for (String status : statuses) {
-                statement.setString(++i, status);
-            }
+                DAOUtil.getParameterString(statusCount) + ") AND " +
+                "API_TYPE_ID = (SELECT TYPE_ID FROM AM_API_TYPES WHERE TYPE_NAME = ?)" + extraConditions;
+    }
 
-            statement.setString(++i, ApiType.STANDARD.toString());
+    private static int setAPIsByStatusParameters(PreparedStatement statement, Set<String> roles,
+                                                 List<String> statuses, ContinuationToken after)
+            throws SQLException {
+        int i = 0;
+        //put desired API status into the query (to get APIs with public visibility)
+        for (String status : statuses) {
+            statement.setString(++i, status);
+        }
 
-            //put desired roles into the query
-            for (String role : roles) {
-                statement.setString(++i, role);
-            }
-            //put desired API status into the query (to get APIs with restricted visibility)
-            for (String status : statuses) {
-                statement.setString(++i, status);
-            }
+        statement.setString(++i, ApiType.STANDARD.toString());
+        if (after != null) {
+            i = DAOUtil.setKeysetParameters(statement, i, after);
+        }
 
-            statement.setString(++i, ApiType.STANDARD.toString());
+        //put desired roles into the query
+        for (String role : roles) {
+            statement.setString(++i, role);
+        }
+        //put desired API status into the query (to get APIs with restricted visibility)
+        for (String status : statuses) {
+            statement.setString(++i, status);
+        }
 
-            return constructAPISummaryList(connection, statement);
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting APIs by Status by Roles", e);
+        statement.setString(++i, ApiType.STANDARD.toString());
+        if (after != null) {
+            i = DAOUtil.setKeysetParameters(statement, i, after);
         }
+        return i;
     }
 
 
@@ -630,6 +742,30 @@ public class ApiDAOImpl implements ApiDAO {
         }
     }
 
+    /**
+     * @see ApiDAO#cloneAPI(String, API)
+     */
+    @Override
+    public void cloneAPI(String sourceApiId, API api) throws APIMgtDAOException {
+        try (Connection connection = DAOUtil.getConnection()) {
+            try {
+                connection.setAutoCommit(false);
+
+                cloneAPIRelatedInformation(connection, sourceApiId, api);
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "cloning API: " + sourceApiId + " to version: "
+                        + api.getVersion(), e);
+            } finally {
+                connection.setAutoCommit(DAOUtil.isAutoCommit());
+            }
+        } catch (SQLException e) {
+            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "cloning API: " + sourceApiId + " to version: "
+                    + api.getVersion(), e);
+        }
+    }
+
     @Override
     public void addApplicationAssociatedAPI(CompositeAPI api) throws APIMgtDAOException {
         final String query = "INSERT INTO AM_API (PROVIDER, NAME, CONTEXT, VERSION, " +
@@ -660,6 +796,7 @@ public class ApiDAOImpl implements ApiDAO {
             throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "adding Composite API: " + api.getProvider() +
                     " - " + api.getName() + " - " + api.getVersion(), e);
         }
+        DAOFactory.refreshSubscriptionValidationData(Collections.singletonList(api.getApplicationId()));
     }
 
     /**
@@ -728,6 +865,150 @@ public class ApiDAOImpl implements ApiDAO {
         }
     }
 
+    /**
+     * Method for copying API related information with INSERT ... SELECT statements, so that the rows of the source
+     * API, including the content of its resources, are copied by the database without being read into memory.
+     *
+     * @param connection  DB Connection
+     * @param sourceApiId UUID of the API to be copied
+     * @param api         API object holding the details of the new version
+     * @throws SQLException if error occurs while accessing data layer
+     */
+    private void cloneAPIRelatedInformation(Connection connection, String sourceApiId, final API api)
+            throws SQLException {
+        final String query = "INSERT INTO AM_API (PROVIDER, NAME, CONTEXT, VERSION, IS_DEFAULT_VERSION, DESCRIPTION, " +
+                "VISIBILITY, IS_RESPONSE_CACHED, CACHE_TIMEOUT, UUID, TECHNICAL_OWNER, TECHNICAL_EMAIL, " +
+                "BUSINESS_OWNER, BUSINESS_EMAIL, LIFECYCLE_INSTANCE_ID, CURRENT_LC_STATUS, CORS_ENABLED, " +
+                "CORS_ALLOW_ORIGINS, CORS_ALLOW_CREDENTIALS, CORS_ALLOW_HEADERS, CORS_ALLOW_METHODS, API_TYPE_ID, " +
+                "CREATED_BY, CREATED_TIME, LAST_UPDATED_TIME, COPIED_FROM_API, UPDATED_BY, LC_WORKFLOW_STATUS, " +
+                "SECURITY_SCHEME) SELECT PROVIDER, NAME, ?, ?, IS_DEFAULT_VERSION, DESCRIPTION, VISIBILITY, " +
+                "IS_RESPONSE_CACHED, CACHE_TIMEOUT, ?, TECHNICAL_OWNER, TECHNICAL_EMAIL, BUSINESS_OWNER, " +
+                "BUSINESS_EMAIL, ?, ?, CORS_ENABLED, CORS_ALLOW_ORIGINS, CORS_ALLOW_CREDENTIALS, CORS_ALLOW_HEADERS, " +
+                "CORS_ALLOW_METHODS, API_TYPE_ID, CREATED_BY, ?, ?, ?, UPDATED_BY, ?, SECURITY_SCHEME FROM AM_API " +
+                "WHERE UUID = ?";
+        String apiPrimaryKey = api.getId();
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setString(1, api.getContext());
+            statement.setString(2, api.getVersion());
+            statement.setString(3, apiPrimaryKey);
+            statement.setString(4, api.getLifecycleInstanceId());
+            statement.setString(5, api.getLifeCycleStatus());
+            statement.setTimestamp(6, Timestamp.valueOf(LocalDateTime.now()));
+            statement.setTimestamp(7, Timestamp.valueOf(LocalDateTime.now()));
+            statement.setString(8, api.getCopiedFromApiId());
+            statement.setString(9, APILCWorkflowStatus.APPROVED.toString());
+            statement.setString(10, sourceApiId);
+            if (statement.executeUpdate() == 0) {
+                throw new SQLException("API " + sourceApiId + " does not exist");
+            }
+        }
+
+        copyApiMappings(connection, "AM_API_VISIBLE_ROLES", "ROLE", sourceApiId, apiPrimaryKey);
+        copyApiMappings(connection, "AM_API_TAG_MAPPING", "TAG_ID", sourceApiId, apiPrimaryKey);
+        copyApiMappings(connection, "AM_API_LABEL_MAPPING", "LABEL_ID", sourceApiId, apiPrimaryKey);
+        copyApiMappings(connection, "AM_API_TRANSPORTS", "TRANSPORT", sourceApiId, apiPrimaryKey);
+        copyApiMappings(connection, "AM_API_OPERATION_MAPPING",
+                "OPERATION_ID, HTTP_METHOD, URL_PATTERN, AUTH_SCHEME, API_POLICY_ID", sourceApiId, apiPrimaryKey);
+        copyApiMappings(connection, "AM_API_RESOURCE_ENDPOINT", "OPERATION_ID, TYPE, ENDPOINT_ID", sourceApiId,
+                apiPrimaryKey);
+        copyApiMappings(connection, "AM_API_SUBS_POLICY_MAPPING", "SUBSCRIPTION_POLICY_ID", sourceApiId,
+                apiPrimaryKey);
+        copyApiMappings(connection, "AM_API_ENDPOINT_MAPPING", "TYPE, ENDPOINT_ID", sourceApiId, apiPrimaryKey);
+        copyApiMappings(connection, "AM_API_GROUP_PERMISSION", "GROUP_ID, PERMISSION", sourceApiId, apiPrimaryKey);
+        copyApiMappings(connection, "AM_API_POLICY_MAPPING", "API_POLICY_ID", sourceApiId, apiPrimaryKey);
+        copyApiResources(connection, sourceApiId, apiPrimaryKey);
+        addAPIDefinition(connection, apiPrimaryKey, api.getApiDefinition(), api.getCreatedBy());
+        addGatewayConfig(connection, apiPrimaryKey, api.getGatewayConfig(), api.getCreatedBy());
+    }
+
+    /**
+     * Copies the rows of an API mapping table which are keyed by the API_ID column.
+     *
+     * @param connection  DB Connection
+     * @param table       name of the mapping table
+     * @param columns     comma separated columns of the table, other than API_ID, to be copied
+     * @param sourceApiId UUID of the API to be copied
+     * @param apiId       UUID of the new API
+     * @throws SQLException if error occurs while accessing data layer
+     */
+    private void copyApiMappings(Connection connection, String table, String columns, String sourceApiId,
+                                 String apiId) throws SQLException {
+        final String query = "INSERT INTO " + table + " (API_ID, " + columns + ") SELECT ?, " + columns + " FROM " +
+                table + " WHERE API_ID = ?";
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setString(1, apiId);
+            statement.setString(2, sourceApiId);
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Copies the resources of an API along with the meta data and permissions of its documents. The swagger
+     * definition and gateway config are not copied since they are specific to the version of the API.
+     *
+     * @param connection  DB Connection
+     * @param sourceApiId UUID of the API to be copied
+     * @param apiId       UUID of the new API
+     * @throws SQLException if error occurs while accessing data layer
+     */
+    private void copyApiResources(Connection connection, String sourceApiId, String apiId) throws SQLException {
+        final String selectQuery = "SELECT apiResource.UUID FROM AM_API_RESOURCES apiResource, " +
+                "AM_RESOURCE_CATEGORIES resourceCategory WHERE apiResource.RESOURCE_CATEGORY_ID = " +
+                "resourceCategory.RESOURCE_CATEGORY_ID AND apiResource.API_ID = ? AND " +
+                "resourceCategory.RESOURCE_CATEGORY NOT IN (?, ?)";
+        final String resourceQuery = "INSERT INTO AM_API_RESOURCES (UUID, API_ID, RESOURCE_CATEGORY_ID, DATA_TYPE, " +
+                "RESOURCE_TEXT_VALUE, RESOURCE_BINARY_VALUE, CREATED_BY, CREATED_TIME, UPDATED_BY, " +
+                "LAST_UPDATED_TIME) SELECT ?, ?, RESOURCE_CATEGORY_ID, DATA_TYPE, RESOURCE_TEXT_VALUE, " +
+                "RESOURCE_BINARY_VALUE, CREATED_BY, CREATED_TIME, UPDATED_BY, LAST_UPDATED_TIME FROM " +
+                "AM_API_RESOURCES WHERE UUID = ?";
+        final String docQuery = "INSERT INTO AM_API_DOC_META_DATA (UUID, NAME, SUMMARY, TYPE, OTHER_TYPE_NAME, " +
+                "SOURCE_URL, FILE_NAME, SOURCE_TYPE, VISIBILITY, CREATED_BY, CREATED_TIME, UPDATED_BY, " +
+                "LAST_UPDATED_TIME) SELECT ?, NAME, SUMMARY, TYPE, OTHER_TYPE_NAME, SOURCE_URL, FILE_NAME, " +
+                "SOURCE_TYPE, VISIBILITY, CREATED_BY, CREATED_TIME, UPDATED_BY, LAST_UPDATED_TIME FROM " +
+                "AM_API_DOC_META_DATA WHERE UUID = ?";
+        final String docPermissionQuery = "INSERT INTO AM_DOC_GROUP_PERMISSION (DOC_ID, GROUP_ID, PERMISSION) " +
+                "SELECT ?, GROUP_ID, PERMISSION FROM AM_DOC_GROUP_PERMISSION WHERE DOC_ID = ?";
+
+        List<String> resourceIds = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(selectQuery)) {
+            statement.setString(1, sourceApiId);
+            statement.setString(2, ResourceCategory.SWAGGER.toString());
+            statement.setString(3, ResourceCategory.GATEWAY_CONFIG.toString());
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    resourceIds.add(rs.getString("UUID"));
+                }
+            }
+        }
+        if (resourceIds.isEmpty()) {
+            return;
+        }
+
+        List<String> newResourceIds = new ArrayList<>(resourceIds.size());
+        try (PreparedStatement statement = connection.prepareStatement(resourceQuery)) {
+            for (String resourceId : resourceIds) {
+                String newResourceId = UUID.randomUUID().toString();
+                newResourceIds.add(newResourceId);
+                statement.setString(1, newResourceId);
+                statement.setString(2, apiId);
+                statement.setString(3, resourceId);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        // Rows which are not documents have no meta data, so nothing is inserted for them
+        for (String query : new String[]{docQuery, docPermissionQuery}) {
+            try (PreparedStatement statement = connection.prepareStatement(query)) {
+                for (int i = 0; i < resourceIds.size(); i++) {
+                    statement.setString(1, newResourceIds.get(i));
+                    statement.setString(2, resourceIds.get(i));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        }
+    }
+
     /**
      * Method for adding Composite API related information
      *
@@ -27,9 +27,11 @@ import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
 import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.Comment;
 import org.wso2.carbon.apimgt.core.models.CompositeAPI;
+import org.wso2.carbon.apimgt.core.models.ContinuationToken;
 import org.wso2.carbon.apimgt.core.models.DocumentInfo;
 import org.wso2.carbon.apimgt.core.models.Endpoint;
 import org.wso2.carbon.apimgt.core.models.FileApi;
+import org.wso2.carbon.apimgt.core.models.KeysetPage;
 import org.wso2.carbon.apimgt.core.models.Rating;
 import org.wso2.carbon.apimgt.core.models.UriTemplate;
 import org.wso2.carbon.apimgt.core.util.APIFileUtils;
@@ -78,6 +80,14 @@ public class ApiFileDAOImpl implements ApiDAO {
         APIFileUtils.exportSwaggerDefinitionToFileSystem(api.getApiDefinition(), api, apiExportDirectory);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cloneAPI(String sourceApiId, API api) throws APIMgtDAOException {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -372,6 +382,11 @@ public class ApiFileDAOImpl implements ApiDAO {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public String getLastUpdatedTimeOfWSDL(String apiId) throws APIMgtDAOException {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public void removeWSDL(String apiId) throws APIMgtDAOException {
         throw new UnsupportedOperationException();
@@ -643,6 +658,24 @@ public class ApiFileDAOImpl implements ApiDAO {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * @see ApiDAO#getAPIsByStatus(Set, List, ContinuationToken, int)
+     */
+    @Override
+    public KeysetPage<API> getAPIsByStatus(Set<String> roles, List<String> statuses, ContinuationToken after,
+                                           int limit) throws APIMgtDAOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @see ApiDAO#getAPIs(Set, String, ContinuationToken, int)
+     */
+    @Override
+    public KeysetPage<API> getAPIs(Set<String> roles, String user, ContinuationToken after, int limit)
+            throws APIMgtDAOException {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * @see ApiDAO#searchAPIs(Set, String, String, int, int)
      */
@@ -24,6 +24,8 @@ import org.wso2.carbon.apimgt.core.dao.ApplicationDAO;
 import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
 import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
 import org.wso2.carbon.apimgt.core.models.Application;
+import org.wso2.carbon.apimgt.core.models.ContinuationToken;
+import org.wso2.carbon.apimgt.core.models.KeysetPage;
 import org.wso2.carbon.apimgt.core.models.OAuthApplicationInfo;
 import org.wso2.carbon.apimgt.core.models.policy.ApplicationPolicy;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
@@ -35,6 +37,7 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -155,6 +158,36 @@ public class ApplicationDAOImpl implements ApplicationDAO {
         return new Application[0];
     }
 
+    /**
+     * @see ApplicationDAO#getApplicationsForUser(String, ContinuationToken, int)
+     */
+    @Override
+    public KeysetPage<Application> getApplicationsForUser(String userName, ContinuationToken after, int limit)
+            throws APIMgtDAOException {
+        String getAppsQuery = GET_APPS_WITH_POLICY_QUERY + " AND APPLICATION.CREATED_BY = ?";
+        if (after != null) {
+            getAppsQuery += " AND " + DAOUtil.getKeysetCondition("APPLICATION.NAME", "APPLICATION.UUID");
+        }
+        getAppsQuery += " ORDER BY APPLICATION.NAME, APPLICATION.UUID";
+        try (Connection conn = DAOUtil.getConnection();
+             PreparedStatement ps = conn.prepareStatement(DAOUtil.getRowLimitedQuery(getAppsQuery))) {
+            int index = 0;
+            ps.setString(++index, userName);
+            if (after != null) {
+                index = DAOUtil.setKeysetParameters(ps, index, after);
+            }
+            // One more row than the limit is fetched to find out whether there is a next page
+            ps.setInt(++index, limit + 1);
+            try (ResultSet rs = ps.executeQuery()) {
+                return DAOUtil.toKeysetPage(createApplicationsFromResultSet(rs), limit,
+                        application -> new ContinuationToken(application.getName(), application.getId()));
+            }
+        } catch (SQLException ex) {
+            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting page of applications for user "
+                    + userName, ex);
+        }
+    }
+
     /**
      * Retrieves summary data of all available Applications that match the given search criteria. This method supports
      * result pagination and ensuring results returned are for Apps belonging to the specified username
@@ -314,6 +347,7 @@ public class ApplicationDAOImpl implements ApplicationDAO {
         } catch (SQLException ex) {
             throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "updating application: " + appID, ex);
         }
+        DAOFactory.refreshSubscriptionValidationData(Collections.singletonList(appID));
     }
 
     /**
@@ -341,6 +375,7 @@ public class ApplicationDAOImpl implements ApplicationDAO {
         } catch (SQLException ex) {
             throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "deleting application: " + appID, ex);
         }
+        DAOFactory.refreshSubscriptionValidationData(Collections.singletonList(appID));
     }
 
     /**
@@ -393,6 +428,7 @@ public class ApplicationDAOImpl implements ApplicationDAO {
             throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "adding application keys(appId: " +
                     appId + ")", ex);
         }
+        DAOFactory.refreshSubscriptionValidationData(Collections.singletonList(appId));
     }
 
     public List<OAuthApplicationInfo> getApplicationKeys(String appId) throws APIMgtDAOException {
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import org.wso2.carbon.apimgt.core.dao.AnalyticsDAO;
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+import org.wso2.carbon.apimgt.core.models.analytics.APICount;
+import org.wso2.carbon.apimgt.core.models.analytics.APIInfo;
+import org.wso2.carbon.apimgt.core.models.analytics.APISubscriptionCount;
+import org.wso2.carbon.apimgt.core.models.analytics.ApplicationCount;
+import org.wso2.carbon.apimgt.core.models.analytics.RollupEntity;
+import org.wso2.carbon.apimgt.core.models.analytics.SubscriptionCount;
+import org.wso2.carbon.apimgt.core.models.analytics.SubscriptionInfo;
+import org.wso2.carbon.apimgt.core.util.SizeBoundedCache;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link AnalyticsDAO} which caches the results of the count queries for a short time, since dashboards issue the
+ * same queries repeatedly. As the counts are answered from rollup buckets, the time range of a query is truncated to
+ * the buckets so that queries made within the same bucket share a result. The cached results are invalidated whenever
+ * the rollups are changed through this DAO.
+ */
+final class CachingAnalyticsDAO implements AnalyticsDAO {
+
+    private static final int MAX_CACHED_ENTRIES = 1000;
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final AnalyticsDAO analyticsDAO;
+    private final SizeBoundedCache<String, CachedResult> results;
+    private final long expiryTime;
+
+    /**
+     * Creates a caching DAO.
+     *
+     * @param analyticsDAO DAO to which all operations are delegated
+     * @param expiryTime   time in milliseconds for which the result of a count query is cached
+     */
+    CachingAnalyticsDAO(AnalyticsDAO analyticsDAO, long expiryTime) {
+        this.analyticsDAO = analyticsDAO;
+        this.results = new SizeBoundedCache<>(MAX_CACHED_ENTRIES, result -> 1L);
+        this.expiryTime = expiryTime;
+    }
+
+    @Override
+    public List<ApplicationCount> getApplicationCount(Instant fromTimestamp, Instant toTimestamp, String createdBy)
+            throws APIMgtDAOException {
+        return getCached(RollupEntity.APPLICATION, fromTimestamp, toTimestamp, createdBy,
+                () -> analyticsDAO.getApplicationCount(fromTimestamp, toTimestamp, createdBy));
+    }
+
+    @Override
+    public List<APIInfo> getAPIInfo(Instant fromTimestamp, Instant toTimestamp, String createdBy)
+            throws APIMgtDAOException {
+        return analyticsDAO.getAPIInfo(fromTimestamp, toTimestamp, createdBy);
+    }
+
+    @Override
+    public List<APICount> getAPICount(Instant fromTimestamp, Instant toTimestamp, String createdBy)
+            throws APIMgtDAOException {
+        return getCached(RollupEntity.API, fromTimestamp, toTimestamp, createdBy,
+                () -> analyticsDAO.getAPICount(fromTimestamp, toTimestamp, createdBy));
+    }
+
+    @Override
+    public List<APISubscriptionCount> getAPISubscriptionCount(Instant fromTimestamp, Instant toTimestamp,
+                                                              String apiId) throws APIMgtDAOException {
+        return analyticsDAO.getAPISubscriptionCount(fromTimestamp, toTimestamp, apiId);
+    }
+
+    @Override
+    public List<SubscriptionCount> getSubscriptionCount(Instant fromTimestamp, Instant toTimestamp, String createdBy)
+            throws APIMgtDAOException {
+        return getCached(RollupEntity.SUBSCRIPTION, fromTimestamp, toTimestamp, createdBy,
+                () -> analyticsDAO.getSubscriptionCount(fromTimestamp, toTimestamp, createdBy));
+    }
+
+    @Override
+    public List<SubscriptionInfo> getSubscriptionInfo(Instant fromTimestamp, Instant toTimestamp, String createdBy)
+            throws APIMgtDAOException {
+        return analyticsDAO.getSubscriptionInfo(fromTimestamp, toTimestamp, createdBy);
+    }
+
+    @Override
+    public void updateRollupCount(RollupEntity entity, String createdBy, Instant createdTime, long delta)
+            throws APIMgtDAOException {
+        try {
+            analyticsDAO.updateRollupCount(entity, createdBy, createdTime, delta);
+        } finally {
+            results.invalidateAll();
+        }
+    }
+
+    @Override
+    public boolean rebuildRollups(boolean onlyIfEmpty) throws APIMgtDAOException {
+        try {
+            return analyticsDAO.rebuildRollups(onlyIfEmpty);
+        } finally {
+            results.invalidateAll();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> getCached(RollupEntity entity, Instant fromTime, Instant toTime, String createdBy,
+                                  CountQuery<T> query) throws APIMgtDAOException {
+        RollupGranularity granularity = RollupGranularity.forRange(fromTime, toTime);
+        String cacheKey = entity.name() + KEY_SEPARATOR + granularity.getBucketStart(fromTime.toEpochMilli())
+                + KEY_SEPARATOR + granularity.getBucketStart(toTime.toEpochMilli()) + KEY_SEPARATOR
+                + (createdBy == null ? "" : createdBy);
+        long now = System.currentTimeMillis();
+        CachedResult cachedResult = results.get(cacheKey);
+        if (cachedResult == null || now >= cachedResult.expiresAt) {
+            cachedResult = new CachedResult(query.execute(), now + expiryTime);
+            results.put(cacheKey, cachedResult);
+        }
+        return new ArrayList<>((List<T>) cachedResult.result);
+    }
+
+    /**
+     * Count query made to the underlying DAO.
+     *
+     * @param <T> type of the counts
+     */
+    @FunctionalInterface
+    private interface CountQuery<T> {
+        List<T> execute() throws APIMgtDAOException;
+    }
+
+    /**
+     * Result of a count query along with the time it expires.
+     */
+    private static final class CachedResult {
+        private final List<?> result;
+        private final long expiresAt;
+
+        private CachedResult(List<?> result, long expiresAt) {
+            this.result = Collections.unmodifiableList(new ArrayList<>(result));
+            this.expiresAt = expiresAt;
+        }
+    }
+}
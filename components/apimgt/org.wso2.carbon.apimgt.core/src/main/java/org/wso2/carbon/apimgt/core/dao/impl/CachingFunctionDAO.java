@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import org.wso2.carbon.apimgt.core.dao.FunctionDAO;
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+import org.wso2.carbon.apimgt.core.models.Event;
+import org.wso2.carbon.apimgt.core.models.Function;
+import org.wso2.carbon.apimgt.core.models.FunctionDelivery;
+import org.wso2.carbon.apimgt.core.util.SizeBoundedCache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link FunctionDAO} which caches the functions mapped to the events of a user, since they are looked up on every
+ * event. The cached functions of a user are invalidated whenever the functions or mappings of the user are changed
+ * through this DAO. Changes made on other nodes are picked up once the cached functions expire.
+ */
+final class CachingFunctionDAO implements FunctionDAO {
+
+    private static final int MAX_CACHED_ENTRIES = 10000;
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final FunctionDAO functionDAO;
+    private final SizeBoundedCache<String, CachedFunctions> functionsForEvent;
+    private final long expiryTime;
+
+    /**
+     * Creates a caching DAO.
+     *
+     * @param functionDAO DAO to which all operations are delegated
+     * @param expiryTime  time in milliseconds for which the functions mapped to an event are cached
+     */
+    CachingFunctionDAO(FunctionDAO functionDAO, long expiryTime) {
+        this.functionDAO = functionDAO;
+        this.functionsForEvent = new SizeBoundedCache<>(MAX_CACHED_ENTRIES, functions -> 1L);
+        this.expiryTime = expiryTime;
+    }
+
+    @Override
+    public List<Function> getUserDeployedFunctions(String userName) throws APIMgtDAOException {
+        return functionDAO.getUserDeployedFunctions(userName);
+    }
+
+    @Override
+    public List<Function> getUserFunctionsForEvent(String userName, Event event) throws APIMgtDAOException {
+        if (userName == null) {
+            throw new IllegalArgumentException("Username must not be null");
+        }
+        if (event == null) {
+            throw new IllegalArgumentException("Event must not be null");
+        }
+        String cacheKey = userName + KEY_SEPARATOR + event.getEventAsString();
+        long now = System.currentTimeMillis();
+        CachedFunctions cachedFunctions = functionsForEvent.get(cacheKey);
+        if (cachedFunctions == null || now >= cachedFunctions.expiresAt) {
+            cachedFunctions = new CachedFunctions(functionDAO.getUserFunctionsForEvent(userName, event),
+                    now + expiryTime);
+            functionsForEvent.put(cacheKey, cachedFunctions);
+        }
+        return new ArrayList<>(cachedFunctions.functions);
+    }
+
+    @Override
+    public List<Event> getTriggersForUserFunction(String userName, String functionName) throws APIMgtDAOException {
+        return functionDAO.getTriggersForUserFunction(userName, functionName);
+    }
+
+    @Override
+    public void addEventFunctionMapping(String userName, Event event, String functionName) throws APIMgtDAOException {
+        try {
+            functionDAO.addEventFunctionMapping(userName, event, functionName);
+        } finally {
+            invalidate(userName);
+        }
+    }
+
+    @Override
+    public void deleteEventFunctionMapping(String userName, Event event, String functionName)
+            throws APIMgtDAOException {
+        try {
+            functionDAO.deleteEventFunctionMapping(userName, event, functionName);
+        } finally {
+            invalidate(userName);
+        }
+    }
+
+    @Override
+    public void updateUserDeployedFunctions(String userName, List<Function> functions) throws APIMgtDAOException {
+        try {
+            functionDAO.updateUserDeployedFunctions(userName, functions);
+        } finally {
+            invalidate(userName);
+        }
+    }
+
+    @Override
+    public void addPendingDelivery(FunctionDelivery delivery) throws APIMgtDAOException {
+        functionDAO.addPendingDelivery(delivery);
+    }
+
+    @Override
+    public List<FunctionDelivery> getPendingDeliveries(long dueTime, int limit) throws APIMgtDAOException {
+        return functionDAO.getPendingDeliveries(dueTime, limit);
+    }
+
+    @Override
+    public boolean claimPendingDelivery(FunctionDelivery delivery, long leaseExpiryTime) throws APIMgtDAOException {
+        return functionDAO.claimPendingDelivery(delivery, leaseExpiryTime);
+    }
+
+    @Override
+    public void updatePendingDelivery(FunctionDelivery delivery) throws APIMgtDAOException {
+        functionDAO.updatePendingDelivery(delivery);
+    }
+
+    @Override
+    public void deletePendingDelivery(String deliveryId) throws APIMgtDAOException {
+        functionDAO.deletePendingDelivery(deliveryId);
+    }
+
+    private void invalidate(String userName) {
+        if (userName != null) {
+            String keyPrefix = userName + KEY_SEPARATOR;
+            functionsForEvent.invalidateIf(key -> key.startsWith(keyPrefix));
+        }
+    }
+
+    /**
+     * Functions mapped to an event along with the time they expire.
+     */
+    private static final class CachedFunctions {
+        private final List<Function> functions;
+        private final long expiresAt;
+
+        private CachedFunctions(List<Function> functions, long expiresAt) {
+            this.functions = Collections.unmodifiableList(new ArrayList<>(functions));
+            this.expiresAt = expiresAt;
+        }
+    }
+}
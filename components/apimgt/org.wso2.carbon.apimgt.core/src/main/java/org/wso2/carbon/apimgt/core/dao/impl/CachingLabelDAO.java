@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.dao.LabelDAO;
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+import org.wso2.carbon.apimgt.core.exception.GatewayException;
+import org.wso2.carbon.apimgt.core.models.Label;
+import org.wso2.carbon.apimgt.core.models.events.LabelEvent;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
+import org.wso2.carbon.apimgt.core.util.BrokerUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link LabelDAO} which holds all the labels in memory, since they change rarely but are looked up on nearly every
+ * store, WSDL and gateway call. The labels are kept in an immutable map by name which is replaced as a whole whenever
+ * the labels are changed through this DAO, so that lookups never lock. Changes are published to the label topic of
+ * the broker, upon which the other nodes reload their labels.
+ */
+final class CachingLabelDAO implements LabelDAO {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingLabelDAO.class);
+
+    private final LabelDAO labelDAO;
+    private final String labelTopic;
+    private volatile Map<String, Label> labelsByName;
+
+    /**
+     * Creates a caching DAO.
+     *
+     * @param labelDAO   DAO to which all operations are delegated
+     * @param labelTopic broker topic to which label changes are published, or null if they are not published
+     */
+    CachingLabelDAO(LabelDAO labelDAO, String labelTopic) {
+        this.labelDAO = labelDAO;
+        this.labelTopic = labelTopic;
+    }
+
+    @Override
+    public List<Label> getLabels() throws APIMgtDAOException {
+        List<Label> labels = new ArrayList<>();
+        for (Label label : getLabelsByName().values()) {
+            labels.add(copy(label));
+        }
+        return labels;
+    }
+
+    @Override
+    public Label getLabelByName(String labelName) throws APIMgtDAOException {
+        Label label = getLabelsByName().get(labelName);
+        return label == null ? null : copy(label);
+    }
+
+    @Override
+    public List<Label> getLabelsByName(List<String> labelNames) throws APIMgtDAOException {
+        Map<String, Label> labels = getLabelsByName();
+        List<Label> matchingLabels = new ArrayList<>();
+        Set<String> matchedNames = new HashSet<>();
+        for (String labelName : labelNames) {
+            Label label = labels.get(labelName);
+            if (label != null && matchedNames.add(labelName)) {
+                matchingLabels.add(copy(label));
+            }
+        }
+        return matchingLabels;
+    }
+
+    @Override
+    public synchronized void addLabels(List<Label> labels) throws APIMgtDAOException {
+        Set<String> labelNames = getNames(labels);
+        try {
+            labelDAO.addLabels(labels);
+            refresh(labelNames);
+        } catch (APIMgtDAOException e) {
+            labelsByName = null;
+            throw e;
+        }
+        publish(APIMgtConstants.GatewayEventTypes.LABEL_ADD, labelNames);
+    }
+
+    @Override
+    public synchronized void deleteLabel(String labelId) throws APIMgtDAOException {
+        Set<String> labelNames = new HashSet<>();
+        try {
+            labelDAO.deleteLabel(labelId);
+            Map<String, Label> current = labelsByName;
+            if (current != null) {
+                Map<String, Label> labels = new HashMap<>(current);
+                labels.values().removeIf(label -> {
+                    if (labelId.equals(label.getId())) {
+                        labelNames.add(label.getName());
+                        return true;
+                    }
+                    return false;
+                });
+                labelsByName = Collections.unmodifiableMap(labels);
+            }
+        } catch (APIMgtDAOException e) {
+            labelsByName = null;
+            throw e;
+        }
+        publish(APIMgtConstants.GatewayEventTypes.LABEL_DELETE, labelNames);
+    }
+
+    @Override
+    public synchronized void updateLabel(Label updatedLabel) throws APIMgtDAOException {
+        Set<String> labelNames = Collections.singleton(updatedLabel.getName());
+        try {
+            labelDAO.updateLabel(updatedLabel);
+            refresh(labelNames);
+        } catch (APIMgtDAOException e) {
+            labelsByName = null;
+            throw e;
+        }
+        publish(APIMgtConstants.GatewayEventTypes.LABEL_UPDATE, labelNames);
+    }
+
+    /**
+     * Loads all the labels from the database, replacing the labels held in memory.
+     *
+     * @throws APIMgtDAOException if the labels cannot be retrieved
+     */
+    synchronized void load() throws APIMgtDAOException {
+        Map<String, Label> labels = new HashMap<>();
+        for (Label label : labelDAO.getLabels()) {
+            labels.put(label.getName(), label);
+        }
+        labelsByName = Collections.unmodifiableMap(labels);
+        log.debug("Loaded {} labels", labels.size());
+    }
+
+    /**
+     * Discards the labels held in memory, so that they are loaded again on the next lookup. This is called when the
+     * labels are changed on another node.
+     */
+    synchronized void invalidate() {
+        labelsByName = null;
+    }
+
+    private Map<String, Label> getLabelsByName() throws APIMgtDAOException {
+        Map<String, Label> labels = labelsByName;
+        if (labels == null) {
+            synchronized (this) {
+                if (labelsByName == null) {
+                    load();
+                }
+                labels = labelsByName;
+            }
+        }
+        return labels;
+    }
+
+    /**
+     * Reloads the given labels from the database into a copy of the labels held in memory.
+     */
+    private void refresh(Set<String> labelNames) throws APIMgtDAOException {
+        Map<String, Label> current = labelsByName;
+        if (current == null || labelNames.isEmpty()) {
+            return;
+        }
+        Map<String, Label> labels = new HashMap<>(current);
+        for (Label label : labelDAO.getLabelsByName(new ArrayList<>(labelNames))) {
+            labels.put(label.getName(), label);
+        }
+        labelsByName = Collections.unmodifiableMap(labels);
+    }
+
+    private void publish(String eventType, Set<String> labelNames) {
+        if (labelTopic == null || !BrokerUtil.isInitialized()) {
+            return;
+        }
+        LabelEvent labelEvent = new LabelEvent(eventType);
+        labelEvent.setLabels(labelNames);
+        labelEvent.setNodeId(LabelChangeListener.NODE_ID);
+        try {
+            BrokerUtil.publishToTopic(labelTopic, labelEvent);
+        } catch (GatewayException e) {
+            // The other nodes keep their labels until they are changed again on them or restarted
+            log.error("Error occurred while notifying the other nodes of the change to labels " + labelNames, e);
+        }
+    }
+
+    private static Set<String> getNames(List<Label> labels) {
+        Set<String> labelNames = new HashSet<>();
+        for (Label label : labels) {
+            labelNames.add(label.getName());
+        }
+        return labelNames;
+    }
+
+    /**
+     * Labels are mutable, hence a copy is handed out so that the labels held in memory cannot be changed by callers.
+     */
+    private static Label copy(Label label) {
+        List<String> accessUrls = label.getAccessUrls() == null ? null : new ArrayList<>(label.getAccessUrls());
+        return new Label.Builder(label).accessUrls(accessUrls).build();
+    }
+}
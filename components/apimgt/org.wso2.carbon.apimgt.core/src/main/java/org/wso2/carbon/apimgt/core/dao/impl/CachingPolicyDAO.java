@@ -0,0 +1,551 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.api.APIMgtAdminService.PolicyLevel;
+import org.wso2.carbon.apimgt.core.dao.PolicyDAO;
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+import org.wso2.carbon.apimgt.core.exception.APIMgtResourceNotFoundException;
+import org.wso2.carbon.apimgt.core.exception.GatewayException;
+import org.wso2.carbon.apimgt.core.models.BlockConditions;
+import org.wso2.carbon.apimgt.core.models.PolicyValidationData;
+import org.wso2.carbon.apimgt.core.models.events.PolicyEvent;
+import org.wso2.carbon.apimgt.core.models.policy.APIPolicy;
+import org.wso2.carbon.apimgt.core.models.policy.ApplicationPolicy;
+import org.wso2.carbon.apimgt.core.models.policy.CustomPolicy;
+import org.wso2.carbon.apimgt.core.models.policy.Policy;
+import org.wso2.carbon.apimgt.core.models.policy.SubscriptionPolicy;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants.ThrottlePolicyConstants;
+import org.wso2.carbon.apimgt.core.util.BrokerUtil;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link PolicyDAO} which holds all the API, application and subscription policies in memory, since they change
+ * rarely but are looked up whenever an application, subscription or API is created or updated. The policies are kept
+ * in an immutable snapshot indexed by level and name and by level and UUID, which is replaced as a whole whenever a
+ * policy is changed through this DAO, so that lookups never lock. Policies which are not in the snapshot, custom
+ * policies and block conditions are read from the database. Changes are published to the policy topic of the broker,
+ * upon which the other nodes reload their policies.
+ * <p>
+ * The policies handed out are shared by all callers and must not be modified.
+ */
+final class CachingPolicyDAO implements PolicyDAO {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingPolicyDAO.class);
+
+    private final PolicyDAO policyDAO;
+    private final String policyTopic;
+    private volatile PolicySnapshot snapshot;
+
+    /**
+     * Creates a caching DAO.
+     *
+     * @param policyDAO   DAO to which all operations are delegated
+     * @param policyTopic broker topic to which policy changes are published, or null if they are not published
+     */
+    CachingPolicyDAO(PolicyDAO policyDAO, String policyTopic) {
+        this.policyDAO = policyDAO;
+        this.policyTopic = policyTopic;
+    }
+
+    @Override
+    public boolean policyExists(PolicyLevel policyLevel, String policyName) throws APIMgtDAOException {
+        if (!PolicySnapshot.holds(policyLevel)) {
+            return policyDAO.policyExists(policyLevel, policyName);
+        }
+        return getSnapshot().getByName(policyLevel, policyName) != null;
+    }
+
+    @Override
+    public List<Policy> getPoliciesByLevel(PolicyLevel policyLevel) throws APIMgtDAOException {
+        if (!PolicySnapshot.holds(policyLevel)) {
+            return policyDAO.getPoliciesByLevel(policyLevel);
+        }
+        return new ArrayList<>(getSnapshot().getAll(policyLevel));
+    }
+
+    @Override
+    public Policy getPolicyByLevelAndName(PolicyLevel policyLevel, String policyName) throws APIMgtDAOException {
+        Policy policy = PolicySnapshot.holds(policyLevel) ? getSnapshot().getByName(policyLevel, policyName) : null;
+        return policy != null ? policy : policyDAO.getPolicyByLevelAndName(policyLevel, policyName);
+    }
+
+    @Override
+    public Policy getPolicyByLevelAndUUID(PolicyLevel policyLevel, String policyId) throws APIMgtDAOException {
+        Policy policy = PolicySnapshot.holds(policyLevel) ? getSnapshot().getByUuid(policyLevel, policyId) : null;
+        return policy != null ? policy : policyDAO.getPolicyByLevelAndUUID(policyLevel, policyId);
+    }
+
+    @Override
+    public Policy getSimplifiedPolicyByLevelAndName(PolicyLevel policyLevel, String policyName)
+            throws APIMgtDAOException, APIMgtResourceNotFoundException {
+        Policy policy = PolicySnapshot.holds(policyLevel) ? getSnapshot().getByName(policyLevel, policyName) : null;
+        if (policy == null) {
+            return policyDAO.getSimplifiedPolicyByLevelAndName(policyLevel, policyName);
+        }
+        // Simplified policies are created for each caller, hence they can be handed out without being shared
+        if (PolicyLevel.api == policyLevel) {
+            return new APIPolicy(policy.getUuid(), policy.getPolicyName());
+        } else if (PolicyLevel.application == policyLevel) {
+            return new ApplicationPolicy(policy.getUuid(), policy.getPolicyName());
+        }
+        return new SubscriptionPolicy(policy.getUuid(), policy.getPolicyName());
+    }
+
+    @Override
+    public List<ApplicationPolicy> getApplicationPolicies() throws APIMgtDAOException {
+        return getPolicies(PolicyLevel.application, ApplicationPolicy.class);
+    }
+
+    @Override
+    public ApplicationPolicy getApplicationPolicy(String policyName) throws APIMgtDAOException {
+        Policy policy = getSnapshot().getByName(PolicyLevel.application, policyName);
+        return policy != null ? (ApplicationPolicy) policy : policyDAO.getApplicationPolicy(policyName);
+    }
+
+    @Override
+    public ApplicationPolicy getApplicationPolicyByUuid(String uuid) throws APIMgtDAOException {
+        Policy policy = getSnapshot().getByUuid(PolicyLevel.application, uuid);
+        return policy != null ? (ApplicationPolicy) policy : policyDAO.getApplicationPolicyByUuid(uuid);
+    }
+
+    @Override
+    public List<SubscriptionPolicy> getSubscriptionPolicies() throws APIMgtDAOException {
+        return getPolicies(PolicyLevel.subscription, SubscriptionPolicy.class);
+    }
+
+    @Override
+    public SubscriptionPolicy getSubscriptionPolicy(String policyName) throws APIMgtDAOException {
+        Policy policy = getSnapshot().getByName(PolicyLevel.subscription, policyName);
+        return policy != null ? (SubscriptionPolicy) policy : policyDAO.getSubscriptionPolicy(policyName);
+    }
+
+    @Override
+    public SubscriptionPolicy getSubscriptionPolicyByUuid(String uuid) throws APIMgtDAOException {
+        Policy policy = getSnapshot().getByUuid(PolicyLevel.subscription, uuid);
+        return policy != null ? (SubscriptionPolicy) policy : policyDAO.getSubscriptionPolicyByUuid(uuid);
+    }
+
+    @Override
+    public List<APIPolicy> getApiPolicies() throws APIMgtDAOException {
+        return getPolicies(PolicyLevel.api, APIPolicy.class);
+    }
+
+    @Override
+    public APIPolicy getApiPolicy(String policyName) throws APIMgtDAOException {
+        Policy policy = getSnapshot().getByName(PolicyLevel.api, policyName);
+        return policy != null ? (APIPolicy) policy : policyDAO.getApiPolicy(policyName);
+    }
+
+    @Override
+    public APIPolicy getApiPolicyByUuid(String uuid) throws APIMgtDAOException {
+        Policy policy = getSnapshot().getByUuid(PolicyLevel.api, uuid);
+        return policy != null ? (APIPolicy) policy : policyDAO.getApiPolicyByUuid(uuid);
+    }
+
+    @Override
+    public Set<PolicyValidationData> getAllPolicies() throws APIMgtDAOException {
+        PolicySnapshot current = getSnapshot();
+        Set<PolicyValidationData> policyValidationDataList = new LinkedHashSet<>();
+        for (Policy policy : current.getAll(PolicyLevel.api)) {
+            policyValidationDataList.add(new PolicyValidationData(policy.getUuid(), policy.getPolicyName(), false));
+        }
+        for (Policy policy : current.getAll(PolicyLevel.application)) {
+            policyValidationDataList.add(new PolicyValidationData(policy.getUuid(), policy.getPolicyName(), false));
+        }
+        for (Policy policy : current.getAll(PolicyLevel.subscription)) {
+            policyValidationDataList.add(new PolicyValidationData(policy.getUuid(), policy.getPolicyName(),
+                    ((SubscriptionPolicy) policy).isStopOnQuotaReach()));
+        }
+        return policyValidationDataList;
+    }
+
+    @Override
+    public synchronized void addApplicationPolicy(ApplicationPolicy policy) throws APIMgtDAOException {
+        Policy addedPolicy;
+        try {
+            policyDAO.addApplicationPolicy(policy);
+            addedPolicy = put(PolicyLevel.application, policyDAO.getApplicationPolicy(policy.getPolicyName()));
+        } catch (APIMgtDAOException e) {
+            snapshot = null;
+            throw e;
+        }
+        publish(APIMgtConstants.GatewayEventTypes.POLICY_CREATE,
+                ThrottlePolicyConstants.APPLICATION_LEVEL, addedPolicy);
+    }
+
+    @Override
+    public synchronized void addApiPolicy(APIPolicy policy) throws APIMgtDAOException {
+        Policy addedPolicy;
+        try {
+            policyDAO.addApiPolicy(policy);
+            addedPolicy = put(PolicyLevel.api, policyDAO.getApiPolicy(policy.getPolicyName()));
+        } catch (APIMgtDAOException e) {
+            snapshot = null;
+            throw e;
+        }
+        publish(APIMgtConstants.GatewayEventTypes.POLICY_CREATE,
+                ThrottlePolicyConstants.API_LEVEL, addedPolicy);
+    }
+
+    @Override
+    public synchronized void addSubscriptionPolicy(SubscriptionPolicy policy) throws APIMgtDAOException {
+        Policy addedPolicy;
+        try {
+            policyDAO.addSubscriptionPolicy(policy);
+            addedPolicy = put(PolicyLevel.subscription, policyDAO.getSubscriptionPolicy(policy.getPolicyName()));
+        } catch (APIMgtDAOException e) {
+            snapshot = null;
+            throw e;
+        }
+        publish(APIMgtConstants.GatewayEventTypes.POLICY_CREATE,
+                ThrottlePolicyConstants.SUBSCRIPTION_LEVEL, addedPolicy);
+    }
+
+    @Override
+    public synchronized void updateApplicationPolicy(ApplicationPolicy policy) throws APIMgtDAOException {
+        Policy updatedPolicy;
+        try {
+            policyDAO.updateApplicationPolicy(policy);
+            updatedPolicy = put(PolicyLevel.application, policyDAO.getApplicationPolicyByUuid(policy.getUuid()));
+        } catch (APIMgtDAOException e) {
+            snapshot = null;
+            throw e;
+        }
+        publish(APIMgtConstants.GatewayEventTypes.POLICY_UPDATE,
+                ThrottlePolicyConstants.APPLICATION_LEVEL, updatedPolicy);
+    }
+
+    @Override
+    public synchronized void updateSubscriptionPolicy(SubscriptionPolicy policy) throws APIMgtDAOException {
+        Policy updatedPolicy;
+        try {
+            policyDAO.updateSubscriptionPolicy(policy);
+            updatedPolicy = put(PolicyLevel.subscription, policyDAO.getSubscriptionPolicyByUuid(policy.getUuid()));
+        } catch (APIMgtDAOException e) {
+            snapshot = null;
+            throw e;
+        }
+        if (updatedPolicy != null) {
+            DAOFactory.renameSubscriptionPolicy(updatedPolicy.getUuid(), updatedPolicy.getPolicyName());
+        }
+        publish(APIMgtConstants.GatewayEventTypes.POLICY_UPDATE,
+                ThrottlePolicyConstants.SUBSCRIPTION_LEVEL, updatedPolicy);
+    }
+
+    @Override
+    public synchronized void updateApiPolicy(APIPolicy policy) throws APIMgtDAOException {
+        Policy updatedPolicy;
+        try {
+            policyDAO.updateApiPolicy(policy);
+            updatedPolicy = put(PolicyLevel.api, policyDAO.getApiPolicyByUuid(policy.getUuid()));
+        } catch (APIMgtDAOException e) {
+            snapshot = null;
+            throw e;
+        }
+        publish(APIMgtConstants.GatewayEventTypes.POLICY_UPDATE,
+                ThrottlePolicyConstants.API_LEVEL, updatedPolicy);
+    }
+
+    @Override
+    public synchronized void deletePolicy(PolicyLevel policyLevel, String policyName) throws APIMgtDAOException {
+        Policy deletedPolicy = null;
+        try {
+            policyDAO.deletePolicy(policyLevel, policyName);
+            PolicySnapshot current = snapshot;
+            if (current != null && PolicySnapshot.holds(policyLevel)) {
+                deletedPolicy = current.getByName(policyLevel, policyName);
+                snapshot = current.without(policyLevel, deletedPolicy);
+            }
+        } catch (APIMgtDAOException e) {
+            snapshot = null;
+            throw e;
+        }
+        publish(APIMgtConstants.GatewayEventTypes.POLICY_DELETE, policyLevel.name(), deletedPolicy);
+    }
+
+    @Override
+    public synchronized void deletePolicyByUuid(PolicyLevel policyLevel, String uuid) throws APIMgtDAOException {
+        Policy deletedPolicy = null;
+        try {
+            policyDAO.deletePolicyByUuid(policyLevel, uuid);
+            PolicySnapshot current = snapshot;
+            if (current != null && PolicySnapshot.holds(policyLevel)) {
+                deletedPolicy = current.getByUuid(policyLevel, uuid);
+                snapshot = current.without(policyLevel, deletedPolicy);
+            }
+        } catch (APIMgtDAOException e) {
+            snapshot = null;
+            throw e;
+        }
+        publish(APIMgtConstants.GatewayEventTypes.POLICY_DELETE, policyLevel.name(), uuid,
+                deletedPolicy != null ? deletedPolicy.getPolicyName() : null);
+    }
+
+    @Override
+    public String getLastUpdatedTimeOfThrottlingPolicy(PolicyLevel policyLevel, String policyName)
+            throws APIMgtDAOException {
+        return policyDAO.getLastUpdatedTimeOfThrottlingPolicy(policyLevel, policyName);
+    }
+
+    @Override
+    public String addBlockConditions(BlockConditions blockConditions) throws APIMgtDAOException {
+        return policyDAO.addBlockConditions(blockConditions);
+    }
+
+    @Override
+    public BlockConditions getBlockConditionByUUID(String uuid) throws APIMgtDAOException {
+        return policyDAO.getBlockConditionByUUID(uuid);
+    }
+
+    @Override
+    public List<BlockConditions> getBlockConditions() throws APIMgtDAOException {
+        return policyDAO.getBlockConditions();
+    }
+
+    @Override
+    public boolean updateBlockConditionStateByUUID(String uuid, Boolean state) throws APIMgtDAOException {
+        return policyDAO.updateBlockConditionStateByUUID(uuid, state);
+    }
+
+    @Override
+    public boolean deleteBlockConditionByUuid(String uuid) throws APIMgtDAOException {
+        return policyDAO.deleteBlockConditionByUuid(uuid);
+    }
+
+    @Override
+    public String addCustomPolicy(CustomPolicy customPolicy) throws APIMgtDAOException {
+        String uuid = policyDAO.addCustomPolicy(customPolicy);
+        publish(APIMgtConstants.GatewayEventTypes.POLICY_CREATE, ThrottlePolicyConstants.CUSTOM_LEVEL, uuid,
+                customPolicy.getPolicyName());
+        return uuid;
+    }
+
+    @Override
+    public List<CustomPolicy> getCustomPolicies() throws APIMgtDAOException {
+        return policyDAO.getCustomPolicies();
+    }
+
+    @Override
+    public CustomPolicy getCustomPolicyByUuid(String uuid) throws APIMgtDAOException {
+        return policyDAO.getCustomPolicyByUuid(uuid);
+    }
+
+    @Override
+    public void updateCustomPolicy(CustomPolicy customPolicy) throws APIMgtDAOException {
+        policyDAO.updateCustomPolicy(customPolicy);
+        publish(APIMgtConstants.GatewayEventTypes.POLICY_UPDATE,
+                ThrottlePolicyConstants.CUSTOM_LEVEL, customPolicy);
+    }
+
+    @Override
+    public void deleteCustomPolicy(String uuid) throws APIMgtDAOException {
+        policyDAO.deleteCustomPolicy(uuid);
+        publish(APIMgtConstants.GatewayEventTypes.POLICY_DELETE, ThrottlePolicyConstants.CUSTOM_LEVEL, uuid, null);
+    }
+
+    /**
+     * Loads all the API, application and subscription policies from the database, replacing the policies held in
+     * memory.
+     *
+     * @throws APIMgtDAOException if the policies cannot be retrieved
+     */
+    synchronized void load() throws APIMgtDAOException {
+        Map<PolicyLevel, List<? extends Policy>> policies = new EnumMap<>(PolicyLevel.class);
+        policies.put(PolicyLevel.api, policyDAO.getApiPolicies());
+        policies.put(PolicyLevel.application, policyDAO.getApplicationPolicies());
+        policies.put(PolicyLevel.subscription, policyDAO.getSubscriptionPolicies());
+        snapshot = new PolicySnapshot(policies);
+        log.debug("Loaded {} API, {} application and {} subscription policies", policies.get(PolicyLevel.api).size(),
+                policies.get(PolicyLevel.application).size(), policies.get(PolicyLevel.subscription).size());
+    }
+
+    /**
+     * Discards the policies held in memory, so that they are loaded again on the next lookup. This is called when the
+     * policies are changed on another node.
+     */
+    synchronized void invalidate() {
+        snapshot = null;
+    }
+
+    private PolicySnapshot getSnapshot() throws APIMgtDAOException {
+        PolicySnapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    load();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private <T extends Policy> List<T> getPolicies(PolicyLevel policyLevel, Class<T> policyType)
+            throws APIMgtDAOException {
+        List<T> policies = new ArrayList<>();
+        for (Policy policy : getSnapshot().getAll(policyLevel)) {
+            policies.add(policyType.cast(policy));
+        }
+        return policies;
+    }
+
+    /**
+     * Replaces the snapshot with a copy holding the given policy, as read from the database after it was changed.
+     */
+    private Policy put(PolicyLevel policyLevel, Policy policy) {
+        PolicySnapshot current = snapshot;
+        if (current != null) {
+            snapshot = current.with(policyLevel, policy);
+        }
+        return policy;
+    }
+
+    private void publish(String eventType, String policyLevel, Policy policy) {
+        if (policy != null) {
+            publish(eventType, policyLevel, policy.getUuid(), policy.getPolicyName());
+        } else {
+            publish(eventType, policyLevel, null, null);
+        }
+    }
+
+    /**
+     * Notifies the other nodes of a change to a policy, so that they reload their policies and render the execution
+     * plans of the policy again. The other nodes render all the execution plans again if the UUID is not known.
+     */
+    private void publish(String eventType, String policyLevel, String policyId, String policyName) {
+        if (policyTopic == null || !BrokerUtil.isInitialized()) {
+            return;
+        }
+        PolicyEvent policyEvent = new PolicyEvent(eventType);
+        policyEvent.setId(policyId);
+        policyEvent.setName(policyName);
+        policyEvent.setPolicyLevel(policyLevel);
+        policyEvent.setNodeId(PolicyChangeListener.NODE_ID);
+        try {
+            BrokerUtil.publishToTopic(policyTopic, policyEvent);
+        } catch (GatewayException e) {
+            // The other nodes keep their policies until they are changed again on them or restarted
+            log.error("Error occurred while notifying the other nodes of the change to policy " + policyEvent
+                    .getName(), e);
+        }
+    }
+
+    /**
+     * Immutable view of the policies of each level, indexed by name and by UUID.
+     */
+    private static final class PolicySnapshot {
+
+        private final Map<PolicyLevel, Map<String, Policy>> policiesByName;
+        private final Map<PolicyLevel, Map<String, Policy>> policiesByUuid;
+
+        private PolicySnapshot(Map<PolicyLevel, ? extends List<? extends Policy>> policies) {
+            Map<PolicyLevel, Map<String, Policy>> byName = new EnumMap<>(PolicyLevel.class);
+            Map<PolicyLevel, Map<String, Policy>> byUuid = new EnumMap<>(PolicyLevel.class);
+            for (Map.Entry<PolicyLevel, ? extends List<? extends Policy>> level : policies.entrySet()) {
+                Map<String, Policy> names = new LinkedHashMap<>();
+                Map<String, Policy> uuids = new HashMap<>();
+                for (Policy policy : level.getValue()) {
+                    names.put(policy.getPolicyName(), policy);
+                    uuids.put(policy.getUuid(), policy);
+                }
+                byName.put(level.getKey(), Collections.unmodifiableMap(names));
+                byUuid.put(level.getKey(), Collections.unmodifiableMap(uuids));
+            }
+            this.policiesByName = Collections.unmodifiableMap(byName);
+            this.policiesByUuid = Collections.unmodifiableMap(byUuid);
+        }
+
+        private PolicySnapshot(Map<PolicyLevel, Map<String, Policy>> policiesByName,
+                Map<PolicyLevel, Map<String, Policy>> policiesByUuid) {
+            this.policiesByName = policiesByName;
+            this.policiesByUuid = policiesByUuid;
+        }
+
+        /**
+         * Checks whether the policies of the given level are held in memory. Custom policies are not.
+         */
+        private static boolean holds(PolicyLevel policyLevel) {
+            return PolicyLevel.api == policyLevel || PolicyLevel.application == policyLevel
+                    || PolicyLevel.subscription == policyLevel;
+        }
+
+        private Policy getByName(PolicyLevel policyLevel, String policyName) {
+            return policiesByName.get(policyLevel).get(policyName);
+        }
+
+        private Policy getByUuid(PolicyLevel policyLevel, String uuid) {
+            return policiesByUuid.get(policyLevel).get(uuid);
+        }
+
+        private Collection<Policy> getAll(PolicyLevel policyLevel) {
+            return policiesByName.get(policyLevel).values();
+        }
+
+        /**
+         * Returns a copy of this snapshot holding the given policy in place of the policy with the same UUID, which
+         * may have had a different name.
+         */
+        private PolicySnapshot with(PolicyLevel policyLevel, Policy policy) {
+            Map<String, Policy> names = new LinkedHashMap<>(policiesByName.get(policyLevel));
+            Map<String, Policy> uuids = new HashMap<>(policiesByUuid.get(policyLevel));
+            Policy existing = uuids.put(policy.getUuid(), policy);
+            if (existing != null && !existing.getPolicyName().equals(policy.getPolicyName())) {
+                names.remove(existing.getPolicyName());
+            }
+            names.put(policy.getPolicyName(), policy);
+            return replace(policyLevel, names, uuids);
+        }
+
+        /**
+         * Returns a copy of this snapshot without the given policy.
+         */
+        private PolicySnapshot without(PolicyLevel policyLevel, Policy policy) {
+            if (policy == null) {
+                return this;
+            }
+            Map<String, Policy> names = new LinkedHashMap<>(policiesByName.get(policyLevel));
+            Map<String, Policy> uuids = new HashMap<>(policiesByUuid.get(policyLevel));
+            names.remove(policy.getPolicyName());
+            uuids.remove(policy.getUuid());
+            return replace(policyLevel, names, uuids);
+        }
+
+        private PolicySnapshot replace(PolicyLevel policyLevel, Map<String, Policy> names, Map<String, Policy> uuids) {
+            Map<PolicyLevel, Map<String, Policy>> byName = new EnumMap<>(policiesByName);
+            Map<PolicyLevel, Map<String, Policy>> byUuid = new EnumMap<>(policiesByUuid);
+            byName.put(policyLevel, Collections.unmodifiableMap(names));
+            byUuid.put(policyLevel, Collections.unmodifiableMap(uuids));
+            return new PolicySnapshot(Collections.unmodifiableMap(byName), Collections.unmodifiableMap(byUuid));
+        }
+    }
+}
@@ -22,6 +22,7 @@ package org.wso2.carbon.apimgt.core.dao.impl;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.configuration.models.APIMConfigurations;
 import org.wso2.carbon.apimgt.core.dao.APISubscriptionDAO;
 import org.wso2.carbon.apimgt.core.dao.AnalyticsDAO;
 import org.wso2.carbon.apimgt.core.dao.ApiDAO;
@@ -37,246 +38,59 @@ import org.wso2.carbon.apimgt.core.internal.ServiceReferenceHolder;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Constructs DB vendor specific DAO implementations in a transparent manner.
+ * Constructs DB vendor specific DAO implementations in a transparent manner. The database vendor is detected once
+ * per datasource and the DAOs, which are stateless, are created once and shared by all callers.
  */
 public class DAOFactory {
 
     private static final Logger log = LoggerFactory.getLogger(DAOFactory.class);
 
-    private static final String MYSQL = "MySQL";
-    private static final String H2 = "H2";
-    private static final String DB2 = "DB2";
-    private static final String MICROSOFT = "Microsoft";
-    private static final String MS_SQL = "MS SQL";
-    private static final String POSTGRE = "PostgreSQL";
-    private static final String ORACLE = "Oracle";
     private static final String EDITOR_SAVE_PATH = "editorSavePath";
     private static final String EDITOR_MODE = "editorMode";
 
-    public static ApiDAO getApiDAO() throws APIMgtDAOException {
-        ApiDAO apiDAO = null;
+    private static volatile DAORegistry registry;
+    private static volatile AnalyticsDAO analyticsDAO;
 
+    public static ApiDAO getApiDAO() throws APIMgtDAOException {
         if (System.getProperty(EDITOR_MODE) != null) {
             String filePath;
             if ((filePath = System.getProperty(EDITOR_SAVE_PATH)) != null) {
-                apiDAO = new ApiFileDAOImpl(filePath);
-                return apiDAO;
-
+                return new ApiFileDAOImpl(filePath);
             } else {
                 throw new APIMgtDAOException("Editor archive storage path not provided",
                         ExceptionCodes.APIM_DAO_EXCEPTION);
             }
         }
 
-        try (Connection connection = DAOUtil.getConnection()) {
-            String driverName = connection.getMetaData().getDriverName();
-
-            if (driverName.contains(MYSQL)) {
-                apiDAO = new ApiDAOImpl(new MysqlSQLStatements());
-            } else if (driverName.contains(H2)) {
-                apiDAO = new ApiDAOImpl(new H2SQLStatements());
-
-            } else if (driverName.contains(DB2)) {
-
-            } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
-                apiDAO = new ApiDAOImpl(new MssqlSQLStatements());
-            } else if (driverName.contains(POSTGRE)) {
-                apiDAO = new ApiDAOImpl(new PostgresSQLStatements());
-
-            } else if (driverName.contains(ORACLE)) {
-                apiDAO = new ApiDAOImpl(new OracleSQLStatements());
-
-            } else {
-                throw new APIMgtDAOException("Unhandled DB driver: " + driverName + " detected",
-                        ExceptionCodes.APIM_DAO_EXCEPTION);
-            }
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting ApiDAO", e);
-        }
-
-        setup();
-
-        return apiDAO;
+        return getRegistry().getApiDAO();
     }
 
     public static ApplicationDAO getApplicationDAO() throws APIMgtDAOException {
-        ApplicationDAO appDAO = null;
-
-        try (Connection connection = DAOUtil.getConnection()) {
-            String driverName = connection.getMetaData().getDriverName();
-
-            if (driverName.contains(MYSQL) || driverName.contains(H2)) {
-                appDAO = new ApplicationDAOImpl();
-            } else if (driverName.contains(DB2)) {
-
-            } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
-                appDAO = new ApplicationDAOImpl();
-            } else if (driverName.contains(POSTGRE)) {
-                appDAO = new ApplicationDAOImpl();
-            } else if (driverName.contains(ORACLE)) {
-                appDAO = new ApplicationDAOImpl();
-            } else {
-                throw new APIMgtDAOException("Unhandled DB driver: " + driverName + " detected",
-                        ExceptionCodes.APIM_DAO_EXCEPTION);
-            }
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting ApplicationDAO", e);
-        }
-
-        setup();
-
-        return appDAO;
+        return getRegistry().getApplicationDAO();
     }
 
     public static APISubscriptionDAO getAPISubscriptionDAO() throws APIMgtDAOException {
-        APISubscriptionDAO apiSubscriptionDAO = null;
-
-        try (Connection connection = DAOUtil.getConnection()) {
-            String driverName = connection.getMetaData().getDriverName();
-
-            if (driverName.contains(MYSQL) || driverName.contains(H2)) {
-                apiSubscriptionDAO = new APISubscriptionDAOImpl();
-            } else if (driverName.contains(DB2)) {
-
-            } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
-                apiSubscriptionDAO = new APISubscriptionDAOImpl();
-
-            } else if (driverName.contains(POSTGRE)) {
-                apiSubscriptionDAO = new APISubscriptionDAOImpl();
-
-            } else if (driverName.contains(ORACLE)) {
-                apiSubscriptionDAO = new APISubscriptionDAOImpl();
-            } else {
-                throw new APIMgtDAOException("Unhandled DB driver: " + driverName + " detected",
-                        ExceptionCodes.APIM_DAO_EXCEPTION);
-            }
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting APISubscriptionDAO", e);
-        }
-
-        setup();
-
-        return apiSubscriptionDAO;
+        return getRegistry().getApiSubscriptionDAO();
     }
 
     public static PolicyDAO getPolicyDAO() throws APIMgtDAOException {
-        PolicyDAO policyDAO = null;
-
-        try (Connection connection = DAOUtil.getConnection()) {
-            String driverName = connection.getMetaData().getDriverName();
-
-            if (driverName.contains(MYSQL) || driverName.contains(H2)) {
-                policyDAO = new PolicyDAOImpl();
-            } else if (driverName.contains(DB2)) {
-
-            } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
-                policyDAO = new PolicyDAOImpl();
-
-            } else if (driverName.contains(POSTGRE)) {
-                policyDAO = new PolicyDAOImpl();
-
-            } else if (driverName.contains(ORACLE)) {
-                policyDAO = new PolicyDAOImpl();
-            } else {
-                throw new APIMgtDAOException("Unhandled DB driver: " + driverName + " detected",
-                        ExceptionCodes.APIM_DAO_EXCEPTION);
-            }
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting PolicyDAO", e);
-        }
-
-        setup();
-
-        return policyDAO;
+        return getRegistry().getPolicyDAO();
     }
 
     public static TagDAO getTagDAO() throws APIMgtDAOException {
-        TagDAO tagDAO = null;
-
-        try (Connection connection = DAOUtil.getConnection()) {
-            String driverName = connection.getMetaData().getDriverName();
-
-            if (driverName.contains(MYSQL) || driverName.contains(H2)) {
-                tagDAO = new TagDAOImpl();
-            } else if (driverName.contains(DB2)) {
-
-            } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
-                tagDAO = new TagDAOImpl();
-            } else if (driverName.contains(POSTGRE)) {
-                tagDAO = new TagDAOImpl();
-            } else if (driverName.contains(ORACLE)) {
-                tagDAO = new TagDAOImpl();
-            } else {
-                throw new APIMgtDAOException("Unhandled DB driver: " + driverName + " detected",
-                        ExceptionCodes.APIM_DAO_EXCEPTION);
-            }
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting TagDAO", e);
-        }
-
-        setup();
-
-        return tagDAO;
+        return getRegistry().getTagDAO();
     }
 
     public static LabelDAO getLabelDAO() throws APIMgtDAOException {
-        LabelDAO labelDAO = null;
-
-        try (Connection connection = DAOUtil.getConnection()) {
-            String driverName = connection.getMetaData().getDriverName();
-
-            if (driverName.contains(MYSQL) || driverName.contains(H2)) {
-                labelDAO = new LabelDAOImpl();
-            } else if (driverName.contains(DB2)) {
-
-            } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
-                labelDAO = new LabelDAOImpl();
-            } else if (driverName.contains(POSTGRE)) {
-                labelDAO = new LabelDAOImpl();
-            } else if (driverName.contains(ORACLE)) {
-                labelDAO = new LabelDAOImpl();
-            } else {
-                throw new APIMgtDAOException("Unhandled DB driver: " + driverName + " detected",
-                        ExceptionCodes.APIM_DAO_EXCEPTION);
-            }
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting LabelDAO", e);
-        }
-
-        setup();
-
-        return labelDAO;
+        return getRegistry().getLabelDAO();
     }
 
     public static WorkflowDAO getWorkflowDAO() throws APIMgtDAOException {
-        WorkflowDAO workflowDAO = null;
-
-        try (Connection connection = DAOUtil.getConnection()) {
-            String driverName = connection.getMetaData().getDriverName();
-
-            if (driverName.contains(MYSQL) || driverName.contains(H2)) {
-                workflowDAO = new WorkflowDAOImpl();
-            } else if (driverName.contains(DB2)) {
-
-            } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
-                workflowDAO = new WorkflowDAOImpl();
-            } else if (driverName.contains(POSTGRE)) {
-                workflowDAO = new WorkflowDAOImpl();
-            } else if (driverName.contains(ORACLE)) {
-                workflowDAO = new WorkflowDAOImpl();
-            } else {
-                throw new APIMgtDAOException("Unhandled DB driver: " + driverName + " detected",
-                        ExceptionCodes.APIM_DAO_EXCEPTION);
-            }
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting WorkflowDAO", e);
-        }
-
-        setup();
-
-        return workflowDAO;
+        return getRegistry().getWorkflowDAO();
     }
 
     /**
@@ -286,34 +100,7 @@ public class DAOFactory {
      * @throws APIMgtDAOException In case of unhandled DB type or SQLException
      */
     public static FunctionDAO getFunctionDAO() throws APIMgtDAOException {
-        FunctionDAO functionDAO = null;
-
-        try (Connection connection = DAOUtil.getConnection()) {
-            String driverName = connection.getMetaData().getDriverName();
-
-            if (driverName.contains(MYSQL) || driverName.contains(H2)) {
-                functionDAO = new FunctionDAOImpl();
-            } else if (driverName.contains(DB2)) {
-
-            } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
-                functionDAO = new FunctionDAOImpl();
-
-            } else if (driverName.contains(POSTGRE)) {
-                functionDAO = new FunctionDAOImpl();
-
-            } else if (driverName.contains(ORACLE)) {
-                functionDAO = new FunctionDAOImpl();
-            } else {
-                throw new APIMgtDAOException("Unhandled DB driver: " + driverName + " detected",
-                        ExceptionCodes.APIM_DAO_EXCEPTION);
-            }
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting FunctionDAO", e);
-        }
-
-        setup();
-
-        return functionDAO;
+        return getRegistry().getFunctionDAO();
     }
 
     /**
@@ -323,51 +110,116 @@ public class DAOFactory {
      * @throws APIMgtDAOException if error during getting analytics database connection
      */
     public static AnalyticsDAO getAnalyticsDAO() throws APIMgtDAOException {
-        AnalyticsDAO analyticsDAO;
-        boolean isAnalyticsEnabled = ServiceReferenceHolder.getInstance().getAPIMConfiguration()
-                .getAnalyticsConfigurations().isEnabled();
-        if (isAnalyticsEnabled) {
-            try (Connection connection = DAOUtil.getAnalyticsConnection()) {
-                analyticsDAO = getAnalyticsDaoImplForVendor(connection);
-            } catch (SQLException e) {
-                throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting FunctionDAO", e);
-            }
-        } else {
-            // if analytics is not enabled create a normal AMDB data connection to check db driver
-            try (Connection connection = DAOUtil.getConnection()) {
-                analyticsDAO = getAnalyticsDaoImplForVendor(connection);
-            } catch (SQLException e) {
-                throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting FunctionDAO", e);
+        AnalyticsDAO dao = analyticsDAO;
+        if (dao == null) {
+            synchronized (DAOFactory.class) {
+                dao = analyticsDAO;
+                if (dao == null) {
+                    dao = createAnalyticsDAO();
+                    analyticsDAO = dao;
+                }
             }
         }
-        return analyticsDAO;
+        return dao;
     }
 
-    private static AnalyticsDAO getAnalyticsDaoImplForVendor(Connection connection)
-            throws SQLException, APIMgtDAOException {
-        AnalyticsDAO analyticsDAO = null;
-        String driverName = connection.getMetaData().getDriverName();
-        if (driverName.contains(MYSQL) || driverName.contains(H2)) {
-            analyticsDAO = new AnalyticsDAOImpl();
-        } else if (driverName.contains(DB2)) {
+    /**
+     * Returns the time taken to create the DAOs and seed the default data into the database.
+     *
+     * @return bootstrap time in milliseconds
+     * @throws APIMgtDAOException if the DAOs cannot be created
+     */
+    public static long getBootstrapTime() throws APIMgtDAOException {
+        return getRegistry().getBootstrapTime();
+    }
 
-        } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
-            analyticsDAO = new AnalyticsDAOImpl();
+    /**
+     * Discards the DAOs created for the current datasource, so that they are created again for the next datasource.
+     */
+    static synchronized void clearRegistry() {
+        registry = null;
+        analyticsDAO = null;
+    }
+
+    /**
+     * Discards the labels held in memory, so that they are loaded again from the database on the next lookup.
+     */
+    static void invalidateLabels() {
+        DAORegistry current = registry;
+        if (current != null) {
+            current.getLabelDAO().invalidate();
+        }
+    }
+
+    /**
+     * Discards the policies held in memory, so that they are loaded again from the database on the next lookup.
+     */
+    static void invalidatePolicies() {
+        DAORegistry current = registry;
+        if (current != null) {
+            current.getPolicyDAO().invalidate();
+        }
+    }
+
+    /**
+     * Reads the subscriptions and keys of the given applications again into the subscription validation index.
+     *
+     * @param applicationIds UUIDs of the applications
+     */
+    static void refreshSubscriptionValidationData(Collection<String> applicationIds) {
+        DAORegistry current = registry;
+        if (current != null) {
+            current.getApiSubscriptionDAO().refreshValidationIndex(applicationIds);
+        }
+    }
+
+    /**
+     * Updates the name of a subscription policy in the subscription validation index.
+     *
+     * @param policyId   UUID of the policy
+     * @param policyName new name of the policy
+     */
+    static void renameSubscriptionPolicy(String policyId, String policyName) {
+        DAORegistry current = registry;
+        if (current != null) {
+            current.getApiSubscriptionDAO().renamePolicyInValidationIndex(policyId, policyName);
+        }
+    }
 
-        } else if (driverName.contains(POSTGRE)) {
-            analyticsDAO = new AnalyticsDAOImpl();
+    private static DAORegistry getRegistry() throws APIMgtDAOException {
+        DAORegistry current = registry;
+        if (current == null) {
+            synchronized (DAOFactory.class) {
+                current = registry;
+                if (current == null) {
+                    current = new DAORegistry(DAOUtil.getDatabaseVendor());
+                    registry = current;
+                }
+            }
+        }
+        return current;
+    }
 
-        } else if (driverName.contains(ORACLE)) {
-            analyticsDAO = new AnalyticsDAOImpl();
-        } else {
-            throw new APIMgtDAOException("Unhandled DB Type detected");
+    private static AnalyticsDAO createAnalyticsDAO() throws APIMgtDAOException {
+        boolean isAnalyticsEnabled = ServiceReferenceHolder.getInstance().getAPIMConfiguration()
+                .getAnalyticsConfigurations().isEnabled();
+        if (!isAnalyticsEnabled) {
+            // if analytics is not enabled the AMDB vendor is used
+            DAOUtil.getDatabaseVendor();
+            return newCachingAnalyticsDAO();
+        }
+        try (Connection connection = DAOUtil.getAnalyticsConnection()) {
+            DatabaseVendor analyticsVendor = DatabaseVendor.fromDriverName(connection.getMetaData().getDriverName());
+            log.debug("Analytics database vendor: {}", analyticsVendor);
+            return newCachingAnalyticsDAO();
+        } catch (SQLException e) {
+            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting AnalyticsDAO", e);
         }
-        return analyticsDAO;
     }
 
-    private static void setup() throws APIMgtDAOException {
-        ApiDAOImpl.initResourceCategories();
-        ApiDAOImpl.initApiTypes();
-        LabelDAOImpl.initDefaultLabels();
+    private static AnalyticsDAO newCachingAnalyticsDAO() {
+        APIMConfigurations configurations = ServiceReferenceHolder.getInstance().getAPIMConfiguration();
+        return new CachingAnalyticsDAO(new AnalyticsDAOImpl(configurations.getAnalyticsConfigurations()),
+                TimeUnit.SECONDS.toMillis(configurations.getCacheConfigurations().getAnalyticsResultCacheExpiryTime()));
     }
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.dao.ApiDAO;
+import org.wso2.carbon.apimgt.core.dao.ApplicationDAO;
+import org.wso2.carbon.apimgt.core.dao.FunctionDAO;
+import org.wso2.carbon.apimgt.core.dao.TagDAO;
+import org.wso2.carbon.apimgt.core.dao.WorkflowDAO;
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+import org.wso2.carbon.apimgt.core.internal.ServiceReferenceHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the DAO implementations of the database vendor in use. The DAOs are stateless and hence shared by all
+ * callers. The registry is created once per datasource, at which point the default data required by the DAOs is
+ * seeded into the database.
+ */
+final class DAORegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(DAORegistry.class);
+
+    private final DatabaseVendor databaseVendor;
+    private final ApiDAO apiDAO;
+    private final ApplicationDAO applicationDAO = new ApplicationDAOImpl();
+    private final APISubscriptionDAOImpl apiSubscriptionDAO = new APISubscriptionDAOImpl();
+    private final CachingPolicyDAO policyDAO = new CachingPolicyDAO(new PolicyDAOImpl(),
+            ServiceReferenceHolder.getInstance().getAPIMConfiguration().getBrokerConfigurations().getPolicyTopic());
+    private final TagDAO tagDAO = new TagDAOImpl();
+    private final CachingLabelDAO labelDAO = new CachingLabelDAO(new LabelDAOImpl(),
+            ServiceReferenceHolder.getInstance().getAPIMConfiguration().getBrokerConfigurations().getLabelTopic());
+    private final WorkflowDAO workflowDAO = new WorkflowDAOImpl();
+    private final FunctionDAO functionDAO = new CachingFunctionDAO(new FunctionDAOImpl(), TimeUnit.SECONDS.toMillis(
+            ServiceReferenceHolder.getInstance().getAPIMConfiguration().getFunctionDeliveryConfigurations()
+                    .getFunctionCacheExpiryTime()));
+    private final long bootstrapTime;
+
+    /**
+     * Creates the DAOs of the given vendor, seeds the default resource categories, API types and labels and loads the
+     * labels and policies into memory.
+     *
+     * @param databaseVendor vendor of the API Manager database
+     * @throws APIMgtDAOException if the default data cannot be seeded
+     */
+    DAORegistry(DatabaseVendor databaseVendor) throws APIMgtDAOException {
+        long startTime = System.nanoTime();
+        this.databaseVendor = databaseVendor;
+        switch (databaseVendor) {
+            case MYSQL:
+                apiDAO = new ApiDAOImpl(new MysqlSQLStatements());
+                break;
+            case H2:
+                apiDAO = new ApiDAOImpl(new H2SQLStatements());
+                break;
+            case MSSQL:
+                apiDAO = new ApiDAOImpl(new MssqlSQLStatements());
+                break;
+            case POSTGRESQL:
+                apiDAO = new ApiDAOImpl(new PostgresSQLStatements());
+                break;
+            case ORACLE:
+                apiDAO = new ApiDAOImpl(new OracleSQLStatements());
+                break;
+            default:
+                throw new IllegalStateException("Unsupported database vendor: " + databaseVendor);
+        }
+        ApiDAOImpl.initResourceCategories();
+        ApiDAOImpl.initApiTypes();
+        LabelDAOImpl.initDefaultLabels();
+        labelDAO.load();
+        policyDAO.load();
+        bootstrapTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        log.info("Initialized DAOs for {} database in {} ms", databaseVendor, bootstrapTime);
+    }
+
+    DatabaseVendor getDatabaseVendor() {
+        return databaseVendor;
+    }
+
+    /**
+     * Returns the time taken to create the DAOs and seed the default data.
+     *
+     * @return bootstrap time in milliseconds
+     */
+    long getBootstrapTime() {
+        return bootstrapTime;
+    }
+
+    ApiDAO getApiDAO() {
+        return apiDAO;
+    }
+
+    ApplicationDAO getApplicationDAO() {
+        return applicationDAO;
+    }
+
+    APISubscriptionDAOImpl getApiSubscriptionDAO() {
+        return apiSubscriptionDAO;
+    }
+
+    CachingPolicyDAO getPolicyDAO() {
+        return policyDAO;
+    }
+
+    TagDAO getTagDAO() {
+        return tagDAO;
+    }
+
+    CachingLabelDAO getLabelDAO() {
+        return labelDAO;
+    }
+
+    WorkflowDAO getWorkflowDAO() {
+        return workflowDAO;
+    }
+
+    FunctionDAO getFunctionDAO() {
+        return functionDAO;
+    }
+}
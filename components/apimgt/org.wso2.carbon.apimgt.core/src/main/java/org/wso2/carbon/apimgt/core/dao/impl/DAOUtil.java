@@ -23,14 +23,19 @@ package org.wso2.carbon.apimgt.core.dao.impl;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+import org.wso2.carbon.apimgt.core.models.ContinuationToken;
+import org.wso2.carbon.apimgt.core.models.KeysetPage;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.Function;
 
 /**
  * Provides Utility functionality required by the DAO layer
@@ -40,6 +45,8 @@ public class DAOUtil {
     private static final String DB_NAME_POSTGRESQL = "PostgreSQL";
     private static DataSource dataSource;
     private static DataSource analyticsDataSource;
+    private static DataSource analyticsReadDataSource;
+    private static volatile DatabaseVendor databaseVendor;
 
     static final String DAO_ERROR_PREFIX = "Error occurred in DAO layer while ";
 
@@ -49,6 +56,12 @@ public class DAOUtil {
         }
 
         DAOUtil.dataSource = dataSource;
+        try {
+            databaseVendor = detectDatabaseVendor(dataSource);
+        } catch (SQLException | APIMgtDAOException e) {
+            // Detection is retried when the vendor is first required
+            log.warn("Unable to detect the database vendor while initializing the datasource", e);
+        }
     }
 
     public static synchronized void initializeAnalyticsDataSource(DataSource analyticsDataSource) {
@@ -58,6 +71,19 @@ public class DAOUtil {
         DAOUtil.analyticsDataSource = analyticsDataSource;
     }
 
+    /**
+     * Sets the bounded pool used to run analytics read queries, so that long running analytics queries cannot
+     * exhaust the connections of the API Manager database.
+     *
+     * @param analyticsReadDataSource datasource of the analytics read pool
+     */
+    public static synchronized void initializeAnalyticsReadDataSource(DataSource analyticsReadDataSource) {
+        if (DAOUtil.analyticsReadDataSource != null) {
+            return;
+        }
+        DAOUtil.analyticsReadDataSource = analyticsReadDataSource;
+    }
+
     /**
      * Utility method to get a new database connection
      *
@@ -86,6 +112,20 @@ public class DAOUtil {
         throw new SQLException("Analytics datasource is not configured properly.");
     }
 
+    /**
+     * Utility method to get a connection from the analytics read pool. The API Manager datasource is used if a read
+     * pool is not configured.
+     *
+     * @return Connection
+     * @throws java.sql.SQLException if failed to get Connection
+     */
+    static Connection getAnalyticsReadConnection() throws SQLException {
+        if (analyticsReadDataSource != null) {
+            return analyticsReadDataSource.getConnection();
+        }
+        return getConnection();
+    }
+
 
     /**
      * Get is auto commit enabled
@@ -107,11 +147,113 @@ public class DAOUtil {
         return analyticsDataSource.getDatasource().isAutoCommit();
     }
 
+    /**
+     * Returns the vendor of the API Manager database, which is detected once per datasource.
+     *
+     * @return database vendor
+     * @throws APIMgtDAOException if the datasource is not initialized or the vendor is not supported
+     */
+    static DatabaseVendor getDatabaseVendor() throws APIMgtDAOException {
+        DatabaseVendor vendor = databaseVendor;
+        if (vendor == null) {
+            synchronized (DAOUtil.class) {
+                vendor = databaseVendor;
+                if (vendor == null) {
+                    try {
+                        if (dataSource == null) {
+                            throw new SQLException("Datasource is not configured properly.");
+                        }
+                        vendor = detectDatabaseVendor(dataSource);
+                    } catch (SQLException e) {
+                        throw new APIMgtDAOException(DAO_ERROR_PREFIX + "detecting database vendor", e);
+                    }
+                    databaseVendor = vendor;
+                }
+            }
+        }
+        return vendor;
+    }
+
+    private static DatabaseVendor detectDatabaseVendor(DataSource dataSource)
+            throws SQLException, APIMgtDAOException {
+        try (Connection connection = dataSource.getConnection()) {
+            return DatabaseVendor.fromDriverName(connection.getMetaData().getDriverName());
+        }
+    }
+
     static String getParameterString(int numberOfParameters) {
         List<String> questionMarks = new ArrayList<>(Collections.nCopies(numberOfParameters, "?"));
         return String.join(",", questionMarks);
     }
 
+    /**
+     * Limits the number of rows returned by an ordered query using the syntax of the connected database. The row
+     * count has to be bound as the last parameter of the returned query.
+     *
+     * @param orderedQuery query ending with an ORDER BY clause
+     * @return row limited query
+     * @throws APIMgtDAOException if the database vendor cannot be detected
+     */
+    static String getRowLimitedQuery(String orderedQuery) throws APIMgtDAOException {
+        switch (getDatabaseVendor()) {
+            case ORACLE:
+                return "SELECT * FROM (" + orderedQuery + ") WHERE ROWNUM <= ?";
+            case MSSQL:
+                return orderedQuery + " OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY";
+            default:
+                // H2, MySQL and PostgreSQL
+                return orderedQuery + " LIMIT ?";
+        }
+    }
+
+    /**
+     * Returns the condition selecting the rows after the position of a continuation token in a listing ordered by
+     * the given sort column and id column. The condition takes three parameters which are set by
+     * {@link #setKeysetParameters(PreparedStatement, int, ContinuationToken)}.
+     *
+     * @param sortColumn column the listing is ordered by
+     * @param idColumn   unique column breaking ties of the sort column
+     * @return keyset condition
+     */
+    static String getKeysetCondition(String sortColumn, String idColumn) {
+        return "(" + sortColumn + " > ? OR (" + sortColumn + " = ? AND " + idColumn + " > ?))";
+    }
+
+    /**
+     * Sets the parameters of a condition created by {@link #getKeysetCondition(String, String)}.
+     *
+     * @param statement statement to set the parameters of
+     * @param index     index of the last parameter set so far
+     * @param after     continuation token of the previous page
+     * @return index of the last parameter set
+     * @throws SQLException if a parameter cannot be set
+     */
+    static int setKeysetParameters(PreparedStatement statement, int index, ContinuationToken after)
+            throws SQLException {
+        statement.setString(++index, after.getSortValue());
+        statement.setString(++index, after.getSortValue());
+        statement.setString(++index, after.getId());
+        return index;
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of one more than the page size, where the extra row only tells
+     * whether there is a next page.
+     *
+     * @param rows         fetched rows
+     * @param limit        page size
+     * @param tokenBuilder builds the continuation token of a row
+     * @param <T>          type of the rows
+     * @return page of at most {@code limit} rows
+     */
+    static <T> KeysetPage<T> toKeysetPage(List<T> rows, int limit, Function<T, ContinuationToken> tokenBuilder) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, limit));
+        return new KeysetPage<>(items, tokenBuilder.apply(items.get(limit - 1)));
+    }
+
     static List<String> commaSeperatedStringToList(String strValue) {
         if (strValue != null && !strValue.isEmpty()) {
             return Arrays.asList(strValue.split("\\s*,\\s*"));
@@ -137,12 +279,20 @@ public class DAOUtil {
         return autoGeneratedColumnName;
     }
 
-    public static void clearDataSource() {
+    public static synchronized void clearDataSource() {
         dataSource = null;
+        analyticsReadDataSource = null;
+        databaseVendor = null;
+        DAOFactory.clearRegistry();
+    }
+
+    public static synchronized void clearAnalyticsReadDataSource() {
+        analyticsReadDataSource = null;
     }
 
-    public static void clearAnalyticsDataSource() {
+    public static synchronized void clearAnalyticsDataSource() {
         analyticsDataSource = null;
+        DAOFactory.clearRegistry();
     }
 }
 
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
+
+/**
+ * Database vendors supported by the DAO layer, identified by the name of the JDBC driver.
+ */
+enum DatabaseVendor {
+    MYSQL("MySQL"),
+    H2("H2"),
+    MSSQL("MS SQL", "Microsoft"),
+    POSTGRESQL("PostgreSQL"),
+    ORACLE("Oracle");
+
+    private final String[] driverNameFragments;
+
+    DatabaseVendor(String... driverNameFragments) {
+        this.driverNameFragments = driverNameFragments;
+    }
+
+    /**
+     * Finds the vendor of a JDBC driver.
+     *
+     * @param driverName name of the JDBC driver as given by the database metadata
+     * @return vendor of the driver
+     * @throws APIMgtDAOException if the driver does not belong to a supported vendor
+     */
+    static DatabaseVendor fromDriverName(String driverName) throws APIMgtDAOException {
+        for (DatabaseVendor vendor : values()) {
+            for (String driverNameFragment : vendor.driverNameFragments) {
+                if (driverName.contains(driverNameFragment)) {
+                    return vendor;
+                }
+            }
+        }
+        throw new APIMgtDAOException("Unhandled DB driver: " + driverName + " detected",
+                ExceptionCodes.APIM_DAO_EXCEPTION);
+    }
+}
@@ -24,6 +24,7 @@ import org.wso2.carbon.apimgt.core.dao.FunctionDAO;
 import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
 import org.wso2.carbon.apimgt.core.models.Event;
 import org.wso2.carbon.apimgt.core.models.Function;
+import org.wso2.carbon.apimgt.core.models.FunctionDelivery;
 
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -239,6 +240,117 @@ public class FunctionDAOImpl implements FunctionDAO {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addPendingDelivery(FunctionDelivery delivery) throws APIMgtDAOException {
+        final String sqlQuery = "INSERT INTO AM_FUNCTION_DELIVERY (DELIVERY_ID, FUNCTION_NAME, FUNCTION_URI, " +
+                "PAYLOAD, ATTEMPTS, NEXT_ATTEMPT_TIME) VALUES(?, ?, ?, ?, ?, ?)";
+
+        try (Connection connection = DAOUtil.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sqlQuery)) {
+            preparedStatement.setString(1, delivery.getId());
+            preparedStatement.setString(2, delivery.getFunction().getName());
+            preparedStatement.setString(3, delivery.getFunction().getEndpointURI().toString());
+            preparedStatement.setString(4, delivery.getPayload());
+            preparedStatement.setInt(5, delivery.getAttempts());
+            preparedStatement.setLong(6, delivery.getNextAttemptTime());
+            preparedStatement.executeUpdate();
+        } catch (SQLException e) {
+            throw new APIMgtDAOException("Error adding pending delivery: " + delivery.getId(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<FunctionDelivery> getPendingDeliveries(long dueTime, int limit) throws APIMgtDAOException {
+        List<FunctionDelivery> deliveries = new ArrayList<>();
+        final String sqlQuery = "SELECT DELIVERY_ID, FUNCTION_NAME, FUNCTION_URI, PAYLOAD, ATTEMPTS, " +
+                "NEXT_ATTEMPT_TIME " +
+                "FROM AM_FUNCTION_DELIVERY " +
+                "WHERE NEXT_ATTEMPT_TIME <= ? " +
+                "ORDER BY NEXT_ATTEMPT_TIME, DELIVERY_ID";
+
+        try (Connection connection = DAOUtil.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(
+                     DAOUtil.getRowLimitedQuery(sqlQuery))) {
+            preparedStatement.setLong(1, dueTime);
+            preparedStatement.setInt(2, limit);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    Function function = new Function(resultSet.getString("FUNCTION_NAME"),
+                            new URI(resultSet.getString("FUNCTION_URI")));
+                    deliveries.add(new FunctionDelivery(resultSet.getString("DELIVERY_ID"), function,
+                            resultSet.getString("PAYLOAD"), resultSet.getInt("ATTEMPTS"),
+                            resultSet.getLong("NEXT_ATTEMPT_TIME")));
+                }
+            } catch (URISyntaxException e) {
+                throw new APIMgtDAOException("Not a URI", e);
+            }
+        } catch (SQLException e) {
+            throw new APIMgtDAOException("Error retrieving pending deliveries", e);
+        }
+        return deliveries;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean claimPendingDelivery(FunctionDelivery delivery, long leaseExpiryTime) throws APIMgtDAOException {
+        // The next attempt time read by the node acts as the version of the row, so only one node can claim it
+        final String sqlQuery = "UPDATE AM_FUNCTION_DELIVERY SET NEXT_ATTEMPT_TIME = ? " +
+                "WHERE DELIVERY_ID = ? AND NEXT_ATTEMPT_TIME = ?";
+
+        try (Connection connection = DAOUtil.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sqlQuery)) {
+            preparedStatement.setLong(1, leaseExpiryTime);
+            preparedStatement.setString(2, delivery.getId());
+            preparedStatement.setLong(3, delivery.getNextAttemptTime());
+            return preparedStatement.executeUpdate() == 1;
+        } catch (SQLException e) {
+            throw new APIMgtDAOException("Error claiming pending delivery: " + delivery.getId(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updatePendingDelivery(FunctionDelivery delivery) throws APIMgtDAOException {
+        final String sqlQuery = "UPDATE AM_FUNCTION_DELIVERY SET ATTEMPTS = ?, NEXT_ATTEMPT_TIME = ? " +
+                "WHERE DELIVERY_ID = ?";
+
+        try (Connection connection = DAOUtil.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sqlQuery)) {
+            preparedStatement.setInt(1, delivery.getAttempts());
+            preparedStatement.setLong(2, delivery.getNextAttemptTime());
+            preparedStatement.setString(3, delivery.getId());
+            preparedStatement.executeUpdate();
+        } catch (SQLException e) {
+            throw new APIMgtDAOException("Error updating pending delivery: " + delivery.getId(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deletePendingDelivery(String deliveryId) throws APIMgtDAOException {
+        final String sqlQuery = "DELETE FROM AM_FUNCTION_DELIVERY WHERE DELIVERY_ID = ?";
+
+        try (Connection connection = DAOUtil.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sqlQuery)) {
+            preparedStatement.setString(1, deliveryId);
+            preparedStatement.executeUpdate();
+        } catch (SQLException e) {
+            throw new APIMgtDAOException("Error deleting pending delivery: " + deliveryId, e);
+        }
+    }
+
     /**
      * To add a new Function to the 'AM_LAMBDA_FUNCTION' table.
      *
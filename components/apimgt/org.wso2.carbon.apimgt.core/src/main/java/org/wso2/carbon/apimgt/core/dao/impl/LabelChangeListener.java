@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.models.events.LabelEvent;
+
+import java.util.UUID;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageListener;
+import javax.jms.TextMessage;
+
+/**
+ * Listens to the label topic of the broker and discards the labels held in memory whenever the labels are changed on
+ * another node, so that they are loaded again from the database.
+ */
+public final class LabelChangeListener implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(LabelChangeListener.class);
+
+    /**
+     * Identifies the label changes published by this node, which are already reflected in its labels.
+     */
+    static final String NODE_ID = UUID.randomUUID().toString();
+
+    @Override
+    public void onMessage(Message message) {
+        if (!(message instanceof TextMessage)) {
+            return;
+        }
+        try {
+            LabelEvent labelEvent = new Gson().fromJson(((TextMessage) message).getText(), LabelEvent.class);
+            if (labelEvent == null || NODE_ID.equals(labelEvent.getNodeId())) {
+                return;
+            }
+            log.debug("Labels {} were changed on another node, reloading labels", labelEvent.getLabels());
+            DAOFactory.invalidateLabels();
+        } catch (JMSException | JsonSyntaxException e) {
+            log.error("Error occurred while reading label change event", e);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.dao.PolicyDAO;
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+import org.wso2.carbon.apimgt.core.impl.PolicyBundleManager;
+import org.wso2.carbon.apimgt.core.models.events.PolicyEvent;
+import org.wso2.carbon.apimgt.core.template.APITemplateException;
+import org.wso2.carbon.apimgt.core.template.ExecutionPlanRenderer;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants.ThrottlePolicyConstants;
+
+import java.util.Map;
+import java.util.UUID;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageListener;
+import javax.jms.TextMessage;
+
+/**
+ * Listens to the policy topic of the broker and discards the policies held in memory whenever a policy or custom rule
+ * is changed on another node, so that they are loaded again from the database. The execution plans of the changed
+ * policy are then rendered again into the policy bundle, or the whole bundle is discarded if the policy is not known.
+ */
+public final class PolicyChangeListener implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(PolicyChangeListener.class);
+
+    /**
+     * Identifies the policy changes published by this node, which are already reflected in its policies.
+     */
+    static final String NODE_ID = UUID.randomUUID().toString();
+
+    @Override
+    public void onMessage(Message message) {
+        if (!(message instanceof TextMessage)) {
+            return;
+        }
+        try {
+            PolicyEvent policyEvent = new Gson().fromJson(((TextMessage) message).getText(), PolicyEvent.class);
+            if (policyEvent == null || NODE_ID.equals(policyEvent.getNodeId())) {
+                return;
+            }
+            log.debug("Policy {} was changed on another node, reloading policies", policyEvent.getName());
+            DAOFactory.invalidatePolicies();
+            if (APIMgtConstants.GatewayEventTypes.POLICY_UPDATE.equals(policyEvent.getEventType())
+                    && ThrottlePolicyConstants.SUBSCRIPTION_LEVEL.equals(policyEvent.getPolicyLevel())
+                    && policyEvent.getId() != null) {
+                DAOFactory.renameSubscriptionPolicy(policyEvent.getId(), policyEvent.getName());
+            }
+            updatePolicyBundle(policyEvent);
+        } catch (JMSException | JsonSyntaxException e) {
+            log.error("Error occurred while reading policy change event", e);
+        }
+    }
+
+    private static void updatePolicyBundle(PolicyEvent policyEvent) {
+        PolicyBundleManager policyBundleManager = PolicyBundleManager.getInstance();
+        if (!policyBundleManager.isInitialized()) {
+            return;
+        }
+        String policyId = policyEvent.getId();
+        if (policyId == null || policyEvent.getPolicyLevel() == null) {
+            policyBundleManager.invalidate();
+            return;
+        }
+        if (APIMgtConstants.GatewayEventTypes.POLICY_DELETE.equals(policyEvent.getEventType())) {
+            policyBundleManager.remove(policyId);
+            return;
+        }
+        try {
+            Map<String, String> executionPlans = renderExecutionPlans(policyEvent.getPolicyLevel(), policyId);
+            if (executionPlans == null) {
+                policyBundleManager.invalidate();
+            } else {
+                policyBundleManager.update(policyId, executionPlans);
+            }
+        } catch (APIMgtDAOException | APITemplateException e) {
+            log.error("Error occurred while rendering execution plans of policy " + policyId, e);
+            policyBundleManager.invalidate();
+        }
+    }
+
+    /**
+     * @return execution plans of the policy keyed by their names, or null if the policy level is not known
+     */
+    private static Map<String, String> renderExecutionPlans(String policyLevel, String policyId)
+            throws APIMgtDAOException, APITemplateException {
+        PolicyDAO policyDAO = DAOFactory.getPolicyDAO();
+        switch (policyLevel) {
+            case ThrottlePolicyConstants.API_LEVEL:
+                return ExecutionPlanRenderer.render(policyDAO.getApiPolicyByUuid(policyId));
+            case ThrottlePolicyConstants.APPLICATION_LEVEL:
+                return ExecutionPlanRenderer.render(policyDAO.getApplicationPolicyByUuid(policyId));
+            case ThrottlePolicyConstants.SUBSCRIPTION_LEVEL:
+                return ExecutionPlanRenderer.render(policyDAO.getSubscriptionPolicyByUuid(policyId));
+            case ThrottlePolicyConstants.CUSTOM_LEVEL:
+                return ExecutionPlanRenderer.render(policyDAO.getCustomPolicyByUuid(policyId));
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Granularities of the analytics rollups. Buckets are aligned to UTC.
+ */
+enum RollupGranularity {
+    HOUR(Duration.ofHours(1)), DAY(Duration.ofDays(1));
+
+    /**
+     * Longest time range answered from the hourly rollups.
+     */
+    private static final Duration MAX_HOURLY_RANGE = Duration.ofDays(7);
+
+    private final long bucketSize;
+
+    RollupGranularity(Duration bucketSize) {
+        this.bucketSize = bucketSize.toMillis();
+    }
+
+    /**
+     * Returns the start of the bucket which contains the given time.
+     *
+     * @param time time in milliseconds since epoch
+     * @return start of the bucket in milliseconds since epoch
+     */
+    long getBucketStart(long time) {
+        return time - Math.floorMod(time, bucketSize);
+    }
+
+    /**
+     * Returns the size of the buckets a time range is answered in, which is a multiple of the size of the buckets of
+     * this granularity chosen so that the range has at most the given number of buckets.
+     *
+     * @param fromTime      start of the range in milliseconds since epoch
+     * @param toTime        end of the range in milliseconds since epoch
+     * @param maxDataPoints maximum number of buckets
+     * @return size of the buckets in milliseconds
+     */
+    long getBucketSize(long fromTime, long toTime, int maxDataPoints) {
+        long bucketCount = (getBucketStart(toTime) - getBucketStart(fromTime)) / bucketSize + 1;
+        long bucketsPerPoint = (bucketCount + maxDataPoints - 1) / Math.max(1, maxDataPoints);
+        return bucketSize * Math.max(1, bucketsPerPoint);
+    }
+
+    /**
+     * Returns the granularity used to answer queries over a time range, so that long ranges are not answered with
+     * too many points.
+     *
+     * @param fromTime start of the range
+     * @param toTime   end of the range
+     * @return granularity of the range
+     */
+    static RollupGranularity forRange(Instant fromTime, Instant toTime) {
+        return Duration.between(fromTime, toTime).compareTo(MAX_HOURLY_RANGE) > 0 ? DAY : HOUR;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.models.SubscriptionValidationData;
+import org.wso2.carbon.apimgt.core.models.events.ApplicationEvent;
+import org.wso2.carbon.apimgt.core.models.events.GatewayEvent;
+import org.wso2.carbon.apimgt.core.models.events.SubscriptionEvent;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageListener;
+import javax.jms.TextMessage;
+
+/**
+ * Listens to the subscription and application events sent to the gateways through the store topic of the broker,
+ * and reads the subscriptions and keys of the affected applications again into the subscription validation index, so
+ * that the index follows the changes made on other nodes.
+ */
+public final class SubscriptionChangeListener implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionChangeListener.class);
+
+    @Override
+    public void onMessage(Message message) {
+        if (!(message instanceof TextMessage)) {
+            return;
+        }
+        try {
+            String text = ((TextMessage) message).getText();
+            Gson gson = new Gson();
+            GatewayEvent gatewayEvent = gson.fromJson(text, GatewayEvent.class);
+            if (gatewayEvent == null || gatewayEvent.getEventType() == null) {
+                return;
+            }
+            switch (gatewayEvent.getEventType()) {
+                case APIMgtConstants.GatewayEventTypes.SUBSCRIPTION_CREATE:
+                case APIMgtConstants.GatewayEventTypes.SUBSCRIPTION_STATUS_CHANGE:
+                case APIMgtConstants.GatewayEventTypes.SUBSCRIPTION_DELETE:
+                    SubscriptionEvent subscriptionEvent = gson.fromJson(text, SubscriptionEvent.class);
+                    if (subscriptionEvent.getSubscriptionsList() != null) {
+                        Set<String> applicationIds = new LinkedHashSet<>();
+                        for (SubscriptionValidationData subscription : subscriptionEvent.getSubscriptionsList()) {
+                            if (subscription.getApplicationId() != null) {
+                                applicationIds.add(subscription.getApplicationId());
+                            }
+                        }
+                        DAOFactory.refreshSubscriptionValidationData(applicationIds);
+                    }
+                    break;
+                case APIMgtConstants.GatewayEventTypes.APPLICATION_UPDATE:
+                case APIMgtConstants.GatewayEventTypes.APPLICATION_DELETE:
+                    ApplicationEvent applicationEvent = gson.fromJson(text, ApplicationEvent.class);
+                    if (applicationEvent.getApplicationId() != null) {
+                        DAOFactory.refreshSubscriptionValidationData(
+                                Collections.singletonList(applicationEvent.getApplicationId()));
+                    }
+                    break;
+                default:
+                    break;
+            }
+        } catch (JMSException | JsonSyntaxException e) {
+            log.error("Error occurred while reading subscription change event", e);
+        }
+    }
+}
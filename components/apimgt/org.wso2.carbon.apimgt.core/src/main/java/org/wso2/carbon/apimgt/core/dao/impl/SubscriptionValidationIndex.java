@@ -0,0 +1,548 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import org.wso2.carbon.apimgt.core.models.API;
+import org.wso2.carbon.apimgt.core.models.Application;
+import org.wso2.carbon.apimgt.core.models.Subscription;
+import org.wso2.carbon.apimgt.core.models.SubscriptionValidationData;
+import org.wso2.carbon.apimgt.core.models.SubscriptionValidationResult;
+import org.wso2.carbon.apimgt.core.models.policy.Policy;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants.SubscriptionStatus;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of the data required to validate subscriptions, so that key validation does not join the
+ * subscription, API, application, policy and key mapping tables on every call.
+ * <p>
+ * APIs, applications and subscription policies are interned to int indexes, and consumer keys are mapped to the index
+ * of their application. A subscription is then a single entry of an open addressing hash table keyed by the API and
+ * application indexes packed into a long, whose value packs the policy index and the subscription status into an int.
+ * A subscription is looked up by context, version and consumer key with three hash lookups, and since subscriptions
+ * are not repeated per consumer key, generating keys for an application does not touch its subscriptions. Each
+ * application also lists the indexes of the APIs it is subscribed to, and each API the indexes of its subscribed
+ * applications, an int per subscription each, so that the subscriptions of an application are removed and those of an
+ * API are listed without scanning the whole table.
+ * <p>
+ * For 1M subscriptions of 100k applications with two keys each to 10k APIs, the subscription table takes 2^21 slots
+ * of 12 bytes, that is 24 MiB, and the index as a whole about 80 MiB, most of which are the id and name strings of
+ * the applications and keys. The same data held as {@link SubscriptionValidationData}, one per subscription and
+ * consumer key, takes about 600 MiB. Both were measured on a 64-bit JVM with compressed references.
+ * <p>
+ * The index is safe for concurrent use. Lookups share a read lock and changes take the write lock.
+ */
+final class SubscriptionValidationIndex {
+
+    private static final int NOT_FOUND = -1;
+    private static final int STATUS_BITS = 4;
+    private static final int STATUS_MASK = (1 << STATUS_BITS) - 1;
+    private static final SubscriptionStatus[] STATUSES = SubscriptionStatus.values();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Interner<ApiEntry> apis = new Interner<>();
+    private final Map<String, Integer> apiIndexesByContext = new HashMap<>();
+    private final Interner<ApplicationEntry> applications = new Interner<>();
+    private final Map<String, ApplicationKey> keys = new HashMap<>();
+    private final Interner<PolicyEntry> policies = new Interner<>();
+    private final LongIntHashMap subscriptions = new LongIntHashMap();
+
+    /**
+     * Adds or replaces a subscription.
+     *
+     * @param subscription subscription along with its API, application and policy
+     */
+    void putSubscription(Subscription subscription) {
+        lock.writeLock().lock();
+        try {
+            addSubscription(subscription);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Maps a consumer key to its application.
+     *
+     * @param applicationId UUID of the application
+     * @param consumerKey   consumer key of the application
+     * @param keyType       type of the key, such as PRODUCTION or SANDBOX
+     */
+    void putKey(String applicationId, String consumerKey, String keyType) {
+        lock.writeLock().lock();
+        try {
+            addKey(applicationId, consumerKey, keyType);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the keys and subscriptions of an application as a whole, so that lookups never see part of them.
+     *
+     * @param applicationId UUID of the application
+     * @param keyTypes      key types of the application by consumer key, empty if the application has been deleted
+     * @param subscriptions subscriptions of the application, empty if the application has been deleted
+     */
+    void replaceApplication(String applicationId, Map<String, String> keyTypes, List<Subscription> subscriptions) {
+        lock.writeLock().lock();
+        try {
+            removeApplication(applicationId);
+            for (Map.Entry<String, String> key : keyTypes.entrySet()) {
+                addKey(applicationId, key.getKey(), key.getValue());
+            }
+            for (Subscription subscription : subscriptions) {
+                addSubscription(subscription);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Validates the subscription of the application owning a consumer key to an API.
+     *
+     * @param apiContext  context of the API
+     * @param apiVersion  version of the API
+     * @param consumerKey consumer key of the application
+     * @return validation result, or null if the application is not subscribed to the API
+     */
+    SubscriptionValidationResult validate(String apiContext, String apiVersion, String consumerKey) {
+        lock.readLock().lock();
+        try {
+            Integer apiIndex = apiIndexesByContext.get(contextKey(apiContext, apiVersion));
+            ApplicationKey key = keys.get(consumerKey);
+            if (apiIndex == null || key == null) {
+                return null;
+            }
+            int value = subscriptions.get(pack(apiIndex, key.applicationIndex));
+            if (value == NOT_FOUND) {
+                return null;
+            }
+            ApiEntry api = apis.get(apiIndex);
+            ApplicationEntry application = applications.get(key.applicationIndex);
+            SubscriptionValidationResult result = new SubscriptionValidationResult(true);
+            result.setApiId(api.id);
+            result.setApiName(api.name);
+            result.setApiProvider(api.provider);
+            result.setApplicationId(application.id);
+            result.setApplicationName(application.name);
+            result.setApplicationOwner(application.owner);
+            result.setSubscriptionPolicy(policies.get(value >>> STATUS_BITS).name);
+            result.setSubscriptionStatus(STATUSES[value & STATUS_MASK]);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the subscriptions of an API, one for each consumer key of the subscribed applications.
+     *
+     * @param apiContext context of the API
+     * @param apiVersion version of the API
+     * @return subscriptions of the API
+     */
+    List<SubscriptionValidationData> getSubscriptions(String apiContext, String apiVersion) {
+        lock.readLock().lock();
+        try {
+            Integer apiIndex = apiIndexesByContext.get(contextKey(apiContext, apiVersion));
+            List<SubscriptionValidationData> subscriptionList = new ArrayList<>();
+            if (apiIndex != null) {
+                addValidationData(subscriptionList, apiIndex);
+            }
+            return subscriptionList;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns all subscriptions, one for each consumer key of the subscribed applications.
+     *
+     * @return subscriptions of all APIs
+     */
+    List<SubscriptionValidationData> getSubscriptions() {
+        lock.readLock().lock();
+        try {
+            List<SubscriptionValidationData> subscriptionList = new ArrayList<>(subscriptions.size);
+            for (int apiIndex = 0; apiIndex < apis.values.size(); apiIndex++) {
+                if (apis.get(apiIndex) != null) {
+                    addValidationData(subscriptionList, apiIndex);
+                }
+            }
+            return subscriptionList;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Updates the name of a subscription policy, if any subscription of the index refers to it.
+     *
+     * @param policyId   UUID of the policy
+     * @param policyName new name of the policy
+     */
+    void renamePolicy(String policyId, String policyName) {
+        lock.writeLock().lock();
+        try {
+            int policyIndex = policies.indexOf(policyId);
+            if (policyIndex != NOT_FOUND) {
+                policies.get(policyIndex).name = policyName;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of subscriptions in the index.
+     *
+     * @return number of subscriptions
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return subscriptions.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addSubscription(Subscription subscription) {
+        API api = subscription.getApi();
+        int apiIndex = apis.indexOf(api.getId());
+        if (apiIndex == NOT_FOUND) {
+            apiIndex = apis.put(api.getId(), new ApiEntry(api.getId(), api.getContext(), api.getVersion()));
+            apiIndexesByContext.put(contextKey(api.getContext(), api.getVersion()), apiIndex);
+        }
+        ApiEntry apiEntry = apis.get(apiIndex);
+        apiEntry.name = api.getName();
+        apiEntry.provider = api.getProvider();
+        Application application = subscription.getApplication();
+        ApplicationEntry applicationEntry = getOrAddApplication(application.getId());
+        applicationEntry.name = application.getName();
+        applicationEntry.owner = application.getCreatedUser();
+
+        Policy policy = subscription.getPolicy();
+        int policyIndex = policies.indexOf(policy.getUuid());
+        if (policyIndex == NOT_FOUND) {
+            policyIndex = policies.put(policy.getUuid(), new PolicyEntry(policy.getUuid()));
+        }
+        policies.get(policyIndex).name = policy.getPolicyName();
+        SubscriptionStatus status = subscription.getStatus() != null ? subscription.getStatus() :
+                SubscriptionStatus.ACTIVE;
+        if (subscriptions.put(pack(apiIndex, applicationEntry.index), policyIndex << STATUS_BITS | status.ordinal())) {
+            applicationEntry.apiIndexes.add(apiIndex);
+            apiEntry.applicationIndexes.add(applicationEntry.index);
+        }
+    }
+
+    private void addKey(String applicationId, String consumerKey, String keyType) {
+        ApplicationKey existingKey = keys.get(consumerKey);
+        if (existingKey != null) {
+            applications.get(existingKey.applicationIndex).keys.remove(existingKey);
+        }
+        ApplicationEntry applicationEntry = getOrAddApplication(applicationId);
+        // Key types are shared by all keys, hence only one copy of each is kept
+        ApplicationKey key = new ApplicationKey(consumerKey, keyType == null ? null : keyType.intern(),
+                applicationEntry.index);
+        keys.put(consumerKey, key);
+        applicationEntry.keys.add(key);
+    }
+
+    private ApplicationEntry getOrAddApplication(String applicationId) {
+        int applicationIndex = applications.indexOf(applicationId);
+        if (applicationIndex == NOT_FOUND) {
+            applicationIndex = applications.put(applicationId, null);
+            applications.set(applicationIndex, new ApplicationEntry(applicationId, applicationIndex));
+        }
+        return applications.get(applicationIndex);
+    }
+
+    private void removeApplication(String applicationId) {
+        int applicationIndex = applications.indexOf(applicationId);
+        if (applicationIndex == NOT_FOUND) {
+            return;
+        }
+        ApplicationEntry applicationEntry = applications.get(applicationIndex);
+        for (ApplicationKey key : applicationEntry.keys) {
+            keys.remove(key.consumerKey);
+        }
+        IntList apiIndexes = applicationEntry.apiIndexes;
+        for (int i = 0; i < apiIndexes.size; i++) {
+            subscriptions.remove(pack(apiIndexes.values[i], applicationIndex));
+            apis.get(apiIndexes.values[i]).applicationIndexes.remove(applicationIndex);
+        }
+        applications.remove(applicationId);
+    }
+
+    private void addValidationData(List<SubscriptionValidationData> subscriptionList, int apiIndex) {
+        ApiEntry api = apis.get(apiIndex);
+        IntList applicationIndexes = api.applicationIndexes;
+        for (int i = 0; i < applicationIndexes.size; i++) {
+            ApplicationEntry application = applications.get(applicationIndexes.values[i]);
+            int value = subscriptions.get(pack(apiIndex, application.index));
+            for (ApplicationKey key : application.keys) {
+                SubscriptionValidationData validationData = new SubscriptionValidationData(api.context, api.version,
+                        key.consumerKey);
+                validationData.setApiName(api.name);
+                validationData.setApiProvider(api.provider);
+                validationData.setApplicationId(application.id);
+                validationData.setKeyEnvType(key.keyType);
+                validationData.setSubscriptionPolicy(policies.get(value >>> STATUS_BITS).id);
+                validationData.setStatus(STATUSES[value & STATUS_MASK].name());
+                subscriptionList.add(validationData);
+            }
+        }
+    }
+
+    private static long pack(int apiIndex, int applicationIndex) {
+        return ((long) apiIndex << 32) | (applicationIndex & 0xFFFFFFFFL);
+    }
+
+    private static String contextKey(String apiContext, String apiVersion) {
+        return apiContext + '\n' + apiVersion;
+    }
+
+    /**
+     * Assigns an int index to each id, reusing the indexes of removed ids.
+     */
+    private static final class Interner<T> {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<T> values = new ArrayList<>();
+        private final Deque<Integer> freeIndexes = new ArrayDeque<>();
+
+        private int indexOf(String id) {
+            Integer index = indexes.get(id);
+            return index == null ? NOT_FOUND : index;
+        }
+
+        private T get(int index) {
+            return values.get(index);
+        }
+
+        private void set(int index, T value) {
+            values.set(index, value);
+        }
+
+        private int put(String id, T value) {
+            int index = indexOf(id);
+            if (index == NOT_FOUND) {
+                if (freeIndexes.isEmpty()) {
+                    index = values.size();
+                    values.add(value);
+                } else {
+                    index = freeIndexes.pop();
+                    values.set(index, value);
+                }
+                indexes.put(id, index);
+            } else {
+                values.set(index, value);
+            }
+            return index;
+        }
+
+        private void remove(String id) {
+            Integer index = indexes.remove(id);
+            if (index != null) {
+                values.set(index, null);
+                freeIndexes.push(index);
+            }
+        }
+    }
+
+    /**
+     * Hash table of long keys to int values using linear probing, which holds the keys and values in two arrays
+     * rather than in an entry object per mapping.
+     */
+    private static final class LongIntHashMap {
+        private static final long FREE = -1L;
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private long[] keys;
+        private int[] values;
+        private int mask;
+        private int size;
+
+        private LongIntHashMap() {
+            allocate(INITIAL_CAPACITY);
+        }
+
+        private int get(long key) {
+            for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+                if (keys[slot] == FREE) {
+                    return NOT_FOUND;
+                }
+            }
+        }
+
+        /**
+         * @return true if the key was added, or false if the value of an existing key was replaced
+         */
+        private boolean put(long key, int value) {
+            int slot = slot(key);
+            while (keys[slot] != FREE) {
+                if (keys[slot] == key) {
+                    values[slot] = value;
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            if (++size > keys.length / 4 * 3) {
+                rehash();
+            }
+            return true;
+        }
+
+        private void remove(long key) {
+            int gap = slot(key);
+            while (keys[gap] != key) {
+                if (keys[gap] == FREE) {
+                    return;
+                }
+                gap = (gap + 1) & mask;
+            }
+            // Shift back the entries which follow the removed one, so that no probe sequence is broken
+            for (int slot = (gap + 1) & mask; keys[slot] != FREE; slot = (slot + 1) & mask) {
+                if (((slot - slot(keys[slot])) & mask) >= ((slot - gap) & mask)) {
+                    keys[gap] = keys[slot];
+                    values[gap] = values[slot];
+                    gap = slot;
+                }
+            }
+            keys[gap] = FREE;
+            size--;
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            Arrays.fill(keys, FREE);
+            values = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        private void rehash() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            allocate(oldKeys.length * 2);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != FREE) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private int slot(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+
+    /**
+     * Growable list of ints, which does not box them as a {@code List<Integer>} would. The order of the values is not
+     * kept on removal.
+     */
+    private static final class IntList {
+        private static final int[] EMPTY = new int[0];
+
+        private int[] values = EMPTY;
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.max(4, size * 2));
+            }
+            values[size++] = value;
+        }
+
+        private void remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    values[i] = values[--size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class ApiEntry {
+        private final String id;
+        private final String context;
+        private final String version;
+        private final IntList applicationIndexes = new IntList();
+        private String name;
+        private String provider;
+
+        private ApiEntry(String id, String context, String version) {
+            this.id = id;
+            this.context = context;
+            this.version = version;
+        }
+    }
+
+    private static final class ApplicationEntry {
+        private final String id;
+        private final int index;
+        private final List<ApplicationKey> keys = new ArrayList<>(2);
+        private final IntList apiIndexes = new IntList();
+        private String name;
+        private String owner;
+
+        private ApplicationEntry(String id, int index) {
+            this.id = id;
+            this.index = index;
+        }
+    }
+
+    private static final class ApplicationKey {
+        private final String consumerKey;
+        private final String keyType;
+        private final int applicationIndex;
+
+        private ApplicationKey(String consumerKey, String keyType, int applicationIndex) {
+            this.consumerKey = consumerKey;
+            this.keyType = keyType;
+            this.applicationIndex = applicationIndex;
+        }
+    }
+
+    private static final class PolicyEntry {
+        private final String id;
+        private String name;
+
+        private PolicyEntry(String id) {
+            this.id = id;
+        }
+    }
+}
@@ -40,6 +40,7 @@ public class ApiStoreSdkGenerationException extends Exception {
 
     public ApiStoreSdkGenerationException(String message, Throwable cause) {
         super(message, cause);
+        this.errorHandler = ExceptionCodes.SDK_NOT_GENERATED;
     }
 
     public ApiStoreSdkGenerationException(Throwable cause) {
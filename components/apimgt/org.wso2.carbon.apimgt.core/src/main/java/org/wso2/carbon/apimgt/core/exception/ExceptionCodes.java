@@ -82,6 +82,13 @@ public enum ExceptionCodes implements ErrorHandler {
     RESOURCE_RETRIEVAL_FAILED(900402, "Resource retrieval failed", 400, "Resource retrieval failed"),
     MALFORMED_URL(900403, "Malformed URL", 400, "Malformed URL"),
 
+    // Analytics related codes
+    ANALYTICS_QUERY_TIMEOUT(900425, "Analytics query timed out", 504, "Analytics query did not complete within the "
+            + "allowed time"),
+    ANALYTICS_QUERY_REJECTED(900426, "Analytics query rejected", 503, "Too many analytics queries are in progress"),
+    ANALYTICS_INVALID_TIME_RANGE(900427, "Invalid time range", 400, "The requested time range is invalid or too "
+            + "long"),
+
     // Endpoint related codes
     ENDPOINT_NOT_FOUND(900450, "Endpoint Not Found", 404, "Endpoint Not Found"),
     ENDPOINT_ALREADY_EXISTS(900451, "Endpoint already exists", 409, "Endpoint already exists"),
@@ -160,6 +167,8 @@ public enum ExceptionCodes implements ErrorHandler {
     LAST_UPDATED_TIME_RETRIEVAL_ERROR(900702, "Error while retrieving last access time for the resource", 500,
             "Error while retrieving last access time for the resource"),
     INVALID_DATE_TIME_STAMP(900703, "Invalid timestamp value", 400, "Timestamp should be in ISO8601 format"),
+    INVALID_CONTINUATION_TOKEN(900704, "Invalid continuation token", 400,
+            "Continuation token is malformed or does not belong to this listing"),
 
 
     // Oauth related codes
@@ -22,6 +22,10 @@ package org.wso2.carbon.apimgt.core.exception;
  */
 public class NotificationException extends Exception {
 
+    public NotificationException(String msg) {
+        super(msg);
+    }
+
     public NotificationException(String msg, Throwable e) {
         super(msg, e);
     }
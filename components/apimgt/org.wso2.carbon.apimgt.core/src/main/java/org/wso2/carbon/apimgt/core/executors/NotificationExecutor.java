@@ -19,28 +19,57 @@ package org.wso2.carbon.apimgt.core.executors;
 
 import org.apache.juli.logging.Log;
 import org.apache.juli.logging.LogFactory;
-import org.wso2.carbon.apimgt.core.configuration.models.APIMConfigurations;
+import org.wso2.carbon.apimgt.core.configuration.models.NotificationConfigurations;
 import org.wso2.carbon.apimgt.core.configuration.models.NotifierConfigurations;
 import org.wso2.carbon.apimgt.core.exception.NotificationException;
 import org.wso2.carbon.apimgt.core.impl.Notifier;
 import org.wso2.carbon.apimgt.core.impl.NotifierConstants;
+import org.wso2.carbon.apimgt.core.internal.ServiceReferenceHolder;
 import org.wso2.carbon.apimgt.core.template.dto.NotificationDTO;
 import org.wso2.carbon.apimgt.core.util.APIUtils;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
- * Used to execute notification threads.
+ * Used to execute notification threads. Notifiers are executed by a pool of threads shared by all the executors,
+ * which holds a bounded number of pending notifications.
  */
 public class NotificationExecutor {
 
     private static final Log log = LogFactory.getLog(NotificationExecutor.class);
-    ExecutorService executor = Executors.newFixedThreadPool(10);
+    private static final ConcurrentMap<String, Class<?>> notifierClasses = new ConcurrentHashMap<>();
+
+    /**
+     * A static class which holds the thread pool shared by the executors.
+     */
+    private static class ThreadPoolHolder {
+        private static final ThreadPoolExecutor executor = createExecutor();
+
+        private static ThreadPoolExecutor createExecutor() {
+            NotificationConfigurations notificationConfigurations = ServiceReferenceHolder.getInstance()
+                    .getAPIMConfiguration().getNotificationConfigurations();
+            int poolSize = notificationConfigurations.getNotifierThreadPoolSize();
+            AtomicInteger threadCount = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(notificationConfigurations.getNotifierQueueSize()), runnable -> {
+                Thread thread = new Thread(runnable, "NotificationWorker-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
 
     /**
      * Executes the notifer classes in separtate threads.
@@ -50,8 +79,9 @@ public class NotificationExecutor {
      */
     public void sendAsyncNotifications(NotificationDTO notificationDTO) throws NotificationException {
 
-        List<NotifierConfigurations> notifierConfigurations = new APIMConfigurations().
-                getNotificationConfigurations().getNewVersionNotifierConfiguration().getNotifierConfigurations();
+        List<NotifierConfigurations> notifierConfigurations = ServiceReferenceHolder.getInstance()
+                .getAPIMConfiguration().getNotificationConfigurations().getNewVersionNotifierConfiguration()
+                .getNotifierConfigurations();
 
         if (notificationDTO.getType().equalsIgnoreCase(NotifierConstants.NOTIFICATION_TYPE_NEW_VERSION)) {
             for (NotifierConfigurations listItem : notifierConfigurations) {
@@ -66,7 +96,7 @@ public class NotificationExecutor {
 
                     Notifier notifier;
                     try {
-                        notifier = (Notifier) APIUtils.getClassForName(executorClass).newInstance();
+                        notifier = (Notifier) getNotifierClass(executorClass).newInstance();
                     } catch (InstantiationException e) {
                         throw new NotificationException("Instantiation Error while Initializing the notifier class", e);
                     } catch (IllegalAccessException e) {
@@ -75,7 +105,11 @@ public class NotificationExecutor {
                         throw new NotificationException("ClassNotFound Error while Initializing the notifier class", e);
                     }
                     notifier.setNotificationDTO(notificationDTO);
-                    executor.execute(notifier);
+                    try {
+                        ThreadPoolHolder.executor.execute(notifier);
+                    } catch (RejectedExecutionException e) {
+                        throw new NotificationException("Notification queue is full, notification is discarded", e);
+                    }
                 } else {
                     if (log.isDebugEnabled()) {
                         log.debug("Class " + executorClass + " Empty Or Null");
@@ -87,9 +121,25 @@ public class NotificationExecutor {
                 log.debug("Notification Type Does Not match with " + NotifierConstants.NOTIFICATION_TYPE_NEW_VERSION);
             }
         }
-        executor.shutdown();
-        while (!executor.isTerminated()) {
+    }
+
+    /**
+     * Returns the notifier class of the given name, loading it only once.
+     *
+     * @param className name of the notifier class
+     * @return notifier class
+     * @throws ClassNotFoundException if the class cannot be found
+     * @throws IllegalAccessException if the class cannot be accessed
+     * @throws InstantiationException if the class cannot be loaded
+     */
+    private static Class<?> getNotifierClass(String className) throws ClassNotFoundException,
+            IllegalAccessException, InstantiationException {
+        Class<?> notifierClass = notifierClasses.get(className);
+        if (notifierClass == null) {
+            notifierClass = APIUtils.getClassForName(className);
+            notifierClasses.putIfAbsent(className, notifierClass);
         }
+        return notifierClass;
     }
 
 }
@@ -41,7 +41,6 @@ import io.swagger.models.parameters.PathParameter;
 import io.swagger.models.parameters.QueryParameter;
 import io.swagger.models.properties.Property;
 import io.swagger.models.properties.StringProperty;
-import io.swagger.parser.SwaggerParser;
 import io.swagger.util.Json;
 import org.apache.commons.lang3.StringUtils;
 import org.json.simple.JSONArray;
@@ -89,9 +88,8 @@ public class APIDefinitionFromSwagger20 implements APIDefinition {
     @Override
     public String getScopeOfResourcePath(String resourceConfigsJSON, Request request,
                                          ServiceMethodInfo serviceMethodInfo) throws APIManagementException {
-        SwaggerParser swaggerParser = new SwaggerParser();
-        Swagger swagger = swaggerParser.parse(resourceConfigsJSON);
-        String basepath = swagger.getBasePath();
+        SwaggerScopeInfo scopeInfo = getScopeInfo(resourceConfigsJSON);
+        String basepath = scopeInfo.basePath;
         String verb = (String) request.getProperty(APIMgtConstants.HTTP_METHOD);
         //TODO change to this if msf4j2.3.0-m2 or higher
 //        Method resourceMethod = (Method) request.getProperty("method");
@@ -125,7 +123,7 @@ public class APIDefinitionFromSwagger20 implements APIDefinition {
         }
 
         if (nameSpace != null && localConfigMap.containsKey(nameSpace) && localConfigMap.get(nameSpace).isEmpty()) {
-            populateConfigMapForScopes(swagger, nameSpace);
+            populateConfigMapForScopes(scopeInfo.resourceExtensionScopes, nameSpace);
         }
 
         String resourceConfig = verb + "_" + apiPrefix + pathTemplate;
@@ -135,14 +133,13 @@ public class APIDefinitionFromSwagger20 implements APIDefinition {
         return null;
     }
 
-    /*
-    * This method populates resource to scope mappings into localConfigMap
-    *
-    * @param swagger swagger oc of the apis
-    * @param String namespacee unigue identifier of the api
-    *
-    * */
-    private void populateConfigMapForScopes(Swagger swagger, String namespace) {
+    /**
+     * This method populates resource to scope mappings into localConfigMap
+     *
+     * @param resourceScopes resource to scope mappings read from the swagger of the apis
+     * @param namespace      namespacee unique identifier of the api
+     */
+    private void populateConfigMapForScopes(Map<String, String> resourceScopes, String namespace) {
         Map<String, String> configMap = ServiceReferenceHolder.getInstance().getRestAPIConfigurationMap(namespace);
         //update local cache with configs defined in configuration file(dep.yaml)
         if (!localConfigMap.containsKey(namespace)) {
@@ -152,68 +149,35 @@ public class APIDefinitionFromSwagger20 implements APIDefinition {
             localConfigMap.get(namespace).putAll(configMap);
         }
         //update local cache with the resource to scope mapping read from swagger
-        if (swagger != null) {
-            for (Map.Entry<String, Path> entry : swagger.getPaths().entrySet()) {
-                Path resource = entry.getValue();
-                Map<HttpMethod, Operation> operationsMap = resource.getOperationMap();
-                for (Map.Entry<HttpMethod, Operation> httpverbEntry : operationsMap.entrySet()) {
-                    if (httpverbEntry.getValue().getVendorExtensions().size() > 0 && httpverbEntry.getValue()
-                            .getVendorExtensions().get(APIMgtConstants.SWAGGER_X_SCOPE) != null) {
-                        String path = httpverbEntry.getKey() + "_" + entry.getKey();
-                        if (!localConfigMap.get(namespace).containsKey(path)) {
-                            localConfigMap.get(namespace).put(path,
-                                    httpverbEntry.getValue().getVendorExtensions().get(APIMgtConstants.SWAGGER_X_SCOPE)
-                                            .toString());
-                        }
-                    }
-
-                }
-            }
+        for (Map.Entry<String, String> resourceScope : resourceScopes.entrySet()) {
+            localConfigMap.get(namespace).putIfAbsent(resourceScope.getKey(), resourceScope.getValue());
         }
     }
 
     /**
-     * This method populates resource to scope mappings into localConfigMap
+     * Returns the scope related information of a swagger definition, which is converted once per definition by the
+     * swagger model cache.
      *
-     * @param swagger   swagger oc of the apis
-     * @param namespace namespacee unique identifier of the api
+     * @param resourceConfigsJSON swagger definition
+     * @return scope related information of the definition
+     * @throws APIManagementException if the definition cannot be parsed
      */
-    private void populateConfigMapForScope(Swagger swagger, String namespace) {
-        //todo: Keep polulateConfigMapForScope and remove populateConfigMapForScopes after finalizing yamls
-        // todo: -without vendor extensions.
-        Map<String, String> configMap = ServiceReferenceHolder.getInstance().getRestAPIConfigurationMap(namespace);
-        //update local cache with configs defined in configuration file(dep.yaml)
-        if (!localConfigMap.containsKey(namespace)) {
-            localConfigMap.put(namespace, new ConcurrentHashMap<>());
-        }
-        if (configMap != null) {
-            localConfigMap.get(namespace).putAll(configMap);
-        }
-        //update local cache with the resource to scope mapping read from swagger
-        if (swagger != null) {
-            for (Map.Entry<String, Path> entry : swagger.getPaths().entrySet()) {
-                Path resource = entry.getValue();
-                Map<HttpMethod, Operation> operationsMap = resource.getOperationMap();
-                for (Map.Entry<HttpMethod, Operation> httpVerbEntry : operationsMap.entrySet()) {
-                    List<Map<String, List<String>>> security = httpVerbEntry.getValue().getSecurity();
-                    if (security != null) {
-                        String scope = security.get(0).get(APIMgtConstants.OAUTH2SECURITY).get(0);
-                        String path = httpVerbEntry.getKey() + "_" + entry.getKey();
-                        if (!localConfigMap.get(namespace).containsKey(path)) {
-                            localConfigMap.get(namespace).put(path, scope);
-                        }
-                    }
-                }
-            }
-        }
+    private SwaggerScopeInfo getScopeInfo(String resourceConfigsJSON) throws APIManagementException {
+        SwaggerScopeInfo scopeInfo = SwaggerModelCache.getInstance().getConverted(resourceConfigsJSON,
+                SwaggerScopeInfo.class.getName(), SwaggerScopeInfo::new);
+        if (scopeInfo == null) {
+            String msg = "Error while parsing swagger definition";
+            log.error(msg);
+            throw new APIManagementException(msg, ExceptionCodes.SWAGGER_PARSE_EXCEPTION);
+        }
+        return scopeInfo;
     }
 
     @Override
     public List<APIResource> parseSwaggerAPIResources(StringBuilder resourceConfigsJSON)
             throws APIManagementException {
         List<APIResource> apiResources = new ArrayList<>();
-        SwaggerParser swaggerParser = new SwaggerParser();
-        Swagger swagger = swaggerParser.parse(resourceConfigsJSON.toString());
+        Swagger swagger = SwaggerModelCache.getInstance().getSwagger(resourceConfigsJSON.toString());
         Map<String, Path> resourceList = swagger.getPaths();
         Map<String, Scope> scopeMap;
         //todo:remove vendor extensions scope retraction (remove else part)
@@ -304,11 +268,8 @@ public class APIDefinitionFromSwagger20 implements APIDefinition {
 
     @Override
     public Map<String, Scope> getScopesFromSecurityDefinition(String resourceConfigJSON) throws APIManagementException {
-        SwaggerParser swaggerParser = new SwaggerParser();
-        Swagger swagger = swaggerParser.parse(resourceConfigJSON);
-        String basePath = swagger.getBasePath();
-        String nameSpace = getNamespaceFromBasePath(basePath);
-        Map<String, String> scopes = null;
+        SwaggerScopeInfo scopeInfo = getScopeInfo(resourceConfigJSON);
+        String nameSpace = getNamespaceFromBasePath(scopeInfo.basePath);
         if (nameSpace == null) {
             return new HashMap<>();
         }
@@ -317,16 +278,12 @@ public class APIDefinitionFromSwagger20 implements APIDefinition {
                 return (Map<String, Scope>) localConfigMap.get(nameSpace).get(APIMgtConstants.SCOPES);
             }
         } else {
-            populateConfigMapForScope(swagger, nameSpace);
+            populateConfigMapForScopes(scopeInfo.resourceSecurityScopes, nameSpace);
         }
         //security header is not found in deployment.yaml.hence, reading from swagger
-        Map<String, SecuritySchemeDefinition> securityDefinitions = swagger.getSecurityDefinitions();
-        if (securityDefinitions != null) {
-            Map.Entry<String, SecuritySchemeDefinition> entry = securityDefinitions.entrySet().iterator().next();
-            OAuth2Definition securityDefinition = (OAuth2Definition) entry.getValue();
-            scopes = securityDefinition.getScopes();
+        if (scopeInfo.securityDefinitionScopes != null) {
             //populate Scope object map using oAuth2securityDefinitions
-            Map<String, Scope> scopeMap = populateScopeMap(scopes);
+            Map<String, Scope> scopeMap = populateScopeMap(scopeInfo.securityDefinitionScopes);
             localConfigMap.get(nameSpace).put(APIMgtConstants.SCOPES, scopeMap);
             log.debug("Scopes of extracted from Swagger: {}", scopeMap);
             return scopeMap;
@@ -354,11 +311,9 @@ public class APIDefinitionFromSwagger20 implements APIDefinition {
     @Override
     public Map<String, Scope> getScopes(String resourceConfigsJSON) throws APIManagementException {
 
-        SwaggerParser swaggerParser = new SwaggerParser();
-        Swagger swagger = swaggerParser.parse(resourceConfigsJSON);
-        if (swagger.getVendorExtensions() != null) {
-            String basePath = swagger.getBasePath();
-            String nameSpace = getNamespaceFromBasePath(basePath);
+        SwaggerScopeInfo scopeInfo = getScopeInfo(resourceConfigsJSON);
+        if (scopeInfo.securityExtensionScopes != null) {
+            String nameSpace = getNamespaceFromBasePath(scopeInfo.basePath);
             if (nameSpace == null) {
                 return new HashMap<>();
             }
@@ -371,14 +326,11 @@ public class APIDefinitionFromSwagger20 implements APIDefinition {
                 }
             } else {
                 // rest api resource to scope mapping configurations have not been loaded.hence, populating
-                populateConfigMapForScopes(swagger, nameSpace);
+                populateConfigMapForScopes(scopeInfo.resourceExtensionScopes, nameSpace);
             }
             if (securityHeaderScopes == null || StringUtils.isEmpty(securityHeaderScopes)) {
                 //security header is not found in deployment.yaml.hence, reading from swagger
-                securityHeaderScopes = new Gson()
-                        .toJson(swagger
-                                .getVendorExtensions()
-                                .get(APIMgtConstants.SWAGGER_X_WSO2_SECURITY));
+                securityHeaderScopes = scopeInfo.securityExtensionScopes;
                 localConfigMap.get(nameSpace).put(APIMgtConstants.SWAGGER_X_WSO2_SCOPES, securityHeaderScopes);
             }
             try {
@@ -567,6 +519,23 @@ public class APIDefinitionFromSwagger20 implements APIDefinition {
         return Json.pretty(swagger);
     }
 
+    /**
+     * Generate the swagger of a new version of an API, by replacing the version of the swagger of the API.
+     *
+     * @param apiDefinition API definition as a string
+     * @param version       version of the new API
+     * @return generated swagger as a string, or the given definition if it cannot be parsed.
+     */
+    @Override
+    public String generateSwaggerForNewVersion(String apiDefinition, String version) {
+        Swagger swagger = SwaggerModelCache.getInstance().getSwagger(apiDefinition);
+        if (swagger == null || swagger.getInfo() == null) {
+            return apiDefinition;
+        }
+        swagger.getInfo().setVersion(version);
+        return Json.pretty(swagger);
+    }
+
     /**
      * return API Object
      *
@@ -578,8 +547,7 @@ public class APIDefinitionFromSwagger20 implements APIDefinition {
     @Override
     public API.APIBuilder generateApiFromSwaggerResource(String provider, String apiDefinition) throws
             APIManagementException {
-        SwaggerParser swaggerParser = new SwaggerParser();
-        Swagger swagger = swaggerParser.parse(apiDefinition);
+        Swagger swagger = SwaggerModelCache.getInstance().getSwagger(apiDefinition);
 
         if (swagger == null) {
             throw new APIManagementException("Swagger could not be generated from provided API definition");
@@ -616,8 +584,7 @@ public class APIDefinitionFromSwagger20 implements APIDefinition {
     @Override
     public CompositeAPI.Builder generateCompositeApiFromSwaggerResource(String provider, String apiDefinition)
                                                                                          throws APIManagementException {
-        SwaggerParser swaggerParser = new SwaggerParser();
-        Swagger swagger = swaggerParser.parse(apiDefinition);
+        Swagger swagger = SwaggerModelCache.getInstance().getSwagger(apiDefinition);
 
         if (swagger == null) {
             throw new APIManagementException("Swagger could not be generated from provided API definition");
@@ -708,4 +675,59 @@ public class APIDefinitionFromSwagger20 implements APIDefinition {
             return null;
         }
     }
+
+    /**
+     * Scope related information of a swagger definition. Instances are shared through the swagger model cache, hence
+     * none of the fields may be modified once constructed.
+     */
+    private static final class SwaggerScopeInfo {
+        private final String basePath;
+        //x-wso2-security vendor extension as JSON, null if the definition has no vendor extensions
+        private final String securityExtensionScopes;
+        //scopes of the first security definition, null if the definition has no OAuth2 security definition
+        private final Map<String, String> securityDefinitionScopes;
+        //resource to scope mappings read from the x-scope vendor extension of the operations
+        private final Map<String, String> resourceExtensionScopes = new HashMap<>();
+        //resource to scope mappings read from the security requirements of the operations
+        private final Map<String, String> resourceSecurityScopes = new HashMap<>();
+
+        private SwaggerScopeInfo(Swagger swagger) {
+            basePath = swagger.getBasePath();
+            if (swagger.getVendorExtensions() != null) {
+                securityExtensionScopes = new Gson()
+                        .toJson(swagger.getVendorExtensions().get(APIMgtConstants.SWAGGER_X_WSO2_SECURITY));
+            } else {
+                securityExtensionScopes = null;
+            }
+            Map<String, SecuritySchemeDefinition> securityDefinitions = swagger.getSecurityDefinitions();
+            Map<String, String> scopes = null;
+            if (securityDefinitions != null && !securityDefinitions.isEmpty()) {
+                SecuritySchemeDefinition securityDefinition = securityDefinitions.values().iterator().next();
+                if (securityDefinition instanceof OAuth2Definition) {
+                    scopes = ((OAuth2Definition) securityDefinition).getScopes();
+                }
+            }
+            securityDefinitionScopes = scopes == null ? null : new HashMap<>(scopes);
+            if (swagger.getPaths() != null) {
+                for (Map.Entry<String, Path> entry : swagger.getPaths().entrySet()) {
+                    for (Map.Entry<HttpMethod, Operation> httpVerbEntry
+                            : entry.getValue().getOperationMap().entrySet()) {
+                        String path = httpVerbEntry.getKey() + "_" + entry.getKey();
+                        Operation operation = httpVerbEntry.getValue();
+                        Object scope = operation.getVendorExtensions().get(APIMgtConstants.SWAGGER_X_SCOPE);
+                        if (scope != null) {
+                            resourceExtensionScopes.put(path, scope.toString());
+                        }
+                        List<Map<String, List<String>>> security = operation.getSecurity();
+                        if (security != null && !security.isEmpty()
+                                && security.get(0).get(APIMgtConstants.OAUTH2SECURITY) != null
+                                && !security.get(0).get(APIMgtConstants.OAUTH2SECURITY).isEmpty()) {
+                            resourceSecurityScopes.put(path,
+                                    security.get(0).get(APIMgtConstants.OAUTH2SECURITY).get(0));
+                        }
+                    }
+                }
+            }
+        }
+    }
 }
@@ -20,7 +20,14 @@
 
 package org.wso2.carbon.apimgt.core.impl;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.wso2.carbon.apimgt.core.api.APILifecycleManager;
+import org.wso2.carbon.apimgt.core.exception.GatewayException;
+import org.wso2.carbon.apimgt.core.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.core.models.events.LifecycleEvent;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
+import org.wso2.carbon.apimgt.core.util.BrokerUtil;
 import org.wso2.carbon.lcm.core.LifecycleOperationManager;
 import org.wso2.carbon.lcm.core.exception.LifecycleException;
 import org.wso2.carbon.lcm.core.impl.LifecycleDataProvider;
@@ -29,8 +36,35 @@ import org.wso2.carbon.lcm.sql.beans.LifecycleHistoryBean;
 
 import java.util.List;
 
+/**
+ * {@link APILifecycleManager} backed by the lifecycle engine. Lifecycle states and history are served from the
+ * {@link LifecycleStateCache}, which is shared by all instances and invalidated for an API whenever its lifecycle
+ * is changed through this class. The change is published to the lifecycle topic as well, so that the other nodes drop
+ * their cached data of the API. State changes read the checklist values from the engine itself, since a cached copy
+ * may not hold the values set on another node.
+ */
 class APILifeCycleManagerImpl implements APILifecycleManager {
 
+    private static final Logger log = LoggerFactory.getLogger(APILifeCycleManagerImpl.class);
+
+    private final LifecycleStateCache lifecycleStateCache;
+    private final String lifecycleTopic;
+
+    APILifeCycleManagerImpl() {
+        this(LifecycleStateCache.getInstance(), ServiceReferenceHolder.getInstance().getAPIMConfiguration()
+                .getBrokerConfigurations().getLifecycleTopic());
+    }
+
+    /**
+     * @param lifecycleStateCache cache of the lifecycle data
+     * @param lifecycleTopic      broker topic to which lifecycle changes are published, or null if they are not
+     *                            published
+     */
+    APILifeCycleManagerImpl(LifecycleStateCache lifecycleStateCache, String lifecycleTopic) {
+        this.lifecycleStateCache = lifecycleStateCache;
+        this.lifecycleTopic = lifecycleTopic;
+    }
+
     /**
      * @see APILifecycleManager#executeLifecycleEvent(String currentState, String targetState, String uuid, String user,
             Object resource)
@@ -38,7 +72,12 @@ class APILifeCycleManagerImpl implements APILifecycleManager {
     @Override
     public LifecycleState executeLifecycleEvent(String currentState, String targetState, String uuid, String user,
                                                 Object resource) throws LifecycleException {
-        return LifecycleOperationManager.executeLifecycleEvent(currentState, targetState, uuid, user, resource);
+        try {
+            return LifecycleOperationManager.executeLifecycleEvent(currentState, targetState, uuid, user, resource);
+        } finally {
+            // Dropped even if the event failed, since the engine may have changed the state partially
+            invalidate(uuid);
+        }
     }
 
     /**
@@ -48,7 +87,11 @@ class APILifeCycleManagerImpl implements APILifecycleManager {
     @Override
     public LifecycleState checkListItemEvent(String uuid, String currentState, String checkListItemName, boolean
             value) throws LifecycleException {
-        return LifecycleOperationManager.checkListItemEvent(uuid, currentState, checkListItemName, value);
+        try {
+            return LifecycleOperationManager.checkListItemEvent(uuid, currentState, checkListItemName, value);
+        } finally {
+            invalidate(uuid);
+        }
     }
 
     /**
@@ -64,7 +107,11 @@ class APILifeCycleManagerImpl implements APILifecycleManager {
      */
     @Override
     public void removeLifecycle(String uuid) throws LifecycleException {
-        LifecycleOperationManager.removeLifecycle(uuid);
+        try {
+            LifecycleOperationManager.removeLifecycle(uuid);
+        } finally {
+            invalidate(uuid);
+        }
     }
 
     /**
@@ -72,7 +119,8 @@ class APILifeCycleManagerImpl implements APILifecycleManager {
      */
     @Override
     public LifecycleState getCurrentLifecycleState(String uuid) throws LifecycleException {
-        return LifecycleOperationManager.getCurrentLifecycleState(uuid);
+        return lifecycleStateCache.getCurrentState(uuid,
+                () -> LifecycleOperationManager.getCurrentLifecycleState(uuid));
     }
 
     /**
@@ -80,6 +128,17 @@ class APILifeCycleManagerImpl implements APILifecycleManager {
      */
     @Override
     public LifecycleState getLifecycleDataForState(String uuid, String lcState) throws LifecycleException {
+        return lifecycleStateCache.getStateData(uuid, lcState,
+                () -> LifecycleOperationManager.getLifecycleDataForState(uuid, lcState));
+    }
+
+    /**
+     * @see APILifecycleManager#getLatestLifecycleDataForState(String uuid, String lcState)
+     */
+    @Override
+    public LifecycleState getLatestLifecycleDataForState(String uuid, String lcState) throws LifecycleException {
+        // The cached snapshot of the API is dropped too, since it may be older than the data read here
+        lifecycleStateCache.invalidate(uuid);
         return LifecycleOperationManager.getLifecycleDataForState(uuid, lcState);
     }
 
@@ -88,6 +147,25 @@ class APILifeCycleManagerImpl implements APILifecycleManager {
      */
     @Override
     public List<LifecycleHistoryBean> getLifecycleHistory(String uuid) throws LifecycleException {
-        return LifecycleDataProvider.getLifecycleHistory(uuid);
+        return lifecycleStateCache.getHistory(uuid, () -> LifecycleDataProvider.getLifecycleHistory(uuid));
+    }
+
+    /**
+     * Drops the cached data of a lifecycle instance on this node and notifies the other nodes to do the same.
+     */
+    private void invalidate(String uuid) {
+        lifecycleStateCache.invalidate(uuid);
+        if (lifecycleTopic == null || !BrokerUtil.isInitialized()) {
+            return;
+        }
+        LifecycleEvent lifecycleEvent = new LifecycleEvent(APIMgtConstants.GatewayEventTypes.LIFECYCLE_CHANGE);
+        lifecycleEvent.setLifecycleId(uuid);
+        lifecycleEvent.setNodeId(LifecycleChangeListener.NODE_ID);
+        try {
+            BrokerUtil.publishToTopic(lifecycleTopic, lifecycleEvent);
+        } catch (GatewayException e) {
+            // The other nodes keep the data of the API until it expires
+            log.error("Error occurred while notifying the other nodes of the change to lifecycle " + uuid, e);
+        }
     }
 }
@@ -30,6 +30,8 @@ import org.wso2.carbon.apimgt.core.api.APIStore;
 import org.wso2.carbon.apimgt.core.api.Analyzer;
 import org.wso2.carbon.apimgt.core.api.IdentityProvider;
 import org.wso2.carbon.apimgt.core.api.KeyManager;
+import org.wso2.carbon.apimgt.core.configuration.models.CacheConfigurations;
+import org.wso2.carbon.apimgt.core.configuration.models.FunctionDeliveryConfigurations;
 import org.wso2.carbon.apimgt.core.dao.impl.DAOFactory;
 import org.wso2.carbon.apimgt.core.exception.APIManagementException;
 import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
@@ -58,6 +60,7 @@ public class APIManagerFactory {
     private KeyManager keyManager;
     private APIGateway apiGateway;
     private APILifecycleManager apiLifecycleManager;
+    private FunctionDeliveryEngine functionDeliveryEngine;
 
     private static final int MAX_PROVIDERS = 50;
     private static final int MAX_CONSUMERS = 500;
@@ -126,7 +129,8 @@ public class APIManagerFactory {
             // Register all the observers which need to observe 'Publisher' component
             apiPublisher.registerObserver(new EventLogger());
             apiPublisher.registerObserver(new FunctionTrigger(DAOFactory.getFunctionDAO(),
-                    new RestCallUtilImpl()));
+                    getFunctionDeliveryEngine()));
+            apiPublisher.registerObserver(new AnalyticsRollupObserver(DAOFactory.getAnalyticsDAO()));
 
             return apiPublisher;
         } catch (APIMgtDAOException e) {
@@ -136,6 +140,26 @@ public class APIManagerFactory {
 
     }
 
+    /**
+     * Get the engine which delivers events to functions. A single engine is shared by all the publishers and stores
+     * so that the concurrency limits apply across them.
+     *
+     * @return FunctionDeliveryEngine object
+     * @throws APIMgtDAOException if the function DAO could not be created
+     */
+    private synchronized FunctionDeliveryEngine getFunctionDeliveryEngine() throws APIMgtDAOException {
+        if (functionDeliveryEngine == null) {
+            FunctionDeliveryConfigurations deliveryConfigurations = ServiceReferenceHolder.getInstance()
+                    .getAPIMConfiguration().getFunctionDeliveryConfigurations();
+            functionDeliveryEngine = new FunctionDeliveryEngine(DAOFactory.getFunctionDAO(),
+                    new PooledRestCallUtil(new RestCallUtilImpl(deliveryConfigurations.getConnectTimeout(),
+                            deliveryConfigurations.getReadTimeout()), ServiceReferenceHolder.getInstance()
+                            .getAPIMConfiguration().getRestClientConfigurations()), deliveryConfigurations);
+            functionDeliveryEngine.start();
+        }
+        return functionDeliveryEngine;
+    }
+
     private APIMgtAdminServiceImpl newAPIMgtAdminService() throws APIManagementException {
         try {
             return new APIMgtAdminServiceImpl(DAOFactory.getAPISubscriptionDAO(), DAOFactory.getPolicyDAO(),
@@ -162,7 +186,8 @@ public class APIManagerFactory {
             // Register all the observers which need to observe 'Store' component
             userAwareAPIStore.registerObserver(new EventLogger());
             userAwareAPIStore.registerObserver(new FunctionTrigger(DAOFactory.getFunctionDAO(),
-                    new RestCallUtilImpl()));
+                    getFunctionDeliveryEngine()));
+            userAwareAPIStore.registerObserver(new AnalyticsRollupObserver(DAOFactory.getAnalyticsDAO()));
 
             return userAwareAPIStore;
         } catch (APIMgtDAOException e) {
@@ -283,9 +308,16 @@ public class APIManagerFactory {
     public IdentityProvider getIdentityProvider() throws IdentityProviderException {
         if (identityProvider == null) {
             try {
-                identityProvider = (IdentityProvider) Class.forName(ServiceReferenceHolder.getInstance()
-                        .getAPIMConfiguration().getIdentityProviderConfigs().getIdentityProviderImplClass())
-                        .newInstance();
+                IdentityProvider configuredIdentityProvider = (IdentityProvider) Class.forName(
+                        ServiceReferenceHolder.getInstance().getAPIMConfiguration().getIdentityProviderConfigs()
+                                .getIdentityProviderImplClass()).newInstance();
+                CacheConfigurations cacheConfigurations = ServiceReferenceHolder.getInstance().getAPIMConfiguration()
+                        .getCacheConfigurations();
+                if (cacheConfigurations.isIdentityCacheEnabled()) {
+                    identityProvider = new CachingIdentityProvider(configuredIdentityProvider, cacheConfigurations);
+                } else {
+                    identityProvider = configuredIdentityProvider;
+                }
             } catch (InstantiationException | IllegalAccessException | ClassNotFoundException e) {
                 throw new IdentityProviderException("Error occurred while initializing identity provider", e,
                         ExceptionCodes.IDP_INITIALIZATION_FAILED);
@@ -32,11 +32,17 @@ import org.wso2.carbon.apimgt.core.models.policy.APIPolicy;
 import org.wso2.carbon.apimgt.core.models.policy.ApplicationPolicy;
 import org.wso2.carbon.apimgt.core.models.policy.CustomPolicy;
 import org.wso2.carbon.apimgt.core.models.policy.Policy;
+import org.wso2.carbon.apimgt.core.models.policy.PolicyBundle;
 import org.wso2.carbon.apimgt.core.models.policy.SubscriptionPolicy;
+import org.wso2.carbon.apimgt.core.template.APITemplateException;
+import org.wso2.carbon.apimgt.core.template.ExecutionPlanRenderer;
+import org.wso2.carbon.apimgt.core.template.TemplateService;
 import org.wso2.carbon.apimgt.core.workflow.Workflow;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -117,6 +123,7 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
                 policy.setUuid(policyUuid);
             }
             policyDAO.addApiPolicy(policy);
+            updateExecutionPlans(policyUuid, () -> ExecutionPlanRenderer.render(policy));
             PolicyValidationData policyValidationData = new PolicyValidationData(policyUuid, policy.getPolicyName(),
                     false);
             apiGateway.addPolicy(policyValidationData);
@@ -142,6 +149,7 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
                 policy.setUuid(policyUuid);
             }
             policyDAO.addApplicationPolicy(policy);
+            updateExecutionPlans(policyUuid, () -> ExecutionPlanRenderer.render(policy));
             PolicyValidationData policyValidationData = new PolicyValidationData(policyUuid, policy.getPolicyName(),
                     false);
             apiGateway.addPolicy(policyValidationData);
@@ -167,6 +175,7 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
                 policy.setUuid(policyUuid);
             }
             policyDAO.addSubscriptionPolicy(policy);
+            updateExecutionPlans(policyUuid, () -> ExecutionPlanRenderer.render(policy));
             PolicyValidationData policyValidationData = new PolicyValidationData(policyUuid, policy.getPolicyName(),
                     policy.isStopOnQuotaReach());
             apiGateway.addPolicy(policyValidationData);
@@ -183,6 +192,7 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
     public void updateApiPolicy(APIPolicy policy) throws APIManagementException {
         try {
             policyDAO.updateApiPolicy(policy);
+            updateExecutionPlans(policy.getUuid(), () -> ExecutionPlanRenderer.render(policy));
             PolicyValidationData policyValidationData = new PolicyValidationData(policy.getUuid(), policy
                     .getPolicyName(), false);
             apiGateway.updatePolicy(policyValidationData);
@@ -197,6 +207,7 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
     public void updateSubscriptionPolicy(SubscriptionPolicy policy) throws APIManagementException {
         try {
             policyDAO.updateSubscriptionPolicy(policy);
+            updateExecutionPlans(policy.getUuid(), () -> ExecutionPlanRenderer.render(policy));
             PolicyValidationData policyValidationData = new PolicyValidationData(policy.getUuid(), policy
                     .getPolicyName(), policy.isStopOnQuotaReach());
             apiGateway.updatePolicy(policyValidationData);
@@ -211,6 +222,7 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
     public void updateApplicationPolicy(ApplicationPolicy policy) throws APIManagementException {
         try {
             policyDAO.updateApplicationPolicy(policy);
+            updateExecutionPlans(policy.getUuid(), () -> ExecutionPlanRenderer.render(policy));
             PolicyValidationData policyValidationData = new PolicyValidationData(policy.getUuid(), policy
                     .getPolicyName(), false);
             apiGateway.updatePolicy(policyValidationData);
@@ -226,6 +238,7 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
         try {
             Policy policy = policyDAO.getPolicyByLevelAndName(policyLevel, policyName);
             policyDAO.deletePolicy(policyLevel, policyName);
+            PolicyBundleManager.getInstance().remove(policy.getUuid());
             PolicyValidationData policyValidationData = new PolicyValidationData(policy.getUuid(), policy
                     .getPolicyName(), false);
             apiGateway.deletePolicy(policyValidationData);
@@ -241,6 +254,7 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
     public void deletePolicyByUuid(String uuid, PolicyLevel policyLevel) throws APIManagementException {
         try {
             policyDAO.deletePolicyByUuid(policyLevel, uuid);
+            PolicyBundleManager.getInstance().remove(uuid);
             PolicyValidationData policyValidationData = new PolicyValidationData(uuid, "", false);
             apiGateway.deletePolicy(policyValidationData);
         } catch (APIMgtDAOException e) {
@@ -527,6 +541,78 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
         }
     }
 
+    @Override
+    public PolicyBundle getPolicyBundle(long sinceVersion) throws APIManagementException {
+        PolicyBundleManager policyBundleManager = PolicyBundleManager.getInstance();
+        // Policies changed while the bundle is being initialized wait for it, so that no change is missed
+        synchronized (policyBundleManager) {
+            if (!policyBundleManager.isInitialized()) {
+                policyBundleManager.initialize(renderExecutionPlans());
+            }
+            return policyBundleManager.getBundle(sinceVersion);
+        }
+    }
+
+    /**
+     * Renders the execution plans of all the throttle policies in parallel.
+     *
+     * @return execution plans keyed by their names, keyed by the UUID of their policy
+     * @throws APIManagementException if failed to retrieve the policies or to render the execution plans
+     */
+    private Map<String, Map<String, String>> renderExecutionPlans() throws APIManagementException {
+        List<Policy> policies = new ArrayList<>();
+        List<TemplateService.RenderTask<Map<String, String>>> renderTasks = new ArrayList<>();
+        try {
+            for (APIPolicy policy : policyDAO.getApiPolicies()) {
+                policies.add(policy);
+                renderTasks.add(() -> ExecutionPlanRenderer.render(policy));
+            }
+            for (ApplicationPolicy policy : policyDAO.getApplicationPolicies()) {
+                policies.add(policy);
+                renderTasks.add(() -> ExecutionPlanRenderer.render(policy));
+            }
+            for (SubscriptionPolicy policy : policyDAO.getSubscriptionPolicies()) {
+                policies.add(policy);
+                renderTasks.add(() -> ExecutionPlanRenderer.render(policy));
+            }
+            for (CustomPolicy policy : policyDAO.getCustomPolicies()) {
+                policies.add(policy);
+                renderTasks.add(() -> ExecutionPlanRenderer.render(policy));
+            }
+        } catch (APIMgtDAOException e) {
+            String errorMessage = "Couldn't retrieve policies to render execution plans";
+            log.error(errorMessage, e);
+            throw new APIManagementException(errorMessage, e, e.getErrorHandler());
+        }
+        List<Map<String, String>> executionPlans = TemplateService.getInstance().renderAll(renderTasks);
+        Map<String, Map<String, String>> executionPlansOfPolicies = new HashMap<>();
+        for (int i = 0; i < policies.size(); i++) {
+            executionPlansOfPolicies.put(policies.get(i).getUuid(), executionPlans.get(i));
+        }
+        return executionPlansOfPolicies;
+    }
+
+    /**
+     * Updates the execution plans of a policy in the policy bundle, if the bundle has been initialized. If the
+     * execution plans cannot be rendered the bundle is initialized again on the next request, rather than failing the
+     * change of the policy.
+     *
+     * @param policyId   UUID of the policy
+     * @param renderTask task rendering the execution plans of the policy
+     */
+    private void updateExecutionPlans(String policyId, TemplateService.RenderTask<Map<String, String>> renderTask) {
+        PolicyBundleManager policyBundleManager = PolicyBundleManager.getInstance();
+        if (!policyBundleManager.isInitialized()) {
+            return;
+        }
+        try {
+            policyBundleManager.update(policyId, renderTask.render());
+        } catch (APITemplateException e) {
+            log.error("Couldn't render execution plans of policy: " + policyId, e);
+            policyBundleManager.invalidate();
+        }
+    }
+
     @Override
     public String addBlockCondition(BlockConditions blockConditions) throws APIManagementException {
         try {
@@ -604,8 +690,10 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
     @Override
     public String addCustomRule(CustomPolicy customPolicy) throws APIManagementException {
         try {
-            //todo: deploy policy in CEP
-            return policyDAO.addCustomPolicy(customPolicy);
+            String policyUuid = policyDAO.addCustomPolicy(customPolicy);
+            // Traffic managers pick the execution plan up from the policy bundle
+            updateExecutionPlans(policyUuid, () -> ExecutionPlanRenderer.render(customPolicy));
+            return policyUuid;
         } catch (APIMgtDAOException e) {
             String errorMessage = "Couldn't add custom policy with policy name: " + customPolicy.getPolicyName();
             log.error(errorMessage, e);
@@ -617,6 +705,7 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
     public void updateCustomRule(CustomPolicy customPolicy) throws APIManagementException {
         try {
             policyDAO.updateCustomPolicy(customPolicy);
+            updateExecutionPlans(customPolicy.getUuid(), () -> ExecutionPlanRenderer.render(customPolicy));
         } catch (APIMgtDAOException e) {
             String errorMessage = "Couldn't update custom policy with UUID: " + customPolicy.getUuid();
             log.error(errorMessage, e);
@@ -628,6 +717,7 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
     public void deleteCustomRule(String uuid) throws APIManagementException {
         try {
             policyDAO.deleteCustomPolicy(uuid);
+            PolicyBundleManager.getInstance().remove(uuid);
         } catch (APIMgtDAOException e) {
             String errorMessage = "Couldn't delete custom policy with UUID: " + uuid;
             log.error(errorMessage, e);
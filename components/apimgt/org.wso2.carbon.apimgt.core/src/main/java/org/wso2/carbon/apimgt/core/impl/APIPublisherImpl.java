@@ -62,10 +62,12 @@ import org.wso2.carbon.apimgt.core.executors.NotificationExecutor;
 import org.wso2.carbon.apimgt.core.internal.ServiceReferenceHolder;
 import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.APIResource;
+import org.wso2.carbon.apimgt.core.models.ContinuationToken;
 import org.wso2.carbon.apimgt.core.models.CorsConfiguration;
 import org.wso2.carbon.apimgt.core.models.DocumentInfo;
 import org.wso2.carbon.apimgt.core.models.Endpoint;
 import org.wso2.carbon.apimgt.core.models.Event;
+import org.wso2.carbon.apimgt.core.models.KeysetPage;
 import org.wso2.carbon.apimgt.core.models.Label;
 import org.wso2.carbon.apimgt.core.models.LifeCycleEvent;
 import org.wso2.carbon.apimgt.core.models.Provider;
@@ -98,10 +100,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.ProtocolException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -348,10 +352,12 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
                 eventPayload.put(APIMgtConstants.FunctionsConstants.API_CONTEXT, createdAPI.getContext());
                 eventPayload.put(APIMgtConstants.FunctionsConstants.API_LC_STATUS, createdAPI.getLifeCycleStatus());
                 eventPayload.put(APIMgtConstants.FunctionsConstants.API_PERMISSION, createdAPI.getApiPermission());
+                eventPayload.put(APIMgtConstants.FunctionsConstants.CREATED_BY, createdAPI.getCreatedBy());
+                eventPayload.put(APIMgtConstants.FunctionsConstants.CREATED_TIME,
+                        String.valueOf(Timestamp.valueOf(createdAPI.getCreatedTime()).getTime()));
                 // This will notify all the EventObservers(Asynchronous)
-                ObserverNotifier observerNotifier = new ObserverNotifier(Event.API_CREATION, getUsername(),
-                        ZonedDateTime.now(ZoneOffset.UTC), eventPayload, this);
-                ObserverNotifierThreadPool.getInstance().executeTask(observerNotifier);
+                ObserverEventBus.getInstance().publish(Event.API_CREATION, getUsername(),
+                        ZonedDateTime.now(ZoneOffset.UTC), eventPayload, eventObservers.values());
             } else {
                 String message = "Duplicate API already Exist with name/Context " + apiBuilder.getName();
                 log.error(message);
@@ -566,9 +572,8 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
                         eventPayload.put(APIMgtConstants.FunctionsConstants.API_CONTEXT, api.getContext());
                         eventPayload.put(APIMgtConstants.FunctionsConstants.API_LC_STATUS, api.getLifeCycleStatus());
                         // This will notify all the EventObservers(Asynchronous)
-                        ObserverNotifier observerNotifier = new ObserverNotifier(Event.API_UPDATE, getUsername(),
-                                ZonedDateTime.now(ZoneOffset.UTC), eventPayload, this);
-                        ObserverNotifierThreadPool.getInstance().executeTask(observerNotifier);
+                        ObserverEventBus.getInstance().publish(Event.API_UPDATE, getUsername(),
+                                ZonedDateTime.now(ZoneOffset.UTC), eventPayload, eventObservers.values());
                     }
                 } else {
                     APIUtils.verifyValidityOfApiUpdate(apiBuilder, originalAPI);
@@ -831,7 +836,7 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
                 API.APIBuilder apiBuilder = new API.APIBuilder(api);
                 apiBuilder.lastUpdatedTime(LocalDateTime.now());
                 apiBuilder.updatedBy(getUsername());
-                LifecycleState currentState = getApiLifecycleManager().getLifecycleDataForState(apiBuilder
+                LifecycleState currentState = getApiLifecycleManager().getLatestLifecycleDataForState(apiBuilder
                         .getLifecycleInstanceId(), apiBuilder.getLifeCycleStatus());
                 apiBuilder.lifecycleState(currentState);
                 for (Map.Entry<String, Boolean> checkListItem : checkListItemMap.entrySet()) {
@@ -954,7 +959,8 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
         }
 
         try {
-            API api = getApiDAO().getAPI(apiId);
+            // The rest of the API is copied within the database, hence only its summary is read
+            API api = getApiDAO().getAPISummary(apiId);
 
             if (api.getVersion().equals(newVersion)) {
                 String errMsg = "New API version " + newVersion + " cannot be same as the previous version for " +
@@ -966,13 +972,28 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
             apiBuilder.id(UUID.randomUUID().toString());
             apiBuilder.version(newVersion);
             apiBuilder.context(api.getContext().replace(api.getVersion(), newVersion));
-            lifecycleState = getApiLifecycleManager().addLifecycle(APIMgtConstants.API_LIFECYCLE, getUsername());
-            apiBuilder.associateLifecycle(lifecycleState);
+            apiBuilder.createdBy(getUsername());
             apiBuilder.copiedFromApiId(api.getId());
-            if (StringUtils.isEmpty(apiBuilder.getApiDefinition())) {
+            String apiDefinition = getApiDAO().getApiSwaggerDefinition(apiId);
+            if (StringUtils.isEmpty(apiDefinition)) {
+                Map<String, UriTemplate> uriTemplates = new HashMap<>();
+                for (UriTemplate uriTemplate : getApiDAO().getResourcesOfApi(api.getContext(), api.getVersion())) {
+                    uriTemplates.put(uriTemplate.getTemplateId(), uriTemplate);
+                }
+                apiBuilder.uriTemplates(uriTemplates);
                 apiBuilder.apiDefinition(apiDefinitionFromSwagger20.generateSwaggerFromResources(apiBuilder));
+            } else {
+                apiBuilder.apiDefinition(apiDefinitionFromSwagger20.generateSwaggerForNewVersion(apiDefinition,
+                        newVersion));
             }
-            getApiDAO().addAPI(apiBuilder.build());
+            GatewaySourceGenerator gatewaySourceGenerator = getGatewaySourceGenerator();
+            gatewaySourceGenerator.setApiConfigContext(new APIConfigContext(apiBuilder.build(),
+                    config.getGatewayPackageName()));
+            apiBuilder.gatewayConfig(gatewaySourceGenerator.getGatewayConfigFromSwagger(
+                    getApiDAO().getGatewayConfigOfAPI(apiId), apiBuilder.getApiDefinition()));
+            lifecycleState = getApiLifecycleManager().addLifecycle(APIMgtConstants.API_LIFECYCLE, getUsername());
+            apiBuilder.associateLifecycle(lifecycleState);
+            getApiDAO().cloneAPI(apiId, apiBuilder.build());
             newVersionedId = apiBuilder.getId();
             sendEmailNotification(apiId, apiBuilder.getName(), newVersion);
         } catch (APIMgtDAOException e) {
@@ -983,6 +1004,10 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
             String errorMsg = "Couldn't Associate  new API Lifecycle from " + apiId;
             log.error(errorMsg, e);
             throw new APIManagementException(errorMsg, e, ExceptionCodes.APIMGT_LIFECYCLE_EXCEPTION);
+        } catch (APITemplateException e) {
+            String errorMsg = "Error generating gateway configuration of new API version from " + apiId;
+            log.error(errorMsg, e);
+            throw new APIManagementException(errorMsg, ExceptionCodes.TEMPLATE_EXCEPTION);
         }
         return newVersionedId;
     }
@@ -1242,10 +1267,14 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
                 eventPayload.put(APIMgtConstants.FunctionsConstants.API_VERSION, api.getVersion());
                 eventPayload.put(APIMgtConstants.FunctionsConstants.API_PROVIDER, api.getProvider());
                 eventPayload.put(APIMgtConstants.FunctionsConstants.API_DESCRIPTION, api.getDescription());
+                eventPayload.put(APIMgtConstants.FunctionsConstants.CREATED_BY, api.getCreatedBy());
+                if (api.getCreatedTime() != null) {
+                    eventPayload.put(APIMgtConstants.FunctionsConstants.CREATED_TIME,
+                            String.valueOf(Timestamp.valueOf(api.getCreatedTime()).getTime()));
+                }
                 // This will notify all the EventObservers(Asynchronous)
-                ObserverNotifier observerNotifier = new ObserverNotifier(Event.API_DELETION, getUsername(),
-                        ZonedDateTime.now(ZoneOffset.UTC), eventPayload, this);
-                ObserverNotifierThreadPool.getInstance().executeTask(observerNotifier);
+                ObserverEventBus.getInstance().publish(Event.API_DELETION, getUsername(),
+                        ZonedDateTime.now(ZoneOffset.UTC), eventPayload, eventObservers.values());
             } else {
                 throw new ApiDeleteFailureException("API with " + identifier + " already have subscriptions");
             }
@@ -1325,6 +1354,32 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
         }
     }
 
+    /**
+     * @see APIPublisher#getAPIs(int, String)
+     */
+    @Override
+    public KeysetPage<API> getAPIs(int limit, String continuationToken) throws APIManagementException {
+        ContinuationToken after = APIUtils.decodeContinuationToken(continuationToken);
+        String user = getUsername();
+        Set<String> roles = new HashSet<>();
+        try {
+            //TODO: Need to validate users roles against results returned
+            if (!"admin".equals(user)) {
+                String userId = getIdentityProvider().getIdOfUser(user);
+                roles = new HashSet<>(getIdentityProvider().getRoleIdsOfUser(userId));
+            }
+            return getApiDAO().getAPIs(roles, user, after, limit);
+        } catch (APIMgtDAOException e) {
+            String errorMsg = "Error occurred while retrieving page of APIs";
+            log.error(errorMsg, e);
+            throw new APIManagementException(errorMsg, e, e.getErrorHandler());
+        } catch (IdentityProviderException e) {
+            String errorMsg = "Error occurred while calling SCIM endpoint to retrieve user " + user + "'s information";
+            log.error(errorMsg, e);
+            throw new APIManagementException(errorMsg, e, e.getErrorHandler());
+        }
+    }
+
     /**
      * Update the subscription status
      *
@@ -1361,6 +1416,54 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
     public void updateSubscriptionPolicy(String subId, String newPolicy) throws APIManagementException {
         try {
             getApiSubscriptionDAO().updateSubscriptionPolicy(subId, newPolicy);
+            List<SubscriptionValidationData> subscriptionValidationDataList = getApiSubscriptionDAO()
+                    .getAPISubscriptionsForValidation(Collections.singletonList(subId));
+            if (!subscriptionValidationDataList.isEmpty()) {
+                getApiGateway().updateAPISubscriptionStatus(subscriptionValidationDataList);
+            }
+        } catch (APIMgtDAOException e) {
+            throw new APIManagementException(e);
+        }
+    }
+
+    /**
+     * Update the status of a list of subscriptions
+     *
+     * @param subIds    Subscription IDs
+     * @param subStatus Subscription Status
+     * @throws APIManagementException If failed to update subscription statuses
+     */
+    @Override
+    public void updateSubscriptionStatuses(List<String> subIds, APIMgtConstants.SubscriptionStatus subStatus) throws
+            APIManagementException {
+        try {
+            getApiSubscriptionDAO().updateSubscriptionStatuses(subIds, subStatus);
+            List<SubscriptionValidationData> subscriptionValidationDataList = getApiSubscriptionDAO()
+                    .getAPISubscriptionsForValidation(subIds);
+            if (!subscriptionValidationDataList.isEmpty()) {
+                getApiGateway().updateAPISubscriptionStatus(subscriptionValidationDataList);
+            }
+        } catch (APIMgtDAOException e) {
+            throw new APIManagementException(e);
+        }
+    }
+
+    /**
+     * Update the policy of a list of subscriptions
+     *
+     * @param subIds    Subscription IDs
+     * @param newPolicy New Subscription Policy
+     * @throws APIManagementException If failed to update subscription policies
+     */
+    @Override
+    public void updateSubscriptionPolicies(List<String> subIds, String newPolicy) throws APIManagementException {
+        try {
+            getApiSubscriptionDAO().updateSubscriptionPolicies(subIds, newPolicy);
+            List<SubscriptionValidationData> subscriptionValidationDataList = getApiSubscriptionDAO()
+                    .getAPISubscriptionsForValidation(subIds);
+            if (!subscriptionValidationDataList.isEmpty()) {
+                getApiGateway().updateAPISubscriptionStatus(subscriptionValidationDataList);
+            }
         } catch (APIMgtDAOException e) {
             throw new APIManagementException(e);
         }
@@ -20,6 +20,7 @@
 
 package org.wso2.carbon.apimgt.core.impl;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.json.simple.JSONArray;
@@ -68,18 +69,22 @@ import org.wso2.carbon.apimgt.core.models.Application;
 import org.wso2.carbon.apimgt.core.models.ApplicationToken;
 import org.wso2.carbon.apimgt.core.models.Comment;
 import org.wso2.carbon.apimgt.core.models.CompositeAPI;
+import org.wso2.carbon.apimgt.core.models.ContinuationToken;
 import org.wso2.carbon.apimgt.core.models.Event;
+import org.wso2.carbon.apimgt.core.models.KeysetPage;
 import org.wso2.carbon.apimgt.core.models.Label;
 import org.wso2.carbon.apimgt.core.models.OAuthAppRequest;
 import org.wso2.carbon.apimgt.core.models.OAuthApplicationInfo;
 import org.wso2.carbon.apimgt.core.models.Rating;
 import org.wso2.carbon.apimgt.core.models.Subscription;
+import org.wso2.carbon.apimgt.core.models.SubscriptionRequest;
 import org.wso2.carbon.apimgt.core.models.SubscriptionResponse;
 import org.wso2.carbon.apimgt.core.models.SubscriptionValidationData;
 import org.wso2.carbon.apimgt.core.models.Tag;
 import org.wso2.carbon.apimgt.core.models.UriTemplate;
 import org.wso2.carbon.apimgt.core.models.User;
 import org.wso2.carbon.apimgt.core.models.WSDLArchiveInfo;
+import org.wso2.carbon.apimgt.core.models.WSDLInfo;
 import org.wso2.carbon.apimgt.core.models.WorkflowStatus;
 import org.wso2.carbon.apimgt.core.models.policy.Policy;
 import org.wso2.carbon.apimgt.core.template.APIConfigContext;
@@ -103,22 +108,33 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.ProtocolException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
 /**
  * Implementation of API Store operations.
@@ -323,6 +339,8 @@ public class APIStoreImpl extends AbstractAPIManager implements APIStore, APIMOb
             log.debug("Application keys are successfully saved in the database for application: "
                     + application.getName() + " Client Id: " + oauthAppInfo.getClientId());
         }
+        // Lets the other nodes read the new key into their subscription validation data
+        getApiGateway().updateApplication(application);
 
         List<SubscriptionValidationData> subscriptionValidationData = getApiSubscriptionDAO()
                 .getAPISubscriptionsOfAppForValidation(applicationId, keyType);
@@ -364,6 +382,7 @@ public class APIStoreImpl extends AbstractAPIManager implements APIStore, APIMOb
         }
 
         log.debug("Application keys are successfully saved in the database");
+        getApiGateway().updateApplication(getApplicationByUuid(applicationId));
 
         List<SubscriptionValidationData> subscriptionValidationData = getApiSubscriptionDAO()
                 .getAPISubscriptionsOfAppForValidation(applicationId, keyType);
@@ -560,56 +579,17 @@ public class APIStoreImpl extends AbstractAPIManager implements APIStore, APIMOb
         try {
             API api = getAPIbyUUID(apiId);
 
-            Application application = getApplicationByUuid(applicationId);
-
-            if (application == null) {
-                String errorMsg = "Cannot find an application for given applicationId - " + applicationId;
-                log.error(errorMsg);
-                throw new APIManagementException(errorMsg, ExceptionCodes.APPLICATION_NOT_FOUND);
-            }
-            Policy policy = getPolicyDAO().getSimplifiedPolicyByLevelAndName(APIMgtAdminService.PolicyLevel
-                    .subscription, tier);
-            if (policy == null) {
-                String errorMsg = "Cannot find an subscription policy for given policy name - " + tier;
-                log.error(errorMsg);
-                throw new APIManagementException(errorMsg, ExceptionCodes.POLICY_NOT_FOUND);
-            }
-            getApiSubscriptionDAO().addAPISubscription(subscriptionId, apiId, applicationId, policy.getUuid(),
-                    APIMgtConstants.SubscriptionStatus.ON_HOLD);
-
-            WorkflowExecutor addSubscriptionWFExecutor = WorkflowExecutorFactory.getInstance()
-                    .getWorkflowExecutor(WorkflowConstants.WF_TYPE_AM_SUBSCRIPTION_CREATION);
+            Application application = getApplicationForSubscription(applicationId);
+            Policy policy = getSubscriptionPolicy(tier);
             //Instead of quering the db, we create same subscription object
             Subscription subscription = new Subscription(subscriptionId, application, api, policy);
             subscription.setStatus(APIMgtConstants.SubscriptionStatus.ON_HOLD);
+            subscription.setCreatedUser(getUsername());
+            subscription.setCreatedTime(LocalDateTime.now());
+            getApiSubscriptionDAO().addAPISubscriptions(Collections.singletonList(subscription));
 
-            SubscriptionCreationWorkflow workflow = new SubscriptionCreationWorkflow(getApiSubscriptionDAO(),
-                    getWorkflowDAO(), getApiGateway());
-
-            workflow.setCreatedTime(LocalDateTime.now());
-            workflow.setExternalWorkflowReference(UUID.randomUUID().toString());
-            workflow.setWorkflowReference(subscriptionId);
-            workflow.setWorkflowType(WorkflowConstants.WF_TYPE_AM_SUBSCRIPTION_CREATION);
-            workflow.setSubscription(subscription);
-            workflow.setSubscriber(getUsername());
-
-            String workflowDescription = "API [ " + subscription.getApi().getName() + " - "
-                    + subscription.getApi().getVersion() + " ] subscription creation request from subscriber - "
-                    + getUsername() + "  for the application - " + subscription.getApplication().getName() + "";
-            workflow.setWorkflowDescription(workflowDescription);
-
-            WorkflowResponse response = addSubscriptionWFExecutor.execute(workflow);
-            workflow.setStatus(response.getWorkflowStatus());
-
-            if (WorkflowStatus.CREATED != response.getWorkflowStatus()) {
-                completeWorkflow(addSubscriptionWFExecutor, workflow);
-            } else {
-                //only add entry to workflow table if it is a pending task
-                addWorkflowEntries(workflow);
-            }
-
+            WorkflowResponse response = executeSubscriptionCreationWorkflow(subscription, getApiGateway());
             subScriptionResponse = new SubscriptionResponse(subscriptionId, response);
-
         } catch (APIMgtDAOException e) {
             String errorMsg = "Error occurred while adding api subscription for api - " + apiId;
             log.error(errorMsg, e);
@@ -619,64 +599,281 @@ public class APIStoreImpl extends AbstractAPIManager implements APIStore, APIMOb
         return subScriptionResponse;
     }
 
+    /**
+     * @see APIStore#addApiSubscriptions(List)
+     */
+    @Override
+    public List<SubscriptionResponse> addApiSubscriptions(List<SubscriptionRequest> subscriptionRequests)
+            throws APIManagementException {
+        List<SubscriptionResponse> subscriptionResponses = new ArrayList<>();
+        try {
+            // Applications, policies and APIs are read once each, however many of the subscriptions refer to them
+            Map<String, Application> applications = new HashMap<>();
+            Map<String, Policy> policies = new HashMap<>();
+            Map<String, API> apis = new HashMap<>();
+            List<Subscription> subscriptions = new ArrayList<>();
+            LocalDateTime createdTime = LocalDateTime.now();
+            for (SubscriptionRequest subscriptionRequest : subscriptionRequests) {
+                Application application = applications.get(subscriptionRequest.getApplicationId());
+                if (application == null) {
+                    application = getApplicationForSubscription(subscriptionRequest.getApplicationId());
+                    applications.put(subscriptionRequest.getApplicationId(), application);
+                }
+                Policy policy = policies.get(subscriptionRequest.getTier());
+                if (policy == null) {
+                    policy = getSubscriptionPolicy(subscriptionRequest.getTier());
+                    policies.put(subscriptionRequest.getTier(), policy);
+                }
+                API api = apis.get(subscriptionRequest.getApiId());
+                if (api == null) {
+                    api = getAPIbyUUID(subscriptionRequest.getApiId());
+                    apis.put(subscriptionRequest.getApiId(), api);
+                }
+                Subscription subscription = new Subscription(UUID.randomUUID().toString(), application, api, policy);
+                subscription.setStatus(APIMgtConstants.SubscriptionStatus.ON_HOLD);
+                subscription.setCreatedUser(getUsername());
+                subscription.setCreatedTime(createdTime);
+                subscriptions.add(subscription);
+            }
+            getApiSubscriptionDAO().addAPISubscriptions(subscriptions);
+
+            CoalescingAPIGateway apiGateway = new CoalescingAPIGateway(getApiGateway());
+            int completed = 0;
+            try {
+                for (Subscription subscription : subscriptions) {
+                    WorkflowResponse response = executeSubscriptionCreationWorkflow(subscription, apiGateway);
+                    subscriptionResponses.add(new SubscriptionResponse(subscription.getId(), response));
+                    completed++;
+                }
+            } catch (APIManagementException | RuntimeException e) {
+                flushAfterFailure(apiGateway);
+                removeSubscriptionsWithoutWorkflow(subscriptions.subList(completed + 1, subscriptions.size()));
+                throw e;
+            }
+            apiGateway.flush();
+        } catch (APIMgtDAOException e) {
+            String errorMsg = "Error occurred while adding api subscriptions - " + subscriptionRequests;
+            log.error(errorMsg, e);
+            throw new APIManagementException(errorMsg, e, e.getErrorHandler());
+        }
+        return subscriptionResponses;
+    }
+
     /**
      * @see APIStore#deleteAPISubscription(String)
      */
     @Override
     public WorkflowResponse deleteAPISubscription(String subscriptionId) throws APIManagementException {
         try {
+            return executeSubscriptionDeletionWorkflow(getSubscriptionForDeletion(subscriptionId), getApiGateway());
+        } catch (APIMgtDAOException e) {
+            String errorMsg = "Error occurred while deleting api subscription - " + subscriptionId;
+            log.error(errorMsg, e);
+            throw new APIManagementException(errorMsg, e, e.getErrorHandler());
+        }
+    }
+
+    /**
+     * @see APIStore#deleteAPISubscriptions(List)
+     */
+    @Override
+    public List<WorkflowResponse> deleteAPISubscriptions(List<String> subscriptionIds)
+            throws APIManagementException {
+        List<WorkflowResponse> workflowResponses = new ArrayList<>();
+        try {
+            List<Subscription> subscriptions = new ArrayList<>();
+            for (String subscriptionId : subscriptionIds) {
+                subscriptions.add(getSubscriptionForDeletion(subscriptionId));
+            }
+            CoalescingAPIGateway apiGateway = new CoalescingAPIGateway(getApiGateway());
+            try {
+                for (Subscription subscription : subscriptions) {
+                    workflowResponses.add(executeSubscriptionDeletionWorkflow(subscription, apiGateway));
+                }
+            } catch (APIManagementException | RuntimeException e) {
+                flushAfterFailure(apiGateway);
+                throw e;
+            }
+            apiGateway.flush();
+        } catch (APIMgtDAOException e) {
+            String errorMsg = "Error occurred while deleting api subscriptions - " + subscriptionIds;
+            log.error(errorMsg, e);
+            throw new APIManagementException(errorMsg, e, e.getErrorHandler());
+        }
+        return workflowResponses;
+    }
 
-            WorkflowExecutor removeSubscriptionWFExecutor = WorkflowExecutorFactory.getInstance()
-                    .getWorkflowExecutor(WorkflowConstants.WF_TYPE_AM_SUBSCRIPTION_DELETION);
+    /**
+     * Publishes the subscription changes collected before a workflow failed, since those subscriptions were already
+     * completed. A failure to publish them is only logged, so that the failure of the workflow is reported instead.
+     */
+    private void flushAfterFailure(CoalescingAPIGateway apiGateway) {
+        try {
+            apiGateway.flush();
+        } catch (GatewayException e) {
+            log.error("Error occurred while publishing the subscription changes completed before the failure", e);
+        }
+    }
 
-            // check for pending subscription creation
-            if (subscriptionId == null) {
-                String errorMsg = "Subscription Id is not provided";
-                log.error(errorMsg);
-                throw new APIManagementException(errorMsg, ExceptionCodes.PARAMETER_NOT_PROVIDED);
+    /**
+     * Removes the subscriptions added together with one whose workflow failed, whose own workflows were never run,
+     * so that they are not left on hold without a workflow to complete them. A failure to remove them is only logged,
+     * so that the failure of the workflow is reported instead.
+     */
+    private void removeSubscriptionsWithoutWorkflow(List<Subscription> subscriptions) {
+        for (Subscription subscription : subscriptions) {
+            try {
+                getApiSubscriptionDAO().deleteAPISubscription(subscription.getId());
+            } catch (APIMgtDAOException e) {
+                log.error("Error occurred while removing subscription " + subscription.getId() + " whose workflow "
+                        + "was not run", e);
             }
+        }
+    }
 
-            Subscription subscription = getApiSubscriptionDAO().getAPISubscription(subscriptionId);
-            if (subscription == null) {
-                String errorMsg = "Subscription not found for the id - " + subscriptionId;
-                log.error(errorMsg);
-                throw new APIManagementException(errorMsg, ExceptionCodes.SUBSCRIPTION_NOT_FOUND);
-            } else {
-                //remove pending tasks for subscription creation first
-                cleanupPendingTaskForSubscriptionDeletion(subscription);
+    private Application getApplicationForSubscription(String applicationId) throws APIManagementException {
+        Application application = getApplicationByUuid(applicationId);
+        if (application == null) {
+            String errorMsg = "Cannot find an application for given applicationId - " + applicationId;
+            log.error(errorMsg);
+            throw new APIManagementException(errorMsg, ExceptionCodes.APPLICATION_NOT_FOUND);
+        }
+        return application;
+    }
 
-                SubscriptionDeletionWorkflow workflow = new SubscriptionDeletionWorkflow(getApiSubscriptionDAO(),
-                        getWorkflowDAO(), getApiGateway());
-                workflow.setWorkflowReference(subscriptionId);
-                workflow.setSubscription(subscription);
-                workflow.setWorkflowType(WorkflowConstants.WF_TYPE_AM_SUBSCRIPTION_DELETION);
-                workflow.setStatus(WorkflowStatus.CREATED);
-                workflow.setCreatedTime(LocalDateTime.now());
-                workflow.setExternalWorkflowReference(UUID.randomUUID().toString());
-                workflow.setSubscriber(getUsername());
-                
-                String workflowDescription = "API [ " + subscription.getApi().getName() + " - "
-                        + subscription.getApi().getVersion() + " ] subscription deletion request from subscriber - "
-                        + getUsername() + "  for the application - " + subscription.getApplication().getName() + "";
-                workflow.setWorkflowDescription(workflowDescription);
+    private Policy getSubscriptionPolicy(String tier) throws APIManagementException {
+        Policy policy = getPolicyDAO().getSimplifiedPolicyByLevelAndName(APIMgtAdminService.PolicyLevel
+                .subscription, tier);
+        if (policy == null) {
+            String errorMsg = "Cannot find an subscription policy for given policy name - " + tier;
+            log.error(errorMsg);
+            throw new APIManagementException(errorMsg, ExceptionCodes.POLICY_NOT_FOUND);
+        }
+        return policy;
+    }
 
-                WorkflowResponse response = removeSubscriptionWFExecutor.execute(workflow);
-                workflow.setStatus(response.getWorkflowStatus());
+    private WorkflowResponse executeSubscriptionCreationWorkflow(Subscription subscription, APIGateway apiGateway)
+            throws APIManagementException {
+        WorkflowExecutor addSubscriptionWFExecutor = WorkflowExecutorFactory.getInstance()
+                .getWorkflowExecutor(WorkflowConstants.WF_TYPE_AM_SUBSCRIPTION_CREATION);
 
+        SubscriptionCreationWorkflow workflow = new SubscriptionCreationWorkflow(getApiSubscriptionDAO(),
+                getWorkflowDAO(), apiGateway);
 
-                if (WorkflowStatus.CREATED != response.getWorkflowStatus()) {
-                    completeWorkflow(removeSubscriptionWFExecutor, workflow);
-                } else {
-                    //add entry to workflow table if it is only in pending state
-                    //haven't changed the subscription's state to allow to use it till approval
-                    addWorkflowEntries(workflow);
-                }
-                return response;
-            }
-        } catch (APIMgtDAOException e) {
-            String errorMsg = "Error occurred while deleting api subscription - " + subscriptionId;
-            log.error(errorMsg, e);
-            throw new APIManagementException(errorMsg, e, e.getErrorHandler());
+        workflow.setCreatedTime(LocalDateTime.now());
+        workflow.setExternalWorkflowReference(UUID.randomUUID().toString());
+        workflow.setWorkflowReference(subscription.getId());
+        workflow.setWorkflowType(WorkflowConstants.WF_TYPE_AM_SUBSCRIPTION_CREATION);
+        workflow.setSubscription(subscription);
+        workflow.setSubscriber(getUsername());
+
+        String workflowDescription = "API [ " + subscription.getApi().getName() + " - "
+                + subscription.getApi().getVersion() + " ] subscription creation request from subscriber - "
+                + getUsername() + "  for the application - " + subscription.getApplication().getName() + "";
+        workflow.setWorkflowDescription(workflowDescription);
+
+        WorkflowResponse response = addSubscriptionWFExecutor.execute(workflow);
+        workflow.setStatus(response.getWorkflowStatus());
+
+        if (WorkflowStatus.CREATED != response.getWorkflowStatus()) {
+            completeWorkflow(addSubscriptionWFExecutor, workflow);
+        } else {
+            //only add entry to workflow table if it is a pending task
+            addWorkflowEntries(workflow);
+        }
+
+        // 'API_M Functions' related code
+        //Create a payload with event specific details
+        Map<String, String> eventPayload = new HashMap<>();
+        eventPayload.put(APIMgtConstants.FunctionsConstants.SUBSCRIPTION_ID, subscription.getId());
+        eventPayload.put(APIMgtConstants.FunctionsConstants.API_ID, subscription.getApi().getId());
+        eventPayload.put(APIMgtConstants.FunctionsConstants.APPLICATION_ID, subscription.getApplication().getId());
+        putCreatedInformation(eventPayload, subscription);
+        // This will notify all the EventObservers(Asynchronous)
+        ObserverEventBus.getInstance().publish(Event.SUBSCRIPTION_CREATION, getUsername(),
+                ZonedDateTime.now(ZoneOffset.UTC), eventPayload, eventObservers.values());
+        return response;
+    }
+
+    private Subscription getSubscriptionForDeletion(String subscriptionId) throws APIManagementException {
+        // check for pending subscription creation
+        if (subscriptionId == null) {
+            String errorMsg = "Subscription Id is not provided";
+            log.error(errorMsg);
+            throw new APIManagementException(errorMsg, ExceptionCodes.PARAMETER_NOT_PROVIDED);
+        }
+
+        Subscription subscription = getApiSubscriptionDAO().getAPISubscription(subscriptionId);
+        if (subscription == null) {
+            String errorMsg = "Subscription not found for the id - " + subscriptionId;
+            log.error(errorMsg);
+            throw new APIManagementException(errorMsg, ExceptionCodes.SUBSCRIPTION_NOT_FOUND);
+        }
+        return subscription;
+    }
+
+    private WorkflowResponse executeSubscriptionDeletionWorkflow(Subscription subscription, APIGateway apiGateway)
+            throws APIManagementException {
+        WorkflowExecutor removeSubscriptionWFExecutor = WorkflowExecutorFactory.getInstance()
+                .getWorkflowExecutor(WorkflowConstants.WF_TYPE_AM_SUBSCRIPTION_DELETION);
+
+        //remove pending tasks for subscription creation first
+        cleanupPendingTaskForSubscriptionDeletion(subscription);
+
+        SubscriptionDeletionWorkflow workflow = new SubscriptionDeletionWorkflow(getApiSubscriptionDAO(),
+                getWorkflowDAO(), apiGateway);
+        workflow.setWorkflowReference(subscription.getId());
+        workflow.setSubscription(subscription);
+        workflow.setWorkflowType(WorkflowConstants.WF_TYPE_AM_SUBSCRIPTION_DELETION);
+        workflow.setStatus(WorkflowStatus.CREATED);
+        workflow.setCreatedTime(LocalDateTime.now());
+        workflow.setExternalWorkflowReference(UUID.randomUUID().toString());
+        workflow.setSubscriber(getUsername());
+
+        String workflowDescription = "API [ " + subscription.getApi().getName() + " - "
+                + subscription.getApi().getVersion() + " ] subscription deletion request from subscriber - "
+                + getUsername() + "  for the application - " + subscription.getApplication().getName() + "";
+        workflow.setWorkflowDescription(workflowDescription);
+
+        WorkflowResponse response = removeSubscriptionWFExecutor.execute(workflow);
+        workflow.setStatus(response.getWorkflowStatus());
+
+        if (WorkflowStatus.CREATED != response.getWorkflowStatus()) {
+            completeWorkflow(removeSubscriptionWFExecutor, workflow);
+
+            // 'API_M Functions' related code
+            //Create a payload with event specific details
+            Map<String, String> eventPayload = new HashMap<>();
+            eventPayload.put(APIMgtConstants.FunctionsConstants.SUBSCRIPTION_ID, subscription.getId());
+            eventPayload.put(APIMgtConstants.FunctionsConstants.API_ID, subscription.getApi().getId());
+            eventPayload.put(APIMgtConstants.FunctionsConstants.APPLICATION_ID,
+                    subscription.getApplication().getId());
+            putCreatedInformation(eventPayload, subscription);
+            // This will notify all the EventObservers(Asynchronous)
+            ObserverEventBus.getInstance().publish(Event.SUBSCRIPTION_DELETION, getUsername(),
+                    ZonedDateTime.now(ZoneOffset.UTC), eventPayload, eventObservers.values());
+        } else {
+            //add entry to workflow table if it is only in pending state
+            //haven't changed the subscription's state to allow to use it till approval
+            addWorkflowEntries(workflow);
+        }
+        return response;
+    }
+
+    /**
+     * Adds the creator and creation time of a subscription to an event payload, so that observers can find the
+     * analytics rollup bucket it was counted in.
+     *
+     * @param eventPayload payload of the event
+     * @param subscription subscription the event is about
+     */
+    private static void putCreatedInformation(Map<String, String> eventPayload, Subscription subscription) {
+        if (subscription.getCreatedUser() != null) {
+            eventPayload.put(APIMgtConstants.FunctionsConstants.CREATED_BY, subscription.getCreatedUser());
+        }
+        if (subscription.getCreatedTime() != null) {
+            eventPayload.put(APIMgtConstants.FunctionsConstants.CREATED_TIME,
+                    String.valueOf(Timestamp.valueOf(subscription.getCreatedTime()).getTime()));
         }
     }
 
@@ -1330,15 +1527,22 @@ public class APIStoreImpl extends AbstractAPIManager implements APIStore, APIMOb
                     ExceptionCodes.LABEL_NOT_FOUND_IN_API);
         }
 
-        String wsdl = getApiDAO().getWSDL(apiId);
         Label label = getLabelDAO().getLabelByName(labelName);
+        String cacheKey = WSDLCache.getCacheKey(api, labelName, label, getApiDAO().getLastUpdatedTimeOfWSDL(apiId));
+        String cachedWSDL = WSDLCache.getInstance().getWSDL(cacheKey);
+        if (cachedWSDL != null) {
+            return cachedWSDL;
+        }
 
+        String wsdl = getApiDAO().getWSDL(apiId);
         if (!StringUtils.isEmpty(wsdl)) {
             WSDLProcessor processor;
             try {
                 processor = WSDLProcessFactory.getInstance()
                         .getWSDLProcessor(wsdl.getBytes(APIMgtConstants.ENCODING_UTF_8));
-                return new String(processor.getUpdatedWSDL(api, label), APIMgtConstants.ENCODING_UTF_8);
+                String updatedWSDL = new String(processor.getUpdatedWSDL(api, label), APIMgtConstants.ENCODING_UTF_8);
+                WSDLCache.getInstance().putWSDL(cacheKey, updatedWSDL);
+                return updatedWSDL;
             } catch (UnsupportedEncodingException e) {
                 throw new APIMgtWSDLException("WSDL content is not in utf-8 encoding", e,
                         ExceptionCodes.CANNOT_PROCESS_WSDL_CONTENT);
@@ -1361,35 +1565,139 @@ public class APIStoreImpl extends AbstractAPIManager implements APIStore, APIMOb
                     ExceptionCodes.LABEL_NOT_FOUND_IN_API);
         }
 
+        Label label = getLabelDAO().getLabelByName(labelName);
+        String cacheKey = WSDLCache.getCacheKey(api, labelName, label, getApiDAO().getLastUpdatedTimeOfWSDL(apiId));
+        WSDLArchiveInfo cachedArchiveInfo = WSDLCache.getInstance().getWSDLArchive(cacheKey);
+        if (cachedArchiveInfo != null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Serving WSDL archive of API " + apiId + " for label " + labelName + " from cache");
+            }
+            return cachedArchiveInfo;
+        }
+
+        String wsdlArchiveProcessedFileName =
+                api.getProvider() + "-" + api.getName() + "-" + api.getVersion() + "-" + labelName + "-wsdl.zip";
+        try {
+            return WSDLCache.getInstance().putWSDLArchive(cacheKey, wsdlArchiveProcessedFileName,
+                    outputStream -> updateWSDLArchive(apiId, outputStream, api, label));
+        } catch (APIMgtWSDLException e) {
+            //Archives with WSDLs that cannot be processed individually, such as WSDL 2.0 archives with includes,
+            //are rewritten after extracting the archive so that relative references can be resolved.
+            if (log.isDebugEnabled()) {
+                log.debug("Could not update WSDL archive of API " + apiId + " as a stream. Extracting archive.", e);
+            }
+            return WSDLCache.getInstance().putWSDLArchive(cacheKey, wsdlArchiveProcessedFileName,
+                    outputStream -> updateExtractedWSDLArchive(apiId, outputStream, api, label));
+        }
+    }
+
+    /**
+     * Updates the endpoints of all the WSDLs in an archive while streaming the archive. WSDL entries are updated
+     * based on the provided API (context) and Label (host) and other entries are copied as they are.
+     *
+     * @param apiId        UUID of the API
+     * @param outputStream stream to write the updated WSDL archive to
+     * @param api          API of the WSDL archive
+     * @param label        label used to update the WSDL endpoints
+     * @return information of the WSDLs in the archive
+     * @throws IOException         if an error occurs while reading or writing the archive
+     * @throws APIMgtWSDLException if a WSDL in the archive cannot be processed
+     */
+    private WSDLInfo updateWSDLArchive(String apiId, OutputStream outputStream, API api, Label label)
+            throws IOException, APIMgtWSDLException {
+        WSDLInfo archiveWSDLInfo = null;
+        try (ZipInputStream zipInputStream = new ZipInputStream(getApiDAO().getWSDLArchive(apiId));
+             ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+            ZipEntry entry;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                zipOutputStream.putNextEntry(new ZipEntry(entry.getName()));
+                if (entry.getName().toLowerCase(Locale.ENGLISH)
+                        .endsWith(APIMgtConstants.WSDLConstants.WSDL_FILE_EXTENSION)) {
+                    byte[] wsdlContent = IOUtils.toByteArray(zipInputStream);
+                    WSDLProcessor processor = WSDLProcessFactory.getInstance().getWSDLProcessor(wsdlContent);
+                    //WSDLs are left as they are if the label does not exist
+                    zipOutputStream.write(label == null ? wsdlContent : processor.getUpdatedWSDL(api, label));
+                    archiveWSDLInfo = mergeWSDLInfo(archiveWSDLInfo, processor.getWsdlInfo());
+                } else {
+                    IOUtils.copy(zipInputStream, zipOutputStream);
+                }
+                zipOutputStream.closeEntry();
+            }
+        } catch (APIMgtDAOException e) {
+            throw new APIMgtWSDLException(e);
+        }
+        if (archiveWSDLInfo == null) {
+            throw new APIMgtWSDLException("No WSDL processor found to process WSDL content",
+                    ExceptionCodes.CANNOT_PROCESS_WSDL_CONTENT);
+        }
+        return archiveWSDLInfo;
+    }
+
+    /**
+     * Updates the endpoints of all the WSDLs in an archive by extracting the archive to a temporary directory.
+     *
+     * @param apiId        UUID of the API
+     * @param outputStream stream to write the updated WSDL archive to
+     * @param api          API of the WSDL archive
+     * @param label        label used to update the WSDL endpoints
+     * @return information of the WSDLs in the archive
+     * @throws IOException         if an error occurs while reading or writing the archive
+     * @throws APIMgtWSDLException if the WSDLs in the archive cannot be processed
+     */
+    private WSDLInfo updateExtractedWSDLArchive(String apiId, OutputStream outputStream, API api, Label label)
+            throws IOException, APIMgtWSDLException {
+        String rootPath = System.getProperty(APIMgtConstants.JAVA_IO_TMPDIR)
+                + File.separator + APIMgtConstants.WSDLConstants.WSDL_ARCHIVES_FOLDERNAME
+                + File.separator + UUID.randomUUID().toString();
         try (InputStream wsdlZipInputStream = getApiDAO().getWSDLArchive(apiId)) {
-            String rootPath = System.getProperty(APIMgtConstants.JAVA_IO_TMPDIR)
-                    + File.separator + APIMgtConstants.WSDLConstants.WSDL_ARCHIVES_FOLDERNAME
-                    + File.separator + UUID.randomUUID().toString();
             String archivePath = rootPath + File.separator + APIMgtConstants.WSDLConstants.WSDL_ARCHIVE_FILENAME;
             String extractedLocation = APIFileUtils.extractUploadedArchive(wsdlZipInputStream,
                     APIMgtConstants.WSDLConstants.EXTRACTED_WSDL_ARCHIVE_FOLDERNAME, archivePath, rootPath);
             if (log.isDebugEnabled()) {
                 log.debug("Successfully extracted WSDL archive in path: " + extractedLocation);
             }
-            Label label = getLabelDAO().getLabelByName(labelName);
             WSDLProcessor processor = WSDLProcessFactory.getInstance().getWSDLProcessorForPath(extractedLocation);
             String wsdlPath = processor.getUpdatedWSDLPath(api, label);
             if (log.isDebugEnabled()) {
                 log.debug("Successfully updated WSDLs in path [" + extractedLocation + "] with endpoints of label: "
-                        + labelName + " and context of API " + api.getContext());
+                        + (label == null ? null : label.getName()) + " and context of API " + api.getContext());
             }
-            String wsdlArchiveProcessedFileName =
-                    api.getProvider() + "-" + api.getName() + "-" + api.getVersion() + "-" + labelName + "-wsdl";
+            String wsdlArchiveProcessedFileName = UUID.randomUUID().toString();
             APIFileUtils.archiveDirectory(wsdlPath, rootPath, wsdlArchiveProcessedFileName);
-            if (log.isDebugEnabled()) {
-                log.debug("Successfully archived WSDL files: " + wsdlPath);
-            }
-            WSDLArchiveInfo archiveInfo = new WSDLArchiveInfo(rootPath, wsdlArchiveProcessedFileName + ".zip");
-            archiveInfo.setWsdlInfo(processor.getWsdlInfo());
-            return archiveInfo;
-        } catch (IOException e) {
+            Files.copy(Paths.get(rootPath, wsdlArchiveProcessedFileName + ".zip"), outputStream);
+            return processor.getWsdlInfo();
+        } catch (APIMgtDAOException e) {
             throw new APIMgtWSDLException(e);
+        } finally {
+            FileUtils.deleteQuietly(new File(rootPath));
+        }
+    }
+
+    /**
+     * Merges the information of a WSDL into the information collected from the other WSDLs of an archive.
+     *
+     * @param archiveWSDLInfo information collected from the WSDLs processed so far, can be null
+     * @param wsdlInfo        information of the WSDL to be merged
+     * @return merged WSDL information
+     */
+    private WSDLInfo mergeWSDLInfo(WSDLInfo archiveWSDLInfo, WSDLInfo wsdlInfo) {
+        if (archiveWSDLInfo == null) {
+            return wsdlInfo;
+        }
+        archiveWSDLInfo.getEndpoints().putAll(wsdlInfo.getEndpoints());
+        if (wsdlInfo.hasHttpBindingOperations()) {
+            if (archiveWSDLInfo.getHttpBindingOperations() == null) {
+                archiveWSDLInfo.setHttpBindingOperations(new HashSet<>());
+            }
+            archiveWSDLInfo.getHttpBindingOperations().addAll(wsdlInfo.getHttpBindingOperations());
+            archiveWSDLInfo.setHasHttpBindingOperations(true);
         }
+        archiveWSDLInfo.setHasSoapBindingOperations(
+                archiveWSDLInfo.hasSoapBindingOperations() || wsdlInfo.hasSoapBindingOperations());
+        return archiveWSDLInfo;
     }
 
     /**
@@ -1443,6 +1751,29 @@ public class APIStoreImpl extends AbstractAPIManager implements APIStore, APIMOb
         return apiResults;
     }
 
+    /**
+     * @see APIStore#getAPIs(int, String)
+     */
+    @Override
+    public KeysetPage<API> getAPIs(int limit, String continuationToken) throws APIManagementException {
+        ContinuationToken after = APIUtils.decodeContinuationToken(continuationToken);
+        // TODO: Need to validate users roles against results returned
+        //this should be current logged in user
+        String user = "admin";
+        //role list of current user
+        Set<String> roles = APIUtils.getAllRolesOfUser(user);
+        List<String> statuses = new ArrayList<>();
+        statuses.add(APIStatus.PUBLISHED.getStatus());
+        statuses.add(APIStatus.PROTOTYPED.getStatus());
+        try {
+            return getApiDAO().getAPIsByStatus(roles, statuses, after, limit);
+        } catch (APIMgtDAOException e) {
+            String errorMsg = "Error occurred while retrieving page of APIs";
+            log.error(errorMsg, e);
+            throw new APIManagementException(errorMsg, e, e.getErrorHandler());
+        }
+    }
+
     @Override
     public List<CompositeAPI> searchCompositeAPIs(String query, int offset, int limit) throws APIManagementException {
         List<CompositeAPI> apiResults;
@@ -1546,7 +1877,37 @@ public class APIStoreImpl extends AbstractAPIManager implements APIStore, APIMOb
             workflow.setStatus(response.getWorkflowStatus());
 
             if (WorkflowStatus.CREATED != response.getWorkflowStatus()) {
+                List<Subscription> subscriptions = getApiSubscriptionDAO().getAPISubscriptionsByApplication(appId);
                 completeWorkflow(removeApplicationWFExecutor, workflow);
+
+                if (WorkflowStatus.APPROVED == workflow.getStatus()) {
+                    // The subscriptions go away with the application
+                    for (Subscription subscription : subscriptions) {
+                        Map<String, String> subscriptionPayload = new HashMap<>();
+                        subscriptionPayload.put(APIMgtConstants.FunctionsConstants.SUBSCRIPTION_ID,
+                                subscription.getId());
+                        subscriptionPayload.put(APIMgtConstants.FunctionsConstants.API_ID,
+                                subscription.getApi().getId());
+                        subscriptionPayload.put(APIMgtConstants.FunctionsConstants.APPLICATION_ID, appId);
+                        putCreatedInformation(subscriptionPayload, subscription);
+                        ObserverEventBus.getInstance().publish(Event.SUBSCRIPTION_DELETION, getUsername(),
+                                ZonedDateTime.now(ZoneOffset.UTC), subscriptionPayload, eventObservers.values());
+                    }
+                }
+
+                // 'API_M Functions' related code
+                //Create a payload with event specific details
+                Map<String, String> eventPayload = new HashMap<>();
+                eventPayload.put(APIMgtConstants.FunctionsConstants.APPLICATION_ID, application.getId());
+                eventPayload.put(APIMgtConstants.FunctionsConstants.APPLICATION_NAME, application.getName());
+                eventPayload.put(APIMgtConstants.FunctionsConstants.CREATED_BY, application.getCreatedUser());
+                if (application.getCreatedTime() != null) {
+                    eventPayload.put(APIMgtConstants.FunctionsConstants.CREATED_TIME,
+                            String.valueOf(Timestamp.valueOf(application.getCreatedTime()).getTime()));
+                }
+                // This will notify all the EventObservers(Asynchronous)
+                ObserverEventBus.getInstance().publish(Event.APP_DELETION, getUsername(),
+                        ZonedDateTime.now(ZoneOffset.UTC), eventPayload, eventObservers.values());
             } else {
                 //add entry to workflow table if it is only in pending state
                 addWorkflowEntries(workflow);
@@ -1675,6 +2036,18 @@ public class APIStoreImpl extends AbstractAPIManager implements APIStore, APIMOb
 
             APIUtils.logDebug("successfully added application with appId " + application.getId(), log);
 
+            // 'API_M Functions' related code
+            //Create a payload with event specific details
+            Map<String, String> eventPayload = new HashMap<>();
+            eventPayload.put(APIMgtConstants.FunctionsConstants.APPLICATION_ID, application.getId());
+            eventPayload.put(APIMgtConstants.FunctionsConstants.APPLICATION_NAME, application.getName());
+            eventPayload.put(APIMgtConstants.FunctionsConstants.CREATED_BY, application.getCreatedUser());
+            eventPayload.put(APIMgtConstants.FunctionsConstants.CREATED_TIME,
+                    String.valueOf(Timestamp.valueOf(application.getCreatedTime()).getTime()));
+            // This will notify all the EventObservers(Asynchronous)
+            ObserverEventBus.getInstance().publish(Event.APP_CREATION, getUsername(),
+                    ZonedDateTime.now(ZoneOffset.UTC), eventPayload, eventObservers.values());
+
             applicationResponse = new ApplicationCreationResponse(application.getId(), response);
         } catch (APIMgtDAOException e) {
             String errorMsg = "Error occurred while creating the application - " + application.getName();
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.configuration.models.AnalyticsConfigurations;
+import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.core.exception.AnalyticsException;
+import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
+import org.wso2.carbon.apimgt.core.internal.ServiceReferenceHolder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs analytics queries on a bounded pool of threads, sized to the analytics read pool, so that analytics requests
+ * cannot tie up the threads serving the rest of the API Manager. A query which does not complete within the
+ * configured timeout is cancelled and reported to the caller, and queries are rejected when too many are queued.
+ * The threads are created with the first query, and again after a shutdown, since the singleton outlives the bundle.
+ * Singleton: Bill Pugh implementation has been used.
+ */
+public class AnalyticsQueryExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsQueryExecutor.class);
+
+    /**
+     * Number of queries which may wait for a thread, per thread.
+     */
+    private static final int QUEUED_QUERIES_PER_THREAD = 10;
+
+    private final AnalyticsConfigurations analyticsConfigurations;
+    private ThreadPoolExecutor executor;
+    private final LongAdder completedCount = new LongAdder();
+    private final LongAdder timedOutCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    /**
+     * Creates an executor with the given configurations.
+     *
+     * @param analyticsConfigurations analytics configurations holding the pool size and the query timeout
+     */
+    AnalyticsQueryExecutor(AnalyticsConfigurations analyticsConfigurations) {
+        this.analyticsConfigurations = analyticsConfigurations;
+    }
+
+    /**
+     * A static class which holds the instance of AnalyticsQueryExecutor class.
+     */
+    private static class SingletonHelper {
+        private static final AnalyticsQueryExecutor instance = new AnalyticsQueryExecutor(
+                ServiceReferenceHolder.getInstance().getAPIMConfiguration().getAnalyticsConfigurations());
+    }
+
+    /**
+     * To get the instance of AnalyticsQueryExecutor class.
+     *
+     * @return Object of class AnalyticsQueryExecutor
+     */
+    public static AnalyticsQueryExecutor getInstance() {
+        return SingletonHelper.instance;
+    }
+
+    /**
+     * Validates the time range of a query.
+     *
+     * @param fromTime start of the range
+     * @param toTime   end of the range
+     * @throws AnalyticsException if the range ends before it starts or is longer than the configured maximum
+     */
+    public void validateTimeRange(Instant fromTime, Instant toTime) throws AnalyticsException {
+        if (fromTime == null || toTime == null || toTime.isBefore(fromTime)) {
+            throw new AnalyticsException("Time range from " + fromTime + " to " + toTime + " is invalid",
+                    ExceptionCodes.ANALYTICS_INVALID_TIME_RANGE);
+        }
+        Duration maxTimeRange = Duration.ofDays(analyticsConfigurations.getMaxTimeRange());
+        if (Duration.between(fromTime, toTime).compareTo(maxTimeRange) > 0) {
+            throw new AnalyticsException("Time range from " + fromTime + " to " + toTime + " is longer than "
+                    + maxTimeRange.toDays() + " days", ExceptionCodes.ANALYTICS_INVALID_TIME_RANGE);
+        }
+    }
+
+    /**
+     * Runs a query and waits for its result. The query is cancelled if it does not complete within the configured
+     * timeout.
+     *
+     * @param query query to run
+     * @param <T>   type of the result
+     * @return result of the query
+     * @throws APIManagementException if the query failed, timed out or was rejected
+     */
+    public <T> T execute(AnalyticsQuery<T> query) throws APIManagementException {
+        ThreadPoolExecutor pool = getExecutor();
+        Future<T> future;
+        try {
+            future = pool.submit(query::execute);
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            throw new AnalyticsException("Analytics query was rejected since " + pool.getQueue().size()
+                    + " queries are waiting", e, ExceptionCodes.ANALYTICS_QUERY_REJECTED);
+        }
+        try {
+            T result = future.get(analyticsConfigurations.getQueryTimeout(), TimeUnit.SECONDS);
+            completedCount.increment();
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOutCount.increment();
+            throw new AnalyticsException("Analytics query did not complete within "
+                    + analyticsConfigurations.getQueryTimeout() + " seconds", e,
+                    ExceptionCodes.ANALYTICS_QUERY_TIMEOUT);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AnalyticsException("Interrupted while waiting for analytics query", e,
+                    ExceptionCodes.ANALYTICS_QUERY_TIMEOUT);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof APIManagementException) {
+                throw (APIManagementException) e.getCause();
+            }
+            log.error("Error while running analytics query", e.getCause());
+            throw new AnalyticsException("Error while running analytics query", e.getCause(),
+                    ExceptionCodes.INTERNAL_ERROR);
+        }
+    }
+
+    public long getCompletedCount() {
+        return completedCount.sum();
+    }
+
+    public long getTimedOutCount() {
+        return timedOutCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * Shuts down the executor, interrupting the queries which are running. A later query starts a new pool.
+     */
+    public synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Gets the pool running the queries, creating it if there is none.
+     *
+     * @return pool running the queries
+     */
+    private synchronized ThreadPoolExecutor getExecutor() {
+        if (executor == null) {
+            int poolSize = Math.max(1, analyticsConfigurations.getQueryPoolSize());
+            AtomicInteger threadCount = new AtomicInteger();
+            executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(poolSize * QUEUED_QUERIES_PER_THREAD), runnable -> {
+                Thread thread = new Thread(runnable, "AnalyticsQueryExecutor-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+        }
+        return executor;
+    }
+
+    /**
+     * Query run by the executor.
+     *
+     * @param <T> type of the result
+     */
+    @FunctionalInterface
+    public interface AnalyticsQuery<T> {
+        T execute() throws APIManagementException;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.api.EventObserver;
+import org.wso2.carbon.apimgt.core.dao.AnalyticsDAO;
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+import org.wso2.carbon.apimgt.core.models.Event;
+import org.wso2.carbon.apimgt.core.models.analytics.RollupEntity;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+/**
+ * An {@link org.wso2.carbon.apimgt.core.api.EventObserver} which keeps the analytics rollups up to date by counting
+ * the APIs, applications and subscriptions as they are created and deleted.
+ * <p>
+ * The creator and creation time of an entity are taken from the
+ * {@link APIMgtConstants.FunctionsConstants#CREATED_BY} and {@link APIMgtConstants.FunctionsConstants#CREATED_TIME}
+ * metadata when present, so that a deletion is taken off the bucket the entity was counted in. A deletion without a
+ * creation time is left to be reconciled when the rollups are rebuilt.
+ */
+public class AnalyticsRollupObserver implements EventObserver {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsRollupObserver.class);
+
+    private final AnalyticsDAO analyticsDAO;
+
+    /**
+     * Constructor.
+     *
+     * @param analyticsDAO DAO used to update the rollups
+     */
+    public AnalyticsRollupObserver(AnalyticsDAO analyticsDAO) {
+        this.analyticsDAO = analyticsDAO;
+    }
+
+    @Override
+    public void captureEvent(Event event, String username, ZonedDateTime eventTime, Map<String, String> metadata) {
+        if (event == null) {
+            throw new IllegalArgumentException("Event must not be null");
+        }
+        switch (event) {
+            case API_CREATION:
+                updateRollupCount(RollupEntity.API, username, eventTime, metadata, 1);
+                break;
+            case API_DELETION:
+                updateRollupCount(RollupEntity.API, username, null, metadata, -1);
+                break;
+            case APP_CREATION:
+                updateRollupCount(RollupEntity.APPLICATION, username, eventTime, metadata, 1);
+                break;
+            case APP_DELETION:
+                updateRollupCount(RollupEntity.APPLICATION, username, null, metadata, -1);
+                break;
+            case SUBSCRIPTION_CREATION:
+                updateRollupCount(RollupEntity.SUBSCRIPTION, null, eventTime, metadata, 1);
+                break;
+            case SUBSCRIPTION_DELETION:
+                updateRollupCount(RollupEntity.SUBSCRIPTION, null, null, metadata, -1);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void updateRollupCount(RollupEntity entity, String defaultCreator, ZonedDateTime defaultCreatedTime,
+                                   Map<String, String> metadata, long delta) {
+        String createdBy = defaultCreator;
+        Instant createdTime = defaultCreatedTime == null ? null : defaultCreatedTime.toInstant();
+        if (metadata != null) {
+            if (metadata.containsKey(APIMgtConstants.FunctionsConstants.CREATED_BY)) {
+                createdBy = metadata.get(APIMgtConstants.FunctionsConstants.CREATED_BY);
+            }
+            String createdTimeValue = metadata.get(APIMgtConstants.FunctionsConstants.CREATED_TIME);
+            if (createdTimeValue != null) {
+                try {
+                    createdTime = Instant.ofEpochMilli(Long.parseLong(createdTimeValue));
+                } catch (NumberFormatException e) {
+                    log.warn("Invalid creation time {} of {}", createdTimeValue, entity);
+                }
+            }
+        }
+        if (createdTime == null) {
+            log.debug("Creation time of deleted {} is not known, rollups will be reconciled on rebuild", entity);
+            return;
+        }
+        try {
+            analyticsDAO.updateRollupCount(entity, createdBy, createdTime, delta);
+        } catch (APIMgtDAOException e) {
+            log.error("Error while updating analytics rollup of " + entity, e);
+        }
+    }
+}
@@ -38,10 +38,16 @@ public class AnalyzerImpl implements Analyzer {
 
     private String username;
     private AnalyticsDAO analyticsDAO;
+    private AnalyticsQueryExecutor queryExecutor;
 
     public AnalyzerImpl(String username, AnalyticsDAO analyticsDAO) {
+        this(username, analyticsDAO, AnalyticsQueryExecutor.getInstance());
+    }
+
+    public AnalyzerImpl(String username, AnalyticsDAO analyticsDAO, AnalyticsQueryExecutor queryExecutor) {
         this.username = username;
         this.analyticsDAO = analyticsDAO;
+        this.queryExecutor = queryExecutor;
     }
 
     /**
@@ -50,14 +56,15 @@ public class AnalyzerImpl implements Analyzer {
     @Override
     public List<ApplicationCount> getApplicationCount(Instant fromTime, Instant toTime, String createdBy) throws
             APIManagementException {
-        List<ApplicationCount> applicationCountList;
-        try {
-            applicationCountList = getAnalyticsDAO().getApplicationCount(fromTime, toTime, createdBy);
-        } catch (APIMgtDAOException e) {
-            String errorMsg = "Error occurred while fetching application count information";
-            throw new AnalyticsException(errorMsg, e, ExceptionCodes.APIMGT_DAO_EXCEPTION);
-        }
-        return applicationCountList;
+        queryExecutor.validateTimeRange(fromTime, toTime);
+        return queryExecutor.execute(() -> {
+            try {
+                return getAnalyticsDAO().getApplicationCount(fromTime, toTime, createdBy);
+            } catch (APIMgtDAOException e) {
+                String errorMsg = "Error occurred while fetching application count information";
+                throw new AnalyticsException(errorMsg, e, ExceptionCodes.APIMGT_DAO_EXCEPTION);
+            }
+        });
     }
 
     /**
@@ -65,14 +72,15 @@ public class AnalyzerImpl implements Analyzer {
      */
     @Override
     public List<APIInfo> getAPIInfo(Instant fromTime, Instant toTime, String createdBy) throws APIManagementException {
-        List<APIInfo> apiInfoList;
-        try {
-            apiInfoList = getAnalyticsDAO().getAPIInfo(fromTime, toTime, createdBy);
-        } catch (APIMgtDAOException e) {
-            String errorMsg = "Error occurred while fetching API information";
-            throw new AnalyticsException(errorMsg, e, ExceptionCodes.APIMGT_DAO_EXCEPTION);
-        }
-        return apiInfoList;
+        queryExecutor.validateTimeRange(fromTime, toTime);
+        return queryExecutor.execute(() -> {
+            try {
+                return getAnalyticsDAO().getAPIInfo(fromTime, toTime, createdBy);
+            } catch (APIMgtDAOException e) {
+                String errorMsg = "Error occurred while fetching API information";
+                throw new AnalyticsException(errorMsg, e, ExceptionCodes.APIMGT_DAO_EXCEPTION);
+            }
+        });
     }
 
     /**
@@ -81,14 +89,15 @@ public class AnalyzerImpl implements Analyzer {
     @Override
     public List<APICount> getAPICount(Instant fromTime, Instant toTime, String createdBy) throws
             APIManagementException {
-        List<APICount> apiCountList;
-        try {
-            apiCountList = getAnalyticsDAO().getAPICount(fromTime, toTime, createdBy);
-        } catch (APIMgtDAOException e) {
-            String errorMsg = "Error occurred while fetching API count information";
-            throw new AnalyticsException(errorMsg, e, ExceptionCodes.APIMGT_DAO_EXCEPTION);
-        }
-        return apiCountList;
+        queryExecutor.validateTimeRange(fromTime, toTime);
+        return queryExecutor.execute(() -> {
+            try {
+                return getAnalyticsDAO().getAPICount(fromTime, toTime, createdBy);
+            } catch (APIMgtDAOException e) {
+                String errorMsg = "Error occurred while fetching API count information";
+                throw new AnalyticsException(errorMsg, e, ExceptionCodes.APIMGT_DAO_EXCEPTION);
+            }
+        });
     }
 
     /**
@@ -97,14 +106,15 @@ public class AnalyzerImpl implements Analyzer {
     @Override
     public List<APISubscriptionCount> getAPISubscriptionCount(Instant fromTime, Instant toTime, String apiId) throws
             APIManagementException {
-        List<APISubscriptionCount> apiSubscriptionCountList;
-        try {
-            apiSubscriptionCountList = getAnalyticsDAO().getAPISubscriptionCount(fromTime, toTime, apiId);
-        } catch (APIMgtDAOException e) {
-            String errorMsg = "Error occurred while fetching API subscription count information";
-            throw new AnalyticsException(errorMsg, e, ExceptionCodes.APIMGT_DAO_EXCEPTION);
-        }
-        return apiSubscriptionCountList;
+        queryExecutor.validateTimeRange(fromTime, toTime);
+        return queryExecutor.execute(() -> {
+            try {
+                return getAnalyticsDAO().getAPISubscriptionCount(fromTime, toTime, apiId);
+            } catch (APIMgtDAOException e) {
+                String errorMsg = "Error occurred while fetching API subscription count information";
+                throw new AnalyticsException(errorMsg, e, ExceptionCodes.APIMGT_DAO_EXCEPTION);
+            }
+        });
     }
 
     /**
@@ -113,14 +123,15 @@ public class AnalyzerImpl implements Analyzer {
     @Override
     public List<SubscriptionCount> getSubscriptionCount(Instant fromTime, Instant toTime, String createdBy) throws
             APIManagementException {
-        List<SubscriptionCount> subscriptionCountList;
-        try {
-            subscriptionCountList = getAnalyticsDAO().getSubscriptionCount(fromTime, toTime, createdBy);
-        } catch (APIMgtDAOException e) {
-            String errorMsg = "Error occurred while fetching Subscription count information";
-            throw new AnalyticsException(errorMsg, e, ExceptionCodes.APIMGT_DAO_EXCEPTION);
-        }
-        return subscriptionCountList;
+        queryExecutor.validateTimeRange(fromTime, toTime);
+        return queryExecutor.execute(() -> {
+            try {
+                return getAnalyticsDAO().getSubscriptionCount(fromTime, toTime, createdBy);
+            } catch (APIMgtDAOException e) {
+                String errorMsg = "Error occurred while fetching Subscription count information";
+                throw new AnalyticsException(errorMsg, e, ExceptionCodes.APIMGT_DAO_EXCEPTION);
+            }
+        });
     }
 
     /**
@@ -129,14 +140,15 @@ public class AnalyzerImpl implements Analyzer {
     @Override
     public List<SubscriptionInfo> getSubscriptionInfo(Instant fromTime, Instant toTime, String createdBy) throws
             APIManagementException {
-        List<SubscriptionInfo> subscriptionInfoList;
-        try {
-            subscriptionInfoList = getAnalyticsDAO().getSubscriptionInfo(fromTime, toTime, createdBy);
-        } catch (APIMgtDAOException e) {
-            String errorMsg = "Error occurred while fetching Subscription information";
-            throw new AnalyticsException(errorMsg, e, ExceptionCodes.APIMGT_DAO_EXCEPTION);
-        }
-        return subscriptionInfoList;
+        queryExecutor.validateTimeRange(fromTime, toTime);
+        return queryExecutor.execute(() -> {
+            try {
+                return getAnalyticsDAO().getSubscriptionInfo(fromTime, toTime, createdBy);
+            } catch (APIMgtDAOException e) {
+                String errorMsg = "Error occurred while fetching Subscription information";
+                throw new AnalyticsException(errorMsg, e, ExceptionCodes.APIMGT_DAO_EXCEPTION);
+            }
+        });
     }
 
     public AnalyticsDAO getAnalyticsDAO() {
@@ -22,20 +22,22 @@ import io.swagger.codegen.ClientOptInput;
 import io.swagger.codegen.DefaultGenerator;
 import io.swagger.codegen.config.CodegenConfigurator;
 import io.swagger.models.Swagger;
-import io.swagger.parser.SwaggerParser;
 import io.swagger.util.Json;
 
+import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.apimgt.core.api.APIStore;
 import org.wso2.carbon.apimgt.core.configuration.APIMConfigurationService;
 import org.wso2.carbon.apimgt.core.configuration.models.SdkLanguageConfigurations;
 import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
 import org.wso2.carbon.apimgt.core.exception.ApiStoreSdkGenerationException;
 import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
 import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.util.APIFileUtils;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
+import org.wso2.carbon.apimgt.core.util.APIUtils;
 
 import java.io.BufferedWriter;
 import java.io.File;
@@ -43,11 +45,8 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
-import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.SimpleFileVisitor;
-import java.nio.file.attribute.BasicFileAttributes;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -57,6 +56,7 @@ import java.util.Map;
 public class ApiStoreSdkGenerationManager {
 
     private static final Logger log = LoggerFactory.getLogger(ApiStoreSdkGenerationManager.class);
+    private static final String CODEGEN_VERSION = getCodegenVersion();
     private Map<String, String> sdkGenLanguages = new HashMap<>();
 
     public ApiStoreSdkGenerationManager() {
@@ -100,7 +100,31 @@ public class ApiStoreSdkGenerationManager {
         } catch (APIManagementException e) {
             handleSdkGenException("Error retrieving swagger definition for API " + apiId + " from database.", e);
         }
-        Swagger swaggerDoc = new SwaggerParser().parse(swaggerDefinitionForApi);
+        //Generated archives are shared between all users of an API. The archive is named after the API, hence APIs
+        //with an identical swagger definition are cached separately.
+        String cacheKey = APIUtils.generateContentHash(apiName + ":" + apiVersion + ":" + language + ":"
+                + CODEGEN_VERSION + ":" + APIUtils.generateContentHash(swaggerDefinitionForApi));
+        String swaggerDefinition = swaggerDefinitionForApi;
+        File sdkArchive = SdkGenerationExecutor.getInstance().getOrGenerate(cacheKey,
+                () -> generateSdkArchive(apiId, apiName, apiVersion, language, swaggerDefinition));
+        return sdkArchive.getAbsolutePath();
+    }
+
+    /*
+    * This method writes the swagger definition to a temporary directory, generates the SDK and archives it in the
+    * same directory. The directory is removed by the SdkGenerationExecutor once the archive is cached.
+    *
+    * @param apiId ID for the specific API
+    * @param apiName name of the API
+    * @param apiVersion version of the API
+    * @param language preferred language to generate the SDK
+    * @param swaggerDefinitionForApi swagger definition of the API
+    * @return generated SDK archive
+    * @throws ApiStoreSdkGenerationException if failed to generate the SDK
+    * */
+    private File generateSdkArchive(String apiId, String apiName, String apiVersion, String language,
+                                    String swaggerDefinitionForApi) throws ApiStoreSdkGenerationException {
+        Swagger swaggerDoc = SwaggerModelCache.getInstance().getSwagger(swaggerDefinitionForApi);
         if (swaggerDoc == null) {
             handleSdkGenException("Error while parsing retrieved swagger definition");
         }
@@ -117,12 +141,14 @@ public class ApiStoreSdkGenerationManager {
                     apiId + "_" + language,
                     APIMgtConstants.APIFileUtilConstants.JSON_EXTENSION).toFile();
         } catch (IOException e) {
+            if (tempSdkGenDir != null) {
+                FileUtils.deleteQuietly(tempSdkGenDir.toFile());
+            }
             handleSdkGenException("Error creating temporary directory or json file for swagger definition!", e);
         }
 
         String tempZipFilePath = "";
-        if (swaggerDefJsonFile.exists()) {
-
+        try {
             try (Writer swaggerFileWriter = new BufferedWriter(
                     new OutputStreamWriter(
                             new FileOutputStream(swaggerDefJsonFile.getAbsoluteFile()), "UTF-8"))) {
@@ -145,20 +171,16 @@ public class ApiStoreSdkGenerationManager {
             APIFileUtils.archiveDirectory(tempSdkGenDir.toString(),
                     tempSdkGenDir.toString(),
                     archiveName);
-                log.debug("Generating the archive was successful for directory {}.", tempSdkGenDir.toString());
-        } else {
-            handleSdkGenException("Swagger definition file not found!");
+            log.debug("Generating the archive was successful for directory {}.", tempSdkGenDir.toString());
+        } catch (ApiStoreSdkGenerationException | RuntimeException e) {
+            //The temporary directory is removed by the executor only when the archive is generated successfully.
+            FileUtils.deleteQuietly(tempSdkGenDir.toFile());
+            throw e;
+        } catch (APIMgtDAOException e) {
+            FileUtils.deleteQuietly(tempSdkGenDir.toFile());
+            handleSdkGenException("Error while archiving generated SDK in " + tempSdkGenDir, e);
         }
-
-        try {
-            //Set deleteOnExit property to generated SDK directory, all sub directories and files.
-            recursiveDeleteOnExit(tempSdkGenDir);
-        } catch (IOException e) {
-            handleSdkGenException("Error while deleting temporary directory " +
-                    tempSdkGenDir, e);
-        }
-        return tempZipFilePath;
-
+        return new File(tempZipFilePath);
     }
 
     /*
@@ -177,6 +199,19 @@ public class ApiStoreSdkGenerationManager {
         new DefaultGenerator().opts(clientOptInput).generate();
     }
 
+    /**
+     * Returns the version of swagger-codegen in use, which is part of the SDK cache key.
+     *
+     * @return swagger-codegen version or "unknown" if the version is not available
+     */
+    private static String getCodegenVersion() {
+        Package codegenPackage = DefaultGenerator.class.getPackage();
+        if (codegenPackage == null || codegenPackage.getImplementationVersion() == null) {
+            return "unknown";
+        }
+        return codegenPackage.getImplementationVersion();
+    }
+
     /**
      * This method is to handle exceptions occurred when generating the SDK
      *
@@ -198,29 +233,4 @@ public class ApiStoreSdkGenerationManager {
             throws ApiStoreSdkGenerationException {
         throw new ApiStoreSdkGenerationException(errorMessage, throwable);
     }
-
-    /**
-     * This method is to delete temporary directory created during SDK generation.
-     *
-     * @param path Path to the root directory which needs to be deleted on JVM exit.
-     * @throws IOException
-     */
-    public static void recursiveDeleteOnExit(Path path) throws IOException {
-        Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
-
-            public FileVisitResult visitFile(Path file,
-                                             @SuppressWarnings("unused") BasicFileAttributes attrs) {
-                file.toFile().deleteOnExit();
-                return FileVisitResult.CONTINUE;
-            }
-
-            public FileVisitResult preVisitDirectory(Path dir,
-                                                     @SuppressWarnings("unused") BasicFileAttributes attrs) {
-                dir.toFile().deleteOnExit();
-                return FileVisitResult.CONTINUE;
-            }
-        });
-    }
-
-
 }
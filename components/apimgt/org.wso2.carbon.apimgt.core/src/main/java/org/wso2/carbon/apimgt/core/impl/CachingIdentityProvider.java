@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.api.IdentityProvider;
+import org.wso2.carbon.apimgt.core.configuration.models.CacheConfigurations;
+import org.wso2.carbon.apimgt.core.exception.IdentityProviderException;
+import org.wso2.carbon.apimgt.core.exception.KeyManagementException;
+import org.wso2.carbon.apimgt.core.models.API;
+import org.wso2.carbon.apimgt.core.models.AccessTokenInfo;
+import org.wso2.carbon.apimgt.core.models.AccessTokenRequest;
+import org.wso2.carbon.apimgt.core.models.KeyManagerConfiguration;
+import org.wso2.carbon.apimgt.core.models.OAuthAppRequest;
+import org.wso2.carbon.apimgt.core.models.OAuthApplicationInfo;
+import org.wso2.carbon.apimgt.core.models.User;
+import org.wso2.carbon.apimgt.core.util.SizeBoundedCache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link IdentityProvider} which caches the user and role lookups of another identity provider for a configured time.
+ * Lookups of missing users and roles are cached as well, but for a shorter time, so that a user or role created
+ * afterwards is picked up soon. Key manager operations are not cached and are passed to the wrapped provider as is.
+ */
+public class CachingIdentityProvider implements IdentityProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingIdentityProvider.class);
+    private static final String USER_ID_PREFIX = "userId:";
+    private static final String EMAIL_PREFIX = "email:";
+    private static final String EMAIL_OF_USER_NAME_PREFIX = "emailOfUserName:";
+    private static final String ROLE_NAMES_OF_USER_PREFIX = "roleNamesOfUser:";
+    private static final String ROLE_IDS_OF_USER_PREFIX = "roleIdsOfUser:";
+    private static final String ROLE_ID_PREFIX = "roleId:";
+    private static final String ROLE_NAME_PREFIX = "roleName:";
+    private static final String VALID_ROLE_PREFIX = "validRole:";
+
+    private final IdentityProvider identityProvider;
+    private final SizeBoundedCache<String, CachedValue> lookups;
+    private final long expiryTime;
+    private final long negativeExpiryTime;
+
+    /**
+     * Creates a caching identity provider.
+     *
+     * @param identityProvider    identity provider to which lookups are delegated
+     * @param cacheConfigurations configurations of the cache
+     */
+    public CachingIdentityProvider(IdentityProvider identityProvider, CacheConfigurations cacheConfigurations) {
+        this.identityProvider = identityProvider;
+        this.lookups = new SizeBoundedCache<>(cacheConfigurations.getIdentityCacheMaxEntries(), value -> 1L);
+        this.expiryTime = TimeUnit.SECONDS.toMillis(cacheConfigurations.getIdentityCacheExpiryTime());
+        this.negativeExpiryTime = TimeUnit.SECONDS.toMillis(cacheConfigurations.getIdentityNegativeCacheExpiryTime());
+    }
+
+    @Override
+    public String getIdOfUser(String userName) throws IdentityProviderException {
+        return lookup(USER_ID_PREFIX + userName, () -> identityProvider.getIdOfUser(userName));
+    }
+
+    @Override
+    public String getEmailOfUser(String userId) throws IdentityProviderException {
+        return lookup(EMAIL_PREFIX + userId, () -> identityProvider.getEmailOfUser(userId));
+    }
+
+    @Override
+    public Map<String, String> getEmailsOfUsers(Collection<String> userNames) throws IdentityProviderException {
+        Map<String, String> userEmails = new HashMap<>();
+        Set<String> uncachedUserNames = new LinkedHashSet<>();
+        long now = System.currentTimeMillis();
+        for (String userName : userNames) {
+            CachedValue cachedValue = lookups.get(EMAIL_OF_USER_NAME_PREFIX + userName);
+            if (cachedValue == null || cachedValue.isExpired(now)) {
+                uncachedUserNames.add(userName);
+            } else if (cachedValue.value != null) {
+                userEmails.put(userName, (String) cachedValue.value);
+            }
+        }
+        if (!uncachedUserNames.isEmpty()) {
+            Map<String, String> retrievedEmails = identityProvider.getEmailsOfUsers(uncachedUserNames);
+            for (String userName : uncachedUserNames) {
+                String email = retrievedEmails.get(userName);
+                cache(EMAIL_OF_USER_NAME_PREFIX + userName, email);
+                if (email != null) {
+                    userEmails.put(userName, email);
+                }
+            }
+        }
+        log.debug("Emails of {} users are retrieved with {} users looked up from the identity provider",
+                userEmails.size(), uncachedUserNames.size());
+        return userEmails;
+    }
+
+    @Override
+    public List<String> getRoleNamesOfUser(String userId) throws IdentityProviderException {
+        List<String> roleNames = lookup(ROLE_NAMES_OF_USER_PREFIX + userId,
+                () -> identityProvider.getRoleNamesOfUser(userId));
+        // Cached lists are shared, hence a copy is returned which the caller is free to modify
+        return roleNames == null ? null : new ArrayList<>(roleNames);
+    }
+
+    @Override
+    public boolean isValidRole(String roleName) throws IdentityProviderException {
+        return lookup(VALID_ROLE_PREFIX + roleName, () -> identityProvider.isValidRole(roleName));
+    }
+
+    @Override
+    public List<String> getRoleIdsOfUser(String userId) throws IdentityProviderException {
+        List<String> roleIds = lookup(ROLE_IDS_OF_USER_PREFIX + userId,
+                () -> identityProvider.getRoleIdsOfUser(userId));
+        return roleIds == null ? null : new ArrayList<>(roleIds);
+    }
+
+    @Override
+    public String getRoleId(String roleName) throws IdentityProviderException {
+        return lookup(ROLE_ID_PREFIX + roleName, () -> identityProvider.getRoleId(roleName));
+    }
+
+    @Override
+    public String getRoleName(String roleId) throws IdentityProviderException {
+        return lookup(ROLE_NAME_PREFIX + roleId, () -> identityProvider.getRoleName(roleId));
+    }
+
+    @Override
+    public void registerUser(User user) throws IdentityProviderException {
+        identityProvider.registerUser(user);
+        // A lookup made before the user was registered may have been cached as missing
+        lookups.invalidate(USER_ID_PREFIX + user.getUsername());
+        lookups.invalidate(EMAIL_OF_USER_NAME_PREFIX + user.getUsername());
+    }
+
+    /**
+     * Removes all cached lookups.
+     */
+    public void invalidateAll() {
+        lookups.invalidateAll();
+    }
+
+    @Override
+    public OAuthApplicationInfo createApplication(OAuthAppRequest oauthAppRequest) throws KeyManagementException {
+        return identityProvider.createApplication(oauthAppRequest);
+    }
+
+    @Override
+    public OAuthApplicationInfo updateApplication(OAuthApplicationInfo oAuthApplicationInfo)
+            throws KeyManagementException {
+        return identityProvider.updateApplication(oAuthApplicationInfo);
+    }
+
+    @Override
+    public void deleteApplication(String consumerKey) throws KeyManagementException {
+        identityProvider.deleteApplication(consumerKey);
+    }
+
+    @Override
+    public OAuthApplicationInfo retrieveApplication(String consumerKey) throws KeyManagementException {
+        return identityProvider.retrieveApplication(consumerKey);
+    }
+
+    @Override
+    public AccessTokenInfo getNewAccessToken(AccessTokenRequest tokenRequest) throws KeyManagementException {
+        return identityProvider.getNewAccessToken(tokenRequest);
+    }
+
+    @Override
+    public AccessTokenInfo getTokenMetaData(String accessToken) throws KeyManagementException {
+        return identityProvider.getTokenMetaData(accessToken);
+    }
+
+    @Override
+    public KeyManagerConfiguration getKeyManagerConfiguration() throws KeyManagementException {
+        return identityProvider.getKeyManagerConfiguration();
+    }
+
+    @Override
+    public void revokeAccessToken(String accessToken, String clientId, String clientSecret)
+            throws KeyManagementException {
+        identityProvider.revokeAccessToken(accessToken, clientId, clientSecret);
+    }
+
+    @Override
+    public void loadConfiguration(KeyManagerConfiguration configuration) throws KeyManagementException {
+        identityProvider.loadConfiguration(configuration);
+    }
+
+    @Override
+    public boolean registerNewResource(API api, Map resourceAttributes) throws KeyManagementException {
+        return identityProvider.registerNewResource(api, resourceAttributes);
+    }
+
+    @Override
+    public Map getResourceByApiId(String apiId) throws KeyManagementException {
+        return identityProvider.getResourceByApiId(apiId);
+    }
+
+    @Override
+    public boolean updateRegisteredResource(API api, Map resourceAttributes) throws KeyManagementException {
+        return identityProvider.updateRegisteredResource(api, resourceAttributes);
+    }
+
+    @Override
+    public void deleteRegisteredResourceByAPIId(String apiID) throws KeyManagementException {
+        identityProvider.deleteRegisteredResourceByAPIId(apiID);
+    }
+
+    @Override
+    public void deleteMappedApplication(String consumerKey) throws KeyManagementException {
+        identityProvider.deleteMappedApplication(consumerKey);
+    }
+
+    /**
+     * Returns the cached result of a lookup, making the lookup if it is not cached or if the cached result has
+     * expired. Failed lookups are not cached.
+     *
+     * @param cacheKey cache key of the lookup
+     * @param loader   makes the lookup
+     * @param <T>      type of the result
+     * @return result of the lookup
+     * @throws IdentityProviderException if the lookup fails
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T lookup(String cacheKey, Loader<T> loader) throws IdentityProviderException {
+        CachedValue cachedValue = lookups.get(cacheKey);
+        if (cachedValue != null && !cachedValue.isExpired(System.currentTimeMillis())) {
+            return (T) cachedValue.value;
+        }
+        T value = loader.load();
+        cache(cacheKey, value);
+        return value;
+    }
+
+    private void cache(String cacheKey, Object value) {
+        boolean isMissing = value == null || Boolean.FALSE.equals(value);
+        long expiresAt = System.currentTimeMillis() + (isMissing ? negativeExpiryTime : expiryTime);
+        lookups.put(cacheKey, new CachedValue(value, expiresAt));
+    }
+
+    /**
+     * Makes a lookup on the wrapped identity provider.
+     *
+     * @param <T> type of the result
+     */
+    private interface Loader<T> {
+        T load() throws IdentityProviderException;
+    }
+
+    /**
+     * Result of a lookup along with the time it expires.
+     */
+    private static final class CachedValue {
+        private final Object value;
+        private final long expiresAt;
+
+        private CachedValue(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
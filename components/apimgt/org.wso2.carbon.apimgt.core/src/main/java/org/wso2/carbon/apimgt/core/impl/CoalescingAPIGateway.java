@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.wso2.carbon.apimgt.core.api.APIGateway;
+import org.wso2.carbon.apimgt.core.exception.GatewayException;
+import org.wso2.carbon.apimgt.core.models.API;
+import org.wso2.carbon.apimgt.core.models.Application;
+import org.wso2.carbon.apimgt.core.models.BlockConditions;
+import org.wso2.carbon.apimgt.core.models.CompositeAPI;
+import org.wso2.carbon.apimgt.core.models.Endpoint;
+import org.wso2.carbon.apimgt.core.models.PolicyValidationData;
+import org.wso2.carbon.apimgt.core.models.SubscriptionValidationData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link APIGateway} used by the bulk subscription operations. Subscription changes are collected instead of being
+ * published one by one, and {@link #flush()} publishes a single event per change type carrying the whole list. All
+ * other operations are passed through to the wrapped gateway.
+ */
+final class CoalescingAPIGateway implements APIGateway {
+
+    private final APIGateway apiGateway;
+    private final List<SubscriptionValidationData> addedSubscriptions = new ArrayList<>();
+    private final List<SubscriptionValidationData> updatedSubscriptions = new ArrayList<>();
+    private final List<SubscriptionValidationData> deletedSubscriptions = new ArrayList<>();
+
+    CoalescingAPIGateway(APIGateway apiGateway) {
+        this.apiGateway = apiGateway;
+    }
+
+    /**
+     * Publishes the collected subscription changes to the wrapped gateway and clears them.
+     *
+     * @throws GatewayException If there is a failure to publish the subscription changes
+     */
+    void flush() throws GatewayException {
+        try {
+            if (!addedSubscriptions.isEmpty()) {
+                apiGateway.addAPISubscription(new ArrayList<>(addedSubscriptions));
+            }
+            if (!updatedSubscriptions.isEmpty()) {
+                apiGateway.updateAPISubscriptionStatus(new ArrayList<>(updatedSubscriptions));
+            }
+            if (!deletedSubscriptions.isEmpty()) {
+                apiGateway.deleteAPISubscription(new ArrayList<>(deletedSubscriptions));
+            }
+        } finally {
+            addedSubscriptions.clear();
+            updatedSubscriptions.clear();
+            deletedSubscriptions.clear();
+        }
+    }
+
+    @Override
+    public void addAPISubscription(List<SubscriptionValidationData> subscriptionValidationDataList) {
+        addedSubscriptions.addAll(subscriptionValidationDataList);
+    }
+
+    @Override
+    public void updateAPISubscriptionStatus(List<SubscriptionValidationData> subscriptionValidationDataList) {
+        updatedSubscriptions.addAll(subscriptionValidationDataList);
+    }
+
+    @Override
+    public void deleteAPISubscription(List<SubscriptionValidationData> subscriptionValidationDataList) {
+        deletedSubscriptions.addAll(subscriptionValidationDataList);
+    }
+
+    @Override
+    public void addAPI(API api) throws GatewayException {
+        apiGateway.addAPI(api);
+    }
+
+    @Override
+    public void addCompositeAPI(CompositeAPI api) throws GatewayException {
+        apiGateway.addCompositeAPI(api);
+    }
+
+    @Override
+    public void updateAPI(API api) throws GatewayException {
+        apiGateway.updateAPI(api);
+    }
+
+    @Override
+    public void deleteAPI(API api) throws GatewayException {
+        apiGateway.deleteAPI(api);
+    }
+
+    @Override
+    public void deleteCompositeAPI(CompositeAPI api) throws GatewayException {
+        apiGateway.deleteCompositeAPI(api);
+    }
+
+    @Override
+    public void addEndpoint(Endpoint endpoint) throws GatewayException {
+        apiGateway.addEndpoint(endpoint);
+    }
+
+    @Override
+    public void updateEndpoint(Endpoint endpoint) throws GatewayException {
+        apiGateway.updateEndpoint(endpoint);
+    }
+
+    @Override
+    public void deleteEndpoint(Endpoint endpoint) throws GatewayException {
+        apiGateway.deleteEndpoint(endpoint);
+    }
+
+    @Override
+    public void changeAPIState(API api, String status) throws GatewayException {
+        apiGateway.changeAPIState(api, status);
+    }
+
+    @Override
+    public void addApplication(Application application) throws GatewayException {
+        apiGateway.addApplication(application);
+    }
+
+    @Override
+    public void updateApplication(Application application) throws GatewayException {
+        apiGateway.updateApplication(application);
+    }
+
+    @Override
+    public void deleteApplication(String applicationId) throws GatewayException {
+        apiGateway.deleteApplication(applicationId);
+    }
+
+    @Override
+    public void addPolicy(PolicyValidationData policyValidationData) throws GatewayException {
+        apiGateway.addPolicy(policyValidationData);
+    }
+
+    @Override
+    public void updatePolicy(PolicyValidationData policyValidationData) throws GatewayException {
+        apiGateway.updatePolicy(policyValidationData);
+    }
+
+    @Override
+    public void deletePolicy(PolicyValidationData policyValidationData) throws GatewayException {
+        apiGateway.deletePolicy(policyValidationData);
+    }
+
+    @Override
+    public void addBlockCondition(BlockConditions blockConditions) throws GatewayException {
+        apiGateway.addBlockCondition(blockConditions);
+    }
+
+    @Override
+    public void updateBlockCondition(BlockConditions blockConditions) throws GatewayException {
+        apiGateway.updateBlockCondition(blockConditions);
+    }
+
+    @Override
+    public void deleteBlockCondition(BlockConditions blockConditions) throws GatewayException {
+        apiGateway.deleteBlockCondition(blockConditions);
+    }
+}
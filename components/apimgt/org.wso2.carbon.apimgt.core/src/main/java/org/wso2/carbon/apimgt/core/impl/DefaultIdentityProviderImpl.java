@@ -45,7 +45,11 @@ import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 /**
  * API Manager default implementation of {@link IdentityProvider}
@@ -63,6 +67,12 @@ public class DefaultIdentityProviderImpl extends DefaultKeyManagerImpl implement
     private static final String EMPTY_STRING = "";
     private static final String USERNAME = "userName";
     private static final String GROUPNAME = "displayName";
+    private static final String EMAILS = "emails";
+    private static final String FILTER_OR = " or ";
+    private static final int USER_FILTER_BATCH_SIZE = 20;
+    // Both the parser and the decoder are stateless, hence shared between requests
+    private static final JsonParser JSON_PARSER = new JsonParser();
+    private static final GsonDecoder GSON_DECODER = new GsonDecoder();
 
     DefaultIdentityProviderImpl() throws APIManagementException {
         this(SCIMServiceStubFactory.getSCIMServiceStub(), DCRMServiceStubFactory.getDCRMServiceStub(),
@@ -87,8 +97,7 @@ public class DefaultIdentityProviderImpl extends DefaultKeyManagerImpl implement
         }
         if (userResponse.status() == APIMgtConstants.HTTPStatusCodes.SC_200_OK) {
             String responseBody = userResponse.body().toString();
-            JsonParser parser = new JsonParser();
-            JsonObject parsedResponseBody = (JsonObject) parser.parse(responseBody);
+            JsonObject parsedResponseBody = (JsonObject) JSON_PARSER.parse(responseBody);
             JsonArray user = (JsonArray) parsedResponseBody.get(RESOURCES);
             JsonObject scimUser = (JsonObject) user.get(0);
             userId = scimUser.get(ID).getAsString();
@@ -119,9 +128,8 @@ public class DefaultIdentityProviderImpl extends DefaultKeyManagerImpl implement
         }
         if (userResponse.status() == APIMgtConstants.HTTPStatusCodes.SC_200_OK) {
             String responseBody = userResponse.body().toString();
-            JsonParser parser = new JsonParser();
-            JsonObject parsedResponseBody = (JsonObject) parser.parse(responseBody);
-            userEmail =  parsedResponseBody.get("emails").toString().replaceAll("[\\[\\]\"]", "");
+            JsonObject parsedResponseBody = (JsonObject) JSON_PARSER.parse(responseBody);
+            userEmail = getEmail(parsedResponseBody);
 
             log.debug("Email {} of user {} is successfully retrieved from SCIM endpoint.",
                     userEmail, parsedResponseBody.get(USERNAME).getAsString());
@@ -136,6 +144,52 @@ public class DefaultIdentityProviderImpl extends DefaultKeyManagerImpl implement
         return userEmail;
     }
 
+    @Override
+    public Map<String, String> getEmailsOfUsers(Collection<String> userNames) throws IdentityProviderException {
+        Map<String, String> userEmails = new HashMap<>();
+        List<String> userNameList = new ArrayList<>(new LinkedHashSet<>(userNames));
+        // Users are searched in batches by combining their filters, to limit the length of the request URL
+        for (int from = 0; from < userNameList.size(); from += USER_FILTER_BATCH_SIZE) {
+            List<String> batch = userNameList.subList(from, Math.min(from + USER_FILTER_BATCH_SIZE,
+                    userNameList.size()));
+            StringBuilder filter = new StringBuilder();
+            for (String userName : batch) {
+                if (filter.length() > 0) {
+                    filter.append(FILTER_OR);
+                }
+                filter.append(FILTER_PREFIX_USER).append(userName);
+            }
+            Response userResponse = scimServiceStub.searchUsers(filter.toString());
+            if (userResponse == null) {
+                String errorMessage = "Error occurred while retrieving Emails of users " + StringUtils.join(batch, ", ")
+                        + ". Error : Response is null.";
+                log.error(errorMessage);
+                throw new IdentityProviderException(errorMessage, ExceptionCodes.RESOURCE_RETRIEVAL_FAILED);
+            }
+            if (userResponse.status() == APIMgtConstants.HTTPStatusCodes.SC_200_OK) {
+                JsonObject parsedResponseBody = (JsonObject) JSON_PARSER.parse(userResponse.body().toString());
+                JsonArray users = (JsonArray) parsedResponseBody.get(RESOURCES);
+                if (users == null) {
+                    continue;
+                }
+                for (JsonElement user : users) {
+                    JsonObject scimUser = (JsonObject) user;
+                    if (scimUser.has(EMAILS)) {
+                        userEmails.put(scimUser.get(USERNAME).getAsString(), getEmail(scimUser));
+                    }
+                }
+            } else {
+                String errorMessage = "Error occurred while retrieving Emails of users " + StringUtils.join(batch, ", ")
+                        + ". Error : " + getErrorMessage(userResponse);
+                log.error(errorMessage);
+                throw new IdentityProviderException(errorMessage, ExceptionCodes.RESOURCE_RETRIEVAL_FAILED);
+            }
+        }
+        log.debug("Emails of {} out of {} users are successfully retrieved from SCIM endpoint.", userEmails.size(),
+                userNameList.size());
+        return userEmails;
+    }
+
     @Override
     public List<String> getRoleNamesOfUser(String userId) throws IdentityProviderException {
         List<String> roleNames = new ArrayList<>();
@@ -148,7 +202,7 @@ public class DefaultIdentityProviderImpl extends DefaultKeyManagerImpl implement
         }
         try {
             if (response.status() == APIMgtConstants.HTTPStatusCodes.SC_200_OK) {
-                SCIMUser scimUser = (SCIMUser) new GsonDecoder().decode(response, SCIMUser.class);
+                SCIMUser scimUser = (SCIMUser) GSON_DECODER.decode(response, SCIMUser.class);
                 if (scimUser != null) {
                     List<SCIMUser.SCIMUserGroups> roles = scimUser.getGroups();
                     if (roles != null) {
@@ -203,7 +257,7 @@ public class DefaultIdentityProviderImpl extends DefaultKeyManagerImpl implement
         }
         try {
             if (response.status() == APIMgtConstants.HTTPStatusCodes.SC_200_OK) {
-                SCIMUser scimUser = (SCIMUser) new GsonDecoder().decode(response, SCIMUser.class);
+                SCIMUser scimUser = (SCIMUser) GSON_DECODER.decode(response, SCIMUser.class);
                 if (scimUser != null) {
                     List<SCIMUser.SCIMUserGroups> roles = scimUser.getGroups();
                     if (roles != null) {
@@ -251,8 +305,7 @@ public class DefaultIdentityProviderImpl extends DefaultKeyManagerImpl implement
         }
         if (roleResponse.status() == APIMgtConstants.HTTPStatusCodes.SC_200_OK) {
             String responseBody = roleResponse.body().toString();
-            JsonParser parser = new JsonParser();
-            JsonObject parsedResponseBody = (JsonObject) parser.parse(responseBody);
+            JsonObject parsedResponseBody = (JsonObject) JSON_PARSER.parse(responseBody);
             JsonArray role = (JsonArray) parsedResponseBody.get(RESOURCES);
             JsonObject scimGroup = (JsonObject) role.get(0);
             roleId = scimGroup.get(ID).getAsString();
@@ -283,7 +336,7 @@ public class DefaultIdentityProviderImpl extends DefaultKeyManagerImpl implement
         String displayName;
         try {
             if (response.status() == APIMgtConstants.HTTPStatusCodes.SC_200_OK) {
-                SCIMGroup scimGroup = (SCIMGroup) new GsonDecoder().decode(response, SCIMGroup.class);
+                SCIMGroup scimGroup = (SCIMGroup) GSON_DECODER.decode(response, SCIMGroup.class);
                 if (scimGroup != null) {
                     displayName = scimGroup.getDisplayName();
                     String message =
@@ -344,6 +397,10 @@ public class DefaultIdentityProviderImpl extends DefaultKeyManagerImpl implement
         }
     }
 
+    private static String getEmail(JsonObject scimUser) {
+        return scimUser.get(EMAILS).toString().replaceAll("[\\[\\]\"]", "");
+    }
+
     private String getErrorMessage(Response response) {
         StringBuilder errorMessage = new StringBuilder(EMPTY_STRING);
         if (response != null && response.body() != null) {
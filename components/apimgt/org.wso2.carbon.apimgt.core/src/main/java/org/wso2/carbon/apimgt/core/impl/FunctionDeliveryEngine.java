@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.api.RestCallUtil;
+import org.wso2.carbon.apimgt.core.configuration.models.FunctionDeliveryConfigurations;
+import org.wso2.carbon.apimgt.core.dao.FunctionDAO;
+import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+import org.wso2.carbon.apimgt.core.models.Function;
+import org.wso2.carbon.apimgt.core.models.FunctionDelivery;
+import org.wso2.carbon.apimgt.core.models.HttpResponse;
+
+import java.net.URI;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.MediaType;
+
+/**
+ * Delivers event payloads to {@link Function} endpoints concurrently. The number of deliveries made at once to a
+ * single endpoint is limited, so that a slow endpoint cannot hold all the delivery threads. A failed delivery is
+ * persisted through {@link FunctionDAO} and retried with exponential backoff until the maximum number of retries is
+ * reached, which makes delivery at least once even across restarts. A persisted delivery is claimed for a lease time
+ * before it is retried, so that the nodes polling the same database do not retry it at the same time.
+ */
+public class FunctionDeliveryEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(FunctionDeliveryEngine.class);
+
+    private static final long PERMIT_RETRY_DELAY = 100;
+    private static final int POLL_BATCH_SIZE = 100;
+    private static final int MAX_BACKOFF_SHIFT = 20;
+
+    private final FunctionDAO functionDAO;
+    private final RestCallUtil restCallUtil;
+    private final FunctionDeliveryConfigurations deliveryConfigurations;
+    private final ScheduledThreadPoolExecutor executor;
+    private final ConcurrentMap<String, Semaphore> endpointPermits = new ConcurrentHashMap<>();
+    private final Set<String> inFlightDeliveries = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private final LongAdder deliveredCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder retriedCount = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param functionDAO            To persist deliveries which are to be retried
+     * @param restCallUtil           To make the HTTP calls to the function endpoints
+     * @param deliveryConfigurations Thread pool, concurrency and retry configurations
+     */
+    public FunctionDeliveryEngine(FunctionDAO functionDAO, RestCallUtil restCallUtil,
+                                  FunctionDeliveryConfigurations deliveryConfigurations) {
+        this.functionDAO = functionDAO;
+        this.restCallUtil = restCallUtil;
+        this.deliveryConfigurations = deliveryConfigurations;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ScheduledThreadPoolExecutor(Math.max(1, deliveryConfigurations.getDeliveryThreadPoolSize()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "FunctionDeliveryWorker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.setKeepAliveTime(60L, TimeUnit.SECONDS);
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Starts polling for persisted deliveries which are due to be retried. Calling this more than once has no effect.
+     */
+    public void start() {
+        if (started.compareAndSet(false, true)) {
+            long pollInterval = deliveryConfigurations.getRetryPollInterval();
+            executor.scheduleWithFixedDelay(this::pollPendingDeliveries, pollInterval, pollInterval,
+                    TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Stops the engine. Deliveries which are waiting to be retried remain persisted.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Submits a payload to be delivered to a function. This method does not wait for the delivery to be made.
+     *
+     * @param function Function to which the payload is delivered
+     * @param payload  JSON payload of the event
+     */
+    public void submit(Function function, String payload) {
+        FunctionDelivery delivery = new FunctionDelivery(UUID.randomUUID().toString(), function, payload, 0,
+                System.currentTimeMillis());
+        inFlightDeliveries.add(delivery.getId());
+        execute(() -> attemptDelivery(delivery, false), 0);
+    }
+
+    /**
+     * Makes an attempt to deliver a payload, rescheduling it if the endpoint is already serving its maximum number of
+     * concurrent deliveries.
+     *
+     * @param delivery  Delivery to attempt
+     * @param persisted Whether the delivery has been persisted by a previous failed attempt
+     */
+    void attemptDelivery(FunctionDelivery delivery, boolean persisted) {
+        Semaphore permits = endpointPermits.computeIfAbsent(getEndpointKey(delivery.getFunction().getEndpointURI()),
+                key -> new Semaphore(Math.max(1, deliveryConfigurations.getMaxConcurrentDeliveriesPerEndpoint())));
+        if (!permits.tryAcquire()) {
+            execute(() -> attemptDelivery(delivery, persisted), PERMIT_RETRY_DELAY);
+            return;
+        }
+        long startTime = System.nanoTime();
+        boolean delivered;
+        try {
+            delivered = deliver(delivery.getFunction(), delivery.getPayload());
+        } finally {
+            permits.release();
+        }
+
+        if (delivered) {
+            deliveredCount.increment();
+            totalLatency.add(System.nanoTime() - startTime);
+            if (persisted) {
+                deletePendingDelivery(delivery);
+            }
+            inFlightDeliveries.remove(delivery.getId());
+        } else {
+            onFailedAttempt(delivery, persisted);
+        }
+    }
+
+    private boolean deliver(Function function, String payload) {
+        HttpResponse response;
+        try {
+            response = restCallUtil.postRequest(function.getEndpointURI(), null, null, Entity.json(payload),
+                    MediaType.APPLICATION_JSON_TYPE);
+        } catch (APIManagementException e) {
+            log.error("Failed to make http request: -function: " + function.getName() + " -endpoint URI: "
+                    + function.getEndpointURI(), e);
+            return false;
+        }
+        if (response == null) {
+            log.error("No response from function: " + function.getName());
+            return false;
+        }
+        int responseStatusCode = response.getResponseCode();
+        // Successful function invocation. Possible response codes: 200-299
+        if (responseStatusCode / 100 == 2) {
+            if (log.isDebugEnabled()) {
+                log.debug("Function successfully invoked: " + function.getName() + " -Response code: "
+                        + responseStatusCode);
+            }
+            return true;
+        }
+        log.error("Problem invoking function: " + function.getName() + " -Response code: " + responseStatusCode);
+        return false;
+    }
+
+    private void onFailedAttempt(FunctionDelivery delivery, boolean persisted) {
+        if (delivery.getAttempts() >= deliveryConfigurations.getMaxRetries()) {
+            log.error("Giving up delivery to function: " + delivery.getFunction().getName() + " after "
+                    + (delivery.getAttempts() + 1) + " attempts");
+            failedCount.increment();
+            if (persisted) {
+                deletePendingDelivery(delivery);
+            }
+            inFlightDeliveries.remove(delivery.getId());
+            return;
+        }
+
+        long backoff = deliveryConfigurations.getRetryInitialBackoff()
+                << Math.min(delivery.getAttempts(), MAX_BACKOFF_SHIFT);
+        FunctionDelivery retry = delivery.withFailedAttempt(System.currentTimeMillis() + backoff);
+        retriedCount.increment();
+        try {
+            if (persisted) {
+                functionDAO.updatePendingDelivery(retry);
+            } else {
+                functionDAO.addPendingDelivery(retry);
+            }
+            // The persisted delivery is picked up by the poller once it is due
+            inFlightDeliveries.remove(retry.getId());
+        } catch (APIMgtDAOException e) {
+            log.error("Error while persisting delivery to function: " + delivery.getFunction().getName()
+                    + ", retrying without persisting", e);
+            execute(() -> attemptDelivery(retry, persisted), backoff);
+        }
+    }
+
+    void pollPendingDeliveries() {
+        try {
+            long now = System.currentTimeMillis();
+            long leaseExpiryTime = now + TimeUnit.SECONDS.toMillis(deliveryConfigurations.getDeliveryLeaseTime());
+            for (FunctionDelivery delivery : functionDAO.getPendingDeliveries(now, POLL_BATCH_SIZE)) {
+                if (inFlightDeliveries.add(delivery.getId())) {
+                    claimAndDeliver(delivery, leaseExpiryTime);
+                }
+            }
+        } catch (APIMgtDAOException | RuntimeException e) {
+            // An exception would cancel the periodic poll, hence it is only logged
+            log.error("Error while loading pending function deliveries", e);
+        }
+    }
+
+    private void claimAndDeliver(FunctionDelivery delivery, long leaseExpiryTime) throws APIMgtDAOException {
+        boolean claimed = false;
+        try {
+            claimed = functionDAO.claimPendingDelivery(delivery, leaseExpiryTime);
+        } finally {
+            if (!claimed) {
+                // Claimed by another node, or already completed
+                inFlightDeliveries.remove(delivery.getId());
+            }
+        }
+        if (claimed) {
+            execute(() -> attemptDelivery(delivery, true), 0);
+        }
+    }
+
+    private void deletePendingDelivery(FunctionDelivery delivery) {
+        try {
+            functionDAO.deletePendingDelivery(delivery.getId());
+        } catch (APIMgtDAOException e) {
+            log.error("Error while deleting pending delivery to function: " + delivery.getFunction().getName(), e);
+        }
+    }
+
+    private void execute(Runnable task, long delay) {
+        try {
+            executor.schedule(task, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.error("Function delivery engine is shut down, delivery is discarded", e);
+        }
+    }
+
+    private static String getEndpointKey(URI endpointURI) {
+        String authority = endpointURI.getAuthority();
+        return authority != null ? authority : endpointURI.toString();
+    }
+
+    public long getDeliveredCount() {
+        return deliveredCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    public long getRetriedCount() {
+        return retriedCount.sum();
+    }
+
+    /**
+     * Returns the average time taken by a successful delivery attempt.
+     *
+     * @return average latency in milliseconds, or 0 if nothing has been delivered
+     */
+    public double getAverageLatency() {
+        long count = deliveredCount.sum();
+        return count == 0 ? 0 : (double) totalLatency.sum() / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -24,21 +24,17 @@ import com.google.gson.Gson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.apimgt.core.api.EventObserver;
-import org.wso2.carbon.apimgt.core.api.RestCallUtil;
 import org.wso2.carbon.apimgt.core.dao.FunctionDAO;
 import org.wso2.carbon.apimgt.core.exception.APIManagementException;
 import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
 import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
 import org.wso2.carbon.apimgt.core.models.Event;
 import org.wso2.carbon.apimgt.core.models.Function;
-import org.wso2.carbon.apimgt.core.models.HttpResponse;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Map;
-import javax.ws.rs.client.Entity;
-import javax.ws.rs.core.MediaType;
 
 /**
  * Implementation which observes any {@link org.wso2.carbon.apimgt.core.models.Event} in
@@ -47,26 +43,28 @@ import javax.ws.rs.core.MediaType;
  */
 public class FunctionTrigger implements EventObserver {
 
+    private static final Gson gson = new Gson();
+
     private FunctionDAO functionDAO;
-    private RestCallUtil restCallUtil;
+    private FunctionDeliveryEngine deliveryEngine;
 
     private static final Logger log = LoggerFactory.getLogger(FunctionTrigger.class);
 
     /**
      * Constructor.
      *
-     * @param functionDAO  To call {@link org.wso2.carbon.apimgt.core.dao.FunctionDAO} methods
-     * @param restCallUtil To call {@link org.wso2.carbon.apimgt.core.api.RestCallUtil} methods
+     * @param functionDAO    To call {@link org.wso2.carbon.apimgt.core.dao.FunctionDAO} methods
+     * @param deliveryEngine Started engine shared by all triggers, to deliver the event payloads to the functions
      */
-    public FunctionTrigger(FunctionDAO functionDAO, RestCallUtil restCallUtil) {
+    public FunctionTrigger(FunctionDAO functionDAO, FunctionDeliveryEngine deliveryEngine) {
         if (functionDAO == null) {
             throw new IllegalArgumentException("FunctionDAO param must not be null");
         }
-        if (restCallUtil == null) {
-            throw new IllegalArgumentException("RestCallUtil param must not be null");
+        if (deliveryEngine == null) {
+            throw new IllegalArgumentException("FunctionDeliveryEngine param must not be null");
         }
         this.functionDAO = functionDAO;
-        this.restCallUtil = restCallUtil;
+        this.deliveryEngine = deliveryEngine;
     }
 
     /**
@@ -79,6 +77,8 @@ public class FunctionTrigger implements EventObserver {
      * provided by {@link org.wso2.carbon.apimgt.core.impl.FunctionTrigger} which implements
      * {@link org.wso2.carbon.apimgt.core.api.EventObserver} interface.
      * <p>
+     * The functions are invoked asynchronously by the {@link FunctionDeliveryEngine}.
+     * <p>
      * {@inheritDoc}
      *
      * @see org.wso2.carbon.apimgt.core.impl.EventLogger#captureEvent(Event, String, ZonedDateTime, Map)
@@ -109,7 +109,7 @@ public class FunctionTrigger implements EventObserver {
 
         try {
             functions = functionDAO.getUserFunctionsForEvent(username, event);
-            jsonPayload = new Gson().toJson(metadata);
+            jsonPayload = gson.toJson(metadata);
         } catch (APIMgtDAOException e) {
             String message = "Error loading functions for event from DB: -event: " + event + " -Username: " + username;
             log.error(message, new APIManagementException("Problem invoking 'getUserFunctionsForEvent' method in " +
@@ -118,28 +118,11 @@ public class FunctionTrigger implements EventObserver {
 
         if (functions != null && !functions.isEmpty()) {
             for (Function function : functions) {
-                HttpResponse response = null;
-                try {
-                    response = restCallUtil.postRequest(function.getEndpointURI(), null, null,
-                            Entity.json(jsonPayload), MediaType.APPLICATION_JSON_TYPE);
-                } catch (APIManagementException e) {
-                    log.error("Failed to make http request: -function: " + function.getName() + " -endpoint URI: "
-                            + function.getEndpointURI() + " -event: " + event + " -Username: " + username, e);
-                }
-
-                if (response != null) {
-                    int responseStatusCode = response.getResponseCode();
-
-                    // Successful function invocation. Possible response codes: 200-299
-                    // Benefit of integer division used to ensure all possible success response codes covered
-                    if (responseStatusCode / 100 == 2) {
-                        log.info("Function successfully invoked: " + function.getName() + " -event: " + event +
-                                " -Username: " + username + " -Response code: " + responseStatusCode);
-                    } else {
-                        log.error("Problem invoking function: " + function.getName() + " -event: " + event +
-                                " -Username: " + username + " -Response code: " + responseStatusCode);
-                    }
+                if (log.isDebugEnabled()) {
+                    log.debug("Submitting function for invocation: " + function.getName() + " -event: " + event +
+                            " -Username: " + username);
                 }
+                deliveryEngine.submit(function, jsonPayload);
             }
         }
     }
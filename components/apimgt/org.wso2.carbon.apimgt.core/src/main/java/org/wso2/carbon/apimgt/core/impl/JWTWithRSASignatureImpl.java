@@ -21,22 +21,18 @@
 package org.wso2.carbon.apimgt.core.impl;
 
 import com.nimbusds.jose.JOSEException;
-import com.nimbusds.jose.JWSAlgorithm;
-import com.nimbusds.jose.JWSHeader;
-import com.nimbusds.jose.JWSSigner;
 import com.nimbusds.jose.JWSVerifier;
-import com.nimbusds.jose.crypto.RSASSASigner;
 import com.nimbusds.jose.crypto.RSASSAVerifier;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 import org.wso2.carbon.apimgt.core.api.JWTWithRSASignature;
+import org.wso2.carbon.apimgt.core.configuration.models.JWTConfigurations;
 import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.core.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.core.util.SizeBoundedCache;
 
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.security.Key;
-import java.security.KeyStore;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
@@ -47,13 +43,35 @@ import java.security.cert.CertificateException;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
 import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * RSA signatures require a public and private RSA key pair. Get the private key from keyStore to sign and
- * get the public key from trustStore to verify the validity of the signature.
+ * get the public key from trustStore to verify the validity of the signature. Key stores and keys are cached until
+ * the key store file is modified, and a signer is kept per private key, hence an instance should be reused.
  */
 public class JWTWithRSASignatureImpl implements JWTWithRSASignature {
 
+    private static final int MAX_CACHED_SIGNERS = 16;
+
+    private final KeyMaterialCache keyMaterialCache = KeyMaterialCache.getInstance();
+    private final SizeBoundedCache<RSAPrivateKey, PooledRSASigner> signers = new SizeBoundedCache<>(
+            MAX_CACHED_SIGNERS, signer -> 1L);
+    private final JWTConfigurations jwtConfigurations;
+
+    public JWTWithRSASignatureImpl() {
+        this(ServiceReferenceHolder.getInstance().getAPIMConfiguration().getJwtConfigurations());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param jwtConfigurations JWT configurations holding the settings of the signed JWT cache
+     */
+    public JWTWithRSASignatureImpl(JWTConfigurations jwtConfigurations) {
+        this.jwtConfigurations = jwtConfigurations;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -73,10 +91,8 @@ public class JWTWithRSASignatureImpl implements JWTWithRSASignature {
             throw new IllegalArgumentException("The Alias password not be null");
         }
         Key key;
-        try (InputStream inputStream = new FileInputStream(keyStoreFilePath)) {
-            KeyStore keyStore = KeyStore.getInstance(KeyStore.getDefaultType());
-            keyStore.load(inputStream, keyStorePassword.toCharArray());
-            key = keyStore.getKey(alias, aliasPassword.toCharArray());
+        try {
+            key = keyMaterialCache.getKey(keyStoreFilePath, keyStorePassword, alias, aliasPassword);
         } catch (UnrecoverableKeyException | NoSuchAlgorithmException | KeyStoreException | CertificateException |
                 IOException e) {
             throw new APIManagementException("Error getting requested key: Private key not found ", e);
@@ -99,14 +115,7 @@ public class JWTWithRSASignatureImpl implements JWTWithRSASignature {
         if (claimsSet == null) {
             throw new IllegalArgumentException("The JWTClaimsSet must not be null");
         }
-        JWSSigner signer = new RSASSASigner(rsaPrivateKey);
-        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.RS256), claimsSet);
-        try {
-            jwt.sign(signer);
-        } catch (JOSEException e) {
-            throw new APIManagementException("Error signing JWT ", e);
-        }
-        return jwt.serialize();
+        return getSigner(rsaPrivateKey).signAndSerialize(claimsSet);
     }
 
     /**
@@ -126,10 +135,8 @@ public class JWTWithRSASignatureImpl implements JWTWithRSASignature {
         }
 
         Certificate cert;
-        try (FileInputStream inputStream = new FileInputStream(keyStoreFilePath)) {
-            KeyStore keyStore = KeyStore.getInstance(KeyStore.getDefaultType());
-            keyStore.load(inputStream, keyStorePassword.toCharArray());
-            cert = keyStore.getCertificate(alias);
+        try {
+            cert = keyMaterialCache.getCertificate(keyStoreFilePath, keyStorePassword, alias);
         } catch (NoSuchAlgorithmException | CertificateException | KeyStoreException | IOException e) {
             throw new APIManagementException("Error getting requested key: Public key not found ", e);
         }
@@ -159,4 +166,15 @@ public class JWTWithRSASignatureImpl implements JWTWithRSASignature {
         }
         return isSignatureVerified;
     }
+
+    private PooledRSASigner getSigner(RSAPrivateKey rsaPrivateKey) {
+        PooledRSASigner signer = signers.get(rsaPrivateKey);
+        if (signer == null) {
+            signer = new PooledRSASigner(rsaPrivateKey, Runtime.getRuntime().availableProcessors(),
+                    TimeUnit.SECONDS.toMillis(jwtConfigurations.getSignedJWTCacheExpiryTime()),
+                    jwtConfigurations.getSignedJWTCacheMaxEntries());
+            signers.put(rsaPrivateKey, signer);
+        }
+        return signer;
+    }
 }
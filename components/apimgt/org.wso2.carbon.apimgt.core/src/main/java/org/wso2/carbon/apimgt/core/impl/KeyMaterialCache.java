@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.Key;
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.NoSuchAlgorithmException;
+import java.security.UnrecoverableKeyException;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches the key stores read from the file system along with the keys decrypted from them, so that the key store
+ * file is read and the key decrypted once rather than on every signature. A key store is loaded again when its file
+ * is modified. Key stores are cached per password and keys per key password, hence a wrong password is never answered
+ * from the cache.
+ * Singleton: Bill Pugh implementation has been used.
+ */
+final class KeyMaterialCache {
+
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final ConcurrentMap<String, CachedKeyStore> keyStores = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor to make the class singleton.
+     */
+    private KeyMaterialCache() {
+    }
+
+    /**
+     * A static class which holds the instance of KeyMaterialCache class.
+     */
+    private static class SingletonHelper {
+        private static final KeyMaterialCache instance = new KeyMaterialCache();
+    }
+
+    /**
+     * To get the instance of KeyMaterialCache class.
+     *
+     * @return Object of class KeyMaterialCache
+     */
+    static KeyMaterialCache getInstance() {
+        return SingletonHelper.instance;
+    }
+
+    /**
+     * Returns a key from the given key store file.
+     *
+     * @param keyStoreFilePath path to the key store file
+     * @param keyStorePassword password of the key store
+     * @param alias            alias of the key
+     * @param aliasPassword    password of the key
+     * @return key, or {@code null} if there is no key with the given alias
+     * @throws UnrecoverableKeyException if the key cannot be recovered, such as when the key password is wrong
+     * @throws NoSuchAlgorithmException  if the algorithm of the key store or the key is not supported
+     * @throws KeyStoreException         if the default key store type is not supported
+     * @throws CertificateException      if a certificate in the key store cannot be loaded
+     * @throws IOException               if the key store file cannot be read or its password is wrong
+     */
+    Key getKey(String keyStoreFilePath, String keyStorePassword, String alias, String aliasPassword)
+            throws UnrecoverableKeyException, NoSuchAlgorithmException, KeyStoreException, CertificateException,
+            IOException {
+        CachedKeyStore cachedKeyStore = getKeyStore(keyStoreFilePath, keyStorePassword);
+        String keyId = alias + KEY_SEPARATOR + aliasPassword;
+        Key key = cachedKeyStore.keys.get(keyId);
+        if (key == null) {
+            key = cachedKeyStore.keyStore.getKey(alias, aliasPassword.toCharArray());
+            if (key != null) {
+                cachedKeyStore.keys.put(keyId, key);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Returns a certificate from the given key store file.
+     *
+     * @param keyStoreFilePath path to the key store file
+     * @param keyStorePassword password of the key store
+     * @param alias            alias of the certificate
+     * @return certificate, or {@code null} if there is no certificate with the given alias
+     * @throws NoSuchAlgorithmException if the algorithm used to check the integrity of the key store is not supported
+     * @throws KeyStoreException        if the default key store type is not supported
+     * @throws CertificateException     if a certificate in the key store cannot be loaded
+     * @throws IOException              if the key store file cannot be read or its password is wrong
+     */
+    Certificate getCertificate(String keyStoreFilePath, String keyStorePassword, String alias)
+            throws NoSuchAlgorithmException, KeyStoreException, CertificateException, IOException {
+        return getKeyStore(keyStoreFilePath, keyStorePassword).keyStore.getCertificate(alias);
+    }
+
+    private CachedKeyStore getKeyStore(String keyStoreFilePath, String keyStorePassword)
+            throws NoSuchAlgorithmException, KeyStoreException, CertificateException, IOException {
+        File keyStoreFile = new File(keyStoreFilePath);
+        String cacheKey = keyStoreFile.getAbsolutePath() + KEY_SEPARATOR + keyStorePassword;
+        long lastModified = keyStoreFile.lastModified();
+        long length = keyStoreFile.length();
+        CachedKeyStore cachedKeyStore = keyStores.get(cacheKey);
+        if (cachedKeyStore == null || cachedKeyStore.lastModified != lastModified
+                || cachedKeyStore.length != length) {
+            KeyStore keyStore = KeyStore.getInstance(KeyStore.getDefaultType());
+            try (InputStream inputStream = new FileInputStream(keyStoreFile)) {
+                keyStore.load(inputStream, keyStorePassword.toCharArray());
+            }
+            cachedKeyStore = new CachedKeyStore(keyStore, lastModified, length);
+            keyStores.put(cacheKey, cachedKeyStore);
+        }
+        return cachedKeyStore;
+    }
+
+    /**
+     * A loaded key store and the keys decrypted from it, along with the modification time and length of the key
+     * store file at the time it was loaded.
+     */
+    private static final class CachedKeyStore {
+        private final KeyStore keyStore;
+        private final long lastModified;
+        private final long length;
+        private final ConcurrentMap<String, Key> keys = new ConcurrentHashMap<>();
+
+        private CachedKeyStore(KeyStore keyStore, long lastModified, long length) {
+            this.keyStore = keyStore;
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.models.events.LifecycleEvent;
+
+import java.util.UUID;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageListener;
+import javax.jms.TextMessage;
+
+/**
+ * Listens to the lifecycle topic of the broker and drops the cached lifecycle data of an API whenever its lifecycle
+ * is changed on another node, so that it is loaded again from the lifecycle engine.
+ */
+public final class LifecycleChangeListener implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(LifecycleChangeListener.class);
+
+    /**
+     * Identifies the lifecycle changes published by this node, which are already reflected in its cache.
+     */
+    static final String NODE_ID = UUID.randomUUID().toString();
+
+    @Override
+    public void onMessage(Message message) {
+        if (!(message instanceof TextMessage)) {
+            return;
+        }
+        try {
+            LifecycleEvent lifecycleEvent = new Gson().fromJson(((TextMessage) message).getText(),
+                    LifecycleEvent.class);
+            if (lifecycleEvent == null || NODE_ID.equals(lifecycleEvent.getNodeId())) {
+                return;
+            }
+            String lifecycleId = lifecycleEvent.getLifecycleId();
+            log.debug("Lifecycle {} was changed on another node, dropping its cached data", lifecycleId);
+            if (lifecycleId == null) {
+                LifecycleStateCache.getInstance().invalidateAll();
+            } else {
+                LifecycleStateCache.getInstance().invalidate(lifecycleId);
+            }
+        } catch (JMSException | JsonSyntaxException e) {
+            log.error("Error occurred while reading lifecycle change event", e);
+        }
+    }
+}
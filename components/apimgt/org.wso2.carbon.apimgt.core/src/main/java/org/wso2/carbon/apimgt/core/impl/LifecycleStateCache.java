@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.wso2.carbon.apimgt.core.configuration.APIMConfigurationService;
+import org.wso2.carbon.apimgt.core.configuration.models.CacheConfigurations;
+import org.wso2.carbon.apimgt.core.util.SizeBoundedCache;
+import org.wso2.carbon.lcm.core.exception.LifecycleException;
+import org.wso2.carbon.lcm.core.impl.LifecycleState;
+import org.wso2.carbon.lcm.sql.beans.LifecycleHistoryBean;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the lifecycle data retrieved from the lifecycle engine per lifecycle instance, that is per API. The current
+ * state, the data of each state (transitions and checklist items along with their values) and the history of an
+ * instance are cached together in a snapshot which is dropped when the lifecycle of the instance changes, so that
+ * read only lifecycle views are served without going to the lifecycle engine. Changes made on another node drop the
+ * snapshot through the {@link LifecycleChangeListener}, and snapshots also expire after a configured time in case a
+ * change event is lost.
+ * <p>
+ * Cached states and history lists are shared between callers and must not be modified.
+ * Singleton: Bill Pugh implementation has been used.
+ */
+class LifecycleStateCache {
+
+    private final SizeBoundedCache<String, Snapshot> snapshots;
+    private final long expiryTime;
+
+    /**
+     * Private constructor to make the class singleton.
+     */
+    private LifecycleStateCache() {
+        this(APIMConfigurationService.getInstance().getApimConfigurations().getCacheConfigurations());
+    }
+
+    /**
+     * Creates a cache with the given configurations.
+     *
+     * @param cacheConfigurations configurations of the cache
+     */
+    LifecycleStateCache(CacheConfigurations cacheConfigurations) {
+        this.snapshots = new SizeBoundedCache<>(cacheConfigurations.getLifecycleCacheMaxEntries(), snapshot -> 1L);
+        this.expiryTime = TimeUnit.SECONDS.toMillis(cacheConfigurations.getLifecycleCacheExpiryTime());
+    }
+
+    /**
+     * A static class which holds the instance of LifecycleStateCache class.
+     */
+    private static class SingletonHelper {
+        private static final LifecycleStateCache instance = new LifecycleStateCache();
+    }
+
+    /**
+     * To get the instance of LifecycleStateCache class.
+     *
+     * @return Object of class LifecycleStateCache
+     */
+    static LifecycleStateCache getInstance() {
+        return SingletonHelper.instance;
+    }
+
+    /**
+     * Returns the current state of a lifecycle instance, loading it if it is not cached.
+     *
+     * @param uuid   lifecycle instance id
+     * @param loader loads the current state from the lifecycle engine
+     * @return current state
+     * @throws LifecycleException if the state could not be loaded
+     */
+    LifecycleState getCurrentState(String uuid, Loader<LifecycleState> loader) throws LifecycleException {
+        Snapshot snapshot = getSnapshot(uuid);
+        LifecycleState currentState = snapshot.currentState;
+        if (currentState == null) {
+            currentState = loader.load();
+            snapshot.currentState = currentState;
+        }
+        return currentState;
+    }
+
+    /**
+     * Returns the data of the given state of a lifecycle instance, loading it if it is not cached.
+     *
+     * @param uuid   lifecycle instance id
+     * @param state  lifecycle state
+     * @param loader loads the data of the state from the lifecycle engine
+     * @return data of the state
+     * @throws LifecycleException if the data could not be loaded
+     */
+    LifecycleState getStateData(String uuid, String state, Loader<LifecycleState> loader) throws LifecycleException {
+        Snapshot snapshot = getSnapshot(uuid);
+        LifecycleState stateData = snapshot.stateData.get(state);
+        if (stateData == null) {
+            stateData = loader.load();
+            if (stateData != null) {
+                snapshot.stateData.put(state, stateData);
+            }
+        }
+        return stateData;
+    }
+
+    /**
+     * Returns the history of a lifecycle instance, loading it if it is not cached.
+     *
+     * @param uuid   lifecycle instance id
+     * @param loader loads the history from the lifecycle engine
+     * @return unmodifiable history
+     * @throws LifecycleException if the history could not be loaded
+     */
+    List<LifecycleHistoryBean> getHistory(String uuid, Loader<List<LifecycleHistoryBean>> loader)
+            throws LifecycleException {
+        Snapshot snapshot = getSnapshot(uuid);
+        List<LifecycleHistoryBean> history = snapshot.history;
+        if (history == null) {
+            List<LifecycleHistoryBean> loadedHistory = loader.load();
+            if (loadedHistory == null) {
+                return null;
+            }
+            history = Collections.unmodifiableList(new ArrayList<>(loadedHistory));
+            snapshot.history = history;
+        }
+        return history;
+    }
+
+    /**
+     * Drops the cached data of a lifecycle instance. Loads which are in progress complete on the dropped snapshot,
+     * hence data loaded before the change is never cached.
+     *
+     * @param uuid lifecycle instance id
+     */
+    void invalidate(String uuid) {
+        snapshots.invalidate(uuid);
+    }
+
+    /**
+     * Drops the cached data of all lifecycle instances.
+     */
+    void invalidateAll() {
+        snapshots.invalidateAll();
+    }
+
+    long getHitCount() {
+        return snapshots.getHitCount();
+    }
+
+    long getMissCount() {
+        return snapshots.getMissCount();
+    }
+
+    private Snapshot getSnapshot(String uuid) {
+        long now = System.currentTimeMillis();
+        Snapshot snapshot = snapshots.get(uuid);
+        if (snapshot != null && now < snapshot.expiresAt) {
+            return snapshot;
+        }
+        if (snapshot != null) {
+            snapshots.invalidate(uuid);
+        }
+        Snapshot newSnapshot = new Snapshot(now + expiryTime);
+        Snapshot existing = snapshots.putIfAbsent(uuid, newSnapshot);
+        return existing == null ? newSnapshot : existing;
+    }
+
+    /**
+     * Loads lifecycle data from the lifecycle engine.
+     *
+     * @param <T> type of the data
+     */
+    interface Loader<T> {
+        T load() throws LifecycleException;
+    }
+
+    /**
+     * Lifecycle data of an instance cached so far, along with the time it expires.
+     */
+    private static final class Snapshot {
+        private final Map<String, LifecycleState> stateData = new ConcurrentHashMap<>();
+        private final long expiresAt;
+        private volatile LifecycleState currentState;
+        private volatile List<LifecycleHistoryBean> history;
+
+        private Snapshot(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+    }
+}
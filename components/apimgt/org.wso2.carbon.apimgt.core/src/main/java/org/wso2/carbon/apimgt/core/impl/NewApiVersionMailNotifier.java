@@ -24,21 +24,12 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.apimgt.core.configuration.models.MailConfigurations;
 import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.core.exception.NotificationException;
 import org.wso2.carbon.apimgt.core.internal.ServiceReferenceHolder;
 import org.wso2.carbon.apimgt.core.template.dto.NotificationDTO;
 
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.Properties;
 import java.util.Set;
-import javax.mail.Authenticator;
-import javax.mail.Message;
-import javax.mail.MessagingException;
-import javax.mail.PasswordAuthentication;
-import javax.mail.Session;
-import javax.mail.Transport;
-import javax.mail.internet.InternetAddress;
-import javax.mail.internet.MimeMessage;
 
 
 /**
@@ -48,17 +39,12 @@ public class NewApiVersionMailNotifier extends Notifier {
     private static final Log log = LogFactory.getLog(NewApiVersionMailNotifier.class);
     static MailConfigurations mailConfigurations = ServiceReferenceHolder.getInstance().getAPIMConfiguration().
             getNotificationConfigurations().getMailConfigurations();
-    private static final String SMTP_HOST_NAME = mailConfigurations.getSmtpHostname();
-    private static final String SMTP_AUTH_USER = mailConfigurations.getSmtpAuthUser();
-    private static final String SMTP_AUTH_PWD = mailConfigurations.getSmtpAuthPwd();
 
 
     @Override
     public void sendNotifications(NotificationDTO notificationDTO) throws
             APIManagementException {
 
-
-        Properties props = notificationDTO.getProperties();
         //get Notifier email List
         Set<String> emailList = getEmailNotifierList(notificationDTO);
 
@@ -66,23 +52,15 @@ public class NewApiVersionMailNotifier extends Notifier {
             log.debug("Email Notifier Set is Empty");
             return;
         }
-        for (String mail : emailList) {
-            try {
-                Authenticator auth = new SMTPAuthenticator();
-                Session mailSession = Session.getDefaultInstance(props, auth);
-                MimeMessage message = new MimeMessage(mailSession);
-                notificationDTO.setTitle((String) notificationDTO.getProperty(NotifierConstants.TITLE_KEY));
-                notificationDTO.setMessage((String) notificationDTO.getProperty(NotifierConstants.TEMPLATE_KEY));
-                notificationDTO = loadMailTemplate(notificationDTO);
-                message.setSubject(notificationDTO.getTitle());
-                message.setContent(notificationDTO.getMessage(), NotifierConstants.TEXT_TYPE);
-                message.setFrom(new InternetAddress(mailConfigurations.getFromUser()));
-                message.addRecipient(Message.RecipientType.TO, new InternetAddress(mail));
-                Transport.send(message);
-            } catch (MessagingException e) {
-                log.error("Exception Occurred during Email notification Sending", e);
-            }
-
+        // The template is rendered once, since all the recipients receive the same mail
+        notificationDTO.setTitle((String) notificationDTO.getProperty(NotifierConstants.TITLE_KEY));
+        notificationDTO.setMessage((String) notificationDTO.getProperty(NotifierConstants.TEMPLATE_KEY));
+        notificationDTO = loadMailTemplate(notificationDTO);
+        try {
+            new SMTPMailSender(notificationDTO.getProperties(), mailConfigurations)
+                    .send(notificationDTO.getTitle(), notificationDTO.getMessage(), emailList);
+        } catch (NotificationException e) {
+            log.error("Exception Occurred during Email notification Sending", e);
         }
     }
 
@@ -95,12 +73,9 @@ public class NewApiVersionMailNotifier extends Notifier {
         Set<String> subscriberList = (Set<String>) notificationDTO.
                 getProperty(NotifierConstants.SUBSCRIBERS_PER_API);
         if (!subscriberList.isEmpty()) {
-            for (Iterator<String> it = subscriberList.iterator(); it.hasNext(); ) {
-                String userName = it.next();
-                APIManagerFactory apiManagerFactory = APIManagerFactory.getInstance();
-                String userId = apiManagerFactory.getIdentityProvider().getIdOfUser(userName);
-                mailSet.add(apiManagerFactory.getIdentityProvider().getEmailOfUser(userId));
-            }
+            // Emails are retrieved in bulk to avoid a round trip to the identity provider per subscriber
+            mailSet.addAll(APIManagerFactory.getInstance().getIdentityProvider().getEmailsOfUsers(subscriberList)
+                    .values());
         } else {
             if (log.isDebugEnabled()) {
                 log.debug("Subscriber List is Empty");
@@ -109,17 +84,6 @@ public class NewApiVersionMailNotifier extends Notifier {
         return mailSet;
     }
 
-    /**
-     * Class to Authenticate User.
-     */
-    private static class SMTPAuthenticator extends Authenticator {
-        public PasswordAuthentication getPasswordAuthentication() {
-            String username = SMTP_AUTH_USER;
-            String password = SMTP_AUTH_PWD;
-            return new PasswordAuthentication(username, password);
-        }
-    }
-
     /**
      * Retrieves the message configurations from notificationConfiguration and sets the notification properties to.
      * NotificationDTO
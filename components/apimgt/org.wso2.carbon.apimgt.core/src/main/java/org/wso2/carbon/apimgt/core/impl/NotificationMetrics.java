@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the notifications sent and failed along with the time taken to send them.
+ * Singleton: Bill Pugh implementation has been used.
+ */
+public class NotificationMetrics {
+
+    private final LongAdder sentCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+
+    /**
+     * Private constructor to make the class singleton.
+     */
+    private NotificationMetrics() {
+    }
+
+    /**
+     * A static class which holds the instance of NotificationMetrics class.
+     */
+    private static class SingletonHelper {
+        private static final NotificationMetrics instance = new NotificationMetrics();
+    }
+
+    /**
+     * To get the instance of NotificationMetrics class.
+     *
+     * @return Object of class NotificationMetrics
+     */
+    public static NotificationMetrics getInstance() {
+        return SingletonHelper.instance;
+    }
+
+    /**
+     * Records a batch of notifications which was sent.
+     *
+     * @param recipientCount number of recipients the batch was sent to
+     * @param latencyInNanos time taken to send the batch, including retries
+     */
+    void recordSent(int recipientCount, long latencyInNanos) {
+        sentCount.add(recipientCount);
+        batchCount.increment();
+        totalLatency.add(latencyInNanos);
+    }
+
+    /**
+     * Records a batch of notifications which could not be sent.
+     *
+     * @param recipientCount number of recipients the batch was to be sent to
+     */
+    void recordFailed(int recipientCount) {
+        failedCount.add(recipientCount);
+    }
+
+    public long getSentCount() {
+        return sentCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    /**
+     * Returns the average time taken to send a batch of notifications.
+     *
+     * @return average latency in milliseconds, or 0 if nothing has been sent
+     */
+    public double getAverageLatency() {
+        long count = batchCount.sum();
+        return count == 0 ? 0 : (double) totalLatency.sum() / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Resets all counters.
+     */
+    public void reset() {
+        sentCount.reset();
+        failedCount.reset();
+        batchCount.reset();
+        totalLatency.reset();
+    }
+}
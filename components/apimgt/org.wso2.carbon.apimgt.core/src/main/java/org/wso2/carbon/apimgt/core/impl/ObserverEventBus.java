@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.api.EventObserver;
+import org.wso2.carbon.apimgt.core.configuration.models.EventBusConfigurations;
+import org.wso2.carbon.apimgt.core.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.core.models.Event;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Notifies {@link EventObserver}s asynchronously whenever an {@link Event} occurs in an
+ * {@link org.wso2.carbon.apimgt.core.api.APIMObservable}. Each type of observer has its own lane: a single thread
+ * with a bounded queue, so that events reach an observer in the order they were published and a slow observer does
+ * not delay the others. When the queue of a lane is full the publisher either waits for space (BLOCK) or the event is
+ * dropped for that observer (DISCARD), as configured.
+ * Singleton: Bill Pugh implementation has been used.
+ */
+public class ObserverEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(ObserverEventBus.class);
+
+    static final String OVERFLOW_POLICY_BLOCK = "BLOCK";
+    static final String OVERFLOW_POLICY_DISCARD = "DISCARD";
+
+    private final EventBusConfigurations eventBusConfigurations;
+    private final ConcurrentMap<String, ThreadPoolExecutor> lanes = new ConcurrentHashMap<>();
+    private volatile boolean shutdown;
+
+    private final LongAdder publishedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder deliveredCount = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+
+    /**
+     * Creates an event bus. {@link #getInstance()} should be used instead, outside of tests.
+     *
+     * @param eventBusConfigurations queue size, overflow policy and shutdown configurations
+     */
+    ObserverEventBus(EventBusConfigurations eventBusConfigurations) {
+        this.eventBusConfigurations = eventBusConfigurations;
+    }
+
+    /**
+     * A static class which holds the instance of ObserverEventBus class.
+     */
+    private static class SingletonHelper {
+        private static final ObserverEventBus instance = new ObserverEventBus(
+                ServiceReferenceHolder.getInstance().getAPIMConfiguration().getEventBusConfigurations());
+    }
+
+    /**
+     * To get the instance of ObserverEventBus class.
+     *
+     * @return Object of class ObserverEventBus
+     */
+    public static ObserverEventBus getInstance() {
+        return SingletonHelper.instance;
+    }
+
+    /**
+     * Publishes an event to the given observers. Each observer gets its own copy of the metadata, since observers may
+     * add to it.
+     *
+     * @param event     Event which occurred
+     * @param username  Logged in user's username
+     * @param eventTime Time at which event occurred
+     * @param metadata  Event specific metadata
+     * @param observers Observers to be notified
+     */
+    public void publish(Event event, String username, ZonedDateTime eventTime, Map<String, String> metadata,
+                        Collection<EventObserver> observers) {
+        if (shutdown) {
+            log.warn("Event bus is shut down, event " + event + " is not published");
+            return;
+        }
+        for (EventObserver observer : observers) {
+            Map<String, String> observerMetadata = metadata == null ? null : new HashMap<>(metadata);
+            long publishTime = System.nanoTime();
+            publishedCount.increment();
+            try {
+                getLane(observer).execute(() -> notifyObserver(observer, event, username, eventTime,
+                        observerMetadata, publishTime));
+            } catch (RejectedExecutionException e) {
+                droppedCount.increment();
+                log.warn("Event queue of observer " + observer.getClass().getName() + " is full, event " + event
+                        + " is discarded for it");
+            }
+        }
+    }
+
+    private void notifyObserver(EventObserver observer, Event event, String username, ZonedDateTime eventTime,
+                                Map<String, String> metadata, long publishTime) {
+        try {
+            observer.captureEvent(event, username, eventTime, metadata);
+        } catch (RuntimeException e) {
+            // The lane has to keep serving the following events
+            log.error("Error while notifying observer " + observer.getClass().getName() + " of event " + event, e);
+        } finally {
+            deliveredCount.increment();
+            totalLatency.add(System.nanoTime() - publishTime);
+        }
+    }
+
+    private ThreadPoolExecutor getLane(EventObserver observer) {
+        return lanes.computeIfAbsent(observer.getClass().getName(), this::createLane);
+    }
+
+    private ThreadPoolExecutor createLane(String observerName) {
+        String threadName = "ObserverEventBus-" + observerName.substring(observerName.lastIndexOf('.') + 1);
+        ThreadPoolExecutor lane = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, eventBusConfigurations.getObserverQueueSize())), runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        }, getOverflowHandler());
+        lane.allowCoreThreadTimeOut(true);
+        return lane;
+    }
+
+    private RejectedExecutionHandler getOverflowHandler() {
+        if (OVERFLOW_POLICY_DISCARD.equalsIgnoreCase(eventBusConfigurations.getOverflowPolicy())) {
+            return new ThreadPoolExecutor.AbortPolicy();
+        }
+        return (runnable, executor) -> {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Event bus is shut down");
+            }
+            try {
+                // Waiting for space keeps the events of the lane in order, unlike running the task in the caller
+                executor.getQueue().put(runnable);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting for space in event queue", e);
+            }
+        };
+    }
+
+    /**
+     * Starts accepting events again after {@link #shutdown()}, as when the bundle is restarted. The lanes are created
+     * again as events are published.
+     */
+    public void start() {
+        shutdown = false;
+    }
+
+    /**
+     * Stops accepting events and waits for the queued events to be delivered in order, up to the configured timeout.
+     * The lanes are discarded afterwards, so that the bus can be started again.
+     */
+    public void shutdown() {
+        shutdown = true;
+        Map<String, ThreadPoolExecutor> stoppedLanes = new HashMap<>(lanes);
+        stoppedLanes.values().forEach(ThreadPoolExecutor::shutdown);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(eventBusConfigurations.getShutdownTimeout());
+        try {
+            for (Map.Entry<String, ThreadPoolExecutor> lane : stoppedLanes.entrySet()) {
+                if (!lane.getValue().awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    log.warn(lane.getValue().getQueue().size() + " events were not delivered to observer "
+                            + lane.getKey() + " before shutdown");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            stoppedLanes.forEach(lanes::remove);
+        }
+    }
+
+    /**
+     * Returns the number of events waiting to be delivered to all observers.
+     *
+     * @return total queue depth
+     */
+    public int getQueueDepth() {
+        return lanes.values().stream().mapToInt(lane -> lane.getQueue().size()).sum();
+    }
+
+    /**
+     * Returns the number of events waiting to be delivered to a type of observer.
+     *
+     * @param observerClassName class name of the observer
+     * @return queue depth of the observer, or 0 if no event has been published to it
+     */
+    public int getQueueDepth(String observerClassName) {
+        ThreadPoolExecutor lane = lanes.get(observerClassName);
+        return lane == null ? 0 : lane.getQueue().size();
+    }
+
+    public long getPublishedCount() {
+        return publishedCount.sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public long getDeliveredCount() {
+        return deliveredCount.sum();
+    }
+
+    /**
+     * Returns the average time from publishing an event until an observer has handled it.
+     *
+     * @return average latency in milliseconds, or 0 if no event has been delivered
+     */
+    public double getAverageLatency() {
+        long count = deliveredCount.sum();
+        return count == 0 ? 0 : (double) totalLatency.sum() / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
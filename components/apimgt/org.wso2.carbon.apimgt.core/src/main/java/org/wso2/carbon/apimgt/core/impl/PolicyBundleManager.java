@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.wso2.carbon.apimgt.core.models.policy.ExecutionPlan;
+import org.wso2.carbon.apimgt.core.models.policy.PolicyBundle;
+import org.wso2.carbon.apimgt.core.util.APIUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Holds the rendered execution plans of all throttle policies as a versioned bundle, so that traffic managers can
+ * fetch only the execution plans which changed since the version they last applied. The version is bumped only when
+ * the content of an execution plan changes, and deleted execution plans are kept so that their removal can be
+ * fetched too. The bundle starts from the current time on each initialization, so a version handed out before a
+ * restart gets the complete bundle. The low bits of each version identify the node which handed it out, so a version
+ * handed out by another node behind the same load balancer gets the complete bundle as well.
+ * Singleton: Bill Pugh implementation has been used.
+ */
+public final class PolicyBundleManager {
+
+    private static final int NODE_BITS = 16;
+    private static final long VERSION_STEP = 1L << NODE_BITS;
+    private static final long NODE_MASK = VERSION_STEP - 1;
+
+    private final long nodeTag = ThreadLocalRandom.current().nextLong(VERSION_STEP);
+    private final Map<String, ExecutionPlan> executionPlans = new HashMap<>();
+    private boolean initialized;
+    private long initialVersion;
+    private long version;
+
+    /**
+     * Private constructor to make the class singleton.
+     */
+    private PolicyBundleManager() {
+    }
+
+    /**
+     * A static class which holds the instance of PolicyBundleManager class.
+     */
+    private static class SingletonHelper {
+        private static final PolicyBundleManager instance = new PolicyBundleManager();
+    }
+
+    /**
+     * To get the instance of PolicyBundleManager class.
+     *
+     * @return Object of class PolicyBundleManager
+     */
+    public static PolicyBundleManager getInstance() {
+        return SingletonHelper.instance;
+    }
+
+    public synchronized boolean isInitialized() {
+        return initialized;
+    }
+
+    /**
+     * Replaces the bundle with the execution plans of all the throttle policies.
+     *
+     * @param executionPlansOfPolicies execution plans keyed by their names, keyed by the UUID of their policy
+     */
+    public synchronized void initialize(Map<String, Map<String, String>> executionPlansOfPolicies) {
+        executionPlans.clear();
+        initialVersion = Math.max(System.currentTimeMillis(), (version >> NODE_BITS) + 1) << NODE_BITS | nodeTag;
+        version = initialVersion;
+        for (Map.Entry<String, Map<String, String>> policy : executionPlansOfPolicies.entrySet()) {
+            for (Map.Entry<String, String> executionPlan : policy.getValue().entrySet()) {
+                executionPlans.put(executionPlan.getKey(), new ExecutionPlan(executionPlan.getKey(), policy.getKey(),
+                        executionPlan.getValue(), APIUtils.generateContentHash(executionPlan.getValue()), version));
+            }
+        }
+        initialized = true;
+    }
+
+    /**
+     * Marks the bundle to be initialized again, when the execution plans of a policy could not be updated or a policy
+     * was changed on another node.
+     */
+    public synchronized void invalidate() {
+        initialized = false;
+    }
+
+    /**
+     * Updates the execution plans of a policy. Execution plans whose content did not change keep their version, and
+     * execution plans of the policy which are no longer rendered are deleted. Does nothing until the bundle is
+     * initialized, since the execution plans are then read from the policies themselves.
+     *
+     * @param policyId             UUID of the policy
+     * @param policyExecutionPlans execution plans of the policy keyed by their names
+     */
+    public synchronized void update(String policyId, Map<String, String> policyExecutionPlans) {
+        if (!initialized) {
+            return;
+        }
+        long nextVersion = version + VERSION_STEP;
+        boolean changed = false;
+        for (Map.Entry<String, String> executionPlan : policyExecutionPlans.entrySet()) {
+            String hash = APIUtils.generateContentHash(executionPlan.getValue());
+            ExecutionPlan existing = executionPlans.get(executionPlan.getKey());
+            if (existing == null || !hash.equals(existing.getHash()) || !policyId.equals(existing.getPolicyId())) {
+                executionPlans.put(executionPlan.getKey(), new ExecutionPlan(executionPlan.getKey(), policyId,
+                        executionPlan.getValue(), hash, nextVersion));
+                changed = true;
+            }
+        }
+        for (ExecutionPlan existing : new ArrayList<>(executionPlans.values())) {
+            if (policyId.equals(existing.getPolicyId()) && !existing.isDeleted()
+                    && !policyExecutionPlans.containsKey(existing.getName())) {
+                executionPlans.put(existing.getName(), new ExecutionPlan(existing.getName(), policyId, null, null,
+                        nextVersion));
+                changed = true;
+            }
+        }
+        if (changed) {
+            version = nextVersion;
+        }
+    }
+
+    /**
+     * Deletes the execution plans of a policy.
+     *
+     * @param policyId UUID of the policy
+     */
+    public void remove(String policyId) {
+        update(policyId, new HashMap<>());
+    }
+
+    /**
+     * Returns the execution plans which changed after the given version. If the version was not handed out by this
+     * bundle on this node, the complete set of execution plans is returned instead.
+     *
+     * @param sinceVersion version of the bundle last applied by the caller, or 0 to get all the execution plans
+     * @return the changed execution plans and the current version
+     */
+    public synchronized PolicyBundle getBundle(long sinceVersion) {
+        List<ExecutionPlan> changedExecutionPlans = new ArrayList<>();
+        if ((sinceVersion & NODE_MASK) != nodeTag || sinceVersion < initialVersion || sinceVersion > version) {
+            for (ExecutionPlan executionPlan : executionPlans.values()) {
+                if (!executionPlan.isDeleted()) {
+                    changedExecutionPlans.add(executionPlan);
+                }
+            }
+            return new PolicyBundle(version, true, changedExecutionPlans);
+        }
+        for (ExecutionPlan executionPlan : executionPlans.values()) {
+            if (executionPlan.getVersion() > sinceVersion) {
+                changedExecutionPlans.add(executionPlan);
+            }
+        }
+        return new PolicyBundle(version, false, changedExecutionPlans);
+    }
+}
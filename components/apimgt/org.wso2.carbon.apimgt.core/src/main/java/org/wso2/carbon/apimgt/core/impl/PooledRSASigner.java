@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.core.util.SizeBoundedCache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.security.interfaces.RSAPrivateKey;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Signs JWTs with RS256 using a private key. Initializing a {@link Signature} with a key is costly and a signature
+ * cannot be shared between threads, hence initialized signatures are pooled and reused, a signature being reset to
+ * its initialized state once it signs. Signed JWTs can be cached for a short time, so that a JWT with the same claims
+ * is signed only once.
+ */
+final class PooledRSASigner {
+
+    private static final String SIGNATURE_ALGORITHM = "SHA256withRSA";
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final RSAPrivateKey privateKey;
+    private final int maxPoolSize;
+    private final Queue<Signature> signatures = new ConcurrentLinkedQueue<>();
+    private final SizeBoundedCache<String, CachedJWT> signedJWTs;
+    private final long signedJWTExpiryTime;
+
+    /**
+     * Creates a signer.
+     *
+     * @param privateKey             key with which the JWTs are signed
+     * @param maxPoolSize            maximum number of idle signatures kept for reuse
+     * @param signedJWTExpiryTime    time in milliseconds for which a signed JWT is cached, 0 to disable the cache
+     * @param signedJWTCacheMaxCount maximum number of signed JWTs cached
+     */
+    PooledRSASigner(RSAPrivateKey privateKey, int maxPoolSize, long signedJWTExpiryTime, int signedJWTCacheMaxCount) {
+        this.privateKey = privateKey;
+        this.maxPoolSize = maxPoolSize;
+        this.signedJWTExpiryTime = signedJWTExpiryTime;
+        this.signedJWTs = signedJWTExpiryTime > 0 ? new SizeBoundedCache<>(signedJWTCacheMaxCount, jwt -> 1L) : null;
+    }
+
+    /**
+     * Signs the given claims and serializes the signed JWT into its compact form.
+     *
+     * @param claimsSet claims of the JWT
+     * @return serialized signed JWT
+     * @throws APIManagementException if the JWT cannot be signed
+     */
+    String signAndSerialize(JWTClaimsSet claimsSet) throws APIManagementException {
+        if (signedJWTs == null) {
+            return sign(claimsSet);
+        }
+        // The claims are part of the key, so that a hash collision can never hand out a JWT of other claims
+        String cacheKey = claimsSet.getSubject() + KEY_SEPARATOR + claimsSet.toJSONObject().toJSONString();
+        long now = System.currentTimeMillis();
+        CachedJWT cachedJWT = signedJWTs.get(cacheKey);
+        if (cachedJWT == null || now >= cachedJWT.expiresAt) {
+            cachedJWT = new CachedJWT(sign(claimsSet), now + signedJWTExpiryTime);
+            signedJWTs.put(cacheKey, cachedJWT);
+        }
+        return cachedJWT.jwt;
+    }
+
+    private String sign(JWTClaimsSet claimsSet) throws APIManagementException {
+        byte[] signingInput = new SignedJWT(new JWSHeader(JWSAlgorithm.RS256), claimsSet).getSigningInput();
+        Signature signature = signatures.poll();
+        try {
+            if (signature == null) {
+                signature = Signature.getInstance(SIGNATURE_ALGORITHM);
+                signature.initSign(privateKey);
+            }
+            signature.update(signingInput);
+            Base64URL encodedSignature = Base64URL.encode(signature.sign());
+            // sign() resets the signature, hence it can be reused for the next JWT
+            if (signatures.size() < maxPoolSize) {
+                signatures.offer(signature);
+            }
+            return new String(signingInput, StandardCharsets.UTF_8) + '.' + encodedSignature;
+        } catch (NoSuchAlgorithmException | InvalidKeyException | SignatureException e) {
+            throw new APIManagementException("Error signing JWT ", e);
+        }
+    }
+
+    /**
+     * A signed JWT along with the time it expires from the cache.
+     */
+    private static final class CachedJWT {
+        private final String jwt;
+        private final long expiresAt;
+
+        private CachedJWT(String jwt, long expiresAt) {
+            this.jwt = jwt;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.wso2.carbon.apimgt.core.api.RestCallUtil;
+import org.wso2.carbon.apimgt.core.configuration.models.RestClientConfigurations;
+import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.core.models.HttpResponse;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.MediaType;
+
+/**
+ * {@link RestCallUtil} which limits the number of concurrent requests made to a single host, so that the connections
+ * kept alive by {@link RestCallUtilImpl} are reused instead of new connections being opened under load. Requests
+ * can also be made asynchronously, and the number of requests along with their latency is recorded.
+ */
+public class PooledRestCallUtil implements RestCallUtil {
+
+    private final RestCallUtil restCallUtil;
+    private final RestClientConfigurations restClientConfigurations;
+    private final ConcurrentMap<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor asyncExecutor;
+
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param restCallUtil             To make the requests, once a connection to the host is available
+     * @param restClientConfigurations Connection limit and thread pool configurations
+     */
+    public PooledRestCallUtil(RestCallUtil restCallUtil, RestClientConfigurations restClientConfigurations) {
+        if (restCallUtil == null) {
+            throw new IllegalArgumentException("RestCallUtil param must not be null");
+        }
+        this.restCallUtil = restCallUtil;
+        this.restClientConfigurations = restClientConfigurations;
+        int poolSize = Math.max(1, restClientConfigurations.getAsyncThreadPoolSize());
+        AtomicInteger threadCount = new AtomicInteger();
+        this.asyncExecutor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "RestCallWorker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.asyncExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public HttpResponse loginRequest(URI uri, String username, String password, MediaType acceptContentType)
+            throws APIManagementException {
+        return execute(uri, () -> restCallUtil.loginRequest(uri, username, password, acceptContentType));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public HttpResponse rsaSignedFetchUserRequest(URI uri, String username, String userTenantDomain,
+                                                  String rsaSignedToken, MediaType acceptContentType)
+            throws APIManagementException {
+        return execute(uri, () -> restCallUtil.rsaSignedFetchUserRequest(uri, username, userTenantDomain,
+                rsaSignedToken, acceptContentType));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> captureCookies(HttpResponse response) {
+        return restCallUtil.captureCookies(response);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public HttpResponse getRequest(URI uri, MediaType acceptContentType, List<String> cookies)
+            throws APIManagementException {
+        return execute(uri, () -> restCallUtil.getRequest(uri, acceptContentType, cookies));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public HttpResponse postRequest(URI uri, MediaType acceptContentType, List<String> cookies, Entity entity,
+                                    MediaType payloadContentType) throws APIManagementException {
+        return execute(uri, () -> restCallUtil.postRequest(uri, acceptContentType, cookies, entity,
+                payloadContentType));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public HttpResponse putRequest(URI uri, MediaType acceptContentType, List<String> cookies, Entity entity,
+                                   MediaType payloadContentType) throws APIManagementException {
+        return execute(uri, () -> restCallUtil.putRequest(uri, acceptContentType, cookies, entity,
+                payloadContentType));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public HttpResponse deleteRequest(URI uri, MediaType acceptContentType, List<String> cookies)
+            throws APIManagementException {
+        return execute(uri, () -> restCallUtil.deleteRequest(uri, acceptContentType, cookies));
+    }
+
+    /**
+     * Asynchronous variant of {@link #getRequest(URI, MediaType, List)}.
+     *
+     * @param uri               URI of the service
+     * @param acceptContentType Content type of the expected response
+     * @param cookies           Cookies to be sent with the request
+     * @return future completed with the response, or exceptionally with an {@link APIManagementException}
+     */
+    public CompletableFuture<HttpResponse> getRequestAsync(URI uri, MediaType acceptContentType,
+                                                           List<String> cookies) {
+        return executeAsync(() -> getRequest(uri, acceptContentType, cookies));
+    }
+
+    /**
+     * Asynchronous variant of {@link #postRequest(URI, MediaType, List, Entity, MediaType)}.
+     *
+     * @param uri                URI of the service
+     * @param acceptContentType  Content type of the expected response
+     * @param cookies            Cookies to be sent with the request
+     * @param entity             Payload of the request
+     * @param payloadContentType Content type of the payload
+     * @return future completed with the response, or exceptionally with an {@link APIManagementException}
+     */
+    public CompletableFuture<HttpResponse> postRequestAsync(URI uri, MediaType acceptContentType,
+                                                            List<String> cookies, Entity entity,
+                                                            MediaType payloadContentType) {
+        return executeAsync(() -> postRequest(uri, acceptContentType, cookies, entity, payloadContentType));
+    }
+
+    /**
+     * Asynchronous variant of {@link #putRequest(URI, MediaType, List, Entity, MediaType)}.
+     *
+     * @param uri                URI of the service
+     * @param acceptContentType  Content type of the expected response
+     * @param cookies            Cookies to be sent with the request
+     * @param entity             Payload of the request
+     * @param payloadContentType Content type of the payload
+     * @return future completed with the response, or exceptionally with an {@link APIManagementException}
+     */
+    public CompletableFuture<HttpResponse> putRequestAsync(URI uri, MediaType acceptContentType,
+                                                           List<String> cookies, Entity entity,
+                                                           MediaType payloadContentType) {
+        return executeAsync(() -> putRequest(uri, acceptContentType, cookies, entity, payloadContentType));
+    }
+
+    /**
+     * Asynchronous variant of {@link #deleteRequest(URI, MediaType, List)}.
+     *
+     * @param uri               URI of the service
+     * @param acceptContentType Content type of the expected response
+     * @param cookies           Cookies to be sent with the request
+     * @return future completed with the response, or exceptionally with an {@link APIManagementException}
+     */
+    public CompletableFuture<HttpResponse> deleteRequestAsync(URI uri, MediaType acceptContentType,
+                                                              List<String> cookies) {
+        return executeAsync(() -> deleteRequest(uri, acceptContentType, cookies));
+    }
+
+    private HttpResponse execute(URI uri, RestCall restCall) throws APIManagementException {
+        if (uri == null) {
+            throw new IllegalArgumentException("The URI must not be null");
+        }
+        Semaphore permits = hostPermits.computeIfAbsent(getHostKey(uri),
+                key -> new Semaphore(Math.max(1, restClientConfigurations.getMaxConnectionsPerHost())));
+        try {
+            if (!permits.tryAcquire(restClientConfigurations.getConnectionAcquireTimeout(), TimeUnit.MILLISECONDS)) {
+                requestCount.increment();
+                failedCount.increment();
+                throw new APIManagementException("Timed out waiting for a connection to " + uri.getAuthority());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new APIManagementException("Interrupted while waiting for a connection to " + uri.getAuthority(),
+                    e);
+        }
+        long startTime = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            HttpResponse response = restCall.call();
+            succeeded = true;
+            return response;
+        } finally {
+            permits.release();
+            requestCount.increment();
+            totalLatency.add(System.nanoTime() - startTime);
+            if (!succeeded) {
+                failedCount.increment();
+            }
+        }
+    }
+
+    private CompletableFuture<HttpResponse> executeAsync(RestCall restCall) {
+        CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+        try {
+            asyncExecutor.execute(() -> {
+                try {
+                    future.complete(restCall.call());
+                } catch (APIManagementException | RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private static String getHostKey(URI uri) {
+        String authority = uri.getAuthority();
+        return authority != null ? authority : uri.toString();
+    }
+
+    /**
+     * Returns the number of requests made, including the failed ones.
+     *
+     * @return number of requests
+     */
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    /**
+     * Returns the average time taken by a request, excluding the time spent waiting for a connection.
+     *
+     * @return average latency in milliseconds, or 0 if no request has been made
+     */
+    public double getAverageLatency() {
+        long count = requestCount.sum();
+        return count == 0 ? 0 : (double) totalLatency.sum() / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * A request made through the wrapped {@link RestCallUtil}.
+     */
+    @FunctionalInterface
+    private interface RestCall {
+        HttpResponse call() throws APIManagementException;
+    }
+}
@@ -28,6 +28,7 @@ import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
@@ -43,9 +44,33 @@ import javax.ws.rs.core.MediaType;
  * Utility class which provides basic methods needed to make a RESTful call to a service.
  * Acts as a REST client.
  * Specifically used in this project to enable inter-cloud REST communication.
+ * <p>
+ * Responses are read fully and connections are not disconnected after a successful request, so that the JDK keeps
+ * them alive and reuses them for the following requests to the same host.
  */
 public class RestCallUtilImpl implements RestCallUtil {
 
+    private final int connectTimeout;
+    private final int readTimeout;
+
+    /**
+     * Creates a REST client without connection and read timeouts.
+     */
+    public RestCallUtilImpl() {
+        this(0, 0);
+    }
+
+    /**
+     * Creates a REST client with the given timeouts. A timeout of zero is interpreted as an infinite timeout.
+     *
+     * @param connectTimeout Connection timeout in milliseconds
+     * @param readTimeout    Read timeout in milliseconds
+     */
+    public RestCallUtilImpl(int connectTimeout, int readTimeout) {
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -64,7 +89,7 @@ public class RestCallUtilImpl implements RestCallUtil {
 
         HttpURLConnection httpConnection = null;
         try {
-            httpConnection = (HttpURLConnection) uri.toURL().openConnection();
+            httpConnection = openConnection(uri);
             httpConnection.setRequestMethod(APIMgtConstants.FunctionsConstants.POST);
             httpConnection.setRequestProperty(APIMgtConstants.FunctionsConstants.CONTENT_TYPE,
                     MediaType.APPLICATION_JSON);
@@ -85,11 +110,11 @@ public class RestCallUtilImpl implements RestCallUtil {
 
             return getResponse(httpConnection);
         } catch (IOException e) {
-            throw new APIManagementException("Connection not established properly ", e);
-        } finally {
+            // Only a failed connection is disconnected, others are kept alive to be reused
             if (httpConnection != null) {
                 httpConnection.disconnect();
             }
+            throw new APIManagementException("Connection not established properly ", e);
         }
     }
 
@@ -119,7 +144,7 @@ public class RestCallUtilImpl implements RestCallUtil {
             loginInfoJsonObj.put(APIMgtConstants.FunctionsConstants.USERNAME, username);
             loginInfoJsonObj.put(APIMgtConstants.FunctionsConstants.USER_TENANT_DOMAIN, userTenantDomain);
 
-            httpConnection = (HttpURLConnection) uri.toURL().openConnection();
+            httpConnection = openConnection(uri);
             httpConnection.setRequestMethod(APIMgtConstants.FunctionsConstants.POST);
             httpConnection.setRequestProperty(APIMgtConstants.FunctionsConstants.CONTENT_TYPE,
                     MediaType.APPLICATION_JSON);
@@ -137,11 +162,11 @@ public class RestCallUtilImpl implements RestCallUtil {
 
             return getResponse(httpConnection);
         } catch (IOException e) {
-            throw new APIManagementException("Connection not established properly ", e);
-        } finally {
+            // Only a failed connection is disconnected, others are kept alive to be reused
             if (httpConnection != null) {
                 httpConnection.disconnect();
             }
+            throw new APIManagementException("Connection not established properly ", e);
         }
     }
 
@@ -175,7 +200,7 @@ public class RestCallUtilImpl implements RestCallUtil {
         }
         HttpURLConnection httpConnection = null;
         try {
-            httpConnection = (HttpURLConnection) uri.toURL().openConnection();
+            httpConnection = openConnection(uri);
             httpConnection.setRequestMethod(APIMgtConstants.FunctionsConstants.GET);
             httpConnection.setDoOutput(true);
             if (acceptContentType != null) {
@@ -191,11 +216,11 @@ public class RestCallUtilImpl implements RestCallUtil {
             }
             return getResponse(httpConnection);
         } catch (IOException e) {
-            throw new APIManagementException("Connection not established properly ", e);
-        } finally {
+            // Only a failed connection is disconnected, others are kept alive to be reused
             if (httpConnection != null) {
                 httpConnection.disconnect();
             }
+            throw new APIManagementException("Connection not established properly ", e);
         }
     }
 
@@ -216,7 +241,7 @@ public class RestCallUtilImpl implements RestCallUtil {
         }
         HttpURLConnection httpConnection = null;
         try {
-            httpConnection = (HttpURLConnection) uri.toURL().openConnection();
+            httpConnection = openConnection(uri);
             httpConnection.setRequestMethod(APIMgtConstants.FunctionsConstants.POST);
             httpConnection.setRequestProperty(APIMgtConstants.FunctionsConstants.CONTENT_TYPE,
                     payloadContentType.toString());
@@ -240,11 +265,11 @@ public class RestCallUtilImpl implements RestCallUtil {
 
             return getResponse(httpConnection);
         } catch (IOException e) {
-            throw new APIManagementException("Connection not established properly ", e);
-        } finally {
+            // Only a failed connection is disconnected, others are kept alive to be reused
             if (httpConnection != null) {
                 httpConnection.disconnect();
             }
+            throw new APIManagementException("Connection not established properly ", e);
         }
     }
 
@@ -265,7 +290,7 @@ public class RestCallUtilImpl implements RestCallUtil {
         }
         HttpURLConnection httpConnection = null;
         try {
-            httpConnection = (HttpURLConnection) uri.toURL().openConnection();
+            httpConnection = openConnection(uri);
             httpConnection.setRequestMethod(APIMgtConstants.FunctionsConstants.PUT);
             httpConnection.setRequestProperty(APIMgtConstants.FunctionsConstants.CONTENT_TYPE,
                     payloadContentType.toString());
@@ -289,11 +314,11 @@ public class RestCallUtilImpl implements RestCallUtil {
 
             return getResponse(httpConnection);
         } catch (IOException e) {
-            throw new APIManagementException("Connection not established properly ", e);
-        } finally {
+            // Only a failed connection is disconnected, others are kept alive to be reused
             if (httpConnection != null) {
                 httpConnection.disconnect();
             }
+            throw new APIManagementException("Connection not established properly ", e);
         }
     }
 
@@ -309,7 +334,7 @@ public class RestCallUtilImpl implements RestCallUtil {
 
         HttpURLConnection httpConnection = null;
         try {
-            httpConnection = (HttpURLConnection) uri.toURL().openConnection();
+            httpConnection = openConnection(uri);
             httpConnection.setRequestMethod(APIMgtConstants.FunctionsConstants.DELETE);
             httpConnection.setDoOutput(true);
             if (acceptContentType != null) {
@@ -326,14 +351,21 @@ public class RestCallUtilImpl implements RestCallUtil {
 
             return getResponse(httpConnection);
         } catch (IOException e) {
-            throw new APIManagementException("Connection not established properly ", e);
-        } finally {
+            // Only a failed connection is disconnected, others are kept alive to be reused
             if (httpConnection != null) {
                 httpConnection.disconnect();
             }
+            throw new APIManagementException("Connection not established properly ", e);
         }
     }
 
+    private HttpURLConnection openConnection(URI uri) throws IOException {
+        HttpURLConnection httpConnection = (HttpURLConnection) uri.toURL().openConnection();
+        httpConnection.setConnectTimeout(connectTimeout);
+        httpConnection.setReadTimeout(readTimeout);
+        return httpConnection;
+    }
+
     /**
      * To get a response from service.
      *
@@ -357,7 +389,29 @@ public class RestCallUtilImpl implements RestCallUtil {
                 response.setHeaderFields(httpConnection.getHeaderFields());
                 response.setResults(results.toString());
             }
+        } else {
+            discardResponse(httpConnection);
         }
         return response;
     }
+
+    /**
+     * Reads and discards the response of a request which did not succeed, since the connection can be reused only
+     * after the response is read. The body of a redirect is in the input stream, while that of an error is in the
+     * error stream.
+     *
+     * @param httpConnection Connection used to make the request
+     * @throws IOException In case of any failures, when trying to read the response
+     */
+    private static void discardResponse(HttpURLConnection httpConnection) throws IOException {
+        try (InputStream responseStream = httpConnection.getResponseCode() < 400 ? httpConnection.getInputStream()
+                : httpConnection.getErrorStream()) {
+            if (responseStream != null) {
+                byte[] buffer = new byte[1024];
+                while (responseStream.read(buffer) != -1) {
+                    // response content is discarded
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.configuration.models.MailConfigurations;
+import org.wso2.carbon.apimgt.core.exception.NotificationException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Properties;
+import javax.mail.Address;
+import javax.mail.Authenticator;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.PasswordAuthentication;
+import javax.mail.SendFailedException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeMessage;
+
+/**
+ * Sends a mail to many recipients over a single SMTP connection. Recipients are added as BCC in batches of the
+ * configured size, and sending a batch is retried with exponential backoff, reconnecting if the connection was lost.
+ */
+public class SMTPMailSender {
+
+    private static final Logger log = LoggerFactory.getLogger(SMTPMailSender.class);
+
+    private final Session session;
+    private final MailConfigurations mailConfigurations;
+    private final NotificationMetrics metrics = NotificationMetrics.getInstance();
+
+    /**
+     * Creates a sender for the given mail session properties.
+     *
+     * @param properties         mail session properties, such as the SMTP host and port
+     * @param mailConfigurations mail configurations holding the credentials and the sender address
+     */
+    public SMTPMailSender(Properties properties, MailConfigurations mailConfigurations) {
+        this.session = Session.getInstance(properties, new SMTPAuthenticator(mailConfigurations.getSmtpAuthUser(),
+                mailConfigurations.getSmtpAuthPwd()));
+        this.mailConfigurations = mailConfigurations;
+    }
+
+    /**
+     * Sends a mail to all the given recipients. A batch which cannot be sent does not stop the remaining batches from
+     * being sent.
+     *
+     * @param subject    subject of the mail
+     * @param content    HTML content of the mail
+     * @param recipients mail addresses of the recipients
+     * @throws NotificationException if the mail could not be sent to some of the recipients
+     */
+    public void send(String subject, String content, Collection<String> recipients) throws NotificationException {
+        List<String> recipientList = new ArrayList<>(recipients);
+        int batchSize = Math.max(1, mailConfigurations.getBccBatchSize());
+        int failedCount = 0;
+        Transport transport;
+        try {
+            transport = session.getTransport();
+        } catch (MessagingException e) {
+            metrics.recordFailed(recipientList.size());
+            throw new NotificationException("Error while creating mail transport", e);
+        }
+        try {
+            for (int from = 0; from < recipientList.size(); from += batchSize) {
+                List<String> batch = recipientList.subList(from, Math.min(from + batchSize, recipientList.size()));
+                try {
+                    sendBatch(transport, subject, content, batch);
+                } catch (MessagingException e) {
+                    log.error("Error while sending mail to " + batch.size() + " recipients", e);
+                    metrics.recordFailed(batch.size());
+                    failedCount += batch.size();
+                }
+            }
+        } finally {
+            close(transport);
+        }
+        if (failedCount > 0) {
+            throw new NotificationException("Mail could not be sent to " + failedCount + " out of "
+                    + recipientList.size() + " recipients");
+        }
+    }
+
+    private void sendBatch(Transport transport, String subject, String content, List<String> batch)
+            throws MessagingException {
+        MimeMessage message = new MimeMessage(session);
+        message.setSubject(subject);
+        message.setContent(content, NotifierConstants.TEXT_TYPE);
+        message.setFrom(new InternetAddress(mailConfigurations.getFromUser()));
+        message.addRecipient(Message.RecipientType.TO, new InternetAddress(mailConfigurations.getFromUser()));
+        for (String recipient : batch) {
+            message.addRecipient(Message.RecipientType.BCC, new InternetAddress(recipient));
+        }
+        message.saveChanges();
+
+        long startTime = System.nanoTime();
+        long backoff = mailConfigurations.getRetryInitialBackoff();
+        for (int attempt = 0; ; attempt++) {
+            try {
+                if (!transport.isConnected()) {
+                    transport.connect();
+                }
+                transport.sendMessage(message, message.getAllRecipients());
+                metrics.recordSent(batch.size(), System.nanoTime() - startTime);
+                return;
+            } catch (MessagingException e) {
+                // Rejected addresses would be rejected again on a retry
+                if (attempt >= mailConfigurations.getMaxRetries() || hasInvalidAddresses(e)) {
+                    throw e;
+                }
+                log.warn("Error while sending mail, retrying in {} ms: {}", backoff, e.getMessage());
+                close(transport);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                backoff *= 2;
+            }
+        }
+    }
+
+    private static boolean hasInvalidAddresses(MessagingException e) {
+        if (e instanceof SendFailedException) {
+            Address[] invalidAddresses = ((SendFailedException) e).getInvalidAddresses();
+            return invalidAddresses != null && invalidAddresses.length > 0;
+        }
+        return false;
+    }
+
+    private static void close(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Error while closing mail transport", e);
+        }
+    }
+
+    /**
+     * Class to Authenticate User.
+     */
+    private static class SMTPAuthenticator extends Authenticator {
+        private final String username;
+        private final String password;
+
+        private SMTPAuthenticator(String username, String password) {
+            this.username = username;
+            this.password = password;
+        }
+
+        @Override
+        protected PasswordAuthentication getPasswordAuthentication() {
+            return new PasswordAuthentication(username, password);
+        }
+    }
+}
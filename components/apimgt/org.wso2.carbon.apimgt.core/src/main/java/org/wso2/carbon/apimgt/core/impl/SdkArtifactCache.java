@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.util.SizeBoundedCache;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * On-disk cache of generated SDK archives. Archives are kept under a directory per cache entry and evicted in least
+ * recently used order once the total size of the cached archives exceeds the configured limit.
+ */
+class SdkArtifactCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SdkArtifactCache.class);
+
+    private final Path cacheDirectory;
+    private final SizeBoundedCache<String, File> archives;
+
+    /**
+     * Creates a cache rooted at the given directory. Any content left in the directory by a previous run is removed
+     * since the cache index is held in memory only.
+     *
+     * @param cacheDirectory directory to store cached archives in
+     * @param maxSizeInBytes maximum total size of cached archives
+     * @throws IOException if the cache directory cannot be created
+     */
+    SdkArtifactCache(Path cacheDirectory, long maxSizeInBytes) throws IOException {
+        this.cacheDirectory = cacheDirectory;
+        this.archives = new SizeBoundedCache<>(maxSizeInBytes, File::length, (key, archive) -> {
+            FileUtils.deleteQuietly(archive.getParentFile());
+            log.debug("Evicted SDK archive {} from cache", archive.getName());
+        });
+        FileUtils.deleteQuietly(cacheDirectory.toFile());
+        Files.createDirectories(cacheDirectory);
+    }
+
+    /**
+     * Returns the cached archive for the given key.
+     *
+     * @param key cache key
+     * @return cached archive or {@code null} if there is no archive for the key
+     */
+    File get(String key) {
+        File archive = archives.get(key);
+        if (archive != null && !archive.exists()) {
+            archives.invalidate(key);
+            return null;
+        }
+        return archive;
+    }
+
+    /**
+     * Moves the given archive into the cache and evicts least recently used archives if the cache is over its limit.
+     * Each archive is stored in a directory of its own which is removed when the archive is evicted.
+     *
+     * @param key     cache key
+     * @param archive generated archive, which is moved into the cache directory
+     * @return the archive file inside the cache
+     * @throws IOException if the archive cannot be moved into the cache
+     */
+    File put(String key, File archive) throws IOException {
+        Path entryDirectory = Files.createTempDirectory(cacheDirectory, key);
+        Path cachedPath = Files.move(archive.toPath(), entryDirectory.resolve(archive.getName()));
+        archives.put(key, cachedPath.toFile());
+        return cachedPath.toFile();
+    }
+
+    long getCurrentSize() {
+        return archives.getCurrentSize();
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.configuration.APIMConfigurationService;
+import org.wso2.carbon.apimgt.core.configuration.models.SdkLanguageConfigurations;
+import org.wso2.carbon.apimgt.core.exception.ApiStoreSdkGenerationException;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs SDK generation on a bounded pool of worker threads and caches the generated archives. Concurrent requests for
+ * the same cache key share a single generation.
+ * Singleton: Bill Pugh implementation has been used.
+ */
+public class SdkGenerationExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(SdkGenerationExecutor.class);
+    private static final String SDK_CACHE_DIRECTORY = "apim-sdk-cache";
+    private static final long BYTES_PER_MB = 1024L * 1024L;
+
+    private final ThreadPoolExecutor executor;
+    private final SdkArtifactCache artifactCache;
+    private final ConcurrentMap<String, Future<File>> inFlightGenerations = new ConcurrentHashMap<>();
+    private final long generationTimeout;
+
+    /**
+     * Private constructor to make the class singleton.
+     */
+    private SdkGenerationExecutor() {
+        SdkLanguageConfigurations sdkLanguageConfigurations = APIMConfigurationService.getInstance()
+                .getApimConfigurations().getSdkLanguageConfigurations();
+        int poolSize = sdkLanguageConfigurations.getSdkGenerationThreadPoolSize();
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(sdkLanguageConfigurations.getSdkGenerationQueueSize()), runnable -> {
+                    Thread thread = new Thread(runnable, "SdkGenerationWorker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        generationTimeout = sdkLanguageConfigurations.getSdkGenerationTimeout();
+        try {
+            artifactCache = new SdkArtifactCache(Paths.get(System.getProperty(APIMgtConstants.JAVA_IO_TMPDIR),
+                    SDK_CACHE_DIRECTORY), sdkLanguageConfigurations.getSdkCacheMaxSize() * BYTES_PER_MB);
+        } catch (IOException e) {
+            throw new IllegalStateException("Error while creating SDK cache directory", e);
+        }
+    }
+
+    /**
+     * A static class which holds the instance of SdkGenerationExecutor class.
+     */
+    private static class SingletonHelper {
+        private static final SdkGenerationExecutor instance = new SdkGenerationExecutor();
+    }
+
+    /**
+     * To get the instance of SdkGenerationExecutor class.
+     *
+     * @return Object of class SdkGenerationExecutor
+     */
+    public static SdkGenerationExecutor getInstance() {
+        return SingletonHelper.instance;
+    }
+
+    /**
+     * Returns the cached SDK archive for the given key, generating it on a worker thread if it is not cached. If a
+     * generation for the same key is already running, the caller waits for that generation instead of starting a
+     * new one.
+     *
+     * @param cacheKey  key identifying the swagger content, SDK language and codegen version
+     * @param generator generates the SDK archive in a dedicated temporary directory, which is removed once the
+     *                  archive is moved into the cache
+     * @return SDK archive inside the cache
+     * @throws ApiStoreSdkGenerationException if the generation fails, times out or cannot be queued
+     */
+    File getOrGenerate(String cacheKey, Callable<File> generator) throws ApiStoreSdkGenerationException {
+        File cachedArchive = artifactCache.get(cacheKey);
+        if (cachedArchive != null) {
+            log.debug("Serving SDK archive {} from cache", cachedArchive.getName());
+            return cachedArchive;
+        }
+
+        GenerationTask generationTask = new GenerationTask(cacheKey, generator);
+        Future<File> generation = inFlightGenerations.putIfAbsent(cacheKey, generationTask);
+        if (generation == null) {
+            generation = generationTask;
+            try {
+                executor.execute(generationTask);
+            } catch (RejectedExecutionException e) {
+                inFlightGenerations.remove(cacheKey, generationTask);
+                throw new ApiStoreSdkGenerationException("Too many SDK generation requests in progress", e);
+            }
+        }
+
+        try {
+            return generation.get(generationTimeout, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiStoreSdkGenerationException("Interrupted while waiting for SDK generation", e);
+        } catch (TimeoutException e) {
+            throw new ApiStoreSdkGenerationException("Timed out while waiting for SDK generation", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ApiStoreSdkGenerationException) {
+                throw (ApiStoreSdkGenerationException) e.getCause();
+            }
+            throw new ApiStoreSdkGenerationException("Error while generating SDK", e.getCause());
+        }
+    }
+
+    /**
+     * Generation of a single SDK archive. The generated archive is moved into the cache and the task removes itself
+     * from the in-flight generations once completed.
+     */
+    private class GenerationTask extends FutureTask<File> {
+        private final String cacheKey;
+
+        private GenerationTask(String cacheKey, Callable<File> generator) {
+            super(() -> {
+                File cachedArchive = artifactCache.get(cacheKey);
+                if (cachedArchive != null) {
+                    return cachedArchive;
+                }
+                File generatedArchive = generator.call();
+                try {
+                    return artifactCache.put(cacheKey, generatedArchive);
+                } finally {
+                    FileUtils.deleteQuietly(generatedArchive.getParentFile());
+                }
+            });
+            this.cacheKey = cacheKey;
+        }
+
+        @Override
+        protected void done() {
+            inFlightGenerations.remove(cacheKey, this);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.configuration.APIMConfigurationService;
+import org.wso2.carbon.apimgt.core.util.APIUtils;
+import org.wso2.carbon.apimgt.core.util.SizeBoundedCache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Caches parsed swagger definitions by the hash of their content, so a definition used by several features during a
+ * single request is parsed only once. The cached models are never handed out; each lookup returns a deep copy which
+ * the caller is free to modify. Callers which only read a definition on a hot path should use
+ * {@link #getConverted(String, String, Function)} instead, which caches a value converted from the model so that no
+ * copy is made on a cache hit.
+ * Singleton: Bill Pugh implementation has been used.
+ */
+public class SwaggerModelCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SwaggerModelCache.class);
+    private static final long BYTES_PER_MB = 1024L * 1024L;
+
+    private final SizeBoundedCache<String, CachedSwagger> swaggers;
+
+    /**
+     * Private constructor to make the class singleton.
+     */
+    private SwaggerModelCache() {
+        long maxSize = APIMConfigurationService.getInstance().getApimConfigurations().getCacheConfigurations()
+                .getSwaggerCacheMaxSize() * BYTES_PER_MB;
+        // The parsed model is estimated to take as much memory as the definition, which holds two bytes per character
+        swaggers = new SizeBoundedCache<>(maxSize, cachedSwagger -> 2L * cachedSwagger.definitionLength);
+    }
+
+    /**
+     * A static class which holds the instance of SwaggerModelCache class.
+     */
+    private static class SingletonHelper {
+        private static final SwaggerModelCache instance = new SwaggerModelCache();
+    }
+
+    /**
+     * To get the instance of SwaggerModelCache class.
+     *
+     * @return Object of class SwaggerModelCache
+     */
+    public static SwaggerModelCache getInstance() {
+        return SingletonHelper.instance;
+    }
+
+    /**
+     * Returns the parsed model of a swagger definition, parsing the definition only if it is not already cached.
+     *
+     * @param swaggerDefinition swagger definition in JSON or YAML
+     * @return copy of the parsed model, or {@code null} if the definition cannot be parsed
+     */
+    public Swagger getSwagger(String swaggerDefinition) {
+        if (swaggerDefinition == null) {
+            return null;
+        }
+        String cacheKey = APIUtils.generateContentHash(swaggerDefinition);
+        CachedSwagger cachedSwagger = swaggers.get(cacheKey);
+        if (cachedSwagger == null) {
+            Swagger swagger = new SwaggerParser().parse(swaggerDefinition);
+            if (swagger == null) {
+                return null;
+            }
+            swaggers.put(cacheKey, new CachedSwagger(swagger, swaggerDefinition.length()));
+            // The parsed model is cached as is, hence a copy is returned
+            return copy(swagger, swaggerDefinition);
+        }
+        return copy(cachedSwagger.swagger, swaggerDefinition);
+    }
+
+    /**
+     * Returns a value converted from the parsed model of a swagger definition. The conversion is made once per
+     * definition and its result is cached along with the model, so the result is shared between callers and must not
+     * be modified. The converter is given the cached model itself and must not modify it either.
+     *
+     * @param swaggerDefinition swagger definition in JSON or YAML
+     * @param conversion        name which identifies the conversion among others made on the same definition
+     * @param converter         converts the parsed model
+     * @param <T>               type of the converted value
+     * @return converted value, or {@code null} if the definition cannot be parsed
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getConverted(String swaggerDefinition, String conversion, Function<Swagger, T> converter) {
+        if (swaggerDefinition == null) {
+            return null;
+        }
+        String cacheKey = APIUtils.generateContentHash(swaggerDefinition);
+        CachedSwagger cachedSwagger = swaggers.get(cacheKey);
+        if (cachedSwagger == null) {
+            Swagger swagger = new SwaggerParser().parse(swaggerDefinition);
+            if (swagger == null) {
+                return null;
+            }
+            cachedSwagger = new CachedSwagger(swagger, swaggerDefinition.length());
+            swaggers.put(cacheKey, cachedSwagger);
+        }
+        Swagger swagger = cachedSwagger.swagger;
+        return (T) cachedSwagger.conversions.computeIfAbsent(conversion, key -> converter.apply(swagger));
+    }
+
+    public long getHitCount() {
+        return swaggers.getHitCount();
+    }
+
+    public long getMissCount() {
+        return swaggers.getMissCount();
+    }
+
+    /**
+     * Returns the ratio of lookups served from the cache.
+     *
+     * @return hit rate between 0 and 1
+     */
+    public double getHitRate() {
+        return swaggers.getHitRate();
+    }
+
+    /**
+     * Returns the estimated memory used by the cached models.
+     *
+     * @return estimated size in bytes
+     */
+    public long getCurrentSize() {
+        return swaggers.getCurrentSize();
+    }
+
+    /**
+     * Removes all cached models.
+     */
+    public void invalidateAll() {
+        swaggers.invalidateAll();
+    }
+
+    /**
+     * Deep copies a parsed model by converting it through the swagger object mapper, which avoids parsing the
+     * definition text again. If the model cannot be converted, the definition is parsed instead.
+     *
+     * @param swagger           model to be copied
+     * @param swaggerDefinition definition the model was parsed from
+     * @return copy of the model
+     */
+    private static Swagger copy(Swagger swagger, String swaggerDefinition) {
+        try {
+            return Json.mapper().convertValue(swagger, Swagger.class);
+        } catch (IllegalArgumentException e) {
+            log.debug("Unable to copy parsed swagger model, parsing the definition again", e);
+            return new SwaggerParser().parse(swaggerDefinition);
+        }
+    }
+
+    /**
+     * Parsed model along with the length of the definition it was parsed from and the values converted from it.
+     */
+    private static final class CachedSwagger {
+        private final Swagger swagger;
+        private final int definitionLength;
+        private final Map<String, Object> conversions = new ConcurrentHashMap<>();
+
+        private CachedSwagger(Swagger swagger, int definitionLength) {
+            this.swagger = swagger;
+            this.definitionLength = definitionLength;
+        }
+    }
+}
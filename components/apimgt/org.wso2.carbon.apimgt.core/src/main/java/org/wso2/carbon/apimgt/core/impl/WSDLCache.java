@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.configuration.APIMConfigurationService;
+import org.wso2.carbon.apimgt.core.configuration.models.CacheConfigurations;
+import org.wso2.carbon.apimgt.core.exception.APIMgtWSDLException;
+import org.wso2.carbon.apimgt.core.models.API;
+import org.wso2.carbon.apimgt.core.models.Label;
+import org.wso2.carbon.apimgt.core.models.WSDLArchiveInfo;
+import org.wso2.carbon.apimgt.core.models.WSDLInfo;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
+import org.wso2.carbon.apimgt.core.util.APIUtils;
+import org.wso2.carbon.apimgt.core.util.SizeBoundedCache;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Caches WSDLs and WSDL archives rewritten with the endpoints of a label. Cache keys contain the last updated times
+ * of the API and its WSDL as well as the access URLs of the label, so an update to any of them results in a new key
+ * and the stale entry is evicted in least recently used order.
+ * Singleton: Bill Pugh implementation has been used.
+ */
+public class WSDLCache {
+
+    private static final Logger log = LoggerFactory.getLogger(WSDLCache.class);
+    private static final long BYTES_PER_MB = 1024L * 1024L;
+
+    private final SizeBoundedCache<String, String> wsdls;
+    private final SizeBoundedCache<String, WSDLArchiveInfo> wsdlArchives;
+    private final Path archiveCacheDirectory;
+
+    /**
+     * Private constructor to make the class singleton.
+     */
+    private WSDLCache() {
+        CacheConfigurations cacheConfigurations = APIMConfigurationService.getInstance().getApimConfigurations()
+                .getCacheConfigurations();
+        // Strings hold two bytes per character
+        wsdls = new SizeBoundedCache<>(cacheConfigurations.getWsdlCacheMaxSize() * BYTES_PER_MB,
+                wsdl -> 2L * wsdl.length());
+        wsdlArchives = new SizeBoundedCache<>(cacheConfigurations.getWsdlArchiveCacheMaxSize() * BYTES_PER_MB,
+                archiveInfo -> new File(archiveInfo.getAbsoluteFilePath()).length(),
+                (key, archiveInfo) -> FileUtils.deleteQuietly(new File(archiveInfo.getLocation())));
+        archiveCacheDirectory = Paths.get(System.getProperty(APIMgtConstants.JAVA_IO_TMPDIR),
+                APIMgtConstants.WSDLConstants.WSDL_ARCHIVE_CACHE_FOLDERNAME);
+        FileUtils.deleteQuietly(archiveCacheDirectory.toFile());
+    }
+
+    /**
+     * A static class which holds the instance of WSDLCache class.
+     */
+    private static class SingletonHelper {
+        private static final WSDLCache instance = new WSDLCache();
+    }
+
+    /**
+     * To get the instance of WSDLCache class.
+     *
+     * @return Object of class WSDLCache
+     */
+    public static WSDLCache getInstance() {
+        return SingletonHelper.instance;
+    }
+
+    /**
+     * Builds the cache key of the WSDL of an API rewritten for a label.
+     *
+     * @param api                 API of the WSDL
+     * @param labelName           name of the label requested
+     * @param label               label used to rewrite the WSDL, can be null if the label does not exist
+     * @param wsdlLastUpdatedTime last updated time of the WSDL or WSDL archive
+     * @return cache key
+     */
+    public static String getCacheKey(API api, String labelName, Label label, String wsdlLastUpdatedTime) {
+        String accessUrls = label == null ? "" : String.valueOf(label.getAccessUrls());
+        return api.getId() + ":" + labelName + ":" + wsdlLastUpdatedTime + ":" + api.getLastUpdatedTime() + ":"
+                + APIUtils.generateContentHash(accessUrls);
+    }
+
+    /**
+     * Returns the cached rewritten WSDL for the given key.
+     *
+     * @param cacheKey key built by {@link #getCacheKey(API, String, Label, String)}
+     * @return rewritten WSDL or {@code null} if it is not cached
+     */
+    public String getWSDL(String cacheKey) {
+        return wsdls.get(cacheKey);
+    }
+
+    /**
+     * Caches a rewritten WSDL.
+     *
+     * @param cacheKey key built by {@link #getCacheKey(API, String, Label, String)}
+     * @param wsdl     rewritten WSDL
+     */
+    public void putWSDL(String cacheKey, String wsdl) {
+        wsdls.put(cacheKey, wsdl);
+    }
+
+    /**
+     * Returns the cached rewritten WSDL archive for the given key.
+     *
+     * @param cacheKey key built by {@link #getCacheKey(API, String, Label, String)}
+     * @return information of the rewritten archive or {@code null} if it is not cached
+     */
+    public WSDLArchiveInfo getWSDLArchive(String cacheKey) {
+        WSDLArchiveInfo archiveInfo = wsdlArchives.get(cacheKey);
+        if (archiveInfo != null && !new File(archiveInfo.getAbsoluteFilePath()).exists()) {
+            wsdlArchives.invalidate(cacheKey);
+            return null;
+        }
+        return archiveInfo;
+    }
+
+    /**
+     * Writes a rewritten WSDL archive into the cache directory and caches it. If another request cached an archive
+     * for the same key in the meantime, the newly written archive is discarded and the cached one is returned.
+     *
+     * @param cacheKey      key built by {@link #getCacheKey(API, String, Label, String)}
+     * @param fileName      file name of the archive
+     * @param archiveWriter writes the rewritten archive to the given stream
+     * @return information of the cached archive
+     * @throws APIMgtWSDLException if an error occurs while rewriting the archive
+     */
+    public WSDLArchiveInfo putWSDLArchive(String cacheKey, String fileName, WSDLArchiveWriter archiveWriter)
+            throws APIMgtWSDLException {
+        Path archiveDirectory = null;
+        try {
+            Files.createDirectories(archiveCacheDirectory);
+            archiveDirectory = Files.createTempDirectory(archiveCacheDirectory, "wsdl");
+            WSDLArchiveInfo archiveInfo = new WSDLArchiveInfo(archiveDirectory.toString(), fileName);
+            try (OutputStream archiveOutputStream = new FileOutputStream(archiveInfo.getAbsoluteFilePath())) {
+                archiveInfo.setWsdlInfo(archiveWriter.write(archiveOutputStream));
+            }
+            WSDLArchiveInfo existingArchiveInfo = wsdlArchives.putIfAbsent(cacheKey, archiveInfo);
+            if (existingArchiveInfo != null) {
+                FileUtils.deleteQuietly(archiveDirectory.toFile());
+                return existingArchiveInfo;
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Cached rewritten WSDL archive " + archiveInfo.getAbsoluteFilePath());
+            }
+            return archiveInfo;
+        } catch (IOException e) {
+            if (archiveDirectory != null) {
+                FileUtils.deleteQuietly(archiveDirectory.toFile());
+            }
+            throw new APIMgtWSDLException(e);
+        } catch (APIMgtWSDLException | RuntimeException e) {
+            if (archiveDirectory != null) {
+                FileUtils.deleteQuietly(archiveDirectory.toFile());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Writes a rewritten WSDL archive to a stream.
+     */
+    public interface WSDLArchiveWriter {
+
+        /**
+         * Writes the rewritten archive.
+         *
+         * @param outputStream stream to write the archive to
+         * @return information of the WSDLs in the archive
+         * @throws IOException         if an error occurs while writing the archive
+         * @throws APIMgtWSDLException if an error occurs while rewriting the WSDLs
+         */
+        WSDLInfo write(OutputStream outputStream) throws IOException, APIMgtWSDLException;
+    }
+}
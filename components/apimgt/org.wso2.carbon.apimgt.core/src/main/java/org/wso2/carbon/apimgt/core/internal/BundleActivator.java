@@ -24,6 +24,7 @@ import com.zaxxer.hikari.HikariDataSource;
 import org.osgi.framework.BundleContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
@@ -31,18 +32,33 @@ import org.osgi.service.jndi.JNDIContextManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.apimgt.core.api.Broker;
+import org.wso2.carbon.apimgt.core.configuration.models.BrokerConfigurations;
+import org.wso2.carbon.apimgt.core.dao.impl.DAOFactory;
 import org.wso2.carbon.apimgt.core.dao.impl.DAOUtil;
 import org.wso2.carbon.apimgt.core.dao.impl.DataSource;
 import org.wso2.carbon.apimgt.core.dao.impl.DataSourceImpl;
+import org.wso2.carbon.apimgt.core.dao.impl.LabelChangeListener;
+import org.wso2.carbon.apimgt.core.dao.impl.PolicyChangeListener;
+import org.wso2.carbon.apimgt.core.dao.impl.SubscriptionChangeListener;
 import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+import org.wso2.carbon.apimgt.core.exception.GatewayException;
+import org.wso2.carbon.apimgt.core.impl.AnalyticsQueryExecutor;
 import org.wso2.carbon.apimgt.core.impl.BrokerImpl;
+import org.wso2.carbon.apimgt.core.impl.LifecycleChangeListener;
+import org.wso2.carbon.apimgt.core.impl.ObserverEventBus;
 import org.wso2.carbon.apimgt.core.util.BrokerUtil;
 import org.wso2.carbon.apimgt.core.util.ThrottlerUtil;
 import org.wso2.carbon.apimgt.core.workflow.WorkflowExtensionsConfigBuilder;
 import org.wso2.carbon.datasource.core.api.DataSourceService;
 import org.wso2.carbon.kernel.configprovider.ConfigProvider;
 
-
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.jms.JMSException;
+import javax.jms.MessageListener;
+import javax.jms.TopicConnection;
 import javax.naming.Context;
 import javax.naming.NamingException;
 
@@ -60,19 +76,29 @@ public class BundleActivator {
     private static final Logger log = LoggerFactory.getLogger(BundleActivator.class);
     private JNDIContextManager jndiContextManager;
     private ConfigProvider configProvider;
+    private HikariDataSource analyticsReadPool;
+    private ScheduledExecutorService rollupScheduler;
+    private TopicConnection labelTopicConnection;
+    private TopicConnection policyTopicConnection;
+    private TopicConnection storeTopicConnection;
+    private TopicConnection lifecycleTopicConnection;
 
     @Activate
     protected void start(BundleContext bundleContext) {
+        // The event bus outlives the bundle, hence it is started again if the bundle was restarted
+        ObserverEventBus.getInstance().start();
         try {
             // Set default timestamp to UTC
             java.util.TimeZone.setDefault(java.util.TimeZone.getTimeZone("Etc/UTC"));
             Context ctx = jndiContextManager.newInitialContext();
-            DataSource dataSourceAMDB = new DataSourceImpl(
-                    (HikariDataSource) ctx.lookup("java:comp/env/jdbc/WSO2AMDB"));
+            HikariDataSource hikariDataSourceAMDB = (HikariDataSource) ctx.lookup("java:comp/env/jdbc/WSO2AMDB");
+            DataSource dataSourceAMDB = new DataSourceImpl(hikariDataSourceAMDB);
             DAOUtil.initialize(dataSourceAMDB);
             boolean isAnalyticsEnabled = ServiceReferenceHolder.getInstance().getAPIMConfiguration()
                     .getAnalyticsConfigurations().isEnabled();
             if (isAnalyticsEnabled) {
+                analyticsReadPool = createAnalyticsReadPool(hikariDataSourceAMDB);
+                DAOUtil.initializeAnalyticsReadDataSource(new DataSourceImpl(analyticsReadPool));
                 DataSource dataSourceStatDB = new DataSourceImpl(
                         (HikariDataSource) ctx.lookup("java:comp/env/jdbc/WSO2AMSTATSDB"));
                 DAOUtil.initializeAnalyticsDataSource(dataSourceStatDB);
@@ -80,6 +106,19 @@ public class BundleActivator {
             WorkflowExtensionsConfigBuilder.build(configProvider);
             Broker broker = new BrokerImpl();
             BrokerUtil.initialize(broker);
+            // Labels and policies are held in memory, hence they are reloaded when changed on another node
+            BrokerConfigurations brokerConfigurations = ServiceReferenceHolder.getInstance().getAPIMConfiguration()
+                    .getBrokerConfigurations();
+            labelTopicConnection = subscribeToChanges(brokerConfigurations.getLabelTopic(),
+                    new LabelChangeListener(), "label");
+            policyTopicConnection = subscribeToChanges(brokerConfigurations.getPolicyTopic(),
+                    new PolicyChangeListener(), "policy");
+            // Subscriptions are validated from memory, hence they follow the subscription events sent to gateways
+            storeTopicConnection = subscribeToChanges(brokerConfigurations.getStoreTopic(),
+                    new SubscriptionChangeListener(), "subscription");
+            // Lifecycle data of APIs is cached, hence it is dropped when the lifecycle is changed on another node
+            lifecycleTopicConnection = subscribeToChanges(brokerConfigurations.getLifecycleTopic(),
+                    new LifecycleChangeListener(), "lifecycle");
         } catch (NamingException e) {
             log.error("Error occurred while jndi lookup", e);
         }
@@ -93,6 +132,131 @@ public class BundleActivator {
         } catch (APIManagementException e) {
             log.error("Error occurred while deploying default policies", e);
         }
+
+        // Backfill the analytics rollups from the existing data the first time they are used, then rebuild them
+        // periodically so that counts missed by events, or changed on other nodes, are corrected
+        rollupScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "AnalyticsRollupReconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rollupScheduler.execute(() -> rebuildRollups(true));
+        int reconcileInterval = ServiceReferenceHolder.getInstance().getAPIMConfiguration()
+                .getAnalyticsConfigurations().getRollupReconcileInterval();
+        if (reconcileInterval > 0) {
+            rollupScheduler.scheduleWithFixedDelay(() -> rebuildRollups(false), reconcileInterval,
+                    reconcileInterval, TimeUnit.SECONDS);
+        }
+    }
+
+    @Deactivate
+    protected void stop() {
+        // Deliver the events which are still queued before the bundle goes away
+        ObserverEventBus.getInstance().shutdown();
+        AnalyticsQueryExecutor.getInstance().shutdown();
+        if (rollupScheduler != null) {
+            rollupScheduler.shutdownNow();
+        }
+        if (analyticsReadPool != null) {
+            DAOUtil.clearAnalyticsReadDataSource();
+            analyticsReadPool.close();
+            analyticsReadPool = null;
+        }
+        if (labelTopicConnection != null) {
+            try {
+                labelTopicConnection.close();
+            } catch (JMSException e) {
+                log.error("Error occurred while closing label topic connection", e);
+            }
+        }
+        if (policyTopicConnection != null) {
+            try {
+                policyTopicConnection.close();
+            } catch (JMSException e) {
+                log.error("Error occurred while closing policy topic connection", e);
+            }
+        }
+        if (storeTopicConnection != null) {
+            try {
+                storeTopicConnection.close();
+            } catch (JMSException e) {
+                log.error("Error occurred while closing store topic connection", e);
+            }
+        }
+        if (lifecycleTopicConnection != null) {
+            try {
+                lifecycleTopicConnection.close();
+            } catch (JMSException e) {
+                log.error("Error occurred while closing lifecycle topic connection", e);
+            }
+        }
+    }
+
+    /**
+     * Subscribes to a topic to which the other nodes publish their changes. A failed subscription is logged rather than
+     * thrown, so that the other subscriptions are still made.
+     *
+     * @param topicName name of the topic
+     * @param listener  listener of the changes
+     * @param changes   kind of the changes, used in the error log
+     * @return topic connection of the subscription, or null if the subscription failed
+     */
+    private static TopicConnection subscribeToChanges(String topicName, MessageListener listener, String changes) {
+        try {
+            return BrokerUtil.subscribeToTopic(topicName, listener);
+        } catch (GatewayException e) {
+            log.error("Error occurred while subscribing to " + changes + " changes of other nodes", e);
+            return null;
+        }
+    }
+
+    /**
+     * Rebuilds the analytics rollups from the APIs, applications and subscriptions in the database.
+     *
+     * @param onlyIfEmpty whether to build the rollups only if there are none yet
+     */
+    private static void rebuildRollups(boolean onlyIfEmpty) {
+        try {
+            if (DAOFactory.getAnalyticsDAO().rebuildRollups(onlyIfEmpty) && onlyIfEmpty) {
+                log.info("Analytics rollups were built from the existing APIs, applications and subscriptions");
+            }
+        } catch (APIMgtDAOException | RuntimeException e) {
+            // a failed run must not cancel the following ones
+            log.error("Error occurred while building analytics rollups", e);
+        }
+    }
+
+    /**
+     * Creates a pool of connections to the API Manager database which is used only by analytics queries. The pool
+     * has the settings of the API Manager pool, but is bounded to the configured analytics query pool size. The
+     * connections are opened with the first analytics query rather than when the bundle is activated.
+     *
+     * @param dataSourceAMDB API Manager datasource
+     * @return analytics read pool
+     */
+    private static HikariDataSource createAnalyticsReadPool(HikariDataSource dataSourceAMDB) {
+        int poolSize = Math.max(1, ServiceReferenceHolder.getInstance().getAPIMConfiguration()
+                .getAnalyticsConfigurations().getQueryPoolSize());
+        HikariDataSource readPool = new HikariDataSource();
+        readPool.setPoolName("WSO2AMAnalyticsReadPool");
+        if (dataSourceAMDB.getDataSource() != null) {
+            readPool.setDataSource(dataSourceAMDB.getDataSource());
+        } else if (dataSourceAMDB.getDataSourceClassName() != null) {
+            readPool.setDataSourceClassName(dataSourceAMDB.getDataSourceClassName());
+        } else {
+            readPool.setJdbcUrl(dataSourceAMDB.getJdbcUrl());
+            if (dataSourceAMDB.getDriverClassName() != null) {
+                readPool.setDriverClassName(dataSourceAMDB.getDriverClassName());
+            }
+        }
+        readPool.setDataSourceProperties(dataSourceAMDB.getDataSourceProperties());
+        readPool.setUsername(dataSourceAMDB.getUsername());
+        readPool.setPassword(dataSourceAMDB.getPassword());
+        readPool.setConnectionTestQuery(dataSourceAMDB.getConnectionTestQuery());
+        readPool.setConnectionTimeout(dataSourceAMDB.getConnectionTimeout());
+        readPool.setMaximumPoolSize(poolSize);
+        readPool.setMinimumIdle(Math.min(poolSize, Math.max(0, dataSourceAMDB.getMinimumIdle())));
+        return readPool;
     }
 
     @Reference(
@@ -33,7 +33,9 @@ public enum Event {
     SUBSCRIPTION_REQUEST("SUBSCRIPTION_REQUEST", Component.API_PUBLISHER),
     DOC_MODIFICATION("DOC_MODIFICATION", Component.API_PUBLISHER),
     APP_CREATION("APP_CREATION", Component.API_STORE), APP_MODIFICATION("APP_MODIFICATION", Component.API_STORE),
-    APP_DELETION("APP_DELETION", Component.API_STORE), FORUM_CREATION("FORUM_CREATION", Component.API_STORE);
+    APP_DELETION("APP_DELETION", Component.API_STORE), FORUM_CREATION("FORUM_CREATION", Component.API_STORE),
+    SUBSCRIPTION_CREATION("SUBSCRIPTION_CREATION", Component.API_STORE),
+    SUBSCRIPTION_DELETION("SUBSCRIPTION_DELETION", Component.API_STORE);
 
     private String event;
     private Component component;
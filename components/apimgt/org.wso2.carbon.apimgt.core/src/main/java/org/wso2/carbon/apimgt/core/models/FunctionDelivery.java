@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.models;
+
+/**
+ * Delivery of an event payload to a {@link Function}, along with the number of attempts made to deliver it and the
+ * time of the next attempt.
+ */
+public final class FunctionDelivery {
+
+    private final String id;
+    private final Function function;
+    private final String payload;
+    private final int attempts;
+    private final long nextAttemptTime;
+
+    /**
+     * Constructor.
+     *
+     * @param id              Unique id of the delivery
+     * @param function        Function to which the payload is delivered
+     * @param payload         JSON payload of the event
+     * @param attempts        Number of failed attempts made to deliver the payload
+     * @param nextAttemptTime Time of the next attempt in milliseconds since epoch
+     */
+    public FunctionDelivery(String id, Function function, String payload, int attempts, long nextAttemptTime) {
+        if (id == null) {
+            throw new IllegalArgumentException("Delivery id must not be null");
+        }
+        if (function == null) {
+            throw new IllegalArgumentException("Function must not be null");
+        }
+        this.id = id;
+        this.function = function;
+        this.payload = payload;
+        this.attempts = attempts;
+        this.nextAttemptTime = nextAttemptTime;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Function getFunction() {
+        return function;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public long getNextAttemptTime() {
+        return nextAttemptTime;
+    }
+
+    /**
+     * Returns a copy of this delivery recording one more failed attempt.
+     *
+     * @param nextAttemptTime Time of the next attempt in milliseconds since epoch
+     * @return copy of the delivery
+     */
+    public FunctionDelivery withFailedAttempt(long nextAttemptTime) {
+        return new FunctionDelivery(id, function, payload, attempts + 1, nextAttemptTime);
+    }
+}
@@ -24,6 +24,7 @@ import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.wso2.carbon.apimgt.core.models.policy.Policy;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 
+import java.time.LocalDateTime;
 import java.util.Objects;
 
 /**
@@ -36,6 +37,8 @@ public final class Subscription {
     private Application application;
     private Policy policy;
     private APIMgtConstants.SubscriptionStatus status;
+    private String createdUser;
+    private LocalDateTime createdTime;
 
     public Subscription(String uuid, Application application, API api, Policy policy) {
         this.uuid = uuid;
@@ -68,6 +71,22 @@ public final class Subscription {
         this.status = status;
     }
 
+    public String getCreatedUser() {
+        return createdUser;
+    }
+
+    public void setCreatedUser(String createdUser) {
+        this.createdUser = createdUser;
+    }
+
+    public LocalDateTime getCreatedTime() {
+        return createdTime;
+    }
+
+    public void setCreatedTime(LocalDateTime createdTime) {
+        this.createdTime = createdTime;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -99,6 +118,8 @@ public final class Subscription {
                 .append("application", application)
                 .append("policy", policy)
                 .append("status", status)
+                .append("createdUser", createdUser)
+                .append("createdTime", createdTime)
                 .toString();
     }
 }
@@ -0,0 +1,73 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.models;
+
+import java.util.Objects;
+
+/**
+ * Represents a request to subscribe an application to an API.
+ */
+public final class SubscriptionRequest {
+
+    private final String apiId;
+    private final String applicationId;
+    private final String tier;
+
+    public SubscriptionRequest(String apiId, String applicationId, String tier) {
+        this.apiId = apiId;
+        this.applicationId = applicationId;
+        this.tier = tier;
+    }
+
+    public String getApiId() {
+        return apiId;
+    }
+
+    public String getApplicationId() {
+        return applicationId;
+    }
+
+    public String getTier() {
+        return tier;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SubscriptionRequest that = (SubscriptionRequest) o;
+        return Objects.equals(apiId, that.apiId) && Objects.equals(applicationId, that.applicationId)
+                && Objects.equals(tier, that.tier);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(apiId, applicationId, tier);
+    }
+
+    @Override
+    public String toString() {
+        return "SubscriptionRequest{apiId='" + apiId + "', applicationId='" + applicationId + "', tier='" + tier
+                + "'}";
+    }
+}
@@ -24,7 +24,9 @@ package org.wso2.carbon.apimgt.core.models.events;
 public class PolicyEvent extends GatewayEvent {
     private String id;
     private String name;
+    private String policyLevel;
     private boolean stopOnQuotaReach;
+    private String nodeId;
 
     public PolicyEvent(String eventType) {
         super(eventType);
@@ -46,6 +48,20 @@ public class PolicyEvent extends GatewayEvent {
         this.name = name;
     }
 
+    /**
+     * Returns the level of the changed policy, one of the levels of {@code ThrottlePolicyConstants}. This is set only
+     * on the events sent to the other nodes so that they render the execution plans of the changed policy.
+     *
+     * @return policy level, or null
+     */
+    public String getPolicyLevel() {
+        return policyLevel;
+    }
+
+    public void setPolicyLevel(String policyLevel) {
+        this.policyLevel = policyLevel;
+    }
+
     public boolean isStopOnQuotaReach() {
         return stopOnQuotaReach;
     }
@@ -53,4 +69,18 @@ public class PolicyEvent extends GatewayEvent {
     public void setStopOnQuotaReach(boolean stopOnQuotaReach) {
         this.stopOnQuotaReach = stopOnQuotaReach;
     }
+
+    /**
+     * Returns the id of the node which changed the policy. This is set only on the events sent to the other nodes so
+     * that they reload their policies.
+     *
+     * @return node id, or null
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
 }
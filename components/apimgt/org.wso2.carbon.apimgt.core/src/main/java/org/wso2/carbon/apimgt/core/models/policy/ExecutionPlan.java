@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.models.policy;
+
+/**
+ * Siddhi execution plan rendered from a throttle policy, along with the hash of its content and the version of the
+ * policy bundle in which it was last changed. A deleted execution plan has no content.
+ */
+public final class ExecutionPlan {
+
+    private final String name;
+    private final String policyId;
+    private final String content;
+    private final String hash;
+    private final long version;
+
+    /**
+     * Constructor.
+     *
+     * @param name     Name of the execution plan
+     * @param policyId UUID of the policy from which the execution plan was rendered
+     * @param content  Execution plan, or null if it was deleted
+     * @param hash     Hash of the execution plan, or null if it was deleted
+     * @param version  Version of the policy bundle in which the execution plan was last changed
+     */
+    public ExecutionPlan(String name, String policyId, String content, String hash, long version) {
+        this.name = name;
+        this.policyId = policyId;
+        this.content = content;
+        this.hash = hash;
+        this.version = version;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPolicyId() {
+        return policyId;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isDeleted() {
+        return content == null;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.models.policy;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Execution plans of the throttle policies which changed after a given version of the policy bundle.
+ */
+public final class PolicyBundle {
+
+    private final long version;
+    private final boolean complete;
+    private final List<ExecutionPlan> executionPlans;
+
+    /**
+     * Constructor.
+     *
+     * @param version        Current version of the policy bundle
+     * @param complete       Whether the execution plans are the complete set rather than the changes since the
+     *                       requested version, in which case execution plans missing from the set should be removed
+     * @param executionPlans Execution plans which changed, including deleted execution plans
+     */
+    public PolicyBundle(long version, boolean complete, List<ExecutionPlan> executionPlans) {
+        this.version = version;
+        this.complete = complete;
+        this.executionPlans = Collections.unmodifiableList(executionPlans);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public List<ExecutionPlan> getExecutionPlans() {
+        return executionPlans;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.template;
+
+import org.wso2.carbon.apimgt.core.models.policy.APIPolicy;
+import org.wso2.carbon.apimgt.core.models.policy.ApplicationPolicy;
+import org.wso2.carbon.apimgt.core.models.policy.CustomPolicy;
+import org.wso2.carbon.apimgt.core.models.policy.SubscriptionPolicy;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Renders the Siddhi execution plans of throttle policies, keyed by the name of the execution plan.
+ */
+public final class ExecutionPlanRenderer {
+
+    private static final String APPLICATION = "application_";
+    private static final String SUBSCRIPTION = "subscription_";
+    private static final String RESOURCE = "resource_";
+    private static final String DEFAULT = "_default";
+    private static final String CUSTOM = "custom_";
+
+    private ExecutionPlanRenderer() {
+    }
+
+    /**
+     * Renders the execution plans of an API policy, one for each pipeline and one for the default condition.
+     *
+     * @param apiPolicy API policy
+     * @return execution plans keyed by their names
+     * @throws APITemplateException if rendering fails
+     */
+    public static Map<String, String> render(APIPolicy apiPolicy) throws APITemplateException {
+        APIThrottlePolicyTemplateBuilder templateBuilder = new APIThrottlePolicyTemplateBuilder(apiPolicy);
+        Map<String, String> executionPlans = new HashMap<>();
+        if (apiPolicy.getPipelines() != null) {
+            executionPlans.putAll(templateBuilder.getThrottlePolicyTemplateForPipelines());
+        }
+        executionPlans.put(RESOURCE + apiPolicy.getPolicyName() + DEFAULT,
+                templateBuilder.getThrottlePolicyTemplateForAPILevelDefaultCondition());
+        return executionPlans;
+    }
+
+    /**
+     * Renders the execution plan of an application policy.
+     *
+     * @param applicationPolicy application policy
+     * @return execution plan keyed by its name
+     * @throws APITemplateException if rendering fails
+     */
+    public static Map<String, String> render(ApplicationPolicy applicationPolicy) throws APITemplateException {
+        return Collections.singletonMap(APPLICATION + applicationPolicy.getPolicyName(),
+                new ApplicationThrottlePolicyTemplateBuilder(applicationPolicy).getThrottlePolicyForAppLevel());
+    }
+
+    /**
+     * Renders the execution plan of a subscription policy.
+     *
+     * @param subscriptionPolicy subscription policy
+     * @return execution plan keyed by its name
+     * @throws APITemplateException if rendering fails
+     */
+    public static Map<String, String> render(SubscriptionPolicy subscriptionPolicy) throws APITemplateException {
+        return Collections.singletonMap(SUBSCRIPTION + subscriptionPolicy.getPolicyName(),
+                new SubscriptionThrottlePolicyTemplateBuilder(subscriptionPolicy)
+                        .getThrottlePolicyForSubscriptionLevel());
+    }
+
+    /**
+     * Renders the execution plan of a custom policy.
+     *
+     * @param customPolicy custom policy
+     * @return execution plan keyed by its name
+     * @throws APITemplateException if rendering fails
+     */
+    public static Map<String, String> render(CustomPolicy customPolicy) throws APITemplateException {
+        return Collections.singletonMap(CUSTOM + customPolicy.getPolicyName(),
+                new CustomThrottlePolicyTemplateBuilder(customPolicy).getThrottlePolicyTemplateForCustomPolicy());
+    }
+}
@@ -21,13 +21,9 @@ package org.wso2.carbon.apimgt.core.template;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
-import org.apache.velocity.app.VelocityEngine;
 import org.wso2.carbon.apimgt.core.models.policy.SubscriptionPolicy;
 
-import java.io.StringWriter;
-
 /**
  * Siddhi query builder for Subscription throttle policy.
  */
@@ -55,19 +51,16 @@ public class SubscriptionThrottlePolicyTemplateBuilder extends ThrottlePolicyTem
             log.debug("Generating Siddhi app for subscriptionLevel :" + subscriptionPolicy.toString());
         }
         //get velocity template for Subscription policy and generate the template
-        StringWriter writer = new StringWriter();
-        VelocityEngine velocityengine = initVelocityEngine();
-        Template template = velocityengine.getTemplate(getTemplatePathForSubscription());
         VelocityContext context = new VelocityContext();
         setConstantContext(context);
         //set values for velocity context
         context.put(POLICY, subscriptionPolicy);
         context.put(QUOTA_POLICY, subscriptionPolicy.getDefaultQuotaPolicy());
-        template.merge(context, writer);
+        String siddhiApp = TemplateService.getInstance().render(getTemplatePathForSubscription(), context);
         if (log.isDebugEnabled()) {
-            log.debug("Generated Siddhi app for policy : " + writer.toString());
+            log.debug("Generated Siddhi app for policy : " + siddhiApp);
         }
-        return writer.toString();
+        return siddhiApp;
     }
 
     /**
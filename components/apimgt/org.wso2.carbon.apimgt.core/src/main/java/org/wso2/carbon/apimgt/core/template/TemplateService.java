@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.template;
+
+import org.apache.velocity.Template;
+import org.apache.velocity.VelocityContext;
+import org.apache.velocity.app.VelocityEngine;
+import org.apache.velocity.exception.ParseErrorException;
+import org.apache.velocity.exception.ResourceNotFoundException;
+import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.log.CommonsLogLogChute;
+import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Renders velocity templates used for gateway configurations and throttle policies. A single velocity engine is
+ * initialized and each template is parsed once and shared between threads, since parsed templates can be merged
+ * concurrently. Templates loaded from the file system are re-parsed when the template file is modified.
+ * Singleton: Bill Pugh implementation has been used.
+ */
+public class TemplateService {
+
+    private static final Logger log = LoggerFactory.getLogger(TemplateService.class);
+    private static final String CLASS_PATH = "classpath";
+    private static final String CLASS_PATH_RESOURCE_LOADER = "classpath.resource.loader.class";
+    private static final String CLASS_PATH_RESOURCE_LOADER_CACHE = "classpath.resource.loader.cache";
+    private static final long MODIFICATION_CHECK_INTERVAL = TimeUnit.SECONDS.toMillis(10);
+
+    private final VelocityEngine velocityEngine;
+    private final ConcurrentMap<String, CachedTemplate> templates = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, RenderMetrics> renderMetrics = new ConcurrentHashMap<>();
+    private final ExecutorService renderExecutor;
+
+    /**
+     * Private constructor to make the class singleton.
+     */
+    private TemplateService() {
+        velocityEngine = new VelocityEngine();
+        velocityEngine.setProperty(RuntimeConstants.RESOURCE_LOADER, CLASS_PATH);
+        velocityEngine.setProperty(CLASS_PATH_RESOURCE_LOADER, ClasspathResourceLoader.class.getName());
+        // Parsed templates are cached by this service, so the engine parses a template on each request
+        velocityEngine.setProperty(CLASS_PATH_RESOURCE_LOADER_CACHE, Boolean.FALSE.toString());
+        velocityEngine.setProperty(VelocityEngine.RUNTIME_LOG_LOGSYSTEM, new CommonsLogLogChute());
+        velocityEngine.init();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        renderExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "TemplateRenderWorker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * A static class which holds the instance of TemplateService class.
+     */
+    private static class SingletonHelper {
+        private static final TemplateService instance = new TemplateService();
+    }
+
+    /**
+     * To get the instance of TemplateService class.
+     *
+     * @return Object of class TemplateService
+     */
+    public static TemplateService getInstance() {
+        return SingletonHelper.instance;
+    }
+
+    /**
+     * Merges the given context with a template.
+     *
+     * @param templatePath class path of the template
+     * @param context      context to be merged with the template
+     * @return rendered template
+     * @throws APITemplateException if the template is not found or cannot be parsed
+     */
+    public String render(String templatePath, VelocityContext context) throws APITemplateException {
+        Template template = getTemplate(templatePath);
+        StringWriter writer = new StringWriter();
+        long startTime = System.nanoTime();
+        template.merge(context, writer);
+        long renderTime = System.nanoTime() - startTime;
+        renderMetrics.computeIfAbsent(templatePath, path -> new RenderMetrics()).record(renderTime);
+        if (log.isDebugEnabled()) {
+            log.debug("Rendered template {} in {} ms", templatePath, TimeUnit.NANOSECONDS.toMillis(renderTime));
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Runs the given render tasks concurrently and returns their results in the order of the tasks. This is used by
+     * bulk operations to generate the configurations of many APIs or policies at once.
+     *
+     * @param renderTasks tasks rendering a template each
+     * @param <T>         type of the result of a task
+     * @return results of the tasks
+     * @throws APITemplateException if any of the tasks fails
+     */
+    public <T> List<T> renderAll(List<RenderTask<T>> renderTasks) throws APITemplateException {
+        List<Future<T>> futures = new ArrayList<>(renderTasks.size());
+        for (RenderTask<T> renderTask : renderTasks) {
+            futures.add(renderExecutor.submit(renderTask::render));
+        }
+        List<T> results = new ArrayList<>(renderTasks.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new APITemplateException("Interrupted while rendering templates", ExceptionCodes.TEMPLATE_EXCEPTION);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof APITemplateException) {
+                throw (APITemplateException) e.getCause();
+            }
+            log.error("Error while rendering templates", e.getCause());
+            throw new APITemplateException("Error while rendering templates", ExceptionCodes.TEMPLATE_EXCEPTION);
+        } finally {
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns the render metrics of a template.
+     *
+     * @param templatePath class path of the template
+     * @return render metrics or {@code null} if the template has not been rendered
+     */
+    public RenderMetrics getRenderMetrics(String templatePath) {
+        return renderMetrics.get(templatePath);
+    }
+
+    /**
+     * Returns the parsed template for the given path, parsing it if it has not been parsed yet or if the template
+     * file has been modified since it was parsed.
+     *
+     * @param templatePath class path of the template
+     * @return parsed template
+     * @throws APITemplateException if the template is not found or cannot be parsed
+     */
+    private Template getTemplate(String templatePath) throws APITemplateException {
+        try {
+            CachedTemplate cachedTemplate = templates.computeIfAbsent(templatePath, this::parseTemplate);
+            long now = System.currentTimeMillis();
+            if (now - cachedTemplate.lastChecked < MODIFICATION_CHECK_INTERVAL) {
+                return cachedTemplate.template;
+            }
+            cachedTemplate.lastChecked = now;
+            if (getLastModified(templatePath) == cachedTemplate.lastModified) {
+                return cachedTemplate.template;
+            }
+            log.info("Template {} has been modified, reloading", templatePath);
+            CachedTemplate reloadedTemplate = parseTemplate(templatePath);
+            templates.replace(templatePath, cachedTemplate, reloadedTemplate);
+            return reloadedTemplate.template;
+        } catch (ResourceNotFoundException e) {
+            log.error("Template " + templatePath + " not Found", e);
+            throw new APITemplateException("Template " + templatePath + " not Found",
+                    ExceptionCodes.TEMPLATE_EXCEPTION);
+        } catch (ParseErrorException e) {
+            log.error("Syntax error in " + templatePath, e);
+            throw new APITemplateException("Syntax error in " + templatePath, ExceptionCodes.TEMPLATE_EXCEPTION);
+        }
+    }
+
+    private CachedTemplate parseTemplate(String templatePath) {
+        long lastModified = getLastModified(templatePath);
+        Template template = velocityEngine.getTemplate(templatePath);
+        log.debug("Parsed template {}", templatePath);
+        return new CachedTemplate(template, lastModified);
+    }
+
+    /**
+     * Returns the last modified time of a template, which is 0 if the template cannot be located or if the last
+     * modified time is not available, for example when the template is loaded from a jar.
+     *
+     * @param templatePath class path of the template
+     * @return last modified time of the template
+     */
+    private static long getLastModified(String templatePath) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        URL templateUrl = classLoader == null ? null : classLoader.getResource(templatePath);
+        if (templateUrl == null) {
+            templateUrl = TemplateService.class.getClassLoader().getResource(templatePath);
+        }
+        if (templateUrl == null) {
+            return 0;
+        }
+        try {
+            URLConnection connection = templateUrl.openConnection();
+            connection.setUseCaches(false);
+            try {
+                return connection.getLastModified();
+            } finally {
+                connection.getInputStream().close();
+            }
+        } catch (IOException e) {
+            log.debug("Unable to read last modified time of template {}", templatePath, e);
+            return 0;
+        }
+    }
+
+    /**
+     * Renders a template as part of a bulk operation.
+     *
+     * @param <T> type of the result
+     */
+    public interface RenderTask<T> {
+
+        /**
+         * Renders the template.
+         *
+         * @return result of the rendering
+         * @throws APITemplateException if the rendering fails
+         */
+        T render() throws APITemplateException;
+    }
+
+    /**
+     * Render count and render time of a template.
+     */
+    public static final class RenderMetrics {
+        private final LongAdder renderCount = new LongAdder();
+        private final LongAdder totalRenderTime = new LongAdder();
+
+        private void record(long renderTimeInNanos) {
+            renderCount.increment();
+            totalRenderTime.add(renderTimeInNanos);
+        }
+
+        public long getRenderCount() {
+            return renderCount.sum();
+        }
+
+        /**
+         * Returns the total time spent rendering the template.
+         *
+         * @return total render time in milliseconds
+         */
+        public long getTotalRenderTime() {
+            return TimeUnit.NANOSECONDS.toMillis(totalRenderTime.sum());
+        }
+
+        /**
+         * Returns the average time taken to render the template.
+         *
+         * @return average render time in milliseconds, or 0 if the template has not been rendered
+         */
+        public double getAverageRenderTime() {
+            long count = renderCount.sum();
+            return count == 0 ? 0 : (double) totalRenderTime.sum() / count / TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+
+    /**
+     * Parsed template along with the last modified time of its source.
+     */
+    private static final class CachedTemplate {
+        private final Template template;
+        private final long lastModified;
+        private volatile long lastChecked;
+
+        private CachedTemplate(Template template, long lastModified) {
+            this.template = template;
+            this.lastModified = lastModified;
+            this.lastChecked = System.currentTimeMillis();
+        }
+    }
+}
@@ -19,10 +19,6 @@
 package org.wso2.carbon.apimgt.core.template;
 
 import org.apache.velocity.VelocityContext;
-import org.apache.velocity.app.VelocityEngine;
-import org.apache.velocity.runtime.RuntimeConstants;
-import org.apache.velocity.runtime.log.CommonsLogLogChute;
-import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
 import org.wso2.carbon.apimgt.core.models.policy.PolicyConstants;
 
 import java.io.File;
@@ -45,8 +41,6 @@ abstract class ThrottlePolicyTemplateBuilder {
     public static final String OR = " OR ";
     public static final String ELSE_CONDITION = "elseCondition";
     public static final String XML_EXTENSION = ".xml";
-    public static final String CLASS_PATH = "classpath";
-    public static final String CLASS_PATH_RESOURCE_LOADER = "classpath.resource.loader.class";
     public static final String ACROSS_ALL = "ACROSS_ALL";
     public static final String PER_USER = "PER_USER";
     public static final String POLICY_LEVEL_API = "POLICY_LEVEL_API";
@@ -80,19 +74,5 @@ abstract class ThrottlePolicyTemplateBuilder {
         context.put(REQUEST_COUNT_TYPE, PolicyConstants.REQUEST_COUNT_TYPE);
         context.put(BANDWIDTH_TYPE, PolicyConstants.BANDWIDTH_TYPE);
     }
-
-    /**
-     * Init velocity engine.
-     *
-     * @return Velocity engine for each throttle template
-     */
-    public VelocityEngine initVelocityEngine() {
-        VelocityEngine velocityengine = new VelocityEngine();
-        velocityengine.setProperty(RuntimeConstants.RESOURCE_LOADER, CLASS_PATH);
-        velocityengine.setProperty(CLASS_PATH_RESOURCE_LOADER, ClasspathResourceLoader.class.getName());
-        velocityengine.setProperty(VelocityEngine.RUNTIME_LOG_LOGSYSTEM, new CommonsLogLogChute());
-        velocityengine.init();
-        return velocityengine;
-    }
     
 }
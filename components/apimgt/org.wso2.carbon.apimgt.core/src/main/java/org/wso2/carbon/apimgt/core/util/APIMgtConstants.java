@@ -27,6 +27,7 @@ public class APIMgtConstants {
 
     public static final String JAVA_IO_TMPDIR = "java.io.tmpdir";
     public static final String ENCODING_UTF_8 = "UTF-8";
+    public static final String MESSAGE_DIGEST_ALGORITHM_SHA256 = "SHA-256";
     public static final String DEPRECATE_PREVIOUS_VERSIONS = "Deprecate old versions after publish the API";
     public static final String REQUIRE_RE_SUBSCRIPTIONS = "Require re-subscription when publish the API";
     public static final String CHECK_LIST_ITEM_CHANGE_EVENT = "CheckListItemChange";
@@ -192,6 +193,8 @@ public class APIMgtConstants {
      */
     public static class WSDLConstants {
         public static final String WSDL_ARCHIVES_FOLDERNAME = "WSDL-archives";
+        public static final String WSDL_ARCHIVE_CACHE_FOLDERNAME = "WSDL-archive-cache";
+        public static final String WSDL_FILE_EXTENSION = ".wsdl";
         public static final String WSDL_ARCHIVE_FILENAME = "wsdl-archive.zip";
         public static final String EXTRACTED_WSDL_ARCHIVE_FOLDERNAME = "extracted";
         public static final String WSDL_VERSION_11 = "1.1";
@@ -291,6 +294,7 @@ public class APIMgtConstants {
         public static final String API_LEVEL = "api";
         public static final String APPLICATION_LEVEL = "application";
         public static final String SUBSCRIPTION_LEVEL = "subscription";
+        public static final String CUSTOM_LEVEL = "custom";
         public static final String COLUMN_CONDITION_GROUP_ID = "CONDITION_GROUP_ID";
         public static final String BLOCKING_CONDITION_STATE = "state";
         public static final String BLOCKING_CONDITION_KEY = "blockingCondition";
@@ -362,6 +366,11 @@ public class APIMgtConstants {
         public static final String API_LC_STATUS = "apiStatus";
         public static final String API_PERMISSION = "apiPermission";
         public static final String API_PROVIDER = "apiProvider";
+        public static final String APPLICATION_ID = "applicationId";
+        public static final String APPLICATION_NAME = "applicationName";
+        public static final String SUBSCRIPTION_ID = "subscriptionId";
+        public static final String CREATED_BY = "createdBy";
+        public static final String CREATED_TIME = "createdTime";
         public static final String EVENT = "event";
         public static final String COMPONENT = "component";
         public static final String EVENT_TIME = "eventTime";
@@ -438,6 +447,10 @@ public class APIMgtConstants {
         public static final String BLOCK_CONDITION_ADD = "BLOCK_CONDITION_ADD";
         public static final String BLOCK_CONDITION_UPDATE = "BLOCK_CONDITION_UPDATE";
         public static final String BLOCK_CONDITION_DELETE = "BLOCK_CONDITION_DELETE";
+        public static final String LABEL_ADD = "LABEL_ADD";
+        public static final String LABEL_UPDATE = "LABEL_UPDATE";
+        public static final String LABEL_DELETE = "LABEL_DELETE";
+        public static final String LIFECYCLE_CHANGE = "LIFECYCLE_CHANGE";
 
     }
 
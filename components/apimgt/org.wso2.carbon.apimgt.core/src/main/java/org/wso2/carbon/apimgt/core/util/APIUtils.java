@@ -31,15 +31,20 @@ import org.wso2.carbon.apimgt.core.exception.APIManagementException;
 import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
 import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.CompositeAPI;
+import org.wso2.carbon.apimgt.core.models.ContinuationToken;
 import org.wso2.carbon.apimgt.core.models.Scope;
 import org.wso2.carbon.apimgt.core.models.UriTemplate;
 import org.wso2.carbon.apimgt.core.models.policy.APIPolicy;
 import org.wso2.carbon.apimgt.core.models.policy.Policy;
 import org.wso2.carbon.lcm.core.impl.LifecycleState;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.time.temporal.Temporal;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -55,6 +60,7 @@ import java.util.StringTokenizer;
 public class APIUtils {
 
     private static final Logger log = LoggerFactory.getLogger(APIUtils.class);
+    private static final char CONTINUATION_TOKEN_SEPARATOR = '\u0000';
 
     /**
      * Checks if debug log is enabled and logs the message
@@ -555,4 +561,62 @@ public class APIUtils {
         }
         return ipAddressinLong;
     }
+
+    /**
+     * Generates a SHA-256 hash of the given content. Used to key caches by content rather than by identifier.
+     *
+     * @param content content to be hashed
+     * @return hex encoded SHA-256 hash of the content
+     */
+    public static String generateContentHash(String content) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(APIMgtConstants.MESSAGE_DIGEST_ALGORITHM_SHA256);
+            byte[] digest = messageDigest.digest(content.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(String.format("%02x", b & 0xff));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is mandated for every Java platform implementation
+            throw new IllegalStateException("SHA-256 message digest is not available", e);
+        }
+    }
+
+    /**
+     * Encodes the position of a keyset paginated listing into an opaque string which can be handed to clients.
+     *
+     * @param token position in the listing
+     * @return URL safe encoded token
+     */
+    public static String encodeContinuationToken(ContinuationToken token) {
+        String value = token.getSortValue() + CONTINUATION_TOKEN_SEPARATOR + token.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token created by {@link #encodeContinuationToken(ContinuationToken)}.
+     *
+     * @param encodedToken encoded token, can be null or empty when the listing starts from the beginning
+     * @return position in the listing, or {@code null} if no token is given
+     * @throws APIManagementException if the token is malformed
+     */
+    public static ContinuationToken decodeContinuationToken(String encodedToken) throws APIManagementException {
+        if (StringUtils.isEmpty(encodedToken)) {
+            return null;
+        }
+        String value;
+        try {
+            value = new String(Base64.getUrlDecoder().decode(encodedToken), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new APIManagementException("Invalid continuation token: " + encodedToken, e,
+                    ExceptionCodes.INVALID_CONTINUATION_TOKEN);
+        }
+        int separatorIndex = value.indexOf(CONTINUATION_TOKEN_SEPARATOR);
+        if (separatorIndex < 0 || value.indexOf(CONTINUATION_TOKEN_SEPARATOR, separatorIndex + 1) >= 0) {
+            throw new APIManagementException("Invalid continuation token: " + encodedToken,
+                    ExceptionCodes.INVALID_CONTINUATION_TOKEN);
+        }
+        return new ContinuationToken(value.substring(0, separatorIndex), value.substring(separatorIndex + 1));
+    }
 }
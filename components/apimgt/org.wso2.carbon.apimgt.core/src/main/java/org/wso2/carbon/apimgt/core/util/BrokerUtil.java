@@ -28,12 +28,14 @@ import org.wso2.carbon.apimgt.core.exception.GatewayException;
 import org.wso2.carbon.apimgt.core.models.events.GatewayEvent;
 
 import javax.jms.JMSException;
+import javax.jms.MessageListener;
 import javax.jms.Session;
 import javax.jms.TextMessage;
 import javax.jms.Topic;
 import javax.jms.TopicConnection;
 import javax.jms.TopicPublisher;
 import javax.jms.TopicSession;
+import javax.jms.TopicSubscriber;
 
 /**
  * The util class to handle broker related operations
@@ -54,6 +56,15 @@ public class BrokerUtil {
         BrokerUtil.broker = broker;
     }
 
+    /**
+     * Checks whether the broker has been initialized
+     *
+     * @return true if events can be published to the broker
+     */
+    public static boolean isInitialized() {
+        return broker != null;
+    }
+
     /**
      * Publish to broker topic
      *
@@ -109,6 +120,46 @@ public class BrokerUtil {
         }
     }
 
+    /**
+     * Subscribe to broker topic. The messages are delivered to the listener until the returned connection is closed.
+     *
+     * @param topicName topic name to subscribe to
+     * @param listener  listener to which the messages published to the topic are delivered
+     * @return topic connection of the subscription, which has to be closed to unsubscribe
+     * @throws GatewayException if the subscription cannot be created
+     */
+    public static TopicConnection subscribeToTopic(String topicName, MessageListener listener)
+            throws GatewayException {
+        TopicConnection topicConnection = null;
+        try {
+            topicConnection = getTopicConnection();
+            TopicSession topicSession = topicConnection.createTopicSession(false, Session.AUTO_ACKNOWLEDGE);
+            TopicSubscriber topicSubscriber = topicSession.createSubscriber(topicSession.createTopic(topicName));
+            topicSubscriber.setMessageListener(listener);
+            topicConnection.start();
+            return topicConnection;
+        } catch (JMSException e) {
+            closeQuietly(topicConnection, topicName);
+            String errorMessage = "Error occurred while subscribing to JMS topic :" + topicName;
+            log.error(errorMessage, e);
+            throw new GatewayException(errorMessage, ExceptionCodes.GATEWAY_EXCEPTION);
+        } catch (BrokerException e) {
+            String errorMessage = "Error occurred while obtaining broker topic connection for topic : " + topicName;
+            log.error(errorMessage, e);
+            throw new GatewayException(errorMessage, ExceptionCodes.GATEWAY_EXCEPTION);
+        }
+    }
+
+    private static void closeQuietly(TopicConnection topicConnection, String topicName) {
+        if (topicConnection != null) {
+            try {
+                topicConnection.close();
+            } catch (JMSException e) {
+                log.error("Error occurred while closing topic connection for topic : " + topicName);
+            }
+        }
+    }
+
     /**
      * Retrieve a new TopicConnection from broker connection pool
      *
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Thread safe least recently used cache bounded by the total size of its values. The size of a value is determined
+ * by the given size estimator, which can return the length of a string, the size of a file on disk, or simply 1 to
+ * bound the cache by number of entries.
+ *
+ * @param <K> type of the cache key
+ * @param <V> type of the cached value
+ */
+public class SizeBoundedCache<K, V> {
+
+    private final Map<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final long maxSize;
+    private final ToLongFunction<V> sizeEstimator;
+    private final RemovalListener<K, V> removalListener;
+    private long currentSize;
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * Creates a cache without a removal listener.
+     *
+     * @param maxSize       maximum total size of the cached values
+     * @param sizeEstimator estimates the size of a value
+     */
+    public SizeBoundedCache(long maxSize, ToLongFunction<V> sizeEstimator) {
+        this(maxSize, sizeEstimator, null);
+    }
+
+    /**
+     * Creates a cache which notifies the given listener when a value is evicted or invalidated.
+     *
+     * @param maxSize         maximum total size of the cached values
+     * @param sizeEstimator   estimates the size of a value
+     * @param removalListener listener notified when a value is removed from the cache
+     */
+    public SizeBoundedCache(long maxSize, ToLongFunction<V> sizeEstimator, RemovalListener<K, V> removalListener) {
+        this.maxSize = maxSize;
+        this.sizeEstimator = sizeEstimator;
+        this.removalListener = removalListener;
+    }
+
+    /**
+     * Returns the cached value for the given key.
+     *
+     * @param key cache key
+     * @return cached value or {@code null} if there is no value for the key
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.value;
+    }
+
+    /**
+     * Adds a value to the cache and evicts least recently used values if the cache is over its limit. The value
+     * being added is never evicted, so a single value larger than the limit is still cached until the next put.
+     *
+     * @param key   cache key
+     * @param value value to be cached
+     */
+    public synchronized void put(K key, V value) {
+        long size = sizeEstimator.applyAsLong(value);
+        Entry<V> previous = entries.put(key, new Entry<>(value, size));
+        if (previous != null) {
+            currentSize -= previous.size;
+            notifyRemoval(key, previous.value);
+        }
+        currentSize += size;
+
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (currentSize > maxSize && iterator.hasNext()) {
+            Map.Entry<K, Entry<V>> eldest = iterator.next();
+            if (eldest.getKey().equals(key)) {
+                continue;
+            }
+            iterator.remove();
+            currentSize -= eldest.getValue().size;
+            notifyRemoval(eldest.getKey(), eldest.getValue().value);
+        }
+    }
+
+    /**
+     * Adds a value to the cache unless a value is already cached for the key.
+     *
+     * @param key   cache key
+     * @param value value to be cached
+     * @return the value already cached for the key, or {@code null} if the given value was added
+     */
+    public synchronized V putIfAbsent(K key, V value) {
+        Entry<V> existing = entries.get(key);
+        if (existing != null) {
+            return existing.value;
+        }
+        put(key, value);
+        return null;
+    }
+
+    /**
+     * Removes the value for the given key from the cache.
+     *
+     * @param key cache key
+     */
+    public synchronized void invalidate(K key) {
+        Entry<V> removed = entries.remove(key);
+        if (removed != null) {
+            currentSize -= removed.size;
+            notifyRemoval(key, removed.value);
+        }
+    }
+
+    /**
+     * Removes all values whose keys match the given predicate.
+     *
+     * @param keyPredicate predicate selecting the keys to be removed
+     */
+    public synchronized void invalidateIf(Predicate<K> keyPredicate) {
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<K, Entry<V>> entry = iterator.next();
+            if (keyPredicate.test(entry.getKey())) {
+                iterator.remove();
+                currentSize -= entry.getValue().size;
+                notifyRemoval(entry.getKey(), entry.getValue().value);
+            }
+        }
+    }
+
+    /**
+     * Removes all values from the cache.
+     */
+    public synchronized void invalidateAll() {
+        invalidateIf(key -> true);
+    }
+
+    public synchronized long getCurrentSize() {
+        return currentSize;
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the ratio of lookups which found a cached value.
+     *
+     * @return hit rate between 0 and 1, or 0 if there were no lookups
+     */
+    public synchronized double getHitRate() {
+        long lookups = hitCount + missCount;
+        return lookups == 0 ? 0 : (double) hitCount / lookups;
+    }
+
+    private void notifyRemoval(K key, V value) {
+        if (removalListener != null) {
+            removalListener.onRemoval(key, value);
+        }
+    }
+
+    /**
+     * Listener notified when a value is evicted, replaced or invalidated.
+     *
+     * @param <K> type of the cache key
+     * @param <V> type of the cached value
+     */
+    public interface RemovalListener<K, V> {
+        void onRemoval(K key, V value);
+    }
+
+    /**
+     * Cached value along with its estimated size.
+     */
+    private static final class Entry<V> {
+        private final V value;
+        private final long size;
+
+        private Entry(V value, long size) {
+            this.value = value;
+            this.size = size;
+        }
+    }
+}
@@ -164,7 +164,7 @@ public class APIStateChangeWorkflow extends Workflow {
             API.APIBuilder apiBuilder = new API.APIBuilder(api);
             apiBuilder.lastUpdatedTime(time);
             apiBuilder.updatedBy(updatedBy);
-            LifecycleState currentState = apiLifecycleManager.getLifecycleDataForState(
+            LifecycleState currentState = apiLifecycleManager.getLatestLifecycleDataForState(
                     apiBuilder.getLifecycleInstanceId(), apiBuilder.getLifeCycleStatus());
             apiBuilder.lifecycleState(currentState);
             if (APIMgtConstants.APILCWorkflowStatus.PENDING.toString().equals(api.getWorkflowStatus())) {
@@ -189,7 +189,7 @@ public class APIStateChangeWorkflow extends Workflow {
                     API oldAPI = apiDAO.getAPI(api.getCopiedFromApiId());
                     if (oldAPI != null) {
                         API.APIBuilder previousAPI = new API.APIBuilder(oldAPI);
-                        previousAPI.setLifecycleStateInfo(apiLifecycleManager.getLifecycleDataForState(
+                        previousAPI.setLifecycleStateInfo(apiLifecycleManager.getLatestLifecycleDataForState(
                                 previousAPI.getLifecycleInstanceId(), previousAPI.getLifeCycleStatus())
                         );
                         if (APIUtils.validateTargetState(previousAPI.getLifecycleState(),
@@ -18,6 +18,7 @@ package org.wso2.carbon.apimgt.core.dao.impl;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import org.wso2.carbon.apimgt.core.TestUtil;
+import org.wso2.carbon.apimgt.core.configuration.models.AnalyticsConfigurations;
 import org.wso2.carbon.apimgt.core.dao.AnalyticsDAO;
 import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.Application;
@@ -26,6 +27,7 @@ import org.wso2.carbon.apimgt.core.models.analytics.APICount;
 import org.wso2.carbon.apimgt.core.models.analytics.APIInfo;
 import org.wso2.carbon.apimgt.core.models.analytics.APISubscriptionCount;
 import org.wso2.carbon.apimgt.core.models.analytics.ApplicationCount;
+import org.wso2.carbon.apimgt.core.models.analytics.RollupEntity;
 import org.wso2.carbon.apimgt.core.models.analytics.SubscriptionCount;
 import org.wso2.carbon.apimgt.core.models.analytics.SubscriptionInfo;
 
@@ -43,6 +45,7 @@ public class AnalyticsDAOImplIT extends DAOIntegrationTestBase {
         TestUtil.addCustomApplication("app1", "john");
         Instant toTimeStamp = Instant.ofEpochMilli(System.currentTimeMillis());
         AnalyticsDAO analyticsDAO = DAOFactory.getAnalyticsDAO();
+        analyticsDAO.rebuildRollups(false);
         List<ApplicationCount> applicationCountList = analyticsDAO
                 .getApplicationCount(fromTimeStamp, toTimeStamp, null);
         Assert.assertEquals(applicationCountList.size(), 1);
@@ -54,6 +57,7 @@ public class AnalyticsDAOImplIT extends DAOIntegrationTestBase {
         TestUtil.addTestAPI();
         Instant toTimeStamp = Instant.ofEpochMilli(System.currentTimeMillis());
         AnalyticsDAO analyticsDAO = DAOFactory.getAnalyticsDAO();
+        analyticsDAO.rebuildRollups(false);
         List<APICount> applicationCountList = analyticsDAO
                 .getAPICount(fromTimeStamp, toTimeStamp, null);
         Assert.assertEquals(applicationCountList.size(), 1);
@@ -85,10 +89,65 @@ public class AnalyticsDAOImplIT extends DAOIntegrationTestBase {
         TestUtil.subscribeToAPI(testAPI, testApplication);
         Instant toTimeStamp = Instant.ofEpochMilli(System.currentTimeMillis());
         AnalyticsDAO analyticsDAO = DAOFactory.getAnalyticsDAO();
+        analyticsDAO.rebuildRollups(false);
         List<SubscriptionCount> subscriptionCount = analyticsDAO.getSubscriptionCount(fromTimeStamp, toTimeStamp, null);
         Assert.assertEquals(subscriptionCount.size(), 1);
     }
 
+    @Test
+    public void testRebuildRollupsOnlyIfEmpty() throws Exception {
+        TestUtil.addCustomApplication("app1", "john");
+        AnalyticsDAO analyticsDAO = DAOFactory.getAnalyticsDAO();
+        Assert.assertTrue(analyticsDAO.rebuildRollups(true));
+        Assert.assertFalse(analyticsDAO.rebuildRollups(true));
+        Assert.assertTrue(analyticsDAO.rebuildRollups(false));
+    }
+
+    @Test
+    public void testUpdateRollupCount() throws Exception {
+        Instant createdTime = Instant.parse("2017-06-01T10:15:30Z");
+        Instant fromTimeStamp = Instant.parse("2017-06-01T10:00:00Z");
+        Instant toTimeStamp = Instant.parse("2017-06-01T12:00:00Z");
+        AnalyticsDAO analyticsDAO = DAOFactory.getAnalyticsDAO();
+        analyticsDAO.updateRollupCount(RollupEntity.APPLICATION, "john", createdTime, 1);
+        analyticsDAO.updateRollupCount(RollupEntity.APPLICATION, "john", createdTime.plusSeconds(3600), 1);
+        analyticsDAO.updateRollupCount(RollupEntity.APPLICATION, "jane", createdTime, 1);
+
+        List<ApplicationCount> applicationCountList = analyticsDAO
+                .getApplicationCount(fromTimeStamp, toTimeStamp, null);
+        Assert.assertEquals(applicationCountList.size(), 2);
+        Assert.assertEquals(applicationCountList.get(0).getTimestamp(), fromTimeStamp.toEpochMilli());
+        Assert.assertEquals(applicationCountList.get(0).getCount(), 2);
+        Assert.assertEquals(applicationCountList.get(1).getCount(), 3);
+        Assert.assertEquals(analyticsDAO.getApplicationCount(fromTimeStamp, toTimeStamp, "jane").size(), 1);
+
+        // Deleting the application created by jane empties its bucket
+        analyticsDAO.updateRollupCount(RollupEntity.APPLICATION, "jane", createdTime, -1);
+        Assert.assertTrue(analyticsDAO.getApplicationCount(fromTimeStamp, toTimeStamp, "jane").isEmpty());
+        applicationCountList = analyticsDAO.getApplicationCount(fromTimeStamp, toTimeStamp, null);
+        Assert.assertEquals(applicationCountList.get(0).getCount(), 1);
+        Assert.assertEquals(applicationCountList.get(1).getCount(), 2);
+    }
+
+    @Test
+    public void testLongRangeIsBucketedToMaxDataPoints() throws Exception {
+        AnalyticsConfigurations analyticsConfigurations = new AnalyticsConfigurations();
+        analyticsConfigurations.setMaxDataPoints(2);
+        AnalyticsDAO analyticsDAO = new AnalyticsDAOImpl(analyticsConfigurations);
+        Instant fromTimeStamp = Instant.parse("2017-06-01T00:00:00Z");
+        for (int hour = 0; hour < 4; hour++) {
+            analyticsDAO.updateRollupCount(RollupEntity.API, "john", fromTimeStamp.plusSeconds(hour * 3600L), 1);
+        }
+
+        List<APICount> apiCountList = analyticsDAO.getAPICount(fromTimeStamp, fromTimeStamp.plusSeconds(4 * 3600L
+                - 1), null);
+        Assert.assertEquals(apiCountList.size(), 2);
+        Assert.assertEquals(apiCountList.get(0).getTimestamp(), fromTimeStamp.toEpochMilli());
+        Assert.assertEquals(apiCountList.get(0).getCount(), 2);
+        Assert.assertEquals(apiCountList.get(1).getTimestamp(), fromTimeStamp.plusSeconds(2 * 3600L).toEpochMilli());
+        Assert.assertEquals(apiCountList.get(1).getCount(), 4);
+    }
+
     @Test
     public void testGetSubscriptionCountPerAPI() throws Exception {
         Instant fromTimeStamp = Instant.ofEpochMilli(System.currentTimeMillis());
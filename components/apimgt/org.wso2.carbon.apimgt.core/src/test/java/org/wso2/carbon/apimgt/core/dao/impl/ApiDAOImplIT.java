@@ -30,14 +30,17 @@ import org.wso2.carbon.apimgt.core.TestUtil;
 import org.wso2.carbon.apimgt.core.dao.ApiDAO;
 import org.wso2.carbon.apimgt.core.dao.LabelDAO;
 import org.wso2.carbon.apimgt.core.dao.PolicyDAO;
+import org.wso2.carbon.apimgt.core.exception.APIManagementException;
 import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
 import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
 import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.APIStatus;
 import org.wso2.carbon.apimgt.core.models.Comment;
 import org.wso2.carbon.apimgt.core.models.CompositeAPI;
+import org.wso2.carbon.apimgt.core.models.ContinuationToken;
 import org.wso2.carbon.apimgt.core.models.DocumentInfo;
 import org.wso2.carbon.apimgt.core.models.Endpoint;
+import org.wso2.carbon.apimgt.core.models.KeysetPage;
 import org.wso2.carbon.apimgt.core.models.Label;
 import org.wso2.carbon.apimgt.core.models.Rating;
 import org.wso2.carbon.apimgt.core.models.UriTemplate;
@@ -407,6 +410,62 @@ public class ApiDAOImplIT extends DAOIntegrationTestBase {
         Assert.assertTrue(api.equals(apiFromDB), TestUtil.printDiff(api, apiFromDB));
     }
 
+    @Test(description = "Clone an API along with its documents as a new version")
+    public void testCloneAPI() throws Exception {
+        ApiDAO apiDAO = DAOFactory.getApiDAO();
+        testAddGetEndpoint();
+        API api = SampleTestObjectCreator.createDefaultAPI().build();
+        apiDAO.addAPI(api);
+        DocumentInfo documentInfo = SampleTestObjectCreator.createFileDocumentationInfo();
+        apiDAO.addDocumentInfo(api.getId(), documentInfo);
+        byte[] contentBytes = SampleTestObjectCreator.createDefaultFileDocumentationContent();
+        apiDAO.addDocumentFileContent(documentInfo.getId(), new ByteArrayInputStream(contentBytes), "application/pdf",
+                ADMIN);
+
+        API newVersion = new API.APIBuilder(api).id(UUID.randomUUID().toString()).version("2.0.0")
+                .context(api.getContext().replace(api.getVersion(), "2.0.0")).copiedFromApiId(api.getId()).build();
+        apiDAO.cloneAPI(api.getId(), newVersion);
+
+        API apiFromDB = apiDAO.getAPI(newVersion.getId());
+        Assert.assertNotNull(apiFromDB);
+        Assert.assertEquals(apiFromDB.getVersion(), "2.0.0");
+        Assert.assertEquals(apiFromDB.getContext(), newVersion.getContext());
+        Assert.assertEquals(apiFromDB.getCopiedFromApiId(), api.getId());
+        Assert.assertEquals(apiFromDB.getTags(), api.getTags());
+        Assert.assertEquals(apiFromDB.getLabels(), api.getLabels());
+        Assert.assertEquals(apiFromDB.getTransport(), api.getTransport());
+        Assert.assertEquals(apiFromDB.getPolicies(), api.getPolicies());
+        Assert.assertEquals(apiFromDB.getPermissionMap(), api.getPermissionMap());
+        Assert.assertEquals(apiFromDB.getUriTemplates().keySet(), api.getUriTemplates().keySet());
+        Assert.assertEquals(apiDAO.getApiSwaggerDefinition(newVersion.getId()), newVersion.getApiDefinition());
+
+        List<DocumentInfo> documentInfoListFromDB = apiDAO.getDocumentsInfoList(newVersion.getId());
+        Assert.assertEquals(documentInfoListFromDB.size(), 1);
+        DocumentInfo clonedDocumentInfo = documentInfoListFromDB.get(0);
+        Assert.assertNotEquals(clonedDocumentInfo.getId(), documentInfo.getId());
+        Assert.assertEquals(clonedDocumentInfo.getName(), documentInfo.getName());
+        byte[] retrievedContentFromDB = IOUtils.toByteArray(apiDAO.getDocumentFileContent(clonedDocumentInfo
+                .getId()));
+        Assert.assertEquals(retrievedContentFromDB, contentBytes);
+
+        // The source API is left intact
+        Assert.assertEquals(apiDAO.getDocumentsInfoList(api.getId()).size(), 1);
+        Assert.assertEquals(apiDAO.getAPI(api.getId()).getVersion(), api.getVersion());
+    }
+
+    @Test
+    public void testCloneNonExistingAPI() throws Exception {
+        ApiDAO apiDAO = DAOFactory.getApiDAO();
+        API api = SampleTestObjectCreator.createUniqueAPI().build();
+        try {
+            apiDAO.cloneAPI(UUID.randomUUID().toString(), api);
+            Assert.fail("Exception not thrown for cloning a non existing API");
+        } catch (APIMgtDAOException e) {
+            // Just catch the exception so that we can continue execution
+        }
+        Assert.assertFalse(apiDAO.isAPIExists(api.getId()));
+    }
+
     @Test
     public void testAddDuplicateProviderNameVersionAPI() throws Exception {
         ApiDAO apiDAO = DAOFactory.getApiDAO();
@@ -536,6 +595,46 @@ public class ApiDAOImplIT extends DAOIntegrationTestBase {
                 TestUtil.printDiff(apiList, expectedAPIs));
     }
 
+    @Test (description = "Tests getting the APIs page by page using continuation tokens")
+    public void testGetAPIsByContinuationToken() throws Exception {
+        ApiDAO apiDAO = DAOFactory.getApiDAO();
+
+        API api1 = SampleTestObjectCreator.createDefaultAPI().build();
+        testAddGetEndpoint();
+        apiDAO.addAPI(api1);
+        API api2 = SampleTestObjectCreator.createAlternativeAPI().build();
+        apiDAO.addAPI(api2);
+
+        KeysetPage<API> firstPage = apiDAO.getAPIs(new HashSet<>(), ADMIN, null, 1);
+        Assert.assertEquals(firstPage.getItems().size(), 1);
+        Assert.assertTrue(firstPage.hasNext());
+
+        // The token is passed through its encoded form as it would be by a client
+        ContinuationToken nextToken = APIUtils.decodeContinuationToken(
+                APIUtils.encodeContinuationToken(firstPage.getNextToken()));
+        KeysetPage<API> secondPage = apiDAO.getAPIs(new HashSet<>(), ADMIN, nextToken, 1);
+        Assert.assertEquals(secondPage.getItems().size(), 1);
+        Assert.assertFalse(secondPage.hasNext());
+
+        List<API> apiList = new ArrayList<>(firstPage.getItems());
+        apiList.addAll(secondPage.getItems());
+        List<API> expectedAPIs = new ArrayList<>();
+        expectedAPIs.add(SampleTestObjectCreator.copyAPISummary(api1));
+        expectedAPIs.add(SampleTestObjectCreator.copyAPISummary(api2));
+        Assert.assertTrue(APIUtils.isListsEqualIgnoreOrder(apiList, expectedAPIs, new APIComparator()),
+                TestUtil.printDiff(apiList, expectedAPIs));
+    }
+
+    @Test (description = "Tests decoding a malformed continuation token")
+    public void testDecodeInvalidContinuationToken() throws Exception {
+        try {
+            APIUtils.decodeContinuationToken("bm8tc2VwYXJhdG9y");
+            Assert.fail("Exception not thrown for a malformed continuation token");
+        } catch (APIManagementException e) {
+            Assert.assertEquals(e.getErrorHandler(), ExceptionCodes.INVALID_CONTINUATION_TOKEN);
+        }
+    }
+
     @Test (description = "Tests getting the APIs when the user has roles assigned")
     public void testGetAPIsWithUserRoles() throws Exception {
         ApiDAO apiDAO = DAOFactory.getApiDAO();
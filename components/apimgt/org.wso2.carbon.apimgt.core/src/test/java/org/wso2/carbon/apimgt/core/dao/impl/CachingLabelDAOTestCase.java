@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.dao.LabelDAO;
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+import org.wso2.carbon.apimgt.core.models.Label;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class CachingLabelDAOTestCase {
+
+    @Test
+    public void testLookupsAreServedFromMemory() throws Exception {
+        LabelDAO labelDAO = Mockito.mock(LabelDAO.class);
+        Label publicLabel = createLabel("1", "public", "https://test.public");
+        Label privateLabel = createLabel("2", "private", "https://test.private");
+        Mockito.when(labelDAO.getLabels()).thenReturn(Arrays.asList(publicLabel, privateLabel));
+        CachingLabelDAO cachingLabelDAO = new CachingLabelDAO(labelDAO, null);
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(cachingLabelDAO.getLabelByName("public"), publicLabel);
+            Assert.assertNull(cachingLabelDAO.getLabelByName("unknown"));
+            Assert.assertEquals(cachingLabelDAO.getLabelsByName(Arrays.asList("private", "unknown", "public")),
+                    Arrays.asList(privateLabel, publicLabel));
+            Assert.assertEquals(cachingLabelDAO.getLabels().size(), 2);
+        }
+        Mockito.verify(labelDAO, Mockito.times(1)).getLabels();
+        Mockito.verify(labelDAO, Mockito.never()).getLabelByName(Mockito.anyString());
+        Mockito.verify(labelDAO, Mockito.never()).getLabelsByName(Mockito.anyList());
+    }
+
+    @Test
+    public void testLabelsHandedOutCannotChangeLabelsInMemory() throws Exception {
+        LabelDAO labelDAO = Mockito.mock(LabelDAO.class);
+        Mockito.when(labelDAO.getLabels()).thenReturn(Collections.singletonList(createLabel("1", "public",
+                "https://test.public")));
+        CachingLabelDAO cachingLabelDAO = new CachingLabelDAO(labelDAO, null);
+
+        cachingLabelDAO.getLabelByName("public").getAccessUrls().add("https://other.public");
+        Assert.assertEquals(cachingLabelDAO.getLabelByName("public").getAccessUrls(),
+                Collections.singletonList("https://test.public"));
+    }
+
+    @Test
+    public void testChangesAreReflectedInMemory() throws Exception {
+        LabelDAO labelDAO = Mockito.mock(LabelDAO.class);
+        Label publicLabel = createLabel("1", "public", "https://test.public");
+        Label updatedLabel = createLabel("1", "public", "https://updated.public");
+        Label privateLabel = createLabel("2", "private", "https://test.private");
+        Mockito.when(labelDAO.getLabels()).thenReturn(Collections.singletonList(publicLabel));
+        Mockito.when(labelDAO.getLabelsByName(Collections.singletonList("private")))
+                .thenReturn(Collections.singletonList(privateLabel));
+        Mockito.when(labelDAO.getLabelsByName(Collections.singletonList("public")))
+                .thenReturn(Collections.singletonList(updatedLabel));
+        CachingLabelDAO cachingLabelDAO = new CachingLabelDAO(labelDAO, null);
+        cachingLabelDAO.load();
+
+        cachingLabelDAO.addLabels(Collections.singletonList(privateLabel));
+        Assert.assertEquals(cachingLabelDAO.getLabelByName("private"), privateLabel);
+
+        cachingLabelDAO.updateLabel(updatedLabel);
+        Assert.assertEquals(cachingLabelDAO.getLabelByName("public"), updatedLabel);
+
+        cachingLabelDAO.deleteLabel("2");
+        Assert.assertNull(cachingLabelDAO.getLabelByName("private"));
+        Assert.assertEquals(cachingLabelDAO.getLabels().size(), 1);
+
+        Mockito.verify(labelDAO).addLabels(Collections.singletonList(privateLabel));
+        Mockito.verify(labelDAO).updateLabel(updatedLabel);
+        Mockito.verify(labelDAO).deleteLabel("2");
+        Mockito.verify(labelDAO, Mockito.times(1)).getLabels();
+    }
+
+    @Test
+    public void testLabelsAreReloadedAfterFailedChangeOrInvalidation() throws Exception {
+        LabelDAO labelDAO = Mockito.mock(LabelDAO.class);
+        Label publicLabel = createLabel("1", "public", "https://test.public");
+        Mockito.when(labelDAO.getLabels()).thenReturn(Collections.singletonList(publicLabel));
+        Mockito.doThrow(new APIMgtDAOException("Error")).when(labelDAO).deleteLabel("1");
+        CachingLabelDAO cachingLabelDAO = new CachingLabelDAO(labelDAO, null);
+        cachingLabelDAO.load();
+
+        try {
+            cachingLabelDAO.deleteLabel("1");
+            Assert.fail("Exception was expected, but wasn't thrown");
+        } catch (APIMgtDAOException e) {
+            Assert.assertEquals(e.getMessage(), "Error");
+        }
+        Assert.assertEquals(cachingLabelDAO.getLabelByName("public"), publicLabel);
+        Mockito.verify(labelDAO, Mockito.times(2)).getLabels();
+
+        cachingLabelDAO.invalidate();
+        Assert.assertEquals(cachingLabelDAO.getLabelByName("public"), publicLabel);
+        Mockito.verify(labelDAO, Mockito.times(3)).getLabels();
+    }
+
+    private static Label createLabel(String id, String name, String accessUrl) {
+        List<String> accessUrls = new ArrayList<>();
+        accessUrls.add(accessUrl);
+        return new Label.Builder().id(id).name(name).accessUrls(accessUrls).build();
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.api.APIMgtAdminService.PolicyLevel;
+import org.wso2.carbon.apimgt.core.dao.PolicyDAO;
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
+import org.wso2.carbon.apimgt.core.models.BlockConditions;
+import org.wso2.carbon.apimgt.core.models.policy.APIPolicy;
+import org.wso2.carbon.apimgt.core.models.policy.ApplicationPolicy;
+import org.wso2.carbon.apimgt.core.models.policy.CustomPolicy;
+import org.wso2.carbon.apimgt.core.models.policy.Policy;
+import org.wso2.carbon.apimgt.core.models.policy.SubscriptionPolicy;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class CachingPolicyDAOTestCase {
+
+    @Test
+    public void testLookupsAreServedFromMemory() throws Exception {
+        PolicyDAO policyDAO = createPolicyDAO();
+        CachingPolicyDAO cachingPolicyDAO = new CachingPolicyDAO(policyDAO, null);
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(cachingPolicyDAO.getApiPolicy("Gold").getUuid(), "1");
+            Assert.assertEquals(cachingPolicyDAO.getApiPolicyByUuid("2").getPolicyName(), "Unlimited");
+            Assert.assertEquals(cachingPolicyDAO.getApplicationPolicy("50PerMin").getUuid(), "3");
+            Assert.assertEquals(cachingPolicyDAO.getSubscriptionPolicyByUuid("4").getPolicyName(), "Unlimited");
+            Assert.assertEquals(cachingPolicyDAO.getPolicyByLevelAndName(PolicyLevel.subscription, "Unlimited")
+                    .getUuid(), "4");
+            Assert.assertTrue(cachingPolicyDAO.policyExists(PolicyLevel.api, "Gold"));
+            Assert.assertFalse(cachingPolicyDAO.policyExists(PolicyLevel.application, "Gold"));
+            Assert.assertEquals(cachingPolicyDAO.getPoliciesByLevel(PolicyLevel.api).size(), 2);
+            Assert.assertEquals(cachingPolicyDAO.getAllPolicies().size(), 4);
+        }
+        Policy simplifiedPolicy = cachingPolicyDAO.getSimplifiedPolicyByLevelAndName(PolicyLevel.application,
+                "50PerMin");
+        Assert.assertTrue(simplifiedPolicy instanceof ApplicationPolicy);
+        Assert.assertEquals(simplifiedPolicy.getUuid(), "3");
+
+        Mockito.verify(policyDAO, Mockito.times(1)).getApiPolicies();
+        Mockito.verify(policyDAO, Mockito.never()).getApiPolicy(Mockito.anyString());
+        Mockito.verify(policyDAO, Mockito.never()).getPolicyByLevelAndName(Mockito.any(PolicyLevel.class),
+                Mockito.anyString());
+        Mockito.verify(policyDAO, Mockito.never()).policyExists(Mockito.any(PolicyLevel.class), Mockito.anyString());
+        Mockito.verify(policyDAO, Mockito.never()).getSimplifiedPolicyByLevelAndName(Mockito.any(PolicyLevel.class),
+                Mockito.anyString());
+    }
+
+    @Test
+    public void testUnknownPoliciesAreLookedUpInDatabase() throws Exception {
+        PolicyDAO policyDAO = createPolicyDAO();
+        Mockito.when(policyDAO.getApiPolicy("Silver"))
+                .thenThrow(new APIMgtDAOException("API Policy not found", ExceptionCodes.POLICY_NOT_FOUND));
+        CachingPolicyDAO cachingPolicyDAO = new CachingPolicyDAO(policyDAO, null);
+
+        try {
+            cachingPolicyDAO.getApiPolicy("Silver");
+            Assert.fail("Exception was expected, but wasn't thrown");
+        } catch (APIMgtDAOException e) {
+            Assert.assertEquals(e.getErrorHandler(), ExceptionCodes.POLICY_NOT_FOUND);
+        }
+    }
+
+    @Test
+    public void testChangesAreReflectedInMemory() throws Exception {
+        PolicyDAO policyDAO = createPolicyDAO();
+        APIPolicy silverPolicy = new APIPolicy("5", "Silver");
+        APIPolicy renamedPolicy = new APIPolicy("1", "Platinum");
+        Mockito.when(policyDAO.getApiPolicy("Silver")).thenReturn(silverPolicy);
+        Mockito.when(policyDAO.getApiPolicyByUuid("1")).thenReturn(renamedPolicy);
+        CachingPolicyDAO cachingPolicyDAO = new CachingPolicyDAO(policyDAO, null);
+        cachingPolicyDAO.load();
+
+        cachingPolicyDAO.addApiPolicy(new APIPolicy("Silver"));
+        Assert.assertEquals(cachingPolicyDAO.getApiPolicy("Silver"), silverPolicy);
+        Assert.assertEquals(cachingPolicyDAO.getApiPolicyByUuid("5"), silverPolicy);
+
+        cachingPolicyDAO.updateApiPolicy(renamedPolicy);
+        Assert.assertEquals(cachingPolicyDAO.getApiPolicy("Platinum"), renamedPolicy);
+        Assert.assertFalse(cachingPolicyDAO.policyExists(PolicyLevel.api, "Gold"));
+
+        cachingPolicyDAO.deletePolicyByUuid(PolicyLevel.api, "5");
+        Assert.assertFalse(cachingPolicyDAO.policyExists(PolicyLevel.api, "Silver"));
+        cachingPolicyDAO.deletePolicy(PolicyLevel.subscription, "Unlimited");
+        Assert.assertTrue(cachingPolicyDAO.getSubscriptionPolicies().isEmpty());
+        Assert.assertEquals(cachingPolicyDAO.getApiPolicies(), Arrays.asList(cachingPolicyDAO.getApiPolicy("Unlimited"),
+                renamedPolicy));
+
+        Mockito.verify(policyDAO).deletePolicyByUuid(PolicyLevel.api, "5");
+        Mockito.verify(policyDAO).deletePolicy(PolicyLevel.subscription, "Unlimited");
+        Mockito.verify(policyDAO, Mockito.times(1)).getApiPolicies();
+    }
+
+    @Test
+    public void testRenamedPolicyIsNotFoundByItsOldName() throws Exception {
+        PolicyDAO policyDAO = createPolicyDAO();
+        APIPolicy renamedPolicy = new APIPolicy("1", "Platinum");
+        Mockito.when(policyDAO.getApiPolicyByUuid("1")).thenReturn(renamedPolicy);
+        Mockito.when(policyDAO.getPolicyByLevelAndName(PolicyLevel.api, "Gold"))
+                .thenThrow(new APIMgtDAOException("API Policy not found", ExceptionCodes.POLICY_NOT_FOUND));
+        CachingPolicyDAO cachingPolicyDAO = new CachingPolicyDAO(policyDAO, null);
+        cachingPolicyDAO.load();
+
+        cachingPolicyDAO.updateApiPolicy(renamedPolicy);
+        Assert.assertEquals(cachingPolicyDAO.getPolicyByLevelAndName(PolicyLevel.api, "Platinum"), renamedPolicy);
+        try {
+            cachingPolicyDAO.getPolicyByLevelAndName(PolicyLevel.api, "Gold");
+            Assert.fail("Exception was expected, but wasn't thrown");
+        } catch (APIMgtDAOException e) {
+            Assert.assertEquals(e.getErrorHandler(), ExceptionCodes.POLICY_NOT_FOUND);
+        }
+        Mockito.verify(policyDAO, Mockito.times(1)).getPolicyByLevelAndName(PolicyLevel.api, "Gold");
+        Mockito.verify(policyDAO, Mockito.never()).getPolicyByLevelAndName(PolicyLevel.api, "Platinum");
+    }
+
+    @Test
+    public void testCustomPoliciesAreAlwaysReadFromDatabase() throws Exception {
+        PolicyDAO policyDAO = createPolicyDAO();
+        CustomPolicy customPolicy = new CustomPolicy("6", "Custom");
+        Mockito.when(policyDAO.getCustomPolicies()).thenReturn(Collections.singletonList(customPolicy));
+        Mockito.when(policyDAO.getCustomPolicyByUuid("6")).thenReturn(customPolicy);
+        CachingPolicyDAO cachingPolicyDAO = new CachingPolicyDAO(policyDAO, null);
+
+        for (int i = 0; i < 2; i++) {
+            Assert.assertEquals(cachingPolicyDAO.getCustomPolicies(), Collections.singletonList(customPolicy));
+            Assert.assertEquals(cachingPolicyDAO.getCustomPolicyByUuid("6"), customPolicy);
+        }
+        cachingPolicyDAO.updateCustomPolicy(customPolicy);
+        Assert.assertEquals(cachingPolicyDAO.getCustomPolicyByUuid("6"), customPolicy);
+
+        Mockito.verify(policyDAO, Mockito.times(2)).getCustomPolicies();
+        Mockito.verify(policyDAO, Mockito.times(3)).getCustomPolicyByUuid("6");
+        Mockito.verify(policyDAO).updateCustomPolicy(customPolicy);
+    }
+
+    @Test
+    public void testBlockConditionsAreAlwaysReadFromDatabase() throws Exception {
+        PolicyDAO policyDAO = createPolicyDAO();
+        BlockConditions blockConditions = new BlockConditions();
+        blockConditions.setUuid("7");
+        Mockito.when(policyDAO.getBlockConditions()).thenReturn(Collections.singletonList(blockConditions));
+        Mockito.when(policyDAO.getBlockConditionByUUID("7")).thenReturn(blockConditions);
+        Mockito.when(policyDAO.updateBlockConditionStateByUUID("7", false)).thenReturn(true);
+        CachingPolicyDAO cachingPolicyDAO = new CachingPolicyDAO(policyDAO, null);
+
+        for (int i = 0; i < 2; i++) {
+            Assert.assertEquals(cachingPolicyDAO.getBlockConditions(), Collections.singletonList(blockConditions));
+            Assert.assertEquals(cachingPolicyDAO.getBlockConditionByUUID("7"), blockConditions);
+        }
+        Assert.assertTrue(cachingPolicyDAO.updateBlockConditionStateByUUID("7", false));
+        Assert.assertEquals(cachingPolicyDAO.getBlockConditionByUUID("7"), blockConditions);
+
+        Mockito.verify(policyDAO, Mockito.times(2)).getBlockConditions();
+        Mockito.verify(policyDAO, Mockito.times(3)).getBlockConditionByUUID("7");
+        Mockito.verify(policyDAO).updateBlockConditionStateByUUID("7", false);
+    }
+
+    @Test
+    public void testPoliciesAreReloadedAfterFailedChangeOrInvalidation() throws Exception {
+        PolicyDAO policyDAO = createPolicyDAO();
+        Mockito.doThrow(new APIMgtDAOException("Error")).when(policyDAO).deletePolicy(PolicyLevel.api, "Gold");
+        CachingPolicyDAO cachingPolicyDAO = new CachingPolicyDAO(policyDAO, null);
+        cachingPolicyDAO.load();
+
+        try {
+            cachingPolicyDAO.deletePolicy(PolicyLevel.api, "Gold");
+            Assert.fail("Exception was expected, but wasn't thrown");
+        } catch (APIMgtDAOException e) {
+            Assert.assertEquals(e.getMessage(), "Error");
+        }
+        Assert.assertTrue(cachingPolicyDAO.policyExists(PolicyLevel.api, "Gold"));
+        Mockito.verify(policyDAO, Mockito.times(2)).getApiPolicies();
+
+        cachingPolicyDAO.invalidate();
+        Assert.assertTrue(cachingPolicyDAO.policyExists(PolicyLevel.api, "Gold"));
+        Mockito.verify(policyDAO, Mockito.times(3)).getApiPolicies();
+    }
+
+    private static PolicyDAO createPolicyDAO() throws APIMgtDAOException {
+        PolicyDAO policyDAO = Mockito.mock(PolicyDAO.class);
+        Mockito.when(policyDAO.getApiPolicies()).thenReturn(Arrays.asList(new APIPolicy("1", "Gold"),
+                new APIPolicy("2", "Unlimited")));
+        Mockito.when(policyDAO.getApplicationPolicies()).thenReturn(Collections.singletonList(
+                new ApplicationPolicy("3", "50PerMin")));
+        Mockito.when(policyDAO.getSubscriptionPolicies()).thenReturn(Collections.singletonList(
+                new SubscriptionPolicy("4", "Unlimited")));
+        return policyDAO;
+    }
+}
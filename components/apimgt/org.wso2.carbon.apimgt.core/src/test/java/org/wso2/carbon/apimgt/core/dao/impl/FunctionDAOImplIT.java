@@ -24,6 +24,7 @@ import org.wso2.carbon.apimgt.core.SampleTestObjectCreator;
 import org.wso2.carbon.apimgt.core.dao.FunctionDAO;
 import org.wso2.carbon.apimgt.core.models.Event;
 import org.wso2.carbon.apimgt.core.models.Function;
+import org.wso2.carbon.apimgt.core.models.FunctionDelivery;
 
 import java.util.Arrays;
 import java.util.List;
@@ -194,4 +195,40 @@ public class FunctionDAOImplIT extends DAOIntegrationTestBase {
         Assert.assertEquals(functionsForAPICreateFromDBAfterDeletion.size(), 1);
         Assert.assertEquals(functionsForAPICreateFromDBAfterDeletion.get(0), function1);
     }
+
+    @Test
+    public void testAddGetUpdateDeletePendingDeliveries() throws Exception {
+        FunctionDAO functionDAO = DAOFactory.getFunctionDAO();
+        Function function = SampleTestObjectCreator.createDefaultFunction();
+        FunctionDelivery dueDelivery = new FunctionDelivery("delivery-1", function, "{\"event\":\"API_CREATION\"}",
+                1, 1000L);
+        FunctionDelivery laterDelivery = new FunctionDelivery("delivery-2", function, "{}", 1, 5000L);
+        functionDAO.addPendingDelivery(laterDelivery);
+        functionDAO.addPendingDelivery(dueDelivery);
+
+        List<FunctionDelivery> pendingDeliveries = functionDAO.getPendingDeliveries(2000L, 10);
+        Assert.assertEquals(pendingDeliveries.size(), 1);
+        FunctionDelivery deliveryFromDB = pendingDeliveries.get(0);
+        Assert.assertEquals(deliveryFromDB.getId(), dueDelivery.getId());
+        Assert.assertEquals(deliveryFromDB.getFunction(), function);
+        Assert.assertEquals(deliveryFromDB.getPayload(), dueDelivery.getPayload());
+        Assert.assertEquals(deliveryFromDB.getAttempts(), 1);
+
+        // Only one node can claim a delivery it retrieved
+        Assert.assertTrue(functionDAO.claimPendingDelivery(deliveryFromDB, 3000L));
+        Assert.assertFalse(functionDAO.claimPendingDelivery(deliveryFromDB, 4000L));
+        Assert.assertTrue(functionDAO.getPendingDeliveries(2000L, 10).isEmpty());
+        Assert.assertEquals(functionDAO.getPendingDeliveries(3000L, 10).size(), 1);
+
+        functionDAO.updatePendingDelivery(dueDelivery.withFailedAttempt(6000L));
+        pendingDeliveries = functionDAO.getPendingDeliveries(10000L, 10);
+        Assert.assertEquals(pendingDeliveries.size(), 2);
+        Assert.assertEquals(pendingDeliveries.get(0).getId(), laterDelivery.getId());
+        Assert.assertEquals(pendingDeliveries.get(1).getAttempts(), 2);
+        Assert.assertEquals(functionDAO.getPendingDeliveries(10000L, 1).size(), 1);
+
+        functionDAO.deletePendingDelivery(laterDelivery.getId());
+        functionDAO.deletePendingDelivery(dueDelivery.getId());
+        Assert.assertTrue(functionDAO.getPendingDeliveries(10000L, 10).isEmpty());
+    }
 }
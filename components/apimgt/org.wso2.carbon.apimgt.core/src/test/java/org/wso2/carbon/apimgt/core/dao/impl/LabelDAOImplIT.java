@@ -26,6 +26,7 @@ import org.wso2.carbon.apimgt.core.SampleTestObjectCreator;
 import org.wso2.carbon.apimgt.core.dao.LabelDAO;
 import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
 import org.wso2.carbon.apimgt.core.models.Label;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -194,4 +195,17 @@ public class LabelDAOImplIT extends DAOIntegrationTestBase {
         Assert.assertTrue(labelsFromDb.contains(updatedLabel));
     }
 
+    @Test
+    public void testDefaultLabelSeededOnceForSharedDAOs() throws Exception {
+
+        LabelDAO labelDAO = DAOFactory.getLabelDAO();
+        Assert.assertSame(DAOFactory.getLabelDAO(), labelDAO);
+        Assert.assertSame(DAOFactory.getApiDAO(), DAOFactory.getApiDAO());
+        Assert.assertTrue(DAOFactory.getBootstrapTime() >= 0);
+
+        List<Label> labelsFromDb = labelDAO.getLabels();
+        Assert.assertEquals(labelsFromDb.size(), 1);
+        Assert.assertEquals(labelsFromDb.get(0).getName(), APIMgtConstants.DEFAULT_LABEL_NAME);
+    }
+
 }
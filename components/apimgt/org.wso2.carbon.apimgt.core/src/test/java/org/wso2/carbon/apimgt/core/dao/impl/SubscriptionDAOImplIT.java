@@ -25,15 +25,19 @@ import org.wso2.carbon.apimgt.core.dao.APISubscriptionDAO;
 import org.wso2.carbon.apimgt.core.dao.ApiType;
 import org.wso2.carbon.apimgt.core.dao.ApplicationDAO;
 import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
 import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.Application;
 import org.wso2.carbon.apimgt.core.models.Subscription;
 import org.wso2.carbon.apimgt.core.models.SubscriptionValidationData;
+import org.wso2.carbon.apimgt.core.models.SubscriptionValidationResult;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 import org.wso2.carbon.apimgt.core.util.ETagUtils;
 import org.wso2.carbon.apimgt.core.util.KeyManagerConstants;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
@@ -362,6 +366,46 @@ public class SubscriptionDAOImplIT extends DAOIntegrationTestBase {
                 "There can't be any subscriptions but found " + notAvailableSubs.size());
     }
 
+    @Test
+    public void testValidateSubscription() throws Exception {
+        //add test apis, apps and subscriptions
+        //app1: api2
+        //app2: api1, api2
+        ApisAndApps apisAndApps = createApisAppsAndSubscriptions();
+
+        APISubscriptionDAO subscriptionDAO = DAOFactory.getAPISubscriptionDAO();
+        ApplicationDAO applicationDAO = DAOFactory.getApplicationDAO();
+
+        API api1 = apisAndApps.getApis().get(0);
+        API api2 = apisAndApps.getApis().get(1);
+        Application app1 = apisAndApps.getApps().get(0);
+
+        //load the validation index before the keys are registered
+        Assert.assertFalse(subscriptionDAO.validateSubscription(api2.getContext(), api2.getVersion(),
+                "client-key-for-app-1").isValid());
+        registerOAuthAppForApplication(applicationDAO, "client-key-for-app-1", app1.getId());
+
+        SubscriptionValidationResult result = subscriptionDAO.validateSubscription(api2.getContext(),
+                api2.getVersion(), "client-key-for-app-1");
+        Assert.assertTrue(result.isValid());
+        Assert.assertEquals(result.getApiId(), api2.getId());
+        Assert.assertEquals(result.getApplicationId(), app1.getId());
+        Assert.assertEquals(result.getApplicationName(), app1.getName());
+        Assert.assertEquals(result.getSubscriptionPolicy(), goldSubscriptionPolicy.getPolicyName());
+        Assert.assertEquals(result.getSubscriptionStatus(), APIMgtConstants.SubscriptionStatus.ACTIVE);
+        Assert.assertFalse(subscriptionDAO.validateSubscription(api1.getContext(), api1.getVersion(),
+                "client-key-for-app-1").isValid());
+
+        //changes to the subscription are reflected in the validation result
+        Subscription subscription = subscriptionDAO.getAPISubscriptionsByApplication(app1.getId()).get(0);
+        subscriptionDAO.updateSubscriptionStatus(subscription.getId(), APIMgtConstants.SubscriptionStatus.BLOCKED);
+        Assert.assertEquals(subscriptionDAO.validateSubscription(api2.getContext(), api2.getVersion(),
+                "client-key-for-app-1").getSubscriptionStatus(), APIMgtConstants.SubscriptionStatus.BLOCKED);
+        subscriptionDAO.deleteAPISubscription(subscription.getId());
+        Assert.assertFalse(subscriptionDAO.validateSubscription(api2.getContext(), api2.getVersion(),
+                "client-key-for-app-1").isValid());
+    }
+
     @Test
     public void testGetSubscriptionForApplicationAndApiType() throws Exception {
         //add test apis, apps and subscriptions
@@ -484,6 +528,85 @@ public class SubscriptionDAOImplIT extends DAOIntegrationTestBase {
         Assert.assertEquals(subscriptionsOfAPI1v2.size(), 2);
     }
 
+    @Test
+    public void testAddAndUpdateMultipleSubscriptions() throws Exception {
+        API api1 = TestUtil.addCustomAPI(API_1, API_VERSION, API1_CONTEXT);
+        API api2 = TestUtil.addCustomAPI(API_2, API_VERSION, API2_CONTEXT);
+        Application app1 = TestUtil.addCustomApplication(APP_1, ADMIN);
+        registerOAuthAppForApplication(DAOFactory.getApplicationDAO(), "client-key-for-app-1", app1.getId());
+
+        //add subscriptions of app1 to api1 and api2 together
+        APISubscriptionDAO subscriptionDAO = DAOFactory.getAPISubscriptionDAO();
+        Subscription subscription1 = new Subscription(UUID.randomUUID().toString(), app1, api1,
+                goldSubscriptionPolicy);
+        subscription1.setStatus(APIMgtConstants.SubscriptionStatus.ON_HOLD);
+        subscription1.setCreatedUser(ADMIN);
+        subscription1.setCreatedTime(LocalDateTime.of(2017, 1, 1, 10, 0));
+        Subscription subscription2 = new Subscription(UUID.randomUUID().toString(), app1, api2,
+                goldSubscriptionPolicy);
+        subscription2.setStatus(APIMgtConstants.SubscriptionStatus.ON_HOLD);
+        subscriptionDAO.addAPISubscriptions(Arrays.asList(subscription1, subscription2));
+        List<String> subscriptionIds = Arrays.asList(subscription1.getId(), subscription2.getId());
+        Assert.assertEquals(subscriptionDAO.getPendingAPISubscriptionsByApplication(app1.getId()).size(), 2);
+
+        //the creator and the creation time are stored when given
+        Subscription addedSubscription = subscriptionDAO.getAPISubscription(subscription1.getId());
+        Assert.assertEquals(addedSubscription.getCreatedUser(), ADMIN);
+        Assert.assertEquals(addedSubscription.getCreatedTime(), subscription1.getCreatedTime());
+        Assert.assertNull(subscriptionDAO.getAPISubscription(subscription2.getId()).getCreatedUser());
+        Assert.assertNotNull(subscriptionDAO.getAPISubscription(subscription2.getId()).getCreatedTime());
+
+        //update the status and the policy of both subscriptions
+        subscriptionDAO.updateSubscriptionStatuses(subscriptionIds, APIMgtConstants.SubscriptionStatus.BLOCKED);
+        subscriptionDAO.updateSubscriptionPolicies(subscriptionIds, SILVER_TIER);
+        for (String subscriptionId : subscriptionIds) {
+            Subscription subscription = subscriptionDAO.getAPISubscription(subscriptionId);
+            Assert.assertEquals(subscription.getStatus(), APIMgtConstants.SubscriptionStatus.BLOCKED);
+            Assert.assertEquals(subscription.getPolicy().getPolicyName(), SILVER_TIER);
+        }
+
+        //validation data of both subscriptions is retrieved together
+        List<SubscriptionValidationData> validationData = subscriptionDAO
+                .getAPISubscriptionsForValidation(subscriptionIds);
+        Assert.assertEquals(validationData.size(), 2);
+        for (SubscriptionValidationData subscriptionValidationData : validationData) {
+            Assert.assertEquals(subscriptionValidationData.getStatus(),
+                    APIMgtConstants.SubscriptionStatus.BLOCKED.toString());
+        }
+
+        //none of the subscriptions are added if one of them already exists
+        Subscription subscription3 = new Subscription(UUID.randomUUID().toString(), app1, api1,
+                goldSubscriptionPolicy);
+        try {
+            subscriptionDAO.addAPISubscriptions(Arrays.asList(new Subscription(UUID.randomUUID().toString(),
+                    TestUtil.addCustomApplication(APP_2, ADMIN), api1, goldSubscriptionPolicy), subscription3));
+            Assert.fail("Exception was expected, but wasn't thrown");
+        } catch (APIMgtDAOException e) {
+            Assert.assertEquals(e.getErrorHandler(), ExceptionCodes.SUBSCRIPTION_ALREADY_EXISTS);
+        }
+        Assert.assertEquals(subscriptionDAO.getAPISubscriptionsByAPI(api1.getId()).size(), 1);
+    }
+
+    @Test
+    public void testAddMultipleSubscriptionsToRepeatedApi() throws Exception {
+        API api1 = TestUtil.addCustomAPI(API_1, API_VERSION, API1_CONTEXT);
+        API api2 = TestUtil.addCustomAPI(API_2, API_VERSION, API2_CONTEXT);
+        Application app1 = TestUtil.addCustomApplication(APP_1, ADMIN);
+
+        //none of the subscriptions are added if the list subscribes the application to an API twice
+        APISubscriptionDAO subscriptionDAO = DAOFactory.getAPISubscriptionDAO();
+        try {
+            subscriptionDAO.addAPISubscriptions(Arrays.asList(
+                    new Subscription(UUID.randomUUID().toString(), app1, api1, goldSubscriptionPolicy),
+                    new Subscription(UUID.randomUUID().toString(), app1, api2, goldSubscriptionPolicy),
+                    new Subscription(UUID.randomUUID().toString(), app1, api1, goldSubscriptionPolicy)));
+            Assert.fail("Exception was expected, but wasn't thrown");
+        } catch (APIMgtDAOException e) {
+            Assert.assertEquals(e.getErrorHandler(), ExceptionCodes.SUBSCRIPTION_ALREADY_EXISTS);
+        }
+        Assert.assertTrue(subscriptionDAO.getAPISubscriptionsByApplication(app1.getId()).isEmpty());
+    }
+
     private void validateSubscriptionsOfApi(SubscriptionValidationData validationData, API api, Application app) {
         Assert.assertEquals(validationData.getApiContext(), api.getContext());
         Assert.assertEquals(validationData.getApiProvider(), api.getProvider());
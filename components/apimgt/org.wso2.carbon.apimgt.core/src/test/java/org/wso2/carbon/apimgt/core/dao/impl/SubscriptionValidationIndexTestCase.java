@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.models.API;
+import org.wso2.carbon.apimgt.core.models.Application;
+import org.wso2.carbon.apimgt.core.models.Subscription;
+import org.wso2.carbon.apimgt.core.models.SubscriptionValidationData;
+import org.wso2.carbon.apimgt.core.models.SubscriptionValidationResult;
+import org.wso2.carbon.apimgt.core.models.policy.SubscriptionPolicy;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants.SubscriptionStatus;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SubscriptionValidationIndexTestCase {
+
+    @Test
+    public void testValidateSubscription() {
+        SubscriptionValidationIndex index = new SubscriptionValidationIndex();
+        index.putKey("app1", "key1", "PRODUCTION");
+        index.putKey("app2", "key2", "PRODUCTION");
+        index.putSubscription(createSubscription("api1", "app1", SubscriptionStatus.PROD_ONLY_BLOCKED));
+
+        SubscriptionValidationResult result = index.validate("/api1", "1.0.0", "key1");
+        Assert.assertNotNull(result);
+        Assert.assertTrue(result.isValid());
+        Assert.assertEquals(result.getApiId(), "api1");
+        Assert.assertEquals(result.getApiName(), "api1-name");
+        Assert.assertEquals(result.getApiProvider(), "admin");
+        Assert.assertEquals(result.getApplicationId(), "app1");
+        Assert.assertEquals(result.getApplicationName(), "app1-name");
+        Assert.assertEquals(result.getApplicationOwner(), "john");
+        Assert.assertEquals(result.getSubscriptionPolicy(), "Gold");
+        Assert.assertEquals(result.getSubscriptionStatus(), SubscriptionStatus.PROD_ONLY_BLOCKED);
+
+        Assert.assertNull(index.validate("/api1", "1.0.0", "key2"));
+        Assert.assertNull(index.validate("/api1", "2.0.0", "key1"));
+        Assert.assertNull(index.validate("/api1", "1.0.0", "unknown"));
+    }
+
+    @Test
+    public void testGetSubscriptionsReturnsOnePerKey() {
+        SubscriptionValidationIndex index = new SubscriptionValidationIndex();
+        index.putKey("app1", "key1", "PRODUCTION");
+        index.putKey("app1", "key2", "SANDBOX");
+        index.putKey("app2", "key3", "PRODUCTION");
+        index.putSubscription(createSubscription("api1", "app1", SubscriptionStatus.ACTIVE));
+        index.putSubscription(createSubscription("api2", "app1", SubscriptionStatus.ACTIVE));
+        index.putSubscription(createSubscription("api2", "app2", SubscriptionStatus.BLOCKED));
+
+        List<SubscriptionValidationData> subscriptions = index.getSubscriptions("/api2", "1.0.0");
+        Assert.assertEquals(subscriptions.size(), 3);
+        for (SubscriptionValidationData subscription : subscriptions) {
+            Assert.assertEquals(subscription.getApiContext(), "/api2");
+            Assert.assertEquals(subscription.getApiName(), "api2-name");
+            Assert.assertEquals(subscription.getSubscriptionPolicy(), "policy-gold");
+            if ("key3".equals(subscription.getConsumerKey())) {
+                Assert.assertEquals(subscription.getApplicationId(), "app2");
+                Assert.assertEquals(subscription.getStatus(), SubscriptionStatus.BLOCKED.name());
+            } else {
+                Assert.assertEquals(subscription.getApplicationId(), "app1");
+                Assert.assertEquals(subscription.getKeyEnvType(),
+                        "key1".equals(subscription.getConsumerKey()) ? "PRODUCTION" : "SANDBOX");
+            }
+        }
+        Assert.assertEquals(index.getSubscriptions().size(), 5);
+        Assert.assertTrue(index.getSubscriptions("/unknown", "1.0.0").isEmpty());
+    }
+
+    @Test
+    public void testReplaceApplication() {
+        SubscriptionValidationIndex index = new SubscriptionValidationIndex();
+        index.putKey("app1", "key1", "PRODUCTION");
+        index.putSubscription(createSubscription("api1", "app1", SubscriptionStatus.ACTIVE));
+        index.putSubscription(createSubscription("api2", "app1", SubscriptionStatus.ACTIVE));
+
+        Map<String, String> keyTypes = new HashMap<>();
+        keyTypes.put("key2", "PRODUCTION");
+        index.replaceApplication("app1", keyTypes,
+                Collections.singletonList(createSubscription("api2", "app1", SubscriptionStatus.BLOCKED)));
+        Assert.assertNull(index.validate("/api2", "1.0.0", "key1"));
+        Assert.assertNull(index.validate("/api1", "1.0.0", "key2"));
+        Assert.assertEquals(index.validate("/api2", "1.0.0", "key2").getSubscriptionStatus(),
+                SubscriptionStatus.BLOCKED);
+
+        // A deleted application has neither keys nor subscriptions
+        index.replaceApplication("app1", Collections.emptyMap(), Collections.emptyList());
+        Assert.assertNull(index.validate("/api2", "1.0.0", "key2"));
+        Assert.assertEquals(index.size(), 0);
+    }
+
+    @Test
+    public void testUpdatedSubscriptionIsRemovedWithApplication() {
+        SubscriptionValidationIndex index = new SubscriptionValidationIndex();
+        index.putKey("app1", "key1", "PRODUCTION");
+        index.putKey("app2", "key2", "PRODUCTION");
+        index.putSubscription(createSubscription("api1", "app1", SubscriptionStatus.ACTIVE));
+        index.putSubscription(createSubscription("api1", "app1", SubscriptionStatus.BLOCKED));
+        index.putSubscription(createSubscription("api1", "app2", SubscriptionStatus.ACTIVE));
+        Assert.assertEquals(index.size(), 2);
+
+        index.replaceApplication("app1", Collections.emptyMap(), Collections.emptyList());
+        Assert.assertEquals(index.size(), 1);
+        Assert.assertNull(index.validate("/api1", "1.0.0", "key1"));
+        Assert.assertNotNull(index.validate("/api1", "1.0.0", "key2"));
+        List<SubscriptionValidationData> subscriptions = index.getSubscriptions("/api1", "1.0.0");
+        Assert.assertEquals(subscriptions.size(), 1);
+        Assert.assertEquals(subscriptions.get(0).getApplicationId(), "app2");
+    }
+
+    @Test
+    public void testRenamedPolicyAndApi() {
+        SubscriptionValidationIndex index = new SubscriptionValidationIndex();
+        index.putKey("app1", "key1", "PRODUCTION");
+        index.putKey("app2", "key2", "PRODUCTION");
+        index.putSubscription(createSubscription("api1", "app1", SubscriptionStatus.ACTIVE));
+
+        API api = new API.APIBuilder("admin", "api1-renamed", "1.0.0").id("api1").context("/api1").build();
+        Application application = new Application("app2-name", "john");
+        application.setId("app2");
+        index.putSubscription(new Subscription("api1-app2", application, api,
+                new SubscriptionPolicy("policy-gold", "Platinum")));
+        SubscriptionValidationResult result = index.validate("/api1", "1.0.0", "key1");
+        Assert.assertEquals(result.getApiName(), "api1-renamed");
+        Assert.assertEquals(result.getSubscriptionPolicy(), "Platinum");
+
+        index.renamePolicy("policy-gold", "Diamond");
+        Assert.assertEquals(index.validate("/api1", "1.0.0", "key2").getSubscriptionPolicy(), "Diamond");
+    }
+
+    @Test
+    public void testManySubscriptions() {
+        SubscriptionValidationIndex index = new SubscriptionValidationIndex();
+        int apiCount = 50;
+        int applicationCount = 200;
+        for (int app = 0; app < applicationCount; app++) {
+            index.putKey("app" + app, "key" + app, "PRODUCTION");
+            for (int api = 0; api < apiCount; api++) {
+                index.putSubscription(createSubscription("api" + api, "app" + app, SubscriptionStatus.ACTIVE));
+            }
+        }
+        Assert.assertEquals(index.size(), apiCount * applicationCount);
+
+        // Removing every other application must not break the probe sequences of the remaining subscriptions
+        for (int app = 0; app < applicationCount; app += 2) {
+            index.replaceApplication("app" + app, Collections.emptyMap(), Collections.emptyList());
+        }
+        Assert.assertEquals(index.size(), apiCount * applicationCount / 2);
+        for (int app = 0; app < applicationCount; app++) {
+            for (int api = 0; api < apiCount; api++) {
+                SubscriptionValidationResult result = index.validate("/api" + api, "1.0.0", "key" + app);
+                if (app % 2 == 0) {
+                    Assert.assertNull(result);
+                } else {
+                    Assert.assertNotNull(result);
+                    Assert.assertEquals(result.getApplicationId(), "app" + app);
+                }
+            }
+        }
+        Assert.assertEquals(index.getSubscriptions("/api0", "1.0.0").size(), applicationCount / 2);
+    }
+
+    private static Subscription createSubscription(String apiId, String applicationId, SubscriptionStatus status) {
+        API api = new API.APIBuilder("admin", apiId + "-name", "1.0.0").id(apiId).context("/" + apiId).build();
+        Application application = new Application(applicationId + "-name", "john");
+        application.setId(applicationId);
+        Subscription subscription = new Subscription(apiId + "-" + applicationId, application, api,
+                new SubscriptionPolicy("policy-gold", "Gold"));
+        subscription.setStatus(status);
+        return subscription;
+    }
+}
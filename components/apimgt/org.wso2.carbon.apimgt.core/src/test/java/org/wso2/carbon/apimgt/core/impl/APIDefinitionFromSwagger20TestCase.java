@@ -18,6 +18,7 @@
 
 package org.wso2.carbon.apimgt.core.impl;
 
+import io.swagger.models.Swagger;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import org.wso2.carbon.apimgt.core.SampleTestObjectCreator;
@@ -25,6 +26,8 @@ import org.wso2.carbon.apimgt.core.exception.APIManagementException;
 import org.wso2.carbon.apimgt.core.models.API;
 
 import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class APIDefinitionFromSwagger20TestCase {
 
@@ -37,5 +40,42 @@ public class APIDefinitionFromSwagger20TestCase {
         API api = apiBuilder.build();
         Assert.assertNotNull(api);
     }
-}
 
+    @Test
+    public void testParsedSwaggerServedFromCache() throws IOException {
+        SwaggerModelCache swaggerModelCache = SwaggerModelCache.getInstance();
+        String sampleApi = SampleTestObjectCreator.getSampleApiSwagger();
+        Swagger swagger = swaggerModelCache.getSwagger(sampleApi);
+        Assert.assertNotNull(swagger);
+        long hitCount = swaggerModelCache.getHitCount();
+
+        // Modifying a returned model should not affect the cached model
+        String basePath = swagger.getBasePath();
+        swagger.setBasePath("/modified");
+        Swagger cachedSwagger = swaggerModelCache.getSwagger(sampleApi);
+        Assert.assertEquals(swaggerModelCache.getHitCount(), hitCount + 1);
+        Assert.assertNotSame(cachedSwagger, swagger);
+        Assert.assertEquals(cachedSwagger.getBasePath(), basePath);
+        Assert.assertEquals(cachedSwagger.getPaths().keySet(), swagger.getPaths().keySet());
+        Assert.assertTrue(swaggerModelCache.getHitRate() > 0);
+    }
+
+    @Test
+    public void testConvertedSwaggerServedFromCache() throws IOException {
+        SwaggerModelCache swaggerModelCache = SwaggerModelCache.getInstance();
+        String sampleApi = SampleTestObjectCreator.getSampleApiSwagger();
+        AtomicInteger conversionCount = new AtomicInteger();
+
+        Set<String> paths = swaggerModelCache.getConverted(sampleApi, "paths", swagger -> {
+            conversionCount.incrementAndGet();
+            return swagger.getPaths().keySet();
+        });
+        Assert.assertNotNull(paths);
+        Assert.assertSame(swaggerModelCache.getConverted(sampleApi, "paths", swagger -> {
+            conversionCount.incrementAndGet();
+            return swagger.getPaths().keySet();
+        }), paths);
+        Assert.assertEquals(conversionCount.get(), 1);
+        Assert.assertNull(swaggerModelCache.getConverted(null, "paths", Swagger::getPaths));
+    }
+}
@@ -22,6 +22,7 @@ package org.wso2.carbon.apimgt.core.impl;
 
 import com.google.common.io.Files;
 import org.apache.commons.io.IOUtils;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
@@ -56,6 +57,7 @@ import org.wso2.carbon.apimgt.core.models.Endpoint;
 import org.wso2.carbon.apimgt.core.models.Event;
 import org.wso2.carbon.apimgt.core.models.Label;
 import org.wso2.carbon.apimgt.core.models.Subscription;
+import org.wso2.carbon.apimgt.core.models.SubscriptionValidationData;
 import org.wso2.carbon.apimgt.core.models.UriTemplate;
 import org.wso2.carbon.apimgt.core.models.WorkflowConfig;
 import org.wso2.carbon.apimgt.core.models.policy.APIPolicy;
@@ -84,6 +86,7 @@ import java.sql.SQLException;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -1109,7 +1112,8 @@ public class APIPublisherImplTestCase {
         String lifecycleId = api.getLifecycleInstanceId();
         Mockito.when(apiDAO.getAPI(uuid)).thenReturn(api);
         LifecycleState lifecycleState = SampleTestObjectCreator.getMockLifecycleStateObject(lifecycleId);
-        Mockito.when(apiLifecycleManager.getLifecycleDataForState(lifecycleId, lcState)).thenReturn(lifecycleState);
+        Mockito.when(apiLifecycleManager.getLatestLifecycleDataForState(lifecycleId, lcState))
+                .thenReturn(lifecycleState);
         Mockito.when(apiLifecycleManager
                 .executeLifecycleEvent(APIStatus.CREATED.getStatus(), APIStatus.PUBLISHED.getStatus(), lifecycleId,
                         USER, api)).thenReturn(lifecycleState);
@@ -1181,7 +1185,7 @@ public class APIPublisherImplTestCase {
         AvailableTransitionBean bean = new AvailableTransitionBean("Deprecate", APIStatus.DEPRECATED.getStatus());
         list.add(bean);
         previousLifecycleState.setAvailableTransitionBeanList(list);
-        Mockito.when(apiLifecycleManager.getLifecycleDataForState(lifecycleIdPrevious, lcStatePrevious))
+        Mockito.when(apiLifecycleManager.getLatestLifecycleDataForState(lifecycleIdPrevious, lcStatePrevious))
                 .thenReturn(previousLifecycleState);
         Mockito.when(apiLifecycleManager
                 .executeLifecycleEvent(APIStatus.PUBLISHED.getStatus(), APIStatus.DEPRECATED.getStatus(),
@@ -1194,7 +1198,8 @@ public class APIPublisherImplTestCase {
         String lifecycleId = api.getLifecycleInstanceId();
         Mockito.when(apiDAO.getAPI(uuid)).thenReturn(api);
         LifecycleState lifecycleState = SampleTestObjectCreator.getMockLifecycleStateObject(lifecycleId);
-        Mockito.when(apiLifecycleManager.getLifecycleDataForState(lifecycleId, lcState)).thenReturn(lifecycleState);
+        Mockito.when(apiLifecycleManager.getLatestLifecycleDataForState(lifecycleId, lcState))
+                .thenReturn(lifecycleState);
         Mockito.when(apiLifecycleManager
                 .executeLifecycleEvent(APIStatus.CREATED.getStatus(), APIStatus.PUBLISHED.getStatus(), lifecycleId,
                         USER, api)).thenReturn(lifecycleState);
@@ -1238,7 +1243,8 @@ public class APIPublisherImplTestCase {
         String lifecycleId = api.getLifecycleInstanceId();
         Mockito.when(apiDAO.getAPI(uuid)).thenReturn(api);
         LifecycleState lifecycleState = SampleTestObjectCreator.getMockLifecycleStateObject(lifecycleId);
-        Mockito.when(apiLifecycleManager.getLifecycleDataForState(lifecycleId, lcState)).thenReturn(lifecycleState);
+        Mockito.when(apiLifecycleManager.getLatestLifecycleDataForState(lifecycleId, lcState))
+                .thenReturn(lifecycleState);
         Mockito.when(apiLifecycleManager
                 .executeLifecycleEvent(APIStatus.CREATED.getStatus(), APIStatus.PUBLISHED.getStatus(), lifecycleId,
                         USER, api)).thenReturn(lifecycleState);
@@ -1270,7 +1276,8 @@ public class APIPublisherImplTestCase {
         String lifecycleId = api.getLifecycleInstanceId();
         Mockito.when(apiDAO.getAPI(uuid)).thenReturn(api);
         LifecycleState lifecycleState = SampleTestObjectCreator.getMockLifecycleStateObject(lifecycleId);
-        Mockito.when(apiLifecycleManager.getLifecycleDataForState(lifecycleId, lcState)).thenReturn(lifecycleState);
+        Mockito.when(apiLifecycleManager.getLatestLifecycleDataForState(lifecycleId, lcState))
+                .thenReturn(lifecycleState);
         Mockito.when(apiLifecycleManager
                 .executeLifecycleEvent(APIStatus.CREATED.getStatus(), APIStatus.PUBLISHED.getStatus(), lifecycleId,
                         USER, api)).thenReturn(lifecycleState);
@@ -1422,13 +1429,20 @@ public class APIPublisherImplTestCase {
         APIGateway gateway = Mockito.mock(APIGateway.class);
         APISubscriptionDAO apiSubscriptionDAO = Mockito.mock(APISubscriptionDAO.class);
         APIPublisherImpl apiPublisher = getApiPublisherImpl(apiDAO, apiSubscriptionDAO, apiLifecycleManager, gateway);
-        Mockito.when(apiDAO.getAPI(uuid)).thenReturn(api);
+        Mockito.when(apiDAO.getAPISummary(uuid)).thenReturn(api);
+        Mockito.when(apiDAO.getApiSwaggerDefinition(uuid)).thenReturn(api.getApiDefinition());
         Mockito.when(apiSubscriptionDAO.getAPISubscriptionsByAPI(api.getId())).thenReturn(new ArrayList<>());
         Mockito.when(apiLifecycleManager.addLifecycle(APIMgtConstants.API_LIFECYCLE, USER))
                 .thenReturn(new LifecycleState());
         String newUUid = apiPublisher.createNewAPIVersion(uuid, "2.0.0");
-        Mockito.verify(apiDAO, Mockito.times(1)).getAPI(uuid);
+        Mockito.verify(apiDAO, Mockito.times(1)).getAPISummary(uuid);
+        Mockito.verify(apiDAO, Mockito.never()).getAPI(uuid);
         Mockito.verify(apiDAO, Mockito.times(0)).addAPI(api);
+        ArgumentCaptor<API> newVersionCaptor = ArgumentCaptor.forClass(API.class);
+        Mockito.verify(apiDAO, Mockito.times(1)).cloneAPI(Mockito.eq(uuid), newVersionCaptor.capture());
+        Assert.assertEquals(newVersionCaptor.getValue().getVersion(), "2.0.0");
+        Assert.assertEquals(newVersionCaptor.getValue().getId(), newUUid);
+        Assert.assertTrue(newVersionCaptor.getValue().getApiDefinition().contains("2.0.0"));
         Assert.assertNotEquals(uuid, newUUid);
     }
 
@@ -1441,12 +1455,16 @@ public class APIPublisherImplTestCase {
         APIGateway gateway = Mockito.mock(APIGateway.class);
         APISubscriptionDAO apiSubscriptionDAO = Mockito.mock(APISubscriptionDAO.class);
         APIPublisherImpl apiPublisher = getApiPublisherImpl(apiDAO, apiSubscriptionDAO, apiLifecycleManager, gateway);
-        Mockito.when(apiDAO.getAPI(uuid)).thenReturn(api);
+        Mockito.when(apiDAO.getAPISummary(uuid)).thenReturn(api);
+        Mockito.when(apiDAO.getApiSwaggerDefinition(uuid)).thenReturn("");
+        Mockito.when(apiDAO.getResourcesOfApi(api.getContext(), api.getVersion()))
+                .thenReturn(new ArrayList<>(api.getUriTemplates().values()));
         Mockito.when(apiSubscriptionDAO.getAPISubscriptionsByAPI(api.getId())).thenReturn(new ArrayList<>());
         Mockito.when(apiLifecycleManager.addLifecycle(APIMgtConstants.API_LIFECYCLE, USER))
                 .thenReturn(new LifecycleState());
         String newUUid = apiPublisher.createNewAPIVersion(uuid, "2.0.0");
-        Mockito.verify(apiDAO, Mockito.times(1)).getAPI(uuid);
+        Mockito.verify(apiDAO, Mockito.times(1)).getAPISummary(uuid);
+        Mockito.verify(apiDAO, Mockito.times(1)).getResourcesOfApi(api.getContext(), api.getVersion());
         Mockito.verify(apiDAO, Mockito.times(0)).addAPI(api);
         Assert.assertNotEquals(uuid, newUUid);
     }
@@ -1457,7 +1475,7 @@ public class APIPublisherImplTestCase {
         APILifecycleManager apiLifecycleManager = Mockito.mock(APILifecycleManager.class);
         APIGateway gateway = Mockito.mock(APIGateway.class);
         APIPublisherImpl apiPublisher = getApiPublisherImpl(apiDAO, apiLifecycleManager, gateway);
-        Mockito.when(apiDAO.getAPI("xxxxxx")).thenThrow(new APIMgtDAOException("API with ID does not exist",
+        Mockito.when(apiDAO.getAPISummary("xxxxxx")).thenThrow(new APIMgtDAOException("API with ID does not exist",
                 ExceptionCodes.API_NOT_FOUND));
         try {
             apiPublisher.createNewAPIVersion("xxxxxx", "2.0.0");
@@ -1502,7 +1520,7 @@ public class APIPublisherImplTestCase {
         String uuid = api.getId();
         APIGateway gateway = Mockito.mock(APIGateway.class);
         APIPublisherImpl apiPublisher = getApiPublisherImpl(apiDAO, apiLifecycleManager, gateway);
-        Mockito.when(apiDAO.getAPI(uuid)).thenReturn(api);
+        Mockito.when(apiDAO.getAPISummary(uuid)).thenReturn(api);
         Mockito.when(apiLifecycleManager.addLifecycle(APIMgtConstants.API_LIFECYCLE, USER))
                 .thenReturn(new LifecycleState());
         try {
@@ -1522,7 +1540,8 @@ public class APIPublisherImplTestCase {
         String uuid = api.getId();
         APIGateway gateway = Mockito.mock(APIGateway.class);
         APIPublisherImpl apiPublisher = getApiPublisherImpl(apiDAO, apiLifecycleManager, gateway);
-        Mockito.when(apiDAO.getAPI(uuid)).thenReturn(api);
+        Mockito.when(apiDAO.getAPISummary(uuid)).thenReturn(api);
+        Mockito.when(apiDAO.getApiSwaggerDefinition(uuid)).thenReturn(api.getApiDefinition());
         Mockito.when(apiLifecycleManager.addLifecycle(APIMgtConstants.API_LIFECYCLE, USER))
                 .thenThrow(new LifecycleException(""));
         apiPublisher.createNewAPIVersion(uuid, "2.0.0");
@@ -1536,7 +1555,7 @@ public class APIPublisherImplTestCase {
         APILifecycleManager apiLifecycleManager = Mockito.mock(APILifecycleManager.class);
         APIGateway gateway = Mockito.mock(APIGateway.class);
         APIPublisherImpl apiPublisher = getApiPublisherImpl(apiDAO, apiLifecycleManager, gateway);
-        Mockito.when(apiDAO.getAPI("yyyyy")).thenThrow(new APIMgtDAOException(""));
+        Mockito.when(apiDAO.getAPISummary("yyyyy")).thenThrow(new APIMgtDAOException(""));
         apiPublisher.createNewAPIVersion("yyyyy", "2.0.0");
     }
 
@@ -1707,7 +1726,8 @@ public class APIPublisherImplTestCase {
         String lcState = api.getLifeCycleStatus();
         String lifecycleId = api.getLifecycleInstanceId();
         LifecycleState lifecycleState = SampleTestObjectCreator.getMockLifecycleStateObject(lifecycleId);
-        Mockito.when(apiLifecycleManager.getLifecycleDataForState(lifecycleId, lcState)).thenReturn(lifecycleState);
+        Mockito.when(apiLifecycleManager.getLatestLifecycleDataForState(lifecycleId, lcState))
+                .thenReturn(lifecycleState);
         Mockito.when(apiDAO.getAPI(uuid)).thenReturn(api);
         API.APIBuilder apiBuilder = new API.APIBuilder(api);
         apiBuilder.lifecycleState(lifecycleState);
@@ -1925,9 +1945,52 @@ public class APIPublisherImplTestCase {
     @Test(description = "Update subscription policy")
     public void testUpdateSubscriptionPolicy() throws APIManagementException {
         APISubscriptionDAO apiSubscriptionDAO = Mockito.mock(APISubscriptionDAO.class);
-        APIPublisherImpl apiPublisher = getApiPublisherImpl(apiSubscriptionDAO);
+        APIGateway apiGatewayPublisher = Mockito.mock(APIGateway.class);
+        APIPublisherImpl apiPublisher = getApiPublisherImpl(apiSubscriptionDAO, apiGatewayPublisher);
+        List<SubscriptionValidationData> subscriptionValidationDataList = Collections.singletonList(
+                new SubscriptionValidationData("/test", "1.0.0", "client1"));
+        Mockito.when(apiSubscriptionDAO.getAPISubscriptionsForValidation(Collections.singletonList(SUB_ID)))
+                .thenReturn(subscriptionValidationDataList);
         apiPublisher.updateSubscriptionPolicy(SUB_ID, "test policy");
         Mockito.verify(apiSubscriptionDAO, Mockito.times(1)).updateSubscriptionPolicy(SUB_ID, "test policy");
+        Mockito.verify(apiGatewayPublisher, Mockito.times(1))
+                .updateAPISubscriptionStatus(subscriptionValidationDataList);
+    }
+
+    @Test(description = "Update the status of multiple subscriptions")
+    public void testUpdateSubscriptionStatuses() throws APIManagementException {
+        APISubscriptionDAO apiSubscriptionDAO = Mockito.mock(APISubscriptionDAO.class);
+        APIGateway apiGatewayPublisher = Mockito.mock(APIGateway.class);
+        APIPublisherImpl apiPublisher = getApiPublisherImpl(apiSubscriptionDAO, apiGatewayPublisher);
+        List<String> subIds = Arrays.asList(SUB_ID, UUID.randomUUID().toString());
+        List<SubscriptionValidationData> subscriptionValidationDataList = Arrays.asList(
+                new SubscriptionValidationData("/test", "1.0.0", "client1"),
+                new SubscriptionValidationData("/test", "1.0.0", "client2"));
+        Mockito.when(apiSubscriptionDAO.getAPISubscriptionsForValidation(subIds))
+                .thenReturn(subscriptionValidationDataList);
+        apiPublisher.updateSubscriptionStatuses(subIds, APIMgtConstants.SubscriptionStatus.BLOCKED);
+        Mockito.verify(apiSubscriptionDAO, Mockito.times(1))
+                .updateSubscriptionStatuses(subIds, APIMgtConstants.SubscriptionStatus.BLOCKED);
+        Mockito.verify(apiSubscriptionDAO, Mockito.never())
+                .updateSubscriptionStatus(SUB_ID, APIMgtConstants.SubscriptionStatus.BLOCKED);
+        Mockito.verify(apiGatewayPublisher, Mockito.times(1))
+                .updateAPISubscriptionStatus(subscriptionValidationDataList);
+    }
+
+    @Test(description = "Update the policy of multiple subscriptions")
+    public void testUpdateSubscriptionPolicies() throws APIManagementException {
+        APISubscriptionDAO apiSubscriptionDAO = Mockito.mock(APISubscriptionDAO.class);
+        APIGateway apiGatewayPublisher = Mockito.mock(APIGateway.class);
+        APIPublisherImpl apiPublisher = getApiPublisherImpl(apiSubscriptionDAO, apiGatewayPublisher);
+        List<String> subIds = Arrays.asList(SUB_ID, UUID.randomUUID().toString());
+        List<SubscriptionValidationData> subscriptionValidationDataList = Arrays.asList(
+                new SubscriptionValidationData("/test", "1.0.0", "client1"));
+        Mockito.when(apiSubscriptionDAO.getAPISubscriptionsForValidation(subIds))
+                .thenReturn(subscriptionValidationDataList);
+        apiPublisher.updateSubscriptionPolicies(subIds, "test policy");
+        Mockito.verify(apiSubscriptionDAO, Mockito.times(1)).updateSubscriptionPolicies(subIds, "test policy");
+        Mockito.verify(apiGatewayPublisher, Mockito.times(1))
+                .updateAPISubscriptionStatus(subscriptionValidationDataList);
     }
 
     @Test(description = "Error when updating subscription policy", expectedExceptions = APIManagementException.class)
@@ -62,7 +62,9 @@ import org.wso2.carbon.apimgt.core.models.Event;
 import org.wso2.carbon.apimgt.core.models.Label;
 import org.wso2.carbon.apimgt.core.models.Rating;
 import org.wso2.carbon.apimgt.core.models.Subscription;
+import org.wso2.carbon.apimgt.core.models.SubscriptionRequest;
 import org.wso2.carbon.apimgt.core.models.SubscriptionResponse;
+import org.wso2.carbon.apimgt.core.models.SubscriptionValidationData;
 import org.wso2.carbon.apimgt.core.models.User;
 import org.wso2.carbon.apimgt.core.models.WSDLArchiveInfo;
 import org.wso2.carbon.apimgt.core.models.WorkflowConfig;
@@ -87,6 +89,7 @@ import org.wso2.carbon.kernel.configprovider.CarbonConfigurationException;
 import org.wso2.carbon.kernel.configprovider.ConfigProvider;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
@@ -260,6 +263,55 @@ public class APIStoreImplTestCase {
         Assert.assertFalse(endpoints.containsValue(SampleTestObjectCreator.ORIGINAL_ENDPOINT_WEATHER));
     }
 
+    @Test(description = "Retrieve a WSDL of an API from the WSDL cache")
+    public void testGetAPIWSDLFromCache() throws APIManagementException, IOException {
+        final String labelName = "SampleLabel";
+
+        Label label = SampleTestObjectCreator.createLabel(labelName).build();
+        Set<String> labels = new HashSet<>();
+        labels.add(label.getName());
+        API api = SampleTestObjectCreator.createDefaultAPI().labels(labels).build();
+        ApiDAO apiDAO = Mockito.mock(ApiDAO.class);
+        LabelDAO labelDAO = Mockito.mock(LabelDAO.class);
+        APIStore apiStore = getApiStoreImpl(apiDAO, labelDAO);
+        Mockito.when(apiDAO.getAPI(api.getId())).thenReturn(api);
+        Mockito.when(labelDAO.getLabelByName(labelName)).thenReturn(label);
+        Mockito.when(apiDAO.getLastUpdatedTimeOfWSDL(api.getId())).thenReturn("2017-10-10 10:10:10");
+        Mockito.when(apiDAO.getWSDL(api.getId()))
+                .thenReturn(new String(SampleTestObjectCreator.createDefaultWSDL11Content()));
+        String updatedWSDL = apiStore.getAPIWSDL(api.getId(), label.getName());
+        String cachedWSDL = apiStore.getAPIWSDL(api.getId(), label.getName());
+        Assert.assertEquals(cachedWSDL, updatedWSDL);
+        Mockito.verify(apiDAO, Mockito.times(1)).getWSDL(api.getId());
+
+        //WSDL is processed again once it is updated
+        Mockito.when(apiDAO.getLastUpdatedTimeOfWSDL(api.getId())).thenReturn("2017-10-10 11:11:11");
+        apiStore.getAPIWSDL(api.getId(), label.getName());
+        Mockito.verify(apiDAO, Mockito.times(2)).getWSDL(api.getId());
+    }
+
+    @Test(description = "Retrieve a WSDL archive of an API from the WSDL cache")
+    public void testGetAPIWSDLArchiveFromCache() throws APIManagementException, IOException {
+        final String labelName = "SampleLabel";
+
+        Label label = SampleTestObjectCreator.createLabel(labelName).build();
+        Set<String> labels = new HashSet<>();
+        labels.add(label.getName());
+        API api = SampleTestObjectCreator.createDefaultAPI().labels(labels).build();
+        ApiDAO apiDAO = Mockito.mock(ApiDAO.class);
+        LabelDAO labelDAO = Mockito.mock(LabelDAO.class);
+        APIStore apiStore = getApiStoreImpl(apiDAO, labelDAO);
+        Mockito.when(apiDAO.getAPI(api.getId())).thenReturn(api);
+        Mockito.when(labelDAO.getLabelByName(labelName)).thenReturn(label);
+        Mockito.when(apiDAO.getWSDLArchive(api.getId()))
+                .thenReturn(SampleTestObjectCreator.createDefaultWSDL11ArchiveInputStream());
+        WSDLArchiveInfo archiveInfo = apiStore.getAPIWSDLArchive(api.getId(), label.getName());
+        WSDLArchiveInfo cachedArchiveInfo = apiStore.getAPIWSDLArchive(api.getId(), label.getName());
+        Assert.assertEquals(cachedArchiveInfo.getAbsoluteFilePath(), archiveInfo.getAbsoluteFilePath());
+        Assert.assertTrue(new File(cachedArchiveInfo.getAbsoluteFilePath()).exists());
+        Mockito.verify(apiDAO, Mockito.times(1)).getWSDLArchive(api.getId());
+    }
+
     @Test(description = "Add Composite API")
     public void testAddCompositeApi() throws APIManagementException {
         CompositeAPI.Builder apiBuilder = SampleTestObjectCreator.createUniqueCompositeAPI();
@@ -481,15 +533,114 @@ public class APIStoreImplTestCase {
         String subscriptionId = subscriptionResponse.getSubscriptionUUID();
         Assert.assertNotNull(subscriptionId);
 
-        // before workflow add subscription with blocked state
-        Mockito.verify(apiSubscriptionDAO, Mockito.times(1)).addAPISubscription(subscriptionId, apiId, UUID, policy
-                        .getUuid(),
-                APIMgtConstants.SubscriptionStatus.ON_HOLD);
+        // before workflow add subscription with blocked state, recording who created it
+        ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(apiSubscriptionDAO, Mockito.times(1)).addAPISubscriptions(captor.capture());
+        Subscription subscription = (Subscription) captor.getValue().get(0);
+        Assert.assertEquals(subscription.getId(), subscriptionId);
+        Assert.assertEquals(subscription.getStatus(), APIMgtConstants.SubscriptionStatus.ON_HOLD);
+        Assert.assertEquals(subscription.getCreatedUser(), USER_NAME);
+        Assert.assertNotNull(subscription.getCreatedTime());
         // after workflow change the state
         Mockito.verify(apiSubscriptionDAO, Mockito.times(1)).updateSubscriptionStatus(subscriptionId,
                 APIMgtConstants.SubscriptionStatus.ACTIVE);
     }
 
+    @Test(description = "Add subscriptions of an application to multiple APIs")
+    public void testAddSubscriptions() throws APIManagementException {
+        ApplicationDAO applicationDAO = Mockito.mock(ApplicationDAO.class);
+        APISubscriptionDAO apiSubscriptionDAO = Mockito.mock(APISubscriptionDAO.class);
+        ApiDAO apiDAO = Mockito.mock(ApiDAO.class);
+        APIGateway apiGateway = Mockito.mock(APIGateway.class);
+        WorkflowDAO workflowDAO = Mockito.mock(WorkflowDAO.class);
+        PolicyDAO policyDAO = Mockito.mock(PolicyDAO.class);
+        Policy policy = new SubscriptionPolicy(UUID, TIER);
+        Mockito.when(policyDAO.getSimplifiedPolicyByLevelAndName(APIMgtAdminService.PolicyLevel.subscription, TIER))
+                .thenReturn(policy);
+        APIStore apiStore = getApiStoreImpl(apiDAO, applicationDAO, apiSubscriptionDAO, workflowDAO, apiGateway,
+                policyDAO);
+        API api1 = SampleTestObjectCreator.createDefaultAPI().id(java.util.UUID.randomUUID().toString()).build();
+        API api2 = SampleTestObjectCreator.createDefaultAPI().id(java.util.UUID.randomUUID().toString()).build();
+        Application application = new Application("TestApp", USER_ID);
+        application.setId(UUID);
+
+        Mockito.when(apiDAO.getAPI(api1.getId())).thenReturn(api1);
+        Mockito.when(apiDAO.getAPI(api2.getId())).thenReturn(api2);
+        Mockito.when(applicationDAO.getApplication(UUID)).thenReturn(application);
+        Mockito.when(apiSubscriptionDAO.getAPISubscriptionsOfAPIForValidation(api1.getContext(), api1.getVersion(),
+                UUID)).thenReturn(Arrays.asList(new SubscriptionValidationData(api1.getContext(), api1.getVersion(),
+                "client1"))).thenReturn(Arrays.asList(new SubscriptionValidationData(api2.getContext(),
+                api2.getVersion(), "client1")));
+
+        List<SubscriptionResponse> subscriptionResponses = apiStore.addApiSubscriptions(Arrays.asList(
+                new SubscriptionRequest(api1.getId(), UUID, TIER), new SubscriptionRequest(api2.getId(), UUID, TIER)));
+        Assert.assertEquals(subscriptionResponses.size(), 2);
+
+        // subscriptions are added together before the workflows are executed
+        Mockito.verify(apiSubscriptionDAO, Mockito.times(1)).addAPISubscriptions(Mockito.anyList());
+        Mockito.verify(apiSubscriptionDAO, Mockito.never()).addAPISubscription(Mockito.anyString(),
+                Mockito.anyString(), Mockito.anyString(), Mockito.anyString(),
+                Mockito.any(APIMgtConstants.SubscriptionStatus.class));
+        for (SubscriptionResponse subscriptionResponse : subscriptionResponses) {
+            Mockito.verify(apiSubscriptionDAO, Mockito.times(1)).updateSubscriptionStatus(
+                    subscriptionResponse.getSubscriptionUUID(), APIMgtConstants.SubscriptionStatus.ACTIVE);
+        }
+        // gateway is notified of both subscriptions with a single event
+        ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(apiGateway, Mockito.times(1)).addAPISubscription(captor.capture());
+        Assert.assertEquals(captor.getValue().size(), 2);
+    }
+
+    @Test(description = "Subscriptions completed before a workflow failure are published to the gateway and "
+            + "subscriptions whose workflows did not run are removed")
+    public void testAddSubscriptionsPublishesCompletedSubscriptionsOnFailure() throws APIManagementException {
+        ApplicationDAO applicationDAO = Mockito.mock(ApplicationDAO.class);
+        APISubscriptionDAO apiSubscriptionDAO = Mockito.mock(APISubscriptionDAO.class);
+        ApiDAO apiDAO = Mockito.mock(ApiDAO.class);
+        APIGateway apiGateway = Mockito.mock(APIGateway.class);
+        WorkflowDAO workflowDAO = Mockito.mock(WorkflowDAO.class);
+        PolicyDAO policyDAO = Mockito.mock(PolicyDAO.class);
+        Policy policy = new SubscriptionPolicy(UUID, TIER);
+        Mockito.when(policyDAO.getSimplifiedPolicyByLevelAndName(APIMgtAdminService.PolicyLevel.subscription, TIER))
+                .thenReturn(policy);
+        APIStore apiStore = getApiStoreImpl(apiDAO, applicationDAO, apiSubscriptionDAO, workflowDAO, apiGateway,
+                policyDAO);
+        API api1 = SampleTestObjectCreator.createDefaultAPI().id(java.util.UUID.randomUUID().toString()).build();
+        API api2 = SampleTestObjectCreator.createDefaultAPI().id(java.util.UUID.randomUUID().toString()).build();
+        API api3 = SampleTestObjectCreator.createDefaultAPI().id(java.util.UUID.randomUUID().toString()).build();
+        Application application = new Application("TestApp", USER_ID);
+        application.setId(UUID);
+
+        Mockito.when(apiDAO.getAPI(api1.getId())).thenReturn(api1);
+        Mockito.when(apiDAO.getAPI(api2.getId())).thenReturn(api2);
+        Mockito.when(apiDAO.getAPI(api3.getId())).thenReturn(api3);
+        Mockito.when(applicationDAO.getApplication(UUID)).thenReturn(application);
+        Mockito.when(apiSubscriptionDAO.getAPISubscriptionsOfAPIForValidation(api1.getContext(), api1.getVersion(),
+                UUID)).thenReturn(Arrays.asList(new SubscriptionValidationData(api1.getContext(), api1.getVersion(),
+                "client1")));
+        Mockito.doNothing().doThrow(new APIMgtDAOException("Error occurred while updating subscription status"))
+                .when(apiSubscriptionDAO).updateSubscriptionStatus(Mockito.anyString(),
+                Mockito.any(APIMgtConstants.SubscriptionStatus.class));
+
+        ArgumentCaptor<List> addedCaptor = ArgumentCaptor.forClass(List.class);
+        try {
+            apiStore.addApiSubscriptions(Arrays.asList(new SubscriptionRequest(api1.getId(), UUID, TIER),
+                    new SubscriptionRequest(api2.getId(), UUID, TIER), new SubscriptionRequest(api3.getId(), UUID,
+                    TIER)));
+            Assert.fail("Expected the failure of the second subscription workflow");
+        } catch (APIManagementException e) {
+            // the first subscription is still published to the gateway
+            ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+            Mockito.verify(apiGateway, Mockito.times(1)).addAPISubscription(captor.capture());
+            Assert.assertEquals(captor.getValue().size(), 1);
+        }
+        // only the third subscription, whose workflow did not run, is removed
+        Mockito.verify(apiSubscriptionDAO).addAPISubscriptions(addedCaptor.capture());
+        List<Subscription> addedSubscriptions = addedCaptor.getValue();
+        Mockito.verify(apiSubscriptionDAO, Mockito.times(1)).deleteAPISubscription(Mockito.anyString());
+        Mockito.verify(apiSubscriptionDAO).deleteAPISubscription(addedSubscriptions.get(2).getId());
+    }
+
     @Test(description = "Add subscription without a valid app", expectedExceptions = APIManagementException.class)
     public void testAddSubscriptionForInvalidApplication() throws APIManagementException {
         ApplicationDAO applicationDAO = Mockito.mock(ApplicationDAO.class);
@@ -558,6 +709,38 @@ public class APIStoreImplTestCase {
         Mockito.verify(apiSubscriptionDAO, Mockito.times(1)).deleteAPISubscription(UUID);
     }
 
+    @Test(description = "Delete multiple subscriptions")
+    public void testDeleteSubscriptions() throws APIManagementException {
+        ApplicationDAO applicationDAO = Mockito.mock(ApplicationDAO.class);
+        APISubscriptionDAO apiSubscriptionDAO = Mockito.mock(APISubscriptionDAO.class);
+        WorkflowDAO workflowDAO = Mockito.mock(WorkflowDAO.class);
+        APIGateway apiGateway = Mockito.mock(APIGateway.class);
+        APIStore apiStore = getApiStoreImpl(applicationDAO, apiSubscriptionDAO, workflowDAO, apiGateway);
+
+        Application application = SampleTestObjectCreator.createDefaultApplication();
+        API api1 = SampleTestObjectCreator.createDefaultAPI().id(java.util.UUID.randomUUID().toString()).build();
+        API api2 = SampleTestObjectCreator.createDefaultAPI().id(java.util.UUID.randomUUID().toString()).build();
+        String subscriptionId1 = java.util.UUID.randomUUID().toString();
+        String subscriptionId2 = java.util.UUID.randomUUID().toString();
+        Mockito.when(apiSubscriptionDAO.getAPISubscription(subscriptionId1)).thenReturn(new Subscription(
+                subscriptionId1, application, api1, new SubscriptionPolicy("Gold")));
+        Mockito.when(apiSubscriptionDAO.getAPISubscription(subscriptionId2)).thenReturn(new Subscription(
+                subscriptionId2, application, api2, new SubscriptionPolicy("Gold")));
+        Mockito.when(apiSubscriptionDAO.getAPISubscriptionsOfAPIForValidation(api1.getContext(), api1.getVersion(),
+                application.getId())).thenReturn(Arrays.asList(new SubscriptionValidationData(api1.getContext(),
+                api1.getVersion(), "client1"))).thenReturn(Arrays.asList(new SubscriptionValidationData(
+                api2.getContext(), api2.getVersion(), "client1")));
+
+        List<WorkflowResponse> workflowResponses = apiStore.deleteAPISubscriptions(Arrays.asList(subscriptionId1,
+                subscriptionId2));
+        Assert.assertEquals(workflowResponses.size(), 2);
+        Mockito.verify(apiSubscriptionDAO, Mockito.times(1)).deleteAPISubscription(subscriptionId1);
+        Mockito.verify(apiSubscriptionDAO, Mockito.times(1)).deleteAPISubscription(subscriptionId2);
+        ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(apiGateway, Mockito.times(1)).deleteAPISubscription(captor.capture());
+        Assert.assertEquals(captor.getValue().size(), 2);
+    }
+
     @Test(description = "Delete subscription with on_hold state")
     public void testDeleteSubscriptionWithOnholdState() throws APIManagementException {
         ApplicationDAO applicationDAO = Mockito.mock(ApplicationDAO.class);
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.configuration.models.AnalyticsConfigurations;
+import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.core.exception.AnalyticsException;
+import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
+
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class AnalyticsQueryExecutorTestCase {
+
+    @Test
+    public void testQueryResultIsReturned() throws Exception {
+        AnalyticsQueryExecutor executor = new AnalyticsQueryExecutor(new AnalyticsConfigurations());
+        try {
+            Assert.assertEquals(executor.execute(() -> "result"), "result");
+            Assert.assertEquals(executor.getCompletedCount(), 1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testQueryIsRunAfterShutdown() throws Exception {
+        AnalyticsQueryExecutor executor = new AnalyticsQueryExecutor(new AnalyticsConfigurations());
+        try {
+            Assert.assertEquals(executor.execute(() -> "before"), "before");
+            executor.shutdown();
+            Assert.assertEquals(executor.execute(() -> "after"), "after");
+            Assert.assertEquals(executor.getCompletedCount(), 2);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testQueryErrorIsPropagated() throws Exception {
+        AnalyticsQueryExecutor executor = new AnalyticsQueryExecutor(new AnalyticsConfigurations());
+        try {
+            executor.execute(() -> {
+                throw new AnalyticsException("Error", ExceptionCodes.APIMGT_DAO_EXCEPTION);
+            });
+            Assert.fail("Exception was expected, but wasn't thrown");
+        } catch (APIManagementException e) {
+            Assert.assertEquals(e.getMessage(), "Error");
+            Assert.assertEquals(e.getErrorHandler(), ExceptionCodes.APIMGT_DAO_EXCEPTION);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSlowQueryIsCancelled() throws Exception {
+        AnalyticsConfigurations analyticsConfigurations = new AnalyticsConfigurations();
+        analyticsConfigurations.setQueryTimeout(1);
+        AnalyticsQueryExecutor executor = new AnalyticsQueryExecutor(analyticsConfigurations);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try {
+            executor.execute(() -> {
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return null;
+            });
+            Assert.fail("Exception was expected, but wasn't thrown");
+        } catch (APIManagementException e) {
+            Assert.assertEquals(e.getErrorHandler(), ExceptionCodes.ANALYTICS_QUERY_TIMEOUT);
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(executor.getTimedOutCount(), 1);
+    }
+
+    @Test
+    public void testQueriesAreRejectedWhenQueueIsFull() throws Exception {
+        AnalyticsConfigurations analyticsConfigurations = new AnalyticsConfigurations();
+        analyticsConfigurations.setQueryPoolSize(1);
+        analyticsConfigurations.setQueryTimeout(5);
+        AnalyticsQueryExecutor executor = new AnalyticsQueryExecutor(analyticsConfigurations);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // One query runs and ten are queued, hence at least one of twelve queries is rejected
+            for (int i = 0; i < 12; i++) {
+                Thread thread = new Thread(() -> {
+                    try {
+                        executor.execute(() -> release.await(10, TimeUnit.SECONDS));
+                    } catch (APIManagementException e) {
+                        // rejected or timed out
+                    }
+                });
+                thread.setDaemon(true);
+                thread.start();
+            }
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+            while (executor.getRejectedCount() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Assert.assertTrue(executor.getRejectedCount() > 0);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testTimeRangeIsValidated() throws Exception {
+        AnalyticsQueryExecutor executor = new AnalyticsQueryExecutor(new AnalyticsConfigurations());
+        try {
+            Instant now = Instant.now();
+            executor.validateTimeRange(now.minusSeconds(TimeUnit.DAYS.toSeconds(365)), now);
+            try {
+                executor.validateTimeRange(now, now.minusSeconds(1));
+                Assert.fail("Exception was expected, but wasn't thrown");
+            } catch (AnalyticsException e) {
+                Assert.assertEquals(e.getErrorHandler(), ExceptionCodes.ANALYTICS_INVALID_TIME_RANGE);
+            }
+            try {
+                executor.validateTimeRange(now.minusSeconds(TimeUnit.DAYS.toSeconds(1000)), now);
+                Assert.fail("Exception was expected, but wasn't thrown");
+            } catch (AnalyticsException e) {
+                Assert.assertEquals(e.getErrorHandler(), ExceptionCodes.ANALYTICS_INVALID_TIME_RANGE);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.mockito.Mockito;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.dao.AnalyticsDAO;
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+import org.wso2.carbon.apimgt.core.models.Event;
+import org.wso2.carbon.apimgt.core.models.analytics.RollupEntity;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class AnalyticsRollupObserverTestCase {
+
+    private static final ZonedDateTime EVENT_TIME = ZonedDateTime.of(2017, 6, 1, 10, 15, 30, 0, ZoneOffset.UTC);
+
+    @Test
+    public void testCreationIsCountedAtEventTime() throws Exception {
+        AnalyticsDAO analyticsDAO = Mockito.mock(AnalyticsDAO.class);
+        AnalyticsRollupObserver observer = new AnalyticsRollupObserver(analyticsDAO);
+
+        observer.captureEvent(Event.APP_CREATION, "john", EVENT_TIME, Collections.emptyMap());
+        observer.captureEvent(Event.SUBSCRIPTION_CREATION, "john", EVENT_TIME, Collections.emptyMap());
+
+        Mockito.verify(analyticsDAO).updateRollupCount(RollupEntity.APPLICATION, "john", EVENT_TIME.toInstant(), 1);
+        Mockito.verify(analyticsDAO).updateRollupCount(RollupEntity.SUBSCRIPTION, null, EVENT_TIME.toInstant(), 1);
+    }
+
+    @Test
+    public void testDeletionIsTakenOffCreationBucket() throws Exception {
+        AnalyticsDAO analyticsDAO = Mockito.mock(AnalyticsDAO.class);
+        AnalyticsRollupObserver observer = new AnalyticsRollupObserver(analyticsDAO);
+        Instant createdTime = Instant.parse("2017-05-01T08:00:00Z");
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put(APIMgtConstants.FunctionsConstants.CREATED_BY, "jane");
+        metadata.put(APIMgtConstants.FunctionsConstants.CREATED_TIME, String.valueOf(createdTime.toEpochMilli()));
+
+        observer.captureEvent(Event.API_DELETION, "john", EVENT_TIME, metadata);
+
+        Mockito.verify(analyticsDAO).updateRollupCount(RollupEntity.API, "jane", createdTime, -1);
+    }
+
+    @Test
+    public void testDeletionWithoutCreationTimeIsSkipped() throws Exception {
+        AnalyticsDAO analyticsDAO = Mockito.mock(AnalyticsDAO.class);
+        AnalyticsRollupObserver observer = new AnalyticsRollupObserver(analyticsDAO);
+
+        observer.captureEvent(Event.SUBSCRIPTION_DELETION, "john", EVENT_TIME, Collections.emptyMap());
+        observer.captureEvent(Event.API_UPDATE, "john", EVENT_TIME, Collections.emptyMap());
+
+        Mockito.verifyZeroInteractions(analyticsDAO);
+    }
+
+    @Test
+    public void testDAOErrorIsNotPropagated() throws Exception {
+        AnalyticsDAO analyticsDAO = Mockito.mock(AnalyticsDAO.class);
+        Mockito.doThrow(new APIMgtDAOException("Error")).when(analyticsDAO).updateRollupCount(
+                Mockito.any(RollupEntity.class), Mockito.anyString(), Mockito.any(Instant.class), Mockito.anyLong());
+        AnalyticsRollupObserver observer = new AnalyticsRollupObserver(analyticsDAO);
+
+        observer.captureEvent(Event.API_CREATION, "john", EVENT_TIME, Collections.emptyMap());
+
+        Mockito.verify(analyticsDAO).updateRollupCount(RollupEntity.API, "john", EVENT_TIME.toInstant(), 1);
+    }
+}
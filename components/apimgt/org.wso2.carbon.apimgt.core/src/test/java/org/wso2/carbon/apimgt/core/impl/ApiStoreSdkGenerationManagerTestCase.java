@@ -39,6 +39,8 @@ import org.wso2.carbon.apimgt.core.models.API;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -92,6 +94,52 @@ public class ApiStoreSdkGenerationManagerTestCase {
         Assert.assertTrue(sdkZipFile.exists() && sdkZipFile.length() > MIN_SDK_SIZE);
     }
 
+    @Test
+    public void testGenerateSdkForApiServedFromCache() throws APIManagementException,
+            ApiStoreSdkGenerationException {
+        String apiId = UUID.randomUUID().toString();
+
+        APIManagerFactory instance = Mockito.mock(APIManagerFactory.class);
+        PowerMockito.mockStatic(APIManagerFactory.class);
+        PowerMockito.when(APIManagerFactory.getInstance()).thenReturn(instance);
+        APIStore apiStore = Mockito.mock(APIStoreImpl.class);
+
+        Mockito.when(instance.getAPIConsumer(USER)).thenReturn(apiStore);
+
+        API api = SampleTestObjectCreator.createDefaultAPI().build();
+        Mockito.when(apiStore.getAPIbyUUID(apiId)).thenReturn(api);
+        Mockito.when(apiStore.getApiSwaggerDefinition(apiId)).thenReturn(swaggerPetStore);
+
+        ApiStoreSdkGenerationManager sdkGenerationManager = new ApiStoreSdkGenerationManager();
+        String firstPathToZip = sdkGenerationManager.generateSdkForApi(apiId, LANGUAGE, USER);
+        String secondPathToZip = sdkGenerationManager.generateSdkForApi(apiId, LANGUAGE, USER);
+
+        Assert.assertEquals(firstPathToZip, secondPathToZip);
+        Assert.assertTrue(new File(secondPathToZip).exists());
+    }
+
+    @Test
+    public void testSdkArtifactCacheEviction() throws IOException {
+        Path cacheDirectory = Files.createTempDirectory("sdk-cache-test");
+        SdkArtifactCache artifactCache = new SdkArtifactCache(cacheDirectory, 10);
+
+        File firstArchive = createArchive("first.zip", 8);
+        File secondArchive = createArchive("second.zip", 8);
+        File cachedFirstArchive = artifactCache.put("first", firstArchive);
+        File cachedSecondArchive = artifactCache.put("second", secondArchive);
+
+        Assert.assertNull(artifactCache.get("first"));
+        Assert.assertFalse(cachedFirstArchive.exists());
+        Assert.assertEquals(cachedSecondArchive, artifactCache.get("second"));
+        Assert.assertEquals(8, artifactCache.getCurrentSize());
+    }
+
+    private File createArchive(String name, int size) throws IOException {
+        Path archive = Files.createTempDirectory("sdk-archive").resolve(name);
+        Files.write(archive, new byte[size]);
+        return archive.toFile();
+    }
+
     @Test
     public void testGetSdkGenLanguages() {
         ApiStoreSdkGenerationManager sdkGenerationManager = new ApiStoreSdkGenerationManager();
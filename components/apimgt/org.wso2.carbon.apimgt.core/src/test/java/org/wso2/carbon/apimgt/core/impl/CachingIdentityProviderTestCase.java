@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.api.IdentityProvider;
+import org.wso2.carbon.apimgt.core.configuration.models.CacheConfigurations;
+import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
+import org.wso2.carbon.apimgt.core.exception.IdentityProviderException;
+import org.wso2.carbon.apimgt.core.models.User;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class CachingIdentityProviderTestCase {
+
+    @Test
+    public void testLookupsAreCached() throws Exception {
+        IdentityProvider identityProvider = Mockito.mock(IdentityProvider.class);
+        CachingIdentityProvider cachingIdentityProvider = new CachingIdentityProvider(identityProvider,
+                new CacheConfigurations());
+        Mockito.when(identityProvider.getIdOfUser("John")).thenReturn("1111");
+        Mockito.when(identityProvider.getRoleNamesOfUser("1111")).thenReturn(Arrays.asList("admin", "subscriber"));
+        Mockito.when(identityProvider.isValidRole("admin")).thenReturn(true);
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(cachingIdentityProvider.getIdOfUser("John"), "1111");
+            Assert.assertEquals(cachingIdentityProvider.getRoleNamesOfUser("1111"), Arrays.asList("admin",
+                    "subscriber"));
+            Assert.assertTrue(cachingIdentityProvider.isValidRole("admin"));
+        }
+        Mockito.verify(identityProvider, Mockito.times(1)).getIdOfUser("John");
+        Mockito.verify(identityProvider, Mockito.times(1)).getRoleNamesOfUser("1111");
+        Mockito.verify(identityProvider, Mockito.times(1)).isValidRole("admin");
+    }
+
+    @Test
+    public void testMissingLookupsAreNotCachedForZeroNegativeExpiryTime() throws Exception {
+        IdentityProvider identityProvider = Mockito.mock(IdentityProvider.class);
+        CacheConfigurations cacheConfigurations = new CacheConfigurations();
+        cacheConfigurations.setIdentityNegativeCacheExpiryTime(0);
+        CachingIdentityProvider cachingIdentityProvider = new CachingIdentityProvider(identityProvider,
+                cacheConfigurations);
+        Mockito.when(identityProvider.getRoleId("admin")).thenReturn("2222");
+        Mockito.when(identityProvider.getRoleId("unknown")).thenReturn(null);
+
+        cachingIdentityProvider.getRoleId("admin");
+        cachingIdentityProvider.getRoleId("admin");
+        Assert.assertNull(cachingIdentityProvider.getRoleId("unknown"));
+        Assert.assertNull(cachingIdentityProvider.getRoleId("unknown"));
+        Mockito.verify(identityProvider, Mockito.times(1)).getRoleId("admin");
+        Mockito.verify(identityProvider, Mockito.times(2)).getRoleId("unknown");
+    }
+
+    @Test
+    public void testFailedLookupsAreNotCached() throws Exception {
+        IdentityProvider identityProvider = Mockito.mock(IdentityProvider.class);
+        CachingIdentityProvider cachingIdentityProvider = new CachingIdentityProvider(identityProvider,
+                new CacheConfigurations());
+        Mockito.when(identityProvider.getIdOfUser("John"))
+                .thenThrow(new IdentityProviderException("Error", ExceptionCodes.RESOURCE_RETRIEVAL_FAILED))
+                .thenReturn("1111");
+
+        try {
+            cachingIdentityProvider.getIdOfUser("John");
+            Assert.fail("Exception was expected, but wasn't thrown");
+        } catch (IdentityProviderException ex) {
+            Assert.assertEquals(ex.getMessage(), "Error");
+        }
+        Assert.assertEquals(cachingIdentityProvider.getIdOfUser("John"), "1111");
+    }
+
+    @Test
+    public void testGetEmailsOfUsersLooksUpOnlyUncachedUsers() throws Exception {
+        IdentityProvider identityProvider = Mockito.mock(IdentityProvider.class);
+        CachingIdentityProvider cachingIdentityProvider = new CachingIdentityProvider(identityProvider,
+                new CacheConfigurations());
+        Map<String, String> emails = new HashMap<>();
+        emails.put("John", "john@wso2.com");
+        Mockito.when(identityProvider.getEmailsOfUsers(Mockito.anyCollection())).thenReturn(emails)
+                .thenReturn(Collections.singletonMap("Jane", "jane@wso2.com"));
+
+        Map<String, String> firstLookup = cachingIdentityProvider.getEmailsOfUsers(Arrays.asList("John", "unknown"));
+        Assert.assertEquals(firstLookup, emails);
+
+        Map<String, String> secondLookup = cachingIdentityProvider.getEmailsOfUsers(Arrays.asList("John", "unknown",
+                "Jane"));
+        Assert.assertEquals(secondLookup.size(), 2);
+        Assert.assertEquals(secondLookup.get("Jane"), "jane@wso2.com");
+        Mockito.verify(identityProvider).getEmailsOfUsers(Collections.singleton("Jane"));
+    }
+
+    @Test
+    public void testRegisterUserInvalidatesMissingUser() throws Exception {
+        IdentityProvider identityProvider = Mockito.mock(IdentityProvider.class);
+        CachingIdentityProvider cachingIdentityProvider = new CachingIdentityProvider(identityProvider,
+                new CacheConfigurations());
+        Mockito.when(identityProvider.getIdOfUser("John")).thenReturn(null).thenReturn("1111");
+        User user = new User();
+        user.setUsername("John");
+
+        Assert.assertNull(cachingIdentityProvider.getIdOfUser("John"));
+        cachingIdentityProvider.registerUser(user);
+        Assert.assertEquals(cachingIdentityProvider.getIdOfUser("John"), "1111");
+        Mockito.verify(identityProvider).registerUser(user);
+    }
+}
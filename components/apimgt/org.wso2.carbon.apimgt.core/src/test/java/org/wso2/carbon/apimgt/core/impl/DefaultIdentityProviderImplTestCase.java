@@ -32,8 +32,11 @@ import org.wso2.carbon.apimgt.core.models.User;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.Matchers.any;
 
@@ -476,4 +479,43 @@ public class DefaultIdentityProviderImplTestCase {
         }
     }
 
+    @Test
+    public void testGetEmailsOfUsers() throws Exception {
+        SCIMServiceStub scimServiceStub = Mockito.mock(SCIMServiceStub.class);
+        DCRMServiceStub dcrmServiceStub = Mockito.mock(DCRMServiceStub.class);
+        OAuth2ServiceStubs oAuth2ServiceStub = Mockito.mock(OAuth2ServiceStubs.class);
+        DefaultIdentityProviderImpl idpImpl = new DefaultIdentityProviderImpl(scimServiceStub, dcrmServiceStub,
+                oAuth2ServiceStub);
+
+        //happy path - users are looked up with a single request
+        final String searchQuery = "userName Eq John or userName Eq Jane or userName Eq unknown";
+        String responseBody = "{\"totalResults\":2,\"schemas\":[\"urn:scim:schemas:core:1.0\"],\"Resources\":"
+                + "[{\"id\":\"cfbde56e-8422-498e-b6dc-85a6f1f8b058\",\"userName\":\"John\",\"emails\":"
+                + "[\"john@wso2.com\"]},{\"id\":\"b4dc56ab-3e86-4ad1-a4ab-2a8d9d6f1a07\",\"userName\":\"Jane\","
+                + "\"emails\":[\"jane@wso2.com\"]}]}";
+        Response createdResponse = Response.builder().status(APIMgtConstants.HTTPStatusCodes.SC_200_OK)
+                .headers(new HashMap<>()).body(responseBody.getBytes()).build();
+        Mockito.when(scimServiceStub.searchUsers(searchQuery)).thenReturn(createdResponse);
+
+        Map<String, String> emails = idpImpl.getEmailsOfUsers(Arrays.asList("John", "Jane", "unknown"));
+        Assert.assertEquals(emails.size(), 2);
+        Assert.assertEquals(emails.get("John"), "john@wso2.com");
+        Assert.assertEquals(emails.get("Jane"), "jane@wso2.com");
+        Mockito.verify(scimServiceStub, Mockito.times(1)).searchUsers(any(String.class));
+
+        //error path
+        String errorResponse = "{\"Errors\":[{\"code\":\"500\",\"description\":\"Internal error.\"}]}";
+        Response createdErrorResponse = Response.builder()
+                .status(APIMgtConstants.HTTPStatusCodes.SC_500_INTERNAL_SERVER_ERROR).headers(new HashMap<>())
+                .body(errorResponse.getBytes()).build();
+        Mockito.when(scimServiceStub.searchUsers("userName Eq Bob")).thenReturn(createdErrorResponse);
+
+        try {
+            idpImpl.getEmailsOfUsers(Collections.singletonList("Bob"));
+            Assert.fail("Exception was expected, but wasn't thrown");
+        } catch (IdentityProviderException ex) {
+            Assert.assertTrue(ex.getMessage().startsWith("Error occurred while retrieving Emails of users Bob."));
+        }
+    }
+
 }
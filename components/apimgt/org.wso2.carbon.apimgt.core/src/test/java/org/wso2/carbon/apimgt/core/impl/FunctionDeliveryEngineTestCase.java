@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.api.RestCallUtil;
+import org.wso2.carbon.apimgt.core.configuration.models.FunctionDeliveryConfigurations;
+import org.wso2.carbon.apimgt.core.dao.FunctionDAO;
+import org.wso2.carbon.apimgt.core.models.Function;
+import org.wso2.carbon.apimgt.core.models.FunctionDelivery;
+import org.wso2.carbon.apimgt.core.models.HttpResponse;
+
+import java.net.URI;
+import java.util.Arrays;
+import javax.ws.rs.core.MediaType;
+
+public class FunctionDeliveryEngineTestCase {
+
+    private static final String FUNCTION_NAME = "functionName";
+
+    @Test(description = "Successful delivery of a persisted delivery removes it")
+    public void testSuccessfulDelivery() throws Exception {
+        FunctionDAO functionDAO = Mockito.mock(FunctionDAO.class);
+        RestCallUtil restCallUtil = Mockito.mock(RestCallUtil.class);
+        FunctionDeliveryEngine deliveryEngine = new FunctionDeliveryEngine(functionDAO, restCallUtil,
+                new FunctionDeliveryConfigurations());
+        Function function = new Function(FUNCTION_NAME, new URI("http://testEndpointUri"));
+        mockResponse(restCallUtil, function, 200);
+
+        deliveryEngine.attemptDelivery(new FunctionDelivery("delivery-1", function, "{}", 1, 0L), true);
+
+        Mockito.verify(functionDAO).deletePendingDelivery("delivery-1");
+        Assert.assertEquals(deliveryEngine.getDeliveredCount(), 1);
+        Assert.assertEquals(deliveryEngine.getRetriedCount(), 0);
+    }
+
+    @Test(description = "Failed delivery is persisted to be retried with exponential backoff")
+    public void testFailedDeliveryIsPersistedForRetry() throws Exception {
+        FunctionDAO functionDAO = Mockito.mock(FunctionDAO.class);
+        RestCallUtil restCallUtil = Mockito.mock(RestCallUtil.class);
+        FunctionDeliveryConfigurations deliveryConfigurations = new FunctionDeliveryConfigurations();
+        deliveryConfigurations.setRetryInitialBackoff(1000);
+        FunctionDeliveryEngine deliveryEngine = new FunctionDeliveryEngine(functionDAO, restCallUtil,
+                deliveryConfigurations);
+        Function function = new Function(FUNCTION_NAME, new URI("http://testEndpointUri"));
+        mockResponse(restCallUtil, function, 503);
+
+        long startTime = System.currentTimeMillis();
+        deliveryEngine.attemptDelivery(new FunctionDelivery("delivery-1", function, "{}", 0, startTime), false);
+        ArgumentCaptor<FunctionDelivery> added = ArgumentCaptor.forClass(FunctionDelivery.class);
+        Mockito.verify(functionDAO).addPendingDelivery(added.capture());
+        Assert.assertEquals(added.getValue().getAttempts(), 1);
+        Assert.assertTrue(added.getValue().getNextAttemptTime() >= startTime + 1000);
+
+        deliveryEngine.attemptDelivery(added.getValue(), true);
+        ArgumentCaptor<FunctionDelivery> updated = ArgumentCaptor.forClass(FunctionDelivery.class);
+        Mockito.verify(functionDAO).updatePendingDelivery(updated.capture());
+        Assert.assertEquals(updated.getValue().getAttempts(), 2);
+        Assert.assertTrue(updated.getValue().getNextAttemptTime() >= startTime + 2000);
+        Assert.assertEquals(deliveryEngine.getRetriedCount(), 2);
+    }
+
+    @Test(description = "Delivery is given up once the maximum number of retries is reached")
+    public void testDeliveryIsGivenUpAfterMaxRetries() throws Exception {
+        FunctionDAO functionDAO = Mockito.mock(FunctionDAO.class);
+        RestCallUtil restCallUtil = Mockito.mock(RestCallUtil.class);
+        FunctionDeliveryConfigurations deliveryConfigurations = new FunctionDeliveryConfigurations();
+        deliveryConfigurations.setMaxRetries(2);
+        FunctionDeliveryEngine deliveryEngine = new FunctionDeliveryEngine(functionDAO, restCallUtil,
+                deliveryConfigurations);
+        Function function = new Function(FUNCTION_NAME, new URI("http://testEndpointUri"));
+        mockResponse(restCallUtil, function, 500);
+
+        deliveryEngine.attemptDelivery(new FunctionDelivery("delivery-1", function, "{}", 2, 0L), true);
+
+        Mockito.verify(functionDAO).deletePendingDelivery("delivery-1");
+        Mockito.verify(functionDAO, Mockito.never()).updatePendingDelivery(Mockito.any());
+        Assert.assertEquals(deliveryEngine.getFailedCount(), 1);
+    }
+
+    @Test(description = "Only the pending deliveries claimed by the node are retried")
+    public void testOnlyClaimedDeliveriesAreRetried() throws Exception {
+        FunctionDAO functionDAO = Mockito.mock(FunctionDAO.class);
+        RestCallUtil restCallUtil = Mockito.mock(RestCallUtil.class);
+        FunctionDeliveryEngine deliveryEngine = new FunctionDeliveryEngine(functionDAO, restCallUtil,
+                new FunctionDeliveryConfigurations());
+        Function function = new Function(FUNCTION_NAME, new URI("http://testEndpointUri"));
+        mockResponse(restCallUtil, function, 200);
+        FunctionDelivery claimedDelivery = new FunctionDelivery("delivery-1", function, "{}", 1, 0L);
+        FunctionDelivery deliveryClaimedByOtherNode = new FunctionDelivery("delivery-2", function, "{}", 1, 0L);
+        Mockito.when(functionDAO.getPendingDeliveries(Mockito.anyLong(), Mockito.anyInt()))
+                .thenReturn(Arrays.asList(claimedDelivery, deliveryClaimedByOtherNode));
+        Mockito.when(functionDAO.claimPendingDelivery(Mockito.eq(claimedDelivery), Mockito.anyLong()))
+                .thenReturn(true);
+        Mockito.when(functionDAO.claimPendingDelivery(Mockito.eq(deliveryClaimedByOtherNode), Mockito.anyLong()))
+                .thenReturn(false);
+
+        deliveryEngine.pollPendingDeliveries();
+
+        Mockito.verify(functionDAO, Mockito.timeout(5000)).deletePendingDelivery("delivery-1");
+        Mockito.verify(functionDAO, Mockito.never()).deletePendingDelivery("delivery-2");
+        Mockito.verify(restCallUtil, Mockito.times(1)).postRequest(Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.any());
+        deliveryEngine.shutdown();
+    }
+
+    private static void mockResponse(RestCallUtil restCallUtil, Function function, int responseCode)
+            throws Exception {
+        HttpResponse response = new HttpResponse();
+        response.setResponseCode(responseCode);
+        Mockito.when(restCallUtil.postRequest(Mockito.eq(function.getEndpointURI()), Mockito.eq(null),
+                Mockito.eq(null), Mockito.any(), Mockito.eq(MediaType.APPLICATION_JSON_TYPE))).thenReturn(response);
+    }
+}
@@ -24,6 +24,7 @@ import org.mockito.Mockito;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import org.wso2.carbon.apimgt.core.api.RestCallUtil;
+import org.wso2.carbon.apimgt.core.configuration.models.FunctionDeliveryConfigurations;
 import org.wso2.carbon.apimgt.core.dao.FunctionDAO;
 import org.wso2.carbon.apimgt.core.exception.APIManagementException;
 import org.wso2.carbon.apimgt.core.models.Event;
@@ -47,7 +48,10 @@ public class FunctionTriggerTestCase {
     public void testCaptureEvent() throws APIManagementException, URISyntaxException {
         FunctionDAO functionDAO = Mockito.mock(FunctionDAO.class);
         RestCallUtil restCallUtil = Mockito.mock(RestCallUtil.class);
-        FunctionTrigger functionTrigger = new FunctionTrigger(functionDAO, restCallUtil);
+        FunctionDeliveryEngine deliveryEngine = new FunctionDeliveryEngine(functionDAO, restCallUtil,
+                new FunctionDeliveryConfigurations());
+        deliveryEngine.start();
+        FunctionTrigger functionTrigger = new FunctionTrigger(functionDAO, deliveryEngine);
 
         URI testUri = new URI("http://testEndpointUri");
         List<Function> functions = new ArrayList<>();
@@ -64,6 +68,11 @@ public class FunctionTriggerTestCase {
         Mockito.when(restCallUtil.postRequest(Mockito.eq(function.getEndpointURI()), Mockito.eq(null), Mockito.eq(null),
                 Mockito.any(), Mockito.eq(MediaType.APPLICATION_JSON_TYPE))).thenReturn(response);
         functionTrigger.captureEvent(event, USER_NAME, eventTime, new HashMap<>());
+        //The function is invoked asynchronously by the delivery engine
+        Mockito.verify(restCallUtil, Mockito.timeout(5000)).postRequest(Mockito.eq(function.getEndpointURI()),
+                Mockito.eq(null), Mockito.eq(null), Mockito.any(), Mockito.eq(MediaType.APPLICATION_JSON_TYPE));
+        Mockito.verify(functionDAO, Mockito.never()).addPendingDelivery(Mockito.any());
+        deliveryEngine.shutdown();
 
         //Error path
         //Illegal argument exceptions
@@ -100,20 +109,20 @@ public class FunctionTriggerTestCase {
     @Test(description = "Exception thrown from the FunctionTrigger constructor")
     public void testConstructorException() {
         FunctionDAO functionDAO = Mockito.mock(FunctionDAO.class);
-        RestCallUtil restCallUtil = Mockito.mock(RestCallUtil.class);
+        FunctionDeliveryEngine deliveryEngine = Mockito.mock(FunctionDeliveryEngine.class);
 
         //When functionDAO is null
         try {
-            FunctionTrigger functionTrigger = new FunctionTrigger(null, restCallUtil);
+            FunctionTrigger functionTrigger = new FunctionTrigger(null, deliveryEngine);
         } catch (IllegalArgumentException e) {
             Assert.assertEquals(e.getMessage(), "FunctionDAO param must not be null");
         }
 
-        //When restCallUtil is null
+        //When deliveryEngine is null
         try {
             FunctionTrigger functionTrigger = new FunctionTrigger(functionDAO, null);
         } catch (IllegalArgumentException e) {
-            Assert.assertEquals(e.getMessage(), "RestCallUtil param must not be null");
+            Assert.assertEquals(e.getMessage(), "FunctionDeliveryEngine param must not be null");
         }
     }
 }
@@ -23,9 +23,13 @@ import com.nimbusds.jwt.JWTClaimsSet;
 import org.mockito.Mockito;
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.configuration.models.JWTConfigurations;
 import org.wso2.carbon.apimgt.core.exception.APIManagementException;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.security.interfaces.RSAPrivateKey;
@@ -175,4 +179,61 @@ public class JWTWithRSASignatureImplTestCase {
         RSAPublicKey rsaPublicKey = Mockito.mock(RSAPublicKey.class);
         jwtWithRSASignature.verifyRSASignature(token, rsaPublicKey);
     }
+
+    @Test(description = "Test keys are cached until the key store file is modified")
+    public void testKeysAreCachedUntilKeyStoreIsModified() throws Exception {
+        Path keyStoreFile = Files.createTempFile("wso2carbon", ".jks");
+        try {
+            Files.copy(new File(KEYSTORE_FILE_PATH).toPath(), keyStoreFile, StandardCopyOption.REPLACE_EXISTING);
+            JWTWithRSASignatureImpl jwtWithRSASignature = new JWTWithRSASignatureImpl();
+            String path = keyStoreFile.toString();
+            PrivateKey privateKey = jwtWithRSASignature.getPrivateKey(path, KEYSTORE_PASSOWRD, KEY_ALIAS,
+                    ALIAS_PASSWORD);
+            Assert.assertSame(jwtWithRSASignature.getPrivateKey(path, KEYSTORE_PASSOWRD, KEY_ALIAS, ALIAS_PASSWORD),
+                    privateKey);
+
+            Assert.assertTrue(keyStoreFile.toFile().setLastModified(keyStoreFile.toFile().lastModified() + 2000));
+            PrivateKey reloadedKey = jwtWithRSASignature.getPrivateKey(path, KEYSTORE_PASSOWRD, KEY_ALIAS,
+                    ALIAS_PASSWORD);
+            Assert.assertNotSame(reloadedKey, privateKey);
+            Assert.assertEquals(reloadedKey, privateKey);
+        } finally {
+            Files.delete(keyStoreFile);
+        }
+    }
+
+    @Test(description = "Test signed JWTs can be verified with the public key")
+    public void testRSASignAndSerializeAndVerify() throws APIManagementException {
+        JWTWithRSASignatureImpl jwtWithRSASignature = new JWTWithRSASignatureImpl();
+        RSAPrivateKey privateKey = (RSAPrivateKey) jwtWithRSASignature.getPrivateKey(KEYSTORE_FILE_PATH,
+                KEYSTORE_PASSOWRD, KEY_ALIAS, ALIAS_PASSWORD);
+        RSAPublicKey publicKey = (RSAPublicKey) jwtWithRSASignature.getPublicKey(KEYSTORE_FILE_PATH,
+                KEYSTORE_PASSOWRD, KEY_ALIAS);
+
+        for (int i = 0; i < 3; i++) {
+            String token = jwtWithRSASignature.rsaSignAndSerialize(privateKey, createClaimsSet("admin" + i));
+            Assert.assertTrue(jwtWithRSASignature.verifyRSASignature(token, publicKey));
+        }
+    }
+
+    @Test(description = "Test signed JWTs are cached per claims")
+    public void testSignedJWTsAreCachedPerClaims() throws APIManagementException {
+        JWTConfigurations jwtConfigurations = new JWTConfigurations();
+        jwtConfigurations.setSignedJWTCacheExpiryTime(60);
+        JWTWithRSASignatureImpl jwtWithRSASignature = new JWTWithRSASignatureImpl(jwtConfigurations);
+        RSAPrivateKey privateKey = (RSAPrivateKey) jwtWithRSASignature.getPrivateKey(KEYSTORE_FILE_PATH,
+                KEYSTORE_PASSOWRD, KEY_ALIAS, ALIAS_PASSWORD);
+
+        String token = jwtWithRSASignature.rsaSignAndSerialize(privateKey, createClaimsSet("admin"));
+        Assert.assertSame(jwtWithRSASignature.rsaSignAndSerialize(privateKey, createClaimsSet("admin")), token);
+        Assert.assertNotEquals(jwtWithRSASignature.rsaSignAndSerialize(privateKey, createClaimsSet("subscriber")),
+                token);
+    }
+
+    private static JWTClaimsSet createClaimsSet(String subject) {
+        JWTClaimsSet claimsSet = new JWTClaimsSet();
+        claimsSet.setSubject(subject);
+        claimsSet.setIssuer("wso2.org/products/am");
+        return claimsSet;
+    }
 }
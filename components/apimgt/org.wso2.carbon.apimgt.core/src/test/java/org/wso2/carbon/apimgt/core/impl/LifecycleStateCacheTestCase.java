@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.configuration.models.CacheConfigurations;
+import org.wso2.carbon.lcm.core.exception.LifecycleException;
+import org.wso2.carbon.lcm.core.impl.LifecycleState;
+import org.wso2.carbon.lcm.sql.beans.LifecycleHistoryBean;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LifecycleStateCacheTestCase {
+
+    private static final String UUID = "7a2298c4-c905-403f-8fac-38c73301631f";
+
+    @Test
+    public void testLifecycleDataIsCached() throws Exception {
+        LifecycleStateCache cache = new LifecycleStateCache(new CacheConfigurations());
+        LifecycleState currentState = new LifecycleState();
+        LifecycleState createdState = new LifecycleState();
+        AtomicInteger loadCount = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertSame(cache.getCurrentState(UUID, () -> load(loadCount, currentState)), currentState);
+            Assert.assertSame(cache.getStateData(UUID, "Created", () -> load(loadCount, createdState)), createdState);
+            Assert.assertEquals(cache.getHistory(UUID, () -> load(loadCount, getHistory())).size(), 1);
+        }
+        Assert.assertEquals(loadCount.get(), 3);
+    }
+
+    @Test
+    public void testInvalidateReloadsLifecycleData() throws Exception {
+        LifecycleStateCache cache = new LifecycleStateCache(new CacheConfigurations());
+        AtomicInteger loadCount = new AtomicInteger();
+
+        LifecycleState createdState = cache.getStateData(UUID, "Created", () -> load(loadCount, new LifecycleState()));
+        cache.invalidate(UUID);
+        Assert.assertNotSame(cache.getStateData(UUID, "Created", () -> load(loadCount, new LifecycleState())),
+                createdState);
+        cache.getStateData("other", "Created", () -> load(loadCount, new LifecycleState()));
+        Assert.assertEquals(loadCount.get(), 3);
+    }
+
+    @Test
+    public void testExpiredLifecycleDataIsReloaded() throws Exception {
+        CacheConfigurations cacheConfigurations = new CacheConfigurations();
+        cacheConfigurations.setLifecycleCacheExpiryTime(0);
+        LifecycleStateCache cache = new LifecycleStateCache(cacheConfigurations);
+        AtomicInteger loadCount = new AtomicInteger();
+
+        cache.getCurrentState(UUID, () -> load(loadCount, new LifecycleState()));
+        cache.getCurrentState(UUID, () -> load(loadCount, new LifecycleState()));
+        Assert.assertEquals(loadCount.get(), 2);
+    }
+
+    @Test
+    public void testFailedLoadsAreNotCached() throws Exception {
+        LifecycleStateCache cache = new LifecycleStateCache(new CacheConfigurations());
+        try {
+            cache.getHistory(UUID, () -> {
+                throw new LifecycleException("Error");
+            });
+            Assert.fail("Exception was expected, but wasn't thrown");
+        } catch (LifecycleException e) {
+            Assert.assertEquals(e.getMessage(), "Error");
+        }
+        Assert.assertNull(cache.getHistory(UUID, () -> null));
+        Assert.assertEquals(cache.getHistory(UUID, this::getHistory).size(), 1);
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void testCachedHistoryCannotBeModified() throws Exception {
+        LifecycleStateCache cache = new LifecycleStateCache(new CacheConfigurations());
+        cache.getHistory(UUID, this::getHistory).clear();
+    }
+
+    private List<LifecycleHistoryBean> getHistory() {
+        LifecycleHistoryBean bean = new LifecycleHistoryBean();
+        bean.setPreviousState("Created");
+        bean.setPostState("Published");
+        bean.setUser("admin");
+        return new ArrayList<>(Collections.singletonList(bean));
+    }
+
+    private static <T> T load(AtomicInteger loadCount, T value) {
+        loadCount.incrementAndGet();
+        return value;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.api.EventObserver;
+import org.wso2.carbon.apimgt.core.configuration.models.EventBusConfigurations;
+import org.wso2.carbon.apimgt.core.models.Event;
+
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class ObserverEventBusTestCase {
+
+    private static final String USER_NAME = "admin";
+
+    @Test(description = "A slow observer does not delay the other observers")
+    public void testSlowObserverDoesNotDelayOthers() throws Exception {
+        ObserverEventBus eventBus = new ObserverEventBus(new EventBusConfigurations());
+        CountDownLatch slowObserverRelease = new CountDownLatch(1);
+        CountDownLatch fastObserverNotified = new CountDownLatch(1);
+        EventObserver slowObserver = new BlockingObserver(slowObserverRelease);
+        EventObserver fastObserver = (event, username, eventTime, metadata) -> fastObserverNotified.countDown();
+
+        eventBus.publish(Event.API_CREATION, USER_NAME, ZonedDateTime.now(), new HashMap<>(),
+                Arrays.asList(slowObserver, fastObserver));
+
+        Assert.assertTrue(fastObserverNotified.await(5, TimeUnit.SECONDS));
+        slowObserverRelease.countDown();
+        eventBus.shutdown();
+        Assert.assertEquals(eventBus.getDeliveredCount(), 2);
+    }
+
+    @Test(description = "Events are discarded when the queue of an observer is full")
+    public void testEventsAreDiscardedWhenQueueIsFull() throws Exception {
+        EventBusConfigurations eventBusConfigurations = new EventBusConfigurations();
+        eventBusConfigurations.setObserverQueueSize(1);
+        eventBusConfigurations.setOverflowPolicy(ObserverEventBus.OVERFLOW_POLICY_DISCARD);
+        ObserverEventBus eventBus = new ObserverEventBus(eventBusConfigurations);
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingObserver observer = new BlockingObserver(release);
+        List<EventObserver> observers = Collections.singletonList(observer);
+
+        eventBus.publish(Event.API_CREATION, USER_NAME, ZonedDateTime.now(), new HashMap<>(), observers);
+        Assert.assertTrue(observer.started.await(5, TimeUnit.SECONDS));
+        eventBus.publish(Event.API_UPDATE, USER_NAME, ZonedDateTime.now(), new HashMap<>(), observers);
+        eventBus.publish(Event.API_DELETION, USER_NAME, ZonedDateTime.now(), new HashMap<>(), observers);
+
+        Assert.assertEquals(eventBus.getQueueDepth(BlockingObserver.class.getName()), 1);
+        Assert.assertEquals(eventBus.getDroppedCount(), 1);
+        release.countDown();
+        eventBus.shutdown();
+        Assert.assertEquals(observer.events, Arrays.asList(Event.API_CREATION, Event.API_UPDATE));
+    }
+
+    @Test(description = "Queued events are delivered in order on shutdown")
+    public void testQueuedEventsAreDrainedInOrderOnShutdown() throws Exception {
+        ObserverEventBus eventBus = new ObserverEventBus(new EventBusConfigurations());
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingObserver observer = new BlockingObserver(release);
+        List<EventObserver> observers = Collections.singletonList(observer);
+        List<Event> events = Arrays.asList(Event.API_CREATION, Event.API_UPDATE, Event.API_DELETION);
+        for (Event event : events) {
+            eventBus.publish(event, USER_NAME, ZonedDateTime.now(), new HashMap<>(), observers);
+        }
+        Assert.assertTrue(observer.started.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(eventBus.getQueueDepth(), 2);
+
+        release.countDown();
+        eventBus.shutdown();
+        Assert.assertEquals(observer.events, events);
+        Assert.assertEquals(eventBus.getQueueDepth(), 0);
+
+        // Events published after shutdown are not delivered
+        eventBus.publish(Event.API_CREATION, USER_NAME, ZonedDateTime.now(), new HashMap<>(), observers);
+        Assert.assertEquals(observer.events.size(), 3);
+    }
+
+    @Test(description = "Events are delivered again once the bus is started after shutdown")
+    public void testEventsAreDeliveredAfterRestart() throws Exception {
+        ObserverEventBus eventBus = new ObserverEventBus(new EventBusConfigurations());
+        CountDownLatch release = new CountDownLatch(0);
+        BlockingObserver observer = new BlockingObserver(release);
+        List<EventObserver> observers = Collections.singletonList(observer);
+        eventBus.publish(Event.API_CREATION, USER_NAME, ZonedDateTime.now(), new HashMap<>(), observers);
+        eventBus.shutdown();
+
+        eventBus.start();
+        eventBus.publish(Event.API_UPDATE, USER_NAME, ZonedDateTime.now(), new HashMap<>(), observers);
+        eventBus.shutdown();
+        Assert.assertEquals(observer.events, Arrays.asList(Event.API_CREATION, Event.API_UPDATE));
+    }
+
+    /**
+     * Observer which records the events it gets, blocking until released.
+     */
+    private static class BlockingObserver implements EventObserver {
+        private final CountDownLatch release;
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final List<Event> events = new CopyOnWriteArrayList<>();
+
+        private BlockingObserver(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void captureEvent(Event event, String username, ZonedDateTime eventTime, Map<String, String> metadata) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(event);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.models.policy.ExecutionPlan;
+import org.wso2.carbon.apimgt.core.models.policy.PolicyBundle;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class PolicyBundleManagerTestCase {
+
+    private PolicyBundleManager policyBundleManager;
+
+    @BeforeMethod
+    public void setUp() {
+        policyBundleManager = PolicyBundleManager.getInstance();
+        Map<String, Map<String, String>> executionPlans = new HashMap<>();
+        Map<String, String> apiPolicyPlans = new HashMap<>();
+        apiPolicyPlans.put("resource_10KPerMin_default", "default plan");
+        apiPolicyPlans.put("resource_10KPerMin_condition_0", "condition plan");
+        executionPlans.put("api-policy", apiPolicyPlans);
+        executionPlans.put("app-policy", Collections.singletonMap("application_10PerMin", "app plan"));
+        policyBundleManager.initialize(executionPlans);
+    }
+
+    @Test
+    public void testCompleteBundleIsReturnedForUnknownVersion() {
+        PolicyBundle policyBundle = policyBundleManager.getBundle(0);
+        Assert.assertTrue(policyBundle.isComplete());
+        Assert.assertEquals(policyBundle.getExecutionPlans().size(), 3);
+
+        PolicyBundle unchanged = policyBundleManager.getBundle(policyBundle.getVersion());
+        Assert.assertFalse(unchanged.isComplete());
+        Assert.assertTrue(unchanged.getExecutionPlans().isEmpty());
+        Assert.assertEquals(unchanged.getVersion(), policyBundle.getVersion());
+    }
+
+    @Test
+    public void testCompleteBundleIsReturnedForVersionOfAnotherNode() {
+        long version = policyBundleManager.getBundle(0).getVersion();
+        Assert.assertTrue(policyBundleManager.getBundle(version ^ 1).isComplete());
+    }
+
+    @Test
+    public void testOnlyChangedExecutionPlansAreReturned() {
+        long version = policyBundleManager.getBundle(0).getVersion();
+        Map<String, String> apiPolicyPlans = new HashMap<>();
+        apiPolicyPlans.put("resource_10KPerMin_default", "default plan");
+        apiPolicyPlans.put("resource_10KPerMin_condition_0", "updated condition plan");
+        policyBundleManager.update("api-policy", apiPolicyPlans);
+
+        PolicyBundle policyBundle = policyBundleManager.getBundle(version);
+        Assert.assertFalse(policyBundle.isComplete());
+        Assert.assertTrue(policyBundle.getVersion() > version);
+        Assert.assertEquals(policyBundle.getExecutionPlans().size(), 1);
+        ExecutionPlan executionPlan = policyBundle.getExecutionPlans().get(0);
+        Assert.assertEquals(executionPlan.getName(), "resource_10KPerMin_condition_0");
+        Assert.assertEquals(executionPlan.getContent(), "updated condition plan");
+        Assert.assertEquals(executionPlan.getVersion(), policyBundle.getVersion());
+    }
+
+    @Test
+    public void testUnchangedUpdateDoesNotBumpVersion() {
+        long version = policyBundleManager.getBundle(0).getVersion();
+        policyBundleManager.update("app-policy", Collections.singletonMap("application_10PerMin", "app plan"));
+
+        Assert.assertEquals(policyBundleManager.getBundle(version).getVersion(), version);
+    }
+
+    @Test
+    public void testRemovedExecutionPlansAreReturnedAsDeleted() {
+        long version = policyBundleManager.getBundle(0).getVersion();
+        policyBundleManager.remove("app-policy");
+
+        PolicyBundle policyBundle = policyBundleManager.getBundle(version);
+        Assert.assertEquals(policyBundle.getExecutionPlans().size(), 1);
+        Assert.assertTrue(policyBundle.getExecutionPlans().get(0).isDeleted());
+        Assert.assertEquals(policyBundleManager.getBundle(0).getExecutionPlans().size(), 2);
+    }
+
+    @Test
+    public void testUpdatesAreIgnoredUntilInitialized() {
+        policyBundleManager.invalidate();
+        policyBundleManager.update("app-policy", Collections.singletonMap("application_10PerMin", "changed"));
+        Assert.assertFalse(policyBundleManager.isInitialized());
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.api.RestCallUtil;
+import org.wso2.carbon.apimgt.core.configuration.models.RestClientConfigurations;
+import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.core.models.HttpResponse;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.MediaType;
+
+public class PooledRestCallUtilTestCase {
+
+    private static final Logger log = LoggerFactory.getLogger(PooledRestCallUtilTestCase.class);
+
+    private HttpServerStub httpServer;
+    private URI serviceUri;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        httpServer = new HttpServerStub();
+        httpServer.start();
+        serviceUri = new URI("http://localhost:" + httpServer.getPort() + "/function");
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        httpServer.stop();
+    }
+
+    @Test(description = "Sequential requests reuse a single kept alive connection")
+    public void testConnectionsAreReused() throws Exception {
+        PooledRestCallUtil restCallUtil = new PooledRestCallUtil(new RestCallUtilImpl(5000, 5000),
+                new RestClientConfigurations());
+        int requestCount = 200;
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < requestCount; i++) {
+            HttpResponse response = restCallUtil.postRequest(serviceUri, null, null, Entity.json("{}"),
+                    MediaType.APPLICATION_JSON_TYPE);
+            Assert.assertEquals(response.getResponseCode(), 200);
+        }
+        long elapsedTime = System.nanoTime() - startTime;
+        log.info("{} requests over {} connections took {} ms", requestCount, httpServer.connectionCount.get(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedTime));
+
+        Assert.assertEquals(httpServer.requestCount.get(), requestCount);
+        Assert.assertEquals(httpServer.connectionCount.get(), 1);
+        Assert.assertEquals(restCallUtil.getRequestCount(), requestCount);
+        Assert.assertEquals(restCallUtil.getFailedCount(), 0);
+    }
+
+    @Test(description = "Connections are reused after a redirect response")
+    public void testConnectionsAreReusedAfterRedirect() throws Exception {
+        PooledRestCallUtil restCallUtil = new PooledRestCallUtil(new RestCallUtilImpl(5000, 5000),
+                new RestClientConfigurations());
+        httpServer.response = HttpServerStub.REDIRECT_RESPONSE;
+        for (int i = 0; i < 20; i++) {
+            HttpResponse response = restCallUtil.getRequest(serviceUri, MediaType.APPLICATION_JSON_TYPE, null);
+            Assert.assertEquals(response.getResponseCode(), 300);
+        }
+
+        Assert.assertEquals(httpServer.requestCount.get(), 20);
+        Assert.assertEquals(httpServer.connectionCount.get(), 1);
+    }
+
+    @Test(description = "Asynchronous requests complete with the response")
+    public void testAsyncRequests() throws Exception {
+        PooledRestCallUtil restCallUtil = new PooledRestCallUtil(new RestCallUtilImpl(5000, 5000),
+                new RestClientConfigurations());
+        List<CompletableFuture<HttpResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(restCallUtil.getRequestAsync(serviceUri, MediaType.APPLICATION_JSON_TYPE, null));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).get(10, TimeUnit.SECONDS);
+
+        for (CompletableFuture<HttpResponse> future : futures) {
+            Assert.assertEquals(future.get().getResponseCode(), 200);
+            Assert.assertEquals(future.get().getResults().trim(), "{}");
+        }
+        Assert.assertTrue(httpServer.connectionCount.get() <= new RestClientConfigurations().getAsyncThreadPoolSize());
+    }
+
+    @Test(description = "Requests wait for a connection once the limit of a host is reached")
+    public void testConnectionLimitPerHost() throws Exception {
+        RestClientConfigurations restClientConfigurations = new RestClientConfigurations();
+        restClientConfigurations.setMaxConnectionsPerHost(1);
+        restClientConfigurations.setConnectionAcquireTimeout(100);
+        CountDownLatch requestStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RestCallUtil blockingRestCallUtil = new RestCallUtilImpl() {
+            @Override
+            public HttpResponse getRequest(URI uri, MediaType acceptContentType, List<String> cookies)
+                    throws APIManagementException {
+                requestStarted.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getRequest(uri, acceptContentType, cookies);
+            }
+        };
+        PooledRestCallUtil restCallUtil = new PooledRestCallUtil(blockingRestCallUtil, restClientConfigurations);
+
+        CompletableFuture<HttpResponse> firstRequest = restCallUtil.getRequestAsync(serviceUri, null, null);
+        Assert.assertTrue(requestStarted.await(5, TimeUnit.SECONDS));
+        try {
+            restCallUtil.getRequestAsync(serviceUri, null, null).get(5, TimeUnit.SECONDS);
+            Assert.fail("Exception was expected, but wasn't thrown");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof APIManagementException);
+            Assert.assertTrue(e.getCause().getMessage().contains("Timed out waiting for a connection"));
+        }
+        release.countDown();
+        Assert.assertEquals(firstRequest.get(5, TimeUnit.SECONDS).getResponseCode(), 200);
+        Assert.assertEquals(restCallUtil.getFailedCount(), 1);
+    }
+
+    /**
+     * Minimal HTTP/1.1 server which keeps connections alive and responds to every request with the same response,
+     * an empty JSON object unless changed.
+     */
+    private static class HttpServerStub implements Runnable {
+        private static final byte[] OK_RESPONSE = ("HTTP/1.1 200 OK\r\nContent-Type: application/json\r\n"
+                + "Content-Length: 2\r\n\r\n{}").getBytes(StandardCharsets.US_ASCII);
+        private static final byte[] REDIRECT_RESPONSE = ("HTTP/1.1 300 Multiple Choices\r\n"
+                + "Content-Type: text/plain\r\nContent-Length: 9\r\n\r\n/function").getBytes(StandardCharsets.US_ASCII);
+
+        private final ServerSocket serverSocket;
+        private final AtomicInteger connectionCount = new AtomicInteger();
+        private final AtomicInteger requestCount = new AtomicInteger();
+        private volatile byte[] response = OK_RESPONSE;
+
+        private HttpServerStub() throws IOException {
+            serverSocket = new ServerSocket(0);
+        }
+
+        private int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        private void start() {
+            Thread thread = new Thread(this, "HttpServerStub");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private void stop() throws IOException {
+            serverSocket.close();
+        }
+
+        @Override
+        public void run() {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    connectionCount.incrementAndGet();
+                    Thread thread = new Thread(() -> handle(socket), "HttpServerStub-Connection");
+                    thread.setDaemon(true);
+                    thread.start();
+                } catch (IOException e) {
+                    // server socket is closed
+                }
+            }
+        }
+
+        private void handle(Socket socket) {
+            try (Socket connection = socket) {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(),
+                        StandardCharsets.US_ASCII));
+                OutputStream outputStream = connection.getOutputStream();
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int contentLength = 0;
+                    while (line != null && !line.isEmpty()) {
+                        if (line.toLowerCase().startsWith("content-length:")) {
+                            contentLength = Integer.parseInt(line.substring("content-length:".length()).trim());
+                        }
+                        line = reader.readLine();
+                    }
+                    for (int i = 0; i < contentLength; i++) {
+                        reader.read();
+                    }
+                    requestCount.incrementAndGet();
+                    outputStream.write(response);
+                    outputStream.flush();
+                }
+            } catch (IOException e) {
+                // connection is closed by the client
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.configuration.models.MailConfigurations;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SMTPMailSenderTestCase {
+
+    private SMTPServerStub smtpServer;
+    private MailConfigurations mailConfigurations;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        smtpServer = new SMTPServerStub();
+        smtpServer.start();
+        mailConfigurations = new MailConfigurations();
+        mailConfigurations.setFromUser("admin@wso2.com");
+        mailConfigurations.setBccBatchSize(2);
+        mailConfigurations.setRetryInitialBackoff(10);
+        NotificationMetrics.getInstance().reset();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        smtpServer.stop();
+    }
+
+    @Test
+    public void testSendInBatchesOverSingleConnection() throws Exception {
+        List<String> recipients = Arrays.asList("user1@wso2.com", "user2@wso2.com", "user3@wso2.com",
+                "user4@wso2.com", "user5@wso2.com");
+        new SMTPMailSender(getSessionProperties(), mailConfigurations).send("Version 2.0.0 of API Released",
+                "<html><body>New version</body></html>", recipients);
+
+        Assert.assertEquals(smtpServer.connectionCount.get(), 1);
+        Assert.assertEquals(smtpServer.messageCount.get(), 3);
+        Assert.assertTrue(smtpServer.recipients.containsAll(recipients));
+        Assert.assertEquals(NotificationMetrics.getInstance().getSentCount(), 5);
+        Assert.assertEquals(NotificationMetrics.getInstance().getFailedCount(), 0);
+    }
+
+    @Test
+    public void testSendIsRetriedOnTransientFailure() throws Exception {
+        smtpServer.transientFailures.set(1);
+        new SMTPMailSender(getSessionProperties(), mailConfigurations).send("Version 2.0.0 of API Released",
+                "<html><body>New version</body></html>", Arrays.asList("user1@wso2.com"));
+
+        Assert.assertEquals(smtpServer.connectionCount.get(), 2);
+        Assert.assertEquals(smtpServer.messageCount.get(), 1);
+        Assert.assertEquals(NotificationMetrics.getInstance().getSentCount(), 1);
+    }
+
+    private Properties getSessionProperties() {
+        Properties properties = new Properties();
+        properties.put("mail.smtp.host", "localhost");
+        properties.put("mail.smtp.port", String.valueOf(smtpServer.getPort()));
+        properties.put("mail.smtp.auth", "false");
+        properties.put("mail.transport.protocol", "smtp");
+        return properties;
+    }
+
+    /**
+     * Minimal SMTP server which accepts every mail and records the recipients.
+     */
+    private static class SMTPServerStub implements Runnable {
+        private final ServerSocket serverSocket;
+        private final AtomicInteger connectionCount = new AtomicInteger();
+        private final AtomicInteger messageCount = new AtomicInteger();
+        private final AtomicInteger transientFailures = new AtomicInteger();
+        private final List<String> recipients = new CopyOnWriteArrayList<>();
+
+        private SMTPServerStub() throws IOException {
+            serverSocket = new ServerSocket(0);
+        }
+
+        private int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        private void start() {
+            Thread thread = new Thread(this, "SMTPServerStub");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private void stop() throws IOException {
+            serverSocket.close();
+        }
+
+        @Override
+        public void run() {
+            while (!serverSocket.isClosed()) {
+                try (Socket socket = serverSocket.accept()) {
+                    connectionCount.incrementAndGet();
+                    handle(socket);
+                } catch (IOException e) {
+                    // server socket is closed
+                }
+            }
+        }
+
+        private void handle(Socket socket) throws IOException {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                    StandardCharsets.US_ASCII));
+            PrintWriter writer = new PrintWriter(socket.getOutputStream(), true);
+            reply(writer, "220 localhost");
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String command = line.toUpperCase();
+                if (command.startsWith("MAIL") && transientFailures.getAndDecrement() > 0) {
+                    reply(writer, "421 Service not available");
+                    return;
+                } else if (command.startsWith("RCPT")) {
+                    recipients.add(line.substring(line.indexOf('<') + 1, line.indexOf('>')));
+                    reply(writer, "250 OK");
+                } else if (command.startsWith("DATA")) {
+                    reply(writer, "354 End data with <CR><LF>.<CR><LF>");
+                    while ((line = reader.readLine()) != null && !".".equals(line)) {
+                        // message content is discarded
+                    }
+                    messageCount.incrementAndGet();
+                    reply(writer, "250 OK");
+                } else if (command.startsWith("QUIT")) {
+                    reply(writer, "221 Bye");
+                    return;
+                } else {
+                    reply(writer, "250 OK");
+                }
+            }
+        }
+
+        private static void reply(PrintWriter writer, String response) {
+            writer.print(response + "\r\n");
+            writer.flush();
+        }
+    }
+}
@@ -34,6 +34,7 @@ import org.wso2.carbon.apimgt.core.impl.NotifierConstants;
 import org.wso2.carbon.apimgt.core.template.dto.NotificationDTO;
 
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Properties;
 import java.util.Set;
@@ -75,8 +76,8 @@ public class NotificationTestCase {
         PowerMockito.mockStatic(APIManagerFactory.class);
         PowerMockito.when(APIManagerFactory.getInstance()).thenReturn(apiManagerFactory);
         PowerMockito.when(apiManagerFactory.getIdentityProvider()).thenReturn(identityProvider);
-        PowerMockito.when(identityProvider.getIdOfUser("User")).thenReturn("1111");
-        PowerMockito.when(identityProvider.getEmailOfUser("1111")).thenReturn("admin@gmail.com");
+        PowerMockito.when(identityProvider.getEmailsOfUsers(subscriber))
+                .thenReturn(Collections.singletonMap("User", "admin@gmail.com"));
         new NotificationExecutor().sendAsyncNotifications(notificationDTO);
     }
 
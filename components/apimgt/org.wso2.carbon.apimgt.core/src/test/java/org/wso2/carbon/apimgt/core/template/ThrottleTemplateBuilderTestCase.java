@@ -20,6 +20,7 @@ package org.wso2.carbon.apimgt.core.template;
 
 
 import com.google.common.io.Files;
+import org.apache.velocity.VelocityContext;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
@@ -30,6 +31,8 @@ import org.wso2.carbon.apimgt.core.models.policy.CustomPolicy;
 import org.wso2.carbon.apimgt.core.models.policy.SubscriptionPolicy;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -94,4 +97,32 @@ public class ThrottleTemplateBuilderTestCase {
         String expectedQuery = SampleTestObjectCreator.createDefaultSiddhiAppForAPILevelDefaultThrottlePolicy();
         Assert.assertEquals(actualQuery, expectedQuery);
     }
+
+    @Test
+    public void testConcurrentRenderingOfSiddhiApps() throws APITemplateException {
+        ApplicationPolicy policy = SampleTestObjectCreator.createDefaultApplicationPolicy();
+        List<TemplateService.RenderTask<String>> renderTasks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            renderTasks.add(() -> new ApplicationThrottlePolicyTemplateBuilder(policy).getThrottlePolicyForAppLevel());
+        }
+        String templatePath = "resources" + File.separator + "template" + File.separator + "policy_templates"
+                + File.separator + "throttle_policy_template_app.xml";
+        TemplateService.RenderMetrics metrics = TemplateService.getInstance().getRenderMetrics(templatePath);
+        long renderCount = metrics == null ? 0 : metrics.getRenderCount();
+
+        List<String> siddhiQueries = TemplateService.getInstance().renderAll(renderTasks);
+        Assert.assertEquals(siddhiQueries.size(), 10);
+        String sampleQuery = SampleTestObjectCreator.createDefaultSiddhiAppforAppPolicy();
+        for (String siddhiQuery : siddhiQueries) {
+            Assert.assertEquals(siddhiQuery, sampleQuery);
+        }
+        Assert.assertEquals(TemplateService.getInstance().getRenderMetrics(templatePath).getRenderCount(),
+                renderCount + 10);
+    }
+
+    @Test(expectedExceptions = APITemplateException.class)
+    public void testRenderNonExistingTemplate() throws APITemplateException {
+        TemplateService.getInstance().render("resources" + File.separator + "template" + File.separator
+                + "non_existing_template.xml", new VelocityContext());
+    }
 }
@@ -9,14 +9,13 @@ import org.wso2.carbon.apimgt.core.models.analytics.APIInfo;
 import org.wso2.carbon.apimgt.core.models.analytics.APISubscriptionCount;
 import org.wso2.carbon.apimgt.rest.api.analytics.ApiApiService;
 import org.wso2.carbon.apimgt.rest.api.analytics.NotFoundException;
-import org.wso2.carbon.apimgt.rest.api.analytics.dto.APICountListDTO;
-import org.wso2.carbon.apimgt.rest.api.analytics.dto.APIInfoListDTO;
 import org.wso2.carbon.apimgt.rest.api.analytics.dto.APISubscriptionCountListDTO;
 import org.wso2.carbon.apimgt.rest.api.analytics.mappings.AnalyticsMappingUtil;
 import org.wso2.carbon.apimgt.rest.api.common.dto.ErrorDTO;
 import org.wso2.carbon.apimgt.rest.api.common.util.RestApiUtil;
 import org.wso2.msf4j.Request;
 
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.time.ZoneId;
 import java.util.List;
@@ -47,9 +46,8 @@ public class ApiApiServiceImpl extends ApiApiService {
             ZoneId requestTimezone = RestApiUtil.getRequestTimeZone(startTime);
             List<APIInfo> apiInfoList = analyzer.getAPIInfo(fromISO8601ToInstant(startTime), fromISO8601ToInstant
                     (endTime), createdBy);
-            APIInfoListDTO apiInfoListDTO = AnalyticsMappingUtil
-                    .fromAPIInfoListToDTO(apiInfoList, requestTimezone);
-            return Response.ok().entity(apiInfoListDTO).build();
+            return Response.ok().type(MediaType.APPLICATION_JSON).entity(AnalyticsMappingUtil
+                    .fromAPIInfoListToStream(apiInfoList, requestTimezone)).build();
 
         } catch (APIManagementException e) {
             String errorMessage = "Error while retrieving API information";
@@ -80,8 +78,8 @@ public class ApiApiServiceImpl extends ApiApiService {
             ZoneId requestTimezone = RestApiUtil.getRequestTimeZone(startTime);
             List<APICount> apiCountList = analyzer.getAPICount(fromISO8601ToInstant(startTime),
                     fromISO8601ToInstant(endTime), createdBy);
-            APICountListDTO apiCountListDTO = AnalyticsMappingUtil.fromAPICountToListDTO(apiCountList, requestTimezone);
-            return Response.ok().entity(apiCountListDTO).build();
+            return Response.ok().type(MediaType.APPLICATION_JSON).entity(AnalyticsMappingUtil
+                    .fromAPICountListToStream(apiCountList, requestTimezone)).build();
         } catch (APIManagementException e) {
             String errorMessage = "Error while retrieving API created over time info";
             ErrorDTO errorDTO = RestApiUtil.getErrorDTO(e.getErrorHandler());
@@ -7,12 +7,12 @@ import org.wso2.carbon.apimgt.core.exception.APIManagementException;
 import org.wso2.carbon.apimgt.core.models.analytics.ApplicationCount;
 import org.wso2.carbon.apimgt.rest.api.analytics.ApplicationApiService;
 import org.wso2.carbon.apimgt.rest.api.analytics.NotFoundException;
-import org.wso2.carbon.apimgt.rest.api.analytics.dto.ApplicationCountListDTO;
 import org.wso2.carbon.apimgt.rest.api.analytics.mappings.AnalyticsMappingUtil;
 import org.wso2.carbon.apimgt.rest.api.common.dto.ErrorDTO;
 import org.wso2.carbon.apimgt.rest.api.common.util.RestApiUtil;
 import org.wso2.msf4j.Request;
 
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.time.ZoneId;
 import java.util.List;
@@ -47,9 +47,8 @@ public class ApplicationApiServiceImpl extends ApplicationApiService {
             ZoneId requestTimezone = RestApiUtil.getRequestTimeZone(startTime);
             List<ApplicationCount> applicationCountList = analyzer
                     .getApplicationCount(fromISO8601ToInstant(startTime), fromISO8601ToInstant(endTime), createdBy);
-            ApplicationCountListDTO applicationCountListDTO = AnalyticsMappingUtil
-                    .fromApplicationCountToListDTO(applicationCountList, requestTimezone);
-            return Response.ok().entity(applicationCountListDTO).build();
+            return Response.ok().type(MediaType.APPLICATION_JSON).entity(AnalyticsMappingUtil
+                    .fromApplicationCountListToStream(applicationCountList, requestTimezone)).build();
         } catch (APIManagementException e) {
             String errorMessage = "Error while retrieving application created over time info";
             ErrorDTO errorDTO = RestApiUtil.getErrorDTO(e.getErrorHandler());
@@ -8,13 +8,12 @@ import org.wso2.carbon.apimgt.core.models.analytics.SubscriptionCount;
 import org.wso2.carbon.apimgt.core.models.analytics.SubscriptionInfo;
 import org.wso2.carbon.apimgt.rest.api.analytics.NotFoundException;
 import org.wso2.carbon.apimgt.rest.api.analytics.SubscriptionApiService;
-import org.wso2.carbon.apimgt.rest.api.analytics.dto.SubscriptionCountListDTO;
-import org.wso2.carbon.apimgt.rest.api.analytics.dto.SubscriptionInfoListDTO;
 import org.wso2.carbon.apimgt.rest.api.analytics.mappings.AnalyticsMappingUtil;
 import org.wso2.carbon.apimgt.rest.api.common.dto.ErrorDTO;
 import org.wso2.carbon.apimgt.rest.api.common.util.RestApiUtil;
 import org.wso2.msf4j.Request;
 
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.time.ZoneId;
 import java.util.List;
@@ -51,9 +50,8 @@ public class SubscriptionApiServiceImpl extends SubscriptionApiService {
             ZoneId requestTimezone = RestApiUtil.getRequestTimeZone(startTime);
             List<SubscriptionCount> subscriptionCount = analyzer.getSubscriptionCount(
                     fromISO8601ToInstant(startTime), fromISO8601ToInstant(endTime), createdBy);
-            SubscriptionCountListDTO subscriptionListDTO = AnalyticsMappingUtil
-                    .fromSubscriptionCountListToDTO(subscriptionCount, requestTimezone);
-            return Response.ok().entity(subscriptionListDTO).build();
+            return Response.ok().type(MediaType.APPLICATION_JSON).entity(AnalyticsMappingUtil
+                    .fromSubscriptionCountListToStream(subscriptionCount, requestTimezone)).build();
 
         } catch (APIManagementException e) {
             String errorMessage = "Error while retrieving Subscription Count";
@@ -84,9 +82,8 @@ public class SubscriptionApiServiceImpl extends SubscriptionApiService {
             ZoneId requestTimezone = RestApiUtil.getRequestTimeZone(startTime);
             List<SubscriptionInfo> subscriptionInfoList = analyzer.getSubscriptionInfo(fromISO8601ToInstant
                     (startTime), fromISO8601ToInstant(endTime), createdBy);
-            SubscriptionInfoListDTO subscriptionInfoListDTO = AnalyticsMappingUtil
-                    .fromSubscriptionInfoListToDTO(subscriptionInfoList, requestTimezone);
-            return Response.ok().entity(subscriptionInfoListDTO).build();
+            return Response.ok().type(MediaType.APPLICATION_JSON).entity(AnalyticsMappingUtil
+                    .fromSubscriptionInfoListToStream(subscriptionInfoList, requestTimezone)).build();
 
         } catch (APIManagementException e) {
             String errorMessage = "Error while retrieving subscription information";
@@ -15,6 +15,10 @@
 */
 package org.wso2.carbon.apimgt.rest.api.analytics.mappings;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.wso2.carbon.apimgt.core.models.analytics.APICount;
 import org.wso2.carbon.apimgt.core.models.analytics.APIInfo;
 import org.wso2.carbon.apimgt.core.models.analytics.APISubscriptionCount;
@@ -37,6 +41,8 @@ import org.wso2.carbon.apimgt.rest.api.analytics.dto.SubscriptionInfoListDTO;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
+import javax.ws.rs.core.StreamingOutput;
 
 import static org.wso2.carbon.apimgt.rest.api.common.util.RestApiUtil.epochToISO8601DateTime;
 
@@ -45,6 +51,13 @@ import static org.wso2.carbon.apimgt.rest.api.common.util.RestApiUtil.epochToISO
  */
 public class AnalyticsMappingUtil {
 
+    /**
+     * Mapper used to stream responses. Null fields are left out, as done when the DTOs are returned as entities.
+     */
+    private static final ObjectMapper STREAMING_MAPPER = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+
     /**
      * Converts and ApplicationCountList to ApplicationCountListDTO.
      *
@@ -135,10 +148,7 @@ public class AnalyticsMappingUtil {
         List<SubscriptionCountDTO> subscriptionCountDTOList = new ArrayList<>();
         subscriptionCountListDTO.setCount(subscriptionCountList.size());
         for (SubscriptionCount subscriptionCount : subscriptionCountList) {
-            SubscriptionCountDTO subscriptionCountDTO = new SubscriptionCountDTO();
-            subscriptionCountDTO.setTime(epochToISO8601DateTime(subscriptionCount.getTimestamp(), zoneId));
-            subscriptionCountDTO.setCount(subscriptionCount.getCount());
-            subscriptionCountDTOList.add(subscriptionCountDTO);
+            subscriptionCountDTOList.add(fromSubscriptionCountToDTO(subscriptionCount, zoneId));
         }
         subscriptionCountListDTO.setList(subscriptionCountDTOList);
         return subscriptionCountListDTO;
@@ -150,21 +160,117 @@ public class AnalyticsMappingUtil {
         List<SubscriptionInfoDTO> subscriptionInfoDTOList = new ArrayList<>();
         subscriptionCountListDTO.setCount(subscriptionInfoList.size());
         for (SubscriptionInfo subscriptionInfo : subscriptionInfoList) {
-            SubscriptionInfoDTO subscriptionInfoDTO = new SubscriptionInfoDTO();
-            subscriptionInfoDTO.setId(subscriptionInfo.getId());
-            subscriptionInfoDTO.setName(subscriptionInfo.getName());
-            subscriptionInfoDTO.setVersion(subscriptionInfo.getVersion());
-            subscriptionInfoDTO.setAppName(subscriptionInfo.getAppName());
-            subscriptionInfoDTO.setDescription(subscriptionInfo.getDescription());
-            subscriptionInfoDTO.setCreatedTime(epochToISO8601DateTime(subscriptionInfo.getCreatedTime(), zoneId));
-            subscriptionInfoDTO.setSubscriptionStatus(subscriptionInfo.getSubscriptionStatus());
-            subscriptionInfoDTO.setSubscriptionTier(subscriptionInfo.getSubscriptionTier());
-            subscriptionInfoDTOList.add(subscriptionInfoDTO);
+            subscriptionInfoDTOList.add(fromSubscriptionInfoToDTO(subscriptionInfo, zoneId));
         }
         subscriptionCountListDTO.setList(subscriptionInfoDTOList);
         return subscriptionCountListDTO;
     }
 
+    /**
+     * Converts an ApplicationCount list to a response entity which streams the corresponding
+     * ApplicationCountListDTO.
+     *
+     * @param applicationCountList list of ApplicationCount objects
+     * @param zoneId               time zone of the request
+     * @return streaming response entity
+     */
+    public static StreamingOutput fromApplicationCountListToStream(List<ApplicationCount> applicationCountList,
+                                                                   ZoneId zoneId) {
+        return toStreamingOutput(applicationCountList,
+                applicationCount -> fromApplicationCountToDTO(applicationCount, zoneId));
+    }
+
+    /**
+     * Converts an APICount list to a response entity which streams the corresponding APICountListDTO.
+     *
+     * @param apiCountList list of APICount objects
+     * @param zoneId       time zone of the request
+     * @return streaming response entity
+     */
+    public static StreamingOutput fromAPICountListToStream(List<APICount> apiCountList, ZoneId zoneId) {
+        return toStreamingOutput(apiCountList, apiCount -> fromAPICountToDTO(apiCount, zoneId));
+    }
+
+    /**
+     * Converts an APIInfo list to a response entity which streams the corresponding APIInfoListDTO.
+     *
+     * @param apiInfoList list of APIInfo objects
+     * @param zoneId      time zone of the request
+     * @return streaming response entity
+     */
+    public static StreamingOutput fromAPIInfoListToStream(List<APIInfo> apiInfoList, ZoneId zoneId) {
+        return toStreamingOutput(apiInfoList, apiInfo -> fromAPIInfoToDTO(apiInfo, zoneId));
+    }
+
+    /**
+     * Converts a SubscriptionCount list to a response entity which streams the corresponding
+     * SubscriptionCountListDTO.
+     *
+     * @param subscriptionCountList list of SubscriptionCount objects
+     * @param zoneId                time zone of the request
+     * @return streaming response entity
+     */
+    public static StreamingOutput fromSubscriptionCountListToStream(List<SubscriptionCount> subscriptionCountList,
+                                                                    ZoneId zoneId) {
+        return toStreamingOutput(subscriptionCountList,
+                subscriptionCount -> fromSubscriptionCountToDTO(subscriptionCount, zoneId));
+    }
+
+    /**
+     * Converts a SubscriptionInfo list to a response entity which streams the corresponding
+     * SubscriptionInfoListDTO.
+     *
+     * @param subscriptionInfoList list of SubscriptionInfo objects
+     * @param zoneId               time zone of the request
+     * @return streaming response entity
+     */
+    public static StreamingOutput fromSubscriptionInfoListToStream(List<SubscriptionInfo> subscriptionInfoList,
+                                                                   ZoneId zoneId) {
+        return toStreamingOutput(subscriptionInfoList,
+                subscriptionInfo -> fromSubscriptionInfoToDTO(subscriptionInfo, zoneId));
+    }
+
+    /**
+     * Creates a response entity which writes a list in the form of the list DTOs. Each element is converted to its
+     * DTO as it is written, hence the DTOs of the whole list are never held in memory.
+     */
+    private static <T> StreamingOutput toStreamingOutput(List<T> list, Function<T, ?> toDTO) {
+        return outputStream -> {
+            try (JsonGenerator generator = STREAMING_MAPPER.getFactory().createGenerator(outputStream,
+                    JsonEncoding.UTF8)) {
+                generator.writeStartObject();
+                generator.writeNumberField("count", list.size());
+                generator.writeArrayFieldStart("list");
+                for (T element : list) {
+                    generator.writeObject(toDTO.apply(element));
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+        };
+    }
+
+    private static SubscriptionCountDTO fromSubscriptionCountToDTO(SubscriptionCount subscriptionCount,
+                                                                   ZoneId zoneId) {
+        SubscriptionCountDTO subscriptionCountDTO = new SubscriptionCountDTO();
+        subscriptionCountDTO.setTime(epochToISO8601DateTime(subscriptionCount.getTimestamp(), zoneId));
+        subscriptionCountDTO.setCount(subscriptionCount.getCount());
+        return subscriptionCountDTO;
+    }
+
+    private static SubscriptionInfoDTO fromSubscriptionInfoToDTO(SubscriptionInfo subscriptionInfo, ZoneId zoneId) {
+        SubscriptionInfoDTO subscriptionInfoDTO = new SubscriptionInfoDTO();
+        subscriptionInfoDTO.setId(subscriptionInfo.getId());
+        subscriptionInfoDTO.setName(subscriptionInfo.getName());
+        subscriptionInfoDTO.setVersion(subscriptionInfo.getVersion());
+        subscriptionInfoDTO.setAppName(subscriptionInfo.getAppName());
+        subscriptionInfoDTO.setDescription(subscriptionInfo.getDescription());
+        subscriptionInfoDTO.setCreatedTime(epochToISO8601DateTime(subscriptionInfo.getCreatedTime(), zoneId));
+        subscriptionInfoDTO.setSubscriptionStatus(subscriptionInfo.getSubscriptionStatus());
+        subscriptionInfoDTO.setSubscriptionTier(subscriptionInfo.getSubscriptionTier());
+        return subscriptionInfoDTO;
+    }
+
     private static APIInfoDTO fromAPIInfoToDTO(APIInfo apiInfo, ZoneId zoneId) {
         APIInfoDTO apiInfoDTO = new APIInfoDTO();
         apiInfoDTO.setId(apiInfo.getId());
@@ -21,7 +21,6 @@
 package org.wso2.carbon.apimgt.rest.api.common.interceptors;
 
 import io.swagger.models.Swagger;
-import io.swagger.parser.SwaggerParser;
 import io.swagger.util.Json;
 import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
@@ -29,6 +28,7 @@ import org.slf4j.LoggerFactory;
 import org.wso2.carbon.apimgt.core.exception.APIManagementException;
 import org.wso2.carbon.apimgt.core.exception.ErrorHandler;
 import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
+import org.wso2.carbon.apimgt.core.impl.SwaggerModelCache;
 import org.wso2.carbon.apimgt.rest.api.common.RestApiConstants;
 import org.wso2.carbon.apimgt.rest.api.common.api.RESTAPIAuthenticator;
 import org.wso2.carbon.apimgt.rest.api.common.dto.ErrorDTO;
@@ -112,7 +112,7 @@ public class RESTAPISecurityInterceptor implements Interceptor {
             if (requestURI.contains("swagger.json")) {
                 try {
                     yamlContent = RestApiUtil.getStoreRestAPIResource();
-                    swagger = new SwaggerParser().parse(yamlContent);
+                    swagger = SwaggerModelCache.getInstance().getSwagger(yamlContent);
                     swagger.setBasePath(RestApiUtil.getContext(RestApiConstants.APPType.STORE));
                     swagger.setHost(RestApiUtil.getHost(protocol.toLowerCase(Locale.ENGLISH)));
                     response.setStatus(javax.ws.rs.core.Response.Status.OK.getStatusCode()).setEntity(Json.pretty
@@ -144,7 +144,7 @@ public class RESTAPISecurityInterceptor implements Interceptor {
             if (requestURI.contains("swagger.json")) {
                 try {
                     yamlContent = RestApiUtil.getAnalyticsRestAPIResource();
-                    swagger = new SwaggerParser().parse(yamlContent);
+                    swagger = SwaggerModelCache.getInstance().getSwagger(yamlContent);
                     swagger.setBasePath(RestApiUtil.getContext(RestApiConstants.APPType.ANALYTICS));
                     swagger.setHost(RestApiUtil.getHost(protocol.toLowerCase(Locale.ENGLISH)));
 
@@ -161,7 +161,7 @@ public class RESTAPISecurityInterceptor implements Interceptor {
             if (requestURI.contains("swagger.json")) {
                 try {
                     yamlContent = RestApiUtil.getAdminRestAPIResource();
-                    swagger = new SwaggerParser().parse(yamlContent);
+                    swagger = SwaggerModelCache.getInstance().getSwagger(yamlContent);
                     swagger.setBasePath(RestApiUtil.getContext(RestApiConstants.APPType.ADMIN));
                     swagger.setHost(RestApiUtil.getHost(protocol.toLowerCase(Locale.ENGLISH)));
                     response.setStatus(javax.ws.rs.core.Response.Status.OK.getStatusCode())
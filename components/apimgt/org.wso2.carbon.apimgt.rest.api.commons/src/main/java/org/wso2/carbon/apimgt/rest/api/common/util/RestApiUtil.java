@@ -267,6 +267,20 @@ public class RestApiUtil {
         return paginatedURL;
     }
 
+    /**
+     * Returns the url of the next page of a keyset paginated APIs listing
+     *
+     * @param limit             max number of objects returned
+     * @param continuationToken encoded token of the last API in the current page
+     * @return constructed paginated url
+     */
+    public static String getAPIKeysetPaginatedURL(Integer limit, String continuationToken) {
+        String paginatedURL = RestApiConstants.APIS_GET_KEYSET_PAGINATION_URL;
+        paginatedURL = paginatedURL.replace(RestApiConstants.LIMIT_PARAM, String.valueOf(limit));
+        paginatedURL = paginatedURL.replace(RestApiConstants.AFTER_PARAM, continuationToken);
+        return paginatedURL;
+    }
+
     /**
      * Returns the gateway config retrieve url
      *
@@ -5,6 +5,7 @@ import io.swagger.annotations.ApiParam;
 
 import org.wso2.carbon.apimgt.rest.api.core.dto.ErrorDTO;
 import java.io.File;
+import org.wso2.carbon.apimgt.rest.api.core.dto.PolicyBundleDTO;
 import org.wso2.carbon.apimgt.rest.api.core.factories.ExportApiServiceFactory;
 
 import org.wso2.msf4j.Microservice;
@@ -61,4 +62,22 @@ public class ExportApi implements Microservice  {
     throws NotFoundException {
         return delegate.exportPoliciesThrottleGet(accept, request);
     }
+
+    @GET
+    @Path("/policies/throttle/bundle")
+    @Consumes({ "application/json" })
+    @Produces({ "application/json" })
+    @io.swagger.annotations.ApiOperation(value = "Get the Siddhi apps of throttle policies changed since a version", notes = "This operation can be used by traffic managers to fetch only the Siddhi apps which changed since the version of the policy bundle they last applied ", response = PolicyBundleDTO.class, tags={ "Export Configuration", })
+    @io.swagger.annotations.ApiResponses(value = { 
+        @io.swagger.annotations.ApiResponse(code = 200, message = "OK. Changed Siddhi apps returned. ", response = PolicyBundleDTO.class),
+        
+        @io.swagger.annotations.ApiResponse(code = 400, message = "Bad Request. Invalid request or validation error. ", response = PolicyBundleDTO.class),
+        
+        @io.swagger.annotations.ApiResponse(code = 406, message = "Not Acceptable. The requested media type is not supported ", response = PolicyBundleDTO.class) })
+    public Response exportPoliciesThrottleBundleGet(@ApiParam(value = "Version of the policy bundle last applied by the caller. All the Siddhi apps are returned if not given. ") @QueryParam("since") Long since
+,@ApiParam(value = "Media types acceptable for the response. Default is application/json. " , defaultValue="application/json")@HeaderParam("Accept") String accept
+, @Context Request request)
+    throws NotFoundException {
+        return delegate.exportPoliciesThrottleBundleGet(since,accept, request);
+    }
 }
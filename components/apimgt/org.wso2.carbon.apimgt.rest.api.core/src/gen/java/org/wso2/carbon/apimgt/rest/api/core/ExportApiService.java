@@ -9,6 +9,7 @@ import org.wso2.msf4j.Request;
 
 import org.wso2.carbon.apimgt.rest.api.core.dto.ErrorDTO;
 import java.io.File;
+import org.wso2.carbon.apimgt.rest.api.core.dto.PolicyBundleDTO;
 
 import java.util.List;
 import org.wso2.carbon.apimgt.rest.api.core.NotFoundException;
@@ -20,5 +21,8 @@ import javax.ws.rs.core.SecurityContext;
 
 public abstract class ExportApiService {
     public abstract Response exportPoliciesThrottleGet(String accept
+ , Request request) throws NotFoundException;
+    public abstract Response exportPoliciesThrottleBundleGet(Long since
+ ,String accept
  , Request request) throws NotFoundException;
 }
@@ -0,0 +1,189 @@
+package org.wso2.carbon.apimgt.rest.api.core.dto;
+
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import java.util.Objects;
+
+/**
+ * ExecutionPlanDTO
+ */
+public class ExecutionPlanDTO   {
+  @JsonProperty("name")
+  private String name = null;
+
+  @JsonProperty("policyId")
+  private String policyId = null;
+
+  @JsonProperty("hash")
+  private String hash = null;
+
+  @JsonProperty("version")
+  private Long version = null;
+
+  @JsonProperty("deleted")
+  private Boolean deleted = null;
+
+  @JsonProperty("content")
+  private String content = null;
+
+  public ExecutionPlanDTO name(String name) {
+    this.name = name;
+    return this;
+  }
+
+   /**
+   * Get name
+   * @return name
+  **/
+  @ApiModelProperty(example = "resource_10KPerMin_default", value = "")
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public ExecutionPlanDTO policyId(String policyId) {
+    this.policyId = policyId;
+    return this;
+  }
+
+   /**
+   * Get policyId
+   * @return policyId
+  **/
+  @ApiModelProperty(example = "01234567-0123-0123-0123-012345678901", value = "")
+  public String getPolicyId() {
+    return policyId;
+  }
+
+  public void setPolicyId(String policyId) {
+    this.policyId = policyId;
+  }
+
+  public ExecutionPlanDTO hash(String hash) {
+    this.hash = hash;
+    return this;
+  }
+
+   /**
+   * SHA-256 hash of the execution plan. 
+   * @return hash
+  **/
+  @ApiModelProperty(value = "SHA-256 hash of the execution plan. ")
+  public String getHash() {
+    return hash;
+  }
+
+  public void setHash(String hash) {
+    this.hash = hash;
+  }
+
+  public ExecutionPlanDTO version(Long version) {
+    this.version = version;
+    return this;
+  }
+
+   /**
+   * Version of the policy bundle in which the execution plan was last changed. 
+   * @return version
+  **/
+  @ApiModelProperty(example = "1507000000000", value = "Version of the policy bundle in which the execution plan was last changed. ")
+  public Long getVersion() {
+    return version;
+  }
+
+  public void setVersion(Long version) {
+    this.version = version;
+  }
+
+  public ExecutionPlanDTO deleted(Boolean deleted) {
+    this.deleted = deleted;
+    return this;
+  }
+
+   /**
+   * Get deleted
+   * @return deleted
+  **/
+  @ApiModelProperty(example = "false", value = "")
+  public Boolean getDeleted() {
+    return deleted;
+  }
+
+  public void setDeleted(Boolean deleted) {
+    this.deleted = deleted;
+  }
+
+  public ExecutionPlanDTO content(String content) {
+    this.content = content;
+    return this;
+  }
+
+   /**
+   * Siddhi execution plan. Not present for a deleted execution plan. 
+   * @return content
+  **/
+  @ApiModelProperty(value = "Siddhi execution plan. Not present for a deleted execution plan. ")
+  public String getContent() {
+    return content;
+  }
+
+  public void setContent(String content) {
+    this.content = content;
+  }
+
+
+  @Override
+  public boolean equals(java.lang.Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ExecutionPlanDTO executionPlan = (ExecutionPlanDTO) o;
+    return Objects.equals(this.name, executionPlan.name) &&
+        Objects.equals(this.policyId, executionPlan.policyId) &&
+        Objects.equals(this.hash, executionPlan.hash) &&
+        Objects.equals(this.version, executionPlan.version) &&
+        Objects.equals(this.deleted, executionPlan.deleted) &&
+        Objects.equals(this.content, executionPlan.content);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(name, policyId, hash, version, deleted, content);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class ExecutionPlanDTO {\n");
+    
+    sb.append("    name: ").append(toIndentedString(name)).append("\n");
+    sb.append("    policyId: ").append(toIndentedString(policyId)).append("\n");
+    sb.append("    hash: ").append(toIndentedString(hash)).append("\n");
+    sb.append("    version: ").append(toIndentedString(version)).append("\n");
+    sb.append("    deleted: ").append(toIndentedString(deleted)).append("\n");
+    sb.append("    content: ").append(toIndentedString(content)).append("\n");
+    sb.append("}");
+    return sb.toString();
+  }
+
+  /**
+   * Convert the given object to string with each line indented by 4 spaces
+   * (except the first line).
+   */
+  private String toIndentedString(java.lang.Object o) {
+    if (o == null) {
+      return "null";
+    }
+    return o.toString().replace("\n", "\n    ");
+  }
+}
+
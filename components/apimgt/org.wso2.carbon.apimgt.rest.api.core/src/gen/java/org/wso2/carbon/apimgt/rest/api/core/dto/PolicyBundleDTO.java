@@ -0,0 +1,128 @@
+package org.wso2.carbon.apimgt.rest.api.core.dto;
+
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import java.util.ArrayList;
+import java.util.List;
+import org.wso2.carbon.apimgt.rest.api.core.dto.ExecutionPlanDTO;
+import java.util.Objects;
+
+/**
+ * PolicyBundleDTO
+ */
+public class PolicyBundleDTO   {
+  @JsonProperty("version")
+  private Long version = null;
+
+  @JsonProperty("complete")
+  private Boolean complete = null;
+
+  @JsonProperty("list")
+  private List<ExecutionPlanDTO> list = new ArrayList<ExecutionPlanDTO>();
+
+  public PolicyBundleDTO version(Long version) {
+    this.version = version;
+    return this;
+  }
+
+   /**
+   * Current version of the policy bundle. 
+   * @return version
+  **/
+  @ApiModelProperty(example = "1507000000000", value = "Current version of the policy bundle. ")
+  public Long getVersion() {
+    return version;
+  }
+
+  public void setVersion(Long version) {
+    this.version = version;
+  }
+
+  public PolicyBundleDTO complete(Boolean complete) {
+    this.complete = complete;
+    return this;
+  }
+
+   /**
+   * Whether the list is the complete set of execution plans rather than the changes since the requested version. 
+   * @return complete
+  **/
+  @ApiModelProperty(example = "false", value = "Whether the list is the complete set of execution plans rather than the changes since the requested version. ")
+  public Boolean getComplete() {
+    return complete;
+  }
+
+  public void setComplete(Boolean complete) {
+    this.complete = complete;
+  }
+
+  public PolicyBundleDTO list(List<ExecutionPlanDTO> list) {
+    this.list = list;
+    return this;
+  }
+
+  public PolicyBundleDTO addListItem(ExecutionPlanDTO listItem) {
+    this.list.add(listItem);
+    return this;
+  }
+
+   /**
+   * Get list
+   * @return list
+  **/
+  @ApiModelProperty(value = "")
+  public List<ExecutionPlanDTO> getList() {
+    return list;
+  }
+
+  public void setList(List<ExecutionPlanDTO> list) {
+    this.list = list;
+  }
+
+
+  @Override
+  public boolean equals(java.lang.Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    PolicyBundleDTO policyBundle = (PolicyBundleDTO) o;
+    return Objects.equals(this.version, policyBundle.version) &&
+        Objects.equals(this.complete, policyBundle.complete) &&
+        Objects.equals(this.list, policyBundle.list);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(version, complete, list);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class PolicyBundleDTO {\n");
+    
+    sb.append("    version: ").append(toIndentedString(version)).append("\n");
+    sb.append("    complete: ").append(toIndentedString(complete)).append("\n");
+    sb.append("    list: ").append(toIndentedString(list)).append("\n");
+    sb.append("}");
+    return sb.toString();
+  }
+
+  /**
+   * Convert the given object to string with each line indented by 4 spaces
+   * (except the first line).
+   */
+  private String toIndentedString(java.lang.Object o) {
+    if (o == null) {
+      return "null";
+    }
+    return o.toString().replace("\n", "\n    ");
+  }
+}
+
@@ -5,10 +5,12 @@ import org.slf4j.LoggerFactory;
 import org.wso2.carbon.apimgt.core.api.APIMgtAdminService;
 import org.wso2.carbon.apimgt.core.exception.APIManagementException;
 import org.wso2.carbon.apimgt.core.impl.APIManagerFactory;
+import org.wso2.carbon.apimgt.core.models.policy.PolicyBundle;
 import org.wso2.carbon.apimgt.core.util.APIFileUtils;
 import org.wso2.carbon.apimgt.rest.api.common.util.RestApiUtil;
 import org.wso2.carbon.apimgt.rest.api.core.ExportApiService;
 import org.wso2.carbon.apimgt.rest.api.core.NotFoundException;
+import org.wso2.carbon.apimgt.rest.api.core.utils.MappingUtil;
 import org.wso2.carbon.apimgt.rest.api.core.utils.PolicyExportManager;
 import org.wso2.msf4j.Request;
 
@@ -64,4 +66,31 @@ public class ExportApiServiceImpl extends ExportApiService {
             return Response.status(e.getErrorHandler().getHttpStatusCode()).entity(errorDTO).build();
         }
     }
+
+    /**
+     * Get the execution plans of throttle policies which changed since the given version of the policy bundle.
+     *
+     * @param since   version of the policy bundle last applied by the caller
+     * @param accept  Accept header value
+     * @param request msf4j request object
+     * @return Response object
+     * @throws NotFoundException if an error occurred when particular resource does not exits in the system.
+     */
+    @Override
+    public Response exportPoliciesThrottleBundleGet(Long since, String accept, Request request)
+            throws NotFoundException {
+        if (log.isDebugEnabled()) {
+            log.debug("Received policy bundle GET request since version: " + since);
+        }
+        try {
+            APIMgtAdminService apiMgtAdminService = APIManagerFactory.getInstance().getAPIMgtAdminService();
+            PolicyBundle policyBundle = apiMgtAdminService.getPolicyBundle(since == null ? 0 : since);
+            return Response.ok().entity(MappingUtil.toPolicyBundleDTO(policyBundle)).build();
+        } catch (APIManagementException e) {
+            String errorMessage = "Error while retrieving policy bundle";
+            log.error(errorMessage, e);
+            org.wso2.carbon.apimgt.rest.api.common.dto.ErrorDTO errorDTO = RestApiUtil.getErrorDTO(e.getErrorHandler());
+            return Response.status(e.getErrorHandler().getHttpStatusCode()).entity(errorDTO).build();
+        }
+    }
 }
@@ -29,6 +29,7 @@ import org.wso2.carbon.apimgt.core.models.PolicyValidationData;
 import org.wso2.carbon.apimgt.core.models.RegistrationSummary;
 import org.wso2.carbon.apimgt.core.models.SubscriptionValidationData;
 import org.wso2.carbon.apimgt.core.models.UriTemplate;
+import org.wso2.carbon.apimgt.core.models.policy.PolicyBundle;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 import org.wso2.carbon.apimgt.core.util.APIUtils;
 import org.wso2.carbon.apimgt.rest.api.core.dto.APIInfoDTO;
@@ -39,10 +40,12 @@ import org.wso2.carbon.apimgt.rest.api.core.dto.BlockingConditionDTO;
 import org.wso2.carbon.apimgt.rest.api.core.dto.BlockingConditionListDTO;
 import org.wso2.carbon.apimgt.rest.api.core.dto.CredentialsDTO;
 import org.wso2.carbon.apimgt.rest.api.core.dto.EndPointDTO;
+import org.wso2.carbon.apimgt.rest.api.core.dto.ExecutionPlanDTO;
 import org.wso2.carbon.apimgt.rest.api.core.dto.GoogleAnalyticsTrackingInfoDTO;
 import org.wso2.carbon.apimgt.rest.api.core.dto.JWTInfoDTO;
 import org.wso2.carbon.apimgt.rest.api.core.dto.KeyManagerInfoDTO;
 import org.wso2.carbon.apimgt.rest.api.core.dto.LabelDTO;
+import org.wso2.carbon.apimgt.rest.api.core.dto.PolicyBundleDTO;
 import org.wso2.carbon.apimgt.rest.api.core.dto.PolicyDTO;
 import org.wso2.carbon.apimgt.rest.api.core.dto.RegistrationSummaryDTO;
 import org.wso2.carbon.apimgt.rest.api.core.dto.SubscriptionDTO;
@@ -287,6 +290,22 @@ public class MappingUtil {
         return policyDTOList;
     }
 
+    /**
+     * Converts a {@link PolicyBundle} to a {@link PolicyBundleDTO}
+     *
+     * @param policyBundle changed execution plans of the policy bundle
+     * @return PolicyBundleDTO object
+     */
+    public static PolicyBundleDTO toPolicyBundleDTO(PolicyBundle policyBundle) {
+        PolicyBundleDTO policyBundleDTO = new PolicyBundleDTO().version(policyBundle.getVersion())
+                .complete(policyBundle.isComplete());
+        policyBundle.getExecutionPlans().forEach(executionPlan -> policyBundleDTO.addListItem(new ExecutionPlanDTO()
+                .name(executionPlan.getName()).policyId(executionPlan.getPolicyId()).hash(executionPlan.getHash())
+                .version(executionPlan.getVersion()).deleted(executionPlan.isDeleted())
+                .content(executionPlan.getContent())));
+        return policyBundleDTO;
+    }
+
     /**
      * Converts {@link Endpoint} list to {@link EndPointDTO} list
      *
@@ -24,21 +24,12 @@ import org.slf4j.LoggerFactory;
 import org.wso2.carbon.apimgt.core.api.APIMgtAdminService;
 import org.wso2.carbon.apimgt.core.exception.APIManagementException;
 import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
-import org.wso2.carbon.apimgt.core.models.policy.APIPolicy;
-import org.wso2.carbon.apimgt.core.models.policy.ApplicationPolicy;
-import org.wso2.carbon.apimgt.core.models.policy.CustomPolicy;
-import org.wso2.carbon.apimgt.core.models.policy.SubscriptionPolicy;
-import org.wso2.carbon.apimgt.core.template.APITemplateException;
-import org.wso2.carbon.apimgt.core.template.APIThrottlePolicyTemplateBuilder;
-import org.wso2.carbon.apimgt.core.template.ApplicationThrottlePolicyTemplateBuilder;
-import org.wso2.carbon.apimgt.core.template.CustomThrottlePolicyTemplateBuilder;
-import org.wso2.carbon.apimgt.core.template.SubscriptionThrottlePolicyTemplateBuilder;
+import org.wso2.carbon.apimgt.core.models.policy.ExecutionPlan;
+import org.wso2.carbon.apimgt.core.models.policy.PolicyBundle;
 import org.wso2.carbon.apimgt.core.util.APIFileUtils;
 
 import java.io.File;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -47,11 +38,6 @@ import java.util.Map;
 public class PolicyExportManager {
 
     private static final Logger log = LoggerFactory.getLogger(PolicyExportManager.class);
-    private static final String APPLICATION = "application_";
-    private static final String SUBSCRIPTION = "subscription_";
-    private static final String RESOURCE = "resource_";
-    private static final String DEFAULT = "_default";
-    private static final String CUSTOM = "custom_";
     private static final String ZIP = ".zip";
     private static final String EXPORT_POLICIES = "ExportPolicies";
     private static final String SIDDHI_EXTENSION = ".siddhi";
@@ -65,28 +51,16 @@ public class PolicyExportManager {
             throws APIManagementException {
 
         try {
-            //retrieve all policies under each policy level
-            List<APIPolicy> apiPolicies = apiMgtAdminService.getApiPolicies();
-            List<ApplicationPolicy> applicationPolicies = apiMgtAdminService.getApplicationPolicies();
-            List<SubscriptionPolicy> subscriptionPolicies = apiMgtAdminService.getSubscriptionPolicies();
-            List<CustomPolicy> customPolicies = apiMgtAdminService.getCustomRules();
+            //execution plans are rendered once and kept in the policy bundle
+            PolicyBundle policyBundle = apiMgtAdminService.getPolicyBundle(0);
             //write all execution Plans/Siddhi Apps to exportPoliciesDirName directory
             String dirLocation = exportedPoliciesDirName + File.separator + EXPORT_POLICIES;
             APIFileUtils.createDirectory(dirLocation);
-            if (!apiPolicies.isEmpty()) {
-                for (Map<String, String> map : getApiPolicySiddhiApps(apiPolicies)) {
-                    prepareFile(dirLocation, map);
-                }
-            }
-            if (!applicationPolicies.isEmpty()) {
-                prepareFile(dirLocation, getAppPolicySiddhiApps(applicationPolicies));
-            }
-            if (!subscriptionPolicies.isEmpty()) {
-                prepareFile(dirLocation, getSubscriptionPolicySiddhiApps(subscriptionPolicies));
-            }
-            if (!customPolicies.isEmpty()) {
-                prepareFile(dirLocation, getCustomPolicySiddhiApps(customPolicies));
+            Map<String, String> siddhiApps = new HashMap<>();
+            for (ExecutionPlan executionPlan : policyBundle.getExecutionPlans()) {
+                siddhiApps.put(executionPlan.getName(), executionPlan.getContent());
             }
+            prepareFile(dirLocation, siddhiApps);
             //create archive and get the archive location
             String zippedFilePath = createArchiveFromPolicies(exportedPoliciesDirName, archiveDir, archiveName);
             APIFileUtils.deleteDirectory(exportedPoliciesDirName);
@@ -141,105 +115,4 @@ public class PolicyExportManager {
             APIFileUtils.writeToFile(exportDir + File.separator + entry.getKey() + SIDDHI_EXTENSION, entry.getValue());
         }
     }
-
-    /**
-     * Get execution plan/ siddhi apps for custom policies.
-     *
-     * @param apiPolicies APIPolicy object list
-     * @return Map<String, String> containing execution plan name and execution plans.
-     * @throws APITemplateException If template generating fails
-     */
-    private List<Map<String, String>> getApiPolicySiddhiApps(List<APIPolicy> apiPolicies) throws APITemplateException {
-        if (log.isDebugEnabled()) {
-            log.debug("Get execution plans for API policies.");
-        }
-        List<Map<String, String>> policies = new ArrayList<>();
-        Map<String, String> siddhiApps = new HashMap<>();
-        APIThrottlePolicyTemplateBuilder templateBuilder;
-        for (APIPolicy apiPolicy : apiPolicies) {
-            templateBuilder = new APIThrottlePolicyTemplateBuilder(apiPolicy);
-            if (apiPolicy.getPipelines() != null) {
-                siddhiApps = templateBuilder.getThrottlePolicyTemplateForPipelines();
-            }
-            siddhiApps.put(RESOURCE + apiPolicy.getPolicyName() + DEFAULT,
-                    templateBuilder.getThrottlePolicyTemplateForAPILevelDefaultCondition());
-            policies.add(siddhiApps);
-        }
-        return policies;
-    }
-
-    /**
-     * Get execution plan/ siddhi apps for custom policies.
-     *
-     * @param applicationPolicies ApplicationPolicy object list
-     * @return Map<String, String> containing execution plan name and execution plans.
-     * @throws APITemplateException If template generating fails
-     */
-    private Map<String, String> getAppPolicySiddhiApps(List<ApplicationPolicy> applicationPolicies)
-            throws APITemplateException {
-        if (log.isDebugEnabled()) {
-            log.debug("Get execution plans for application policy.");
-        }
-        Map<String, String> siddhiApps = new HashMap<>();
-        String name;
-        String executionPlan;
-        ApplicationThrottlePolicyTemplateBuilder templateBuilder;
-        for (ApplicationPolicy policy : applicationPolicies) {
-            templateBuilder = new ApplicationThrottlePolicyTemplateBuilder(policy);
-            name = APPLICATION + policy.getPolicyName();
-            executionPlan = templateBuilder.getThrottlePolicyForAppLevel();
-            siddhiApps.put(name, executionPlan);
-        }
-        return siddhiApps;
-    }
-
-    /**
-     * Get execution plan/ siddhi apps for custom policies.
-     *
-     * @param subscriptionPolicies SubscriptionPolicy object list
-     * @return Map<String, String> containing execution plan name and execution plans.
-     * @throws APITemplateException If template generating fails
-     */
-    private Map<String, String> getSubscriptionPolicySiddhiApps(List<SubscriptionPolicy> subscriptionPolicies)
-            throws APITemplateException {
-        if (log.isDebugEnabled()) {
-            log.debug("Get execution plans for Subscription policies.");
-        }
-        Map<String, String> siddhiApps = new HashMap<>();
-        String name;
-        String executionPlan;
-        SubscriptionThrottlePolicyTemplateBuilder templateBuilder;
-        for (SubscriptionPolicy policy : subscriptionPolicies) {
-            name = SUBSCRIPTION + policy.getPolicyName();
-            templateBuilder = new SubscriptionThrottlePolicyTemplateBuilder(policy);
-            executionPlan = templateBuilder.getThrottlePolicyForSubscriptionLevel();
-            siddhiApps.put(name, executionPlan);
-        }
-        return siddhiApps;
-    }
-
-    /**
-     * Get execution plan/ siddhi apps for custom policies.
-     *
-     * @param customPolicies custom policy object list
-     * @return Map<String, String> containing execution plan name and execution plans.
-     * @throws APITemplateException If template generating fails
-     */
-    private Map<String, String> getCustomPolicySiddhiApps(List<CustomPolicy> customPolicies)
-            throws APITemplateException {
-        if (log.isDebugEnabled()) {
-            log.debug("Get execution plans for custom policies.");
-        }
-        Map<String, String> siddhiApps = new HashMap<>();
-        String name;
-        String executionPlan;
-        CustomThrottlePolicyTemplateBuilder templateBuilder;
-        for (CustomPolicy policy : customPolicies) {
-            templateBuilder = new CustomThrottlePolicyTemplateBuilder(policy);
-            name = CUSTOM + policy.getPolicyName();
-            executionPlan = templateBuilder.getThrottlePolicyTemplateForCustomPolicy();
-            siddhiApps.put(name, executionPlan);
-        }
-        return siddhiApps;
-    }
 }
@@ -30,9 +30,14 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.wso2.carbon.apimgt.core.impl.APIManagerFactory;
 import org.wso2.carbon.apimgt.core.impl.APIMgtAdminServiceImpl;
+import org.wso2.carbon.apimgt.core.models.policy.ExecutionPlan;
+import org.wso2.carbon.apimgt.core.models.policy.PolicyBundle;
+import org.wso2.carbon.apimgt.rest.api.core.dto.PolicyBundleDTO;
 import org.wso2.carbon.messaging.CarbonMessage;
 import org.wso2.msf4j.Request;
 
+import java.util.Collections;
+import java.util.UUID;
 import javax.ws.rs.core.Response;
 
 @RunWith(PowerMockRunner.class)
@@ -46,6 +51,8 @@ public class ExportApiServiceImplTestCase {
         PowerMockito.mockStatic(APIManagerFactory.class);
         PowerMockito.when(APIManagerFactory.getInstance()).thenReturn(instance);
         Mockito.when(instance.getAPIMgtAdminService()).thenReturn(apiMgtAdminService);
+        Mockito.when(apiMgtAdminService.getPolicyBundle(0)).thenReturn(new PolicyBundle(1, true,
+                Collections.emptyList()));
 
         ExportApiServiceImpl exportApiService = new ExportApiServiceImpl();
 
@@ -56,6 +63,28 @@ public class ExportApiServiceImplTestCase {
 
     }
 
+    @Test
+    public void exportPoliciesThrottleBundleGetTest() throws Exception {
+        APIMgtAdminServiceImpl apiMgtAdminService = Mockito.mock(APIMgtAdminServiceImpl.class);
+        APIManagerFactory instance = Mockito.mock(APIManagerFactory.class);
+        PowerMockito.mockStatic(APIManagerFactory.class);
+        PowerMockito.when(APIManagerFactory.getInstance()).thenReturn(instance);
+        Mockito.when(instance.getAPIMgtAdminService()).thenReturn(apiMgtAdminService);
+        ExecutionPlan executionPlan = new ExecutionPlan("application_10PerMin", UUID.randomUUID().toString(), null,
+                null, 12);
+        Mockito.when(apiMgtAdminService.getPolicyBundle(10)).thenReturn(new PolicyBundle(12, false,
+                Collections.singletonList(executionPlan)));
+
+        ExportApiServiceImpl exportApiService = new ExportApiServiceImpl();
+        Response response = exportApiService.exportPoliciesThrottleBundleGet(10L, null, getRequest());
+        Assert.assertEquals(response.getStatus(), Response.Status.OK.getStatusCode());
+        PolicyBundleDTO policyBundleDTO = (PolicyBundleDTO) response.getEntity();
+        Assert.assertEquals(policyBundleDTO.getVersion().longValue(), 12);
+        Assert.assertFalse(policyBundleDTO.getComplete());
+        Assert.assertEquals(policyBundleDTO.getList().size(), 1);
+        Assert.assertTrue(policyBundleDTO.getList().get(0).getDeleted());
+    }
+
     @Test
     public void exportPoliciesThrottleGetExceptionTest() throws Exception {
         LogManager.getRootLogger().setLevel(Level.INFO);
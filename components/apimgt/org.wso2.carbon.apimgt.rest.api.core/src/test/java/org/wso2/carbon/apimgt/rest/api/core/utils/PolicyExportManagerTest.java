@@ -21,6 +21,7 @@ package org.wso2.carbon.apimgt.rest.api.core.utils;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import com.google.common.io.Files;
 import org.mockito.Mockito;
@@ -32,8 +33,12 @@ import org.wso2.carbon.apimgt.core.exception.APIManagementException;
 import org.wso2.carbon.apimgt.core.models.policy.APIPolicy;
 import org.wso2.carbon.apimgt.core.models.policy.ApplicationPolicy;
 import org.wso2.carbon.apimgt.core.models.policy.CustomPolicy;
+import org.wso2.carbon.apimgt.core.models.policy.ExecutionPlan;
+import org.wso2.carbon.apimgt.core.models.policy.PolicyBundle;
 import org.wso2.carbon.apimgt.core.models.policy.SubscriptionPolicy;
+import org.wso2.carbon.apimgt.core.template.ExecutionPlanRenderer;
 import org.wso2.carbon.apimgt.core.util.APIFileUtils;
+import org.wso2.carbon.apimgt.core.util.APIUtils;
 
 /**
  * Test cases for PolicyExportManager.
@@ -67,10 +72,17 @@ public class PolicyExportManagerTest {
         applicationPolicies.add(SampleTestObjectCreator.createDefaultApplicationPolicy());
         subscriptionPolicies.add(SampleTestObjectCreator.createDefaultSubscriptionPolicy());
         customPolicies.add(SampleTestObjectCreator.createDefaultCustomPolicy());
-        Mockito.when(apiMgtAdminService.getApiPolicies()).thenReturn(apiPolicies);
-        Mockito.when(apiMgtAdminService.getApplicationPolicies()).thenReturn(applicationPolicies);
-        Mockito.when(apiMgtAdminService.getCustomRules()).thenReturn(customPolicies);
-        Mockito.when(apiMgtAdminService.getSubscriptionPolicies()).thenReturn(subscriptionPolicies);
+        List<ExecutionPlan> executionPlans = new ArrayList<>();
+        List<Map<String, String>> renderedPolicies = new ArrayList<>();
+        renderedPolicies.add(ExecutionPlanRenderer.render(apiPolicies.get(0)));
+        renderedPolicies.add(ExecutionPlanRenderer.render(applicationPolicies.get(0)));
+        renderedPolicies.add(ExecutionPlanRenderer.render(subscriptionPolicies.get(0)));
+        renderedPolicies.add(ExecutionPlanRenderer.render(customPolicies.get(0)));
+        for (Map<String, String> renderedPolicy : renderedPolicies) {
+            renderedPolicy.forEach((name, content) -> executionPlans.add(new ExecutionPlan(name, null, content,
+                    APIUtils.generateContentHash(content), 1)));
+        }
+        Mockito.when(apiMgtAdminService.getPolicyBundle(0)).thenReturn(new PolicyBundle(1, true, executionPlans));
 
         PolicyExportManager policyExportManager = new PolicyExportManager(apiMgtAdminService);
         String path = policyExportManager
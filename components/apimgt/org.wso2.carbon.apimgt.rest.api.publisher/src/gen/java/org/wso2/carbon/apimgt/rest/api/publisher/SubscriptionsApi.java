@@ -6,6 +6,7 @@ import io.swagger.annotations.ApiParam;
 import org.wso2.carbon.apimgt.rest.api.publisher.dto.ErrorDTO;
 import org.wso2.carbon.apimgt.rest.api.publisher.dto.SubscriptionDTO;
 import org.wso2.carbon.apimgt.rest.api.publisher.dto.SubscriptionListDTO;
+import org.wso2.carbon.apimgt.rest.api.publisher.dto.SubscriptionUpdateDTO;
 import org.wso2.carbon.apimgt.rest.api.publisher.factories.SubscriptionsApiServiceFactory;
 
 import org.wso2.msf4j.Microservice;
@@ -143,4 +144,25 @@ public class SubscriptionsApi implements Microservice  {
     throws NotFoundException {
         return delegate.subscriptionsUnblockSubscriptionPost(subscriptionId,ifMatch,ifUnmodifiedSince,request);
     }
+    @OPTIONS
+    @POST
+    @Path("/update-multiple")
+    @Consumes({ "application/json" })
+    @Produces({ "application/json" })
+    @io.swagger.annotations.ApiOperation(value = "Update multiple subscriptions", notes = "This operation can be used to block, unblock or change the policy of multiple subscriptions in a single request. `subscriptionStatus` and `policy` are optional, and only the ones specified are updated.  1. `BLOCKED` : Subscriptions are completely blocked for both Production and Sandbox environments. 2. `PROD_ONLY_BLOCKED` : Subscriptions are blocked for Production environment only. 3. `ACTIVE` : Subscriptions are fully unblocked. ", response = SubscriptionListDTO.class, authorizations = {
+        @io.swagger.annotations.Authorization(value = "OAuth2Security", scopes = {
+            @io.swagger.annotations.AuthorizationScope(scope = "apim:subscription_block", description = "Block Subscription")
+        })
+    }, tags={ "Subscription (Collection)", })
+    @io.swagger.annotations.ApiResponses(value = { 
+        @io.swagger.annotations.ApiResponse(code = 200, message = "OK. Subscriptions were updated successfully. ", response = SubscriptionListDTO.class),
+        
+        @io.swagger.annotations.ApiResponse(code = 400, message = "Bad Request. Invalid request or validation error ", response = SubscriptionListDTO.class),
+        
+        @io.swagger.annotations.ApiResponse(code = 404, message = "Not Found. Requested subscription does not exist. ", response = SubscriptionListDTO.class) })
+    public Response subscriptionsUpdateMultiplePost(@ApiParam(value = "Subscriptions to be updated along with the new status and policy " ,required=true) SubscriptionUpdateDTO body
+ ,@Context Request request)
+    throws NotFoundException {
+        return delegate.subscriptionsUpdateMultiplePost(body,request);
+    }
 }
@@ -10,6 +10,7 @@ import org.wso2.msf4j.Request;
 import org.wso2.carbon.apimgt.rest.api.publisher.dto.ErrorDTO;
 import org.wso2.carbon.apimgt.rest.api.publisher.dto.SubscriptionDTO;
 import org.wso2.carbon.apimgt.rest.api.publisher.dto.SubscriptionListDTO;
+import org.wso2.carbon.apimgt.rest.api.publisher.dto.SubscriptionUpdateDTO;
 
 import java.util.List;
 import org.wso2.carbon.apimgt.rest.api.publisher.NotFoundException;
@@ -38,4 +39,6 @@ public abstract class SubscriptionsApiService {
  ,String ifMatch
  ,String ifUnmodifiedSince
   ,Request request) throws NotFoundException;
+    public abstract Response subscriptionsUpdateMultiplePost(SubscriptionUpdateDTO body
+  ,Request request) throws NotFoundException;
 }
@@ -0,0 +1,161 @@
+package org.wso2.carbon.apimgt.rest.api.publisher.dto;
+
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * SubscriptionUpdateDTO
+ */
+public class SubscriptionUpdateDTO   {
+  @JsonProperty("subscriptionIds")
+  private List<String> subscriptionIds = new ArrayList<String>();
+
+  /**
+   * Gets or Sets subscriptionStatus
+   */
+  public enum SubscriptionStatusEnum {
+    BLOCKED("BLOCKED"),
+    
+    PROD_ONLY_BLOCKED("PROD_ONLY_BLOCKED"),
+    
+    ACTIVE("ACTIVE");
+
+    private String value;
+
+    SubscriptionStatusEnum(String value) {
+      this.value = value;
+    }
+
+    @Override
+    @JsonValue
+    public String toString() {
+      return String.valueOf(value);
+    }
+
+    @JsonCreator
+    public static SubscriptionStatusEnum fromValue(String text) {
+      for (SubscriptionStatusEnum b : SubscriptionStatusEnum.values()) {
+        if (String.valueOf(b.value).equals(text)) {
+          return b;
+        }
+      }
+      return null;
+    }
+  }
+
+  @JsonProperty("subscriptionStatus")
+  private SubscriptionStatusEnum subscriptionStatus = null;
+
+  @JsonProperty("policy")
+  private String policy = null;
+
+  public SubscriptionUpdateDTO subscriptionIds(List<String> subscriptionIds) {
+    this.subscriptionIds = subscriptionIds;
+    return this;
+  }
+
+  public SubscriptionUpdateDTO addSubscriptionIdsItem(String subscriptionIdsItem) {
+    this.subscriptionIds.add(subscriptionIdsItem);
+    return this;
+  }
+
+   /**
+   * Get subscriptionIds
+   * @return subscriptionIds
+  **/
+  @ApiModelProperty(required = true, value = "")
+  public List<String> getSubscriptionIds() {
+    return subscriptionIds;
+  }
+
+  public void setSubscriptionIds(List<String> subscriptionIds) {
+    this.subscriptionIds = subscriptionIds;
+  }
+
+  public SubscriptionUpdateDTO subscriptionStatus(SubscriptionStatusEnum subscriptionStatus) {
+    this.subscriptionStatus = subscriptionStatus;
+    return this;
+  }
+
+   /**
+   * Get subscriptionStatus
+   * @return subscriptionStatus
+  **/
+  @ApiModelProperty(example = "BLOCKED", value = "")
+  public SubscriptionStatusEnum getSubscriptionStatus() {
+    return subscriptionStatus;
+  }
+
+  public void setSubscriptionStatus(SubscriptionStatusEnum subscriptionStatus) {
+    this.subscriptionStatus = subscriptionStatus;
+  }
+
+  public SubscriptionUpdateDTO policy(String policy) {
+    this.policy = policy;
+    return this;
+  }
+
+   /**
+   * Get policy
+   * @return policy
+  **/
+  @ApiModelProperty(example = "Unlimited", value = "")
+  public String getPolicy() {
+    return policy;
+  }
+
+  public void setPolicy(String policy) {
+    this.policy = policy;
+  }
+
+
+  @Override
+  public boolean equals(java.lang.Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    SubscriptionUpdateDTO subscriptionUpdate = (SubscriptionUpdateDTO) o;
+    return Objects.equals(this.subscriptionIds, subscriptionUpdate.subscriptionIds) &&
+        Objects.equals(this.subscriptionStatus, subscriptionUpdate.subscriptionStatus) &&
+        Objects.equals(this.policy, subscriptionUpdate.policy);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(subscriptionIds, subscriptionStatus, policy);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class SubscriptionUpdateDTO {\n");
+    
+    sb.append("    subscriptionIds: ").append(toIndentedString(subscriptionIds)).append("\n");
+    sb.append("    subscriptionStatus: ").append(toIndentedString(subscriptionStatus)).append("\n");
+    sb.append("    policy: ").append(toIndentedString(policy)).append("\n");
+    sb.append("}");
+    return sb.toString();
+  }
+
+  /**
+   * Convert the given object to string with each line indented by 4 spaces
+   * (except the first line).
+   */
+  private String toIndentedString(java.lang.Object o) {
+    if (o == null) {
+      return "null";
+    }
+    return o.toString().replace("\n", "\n    ");
+  }
+}
+
@@ -17,10 +17,12 @@ import org.wso2.carbon.apimgt.core.impl.WSDLProcessFactory;
 import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.DocumentContent;
 import org.wso2.carbon.apimgt.core.models.DocumentInfo;
+import org.wso2.carbon.apimgt.core.models.KeysetPage;
 import org.wso2.carbon.apimgt.core.models.WSDLArchiveInfo;
 import org.wso2.carbon.apimgt.core.models.WSDLInfo;
 import org.wso2.carbon.apimgt.core.models.WorkflowStatus;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
+import org.wso2.carbon.apimgt.core.util.APIUtils;
 import org.wso2.carbon.apimgt.core.util.ETagUtils;
 import org.wso2.carbon.apimgt.core.workflow.GeneralWorkflowResponse;
 import org.wso2.carbon.apimgt.rest.api.common.RestApiConstants;
@@ -1240,10 +1242,12 @@ public class ApisApiServiceImpl extends ApisApiService {
     }
 
     /**
-     * Retrives all APIs that qualifies for the given fitering attributes
+     * Retrives all APIs that qualifies for the given fitering attributes. APIs listed without a search query are
+     * paginated by continuation tokens, and the next link of each page carries the token of the following page.
      *
      * @param limit       maximum APIs to return
      * @param offset      starting position of the pagination
+     * @param after       continuation token of the previous page
      * @param query       search query
      * @param ifNoneMatch If-None-Match header value
      * @param request     msf4j request object
@@ -1251,13 +1255,24 @@ public class ApisApiServiceImpl extends ApisApiService {
      * @throws NotFoundException When the particular resource does not exist in the system
      */
     @Override
-    public Response apisGet(Integer limit, Integer offset, String query, String ifNoneMatch, Request request)
-            throws NotFoundException {
+    public Response apisGet(Integer limit, Integer offset, String after, String query, String ifNoneMatch,
+                            Request request) throws NotFoundException {
         String username = RestApiUtil.getLoggedInUsername(request);
         APIListDTO apiListDTO = null;
+        limit = limit != null && limit > 0 ? limit : RestApiConstants.PAGINATION_LIMIT_DEFAULT;
+        offset = offset != null ? offset : RestApiConstants.PAGINATION_OFFSET_DEFAULT;
         try {
-            apiListDTO = MappingUtil
-                    .toAPIListDTO(RestAPIPublisherUtil.getApiPublisher(username).searchAPIs(limit, offset, query));
+            APIPublisher apiPublisher = RestAPIPublisherUtil.getApiPublisher(username);
+            if (StringUtils.isEmpty(query) && (after != null || offset == 0)) {
+                KeysetPage<API> apiPage = apiPublisher.getAPIs(limit, after);
+                apiListDTO = MappingUtil.toAPIListDTO(apiPage.getItems());
+                if (apiPage.hasNext()) {
+                    apiListDTO.setNext(RestApiUtil.getAPIKeysetPaginatedURL(limit,
+                            APIUtils.encodeContinuationToken(apiPage.getNextToken())));
+                }
+            } else {
+                apiListDTO = MappingUtil.toAPIListDTO(apiPublisher.searchAPIs(limit, offset, query));
+            }
             return Response.ok().entity(apiListDTO).build();
         } catch (APIManagementException e) {
             String errorMessage = "Error while retrieving APIs";
@@ -17,6 +17,7 @@ import org.wso2.carbon.apimgt.rest.api.publisher.NotFoundException;
 import org.wso2.carbon.apimgt.rest.api.publisher.SubscriptionsApiService;
 import org.wso2.carbon.apimgt.rest.api.publisher.dto.SubscriptionDTO;
 import org.wso2.carbon.apimgt.rest.api.publisher.dto.SubscriptionListDTO;
+import org.wso2.carbon.apimgt.rest.api.publisher.dto.SubscriptionUpdateDTO;
 import org.wso2.carbon.apimgt.rest.api.publisher.utils.MappingUtil;
 import org.wso2.carbon.apimgt.rest.api.publisher.utils.RestAPIPublisherUtil;
 import org.wso2.msf4j.Request;
@@ -250,4 +251,68 @@ public class SubscriptionsApiServiceImpl extends SubscriptionsApiService {
             return Response.status(e.getErrorHandler().getHttpStatusCode()).entity(errorDTO).build();
         }
     }
+
+    /**
+     * Blocks, unblocks or changes the policy of multiple subscriptions
+     *
+     * @param body    Subscriptions to be updated along with the new status and policy
+     * @param request msf4j request object
+     * @return Updated subscriptions as the payload
+     * @throws NotFoundException When the particular resource does not exist in the system
+     */
+    @Override
+    public Response subscriptionsUpdateMultiplePost(SubscriptionUpdateDTO body, Request request)
+            throws NotFoundException {
+        String username = RestApiUtil.getLoggedInUsername(request);
+        List<String> subscriptionIds = body.getSubscriptionIds();
+        try {
+            APIPublisher apiPublisher = RestAPIPublisherUtil.getApiPublisher(username);
+            for (String subscriptionId : subscriptionIds) {
+                Subscription subscription = apiPublisher.getSubscriptionByUUID(subscriptionId);
+                if (subscription == null) {
+                    String errorMessage = "Subscription not found : " + subscriptionId;
+                    APIMgtResourceNotFoundException e = new APIMgtResourceNotFoundException(errorMessage,
+                            ExceptionCodes.SUBSCRIPTION_NOT_FOUND);
+                    HashMap<String, String> paramList = new HashMap<String, String>();
+                    paramList.put(APIMgtConstants.ExceptionsConstants.SUBSCRIPTION_ID, subscriptionId);
+                    ErrorDTO errorDTO = RestApiUtil.getErrorDTO(e.getErrorHandler(), paramList);
+                    log.error(errorMessage, e);
+                    return Response.status(e.getErrorHandler().getHttpStatusCode()).entity(errorDTO).build();
+                } else if (body.getSubscriptionStatus() != null
+                        && (subscription.getStatus().equals(APIMgtConstants.SubscriptionStatus.REJECTED)
+                        || subscription.getStatus().equals(APIMgtConstants.SubscriptionStatus.ON_HOLD))) {
+                    String errorMessage = "Cannot update subcription " + subscriptionId + " from " +
+                            subscription.getStatus() + " to " + body.getSubscriptionStatus();
+                    APIMgtResourceNotFoundException e = new APIMgtResourceNotFoundException(errorMessage,
+                            ExceptionCodes.SUBSCRIPTION_STATE_INVALID);
+                    ErrorDTO errorDTO = RestApiUtil.getErrorDTO(e.getErrorHandler());
+                    log.error(errorMessage, e);
+                    return Response.status(e.getErrorHandler().getHttpStatusCode()).entity(errorDTO).build();
+                }
+            }
+            if (body.getPolicy() != null) {
+                apiPublisher.updateSubscriptionPolicies(subscriptionIds, body.getPolicy());
+            }
+            if (body.getSubscriptionStatus() != null) {
+                apiPublisher.updateSubscriptionStatuses(subscriptionIds, APIMgtConstants.SubscriptionStatus
+                        .valueOf(body.getSubscriptionStatus().toString()));
+            }
+            SubscriptionListDTO subscriptionListDTO = new SubscriptionListDTO();
+            for (String subscriptionId : subscriptionIds) {
+                subscriptionListDTO.addListItem(MappingUtil.fromSubscription(apiPublisher
+                        .getSubscriptionByUUID(subscriptionId)));
+            }
+            subscriptionListDTO.setCount(subscriptionListDTO.getList().size());
+            return Response.ok().entity(subscriptionListDTO).build();
+        } catch (GatewayException e) {
+            String errorMessage = "Failed to update subscriptions :" + subscriptionIds + " in gateway";
+            log.error(errorMessage, e);
+            return Response.status(Response.Status.ACCEPTED).build();
+        } catch (APIManagementException e) {
+            String errorMessage = "Error while updating the subscriptions " + subscriptionIds;
+            ErrorDTO errorDTO = RestApiUtil.getErrorDTO(e.getErrorHandler());
+            log.error(errorMessage, e);
+            return Response.status(e.getErrorHandler().getHttpStatusCode()).entity(errorDTO).build();
+        }
+    }
 }
@@ -40,11 +40,14 @@ import org.wso2.carbon.apimgt.core.exception.APIMgtWSDLException;
 import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
 import org.wso2.carbon.apimgt.core.impl.APIPublisherImpl;
 import org.wso2.carbon.apimgt.core.models.API;
+import org.wso2.carbon.apimgt.core.models.ContinuationToken;
 import org.wso2.carbon.apimgt.core.models.DocumentContent;
 import org.wso2.carbon.apimgt.core.models.DocumentInfo;
+import org.wso2.carbon.apimgt.core.models.KeysetPage;
 import org.wso2.carbon.apimgt.core.models.WSDLArchiveInfo;
 import org.wso2.carbon.apimgt.core.models.WSDLInfo;
 import org.wso2.carbon.apimgt.core.models.WorkflowStatus;
+import org.wso2.carbon.apimgt.core.util.APIUtils;
 import org.wso2.carbon.apimgt.core.workflow.GeneralWorkflowResponse;
 import org.wso2.carbon.apimgt.rest.api.common.exception.BadRequestException;
 import org.wso2.carbon.apimgt.rest.api.publisher.common.SampleTestObjectCreator;
@@ -71,6 +74,7 @@ import java.util.StringTokenizer;
 import java.util.UUID;
 
 import static junit.framework.TestCase.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(PowerMockRunner.class)
@@ -1257,14 +1261,40 @@ public class ApisApiServiceImplTestCase {
         PowerMockito.mockStatic(RestAPIPublisherUtil.class);
         PowerMockito.when(RestAPIPublisherUtil.getApiPublisher(USER)).
                 thenReturn(apiPublisher);
-        Mockito.doReturn(apis).doThrow(new IllegalArgumentException())
-                .when(apiPublisher).searchAPIs(10, 0, "");
-        Response response = apisApiService.apisGet(10, 0, "", null, getRequest());
+        Mockito.doReturn(new KeysetPage<>(apis, null)).doThrow(new IllegalArgumentException())
+                .when(apiPublisher).getAPIs(10, null);
+        Response response = apisApiService.apisGet(10, 0, null, "", null, getRequest());
         assertEquals(response.getStatus(), 200);
         assertTrue(response.getEntity().toString().contains("newAPI1"));
         assertTrue(response.getEntity().toString().contains("newAPI2"));
     }
 
+    @Test
+    public void testApisGetWithContinuationToken() throws Exception {
+        printTestMethodName();
+        List<API> firstPage = new ArrayList<>();
+        firstPage.add(SampleTestObjectCreator.createDefaultAPI().name("newAPI1").build());
+        List<API> secondPage = new ArrayList<>();
+        secondPage.add(SampleTestObjectCreator.createDefaultAPI().name("newAPI2").build());
+        ContinuationToken nextToken = new ContinuationToken("newAPI1", firstPage.get(0).getId());
+        String encodedToken = APIUtils.encodeContinuationToken(nextToken);
+        ApisApiServiceImpl apisApiService = new ApisApiServiceImpl();
+        APIPublisher apiPublisher = Mockito.mock(APIPublisherImpl.class);
+        PowerMockito.mockStatic(RestAPIPublisherUtil.class);
+        PowerMockito.when(RestAPIPublisherUtil.getApiPublisher(USER)).
+                thenReturn(apiPublisher);
+        Mockito.doReturn(new KeysetPage<>(firstPage, nextToken)).when(apiPublisher).getAPIs(1, null);
+        Mockito.doReturn(new KeysetPage<>(secondPage, null)).when(apiPublisher).getAPIs(1, encodedToken);
+        Response response = apisApiService.apisGet(1, 0, null, "", null, getRequest());
+        assertEquals(response.getStatus(), 200);
+        assertTrue(response.getEntity().toString().contains("newAPI1"));
+        assertTrue(response.getEntity().toString().contains("after=" + encodedToken));
+        response = apisApiService.apisGet(1, 0, encodedToken, "", null, getRequest());
+        assertEquals(response.getStatus(), 200);
+        assertTrue(response.getEntity().toString().contains("newAPI2"));
+        assertFalse(response.getEntity().toString().contains("after="));
+    }
+
 
     @Test
     public void testApisGetException() throws Exception {
@@ -1275,8 +1305,8 @@ public class ApisApiServiceImplTestCase {
         PowerMockito.when(RestAPIPublisherUtil.getApiPublisher(USER)).
                 thenReturn(apiPublisher);
         Mockito.doThrow(new APIManagementException("Error occurred", ExceptionCodes.API_TYPE_INVALID))
-                .when(apiPublisher).searchAPIs(10, 0, "");
-        Response response = apisApiService.apisGet(10, 0, "",null, getRequest());
+                .when(apiPublisher).getAPIs(10, null);
+        Response response = apisApiService.apisGet(10, 0, null, "", null, getRequest());
         assertEquals(response.getStatus(), 400);
         assertTrue(response.getEntity().toString().contains("API Type specified is invalid"));
     }
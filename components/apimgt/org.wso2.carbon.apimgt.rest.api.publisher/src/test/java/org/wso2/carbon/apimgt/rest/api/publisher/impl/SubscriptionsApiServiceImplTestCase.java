@@ -38,6 +38,7 @@ import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 import org.wso2.carbon.apimgt.rest.api.common.exception.BadRequestException;
 import org.wso2.carbon.apimgt.rest.api.common.util.RestApiUtil;
 import org.wso2.carbon.apimgt.rest.api.publisher.common.SampleTestObjectCreator;
+import org.wso2.carbon.apimgt.rest.api.publisher.dto.SubscriptionUpdateDTO;
 import org.wso2.carbon.apimgt.rest.api.publisher.utils.RestAPIPublisherUtil;
 import org.wso2.carbon.messaging.CarbonMessage;
 import org.wso2.carbon.transport.http.netty.message.HTTPCarbonMessage;
@@ -45,6 +46,7 @@ import org.wso2.msf4j.Request;
 
 import javax.ws.rs.core.Response;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
@@ -200,6 +202,56 @@ public class SubscriptionsApiServiceImplTestCase {
         assertTrue(response.getEntity().toString().contains("ACTIVE"));
     }
 
+    @Test
+    public void testSubscriptionsUpdateMultiplePost() throws Exception {
+        printTestMethodName();
+        SubscriptionsApiServiceImpl subscriptionsApiService = new SubscriptionsApiServiceImpl();
+        APIPublisher apiPublisher = Mockito.mock(APIPublisherImpl.class);
+        PowerMockito.mockStatic(RestAPIPublisherUtil.class);
+        PowerMockito.when(RestAPIPublisherUtil.getApiPublisher(USER)).
+                thenReturn(apiPublisher);
+        String subscriptionId1 = UUID.randomUUID().toString();
+        String subscriptionId2 = UUID.randomUUID().toString();
+        Subscription subscription1 = SampleTestObjectCreator.createSubscription(subscriptionId1);
+        subscription1.setStatus(APIMgtConstants.SubscriptionStatus.ACTIVE);
+        Subscription subscription2 = SampleTestObjectCreator.createSubscription(subscriptionId2);
+        subscription2.setStatus(APIMgtConstants.SubscriptionStatus.ACTIVE);
+        Mockito.doReturn(subscription1).when(apiPublisher).getSubscriptionByUUID(subscriptionId1);
+        Mockito.doReturn(subscription2).when(apiPublisher).getSubscriptionByUUID(subscriptionId2);
+        SubscriptionUpdateDTO subscriptionUpdateDTO = new SubscriptionUpdateDTO()
+                .subscriptionIds(Arrays.asList(subscriptionId1, subscriptionId2))
+                .subscriptionStatus(SubscriptionUpdateDTO.SubscriptionStatusEnum.BLOCKED);
+        Response response = subscriptionsApiService.
+                subscriptionsUpdateMultiplePost(subscriptionUpdateDTO, getRequest());
+        assertEquals(response.getStatus(), 200);
+        Mockito.verify(apiPublisher, Mockito.times(1)).updateSubscriptionStatuses(Arrays.asList(subscriptionId1,
+                subscriptionId2), APIMgtConstants.SubscriptionStatus.BLOCKED);
+        Mockito.verify(apiPublisher, Mockito.never()).updateSubscriptionPolicies(Mockito.anyList(),
+                Mockito.anyString());
+    }
+
+    @Test
+    public void testSubscriptionsUpdateMultiplePostIllegalState() throws Exception {
+        printTestMethodName();
+        SubscriptionsApiServiceImpl subscriptionsApiService = new SubscriptionsApiServiceImpl();
+        APIPublisher apiPublisher = Mockito.mock(APIPublisherImpl.class);
+        PowerMockito.mockStatic(RestAPIPublisherUtil.class);
+        PowerMockito.when(RestAPIPublisherUtil.getApiPublisher(USER)).
+                thenReturn(apiPublisher);
+        String subscriptionId = UUID.randomUUID().toString();
+        Subscription subscription = SampleTestObjectCreator.createSubscription(subscriptionId);
+        subscription.setStatus(APIMgtConstants.SubscriptionStatus.ON_HOLD);
+        Mockito.doReturn(subscription).when(apiPublisher).getSubscriptionByUUID(subscriptionId);
+        SubscriptionUpdateDTO subscriptionUpdateDTO = new SubscriptionUpdateDTO()
+                .subscriptionIds(Arrays.asList(subscriptionId))
+                .subscriptionStatus(SubscriptionUpdateDTO.SubscriptionStatusEnum.BLOCKED);
+        Response response = subscriptionsApiService.
+                subscriptionsUpdateMultiplePost(subscriptionUpdateDTO, getRequest());
+        assertEquals(response.getStatus(), 400);
+        Mockito.verify(apiPublisher, Mockito.never()).updateSubscriptionStatuses(Mockito.anyList(),
+                Mockito.any(APIMgtConstants.SubscriptionStatus.class));
+    }
+
     @Test
     public void testSubscriptionsGetException() throws Exception {
         printTestMethodName();
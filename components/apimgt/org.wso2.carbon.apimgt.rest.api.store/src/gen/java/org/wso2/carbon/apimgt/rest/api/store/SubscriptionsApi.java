@@ -16,6 +16,7 @@ import org.wso2.msf4j.formparam.FormDataParam;
 import org.osgi.service.component.annotations.Component;
 
 import java.io.InputStream;
+import java.util.List;
 import javax.ws.rs.ApplicationPath;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
@@ -46,6 +47,25 @@ import javax.ws.rs.core.Response;
 public class SubscriptionsApi implements Microservice  {
    private final SubscriptionsApiService delegate = SubscriptionsApiServiceFactory.getSubscriptionsApi();
 
+    @OPTIONS
+    @POST
+    @Path("/delete-multiple")
+    @Consumes({ "application/json" })
+    @Produces({ "application/json" })
+    @io.swagger.annotations.ApiOperation(value = "Remove subscriptions", notes = "Remove multiple subscriptions in a single request ", response = void.class, authorizations = {
+        @io.swagger.annotations.Authorization(value = "OAuth2Security", scopes = {
+            @io.swagger.annotations.AuthorizationScope(scope = "apim:subscribe", description = "Subscribe API")
+        })
+    }, tags={ "Delete", })
+    @io.swagger.annotations.ApiResponses(value = { 
+        @io.swagger.annotations.ApiResponse(code = 200, message = "OK. Resources successfully deleted. ", response = void.class),
+        
+        @io.swagger.annotations.ApiResponse(code = 404, message = "Not Found. Resource to be deleted does not exist. ", response = void.class) })
+    public Response subscriptionsDeleteMultiplePost(@ApiParam(value = "Ids of the subscriptions that should be removed " ,required=true) List<String> body
+ ,@Context Request request)
+    throws NotFoundException {
+        return delegate.subscriptionsDeleteMultiplePost(body,request);
+    }
     @OPTIONS
     @GET
     
@@ -74,6 +94,27 @@ public class SubscriptionsApi implements Microservice  {
     }
     @OPTIONS
     @POST
+    @Path("/multiple")
+    @Consumes({ "application/json" })
+    @Produces({ "application/json" })
+    @io.swagger.annotations.ApiOperation(value = "Add new subscriptions", notes = "Add new subscriptions of an application to multiple APIs in a single request. Subscriptions with the same application and policy are added together. ", response = SubscriptionListDTO.class, authorizations = {
+        @io.swagger.annotations.Authorization(value = "OAuth2Security", scopes = {
+            @io.swagger.annotations.AuthorizationScope(scope = "apim:subscribe", description = "Subscribe API")
+        })
+    }, tags={ "Create", })
+    @io.swagger.annotations.ApiResponses(value = { 
+        @io.swagger.annotations.ApiResponse(code = 200, message = "OK. Successful response with the newly created objects as entities in the body. ", response = SubscriptionListDTO.class),
+        
+        @io.swagger.annotations.ApiResponse(code = 400, message = "Bad Request. Invalid request or validation error. ", response = SubscriptionListDTO.class),
+        
+        @io.swagger.annotations.ApiResponse(code = 415, message = "Unsupported media type. The entity of the request was in a not supported format. ", response = SubscriptionListDTO.class) })
+    public Response subscriptionsMultiplePost(@ApiParam(value = "Subscription objects that should to be added " ,required=true) List<SubscriptionDTO> body
+ ,@Context Request request)
+    throws NotFoundException {
+        return delegate.subscriptionsMultiplePost(body,request);
+    }
+    @OPTIONS
+    @POST
     
     @Consumes({ "application/json" })
     @Produces({ "application/json" })
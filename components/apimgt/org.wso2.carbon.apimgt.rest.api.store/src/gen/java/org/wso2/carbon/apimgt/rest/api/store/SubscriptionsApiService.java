@@ -21,12 +21,16 @@ import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 
 public abstract class SubscriptionsApiService {
+    public abstract Response subscriptionsDeleteMultiplePost(List<String> body
+  ,Request request) throws NotFoundException;
     public abstract Response subscriptionsGet(String apiId
  ,String applicationId
  ,String apiType
  ,Integer offset
  ,Integer limit
  ,String ifNoneMatch
+  ,Request request) throws NotFoundException;
+    public abstract Response subscriptionsMultiplePost(List<SubscriptionDTO> body
   ,Request request) throws NotFoundException;
     public abstract Response subscriptionsPost(SubscriptionDTO body
   ,Request request) throws NotFoundException;
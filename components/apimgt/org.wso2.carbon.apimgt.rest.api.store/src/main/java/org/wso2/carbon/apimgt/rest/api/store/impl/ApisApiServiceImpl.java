@@ -23,9 +23,11 @@ import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.Comment;
 import org.wso2.carbon.apimgt.core.models.DocumentContent;
 import org.wso2.carbon.apimgt.core.models.DocumentInfo;
+import org.wso2.carbon.apimgt.core.models.KeysetPage;
 import org.wso2.carbon.apimgt.core.models.Rating;
 import org.wso2.carbon.apimgt.core.models.WSDLArchiveInfo;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
+import org.wso2.carbon.apimgt.core.util.APIUtils;
 import org.wso2.carbon.apimgt.core.util.ETagUtils;
 import org.wso2.carbon.apimgt.rest.api.common.RestApiConstants;
 import org.wso2.carbon.apimgt.rest.api.common.dto.ErrorDTO;
@@ -876,26 +878,39 @@ public class ApisApiServiceImpl extends ApisApiService {
     }
 
     /**
-     * Retrieves APIs qualifying under given search condition
+     * Retrieves APIs qualifying under given search condition. APIs listed without a search condition are paginated
+     * by continuation tokens, and the next link of each page carries the token of the following page.
      *
      * @param limit       maximum number of APIs returns
      * @param offset      starting index
+     * @param after       continuation token of the previous page
      * @param query       search condition
      * @param ifNoneMatch If-None-Match header value
      * @param request     msf4j request object
      * @return matched APIs for the given search condition
      */
     @Override
-    public Response apisGet(Integer limit, Integer offset, String query, String ifNoneMatch, Request request)
-            throws NotFoundException {
+    public Response apisGet(Integer limit, Integer offset, String after, String query, String ifNoneMatch,
+                            Request request) throws NotFoundException {
         List<API> apisResult = null;
         APIListDTO apiListDTO = null;
+        limit = limit != null && limit > 0 ? limit : RestApiConstants.PAGINATION_LIMIT_DEFAULT;
+        offset = offset != null ? offset : RestApiConstants.PAGINATION_OFFSET_DEFAULT;
         try {
             String username = RestApiUtil.getLoggedInUsername(request);
             APIStore apiStore = RestApiUtil.getConsumer(username);
-            apisResult = apiStore.searchAPIs(query, offset, limit);
-            // convert API
-            apiListDTO = APIMappingUtil.toAPIListDTO(apisResult);
+            if (StringUtils.isEmpty(query) && (after != null || offset == 0)) {
+                KeysetPage<API> apiPage = apiStore.getAPIs(limit, after);
+                apiListDTO = APIMappingUtil.toAPIListDTO(apiPage.getItems());
+                if (apiPage.hasNext()) {
+                    apiListDTO.setNext(RestApiUtil.getAPIKeysetPaginatedURL(limit,
+                            APIUtils.encodeContinuationToken(apiPage.getNextToken())));
+                }
+            } else {
+                apisResult = apiStore.searchAPIs(query, offset, limit);
+                // convert API
+                apiListDTO = APIMappingUtil.toAPIListDTO(apisResult);
+            }
         } catch (APIManagementException e) {
             String errorMessage = "Error while retrieving APIs ";
             HashMap<String, String> paramList = new HashMap<String, String>();
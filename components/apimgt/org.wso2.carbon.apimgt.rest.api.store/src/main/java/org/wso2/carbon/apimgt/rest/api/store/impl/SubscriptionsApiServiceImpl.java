@@ -13,6 +13,7 @@ import org.wso2.carbon.apimgt.core.exception.GatewayException;
 import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.Application;
 import org.wso2.carbon.apimgt.core.models.Subscription;
+import org.wso2.carbon.apimgt.core.models.SubscriptionRequest;
 import org.wso2.carbon.apimgt.core.models.SubscriptionResponse;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants.ApplicationStatus;
@@ -34,9 +35,12 @@ import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Implementation of Subscriptions resource
@@ -214,6 +218,93 @@ public class SubscriptionsApiServiceImpl extends SubscriptionsApiService {
                 .entity(subscriptionDTO).build();
     }
 
+    /**
+     * Adds subscriptions of applications to multiple APIs. All the applications are checked before any subscription is
+     * added, and the subscriptions are then added together, so none of them is added if one of them cannot be added.
+     *
+     * @param body    Subscriptions to be added
+     * @param request msf4j request object
+     * @return Added subscriptions as the payload
+     * @throws NotFoundException When the particular resource does not exist in the system
+     */
+    @Override
+    public Response subscriptionsMultiplePost(List<SubscriptionDTO> body, Request request) throws NotFoundException {
+        String username = RestApiUtil.getLoggedInUsername(request);
+        Set<String> applicationIds = new LinkedHashSet<>();
+        List<SubscriptionRequest> subscriptionRequests = new ArrayList<>();
+        for (SubscriptionDTO subscriptionDTO : body) {
+            applicationIds.add(subscriptionDTO.getApplicationId());
+            subscriptionRequests.add(new SubscriptionRequest(subscriptionDTO.getApiIdentifier(),
+                    subscriptionDTO.getApplicationId(), subscriptionDTO.getPolicy()));
+        }
+        SubscriptionListDTO subscriptionListDTO = new SubscriptionListDTO();
+        try {
+            APIStore apiStore = RestApiUtil.getConsumer(username);
+            for (String applicationId : applicationIds) {
+                Application application = apiStore.getApplicationByUuid(applicationId);
+                if (application == null) {
+                    String errorMessage = "Application not found";
+                    APIMgtResourceNotFoundException e = new APIMgtResourceNotFoundException(errorMessage,
+                            ExceptionCodes.APPLICATION_NOT_FOUND);
+                    Map<String, String> paramList = new HashMap<>();
+                    paramList.put(APIMgtConstants.ExceptionsConstants.APPLICATION_ID, applicationId);
+                    ErrorDTO errorDTO = RestApiUtil.getErrorDTO(e.getErrorHandler(), paramList);
+                    log.error(errorMessage, e);
+                    return Response.status(e.getErrorHandler().getHttpStatusCode()).entity(errorDTO).build();
+                } else if (!ApplicationStatus.APPLICATION_APPROVED.equals(application.getStatus())) {
+                    String errorMessage = "Application " + applicationId + " is not active";
+                    APIManagementException e = new APIManagementException(errorMessage,
+                            ExceptionCodes.APPLICATION_INACTIVE);
+                    ErrorDTO errorDTO = RestApiUtil.getErrorDTO(e.getErrorHandler());
+                    log.error(errorMessage, e);
+                    return Response.status(e.getErrorHandler().getHttpStatusCode()).entity(errorDTO).build();
+                }
+            }
+            for (SubscriptionResponse addSubResponse : apiStore.addApiSubscriptions(subscriptionRequests)) {
+                Subscription subscription = apiStore.getSubscriptionByUUID(addSubResponse.getSubscriptionUUID());
+                subscriptionListDTO.addListItem(SubscriptionMappingUtil.fromSubscriptionToDTO(subscription));
+            }
+        } catch (GatewayException e) {
+            String errorMessage = "Failed to add subscriptions to gateway";
+            log.error(errorMessage, e);
+            return Response.status(Response.Status.ACCEPTED).build();
+        } catch (APIManagementException e) {
+            String errorMessage = "Error while adding subscriptions";
+            ErrorDTO errorDTO = RestApiUtil.getErrorDTO(e.getErrorHandler());
+            log.error(errorMessage, e);
+            return Response.status(e.getErrorHandler().getHttpStatusCode()).entity(errorDTO).build();
+        }
+        subscriptionListDTO.setCount(subscriptionListDTO.getList().size());
+        return Response.ok().entity(subscriptionListDTO).build();
+    }
+
+    /**
+     * Deletes multiple subscriptions
+     *
+     * @param body    Ids of the subscriptions
+     * @param request msf4j request object
+     * @return 200 OK response if the deletion was successful
+     * @throws NotFoundException When the particular resource does not exist in the system
+     */
+    @Override
+    public Response subscriptionsDeleteMultiplePost(List<String> body, Request request) throws NotFoundException {
+        String username = RestApiUtil.getLoggedInUsername(request);
+        try {
+            APIStore apiStore = RestApiUtil.getConsumer(username);
+            apiStore.deleteAPISubscriptions(body);
+        } catch (GatewayException e) {
+            String errorMessage = "Failed to remove subscriptions :" + body + " from gateway";
+            log.error(errorMessage, e);
+            return Response.status(Response.Status.ACCEPTED).build();
+        } catch (APIManagementException e) {
+            String errorMessage = "Error while deleting subscriptions";
+            ErrorDTO errorDTO = RestApiUtil.getErrorDTO(e.getErrorHandler());
+            log.error(errorMessage, e);
+            return Response.status(e.getErrorHandler().getHttpStatusCode()).entity(errorDTO).build();
+        }
+        return Response.ok().build();
+    }
+
     /**
      * Delete a subscription
      *
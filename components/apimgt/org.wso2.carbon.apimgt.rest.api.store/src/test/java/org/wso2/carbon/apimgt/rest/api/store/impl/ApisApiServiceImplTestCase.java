@@ -42,6 +42,7 @@ import org.wso2.carbon.apimgt.core.models.Comment;
 import org.wso2.carbon.apimgt.core.models.DocumentContent;
 import org.wso2.carbon.apimgt.core.models.DocumentInfo;
 import org.wso2.carbon.apimgt.core.models.Endpoint;
+import org.wso2.carbon.apimgt.core.models.KeysetPage;
 import org.wso2.carbon.apimgt.core.models.Rating;
 import org.wso2.carbon.apimgt.core.models.WSDLArchiveInfo;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
@@ -946,9 +947,9 @@ public class ApisApiServiceImplTestCase {
         List<API> apiList = new ArrayList<>();
         apiList.add(api);
 
-        Mockito.when(apiStore.searchAPIs("", 0, 1)).thenReturn(apiList);
+        Mockito.when(apiStore.getAPIs(10, null)).thenReturn(new KeysetPage<>(apiList, null));
 
-        Response response = apisApiService.apisGet(10, 0, "", null, request);
+        Response response = apisApiService.apisGet(10, 0, null, "", null, request);
 
         Assert.assertEquals(200, response.getStatus());
     }
@@ -967,9 +968,9 @@ public class ApisApiServiceImplTestCase {
         PowerMockito.when(RestApiUtil.getLoggedInUsername(request)).thenReturn(USER);
 
         Mockito.doThrow(new APIManagementException("Error Occurred", ExceptionCodes.API_NOT_FOUND))
-                .when(apiStore).searchAPIs("", 0, 10);
+                .when(apiStore).getAPIs(10, null);
 
-        Response response = apisApiService.apisGet(10, 0, "", null, request);
+        Response response = apisApiService.apisGet(10, 0, null, "", null, request);
 
         Assert.assertEquals(404, response.getStatus());
     }
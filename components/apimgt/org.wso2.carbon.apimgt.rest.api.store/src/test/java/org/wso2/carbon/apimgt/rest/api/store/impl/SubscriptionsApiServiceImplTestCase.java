@@ -34,6 +34,8 @@ import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.Application;
 import org.wso2.carbon.apimgt.core.models.Endpoint;
 import org.wso2.carbon.apimgt.core.models.Subscription;
+import org.wso2.carbon.apimgt.core.models.SubscriptionRequest;
+import org.wso2.carbon.apimgt.core.models.SubscriptionResponse;
 import org.wso2.carbon.apimgt.core.models.WorkflowStatus;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 import org.wso2.carbon.apimgt.core.workflow.GeneralWorkflowResponse;
@@ -41,11 +43,13 @@ import org.wso2.carbon.apimgt.rest.api.common.util.RestApiUtil;
 import org.wso2.carbon.apimgt.rest.api.store.NotFoundException;
 import org.wso2.carbon.apimgt.rest.api.store.common.SampleTestObjectCreator;
 import org.wso2.carbon.apimgt.rest.api.store.dto.SubscriptionDTO;
+import org.wso2.carbon.apimgt.rest.api.store.dto.SubscriptionListDTO;
 import org.wso2.carbon.apimgt.rest.api.store.mappings.SubscriptionMappingUtil;
 import org.wso2.msf4j.Request;
 
 import javax.ws.rs.core.Response;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
@@ -149,6 +153,105 @@ public class SubscriptionsApiServiceImplTestCase {
         Assert.assertEquals(404, response.getStatus());
     }
 
+    @Test
+    public void testSubscriptionsMultiplePost() throws APIManagementException, NotFoundException {
+        TestUtil.printTestMethodName();
+        String subsID1 = UUID.randomUUID().toString();
+        String subsID2 = UUID.randomUUID().toString();
+
+        SubscriptionsApiServiceImpl subscriptionsApiService = new SubscriptionsApiServiceImpl();
+        APIStore apiStore = Mockito.mock(APIStoreImpl.class);
+
+        PowerMockito.mockStatic(RestApiUtil.class);
+        PowerMockito.when(RestApiUtil.getConsumer(USER)).thenReturn(apiStore);
+        Request request = TestUtil.getRequest();
+        PowerMockito.when(RestApiUtil.getLoggedInUsername(request)).thenReturn(USER);
+
+        Application application = SampleTestObjectCreator.createDefaultApplication();
+        application.setStatus(APIMgtConstants.ApplicationStatus.APPLICATION_APPROVED);
+        Subscription subscription1 = SampleTestObjectCreator.createSubscription(subsID1);
+        Subscription subscription2 = SampleTestObjectCreator.createSubscription(subsID2);
+        SubscriptionDTO subscriptionDTO1 = SubscriptionMappingUtil.fromSubscriptionToDTO(subscription1);
+        subscriptionDTO1.setApplicationId(application.getId());
+        SubscriptionDTO subscriptionDTO2 = SubscriptionMappingUtil.fromSubscriptionToDTO(subscription2);
+        subscriptionDTO2.setApplicationId(application.getId());
+        subscriptionDTO2.setApiIdentifier(UUID.randomUUID().toString());
+        List<SubscriptionRequest> subscriptionRequests = Arrays.asList(
+                new SubscriptionRequest(subscriptionDTO1.getApiIdentifier(), application.getId(),
+                        subscriptionDTO1.getPolicy()),
+                new SubscriptionRequest(subscriptionDTO2.getApiIdentifier(), application.getId(),
+                        subscriptionDTO2.getPolicy()));
+
+        WorkflowResponse workflowResponse = new GeneralWorkflowResponse();
+        workflowResponse.setWorkflowStatus(WorkflowStatus.APPROVED);
+        Mockito.when(apiStore.getApplicationByUuid(application.getId())).thenReturn(application);
+        Mockito.when(apiStore.addApiSubscriptions(subscriptionRequests))
+                .thenReturn(Arrays.asList(new SubscriptionResponse(subsID1, workflowResponse),
+                        new SubscriptionResponse(subsID2, workflowResponse)));
+        Mockito.when(apiStore.getSubscriptionByUUID(subsID1)).thenReturn(subscription1);
+        Mockito.when(apiStore.getSubscriptionByUUID(subsID2)).thenReturn(subscription2);
+
+        Response response = subscriptionsApiService.subscriptionsMultiplePost
+                (Arrays.asList(subscriptionDTO1, subscriptionDTO2), request);
+
+        Assert.assertEquals(200, response.getStatus());
+        Assert.assertEquals(2, ((SubscriptionListDTO) response.getEntity()).getCount().intValue());
+        Mockito.verify(apiStore, Mockito.times(1)).addApiSubscriptions(subscriptionRequests);
+    }
+
+    @Test
+    public void testSubscriptionsMultiplePostWithInactiveApplication() throws APIManagementException,
+            NotFoundException {
+        TestUtil.printTestMethodName();
+        SubscriptionsApiServiceImpl subscriptionsApiService = new SubscriptionsApiServiceImpl();
+        APIStore apiStore = Mockito.mock(APIStoreImpl.class);
+
+        PowerMockito.mockStatic(RestApiUtil.class);
+        PowerMockito.when(RestApiUtil.getConsumer(USER)).thenReturn(apiStore);
+        Request request = TestUtil.getRequest();
+        PowerMockito.when(RestApiUtil.getLoggedInUsername(request)).thenReturn(USER);
+
+        Application activeApplication = SampleTestObjectCreator.createDefaultApplication();
+        activeApplication.setStatus(APIMgtConstants.ApplicationStatus.APPLICATION_APPROVED);
+        Application inactiveApplication = SampleTestObjectCreator.createDefaultApplication();
+        inactiveApplication.setId(UUID.randomUUID().toString());
+        inactiveApplication.setStatus(APIMgtConstants.ApplicationStatus.APPLICATION_ONHOLD);
+        SubscriptionDTO subscriptionDTO1 = SubscriptionMappingUtil.fromSubscriptionToDTO(
+                SampleTestObjectCreator.createSubscription(UUID.randomUUID().toString()));
+        subscriptionDTO1.setApplicationId(activeApplication.getId());
+        SubscriptionDTO subscriptionDTO2 = SubscriptionMappingUtil.fromSubscriptionToDTO(
+                SampleTestObjectCreator.createSubscription(UUID.randomUUID().toString()));
+        subscriptionDTO2.setApplicationId(inactiveApplication.getId());
+        Mockito.when(apiStore.getApplicationByUuid(activeApplication.getId())).thenReturn(activeApplication);
+        Mockito.when(apiStore.getApplicationByUuid(inactiveApplication.getId())).thenReturn(inactiveApplication);
+
+        Response response = subscriptionsApiService.subscriptionsMultiplePost
+                (Arrays.asList(subscriptionDTO1, subscriptionDTO2), request);
+
+        // no subscription is added, not even the one of the active application
+        Assert.assertEquals(400, response.getStatus());
+        Mockito.verify(apiStore, Mockito.never()).addApiSubscriptions(Mockito.anyList());
+    }
+
+    @Test
+    public void testSubscriptionsDeleteMultiplePost() throws APIManagementException, NotFoundException {
+        TestUtil.printTestMethodName();
+        List<String> subscriptionIds = Arrays.asList(UUID.randomUUID().toString(), UUID.randomUUID().toString());
+
+        SubscriptionsApiServiceImpl subscriptionsApiService = new SubscriptionsApiServiceImpl();
+        APIStore apiStore = Mockito.mock(APIStoreImpl.class);
+
+        PowerMockito.mockStatic(RestApiUtil.class);
+        PowerMockito.when(RestApiUtil.getConsumer(USER)).thenReturn(apiStore);
+        Request request = TestUtil.getRequest();
+        PowerMockito.when(RestApiUtil.getLoggedInUsername(request)).thenReturn(USER);
+
+        Response response = subscriptionsApiService.subscriptionsDeleteMultiplePost(subscriptionIds, request);
+
+        Assert.assertEquals(200, response.getStatus());
+        Mockito.verify(apiStore, Mockito.times(1)).deleteAPISubscriptions(subscriptionIds);
+    }
+
     @Test
     public void testSubscriptionsSubscriptionIdDelete() throws APIManagementException, NotFoundException {
         TestUtil.printTestMethodName();
@@ -180,6 +180,8 @@ CREATE FULLTEXT CATALOG API_CATALOG WITH ACCENT_SENSITIVITY = OFF;
 CREATE FULLTEXT INDEX ON AM_API(NAME, VERSION, DESCRIPTION, PROVIDER, CONTEXT, CURRENT_LC_STATUS, TECHNICAL_OWNER, BUSINESS_OWNER ) KEY INDEX API_UUID ON API_CATALOG;
 
 
+CREATE INDEX AM_API_NAME_IDX ON AM_API (NAME, UUID);
+
 CREATE TABLE AM_API_ENDPOINT_MAPPING (
   [API_ID] VARCHAR(255),
   [TYPE] VARCHAR(25),
@@ -264,6 +266,8 @@ CREATE TABLE AM_APPLICATION (
   FOREIGN KEY (APPLICATION_POLICY_ID) REFERENCES AM_APPLICATION_POLICY(UUID) ON UPDATE CASCADE
 );
 
+CREATE INDEX AM_APPLICATION_OWNER_IDX ON AM_APPLICATION (CREATED_BY, NAME, UUID);
+
 CREATE TABLE AM_APP_KEY_MAPPING (
   APPLICATION_ID VARCHAR(255),
   CLIENT_ID VARCHAR(255),
@@ -339,6 +343,8 @@ CREATE TABLE AM_SUBSCRIPTION (
   PRIMARY KEY (UUID)
 );
 
+CREATE INDEX AM_SUBSCRIPTION_API_IDX ON AM_SUBSCRIPTION (API_ID, UUID);
+
 CREATE TABLE AM_API_GROUP_PERMISSION (
   API_ID VARCHAR(255) NOT NULL DEFAULT '',
   GROUP_ID VARCHAR(255) NOT NULL,
@@ -399,6 +405,23 @@ CREATE TABLE AM_EVENT_FUNCTION_MAPPING (
    PRIMARY KEY (FUNCTION_ID, EVENT),
    FOREIGN KEY (FUNCTION_ID) REFERENCES AM_LAMBDA_FUNCTION(FUNCTION_ID) ON UPDATE CASCADE ON DELETE CASCADE
 );
+CREATE TABLE AM_FUNCTION_DELIVERY (
+   DELIVERY_ID VARCHAR(255),
+   FUNCTION_NAME VARCHAR(255) NOT NULL,
+   FUNCTION_URI VARCHAR(255) NOT NULL,
+   PAYLOAD VARCHAR(max),
+   ATTEMPTS INTEGER NOT NULL,
+   NEXT_ATTEMPT_TIME BIGINT NOT NULL,
+   PRIMARY KEY (DELIVERY_ID)
+);
+CREATE TABLE AM_ANALYTICS_ROLLUP (
+   ENTITY_TYPE VARCHAR(20),
+   GRANULARITY VARCHAR(10),
+   BUCKET_TIME BIGINT,
+   CREATED_BY VARCHAR(255),
+   ENTITY_COUNT BIGINT NOT NULL,
+   PRIMARY KEY (ENTITY_TYPE, GRANULARITY, BUCKET_TIME, CREATED_BY)
+);
 CREATE TABLE AM_WORKFLOWS (
     WF_ID INTEGER IDENTITY,
     WF_REFERENCE VARCHAR(255) NOT NULL,
@@ -267,6 +267,9 @@ ALTER TABLE AM_API ADD INDEXER VARCHAR2(1)
 CREATE INDEX API_INDEX ON AM_API(INDEXER) INDEXTYPE IS CTXSYS.CONTEXT PARAMETERS('DATASTORE API_DATASTORE SYNC (ON COMMIT)')
 /
 
+CREATE INDEX AM_API_NAME_IDX ON AM_API (NAME, UUID)
+/
+
 CREATE TABLE AM_API_ENDPOINT_MAPPING (
   API_ID VARCHAR2(255),
   TYPE VARCHAR2(25),
@@ -360,6 +363,9 @@ CREATE TABLE AM_APPLICATION (
 )
 /
 
+CREATE INDEX AM_APPLICATION_OWNER_IDX ON AM_APPLICATION (CREATED_BY, NAME, UUID)
+/
+
 CREATE TABLE AM_APP_KEY_MAPPING (
   APPLICATION_ID VARCHAR2(255),
   CLIENT_ID VARCHAR2(255),
@@ -452,6 +458,9 @@ CREATE TABLE AM_SUBSCRIPTION (
 )
 /
 
+CREATE INDEX AM_SUBSCRIPTION_API_IDX ON AM_SUBSCRIPTION (API_ID, UUID)
+/
+
 CREATE TABLE AM_API_GROUP_PERMISSION (
   API_ID VARCHAR2(255) DEFAULT '' NOT NULL ,
   GROUP_ID VARCHAR2(255) NOT NULL,
@@ -533,6 +542,27 @@ CREATE TABLE AM_EVENT_FUNCTION_MAPPING (
 )
 /
 
+CREATE TABLE AM_FUNCTION_DELIVERY (
+   DELIVERY_ID VARCHAR2(255),
+   FUNCTION_NAME VARCHAR2(255) NOT NULL,
+   FUNCTION_URI VARCHAR2(255) NOT NULL,
+   PAYLOAD CLOB,
+   ATTEMPTS NUMBER(10,0) NOT NULL,
+   NEXT_ATTEMPT_TIME NUMBER(19,0) NOT NULL,
+   PRIMARY KEY (DELIVERY_ID)
+)
+/
+
+CREATE TABLE AM_ANALYTICS_ROLLUP (
+   ENTITY_TYPE VARCHAR2(20),
+   GRANULARITY VARCHAR2(10),
+   BUCKET_TIME NUMBER(19,0),
+   CREATED_BY VARCHAR2(255),
+   ENTITY_COUNT NUMBER(19,0) NOT NULL,
+   PRIMARY KEY (ENTITY_TYPE, GRANULARITY, BUCKET_TIME, CREATED_BY)
+)
+/
+
 CREATE TABLE AM_WORKFLOWS (
     WF_ID NUMBER(10),
     WF_REFERENCE VARCHAR2(255) NOT NULL,
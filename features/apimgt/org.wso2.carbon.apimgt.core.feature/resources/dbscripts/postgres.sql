@@ -193,6 +193,8 @@ CREATE INDEX API_SEARCH_INDEX ON AM_API USING GIN (textsearchable_index_col);
 
 CREATE TRIGGER tsvectorupdate BEFORE INSERT OR UPDATE ON AM_API FOR EACH ROW EXECUTE PROCEDURE tsvector_update_trigger(textsearchable_index_col, 'pg_catalog.english', NAME, CONTEXT, PROVIDER, VERSION, DESCRIPTION, TECHNICAL_OWNER, BUSINESS_OWNER, CURRENT_LC_STATUS);
 
+CREATE INDEX AM_API_NAME_IDX ON AM_API (NAME, UUID);
+
 CREATE TABLE AM_API_ENDPOINT_MAPPING (
   API_ID VARCHAR(255),
   TYPE VARCHAR(25),
@@ -276,6 +278,8 @@ CREATE TABLE AM_APPLICATION (
   FOREIGN KEY (APPLICATION_POLICY_ID) REFERENCES AM_APPLICATION_POLICY(UUID) ON UPDATE CASCADE
 );
 
+CREATE INDEX AM_APPLICATION_OWNER_IDX ON AM_APPLICATION (CREATED_BY, NAME, UUID);
+
 CREATE TABLE AM_APP_KEY_MAPPING (
   APPLICATION_ID VARCHAR(255),
   CLIENT_ID VARCHAR(255),
@@ -352,6 +356,8 @@ CREATE TABLE IF NOT EXISTS AM_SUBSCRIPTION (
   PRIMARY KEY (UUID)
 );
 
+CREATE INDEX AM_SUBSCRIPTION_API_IDX ON AM_SUBSCRIPTION (API_ID, UUID);
+
 CREATE TABLE AM_API_GROUP_PERMISSION (
   API_ID VARCHAR(255) NOT NULL DEFAULT '',
   GROUP_ID VARCHAR(255) NOT NULL,
@@ -415,6 +421,25 @@ CREATE TABLE IF NOT EXISTS AM_EVENT_FUNCTION_MAPPING (
    FOREIGN KEY (FUNCTION_ID) REFERENCES AM_LAMBDA_FUNCTION(FUNCTION_ID) ON UPDATE CASCADE ON DELETE CASCADE
 );
 
+CREATE TABLE IF NOT EXISTS AM_FUNCTION_DELIVERY (
+   DELIVERY_ID VARCHAR(255),
+   FUNCTION_NAME VARCHAR(255) NOT NULL,
+   FUNCTION_URI VARCHAR(255) NOT NULL,
+   PAYLOAD TEXT,
+   ATTEMPTS INTEGER NOT NULL,
+   NEXT_ATTEMPT_TIME BIGINT NOT NULL,
+   PRIMARY KEY (DELIVERY_ID)
+);
+
+CREATE TABLE IF NOT EXISTS AM_ANALYTICS_ROLLUP (
+   ENTITY_TYPE VARCHAR(20),
+   GRANULARITY VARCHAR(10),
+   BUCKET_TIME BIGINT,
+   CREATED_BY VARCHAR(255),
+   ENTITY_COUNT BIGINT NOT NULL,
+   PRIMARY KEY (ENTITY_TYPE, GRANULARITY, BUCKET_TIME, CREATED_BY)
+);
+
 CREATE SEQUENCE AM_WORKFLOWS_seq;
 
 CREATE TABLE IF NOT EXISTS AM_WORKFLOWS (
@@ -60,6 +60,7 @@ const string BLOCKING_CONDITIONS_IP = "IP";
 const string KEY_TEMPLATE_KEY = "keyTemplateValue";
 const string KEY_TEMPLATE_KEY_STATE = "keyTemplateState";
 const string UNLIMITED_TIER = "Unlimited";
+const int OK = 200;
 const int NOT_FOUND = 404;
 
 const string STOP_ON_QUOTA_REACH = "STOP_ON_QUOTA_REACH";
@@ -77,6 +78,7 @@ const string ENDPOINT_CACHE = "ENDPOINT_CACHE";
 
 const string GOOGLE_ANALYTICS_HTTP_ENDPOINT = "http://www.google-analytics.com/collect";
 const string GOOGLE_ANALYTICS_HTTPS_ENDPOINT = "https://ssl.google-analytics.com/collect";
+const string GOOGLE_ANALYTICS_BATCH_ENDPOINT = "http://www.google-analytics.com/batch";
 const string GOOGLE_ANALYTICS_VERSION = "1";
 const string ANONYMOUS_USER_ID = "anonymous";
 const string GOOGLE_ANALYTICS_HIT_TYPE_PAGEVIEW = "pageView";
@@ -5,6 +5,8 @@ import ballerina.net.http;
 struct EndpointDto{
     string name;
     http:ClientConnector clientConnector;
+    http:ClientConnector[] clientConnectors;
+    string authorizationHeader = "";
     boolean securityEnable = false;
     Endpoint_Security security;
     string type;
@@ -27,6 +27,8 @@ struct AnalyticsInfoDTO {
     string serverURL;
     string authServerURL;
     CredentialsDTO credentials;
+    boolean aggregationEnabled;
+    int aggregationFlushInterval;
 }
 
 struct ThrottlingInfoDTO {
@@ -51,7 +51,9 @@ function getAnalyticsConfigMap () (map) {
                         "authURLSet": dto.authServerURL,
                         "username": dto.credentials.username,
                         "password": dto.credentials.password,
-                        "configPath":"bre/conf/data.agent.config.yaml"
+                        "configPath":"bre/conf/data.agent.config.yaml",
+                        "aggregationEnabled": dto.aggregationEnabled,
+                        "aggregationFlushInterval": dto.aggregationFlushInterval
                         };
     return propertiesMap;
 }
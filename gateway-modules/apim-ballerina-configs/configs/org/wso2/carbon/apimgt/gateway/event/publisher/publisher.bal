@@ -8,7 +8,12 @@ import org.wso2.carbon.apimgt.ballerina.publisher;
 function publishRequestEvent (dto:EventHolderDTO event) {
     json payload = util:getRequestEventPayload(event);
     publisher:EventConnector das = holder:getAnalyticsPublisher();
-    publisher:EventConnector.publish(das, payload);
+    dto:AnalyticsInfoDTO analyticsConf = holder:getAnalyticsConf();
+    if (analyticsConf.aggregationEnabled) {
+        publisher:EventConnector.aggregate(das, payload);
+    } else {
+        publisher:EventConnector.publish(das, payload);
+    }
 }
 
 function publishThrottleAnalyticsEvent (dto:ThrottleEventAnalyticsHolderDTO event) {
@@ -2,6 +2,7 @@ package org.wso2.carbon.apimgt.gateway.ganalytics;
 import ballerina.lang.system;
 import ballerina.lang.messages;
 import ballerina.net.http;
+import org.wso2.carbon.apimgt.ballerina.ganalytics as gadispatcher;
 import org.wso2.carbon.apimgt.gateway.dto;
 import org.wso2.carbon.apimgt.ballerina.util;
 import org.wso2.carbon.apimgt.gateway.holders as holder;
@@ -9,7 +10,6 @@ import org.wso2.carbon.apimgt.gateway.constants;
 import ballerina.lang.errors;
 import ballerina.lang.strings;
 import ballerina.net.uri;
-import ballerina.utils;
 
 errors:TypeCastError err;
 dto:GAnalyticsTrackingInfoDTO gAnalyticsInfo;
@@ -25,28 +25,25 @@ function requestInterceptor (message m) (boolean, message) {
     return true, m;
 }
 
-function publishHit (message m) (boolean, message){
-    message request = {};
-    message response = {};
-    http:ClientConnector client = create http:ClientConnector(constants:GOOGLE_ANALYTICS_HTTP_ENDPOINT);
-    string query = buildPayload(m);
-    response = http:ClientConnector.get (client, query, request);
-    return true, response;
+function publishHit (message m) (boolean) {
+    // The hit is queued and sent in a batch by a background thread, so that the API call does not wait for it
+    string user = getUser(m);
+    string payload = buildPayload(m);
+    return gadispatcher:dispatchHit(constants:GOOGLE_ANALYTICS_BATCH_ENDPOINT, user, payload);
 }
 
-function buildPayload (message m) (string){
-    string user;
-    string userIP;
-    errors:Error error = null;
+function getUser (message m) (string) {
     dto:KeyValidationDto keyValidationDto;
     keyValidationDto, err = (dto:KeyValidationDto)util:getProperty(m, "KEY_VALIDATION_INFO");
-    string trackingID = (string)gAnalyticsInfo.trackingID;
     if (keyValidationDto.username != "") {
-        user = keyValidationDto.username;
-    } else {
-        user = constants:ANONYMOUS_USER_ID;
+        return keyValidationDto.username;
     }
-    string clientID = utils:getHash(user, "MD5");
+    return constants:ANONYMOUS_USER_ID;
+}
+
+function buildPayload (message m) (string){
+    string userIP;
+    string trackingID = (string)gAnalyticsInfo.trackingID;
     string sessionControl = "end";
     string hitType = constants:GOOGLE_ANALYTICS_HIT_TYPE_PAGEVIEW;
     string host = messages:getHeader(m, constants:HTTP_HOST_HEADER);
@@ -65,19 +62,16 @@ function buildPayload (message m) (string){
     }
     string documentPath = messages:getProperty(m, constants:BASE_PATH);
     string documentTitle = strings:toUpperCase(http:getMethod(m));
-    string cacheBuster = utils:getRandomString(); //Generate random UUID as cache buster
-
 
-    string payload = "?v=" + constants:GOOGLE_ANALYTICS_VERSION
+    // The client id is added by the dispatcher, which caches the hashed user
+    string payload = "v=" + constants:GOOGLE_ANALYTICS_VERSION
                      + "&tid=" + trackingID
-                     + "&cid=" + clientID
                      + "&sc=" + sessionControl
                      + "&uip=" + userIP
                      + "&t=" + constants:GOOGLE_ANALYTICS_HIT_TYPE_PAGEVIEW
                      + "&dh=" + documentHostName
                      + "&dp=" + uri:encode(documentPath)
-                     + "&dt=" + documentTitle
-                     + "&z=" + cacheBuster;
+                     + "&dt=" + documentTitle;
     return payload;
 }
 
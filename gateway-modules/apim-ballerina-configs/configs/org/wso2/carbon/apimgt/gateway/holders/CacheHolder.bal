@@ -3,6 +3,7 @@ import org.wso2.carbon.apimgt.gateway.dto as dto;
 import org.wso2.carbon.apimgt.gateway.constants;
 import org.wso2.carbon.apimgt.ballerina.caching;
 import org.wso2.carbon.apimgt.ballerina.maps as apimgtMaps;
+import org.wso2.carbon.apimgt.ballerina.endpoint as endpoints;
 import ballerina.lang.system;
 import ballerina.lang.maps;
 import ballerina.lang.errors;
@@ -214,6 +215,11 @@ function putIntoEndpointCache (dto:EndpointDto endpointDto) {
 function removeFromEndpointCache (string endpointId) {
     caching:removeCacheEntry(constants:ENDPOINT_CACHE, endpointId);
 }
+function unregisterEndpoint (string endpointName) {
+    //Endpoints are cached and registered by name
+    removeFromEndpointCache(endpointName);
+    endpoints:unregister(endpointName);
+}
 function getFromEndpointCache (string endpointId) (dto:EndpointDto) {
     any endpoint = caching:getCacheEntry(constants:ENDPOINT_CACHE, endpointId);
     if (endpoint != null) {
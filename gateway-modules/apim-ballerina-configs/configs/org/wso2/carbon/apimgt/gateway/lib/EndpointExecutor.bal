@@ -2,22 +2,47 @@ package org.wso2.carbon.apimgt.gateway.lib;
 
 import org.wso2.carbon.apimgt.gateway.dto;
 import org.wso2.carbon.apimgt.gateway.holders;
+import org.wso2.carbon.apimgt.gateway.utils as gatewayUtil;
 import ballerina.net.http;
-import ballerina.utils;
+import ballerina.lang.errors;
 import ballerina.lang.messages;
+import ballerina.lang.system;
 import org.wso2.carbon.apimgt.gateway.constants;
+import org.wso2.carbon.apimgt.ballerina.endpoint as endpoints;
 
 function execute_endpoint (string endpointName, string httpVerb, string path, message m) (message) {
     dto:EndpointDto endpoint = holders:getFromEndpointCache(endpointName);
     message response;
     if (endpoint != null) {
-        if (endpoint.securityEnable) {
-            dto:Endpoint_Security endpointSecurity = endpoint.security;
-            if (endpointSecurity.type == "basic") {
-                messages:setHeader(m, constants:AUTHORIZATION, "Basic " + utils:base64encode(endpointSecurity.username + ":" + endpointSecurity.password));
+        if (endpoint.authorizationHeader != "") {
+            messages:setHeader(m, constants:AUTHORIZATION, endpoint.authorizationHeader);
+        }
+        //Fail over to the next URL selected by the load balancer only when a URL cannot be reached
+        int attempts = 0;
+        while (attempts < lengthof endpoint.clientConnectors) {
+            int index = endpoints:select(endpoint.name);
+            if (index < 0) {
+                break;
+            }
+            //The payload of a message is consumed when it is sent, hence each attempt sends its own copy
+            message request = m;
+            if (lengthof endpoint.clientConnectors > 1) {
+                request = messages:clone(m);
+            }
+            int startTime = system:currentTimeMillis();
+            try {
+                response = http:ClientConnector.execute(endpoint.clientConnectors[index], httpVerb, path, request);
+                endpoints:report(endpoint.name, index, http:getStatusCode(response) < 500,
+                                 system:currentTimeMillis() - startTime);
+                return response;
+            } catch (errors:Error e) {
+                system:println("Error occurred while invoking endpoint " + endpoint.name + " : " + e.msg);
+                endpoints:report(endpoint.name, index, false, system:currentTimeMillis() - startTime);
             }
+            attempts = attempts + 1;
         }
-        response = http:ClientConnector.execute(endpoint.clientConnector, httpVerb, path, m);
+        response = {};
+        gatewayUtil:constructEndpointUnavailable(response);
     }
     return response;
-}
\ No newline at end of file
+}
@@ -76,8 +76,7 @@ service<jms> apimPublisherEventListner {
                         }
                     }            //Update API service
                     gatewayUtil:deployService(api, apiConfig);
-                    //Update API cache
-                    holder:removeFromAPICache(api);
+                    //Update API cache, replacing the entry in place so that it is never missing
                     holder:putIntoAPICache(api);
                 } else {
                     system:println("Invalid json received");
@@ -124,9 +123,9 @@ service<jms> apimPublisherEventListner {
             } else if (strings:equalsIgnoreCase(eventType, Constants:ENDPOINT_DELETE)) {
                 json endpoint = event.endpoint;
                 if (endpoint != null) {
-                    string endpointId;
-                    endpointId, err = (string)endpoint.id;
-                    holder:removeFromEndpointCache(endpointId);
+                    string endpointName;
+                    endpointName, err = (string)endpoint.name;
+                    holder:unregisterEndpoint(endpointName);
                 } else {
                     system:println("Invalid json received");
                 }
@@ -11,6 +11,8 @@ import org.wso2.carbon.apimgt.ballerina.deployment;
 import org.wso2.carbon.apimgt.ballerina.util as apimgtUtil;
 import ballerina.lang.strings;
 import org.wso2.carbon.apimgt.ballerina.util;
+import org.wso2.carbon.apimgt.ballerina.endpoint as endpoints;
+import ballerina.utils;
 function registerGateway () (json) {
 
     json labelInfoPayload = {};
@@ -42,6 +44,8 @@ function loadAPIs () {
     int count;
     count, err = (int)apis.count;
     json apiList = apis.list;
+    json services = [];
+    int serviceCount = 0;
 
     while (index < count) {
 
@@ -61,13 +65,21 @@ function loadAPIs () {
                 break;
             }
         }
-        //todo : tobe implement
-        // deployService(api, apiConfig);
+        //Only a successful response holds the service source, error bodies are not deployed
+        if (status == Constants:OK) {
+            services[serviceCount] = getServiceDeployment(api, apiConfig);
+            serviceCount = serviceCount + 1;
+        } else {
+            system:println("Service configuration of API " + api.id + " could not be retrieved, it is not deployed");
+        }
         //Update API cache
         holder:putIntoAPICache(api);
         retrieveResources(api.context, api.version);
         index = index + 1;
     }
+    //All services are deployed with a single load of the package, skipping those already deployed
+    int deployedCount = deployment:deployServices(services, "org/wso2/carbon/apimgt/gateway");
+    system:println("Deployed " + deployedCount + " of " + serviceCount + " API services");
 }
 
 function getAPIs () (json) {
@@ -197,18 +209,46 @@ function fromJsonToEndpointDto (json endpointConfig) (dto:EndpointDto) {
     string serviceUrlValue;
     endpointConfigValue, err = (string )endpointConfig["endpointConfig"];
     json config = util:parse(endpointConfigValue);
-
-    serviceUrlValue, err = (string )config["serviceUrl"];
-    endpointDto.clientConnector = create http:ClientConnector(serviceUrlValue);
     endpointDto.name, err = (string)endpointConfig.name;
+
+    //An endpoint either has a single serviceUrl or a list of serviceUrls which requests are load balanced among
+    json serviceUrls = config["serviceUrls"];
+    if (serviceUrls == null) {
+        serviceUrlValue, err = (string )config["serviceUrl"];
+        serviceUrls = [serviceUrlValue];
+    }
+    http:ClientConnector[] clientConnectors = [];
+    int index = 0;
+    while (index < lengthof serviceUrls) {
+        serviceUrlValue, err = (string )serviceUrls[index];
+        clientConnectors[index] = create http:ClientConnector(serviceUrlValue);
+        index = index + 1;
+    }
+    endpointDto.clientConnectors = clientConnectors;
+    endpointDto.clientConnector = clientConnectors[0];
+    json loadBalanceConfig = config["loadBalance"];
+    if (loadBalanceConfig == null) {
+        loadBalanceConfig = {};
+    }
+    loadBalanceConfig.urls = serviceUrls;
+    endpoints:register(endpointDto.name, loadBalanceConfig);
+
     securityConfigValue, err = (string )endpointConfig["security"];
     json security = util:parse(securityConfigValue);
     endpointDto.securityEnable, err = (boolean )security.enabled;
     if (endpointDto.securityEnable) {
         dto:Endpoint_Security endpointSecurity = {};
+        endpointSecurity.type, err = (string)security.type;
+        if (endpointSecurity.type == "") {
+            endpointSecurity.type = "basic";
+        }
         endpointSecurity.username, err = (string)security.username;
         endpointSecurity.password, err = (string)security.password;
         endpointDto.security = endpointSecurity;
+        //The header is computed once here rather than for every request sent to the endpoint
+        if (endpointSecurity.type == "basic") {
+            endpointDto.authorizationHeader = "Basic " + utils:base64encode(endpointSecurity.username + ":" + endpointSecurity.password);
+        }
     }
     return endpointDto;
 }
@@ -226,8 +266,14 @@ function getAPICoreURL () (string) {
 
 function deployService (dto:APIDTO api, string config) {
     string fileName = api.id + ".bal";
-    string serviceName = api.name + "_" + strings:replace(api.id, "-", "_");
-    deployment:deployService(fileName, serviceName, config, "org/wso2/carbon/apimgt/gateway");
+    deployment:deployService(fileName, getServiceName(api), config, "org/wso2/carbon/apimgt/gateway");
+}
+function getServiceDeployment (dto:APIDTO api, string config) (json) {
+    json service = {"fileName":api.id + ".bal", "serviceName":getServiceName(api), "config":config};
+    return service;
+}
+function getServiceName (dto:APIDTO api) (string) {
+    return api.name + "_" + strings:replace(api.id, "-", "_");
 }
 function deployFile (string id, string config) {
     string fileName = id + ".bal";
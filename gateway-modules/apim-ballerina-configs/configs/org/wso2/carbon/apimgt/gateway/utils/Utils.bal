@@ -40,6 +40,13 @@ function constructAPIIsInMaintenance (message response) {
     messages:setJsonPayload(response, payload);
 }
 
+function constructEndpointUnavailable (message response) {
+    messages:setHeader(response, "Content-Type", "application/json");
+    http:setStatusCode(response, 503);
+    json payload = {"code":101503, "message":"Error connecting to the back end"};
+    messages:setJsonPayload(response, payload);
+}
+
 function constructIncorrectAuthorization (message response) {
     json payload = {"code":900902, "message":"Incorrect authorization details found"};
     messages:setJsonPayload(response, payload);
@@ -242,6 +249,8 @@ function fromJsonToGatewayConfDTO (json conf) (dto:GatewayConfDTO) {
     analyticsServerCredentialsDTO.username, err = (string)analyticsServerCredentials.username;
     analyticsServerCredentialsDTO.password, err = (string)analyticsServerCredentials.password;
     analyticsInfoDTO.credentials = analyticsServerCredentialsDTO;
+    analyticsInfoDTO.aggregationEnabled, err = (boolean)analyticsInfo.aggregationEnabled;
+    analyticsInfoDTO.aggregationFlushInterval, err = (int)analyticsInfo.aggregationFlushInterval;
     gatewayConf.analyticsInfo = analyticsInfoDTO;
 
     //Extract Throttling Server information and populate ThrottlingInfoDTO to be cached
@@ -7,10 +7,16 @@ import ballerina.doc;
 @doc:Param { value:"serviceName: name of service" }
 @doc:Param { value:"config: ballerina source" }
 @doc:Param { value:"path: ballerina package" }
-@doc:Return { value:"string: status" }
+@doc:Return { value:"string: deployed, or unchanged if the same source is already deployed" }
 
 native function deployService (string fileName, string serviceName, string config, string path) (string);
 
+@doc:Description { value:"deployment of many services with a single load of their package"}
+@doc:Param { value:"services: array of services, each with a fileName, serviceName and config" }
+@doc:Param { value:"path: ballerina package" }
+@doc:Return { value:"int: number of services deployed" }
+native function deployServices (json services, string path) (int);
+
 @doc:Description { value:"file create"}
 @doc:Param { value:"fileName: path to the service file" }
 @doc:Param { value:"config: ballerina source" }
@@ -0,0 +1,29 @@
+package org.wso2.carbon.apimgt.ballerina.endpoint;
+
+import ballerina.doc;
+
+@doc:Description { value:"Register the URLs of an endpoint for load balancing, circuit breaking and health checks"}
+@doc:Param { value:"name: Name of the endpoint" }
+@doc:Param { value:"config: URLs of the endpoint along with its algorithm, failureThreshold, circuitOpenDuration, maxOutstanding, healthCheckPath, healthCheckInterval and healthCheckTimeout" }
+native function register (string name, json config);
+
+@doc:Description { value:"Remove an endpoint and stop its health checks"}
+@doc:Param { value:"name: Name of the endpoint" }
+native function unregister (string name);
+
+@doc:Description { value:"Select the URL of an endpoint to send a request to"}
+@doc:Param { value:"name: Name of the endpoint" }
+@doc:Return { value:"int: Index of the selected URL, or -1 if no URL is available" }
+native function select (string name) (int);
+
+@doc:Description { value:"Report the outcome of a request sent to a URL selected with select"}
+@doc:Param { value:"name: Name of the endpoint" }
+@doc:Param { value:"index: Index of the URL the request was sent to" }
+@doc:Param { value:"success: Whether the request succeeded" }
+@doc:Param { value:"latency: Time taken by the request in milliseconds" }
+native function report (string name, int index, boolean success, int latency);
+
+@doc:Description { value:"Get the request, error and latency metrics of the URLs of an endpoint"}
+@doc:Param { value:"name: Name of the endpoint" }
+@doc:Return { value:"json: Metrics of each URL of the endpoint" }
+native function getMetrics (string name) (json);
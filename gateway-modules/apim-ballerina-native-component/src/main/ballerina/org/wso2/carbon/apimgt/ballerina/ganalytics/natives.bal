@@ -0,0 +1,10 @@
+package org.wso2.carbon.apimgt.ballerina.ganalytics;
+
+import ballerina.doc;
+
+@doc:Description { value:"Queue a Google Analytics hit, which is sent asynchronously in a batch"}
+@doc:Param { value:"endpoint: Measurement Protocol batch endpoint" }
+@doc:Param { value:"user: User from which the client id of the hit is derived" }
+@doc:Param { value:"payload: URL encoded payload of the hit without the client id" }
+@doc:Return { value:"boolean: true if the hit was queued, false if it was dropped" }
+native function dispatchHit (string endpoint, string user, string payload) (boolean);
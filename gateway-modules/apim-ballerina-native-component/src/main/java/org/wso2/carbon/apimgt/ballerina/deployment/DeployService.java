@@ -17,10 +17,9 @@
  */
 package org.wso2.carbon.apimgt.ballerina.deployment;
 
-import org.ballerinalang.BLangProgramLoader;
 import org.ballerinalang.bre.Context;
-import org.ballerinalang.bre.bvm.BLangVMErrors;
 import org.ballerinalang.model.types.TypeEnum;
+import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.natives.AbstractNativeFunction;
 import org.ballerinalang.natives.annotations.Argument;
@@ -28,24 +27,11 @@ import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
-import org.ballerinalang.services.dispatchers.DispatcherRegistry;
-import org.ballerinalang.util.codegen.PackageInfo;
-import org.ballerinalang.util.codegen.ProgramFile;
-import org.ballerinalang.util.codegen.ServiceInfo;
-import org.ballerinalang.util.exceptions.BLangRuntimeException;
-import org.ballerinalang.util.exceptions.BallerinaException;
-import org.ballerinalang.util.program.BLangFunctions;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.wso2.carbon.apimgt.ballerina.util.Util;
-
-import java.io.File;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 
 /**
  * Native function org.wso2.carbon.apimgt.ballerina.deployment.ServiceDeploy.{@link DeployService}
- * This function will create ballerina file in the FS.
+ * This function will create ballerina file in the FS and deploy the service in it, unless the same source is already
+ * deployed.
  *
  * @since 0.10-SNAPSHOT
  */
@@ -70,12 +56,9 @@ import java.nio.file.Paths;
 @BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "path",
         value = "ballerina package")})
 @BallerinaAnnotation(annotationName = "Return", attributes = {@Attribute(name = "string",
-        value = "status of the deployment")})
+        value = "deployed, or unchanged if the same source is already deployed")})
 public class DeployService extends AbstractNativeFunction {
 
-    private static final Logger log = LoggerFactory.getLogger(DeployService.class);
-    private static Path programDirPath = Paths.get(System.getProperty("user.dir"));
-
     @Override
     public BValue[] execute(Context context) {
         String fileName = getStringArgument(context, 0);
@@ -83,44 +66,8 @@ public class DeployService extends AbstractNativeFunction {
         String config = getStringArgument(context, 2);
         String packageName = getStringArgument(context, 3);
 
-        Path path = Paths.get(packageName);
-        String filePath = path.toAbsolutePath() + File.separator + fileName;
-        if (Util.saveFile(filePath, config)) {
-            ProgramFile programFile = new BLangProgramLoader().loadServiceProgramFile(programDirPath, path);
-            String[] servicePackageNameList = programFile.getServicePackageNameList();
-            if (servicePackageNameList.length == 0) {
-                throw new BallerinaException("no service found in '" + programFile.getProgramFilePath() + "'");
-            }
-
-            // This is required to invoke package/service init functions;
-            Context bContext = new Context(programFile);
-//            bContext.initFunction = true;
-            PackageInfo packageInfo = programFile.getPackageInfo(packageName.replace("/", "."));
-
-            // Invoke package init function
-            BLangFunctions.invokeFunction(programFile, packageInfo, packageInfo.getInitFunctionInfo(), bContext);
-            if (bContext.getError() != null) {
-                String stackTraceStr = BLangVMErrors.getPrintableStackTrace(bContext.getError());
-                throw new BLangRuntimeException("error: " + stackTraceStr);
-            }
-
-            for (ServiceInfo serviceInfo : packageInfo.getServiceInfoList()) {
-                // Invoke service init function
-                if (serviceName.equals(serviceInfo.getName())) {
-                    BLangFunctions.invokeFunction(programFile, packageInfo,
-                            serviceInfo.getInitFunctionInfo(), bContext);
-                    if (bContext.getError() != null) {
-                        String stackTraceStr = BLangVMErrors.getPrintableStackTrace(bContext.getError());
-                        throw new BLangRuntimeException("error: " + stackTraceStr);
-                    }
-
-                    // Deploy service
-                    DispatcherRegistry.getInstance().getServiceDispatchers().forEach((protocol, dispatcher) ->
-                            dispatcher.serviceRegistered(serviceInfo));
-                }
-            }
-        }
-        return new BValue[0];
+        String status = ServiceDeployer.getInstance().deploy(new ServiceDeployer.ServiceSource(fileName, serviceName,
+                config), packageName);
+        return getBValues(new BString(status));
     }
 }
-
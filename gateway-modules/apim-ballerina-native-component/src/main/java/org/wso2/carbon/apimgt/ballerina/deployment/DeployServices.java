@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.ballerina.deployment;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeEnum;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.Attribute;
+import org.ballerinalang.natives.annotations.BallerinaAnnotation;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.ReturnType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Native function org.wso2.carbon.apimgt.ballerina.deployment.DeployServices.{@link DeployServices}
+ * This function will create the ballerina files of many services in the FS and deploy them with a single load of
+ * their package, skipping the services whose source is already deployed.
+ *
+ * @since 0.10-SNAPSHOT
+ */
+@BallerinaFunction(
+        packageName = "org.wso2.carbon.apimgt.ballerina.deployment",
+        functionName = "deployServices",
+        args = {@Argument(name = "services", type = TypeEnum.JSON),
+                @Argument(name = "path", type = TypeEnum.STRING)},
+        returnType = {@ReturnType(type = TypeEnum.INT)},
+        isPublic = true
+)
+@BallerinaAnnotation(annotationName = "Description", attributes = {@Attribute(name = "value",
+        value = " deployment of services")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "services",
+        value = "array of services, each with a fileName, serviceName and config")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "path",
+        value = "ballerina package")})
+@BallerinaAnnotation(annotationName = "Return", attributes = {@Attribute(name = "int",
+        value = "number of services deployed")})
+public class DeployServices extends AbstractNativeFunction {
+
+    @Override
+    public BValue[] execute(Context context) {
+        BJSON services = (BJSON) getRefArgument(context, 0);
+        String packageName = getStringArgument(context, 0);
+
+        List<ServiceDeployer.ServiceSource> sources = new ArrayList<>();
+        for (JsonNode service : services.value()) {
+            sources.add(new ServiceDeployer.ServiceSource(service.path("fileName").asText(),
+                    service.path("serviceName").asText(), service.path("config").asText()));
+        }
+        int deployedCount = ServiceDeployer.getInstance().deploy(sources, packageName);
+        return getBValues(new BInteger(deployedCount));
+    }
+}
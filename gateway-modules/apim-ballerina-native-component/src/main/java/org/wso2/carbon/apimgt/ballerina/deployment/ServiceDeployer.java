@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.ballerina.deployment;
+
+import org.ballerinalang.BLangProgramLoader;
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.BLangVMErrors;
+import org.ballerinalang.services.dispatchers.DispatcherRegistry;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.ballerinalang.util.codegen.ProgramFile;
+import org.ballerinalang.util.codegen.ServiceInfo;
+import org.ballerinalang.util.exceptions.BLangRuntimeException;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.ballerinalang.util.program.BLangFunctions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Deploys Ballerina services of the gateway. The hash of the source of every deployed service is kept, so that a
+ * service whose source has not changed is neither written nor loaded again. Services deployed together share a
+ * single load and link of their package, and the package init function runs once for all of them.
+ * <p>
+ * A new version of a service is swapped into the dispatchers only after its program has been loaded and initialized,
+ * so that the service is unavailable only between unregistering the old version and registering the new one. Requests
+ * already being served by the old version hold its program and complete on it.
+ * Singleton: Bill Pugh implementation has been used.
+ *
+ * @since 0.10-SNAPSHOT
+ */
+public final class ServiceDeployer {
+
+    private static final Logger log = LoggerFactory.getLogger(ServiceDeployer.class);
+
+    public static final String DEPLOYED = "deployed";
+    public static final String UNCHANGED = "unchanged";
+
+    private static final Path programDirPath = Paths.get(System.getProperty("user.dir"));
+
+    private final Map<String, DeployedService> deployedServices = new ConcurrentHashMap<>();
+    private final Object deploymentLock = new Object();
+
+    /**
+     * Private constructor to make the class singleton.
+     */
+    private ServiceDeployer() {
+    }
+
+    /**
+     * A static class which holds the instance of ServiceDeployer class.
+     */
+    private static class SingletonHelper {
+        private static final ServiceDeployer instance = new ServiceDeployer();
+    }
+
+    /**
+     * To get the instance of ServiceDeployer class.
+     *
+     * @return Object of class ServiceDeployer
+     */
+    public static ServiceDeployer getInstance() {
+        return SingletonHelper.instance;
+    }
+
+    /**
+     * Deploys a service unless the same source is already deployed.
+     *
+     * @param source      source of the service
+     * @param packageName package of the service, as a path
+     * @return {@link #DEPLOYED} or {@link #UNCHANGED}
+     */
+    public String deploy(ServiceSource source, String packageName) {
+        return deploy(Collections.singletonList(source), packageName) > 0 ? DEPLOYED : UNCHANGED;
+    }
+
+    /**
+     * Deploys the services whose source is not already deployed, loading their package once.
+     *
+     * @param sources     sources of the services
+     * @param packageName package of the services, as a path
+     * @return number of services deployed
+     */
+    public int deploy(List<ServiceSource> sources, String packageName) {
+        Path packagePath = Paths.get(packageName);
+        synchronized (deploymentLock) {
+            List<ServiceSource> changedSources = getChangedSources(packagePath, sources).stream()
+                    .filter(source -> save(packagePath, source)).collect(Collectors.toList());
+            if (changedSources.isEmpty()) {
+                return 0;
+            }
+            try {
+                return load(packageName, changedSources);
+            } catch (RuntimeException e) {
+                // The saved sources are not deployed, so they must not be taken as deployed the next time
+                changedSources.forEach(this::markNotDeployed);
+                throw e;
+            }
+        }
+    }
+
+    private int load(String packageName, List<ServiceSource> changedSources) {
+        Path packagePath = Paths.get(packageName);
+        ProgramFile programFile = new BLangProgramLoader().loadServiceProgramFile(programDirPath, packagePath);
+        if (programFile.getServicePackageNameList().length == 0) {
+            throw new BallerinaException("no service found in '" + programFile.getProgramFilePath() + "'");
+        }
+
+        // This is required to invoke package/service init functions;
+        Context bContext = new Context(programFile);
+        PackageInfo packageInfo = programFile.getPackageInfo(packageName.replace("/", "."));
+
+        // Invoke package init function
+        BLangFunctions.invokeFunction(programFile, packageInfo, packageInfo.getInitFunctionInfo(), bContext);
+        checkError(bContext);
+
+        int deployedCount = 0;
+        List<ServiceInfo> serviceInfoList = Arrays.asList(packageInfo.getServiceInfoList());
+        for (ServiceSource source : changedSources) {
+            ServiceInfo serviceInfo = serviceInfoList.stream()
+                    .filter(service -> source.getServiceName().equals(service.getName())).findFirst()
+                    .orElse(null);
+            if (serviceInfo == null) {
+                log.error("Service " + source.getServiceName() + " not found in " + source.getFileName());
+                markNotDeployed(source);
+                continue;
+            }
+            // Invoke service init function
+            BLangFunctions.invokeFunction(programFile, packageInfo, serviceInfo.getInitFunctionInfo(), bContext);
+            checkError(bContext);
+
+            DeployedService previous = deployedServices.put(source.getServiceName(),
+                    new DeployedService(source.getSourceHash(), serviceInfo));
+            swap(previous == null ? null : previous.serviceInfo, serviceInfo);
+            deployedCount++;
+        }
+        return deployedCount;
+    }
+
+    private void markNotDeployed(ServiceSource source) {
+        deployedServices.compute(source.getServiceName(), (name, deployed) ->
+                new DeployedService("", deployed == null ? null : deployed.serviceInfo));
+    }
+
+    /**
+     * Returns the sources which differ from the deployed ones. The source of a service which is not known to have
+     * been deployed is compared with its file, since the services saved earlier are deployed when the gateway starts.
+     *
+     * @param packagePath path of the package of the services
+     * @param sources     sources of the services
+     * @return the changed sources
+     */
+    List<ServiceSource> getChangedSources(Path packagePath, List<ServiceSource> sources) {
+        return sources.parallelStream().filter(source -> {
+            DeployedService deployed = deployedServices.get(source.getServiceName());
+            if (deployed != null) {
+                return !deployed.sourceHash.equals(source.getSourceHash());
+            }
+            Path file = packagePath.resolve(source.getFileName());
+            try {
+                if (Files.exists(file) && hash(new String(Files.readAllBytes(file), StandardCharsets.UTF_8))
+                        .equals(source.getSourceHash())) {
+                    deployedServices.putIfAbsent(source.getServiceName(),
+                            new DeployedService(source.getSourceHash(), null));
+                    return false;
+                }
+            } catch (IOException e) {
+                log.warn("Error while reading deployed service " + file, e);
+            }
+            return true;
+        }).collect(Collectors.toList());
+    }
+
+    /**
+     * Writes the source of a service to a temporary file and moves it over the service file, so that the package is
+     * never loaded with a partially written service.
+     *
+     * @param packagePath path of the package of the service
+     * @param source      source of the service
+     * @return true if the source was saved
+     */
+    static boolean save(Path packagePath, ServiceSource source) {
+        Path file = packagePath.toAbsolutePath().resolve(source.getFileName());
+        Path tempFile = file.resolveSibling("." + source.getFileName() + ".tmp");
+        try {
+            Files.write(tempFile, source.getConfig().getBytes(StandardCharsets.UTF_8));
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            log.error("Error saving API configuration in " + file, e);
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException ex) {
+                log.debug("Error while deleting " + tempFile, ex);
+            }
+            return false;
+        }
+    }
+
+    private static void swap(ServiceInfo previousService, ServiceInfo serviceInfo) {
+        DispatcherRegistry.getInstance().getServiceDispatchers().forEach((protocol, dispatcher) -> {
+            if (previousService != null) {
+                dispatcher.serviceUnregistered(previousService);
+            }
+            dispatcher.serviceRegistered(serviceInfo);
+        });
+    }
+
+    private static void checkError(Context bContext) {
+        if (bContext.getError() != null) {
+            String stackTraceStr = BLangVMErrors.getPrintableStackTrace(bContext.getError());
+            throw new BLangRuntimeException("error: " + stackTraceStr);
+        }
+    }
+
+    static String hash(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hash = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hash.append(String.format("%02x", b));
+            }
+            return hash.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    /**
+     * Source of a service to be deployed.
+     */
+    public static final class ServiceSource {
+        private final String fileName;
+        private final String serviceName;
+        private final String config;
+        private final String sourceHash;
+
+        /**
+         * Creates the source of a service.
+         *
+         * @param fileName    name of the file the service is saved in
+         * @param serviceName name of the service
+         * @param config      Ballerina source of the service
+         */
+        public ServiceSource(String fileName, String serviceName, String config) {
+            this.fileName = fileName;
+            this.serviceName = serviceName;
+            this.config = config;
+            this.sourceHash = hash(config);
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public String getServiceName() {
+            return serviceName;
+        }
+
+        public String getConfig() {
+            return config;
+        }
+
+        public String getSourceHash() {
+            return sourceHash;
+        }
+    }
+
+    /**
+     * A deployed service along with the hash of its source.
+     */
+    private static final class DeployedService {
+        private final String sourceHash;
+        private final ServiceInfo serviceInfo;
+
+        private DeployedService(String sourceHash, ServiceInfo serviceInfo) {
+            this.sourceHash = sourceHash;
+            this.serviceInfo = serviceInfo;
+        }
+    }
+}
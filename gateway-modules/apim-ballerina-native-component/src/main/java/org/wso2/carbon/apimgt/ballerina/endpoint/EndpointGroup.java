@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.ballerina.endpoint;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The URLs of an endpoint among which requests are load balanced, either in round robin order or to the URL with the
+ * least requests in flight. URLs whose circuit is open are skipped.
+ */
+public final class EndpointGroup {
+
+    /**
+     * Load balancing algorithms.
+     */
+    public enum Algorithm {
+        ROUND_ROBIN, LEAST_OUTSTANDING;
+
+        /**
+         * Returns the algorithm of the given name, defaulting to round robin.
+         *
+         * @param name name of the algorithm, such as roundRobin or leastOutstanding
+         * @return algorithm
+         */
+        public static Algorithm fromName(String name) {
+            if (name != null && "leastoutstanding".equals(name.replace("_", "").toLowerCase())) {
+                return LEAST_OUTSTANDING;
+            }
+            return ROUND_ROBIN;
+        }
+    }
+
+    private final String name;
+    private final EndpointMember[] members;
+    private final Algorithm algorithm;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Creates an endpoint group.
+     *
+     * @param name      name of the endpoint
+     * @param members   URLs of the endpoint
+     * @param algorithm load balancing algorithm
+     */
+    EndpointGroup(String name, List<EndpointMember> members, Algorithm algorithm) {
+        this.name = name;
+        this.members = members.toArray(new EndpointMember[members.size()]);
+        this.algorithm = algorithm;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public EndpointMember[] getMembers() {
+        return members.clone();
+    }
+
+    /**
+     * Selects the URL to send the next request to and reserves a slot for the request on it.
+     *
+     * @param now current time in milliseconds
+     * @return index of the selected URL, or -1 if none of them can take the request
+     */
+    int select(long now) {
+        int count = members.length;
+        if (count == 0) {
+            return -1;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), count);
+        if (algorithm == Algorithm.LEAST_OUTSTANDING) {
+            int selected = selectLeastOutstanding(start, now);
+            if (selected >= 0) {
+                return selected;
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            int index = (start + i) % count;
+            if (members[index].tryAcquire(now)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private int selectLeastOutstanding(int start, long now) {
+        int count = members.length;
+        int selected = -1;
+        int leastOutstanding = Integer.MAX_VALUE;
+        // Starting at a rotating index spreads requests among URLs with the same number of requests in flight
+        for (int i = 0; i < count; i++) {
+            int index = (start + i) % count;
+            EndpointMember member = members[index];
+            if (member.isAvailable() && member.getOutstanding() < leastOutstanding) {
+                selected = index;
+                leastOutstanding = member.getOutstanding();
+            }
+        }
+        return selected >= 0 && members[selected].tryAcquire(now) ? selected : -1;
+    }
+
+    /**
+     * Records the outcome of a request sent to a URL selected with {@link #select(long)}.
+     *
+     * @param index   index of the URL
+     * @param success whether the request succeeded
+     * @param latency time taken by the request in milliseconds
+     * @param now     current time in milliseconds
+     */
+    void report(int index, boolean success, long latency, long now) {
+        if (index >= 0 && index < members.length) {
+            members[index].release(success, latency, now);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.ballerina.endpoint;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A single URL of an endpoint, along with its circuit breaker, the number of requests in flight and its metrics.
+ * <p>
+ * The circuit opens after the configured number of consecutive failures and no request is sent to the URL until the
+ * open duration has elapsed. A single trial request is then let through, which closes the circuit if it succeeds and
+ * opens it again if it fails.
+ */
+public final class EndpointMember {
+
+    static final int CLOSED = 0;
+    static final int OPEN = 1;
+    static final int HALF_OPEN = 2;
+
+    private final String url;
+    private final int failureThreshold;
+    private final long openDuration;
+    private final int maxOutstanding;
+
+    private final AtomicInteger state = new AtomicInteger(CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private volatile long stateChangedAt;
+
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+    private final LongAccumulator maxLatency = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Creates a member of an endpoint.
+     *
+     * @param url              URL of the member
+     * @param failureThreshold number of consecutive failures which opens the circuit
+     * @param openDuration     time in milliseconds for which the circuit stays open
+     * @param maxOutstanding   maximum number of requests in flight to the URL, or 0 for no limit
+     */
+    EndpointMember(String url, int failureThreshold, long openDuration, int maxOutstanding) {
+        this.url = url;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDuration = openDuration;
+        this.maxOutstanding = maxOutstanding;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Reserves a slot for a request to this member if its circuit allows it and it has not reached the maximum number
+     * of requests in flight. A reserved slot has to be released with {@link #release(boolean, long, long)}.
+     *
+     * @param now current time in milliseconds
+     * @return true if a slot was reserved
+     */
+    boolean tryAcquire(long now) {
+        int currentState = state.get();
+        if (currentState != CLOSED) {
+            // Only one trial request at a time. A trial which never reported back is replaced after the open duration.
+            long changedAt = stateChangedAt;
+            if (now - changedAt < openDuration || !state.compareAndSet(currentState, HALF_OPEN)) {
+                return false;
+            }
+            stateChangedAt = now;
+            outstanding.incrementAndGet();
+            return true;
+        }
+        while (true) {
+            int current = outstanding.get();
+            if (maxOutstanding > 0 && current >= maxOutstanding) {
+                return false;
+            }
+            if (outstanding.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a slot reserved for a request and records its outcome.
+     *
+     * @param success whether the request succeeded
+     * @param latency time taken by the request in milliseconds
+     * @param now     current time in milliseconds
+     */
+    void release(boolean success, long latency, long now) {
+        outstanding.decrementAndGet();
+        requestCount.increment();
+        totalLatency.add(latency);
+        maxLatency.accumulate(latency);
+        if (success) {
+            markHealthy();
+        } else {
+            errorCount.increment();
+            markFailed(now);
+        }
+    }
+
+    /**
+     * Closes the circuit, for a successful request or health check.
+     */
+    void markHealthy() {
+        consecutiveFailures.set(0);
+        if (state.getAndSet(CLOSED) != CLOSED) {
+            stateChangedAt = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Records a failed request or health check, opening the circuit once the failure threshold is reached.
+     *
+     * @param now current time in milliseconds
+     */
+    void markFailed(long now) {
+        if (state.get() != CLOSED || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            stateChangedAt = now;
+            state.set(OPEN);
+            consecutiveFailures.set(0);
+        }
+    }
+
+    int getState() {
+        return state.get();
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    public boolean isAvailable() {
+        return state.get() == CLOSED;
+    }
+
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    /**
+     * Returns the average latency of the requests sent to this member.
+     *
+     * @return average latency in milliseconds, or 0 if no request has been sent
+     */
+    public double getAverageLatency() {
+        long count = requestCount.sum();
+        return count == 0 ? 0 : (double) totalLatency.sum() / count;
+    }
+
+    public long getMaxLatency() {
+        return maxLatency.get();
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.ballerina.endpoint;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the endpoint groups of the gateway by endpoint name and runs their active health checks. A health check
+ * probes every URL of an endpoint periodically, closing the circuit of URLs which respond and counting a failure for
+ * URLs which do not respond or respond with a server error.
+ * Singleton: Bill Pugh implementation has been used.
+ *
+ * @since 0.10-SNAPSHOT
+ */
+public final class EndpointRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(EndpointRegistry.class);
+
+    static final String URLS = "urls";
+    static final String ALGORITHM = "algorithm";
+    static final String FAILURE_THRESHOLD = "failureThreshold";
+    static final String CIRCUIT_OPEN_DURATION = "circuitOpenDuration";
+    static final String MAX_OUTSTANDING = "maxOutstanding";
+    static final String HEALTH_CHECK_PATH = "healthCheckPath";
+    static final String HEALTH_CHECK_INTERVAL = "healthCheckInterval";
+    static final String HEALTH_CHECK_TIMEOUT = "healthCheckTimeout";
+
+    private static final int DEFAULT_FAILURE_THRESHOLD = 3;
+    private static final long DEFAULT_CIRCUIT_OPEN_DURATION = 30000;
+    private static final long DEFAULT_HEALTH_CHECK_INTERVAL = 30;
+    private static final int DEFAULT_HEALTH_CHECK_TIMEOUT = 2000;
+
+    private final Map<String, EndpointGroup> groups = new ConcurrentHashMap<>();
+    private final Map<String, ScheduledFuture<?>> healthChecks = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService healthCheckExecutor = Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+                Thread thread = new Thread(runnable, "EndpointHealthChecker");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * Private constructor to make the class singleton.
+     */
+    private EndpointRegistry() {
+    }
+
+    /**
+     * A static class which holds the instance of EndpointRegistry class.
+     */
+    private static class SingletonHelper {
+        private static final EndpointRegistry instance = new EndpointRegistry();
+    }
+
+    /**
+     * To get the instance of EndpointRegistry class.
+     *
+     * @return Object of class EndpointRegistry
+     */
+    public static EndpointRegistry getInstance() {
+        return SingletonHelper.instance;
+    }
+
+    /**
+     * Registers an endpoint, replacing any endpoint registered with the same name.
+     *
+     * @param name   name of the endpoint
+     * @param config json holding the URLs of the endpoint and its load balancing, circuit breaker and health check
+     *               configuration
+     * @return the registered endpoint group
+     */
+    public synchronized EndpointGroup register(String name, JsonNode config) {
+        int failureThreshold = config.path(FAILURE_THRESHOLD).asInt(DEFAULT_FAILURE_THRESHOLD);
+        long openDuration = config.path(CIRCUIT_OPEN_DURATION).asLong(DEFAULT_CIRCUIT_OPEN_DURATION);
+        int maxOutstanding = config.path(MAX_OUTSTANDING).asInt(0);
+        List<EndpointMember> members = new ArrayList<>();
+        for (JsonNode url : config.path(URLS)) {
+            members.add(new EndpointMember(url.asText(), failureThreshold, openDuration, maxOutstanding));
+        }
+        EndpointGroup group = new EndpointGroup(name, members,
+                EndpointGroup.Algorithm.fromName(config.path(ALGORITHM).asText(null)));
+        groups.put(name, group);
+
+        cancelHealthCheck(name);
+        long interval = config.path(HEALTH_CHECK_INTERVAL).asLong(DEFAULT_HEALTH_CHECK_INTERVAL);
+        if (interval > 0 && !members.isEmpty()) {
+            String path = config.path(HEALTH_CHECK_PATH).asText("");
+            int timeout = config.path(HEALTH_CHECK_TIMEOUT).asInt(DEFAULT_HEALTH_CHECK_TIMEOUT);
+            healthChecks.put(name, healthCheckExecutor.scheduleWithFixedDelay(() -> checkHealth(group, path,
+                    timeout), interval, interval, TimeUnit.SECONDS));
+        }
+        return group;
+    }
+
+    /**
+     * Removes an endpoint and stops its health check.
+     *
+     * @param name name of the endpoint
+     */
+    public synchronized void unregister(String name) {
+        groups.remove(name);
+        cancelHealthCheck(name);
+    }
+
+    /**
+     * Returns the endpoint registered with the given name.
+     *
+     * @param name name of the endpoint
+     * @return the endpoint group, or null if no endpoint is registered with the name
+     */
+    public EndpointGroup get(String name) {
+        return groups.get(name);
+    }
+
+    private void cancelHealthCheck(String name) {
+        ScheduledFuture<?> healthCheck = healthChecks.remove(name);
+        if (healthCheck != null) {
+            healthCheck.cancel(false);
+        }
+    }
+
+    private static void checkHealth(EndpointGroup group, String path, int timeout) {
+        for (EndpointMember member : group.getMembers()) {
+            if (isHealthy(member.getUrl() + path, timeout)) {
+                member.markHealthy();
+            } else {
+                log.warn("Health check of " + member.getUrl() + " of endpoint " + group.getName() + " failed");
+                member.markFailed(System.currentTimeMillis());
+            }
+        }
+    }
+
+    private static boolean isHealthy(String url, int timeout) {
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(url).openConnection();
+            connection.setConnectTimeout(timeout);
+            connection.setReadTimeout(timeout);
+            connection.setRequestMethod("GET");
+            return connection.getResponseCode() < HttpURLConnection.HTTP_INTERNAL_ERROR;
+        } catch (IOException e) {
+            log.debug("Error while checking health of " + url, e);
+            return false;
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.ballerina.endpoint;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeEnum;
+import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.Attribute;
+import org.ballerinalang.natives.annotations.BallerinaAnnotation;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.ReturnType;
+
+/**
+ * Ballerina function to get the request, error and latency metrics and the circuit state of each URL of an endpoint
+ * <br>
+ * org.wso2.carbon.apimgt.ballerina.endpoint:getMetrics
+ */
+@BallerinaFunction(
+        packageName = "org.wso2.carbon.apimgt.ballerina.endpoint",
+        functionName = "getMetrics",
+        args = {@Argument(name = "name", type = TypeEnum.STRING)},
+        returnType = {@ReturnType(type = TypeEnum.JSON)},
+        isPublic = true
+)
+@BallerinaAnnotation(annotationName = "Description", attributes = {@Attribute(name = "value",
+        value = "Get the metrics of the URLs of an endpoint")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "name",
+        value = "name of the endpoint")})
+@BallerinaAnnotation(annotationName = "Return", attributes = {@Attribute(name = "json",
+        value = "metrics of each URL of the endpoint")})
+public class GetEndpointMetrics extends AbstractNativeFunction {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Override
+    public BValue[] execute(Context context) {
+        ArrayNode metrics = mapper.createArrayNode();
+        EndpointGroup group = EndpointRegistry.getInstance().get(getStringArgument(context, 0));
+        if (group != null) {
+            for (EndpointMember member : group.getMembers()) {
+                ObjectNode memberMetrics = metrics.addObject();
+                memberMetrics.put("url", member.getUrl());
+                memberMetrics.put("available", member.isAvailable());
+                memberMetrics.put("outstanding", member.getOutstanding());
+                memberMetrics.put("requestCount", member.getRequestCount());
+                memberMetrics.put("errorCount", member.getErrorCount());
+                memberMetrics.put("averageLatency", member.getAverageLatency());
+                memberMetrics.put("maxLatency", member.getMaxLatency());
+            }
+        }
+        return getBValues(new BJSON(metrics));
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.ballerina.endpoint;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeEnum;
+import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.Attribute;
+import org.ballerinalang.natives.annotations.BallerinaAnnotation;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+
+/**
+ * Ballerina function to register the URLs of an endpoint for load balancing, circuit breaking and health checks
+ * <br>
+ * org.wso2.carbon.apimgt.ballerina.endpoint:register
+ */
+@BallerinaFunction(
+        packageName = "org.wso2.carbon.apimgt.ballerina.endpoint",
+        functionName = "register",
+        args = {@Argument(name = "name", type = TypeEnum.STRING),
+                @Argument(name = "config", type = TypeEnum.JSON)},
+        isPublic = true
+)
+@BallerinaAnnotation(annotationName = "Description", attributes = {@Attribute(name = "value",
+        value = "Register the URLs of an endpoint")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "name",
+        value = "name of the endpoint")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "config",
+        value = "URLs, load balancing, circuit breaker and health check configuration of the endpoint")})
+public class RegisterEndpoint extends AbstractNativeFunction {
+
+    @Override
+    public BValue[] execute(Context context) {
+        String name = getStringArgument(context, 0);
+        BJSON config = (BJSON) getRefArgument(context, 0);
+        EndpointRegistry.getInstance().register(name, config.value());
+        return VOID_RETURN;
+    }
+}
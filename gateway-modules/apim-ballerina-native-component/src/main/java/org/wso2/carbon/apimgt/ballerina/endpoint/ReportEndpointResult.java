@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.ballerina.endpoint;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeEnum;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.Attribute;
+import org.ballerinalang.natives.annotations.BallerinaAnnotation;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+
+/**
+ * Ballerina function to report the outcome of a request sent to a URL selected with
+ * org.wso2.carbon.apimgt.ballerina.endpoint:select
+ * <br>
+ * org.wso2.carbon.apimgt.ballerina.endpoint:report
+ */
+@BallerinaFunction(
+        packageName = "org.wso2.carbon.apimgt.ballerina.endpoint",
+        functionName = "report",
+        args = {@Argument(name = "name", type = TypeEnum.STRING),
+                @Argument(name = "index", type = TypeEnum.INT),
+                @Argument(name = "success", type = TypeEnum.BOOLEAN),
+                @Argument(name = "latency", type = TypeEnum.INT)},
+        isPublic = true
+)
+@BallerinaAnnotation(annotationName = "Description", attributes = {@Attribute(name = "value",
+        value = "Report the outcome of a request sent to an endpoint")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "name",
+        value = "name of the endpoint")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "index",
+        value = "index of the URL the request was sent to")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "success",
+        value = "whether the request succeeded")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "latency",
+        value = "time taken by the request in milliseconds")})
+public class ReportEndpointResult extends AbstractNativeFunction {
+
+    @Override
+    public BValue[] execute(Context context) {
+        EndpointGroup group = EndpointRegistry.getInstance().get(getStringArgument(context, 0));
+        if (group != null) {
+            group.report((int) getIntArgument(context, 0), getBooleanArgument(context, 0),
+                    getIntArgument(context, 1), System.currentTimeMillis());
+        }
+        return VOID_RETURN;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.ballerina.endpoint;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeEnum;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.Attribute;
+import org.ballerinalang.natives.annotations.BallerinaAnnotation;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.ReturnType;
+
+/**
+ * Ballerina function to select the URL of an endpoint to send a request to. The outcome of the request has to be
+ * reported with org.wso2.carbon.apimgt.ballerina.endpoint:report
+ * <br>
+ * org.wso2.carbon.apimgt.ballerina.endpoint:select
+ */
+@BallerinaFunction(
+        packageName = "org.wso2.carbon.apimgt.ballerina.endpoint",
+        functionName = "select",
+        args = {@Argument(name = "name", type = TypeEnum.STRING)},
+        returnType = {@ReturnType(type = TypeEnum.INT)},
+        isPublic = true
+)
+@BallerinaAnnotation(annotationName = "Description", attributes = {@Attribute(name = "value",
+        value = "Select the URL of an endpoint to send a request to")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "name",
+        value = "name of the endpoint")})
+@BallerinaAnnotation(annotationName = "Return", attributes = {@Attribute(name = "int",
+        value = "index of the selected URL, or -1 if no URL is available")})
+public class SelectEndpoint extends AbstractNativeFunction {
+
+    @Override
+    public BValue[] execute(Context context) {
+        EndpointGroup group = EndpointRegistry.getInstance().get(getStringArgument(context, 0));
+        int index = group == null ? -1 : group.select(System.currentTimeMillis());
+        return getBValues(new BInteger(index));
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.ballerina.ganalytics;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeEnum;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.Attribute;
+import org.ballerinalang.natives.annotations.BallerinaAnnotation;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.ReturnType;
+
+/**
+ * Ballerina function to queue a Google Analytics hit, which is sent asynchronously in a batch
+ * <br>
+ * org.wso2.carbon.apimgt.ballerina.ganalytics:dispatchHit
+ */
+@BallerinaFunction(
+        packageName = "org.wso2.carbon.apimgt.ballerina.ganalytics",
+        functionName = "dispatchHit",
+        args = {@Argument(name = "endpoint", type = TypeEnum.STRING),
+                @Argument(name = "user", type = TypeEnum.STRING),
+                @Argument(name = "payload", type = TypeEnum.STRING)},
+        returnType = {@ReturnType(type = TypeEnum.BOOLEAN)},
+        isPublic = true
+)
+@BallerinaAnnotation(annotationName = "Description", attributes = {@Attribute(name = "value",
+        value = "Queue a Google Analytics hit to be sent asynchronously")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "endpoint",
+        value = "Measurement Protocol batch endpoint")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "user",
+        value = "user from which the client id is derived")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "payload",
+        value = "URL encoded payload of the hit without the client id")})
+@BallerinaAnnotation(annotationName = "Return", attributes = {@Attribute(name = "boolean",
+        value = "true if the hit was queued, false if it was dropped")})
+public class DispatchHit extends AbstractNativeFunction {
+
+    @Override
+    public BValue[] execute(Context context) {
+        String endpoint = getStringArgument(context, 0);
+        String user = getStringArgument(context, 1);
+        String payload = getStringArgument(context, 2);
+        boolean queued = GoogleAnalyticsDispatcher.getInstance(endpoint).dispatch(user, payload);
+        return getBValues(new BBoolean(queued));
+    }
+}
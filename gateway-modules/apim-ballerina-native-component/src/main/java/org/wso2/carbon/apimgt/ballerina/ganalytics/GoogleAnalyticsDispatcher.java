@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.ballerina.ganalytics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends Google Analytics hits to the Measurement Protocol batch endpoint off the request thread. Hits are put on a
+ * bounded queue and a background thread sends them in batches of up to {@value #MAX_HITS_PER_BATCH} over kept-alive
+ * connections. When the queue is full new hits are dropped, since analytics must never slow down or fail API calls.
+ * The client id of a hit is the MD5 hash of the user, which is cached per user.
+ *
+ * @since 0.10-SNAPSHOT
+ */
+public class GoogleAnalyticsDispatcher implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(GoogleAnalyticsDispatcher.class);
+
+    /**
+     * Maximum number of hits the Measurement Protocol accepts in a batch request.
+     */
+    static final int MAX_HITS_PER_BATCH = 20;
+    private static final int DEFAULT_QUEUE_SIZE = 10000;
+    private static final int MAX_CACHED_CLIENT_IDS = 10000;
+    private static final int CONNECT_TIMEOUT = 5000;
+    private static final int READ_TIMEOUT = 10000;
+    private static final Map<String, GoogleAnalyticsDispatcher> dispatchers = new ConcurrentHashMap<>();
+
+    private final URL batchEndpoint;
+    private final BlockingQueue<String> hits;
+    private final Map<String, String> clientIds = Collections.synchronizedMap(
+            new LinkedHashMap<String, String>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                    return size() > MAX_CACHED_CLIENT_IDS;
+                }
+            });
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private volatile Thread sender;
+
+    /**
+     * Creates a dispatcher which is not started.
+     *
+     * @param batchEndpoint URL of the Measurement Protocol batch endpoint
+     * @param queueSize     maximum number of hits waiting to be sent
+     * @throws IOException if the endpoint is not a valid URL
+     */
+    GoogleAnalyticsDispatcher(String batchEndpoint, int queueSize) throws IOException {
+        this.batchEndpoint = new URL(batchEndpoint);
+        this.hits = new ArrayBlockingQueue<>(queueSize);
+    }
+
+    /**
+     * Get the started dispatcher of the given batch endpoint
+     *
+     * @param batchEndpoint URL of the Measurement Protocol batch endpoint
+     * @return {@link GoogleAnalyticsDispatcher} of the endpoint
+     */
+    public static GoogleAnalyticsDispatcher getInstance(String batchEndpoint) {
+        return dispatchers.computeIfAbsent(batchEndpoint, endpoint -> {
+            try {
+                GoogleAnalyticsDispatcher dispatcher = new GoogleAnalyticsDispatcher(endpoint, DEFAULT_QUEUE_SIZE);
+                dispatcher.start();
+                return dispatcher;
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Invalid Google Analytics endpoint: " + endpoint, e);
+            }
+        });
+    }
+
+    /**
+     * Queues a hit to be sent. The hit is dropped if the queue is full.
+     *
+     * @param user    user who made the API call, from which the client id of the hit is derived
+     * @param payload URL encoded payload of the hit, without the client id
+     * @return true if the hit was queued, false if it was dropped
+     */
+    public boolean dispatch(String user, String payload) {
+        if (hits.offer(payload + "&cid=" + getClientId(user))) {
+            return true;
+        }
+        long dropped = droppedCount.incrementAndGet();
+        if (dropped == 1 || dropped % 1000 == 0) {
+            log.warn("Google Analytics hit queue is full, {} hits have been dropped so far", dropped);
+        }
+        return false;
+    }
+
+    /**
+     * Returns the client id of a user, which is the hex encoded MD5 hash of the user name.
+     *
+     * @param user user name
+     * @return client id
+     */
+    String getClientId(String user) {
+        String clientId = clientIds.get(user);
+        if (clientId == null) {
+            clientId = md5(user);
+            clientIds.put(user, clientId);
+        }
+        return clientId;
+    }
+
+    synchronized void start() {
+        if (sender == null) {
+            sender = new Thread(this, "GoogleAnalyticsDispatcher");
+            sender.setDaemon(true);
+            sender.start();
+        }
+    }
+
+    /**
+     * Stops sending hits. Hits still queued are discarded.
+     */
+    public synchronized void shutdown() {
+        if (sender != null) {
+            sender.interrupt();
+            sender = null;
+        }
+    }
+
+    @Override
+    public void run() {
+        List<String> batch = new ArrayList<>(MAX_HITS_PER_BATCH);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(hits.take());
+                hits.drainTo(batch, MAX_HITS_PER_BATCH - 1);
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private void send(List<String> batch) {
+        byte[] body = String.join("\n", batch).getBytes(StandardCharsets.UTF_8);
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) batchEndpoint.openConnection();
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setConnectTimeout(CONNECT_TIMEOUT);
+            connection.setReadTimeout(READ_TIMEOUT);
+            connection.setFixedLengthStreamingMode(body.length);
+            connection.setRequestProperty("Content-Type", "text/plain; charset=UTF-8");
+            try (OutputStream outputStream = connection.getOutputStream()) {
+                outputStream.write(body);
+            }
+            int responseCode = connection.getResponseCode();
+            if (responseCode / 100 == 2) {
+                sentCount.addAndGet(batch.size());
+            } else {
+                failedCount.addAndGet(batch.size());
+                log.warn("Google Analytics rejected a batch of {} hits with status {}", batch.size(), responseCode);
+            }
+            consume(responseCode / 100 == 2 ? connection.getInputStream() : connection.getErrorStream());
+        } catch (IOException e) {
+            failedCount.addAndGet(batch.size());
+            log.warn("Error while sending a batch of {} hits to Google Analytics: {}", batch.size(), e.getMessage());
+            if (connection != null) {
+                try {
+                    consume(connection.getErrorStream());
+                } catch (IOException ignored) {
+                    // the connection is not reused
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the response fully and closes it, so that the connection is returned to the keep-alive cache.
+     */
+    private static void consume(InputStream inputStream) throws IOException {
+        if (inputStream == null) {
+            return;
+        }
+        try (InputStream in = inputStream) {
+            byte[] buffer = new byte[1024];
+            while (in.read(buffer) != -1) {
+                // the response body is not used
+            }
+        }
+    }
+
+    private static String md5(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not supported", e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.ballerina.deployment;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test class for detecting the services to be deployed and saving their sources
+ */
+public class ServiceDeployerTestCase {
+
+    private static final String SOURCE = "package org.wso2.carbon.apimgt.gateway;\nservice<http> PizzaShackAPI {}\n";
+
+    @Test(description = "Services whose saved source is unchanged are not deployed again")
+    public void testUnchangedSourcesAreSkipped() throws Exception {
+        Path packagePath = Files.createTempDirectory("gateway");
+        ServiceDeployer.ServiceSource saved = new ServiceDeployer.ServiceSource("unchanged.bal",
+                "PizzaShackAPI_unchanged", SOURCE);
+        ServiceDeployer.ServiceSource changed = new ServiceDeployer.ServiceSource("changed.bal",
+                "PizzaShackAPI_changed", SOURCE);
+        ServiceDeployer.ServiceSource added = new ServiceDeployer.ServiceSource("added.bal", "PizzaShackAPI_added",
+                SOURCE);
+        Assert.assertTrue(ServiceDeployer.save(packagePath, saved));
+        Files.write(packagePath.resolve("changed.bal"), "service<http> Old {}".getBytes(StandardCharsets.UTF_8));
+
+        List<ServiceDeployer.ServiceSource> changedSources = ServiceDeployer.getInstance()
+                .getChangedSources(packagePath, Arrays.asList(saved, changed, added));
+        Assert.assertEquals(changedSources, Arrays.asList(changed, added));
+        // The unchanged source is remembered as deployed
+        Assert.assertTrue(ServiceDeployer.getInstance().getChangedSources(packagePath,
+                Arrays.asList(saved)).isEmpty());
+    }
+
+    @Test(description = "Saving a source replaces the service file without leaving a temporary file")
+    public void testSave() throws Exception {
+        Path packagePath = Files.createTempDirectory("gateway");
+        ServiceDeployer.ServiceSource source = new ServiceDeployer.ServiceSource("api.bal", "PizzaShackAPI_api",
+                SOURCE);
+        Files.write(packagePath.resolve("api.bal"), "service<http> Old {}".getBytes(StandardCharsets.UTF_8));
+        Assert.assertTrue(ServiceDeployer.save(packagePath, source));
+        Assert.assertEquals(new String(Files.readAllBytes(packagePath.resolve("api.bal")), StandardCharsets.UTF_8),
+                SOURCE);
+        Assert.assertEquals(packagePath.toFile().list().length, 1);
+        Assert.assertFalse(ServiceDeployer.save(packagePath.resolve("missing"), source));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.ballerina.endpoint;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+/**
+ * Test class for load balancing and circuit breaking among the URLs of an endpoint
+ */
+public class EndpointGroupTestCase {
+
+    @Test
+    public void testRoundRobinSkipsOpenCircuits() {
+        EndpointMember first = new EndpointMember("http://localhost:9001", 2, 1000, 0);
+        EndpointMember second = new EndpointMember("http://localhost:9002", 2, 1000, 0);
+        EndpointGroup group = new EndpointGroup("pizzashack", Arrays.asList(first, second),
+                EndpointGroup.Algorithm.ROUND_ROBIN);
+
+        Assert.assertEquals(group.select(0), 0);
+        Assert.assertEquals(group.select(0), 1);
+        group.report(0, false, 10, 0);
+        group.report(1, true, 10, 0);
+        Assert.assertEquals(group.select(0), 0);
+        group.report(0, false, 10, 0);
+        Assert.assertEquals(first.getState(), EndpointMember.OPEN);
+
+        // Requests go to the second URL until the circuit of the first one may be tried again
+        Assert.assertEquals(group.select(100), 1);
+        Assert.assertEquals(group.select(200), 1);
+        group.report(1, true, 10, 200);
+        group.report(1, true, 10, 200);
+        Assert.assertEquals(first.getRequestCount(), 2);
+        Assert.assertEquals(first.getErrorCount(), 2);
+        Assert.assertEquals(second.getRequestCount(), 3);
+    }
+
+    @Test
+    public void testHalfOpenCircuitLetsSingleTrialThrough() {
+        EndpointMember member = new EndpointMember("http://localhost:9001", 1, 1000, 0);
+        EndpointGroup group = new EndpointGroup("pizzashack", Arrays.asList(member),
+                EndpointGroup.Algorithm.ROUND_ROBIN);
+        Assert.assertEquals(group.select(0), 0);
+        group.report(0, false, 10, 0);
+        Assert.assertEquals(group.select(500), -1);
+
+        Assert.assertEquals(group.select(1000), 0);
+        Assert.assertEquals(member.getState(), EndpointMember.HALF_OPEN);
+        Assert.assertEquals(group.select(1001), -1);
+        group.report(0, false, 10, 1002);
+        Assert.assertEquals(member.getState(), EndpointMember.OPEN);
+
+        Assert.assertEquals(group.select(2002), 0);
+        group.report(0, true, 10, 2003);
+        Assert.assertEquals(member.getState(), EndpointMember.CLOSED);
+        Assert.assertEquals(group.select(2004), 0);
+    }
+
+    @Test
+    public void testLeastOutstandingAndOutstandingLimit() {
+        EndpointMember first = new EndpointMember("http://localhost:9001", 3, 1000, 2);
+        EndpointMember second = new EndpointMember("http://localhost:9002", 3, 1000, 2);
+        EndpointGroup group = new EndpointGroup("pizzashack", Arrays.asList(first, second),
+                EndpointGroup.Algorithm.LEAST_OUTSTANDING);
+
+        int selected = group.select(0);
+        Assert.assertEquals(group.select(0), 1 - selected);
+        Assert.assertEquals(first.getOutstanding(), 1);
+        Assert.assertEquals(second.getOutstanding(), 1);
+        group.report(0, true, 10, 0);
+        Assert.assertEquals(group.select(0), 0);
+        Assert.assertTrue(group.select(0) >= 0);
+        Assert.assertTrue(group.select(0) >= 0);
+        // Both URLs have the maximum number of requests in flight
+        Assert.assertEquals(group.select(0), -1);
+    }
+
+    @Test
+    public void testAlgorithmFromName() {
+        Assert.assertEquals(EndpointGroup.Algorithm.fromName("leastOutstanding"),
+                EndpointGroup.Algorithm.LEAST_OUTSTANDING);
+        Assert.assertEquals(EndpointGroup.Algorithm.fromName("roundRobin"), EndpointGroup.Algorithm.ROUND_ROBIN);
+        Assert.assertEquals(EndpointGroup.Algorithm.fromName(null), EndpointGroup.Algorithm.ROUND_ROBIN);
+    }
+}
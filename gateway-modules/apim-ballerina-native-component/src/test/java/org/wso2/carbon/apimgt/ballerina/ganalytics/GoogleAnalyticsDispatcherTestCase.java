@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.ballerina.ganalytics;
+
+import com.sun.net.httpserver.HttpServer;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Test class for the asynchronous Google Analytics dispatcher, which sends hits to a local HTTP stub
+ *
+ * @since 0.10-SNAPSHOT
+ */
+public class GoogleAnalyticsDispatcherTestCase {
+    private HttpServer batchEndpointStub;
+    private String batchEndpoint;
+    private final List<String> batches = new CopyOnWriteArrayList<>();
+
+    @BeforeMethod
+    public void setup() throws IOException {
+        batches.clear();
+        batchEndpointStub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        batchEndpointStub.createContext("/batch", exchange -> {
+            batches.add(read(exchange.getRequestBody()));
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        batchEndpointStub.start();
+        batchEndpoint = "http://localhost:" + batchEndpointStub.getAddress().getPort() + "/batch";
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        batchEndpointStub.stop(0);
+    }
+
+    @Test
+    public void testHitsAreSentInBatches() throws Exception {
+        GoogleAnalyticsDispatcher dispatcher = new GoogleAnalyticsDispatcher(batchEndpoint, 100);
+        for (int i = 0; i < 45; i++) {
+            Assert.assertTrue(dispatcher.dispatch("admin", "v=1&tid=UA-1&t=pageview&dp=%2Fapi" + i));
+        }
+        dispatcher.start();
+        try {
+            waitForSentHits(dispatcher, 45);
+        } finally {
+            dispatcher.shutdown();
+        }
+
+        Assert.assertEquals(batches.size(), 3);
+        String[] firstBatch = batches.get(0).split("\n");
+        Assert.assertEquals(firstBatch.length, GoogleAnalyticsDispatcher.MAX_HITS_PER_BATCH);
+        Assert.assertEquals(firstBatch[0], "v=1&tid=UA-1&t=pageview&dp=%2Fapi0&cid="
+                + dispatcher.getClientId("admin"));
+        Assert.assertEquals(batches.get(2).split("\n").length, 5);
+        Assert.assertEquals(dispatcher.getFailedCount(), 0);
+    }
+
+    @Test
+    public void testHitsAreDroppedWhenQueueIsFull() throws Exception {
+        GoogleAnalyticsDispatcher dispatcher = new GoogleAnalyticsDispatcher(batchEndpoint, 2);
+        Assert.assertTrue(dispatcher.dispatch("admin", "v=1&dp=1"));
+        Assert.assertTrue(dispatcher.dispatch("admin", "v=1&dp=2"));
+        Assert.assertFalse(dispatcher.dispatch("admin", "v=1&dp=3"));
+        Assert.assertEquals(dispatcher.getDroppedCount(), 1);
+
+        dispatcher.start();
+        try {
+            waitForSentHits(dispatcher, 2);
+        } finally {
+            dispatcher.shutdown();
+        }
+        Assert.assertFalse(batches.get(0).contains("dp=3"));
+    }
+
+    @Test
+    public void testClientIdIsHashOfUser() throws Exception {
+        GoogleAnalyticsDispatcher dispatcher = new GoogleAnalyticsDispatcher(batchEndpoint, 1);
+        Assert.assertEquals(dispatcher.getClientId("admin"), "21232f297a57a5a743894a0e4a801fc3");
+        Assert.assertSame(dispatcher.getClientId("admin"), dispatcher.getClientId("admin"));
+    }
+
+    private static void waitForSentHits(GoogleAnalyticsDispatcher dispatcher, long count)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (dispatcher.getSentCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(dispatcher.getSentCount(), count);
+    }
+
+    private static String read(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int length;
+        while ((length = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, length);
+        }
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
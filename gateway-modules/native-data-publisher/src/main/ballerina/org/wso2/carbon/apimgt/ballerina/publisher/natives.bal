@@ -8,4 +8,9 @@ connector EventConnector (map options) {
     @doc:Param {value:"c: conector instance"}
     @doc:Param {value:"event: json with payload attibutes"}
     native action publish (EventConnector c, json event);
+
+    @doc:Description {value:"adding a request event to the per minute aggregates which are published as summary events"}
+    @doc:Param {value:"c: conector instance"}
+    @doc:Param {value:"event: json with payload attibutes"}
+    native action aggregate (EventConnector c, json event);
 }
@@ -17,7 +17,9 @@ package org.wso2.carbon.apimgt.ballerina.publisher;
  * under the License.
  */
 
+import com.fasterxml.jackson.databind.JsonNode;
 import org.ballerinalang.natives.connectors.AbstractNativeAction;
+import org.json.JSONArray;
 import org.wso2.carbon.databridge.agent.AgentHolder;
 import org.wso2.carbon.databridge.agent.DataPublisher;
 import org.wso2.carbon.databridge.agent.exception.DataEndpointAgentConfigurationException;
@@ -26,6 +28,7 @@ import org.wso2.carbon.databridge.agent.exception.DataEndpointConfigurationExcep
 import org.wso2.carbon.databridge.agent.exception.DataEndpointException;
 import org.wso2.carbon.databridge.commons.Event;
 import org.wso2.carbon.databridge.commons.exception.TransportException;
+import org.wso2.carbon.databridge.commons.utils.DataBridgeCommonsUtils;
 
 /**
  * EventPublisher implementation
@@ -44,4 +47,30 @@ public abstract class AbstractEventPublisherAction extends AbstractNativeAction
     public final void publish(Event aEvent) {
         dataPublisher.publish(aEvent);
     }
+
+    /**
+     * Creates a data-bridge event from the json event given to a publisher action.
+     *
+     * @param json json with the stream name, stream version, meta data, correlation data and payload data
+     * @return data-bridge event
+     */
+    protected static Event createEvent(JsonNode json) {
+        String streamName = json.get(Constants.STREAM_NAME).asText();
+        String streamVersion = json.get(Constants.STREAM_VERSION).asText();
+        Event event = new Event();
+        event.setStreamId(DataBridgeCommonsUtils.generateStreamId(streamName, streamVersion));
+        event.setMetaData(toArray(json.get(Constants.META_DATA)));
+        event.setCorrelationData(toArray(json.get(Constants.CORRELATION_DATA)));
+        event.setPayloadData(toArray(json.get(Constants.PAYLOAD_DATA)));
+        return event;
+    }
+
+    private static Object[] toArray(JsonNode data) {
+        JSONArray jsonData = new JSONArray(data.toString());
+        Object[] dataArr = new Object[jsonData.length()];
+        for (int i = 0; i < jsonData.length(); i++) {
+            dataArr[i] = jsonData.get(i);
+        }
+        return dataArr;
+    }
 }
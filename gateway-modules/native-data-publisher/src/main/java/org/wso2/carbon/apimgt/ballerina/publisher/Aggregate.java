@@ -0,0 +1,70 @@
+package org.wso2.carbon.apimgt.ballerina.publisher;
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeEnum;
+import org.ballerinalang.model.values.BConnector;
+import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.Attribute;
+import org.ballerinalang.natives.annotations.BallerinaAction;
+import org.ballerinalang.natives.annotations.BallerinaAnnotation;
+import org.ballerinalang.natives.connectors.AbstractNativeAction;
+import org.osgi.service.component.annotations.Component;
+import org.wso2.carbon.databridge.commons.Event;
+
+/**
+ * Native function org.wso2.carbon.apimgt.ballerina.publisher.Aggregate.{@link
+ * Aggregate}
+ * Ballerina action adds a request event to the per minute aggregates of the connector, which are published as summary
+ * events. The event is published as it is if aggregation is not enabled for the connector.
+ *
+ * @since 7.0.34
+ */
+@BallerinaAction(packageName = "org.wso2.carbon.apimgt.ballerina.publisher", actionName = "aggregate",
+        connectorName = Constants.CONNECTOR_NAME, args = {
+        @Argument(name = "c", type = TypeEnum.CONNECTOR),
+        @Argument(name = "event", type = TypeEnum.JSON) }, connectorArgs = {
+        @Argument(name = "options", type = TypeEnum.MAP) })
+@BallerinaAnnotation(annotationName = "Description", attributes = {
+        @Attribute(name = "value", value = " aggregate request event") })
+@BallerinaAnnotation(annotationName = "Param", attributes = { @Attribute(name = "c", value = "Connector"),
+        @Attribute(name = "event", value = "aEvent") })
+@Component(name = "action.org.wso2.carbon.apimgt.ballerina.publisher.aggregate", immediate = true,
+        service = AbstractNativeAction.class)
+public class Aggregate extends AbstractEventPublisherAction {
+
+    @Override
+    public BValue execute(Context context) {
+        BConnector bConnector = (BConnector) getRefArgument(context, 0);
+        BJSON json = (BJSON) getRefArgument(context, 1);
+        BMap sharedMap = (BMap) bConnector.getRefField(1);
+        Event event = createEvent(json.value());
+        RequestEventAggregator aggregator = (RequestEventAggregator) sharedMap.get(Constants.AGGREGATOR_INSTANCE);
+        if (aggregator != null) {
+            aggregator.add(event);
+        } else {
+            EventPublisher pub = (EventPublisher) sharedMap.get(Constants.PUBLISHER_INSTANCE);
+            pub.publish(event);
+        }
+        return null;
+    }
+}
@@ -28,7 +28,11 @@ public final class Constants {
     public static final String USERNAME = "username";
     public static final String PASSWORD = "password";
     public static final String CONFIG_PATH = "configPath";
+    public static final String AGGREGATION_ENABLED = "aggregationEnabled";
+    public static final String AGGREGATION_FLUSH_INTERVAL = "aggregationFlushInterval";
+    public static final long DEFAULT_AGGREGATION_FLUSH_INTERVAL = 60;
     public static final String PUBLISHER_INSTANCE = "publisher";
+    public static final String AGGREGATOR_INSTANCE = "aggregator";
     public static final String STREAM_NAME = "streamName";
     public static final String STREAM_VERSION = "streamVersion";
     public static final String META_DATA = "metaData";
@@ -62,6 +62,10 @@ import java.io.File;
         @Attribute(name = "username", value = "ballerina package") })
 @BallerinaAnnotation(annotationName = "Param", attributes = {
         @Attribute(name = "password", value = "ballerina package") })
+@BallerinaAnnotation(annotationName = "Param", attributes = {
+        @Attribute(name = "aggregationEnabled", value = "aggregate request events before publishing") })
+@BallerinaAnnotation(annotationName = "Param", attributes = {
+        @Attribute(name = "aggregationFlushInterval", value = "aggregate flush interval in seconds") })
 @Component(name = "action.org.wso2.carbon.apimgt.ballerina.publisher.init", immediate = true,
         service = AbstractNativeAction.class)
 public class Init extends AbstractEventPublisherAction implements BValue {
@@ -89,6 +93,12 @@ public class Init extends AbstractEventPublisherAction implements BValue {
         try {
             initDataPublisher(type, receiverURLSet, authURLSet, username, password, configPath);
             sharedMap.put(Constants.PUBLISHER_INSTANCE, this);
+            if (optionMap.get(Constants.AGGREGATION_ENABLED) != null && Boolean.parseBoolean(
+                    optionMap.get(Constants.AGGREGATION_ENABLED).stringValue())) {
+                RequestEventAggregator aggregator = new RequestEventAggregator(dataPublisher::publish);
+                aggregator.start(getFlushInterval(optionMap));
+                sharedMap.put(Constants.AGGREGATOR_INSTANCE, aggregator);
+            }
         } catch (DataEndpointAuthenticationException e) {
             log.error("Error occurred while authenticating.", e);
         } catch (DataEndpointAgentConfigurationException e) {
@@ -103,6 +113,21 @@ public class Init extends AbstractEventPublisherAction implements BValue {
         return null;
     }
 
+    private static long getFlushInterval(BMap optionMap) {
+        BValue flushInterval = optionMap.get(Constants.AGGREGATION_FLUSH_INTERVAL);
+        if (flushInterval != null) {
+            try {
+                long interval = Long.parseLong(flushInterval.stringValue());
+                if (interval > 0) {
+                    return interval;
+                }
+            } catch (NumberFormatException e) {
+                log.warn("Invalid aggregation flush interval: " + flushInterval.stringValue());
+            }
+        }
+        return Constants.DEFAULT_AGGREGATION_FLUSH_INTERVAL;
+    }
+
     @Override
     public String stringValue() {
         return "publisher";
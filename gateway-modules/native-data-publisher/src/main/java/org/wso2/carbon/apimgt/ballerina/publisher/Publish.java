@@ -17,7 +17,6 @@ package org.wso2.carbon.apimgt.ballerina.publisher;
  * under the License.
  */
 
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeEnum;
 import org.ballerinalang.model.values.BConnector;
@@ -29,12 +28,9 @@ import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAction;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
 import org.ballerinalang.natives.connectors.AbstractNativeAction;
-import org.json.JSONArray;
 import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.wso2.carbon.databridge.commons.Event;
-import org.wso2.carbon.databridge.commons.utils.DataBridgeCommonsUtils;
 
 /**
  * Native function org.wso2.carbon.apimgt.ballerina.publisher.Publish.{@link
@@ -62,38 +58,9 @@ public class Publish extends AbstractEventPublisherAction {
         log.info("publishing event to DAS");
         BConnector bConnector = (BConnector) getRefArgument(context, 0);
         BJSON json = (BJSON) getRefArgument(context, 1);
-        String streamName = json.value().get(Constants.STREAM_NAME).asText();
-        String streamVersion = json.value().get(Constants.STREAM_VERSION).asText();
-        ArrayNode metaData = (ArrayNode) json.value().get(Constants.META_DATA);
-        ArrayNode correlationData = (ArrayNode) json.value().get(Constants.CORRELATION_DATA);
-        ArrayNode payloadData = (ArrayNode) json.value().get(Constants.PAYLOAD_DATA);
-
-        Object[] metaDataArr = new Object[metaData.size()];
-        JSONArray jsonMetaData = new JSONArray(metaData.toString());
-        for (int i = 0; i < jsonMetaData.length(); i++) {
-            metaDataArr[i] = jsonMetaData.get(i);
-        }
-
-        Object[] correlationDataArr = new Object[correlationData.size()];
-        JSONArray jsonCorrelationData = new JSONArray(correlationData.toString());
-        for (int i = 0; i < jsonCorrelationData.length(); i++) {
-            correlationDataArr[i] = jsonCorrelationData.get(i);
-        }
-
-        Object[] payloadDataArr = new Object[payloadData.size()];
-        JSONArray jsonPayloadData = new JSONArray(payloadData.toString());
-        for (int i = 0; i < jsonPayloadData.length(); i++) {
-            payloadDataArr[i] = jsonPayloadData.get(i);
-        }
-
         BMap sharedMap = (BMap) bConnector.getRefField(1);
         EventPublisher pub = (EventPublisher) sharedMap.get(Constants.PUBLISHER_INSTANCE);
-        Event event = new Event();
-        event.setStreamId(DataBridgeCommonsUtils.generateStreamId(streamName, streamVersion));
-        event.setMetaData(metaDataArr);
-        event.setCorrelationData(correlationDataArr);
-        event.setPayloadData(payloadDataArr);
-        pub.publish(event);
+        pub.publish(createEvent(json.value()));
         return null;
     }
 }
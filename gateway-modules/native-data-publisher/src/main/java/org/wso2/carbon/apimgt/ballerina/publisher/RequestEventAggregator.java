@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.ballerina.publisher;
+
+import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.values.BValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.databridge.commons.Event;
+import org.wso2.carbon.databridge.commons.utils.DataBridgeCommonsUtils;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Rolls request events up per API, version, application, resource and minute, and periodically publishes one
+ * summary event for each of them instead of one event per request. A summary carries the request count, the sum and
+ * maximum of the response time, the sum of the backend time and the number of requests falling into each response
+ * time and status code bucket.
+ * <p>
+ * Request events are expected to carry the payload of the CompositeResponseStream.
+ *
+ * @since 7.0.34
+ */
+public class RequestEventAggregator implements BValue {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestEventAggregator.class);
+
+    public static final String SUMMARY_STREAM_NAME = "RequestSummaryStream";
+    public static final String SUMMARY_STREAM_VERSION = "1.0.0";
+
+    /**
+     * Upper bounds, in milliseconds, of the response time buckets. The last bucket holds everything above them.
+     */
+    static final long[] RESPONSE_TIME_BUCKETS = {10, 50, 100, 250, 500, 1000, 5000};
+    static final int STATUS_CODE_BUCKETS = 5;
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+    private static final int MAX_PENDING_AGGREGATES = 100000;
+
+    // Positions of the attributes in the CompositeResponseStream payload
+    private static final int API = 0;
+    private static final int CONTEXT = 1;
+    private static final int VERSION = 2;
+    private static final int URI_TEMPLATE = 5;
+    private static final int HTTP_METHOD = 6;
+    private static final int APPLICATION_ID = 9;
+    private static final int REQUEST_TIME = 14;
+    private static final int STATUS_CODE = 28;
+    private static final int RESPONSE_TIME = 30;
+    private static final int BACKEND_TIME = 32;
+
+    private final Map<AggregateKey, Aggregate> aggregates = new ConcurrentHashMap<>();
+    private final Consumer<Event> publisher;
+    private final String summaryStreamId;
+    private ScheduledExecutorService flushExecutor;
+
+    /**
+     * Creates an aggregator publishing the summary events through the given publisher.
+     *
+     * @param publisher publishes the summary events, and the request events which cannot be aggregated
+     */
+    RequestEventAggregator(Consumer<Event> publisher) {
+        this.publisher = publisher;
+        this.summaryStreamId = DataBridgeCommonsUtils.generateStreamId(SUMMARY_STREAM_NAME, SUMMARY_STREAM_VERSION);
+    }
+
+    /**
+     * Starts flushing the aggregates of the completed minutes periodically.
+     *
+     * @param flushIntervalInSeconds interval between two flushes
+     */
+    synchronized void start(long flushIntervalInSeconds) {
+        if (flushExecutor != null) {
+            return;
+        }
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "RequestEventAggregatorFlusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                flush(System.currentTimeMillis());
+            } catch (RuntimeException e) {
+                log.error("Error occurred while publishing request summary events.", e);
+            }
+        }, flushIntervalInSeconds, flushIntervalInSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the periodic flush and publishes all the pending aggregates.
+     */
+    synchronized void shutdown() {
+        if (flushExecutor != null) {
+            flushExecutor.shutdownNow();
+            flushExecutor = null;
+        }
+        flush(Long.MAX_VALUE);
+    }
+
+    /**
+     * Adds a request event to the aggregate of its minute. The event is published as it is if it does not carry a
+     * complete request payload or if too many aggregates are pending.
+     *
+     * @param event request event
+     */
+    void add(Event event) {
+        Object[] payload = event.getPayloadData();
+        if (payload == null || payload.length <= BACKEND_TIME || aggregates.size() >= MAX_PENDING_AGGREGATES) {
+            publisher.accept(event);
+            return;
+        }
+        long requestTime = asLong(payload[REQUEST_TIME]);
+        AggregateKey key = new AggregateKey(String.valueOf(payload[API]), String.valueOf(payload[CONTEXT]),
+                String.valueOf(payload[VERSION]), String.valueOf(payload[APPLICATION_ID]),
+                String.valueOf(payload[URI_TEMPLATE]), String.valueOf(payload[HTTP_METHOD]),
+                requestTime - requestTime % MINUTE);
+        long responseTime = asLong(payload[RESPONSE_TIME]);
+        long backendTime = asLong(payload[BACKEND_TIME]);
+        int statusCode = (int) asLong(payload[STATUS_CODE]);
+        // compute runs under the lock of the map bin, which makes the plain fields of the aggregate safe to update
+        aggregates.compute(key, (k, aggregate) -> {
+            if (aggregate == null) {
+                aggregate = new Aggregate();
+            }
+            aggregate.add(responseTime, backendTime, statusCode);
+            return aggregate;
+        });
+    }
+
+    /**
+     * Publishes the aggregates of the minutes which ended before the given time.
+     *
+     * @param currentTime current time in milliseconds
+     * @return number of summary events published
+     */
+    int flush(long currentTime) {
+        int published = 0;
+        for (AggregateKey key : aggregates.keySet()) {
+            if (currentTime - key.minute < MINUTE) {
+                continue;
+            }
+            // Once removed, no writer can update the aggregate any more. Late events of the minute start a new one.
+            Aggregate aggregate = aggregates.remove(key);
+            if (aggregate != null) {
+                publisher.accept(toSummaryEvent(key, aggregate));
+                published++;
+            }
+        }
+        return published;
+    }
+
+    int getPendingAggregateCount() {
+        return aggregates.size();
+    }
+
+    @Override
+    public String stringValue() {
+        return "aggregator";
+    }
+
+    @Override
+    public BType getType() {
+        return null;
+    }
+
+    @Override
+    public BValue copy() {
+        return null;
+    }
+
+    private Event toSummaryEvent(AggregateKey key, Aggregate aggregate) {
+        Object[] payload = new Object[11 + RESPONSE_TIME_BUCKETS.length + 1 + STATUS_CODE_BUCKETS];
+        int i = 0;
+        payload[i++] = key.api;
+        payload[i++] = key.context;
+        payload[i++] = key.version;
+        payload[i++] = key.applicationId;
+        payload[i++] = key.uriTemplate;
+        payload[i++] = key.httpMethod;
+        payload[i++] = key.minute;
+        payload[i++] = aggregate.requestCount;
+        payload[i++] = aggregate.totalResponseTime;
+        payload[i++] = aggregate.maxResponseTime;
+        payload[i++] = aggregate.totalBackendTime;
+        for (long count : aggregate.responseTimeBuckets) {
+            payload[i++] = count;
+        }
+        for (long count : aggregate.statusCodeBuckets) {
+            payload[i++] = count;
+        }
+        Event event = new Event();
+        event.setStreamId(summaryStreamId);
+        event.setTimeStamp(key.minute);
+        event.setMetaData(new Object[0]);
+        event.setCorrelationData(new Object[0]);
+        event.setPayloadData(payload);
+        return event;
+    }
+
+    private static long asLong(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        try {
+            return Long.parseLong(String.valueOf(value));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Request statistics of a single API resource and application within a minute.
+     */
+    private static final class Aggregate {
+        private long requestCount;
+        private long totalResponseTime;
+        private long maxResponseTime;
+        private long totalBackendTime;
+        private final long[] responseTimeBuckets = new long[RESPONSE_TIME_BUCKETS.length + 1];
+        private final long[] statusCodeBuckets = new long[STATUS_CODE_BUCKETS];
+
+        private void add(long responseTime, long backendTime, int statusCode) {
+            requestCount++;
+            totalResponseTime += responseTime;
+            maxResponseTime = Math.max(maxResponseTime, responseTime);
+            totalBackendTime += backendTime;
+            int bucket = Arrays.binarySearch(RESPONSE_TIME_BUCKETS, responseTime);
+            responseTimeBuckets[bucket >= 0 ? bucket : -bucket - 1]++;
+            int statusClass = statusCode / 100 - 1;
+            if (statusClass >= 0 && statusClass < STATUS_CODE_BUCKETS) {
+                statusCodeBuckets[statusClass]++;
+            }
+        }
+    }
+
+    /**
+     * Identifies the API resource, application and minute a request is aggregated into.
+     */
+    private static final class AggregateKey {
+        private final String api;
+        private final String context;
+        private final String version;
+        private final String applicationId;
+        private final String uriTemplate;
+        private final String httpMethod;
+        private final long minute;
+        private final int hashCode;
+
+        private AggregateKey(String api, String context, String version, String applicationId, String uriTemplate,
+                String httpMethod, long minute) {
+            this.api = api;
+            this.context = context;
+            this.version = version;
+            this.applicationId = applicationId;
+            this.uriTemplate = uriTemplate;
+            this.httpMethod = httpMethod;
+            this.minute = minute;
+            this.hashCode = Arrays.hashCode(new Object[] {api, context, version, applicationId, uriTemplate,
+                    httpMethod, minute});
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof AggregateKey)) {
+                return false;
+            }
+            AggregateKey that = (AggregateKey) o;
+            return minute == that.minute && api.equals(that.api) && context.equals(that.context)
+                    && version.equals(that.version) && applicationId.equals(that.applicationId)
+                    && uriTemplate.equals(that.uriTemplate) && httpMethod.equals(that.httpMethod);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.ballerina.publisher;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.databridge.commons.Event;
+import org.wso2.carbon.databridge.commons.utils.DataBridgeCommonsUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class for the aggregation of request events into per minute summary events
+ */
+public class RequestEventAggregatorTestCase {
+    private static final long MINUTE_START = 1500000000000L - 1500000000000L % 60000;
+
+    @Test
+    public void testRequestsAreAggregatedPerResourceAndMinute() {
+        List<Event> published = new ArrayList<>();
+        RequestEventAggregator aggregator = new RequestEventAggregator(published::add);
+        aggregator.add(createRequestEvent("/menu", MINUTE_START + 1000, 200, 8, 5));
+        aggregator.add(createRequestEvent("/menu", MINUTE_START + 2000, 200, 120, 100));
+        aggregator.add(createRequestEvent("/menu", MINUTE_START + 3000, 503, 7000, 6900));
+        aggregator.add(createRequestEvent("/order", MINUTE_START + 4000, 404, 40, 30));
+        aggregator.add(createRequestEvent("/menu", MINUTE_START + 61000, 200, 10, 5));
+        Assert.assertTrue(published.isEmpty());
+        Assert.assertEquals(aggregator.getPendingAggregateCount(), 3);
+
+        // Only the aggregates of the completed minute are published
+        Assert.assertEquals(aggregator.flush(MINUTE_START + 65000), 2);
+        Assert.assertEquals(aggregator.getPendingAggregateCount(), 1);
+        Assert.assertEquals(published.size(), 2);
+
+        Event summary = published.stream().filter(event -> "/menu".equals(event.getPayloadData()[4])).findFirst()
+                .orElseThrow(AssertionError::new);
+        Assert.assertEquals(summary.getStreamId(), DataBridgeCommonsUtils.generateStreamId(
+                RequestEventAggregator.SUMMARY_STREAM_NAME, RequestEventAggregator.SUMMARY_STREAM_VERSION));
+        Object[] payload = summary.getPayloadData();
+        Assert.assertEquals(payload[0], "PizzaShackAPI");
+        Assert.assertEquals(payload[6], MINUTE_START);
+        Assert.assertEquals(payload[7], 3L);
+        Assert.assertEquals(payload[8], 7128L);
+        Assert.assertEquals(payload[9], 7000L);
+        Assert.assertEquals(payload[10], 7005L);
+        // response time buckets: <=10, <=50, <=100, <=250, <=500, <=1000, <=5000, >5000
+        Assert.assertEquals(payload[11], 1L);
+        Assert.assertEquals(payload[14], 1L);
+        Assert.assertEquals(payload[18], 1L);
+        // status code buckets: 1xx, 2xx, 3xx, 4xx, 5xx
+        Assert.assertEquals(payload[20], 2L);
+        Assert.assertEquals(payload[23], 1L);
+
+        aggregator.shutdown();
+        Assert.assertEquals(aggregator.getPendingAggregateCount(), 0);
+        Assert.assertEquals(published.size(), 3);
+    }
+
+    @Test
+    public void testIncompleteEventsArePublishedAsTheyAre() {
+        List<Event> published = new ArrayList<>();
+        RequestEventAggregator aggregator = new RequestEventAggregator(published::add);
+        Event event = new Event();
+        event.setPayloadData(new Object[] {"PizzaShackAPI"});
+        aggregator.add(event);
+        Assert.assertEquals(published.size(), 1);
+        Assert.assertSame(published.get(0), event);
+        Assert.assertEquals(aggregator.getPendingAggregateCount(), 0);
+    }
+
+    private static Event createRequestEvent(String uriTemplate, long requestTime, int statusCode, long responseTime,
+            long backendTime) {
+        Object[] payload = new Object[39];
+        payload[0] = "PizzaShackAPI";
+        payload[1] = "/pizzashack";
+        payload[2] = "1.0.0";
+        payload[5] = uriTemplate;
+        payload[6] = "GET";
+        payload[9] = "8a41d5ec-6b7e-4a1f-9d6c-1b2f7c6f2d11";
+        payload[14] = requestTime;
+        payload[28] = statusCode;
+        payload[30] = responseTime;
+        payload[32] = backendTime;
+        Event event = new Event();
+        event.setStreamId(DataBridgeCommonsUtils.generateStreamId("CompositeResponseStream", "1.0.0"));
+        event.setPayloadData(payload);
+        return event;
+    }
+}